@@ -0,0 +1,118 @@
+package com.topright.roboticon;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how long the AI player takes to buy, customise and place roboticons on grids of different sizes
+ * <p>
+ * The AI player owns every plot in the grid. Each of its moves changes the state of the game so a new game is set up before
+ * every invocation (the time taken to do so is not included in the results).
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AIPlayerBenchmark {
+
+	/**
+	 * A grid of plots that are all owned by a single AI player who has plenty of money
+	 */
+	@State(Scope.Thread)
+	public static class GameState {
+		@Param({"5", "20", "100"})
+		private int gridSize; // The number of rows (and columns) of plots
+
+		AIPlayer player;
+		HeadlessPlotManager plotManager;
+
+		/**
+		 * Creates a new game before every invocation (as the AI player's moves change the game)
+		 */
+		@Setup(Level.Invocation)
+		public void setup(){
+			int numberOfPlots = gridSize*gridSize;
+			Market market = new Market(new MarketInventory(0, 0, numberOfPlots));
+			player = BenchmarkFixtures.createAIPlayer(market, numberOfPlots*100);
+			plotManager = new HeadlessPlotManager(BenchmarkFixtures.createPlots(gridSize, gridSize));
+			BenchmarkFixtures.acquirePlots(plotManager.getPlots(), 0, player);
+			plotManager.setCurrentPlayer(player);
+			prepareInventory(numberOfPlots);
+		}
+
+		/**
+		 * Gives the player whatever roboticons they need before the move that is being measured
+		 * @param numberOfPlots The number of plots owned by the player
+		 */
+		void prepareInventory(int numberOfPlots){
+		}
+	}
+
+	/**
+	 * The AI player already has an uncustomised roboticon for every plot (ready to be customised)
+	 */
+	public static class CustomisingState extends GameState {
+		@Override
+		void prepareInventory(int numberOfPlots){
+			player.inventory.increaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, numberOfPlots);
+		}
+	}
+
+	/**
+	 * The AI player already has enough ore and energy roboticons for every plot (ready to be placed)
+	 */
+	public static class PlacingState extends GameState {
+		@Override
+		void prepareInventory(int numberOfPlots){
+			player.inventory.increaseRoboticonQuantity(RoboticonCustomisation.ORE, numberOfPlots);
+			player.inventory.increaseRoboticonQuantity(RoboticonCustomisation.ENERGY, numberOfPlots);
+		}
+	}
+
+	/**
+	 * The AI player buys a roboticon for each of its plots
+	 * @param state A new game in which the player has no roboticons
+	 * @return The number of uncustomised roboticons bought (returned so that the JIT can't remove the work)
+	 */
+	@Benchmark
+	public int buyRoboticons(GameState state){
+		state.player.buyRoboticons(state.plotManager);
+		return state.player.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);
+	}
+
+	/**
+	 * The AI player customises a roboticon for each of its plots
+	 * @param state A new game in which the player has an uncustomised roboticon for every plot
+	 * @return The number of ore roboticons (returned so that the JIT can't remove the work)
+	 */
+	@Benchmark
+	public int customiseRoboticons(CustomisingState state){
+		state.player.customiseRoboticons(state.plotManager);
+		return state.player.getRoboticonQuantity(RoboticonCustomisation.ORE);
+	}
+
+	/**
+	 * The AI player places a roboticon on each of its plots
+	 * @param state A new game in which the player has an ore and an energy roboticon for every plot
+	 * @return The number of ore roboticons left (returned so that the JIT can't remove the work)
+	 */
+	@Benchmark
+	public int placeRoboticons(PlacingState state){
+		state.player.placeRoboticons(state.plotManager);
+		return state.player.getRoboticonQuantity(RoboticonCustomisation.ORE);
+	}
+}
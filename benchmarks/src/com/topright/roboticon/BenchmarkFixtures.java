@@ -0,0 +1,85 @@
+package com.topright.roboticon;
+
+import java.util.EnumMap;
+
+/**
+ * Creates the players, markets and plots that are used by the benchmarks
+ */
+final class BenchmarkFixtures {
+	static final long SEED = 20170301L; // Every benchmark uses the same plots so that runs can be compared
+
+	private BenchmarkFixtures(){} // No instantiations
+
+	/**
+	 * Creates the plots for a benchmark (always the same plots for a given size)
+	 * @param rows The number of rows of plots
+	 * @param columns The number of columns of plots
+	 * @return The new plots
+	 */
+	static Plot[][] createPlots(int rows, int columns){
+		return CreatePlots.createPlots(rows, columns, new GameRandom(SEED));
+	}
+
+	/**
+	 * Returns a new empty map of roboticon quantities (as needed by the PlayerInventory constructor)
+	 * @return A new empty map of roboticon quantities
+	 */
+	static EnumMap<RoboticonCustomisation,Integer> noRoboticons(){
+		return new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class);
+	}
+
+	/**
+	 * Creates an AI player that has no resources or roboticons
+	 * @param market The market that the player trades with
+	 * @param money The amount of money that the player starts with
+	 * @return The new AI player
+	 */
+	static AIPlayer createAIPlayer(Market market, int money){
+		return new AIPlayer(new PlayerInventory(0, 0, noRoboticons(), money), market);
+	}
+
+	/**
+	 * Creates a player that has no resources or roboticons
+	 * @param market The market that the player trades with
+	 * @param money The amount of money that the player starts with
+	 * @return The new player
+	 */
+	static Player createPlayer(Market market, int money){
+		return new Player(new PlayerInventory(0, 0, noRoboticons(), money), market);
+	}
+
+	/**
+	 * Gives the plots to the given players in turn (the first plot to the first player, the second plot to the second player and so on)
+	 * @param plots The plots to give away
+	 * @param numberToLeave The number of plots (at the end of the grid) that are not to be given to any player
+	 * @param players The players who are to receive the plots
+	 */
+	static void acquirePlots(Plot[][] plots, int numberToLeave, Player... players){
+		int numberOfPlots = plots.length*plots[0].length;
+		int plotNumber = 0;
+		for(Plot[] row : plots){
+			for(Plot plot : row){
+				if(plotNumber < numberOfPlots - numberToLeave){
+					plot.setPlayer(players[plotNumber % players.length]);
+				}
+				plotNumber++;
+			}
+		}
+	}
+
+	/**
+	 * Places a roboticon that matches the specialism of the plot on every other plot
+	 * @param plots The plots on which roboticons are to be placed
+	 */
+	static void placeRoboticonsOnHalfOfThePlots(Plot[][] plots){
+		int plotNumber = 0;
+		for(Plot[] row : plots){
+			for(Plot plot : row){
+				if(plotNumber % 2 == 0){
+					plot.placeRoboticon(plot.getSpecialism() == PlotSpecialism.ORE ? RoboticonCustomisation.ORE : RoboticonCustomisation.ENERGY);
+				}
+				plotNumber++;
+			}
+		}
+	}
+}
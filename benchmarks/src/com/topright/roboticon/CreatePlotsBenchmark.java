@@ -0,0 +1,38 @@
+package com.topright.roboticon;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how long it takes to create grids of plots (up to the sizes used for large maps)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CreatePlotsBenchmark {
+
+	@Param({"10", "100", "1000"})
+	private int gridSize; // The number of rows (and columns) of plots
+
+	/**
+	 * Creates a square grid of plots
+	 * @return The plots (returned so that the JIT can't remove the work)
+	 */
+	@Benchmark
+	public Plot[][] createPlots(){
+		return CreatePlots.createPlots(gridSize, gridSize, new GameRandom(BenchmarkFixtures.SEED));
+	}
+}
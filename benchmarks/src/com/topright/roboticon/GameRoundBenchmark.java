@@ -0,0 +1,78 @@
+package com.topright.roboticon;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how long the {@link GameEngine} takes to play a round of an AI versus AI game (without any GUI) and a whole game
+ * <p>
+ * For a single round every plot but the last two has already been shared between the players (half of them with roboticons on),
+ * so the round is the last one in the game: both players acquire a plot, buy, customise and place roboticons,
+ * the plots produce resources and then both players use the market.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameRoundBenchmark {
+	private static final int STARTING_MONEY = 30;
+
+	/**
+	 * A game in its final round
+	 */
+	@State(Scope.Thread)
+	public static class LastRoundState {
+		@Param({"5", "20", "100"})
+		private int gridSize; // The number of rows (and columns) of plots
+
+		GameEngine gameEngine;
+
+		/**
+		 * Creates a new game before every invocation (as playing the round changes the game)
+		 */
+		@Setup(Level.Invocation)
+		public void setup(){
+			Market market = new Market(new MarketInventory(0,16,12));
+			AIPlayer firstPlayer = BenchmarkFixtures.createAIPlayer(market, STARTING_MONEY);
+			AIPlayer secondPlayer = BenchmarkFixtures.createAIPlayer(market, STARTING_MONEY);
+			HeadlessPlotManager plotManager = new HeadlessPlotManager(BenchmarkFixtures.createPlots(gridSize, gridSize));
+			BenchmarkFixtures.acquirePlots(plotManager.getPlots(), 2, firstPlayer, secondPlayer);
+			BenchmarkFixtures.placeRoboticonsOnHalfOfThePlots(plotManager.getPlots());
+			gameEngine = new GameEngine(plotManager, firstPlayer, secondPlayer, null);
+		}
+	}
+
+	/**
+	 * Plays the last round of a game
+	 * @param state A game in its final round
+	 * @return The number of rounds played (returned so that the JIT can't remove the work)
+	 */
+	@Benchmark
+	public int playRound(LastRoundState state){
+		state.gameEngine.start();
+		return state.gameEngine.getRoundNumber();
+	}
+
+	/**
+	 * Plays a whole game on the standard map in the same way as {@link SimulationRunner} (the same game every time)
+	 * @return The GameEngine that played the game (returned so that the JIT can't remove the work)
+	 */
+	@Benchmark
+	public GameEngine playGame(){
+		return SimulationRunner.playGame(new GameRandom(BenchmarkFixtures.SEED));
+	}
+}
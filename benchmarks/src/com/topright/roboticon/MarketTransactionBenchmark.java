@@ -0,0 +1,148 @@
+package com.topright.roboticon;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how long it takes players to buy and sell resources and to buy and customise roboticons
+ * <p>
+ * Compares the methods in {@link Player} with the transactions in {@link Market} that are safe to use from several threads,
+ * both with one thread and with several threads sharing one market. Buying and then selling the same resource leaves the
+ * player and the market as they were so those benchmarks can run for as long as needed. Roboticons can't be sold back so
+ * the market and player are filled up again before every iteration.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MarketTransactionBenchmark {
+	private static final int STOCK = 100000000; // Enough resources and roboticons to last for a whole iteration
+	private static final int MONEY = Integer.MAX_VALUE; // Enough money to last for a whole iteration (money is always spent before it is earned)
+
+	/**
+	 * A player (and the market that they trade with) used by a single thread
+	 */
+	@State(Scope.Thread)
+	public static class PlayerState {
+		Market market;
+		Player player;
+
+		/**
+		 * Fills up the market and gives the player plenty of money before every iteration
+		 */
+		@Setup(Level.Iteration)
+		public void setup(){
+			market = new Market(new MarketInventory(STOCK, STOCK, STOCK));
+			player = BenchmarkFixtures.createPlayer(market, MONEY);
+		}
+	}
+
+	/**
+	 * A market that is shared by every thread
+	 */
+	@State(Scope.Benchmark)
+	public static class SharedMarketState {
+		Market market;
+
+		/**
+		 * Fills up the market before every iteration
+		 */
+		@Setup(Level.Iteration)
+		public void setup(){
+			market = new Market(new MarketInventory(STOCK, STOCK, STOCK));
+		}
+	}
+
+	/**
+	 * The inventory of a player that belongs to a single thread (all of the threads trade with the shared market)
+	 */
+	@State(Scope.Thread)
+	public static class TraderState {
+		PlayerInventory inventory;
+
+		/**
+		 * Gives the player plenty of money before every iteration
+		 */
+		@Setup(Level.Iteration)
+		public void setup(){
+			inventory = new PlayerInventory(0, 0, BenchmarkFixtures.noRoboticons(), MONEY);
+		}
+	}
+
+	/**
+	 * Buys ore and then sells it back using the methods in {@link Player}
+	 * @param state The player and their market
+	 * @return true if both transactions succeeded
+	 */
+	@Benchmark
+	public boolean playerBuyAndSellOre(PlayerState state){
+		return state.player.attemptToBuyOre(1) & state.player.attemptToSellOre(1);
+	}
+
+	/**
+	 * Buys energy and then sells it back using the methods in {@link Player}
+	 * @param state The player and their market
+	 * @return true if both transactions succeeded
+	 */
+	@Benchmark
+	public boolean playerBuyAndSellEnergy(PlayerState state){
+		return state.player.attemptToBuyEnergy(1) & state.player.attemptToSellEnergy(1);
+	}
+
+	/**
+	 * Buys a roboticon and customises it using the methods in {@link Player}
+	 * @param state The player and their market
+	 * @return true if both transactions succeeded
+	 */
+	@Benchmark
+	public boolean playerBuyAndCustomiseRoboticon(PlayerState state){
+		return state.player.attemptToBuyRoboticons(1) & state.player.attemptToCustomiseRoboticon(RoboticonCustomisation.ORE);
+	}
+
+	/**
+	 * Buys ore and then sells it back using the transactions in {@link Market}
+	 * @param state The player and their market
+	 * @return true if both transactions succeeded
+	 */
+	@Benchmark
+	public boolean marketBuyAndSellOre(PlayerState state){
+		return state.market.attemptToBuyOre(state.player.inventory, 1) & state.market.attemptToSellOre(state.player.inventory, 1);
+	}
+
+	/**
+	 * Buys a roboticon and customises it using the transactions in {@link Market}
+	 * @param state The player and their market
+	 * @return true if both transactions succeeded
+	 */
+	@Benchmark
+	public boolean marketBuyAndCustomiseRoboticon(PlayerState state){
+		return state.market.attemptToBuyRoboticons(state.player.inventory, 1)
+				& state.market.attemptToCustomiseRoboticon(state.player.inventory, RoboticonCustomisation.ORE);
+	}
+
+	/**
+	 * Four threads buy ore and then sell it back to the same market at the same time
+	 * @param shared The market shared by every thread
+	 * @param trader The inventory of the player that belongs to this thread
+	 * @return true if both transactions succeeded
+	 */
+	@Benchmark
+	@Threads(4)
+	public boolean sharedMarketBuyAndSellOre(SharedMarketState shared, TraderState trader){
+		return shared.market.attemptToBuyOre(trader.inventory, 1) & shared.market.attemptToSellOre(trader.inventory, 1);
+	}
+}
@@ -0,0 +1,73 @@
+package com.topright.roboticon;
+
+import java.util.EnumMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the number of rollouts per second played by {@link MonteCarloTreeSearch} when choosing the first plot of a game
+ * <p>
+ * Each operation is one iteration of the search (select, expand, copy the {@link SearchState} and play the rest of the game).
+ * Every benchmark thread has its own search (as the worker threads of a {@link SearchStrategy} do) so running with more
+ * threads shows how well rollouts scale across cores.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MonteCarloTreeSearchBenchmark {
+
+	@Param({"4", "16"})
+	private int plotRows; // The grid always has 5 columns, so a longer game is played with more rows
+
+	private MonteCarloTreeSearch search;
+
+	/**
+	 * Runs before each trial, captures the start of a game between two AI players
+	 */
+	@Setup
+	public void setup(){
+		Market market = new Market(new MarketInventory(0, 16, 12));
+		Player searcher = new AIPlayer(new PlayerInventory(0, 0, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), 30), market);
+		Player opponent = new AIPlayer(new PlayerInventory(0, 0, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), 30), market);
+		Plot[][] plots = CreatePlots.createPlots(plotRows, 5, new GameRandom(1L));
+		SearchState state = new SearchState(plots, market, searcher, opponent, true);
+		search = new MonteCarloTreeSearch(state, GamePhase.PLOTACQUISITION, (plotRows*5 + 1)/2, new GameRandom(2L));
+	}
+
+	/**
+	 * Plays a single rollout on one thread
+	 * @return The number of rollouts played so far (returned so that the JIT can't remove the work)
+	 */
+	@Benchmark
+	public long rollout(){
+		search.iterate();
+		return search.getRollouts();
+	}
+
+	/**
+	 * Plays a single rollout on each of four threads at the same time
+	 * @return The number of rollouts played so far by this thread
+	 */
+	@Benchmark
+	@Threads(4)
+	public long parallelRollouts(){
+		search.iterate();
+		return search.getRollouts();
+	}
+}
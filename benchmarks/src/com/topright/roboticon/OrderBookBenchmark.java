@@ -0,0 +1,91 @@
+package com.topright.roboticon;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how long it takes to place orders in an {@link OrderBook} that already has many resting orders and to match a whole
+ * market phase's worth of orders in a batch
+ * <p>
+ * The resting orders are buy orders below the sell orders (so they never match), placing and cancelling an order in the middle
+ * of them leaves the book as it was so that benchmark can run for as long as needed.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OrderBookBenchmark {
+	private static final int MONEY = 1000000000;
+	private static final int PLAYERS = 16;
+
+	@Param({"100", "10000"})
+	private int restingOrders; // The number of orders already resting in the book
+
+	private OrderBook orderBook;
+	private Player[] players;
+	private GameRandom random;
+
+	/**
+	 * Creates the players (with plenty of money and ore) and fills the book with resting orders that don't match each other
+	 */
+	@Setup(Level.Trial)
+	public void setup(){
+		Market market = new Market();
+		players = new Player[PLAYERS];
+		for(int playerNumber = 0; playerNumber < PLAYERS; playerNumber++){
+			players[playerNumber] = BenchmarkFixtures.createPlayer(market, MONEY);
+			players[playerNumber].increaseOreQuantity(MONEY);
+		}
+		random = new GameRandom(BenchmarkFixtures.SEED);
+		orderBook = new OrderBook(PlotSpecialism.ORE);
+		for(int order = 0; order < restingOrders; order++){
+			if(order % 2 == 0){
+				orderBook.placeOrder(players[random.nextInt(PLAYERS)], OrderSide.BUY, 1 + random.nextInt(10), 1 + random.nextInt(50));
+			}
+			else{
+				orderBook.placeOrder(players[random.nextInt(PLAYERS)], OrderSide.SELL, 1 + random.nextInt(10), 51 + random.nextInt(50));
+			}
+		}
+	}
+
+	/**
+	 * Places an order among the resting orders, finds the best prices and then cancels the order
+	 * @return The sum of the best prices (returned so that the JIT can't remove the work)
+	 */
+	@Benchmark
+	public int placeAndCancel(){
+		Order order = orderBook.placeOrder(players[0], OrderSide.BUY, 5, 1 + random.nextInt(50));
+		int bestPrices = orderBook.getBestBuyPrice() + orderBook.getBestSellPrice();
+		orderBook.cancelOrder(order);
+		return bestPrices;
+	}
+
+	/**
+	 * Places as many crossing orders as there are resting orders into a new book and matches them all in one batch
+	 * @return The quantity traded (returned so that the JIT can't remove the work)
+	 */
+	@Benchmark
+	public int matchBatch(){
+		OrderBook batch = new OrderBook(PlotSpecialism.ORE);
+		for(int order = 0; order < restingOrders; order++){
+			OrderSide side = (order % 2 == 0) ? OrderSide.BUY : OrderSide.SELL;
+			batch.placeOrder(players[order % PLAYERS], side, 1 + order % 10, 40 + order % 20);
+		}
+		return batch.matchOrders();
+	}
+}
@@ -0,0 +1,111 @@
+package com.topright.roboticon;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Shows how production on large maps (see {@link PlotProduction}) scales with the number of cores
+ * <p>
+ * The plots are produced by a ForkJoinPool with the given number of threads, each tile of the map records what it produced in its own
+ * {@link ProductionDeltas} and the players' inventories are increased once at the end. {@link ParallelProductionBenchmark#eachPlot()}
+ * makes every plot increase its owner's inventory in turn (the way that resources used to be produced) to compare against.
+ * Run with -p threads=1,2,4,8 up to the number of cores of the machine, the map is owned by a large lobby of players so that
+ * the cost of merging the deltas is included.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ParallelProductionBenchmark {
+
+	@Param({"500", "2000"})
+	private int gridSize; // The number of rows (and columns) of plots
+
+	@Param({"1", "2", "4", "8"})
+	private int threads; // The number of threads used to produce the plots
+
+	@Param({"2", "64"})
+	private int numberOfPlayers; // The number of players that own the plots
+
+	private HeadlessPlotManager plotManager;
+	private Player[] players;
+	private ForkJoinPool pool;
+
+	/**
+	 * Runs before each trial, creates the plots, gives them to the players and creates the pool
+	 */
+	@Setup
+	public void setup(){
+		Market market = new Market();
+		players = new Player[numberOfPlayers];
+		for(int playerNumber = 0; playerNumber < numberOfPlayers; playerNumber++){
+			players[playerNumber] = BenchmarkFixtures.createPlayer(market, 0);
+		}
+		plotManager = new HeadlessPlotManager(BenchmarkFixtures.createPlots(gridSize, gridSize));
+		BenchmarkFixtures.acquirePlots(plotManager.getPlots(), 0, players);
+		BenchmarkFixtures.placeRoboticonsOnHalfOfThePlots(plotManager.getPlots());
+		pool = new ForkJoinPool(threads);
+		plotManager.setProductionPool(pool);
+	}
+
+	/**
+	 * Runs after each trial, stops the threads of the pool
+	 */
+	@TearDown
+	public void tearDown(){
+		pool.shutdown();
+	}
+
+	/**
+	 * Removes the resources that were produced (so that quantities never overflow)
+	 * @return The ore that the first player had
+	 */
+	private int emptyInventories(){
+		int ore = players[0].getOreQuantity();
+		for(Player player : players){
+			player.inventory.tryDecreaseOreQuantity(player.getOreQuantity());
+			player.inventory.tryDecreaseEnergyQuantity(player.getEnergyQuantity());
+		}
+		return ore;
+	}
+
+	/**
+	 * Produces the tiles of the map in parallel using the pool
+	 * @return The ore produced for the first player (returned so that the JIT can't remove the work)
+	 */
+	@Benchmark
+	public int parallelTiles(){
+		plotManager.produceResources();
+		return emptyInventories();
+	}
+
+	/**
+	 * Makes every plot increase its owner's inventory in turn on a single thread (the number of threads is ignored)
+	 * @return The ore produced for the first player (returned so that the JIT can't remove the work)
+	 */
+	@Benchmark
+	public int eachPlot(){
+		for(Plot[] row : plotManager.getPlots()){
+			for(Plot plot : row){
+				plot.produce();
+			}
+		}
+		return emptyInventories();
+	}
+}
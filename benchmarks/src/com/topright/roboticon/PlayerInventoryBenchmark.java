@@ -0,0 +1,120 @@
+package com.topright.roboticon;
+
+import java.util.EnumMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the roboticon storage used by {@link PlayerInventory} (an array of ints) with the map of boxed Integers that it replaced
+ * <p>
+ * Each operation buys a roboticon, customises it and then places it (the inventory changes that happen most often during a game)
+ * and then counts the player's roboticons in the same way as {@link AIPlayer}. Run with the gc profiler (the default for the jmh task)
+ * to see the number of bytes allocated per operation. Integers between -128 and 127 are cached by Java so the boxed version only
+ * allocates once a player has more roboticons than that, which is why the benchmark is run with both a small and a large stock.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PlayerInventoryBenchmark {
+
+	@Param({"5", "500"})
+	private int roboticonsInStock; // The number of roboticons of each customisation type that the player already has
+
+	private PlayerInventory inventory;
+	private BoxedRoboticonStore boxedRoboticonStore;
+
+	/**
+	 * The way in which roboticon quantities used to be stored by {@link PlayerInventory} (kept here to compare against)
+	 */
+	static class BoxedRoboticonStore {
+		private EnumMap<RoboticonCustomisation, Integer> roboticons = new EnumMap<RoboticonCustomisation, Integer>(RoboticonCustomisation.class);
+
+		void increaseRoboticonQuantity(RoboticonCustomisation customisation, int roboticonQuantityIncrease){
+			if(roboticons.containsKey(customisation)){
+				roboticons.put(customisation,roboticons.get(customisation)+roboticonQuantityIncrease);
+			}
+			else{
+				roboticons.put(customisation, roboticonQuantityIncrease);
+			}
+		}
+
+		void decreaseRoboticonQuantity(RoboticonCustomisation customisation, int roboticonQuantityDecrease){
+			if(!roboticons.containsKey(customisation) || roboticons.get(customisation) < roboticonQuantityDecrease){
+				throw new IllegalArgumentException("Not enough roboticons with customisation "+customisation.name());
+			}
+			roboticons.put(customisation, roboticons.get(customisation)-roboticonQuantityDecrease);
+		}
+
+		int getRoboticonQuantity(RoboticonCustomisation customisation){
+			if(roboticons.containsKey(customisation)){
+				return roboticons.get(customisation);
+			}
+			return 0;
+		}
+	}
+
+	/**
+	 * Runs before each trial, fills both stores with the same stock of roboticons
+	 */
+	@Setup
+	public void setup(){
+		EnumMap<RoboticonCustomisation,Integer> roboticonQuantities = new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class);
+		boxedRoboticonStore = new BoxedRoboticonStore();
+		for(RoboticonCustomisation customisation : RoboticonCustomisation.values()){
+			roboticonQuantities.put(customisation, roboticonsInStock);
+			boxedRoboticonStore.increaseRoboticonQuantity(customisation, roboticonsInStock);
+		}
+		inventory = new PlayerInventory(0, 0, roboticonQuantities, 0);
+	}
+
+	/**
+	 * Buys, customises and places a roboticon using a {@link PlayerInventory} and then counts the roboticons
+	 * @return The total number of roboticons (returned so that the JIT can't remove the work)
+	 */
+	@Benchmark
+	public int playerInventory(){
+		inventory.increaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, 1); // bought
+		inventory.decreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, 1); // customised
+		inventory.increaseRoboticonQuantity(RoboticonCustomisation.ORE, 1);
+		inventory.decreaseRoboticonQuantity(RoboticonCustomisation.ORE, 1); // placed
+
+		int numberOfRoboticons = 0;
+		for(RoboticonCustomisation customisation : RoboticonCustomisation.values()){
+			numberOfRoboticons += inventory.getRoboticonQuantity(customisation);
+		}
+		return numberOfRoboticons;
+	}
+
+	/**
+	 * Buys, customises and places a roboticon using the old map of boxed Integers and then counts the roboticons
+	 * @return The total number of roboticons (returned so that the JIT can't remove the work)
+	 */
+	@Benchmark
+	public int boxedEnumMap(){
+		boxedRoboticonStore.increaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, 1); // bought
+		boxedRoboticonStore.decreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, 1); // customised
+		boxedRoboticonStore.increaseRoboticonQuantity(RoboticonCustomisation.ORE, 1);
+		boxedRoboticonStore.decreaseRoboticonQuantity(RoboticonCustomisation.ORE, 1); // placed
+
+		int numberOfRoboticons = 0;
+		for(RoboticonCustomisation customisation : RoboticonCustomisation.values()){
+			numberOfRoboticons += boxedRoboticonStore.getRoboticonQuantity(customisation);
+		}
+		return numberOfRoboticons;
+	}
+}
@@ -0,0 +1,88 @@
+package com.topright.roboticon;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares plots stored as Plot objects (managed by a {@link HeadlessPlotManager}) with plots stored in a {@link PlotStore}
+ * (managed by a {@link PlotStoreManager}) for very large maps
+ * <p>
+ * Every plot is owned by one of two players and half of them have roboticons on (the same plots in both cases). Run with
+ * -prof gc to see how much less is allocated when the map is created.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PlotStoreBenchmark {
+
+	@Param({"500", "2000"})
+	private int gridSize; // The number of rows (and columns) of plots
+
+	@Param({"objects", "store"})
+	private String storage; // Whether the plots are stored as Plot objects or in a PlotStore
+
+	private PlotGrid plotManager;
+	private Player firstPlayer;
+	private Player secondPlayer;
+
+	/**
+	 * Runs before each trial, creates the plots and gives them to the players
+	 */
+	@Setup
+	public void setup(){
+		Market market = new Market();
+		firstPlayer = BenchmarkFixtures.createPlayer(market, 0);
+		secondPlayer = BenchmarkFixtures.createPlayer(market, 0);
+		Plot[][] plots = BenchmarkFixtures.createPlots(gridSize, gridSize);
+		BenchmarkFixtures.acquirePlots(plots, 0, firstPlayer, secondPlayer);
+		BenchmarkFixtures.placeRoboticonsOnHalfOfThePlots(plots);
+		if(storage.equals("store")){
+			plotManager = new PlotStoreManager(PlotStore.copyOf(plots));
+		}
+		else{
+			plotManager = new HeadlessPlotManager(plots);
+		}
+	}
+
+	/**
+	 * Makes every plot produce resources and then removes the resources that were produced (so that quantities never overflow)
+	 * @return The ore produced for the first player (returned so that the JIT can't remove the work)
+	 */
+	@Benchmark
+	public int produceResources(){
+		plotManager.produceResources();
+		int ore = firstPlayer.getOreQuantity();
+		firstPlayer.inventory.tryDecreaseOreQuantity(ore);
+		firstPlayer.inventory.tryDecreaseEnergyQuantity(firstPlayer.getEnergyQuantity());
+		secondPlayer.inventory.tryDecreaseOreQuantity(secondPlayer.getOreQuantity());
+		secondPlayer.inventory.tryDecreaseEnergyQuantity(secondPlayer.getEnergyQuantity());
+		return ore;
+	}
+
+	/**
+	 * Creates a new map of the same size
+	 * @return The number of rows of the new map (returned so that the JIT can't remove the work)
+	 */
+	@Benchmark
+	public int createMap(){
+		if(storage.equals("store")){
+			return PlotStore.create(gridSize, gridSize, new GameRandom(BenchmarkFixtures.SEED)).getRows();
+		}
+		return CreatePlots.createPlots(gridSize, gridSize, new GameRandom(BenchmarkFixtures.SEED)).length;
+	}
+}
@@ -0,0 +1,66 @@
+package com.topright.roboticon;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how long it takes all of the plots to produce resources for their owners
+ * <p>
+ * Uses the {@link HeadlessPlotManager} (which {@link PlotManager} hands production over to) so that no GUI is needed.
+ * Every plot is owned by one of two players and half of them have roboticons on.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ProductionBenchmark {
+
+	@Param({"10", "100", "500"})
+	private int gridSize; // The number of rows (and columns) of plots
+
+	private HeadlessPlotManager plotManager;
+	private Player firstPlayer;
+	private Player secondPlayer;
+
+	/**
+	 * Runs before each trial, creates the plots and gives them to the players
+	 */
+	@Setup
+	public void setup(){
+		Market market = new Market();
+		firstPlayer = BenchmarkFixtures.createPlayer(market, 0);
+		secondPlayer = BenchmarkFixtures.createPlayer(market, 0);
+		plotManager = new HeadlessPlotManager(BenchmarkFixtures.createPlots(gridSize, gridSize));
+		BenchmarkFixtures.acquirePlots(plotManager.getPlots(), 0, firstPlayer, secondPlayer);
+		BenchmarkFixtures.placeRoboticonsOnHalfOfThePlots(plotManager.getPlots());
+	}
+
+	/**
+	 * Makes every plot produce resources and then removes the resources that were produced (so that quantities never overflow)
+	 * @return The ore produced for the first player (returned so that the JIT can't remove the work)
+	 */
+	@Benchmark
+	public int produceResources(){
+		plotManager.produceResources();
+		int ore = firstPlayer.getOreQuantity();
+		firstPlayer.inventory.tryDecreaseOreQuantity(ore);
+		firstPlayer.inventory.tryDecreaseEnergyQuantity(firstPlayer.getEnergyQuantity());
+		secondPlayer.inventory.tryDecreaseOreQuantity(secondPlayer.getOreQuantity());
+		secondPlayer.inventory.tryDecreaseEnergyQuantity(secondPlayer.getEnergyQuantity());
+		return ore;
+	}
+}
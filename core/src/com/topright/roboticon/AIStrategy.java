@@ -0,0 +1,58 @@
+package com.topright.roboticon;
+
+/**
+ * The decisions made by an {@link AIPlayer}, an AIPlayer carries out whichever strategy it is given
+ * <p>
+ * A strategy may remember things between decisions (e.g. the plots that the game is played on) so every AIPlayer must be given
+ * its own instance.
+ * </p>
+ */
+interface AIStrategy {
+	
+	/**
+	 * Returns the name of the strategy (used when reporting results)
+	 * @return The name of the strategy
+	 */
+	String getName();
+	
+	/**
+	 * Chooses a plot for the player to acquire (and then acquires it)
+	 * @param player The player that is making the decision
+	 * @param plotGrid The PlotGrid object that contains all the plots
+	 */
+	void choosePlot(AIPlayer player, PlotGrid plotGrid);
+	
+	/**
+	 * Causes the player to buy a number of (uncustomised) roboticons
+	 * @param player The player that is making the decision
+	 * @param plotGrid The PlotGrid object that contains all the plots
+	 */
+	void buyRoboticons(AIPlayer player, PlotGrid plotGrid);
+	
+	/**
+	 * Customises roboticons so that they can later be placed on the player's plots
+	 * @param player The player that is making the decision
+	 * @param plotGrid The PlotGrid object that contains all the plots
+	 */
+	void customiseRoboticons(AIPlayer player, PlotGrid plotGrid);
+	
+	/**
+	 * Places customised roboticons on the player's plots
+	 * @param player The player that is making the decision
+	 * @param plotGrid The PlotGrid object that contains all the plots
+	 */
+	void placeRoboticons(AIPlayer player, PlotGrid plotGrid);
+	
+	/**
+	 * Places orders in the market's order books for other players to trade with (called for every AI player before any of them buy
+	 * and sell resources, the orders are matched at the end of the market phase)
+	 * @param player The player that is making the decision
+	 */
+	void placeOrders(AIPlayer player);
+	
+	/**
+	 * Handles the buying and selling of resources to and from the market
+	 * @param player The player that is making the decision
+	 */
+	void buyAndSellResources(AIPlayer player);
+}
@@ -0,0 +1,254 @@
+package com.topright.roboticon;
+
+import java.util.HashMap;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * A singleton class that loads skins, texture atlases, textures and fonts exactly once and hands out shared instances of them
+ * <p>
+ * Built on top of the LibGDX AssetManager. Every call to {@link AssetRegistry#acquire(String, Class)} increases the reference count of an asset
+ * and every call to {@link AssetRegistry#release(String)} decreases it. An asset is only disposed of once its reference count drops to 0.
+ * </p>
+ * <p>
+ * Also keeps track of how many times assets have actually been loaded from disk (and how many bytes were read) so that it is possible
+ * to check that widgets are not reloading the same assets over and over again.
+ * </p>
+ */
+public class AssetRegistry {
+	public static final String SKIN_PATH = "uiskin.json";
+	public static final String GAME_ATLAS_PATH = "game.atlas"; // Contains the plot overlays, roboticon sprites and icons (packed at build time)
+
+	private static AssetRegistry assetRegistry = new AssetRegistry();
+
+	private AssetManager manager = null; // Created when first needed (LibGDX must have been started before it can be used)
+
+	// Maps the file path of each asset onto the number of references to it that have been handed out (and not yet released)
+	private HashMap<String, Integer> referenceCounts = new HashMap<String, Integer>();
+
+	// Assets that the registry itself holds a reference to (shared for the lifetime of the game, see getSkin and getTexture)
+	private HashMap<String, Object> heldAssets = new HashMap<String, Object>();
+
+	private BitmapFont font = null; // The default LibGDX font, created when first needed (see getFont)
+
+	private int loadCount = 0; // The number of assets that have been loaded from disk
+	private long bytesLoaded = 0; // The number of bytes read from disk when loading those assets
+
+	/**
+	 * Constructor
+	 * <p>
+	 * Private as this is a singleton class so there should exist exactly one instance of the class.
+	 * </p>
+	 */
+	private AssetRegistry(){}
+
+	/**
+	 * Get the instance of this class (it is a singleton class)
+	 * @return The only instance of this class
+	 */
+	public static AssetRegistry getInstance(){
+		return assetRegistry;
+	}
+
+	/**
+	 * Returns the AssetManager used to load assets, creating it if it does not yet exist
+	 * @return The AssetManager used to load assets
+	 */
+	private AssetManager getManager(){
+		if(manager == null){
+			manager = new AssetManager();
+		}
+		return manager;
+	}
+
+	/**
+	 * Returns a shared instance of the asset stored at the given location (loading it first if it has not already been loaded) and increases its reference count.
+	 * <p>
+	 * Every call to this method must eventually be matched by a call to {@link AssetRegistry#release(String)}.
+	 * </p>
+	 * @param path The location where the asset is stored
+	 * @param type The type of the asset (e.g. Skin, TextureAtlas or Texture)
+	 * @return The shared instance of the asset
+	 */
+	public synchronized <T> T acquire(String path, Class<T> type){
+		if(path == null){
+			throw new IllegalArgumentException("Cannot acquire an asset without a path!");
+		}
+
+		AssetManager assetManager = getManager();
+		boolean alreadyLoaded = assetManager.isLoaded(path, type);
+
+		// If the asset is already loaded this just increases the AssetManager's own reference count
+		assetManager.load(path, type);
+		assetManager.finishLoadingAsset(path);
+
+		if(!alreadyLoaded){
+			loadCount++;
+			bytesLoaded += getFileSize(path);
+		}
+
+		Integer referenceCount = referenceCounts.get(path);
+		referenceCounts.put(path, (referenceCount == null) ? 1 : referenceCount+1);
+
+		return assetManager.get(path, type);
+	}
+
+	/**
+	 * Releases a reference to the asset stored at the given location. The asset is disposed of once no references to it remain.
+	 * @param path The location where the asset is stored
+	 */
+	public synchronized void release(String path){
+		Integer referenceCount = referenceCounts.get(path);
+		if(referenceCount == null){
+			throw new IllegalArgumentException("Cannot release an asset that has not been acquired! path = "+path);
+		}
+
+		if(referenceCount == 1){
+			referenceCounts.remove(path);
+		}
+		else{
+			referenceCounts.put(path, referenceCount-1);
+		}
+
+		getManager().unload(path); // Only disposes of the asset once its reference count reaches 0
+	}
+
+	/**
+	 * Returns the asset stored at the given location, the registry keeps hold of a single reference to it until {@link AssetRegistry#dispose()} is called.
+	 * @param path The location where the asset is stored
+	 * @param type The type of the asset
+	 * @return The shared instance of the asset
+	 */
+	private synchronized <T> T getHeldAsset(String path, Class<T> type){
+		Object asset = heldAssets.get(path);
+		if(asset == null){
+			asset = acquire(path, type);
+			heldAssets.put(path, asset);
+		}
+		return type.cast(asset);
+	}
+
+	/**
+	 * Returns the skin that is shared by all of the widgets in the game
+	 * @return The skin that is shared by all of the widgets in the game
+	 */
+	public Skin getSkin(){
+		return getHeldAsset(SKIN_PATH, Skin.class);
+	}
+
+	/**
+	 * Returns a shared instance of the texture stored at the given location
+	 * @param path The location where the texture is stored
+	 * @return The shared instance of the texture
+	 */
+	public Texture getTexture(String path){
+		return getHeldAsset(path, Texture.class);
+	}
+
+	/**
+	 * Returns a shared instance of the texture atlas stored at the given location
+	 * @param path The location where the texture atlas is stored
+	 * @return The shared instance of the texture atlas
+	 */
+	public TextureAtlas getTextureAtlas(String path){
+		return getHeldAsset(path, TextureAtlas.class);
+	}
+
+	/**
+	 * Returns the font that is shared by the widgets that are not styled by the skin (e.g. {@link ButtonWithIcon}), it is disposed of
+	 * by {@link AssetRegistry#dispose()}
+	 * @return The shared instance of the default LibGDX font
+	 */
+	public synchronized BitmapFont getFont(){
+		if(font == null){
+			font = new BitmapFont();
+		}
+		return font;
+	}
+
+	/**
+	 * Returns a shared region of the texture atlas that the plot overlays, roboticon sprites and icons are packed into
+	 * @param name The name of the region (the path of the original image relative to the assets folder without the extension e.g. "icon/icon-coin")
+	 * @return The shared region with the given name
+	 */
+	public TextureRegion getRegion(String name){
+		TextureRegion region = getTextureAtlas(GAME_ATLAS_PATH).findRegion(name);
+		if(region == null){
+			throw new IllegalArgumentException("The game atlas does not contain a region called "+name);
+		}
+		return region;
+	}
+
+	/**
+	 * Returns the number of references to the asset stored at the given location that have been handed out and not yet released
+	 * @param path The location where the asset is stored
+	 * @return The number of references to the asset (0 if it is not loaded)
+	 */
+	public synchronized int getReferenceCount(String path){
+		Integer referenceCount = referenceCounts.get(path);
+		return (referenceCount == null) ? 0 : referenceCount;
+	}
+
+	/**
+	 * Returns the number of times that an asset has been loaded from disk
+	 * @return The number of times that an asset has been loaded from disk
+	 */
+	public synchronized int getLoadCount(){
+		return loadCount;
+	}
+
+	/**
+	 * Returns the total number of bytes that have been read from disk when loading assets (including the files that they depend on)
+	 * @return The total number of bytes that have been read from disk when loading assets
+	 */
+	public synchronized long getBytesLoaded(){
+		return bytesLoaded;
+	}
+
+	/**
+	 * Returns the size of the given file plus the size of all of the files that it depends upon (e.g. the atlas and image used by a skin)
+	 * @param path The location of the file
+	 * @return The size of the file (and its dependencies) in bytes
+	 */
+	private long getFileSize(String path){
+		FileHandle file = Gdx.files.internal(path);
+		long size = file.exists() ? file.length() : 0;
+
+		Array<String> dependencies = getManager().getDependencies(path);
+		if(dependencies != null){
+			for(String dependency : dependencies){
+				size += getFileSize(dependency);
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Disposes of all of the assets that have been loaded and resets the load statistics
+	 * <p>
+	 * To be called when the game is closed.
+	 * </p>
+	 */
+	public synchronized void dispose(){
+		if(manager != null){
+			manager.dispose();
+			manager = null;
+		}
+		if(font != null){
+			font.dispose();
+			font = null;
+		}
+		referenceCounts.clear();
+		heldAssets.clear();
+		loadCount = 0;
+		bytesLoaded = 0;
+	}
+}
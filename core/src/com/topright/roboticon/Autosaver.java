@@ -0,0 +1,100 @@
+package com.topright.roboticon;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.badlogic.gdx.Gdx;
+
+/**
+ * Saves snapshots of a game to a file on a background thread, so that saving never holds up the rendering of the game
+ * <p>
+ * Snapshots are taken (quickly) by the thread running the game and passed to {@link Autosaver#save(GameSnapshot)}, which
+ * returns straight away. Only the latest snapshot is kept: if a new snapshot is passed in while an earlier one is still
+ * waiting to be written then the earlier one is never written.
+ * </p>
+ */
+public class Autosaver {
+	private final Path file;
+	private final AtomicReference<GameSnapshot> pendingSnapshot = new AtomicReference<GameSnapshot>();
+	private final ExecutorService executor;
+	private volatile IOException lastError = null;
+	
+	/**
+	 * Constructor
+	 * @param file The file that snapshots are saved to
+	 */
+	public Autosaver(Path file){
+		if(file == null){
+			throw new IllegalArgumentException("file must not be null");
+		}
+		this.file = file;
+		executor = Executors.newSingleThreadExecutor(new ThreadFactory(){
+			@Override
+			public Thread newThread(Runnable runnable){
+				Thread thread = new Thread(runnable, "Autosaver");
+				thread.setDaemon(true); // Must not stop the game from closing
+				thread.setPriority(Thread.MIN_PRIORITY);
+				return thread;
+			}
+		});
+	}
+	
+	/**
+	 * Saves a snapshot on the background thread (returns without waiting for the snapshot to be saved)
+	 * @param snapshot The snapshot that is to be saved
+	 */
+	public void save(GameSnapshot snapshot){
+		if(pendingSnapshot.getAndSet(snapshot) == null){ // Otherwise the snapshot that was waiting will be replaced
+			executor.execute(new Runnable(){
+				@Override
+				public void run(){
+					writePendingSnapshot();
+				}
+			});
+		}
+	}
+	
+	/**
+	 * Writes the latest snapshot to the file (run on the background thread)
+	 */
+	private void writePendingSnapshot(){
+		GameSnapshot snapshot = pendingSnapshot.getAndSet(null);
+		if(snapshot == null){
+			return;
+		}
+		try{
+			snapshot.write(file);
+			lastError = null;
+		}
+		catch(IOException e){
+			lastError = e;
+			if(Gdx.app != null){
+				Gdx.app.error("Autosaver", "Unable to save the game", e);
+			}
+		}
+	}
+	
+	/**
+	 * Returns the error that stopped the last snapshot from being saved (null if it was saved)
+	 * @return The error that stopped the last snapshot from being saved
+	 */
+	public IOException getLastError(){
+		return lastError;
+	}
+	
+	/**
+	 * Waits for any snapshot that has yet to be saved to be saved and stops the background thread
+	 * @param timeoutMillis The longest time to wait (in milliseconds)
+	 * @return true if every snapshot was saved in time
+	 * @throws InterruptedException If interrupted while waiting
+	 */
+	public boolean close(long timeoutMillis) throws InterruptedException{
+		executor.shutdown();
+		return executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS);
+	}
+}
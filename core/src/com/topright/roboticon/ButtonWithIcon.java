@@ -1,18 +1,33 @@
 package com.topright.roboticon;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
+import com.badlogic.gdx.scenes.scene2d.utils.Drawable;
 
 /**
  * Buttons that use given background images (one for the default state and one for the clicked state)
- * 
+ * <p>
+ * All buttons share a single font (owned by the {@link AssetRegistry}) and the images they use come from shared texture atlases
+ * (so no textures are loaded per button).
+ * </p>
  * @author andrew
  *
  */
 public class ButtonWithIcon extends TextButton{
+	/**
+	 * Used to set the style of the button (what images are used for what state)
+	 * @param up The drawable to be used when the button is in the up state
+	 * @param down The drawable to be used when the button is in the down state
+	 * @return
+	 */
+	private static TextButtonStyle getTextButtonStyle(Drawable up, Drawable down){
+		TextButtonStyle textButtonStyle = new TextButtonStyle();
+		textButtonStyle.font = AssetRegistry.getInstance().getFont();
+		textButtonStyle.up = up;
+		textButtonStyle.down = down;
+		return textButtonStyle;
+	}
     
     /**
      * Used to set the style of the button (what images are used for what state)
@@ -22,14 +37,10 @@ public class ButtonWithIcon extends TextButton{
      * @return
      */
     private static TextButtonStyle getTextButtonStyle(String up, String down, String texturePath){
-    	TextButtonStyle textButtonStyle = new TextButtonStyle();
-        textButtonStyle.font = new BitmapFont();
         Skin skin = new Skin();
-        TextureAtlas buttonAtlas = new TextureAtlas(Gdx.files.internal(texturePath));
+        TextureAtlas buttonAtlas = AssetRegistry.getInstance().getTextureAtlas(texturePath); // Shared by every button that uses the same atlas
         skin.addRegions(buttonAtlas);
-        textButtonStyle.up = skin.getDrawable(up);
-        textButtonStyle.down = skin.getDrawable(down);
-        return textButtonStyle;
+        return getTextButtonStyle(skin.getDrawable(up), skin.getDrawable(down));
     }
     
     /**
@@ -45,6 +56,18 @@ public class ButtonWithIcon extends TextButton{
         addListener(click);
 	}
 	
+	/**
+	 * Constructor
+	 * @param text The text that is to appear on the button
+	 * @param up The (shared) drawable that is to be used when the button is in the up state
+	 * @param down The (shared) drawable that is to be used when the button is in the down state
+	 * @param click The clickLister that is to be called when the button is clicked
+	 */
+	public ButtonWithIcon(String text, Drawable up, Drawable down, ClickListener click){
+		super(text,getTextButtonStyle(up, down));
+		addListener(click);
+	}
+	
 
 	/**
 	 * Change the images used by the button
@@ -56,4 +79,13 @@ public class ButtonWithIcon extends TextButton{
 		this.setStyle(getTextButtonStyle(up,down,texturePath));
 	}
 	
+	/**
+	 * Change the images used by the button
+	 * @param up The (shared) drawable that is to be used when the button is in the up state
+	 * @param down The (shared) drawable that is to be used when the button is in the down state
+	 */
+	public void setImages(Drawable up, Drawable down){
+		this.setStyle(getTextButtonStyle(up,down));
+	}
+	
 }
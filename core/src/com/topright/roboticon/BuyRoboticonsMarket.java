@@ -1,10 +1,7 @@
 package com.topright.roboticon;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.ai.msg.MessageManager;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
-import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
 
@@ -17,23 +14,35 @@ public class BuyRoboticonsMarket extends PopUpWindow{
 	private SpinBox transactionQuantitySpinBox;  // Used to state how many roboticons that player wants to buy
 	private Label transactionCostLabel; // Displays the total cost of the current transaction (number of roboticons * price per roboticon)
     private Player currentPlayer; // The current player who is using the market
+    private Market market; // The market that roboticons are bought from
 	private Label roboticonsInStockLabel;
+	private Label costPerRoboticonLabel; // The price depends on the market's stock so it changes after every purchase
 	private TextButton produceRoboticonButton;
 	private TextButton completePurchaseButton;
 	
 	
 	/**
-	 * Constructor
+	 * Constructor (uses the shared market)
 	 * @param player The current player who is using the market
 	 */
 	public BuyRoboticonsMarket(Player player){	
+		this(player, Market.getInstance());
+	}
+	
+	/**
+	 * Constructor
+	 * @param player The current player who is using the market
+	 * @param market The market that roboticons are bought from
+	 */
+	public BuyRoboticonsMarket(Player player, Market market){	
 		super("Market: buy roboticons"); // Argument is the window title
         this.currentPlayer = player;
+        this.market = market;
 		
         createTransactionQuantitySpinBox();
 		createButtons();
-		roboticonsInStockLabel = new Label("Roboticons in stock: "+Integer.toString(Market.getInstance().getRoboticonQuantity()), new Skin(Gdx.files.internal("uiskin.json")));
-		transactionCostLabel = new Label("Total cost: 0",new Skin(Gdx.files.internal("uiskin.json")));
+		roboticonsInStockLabel = new Label("Roboticons in stock: "+Integer.toString(market.getRoboticonQuantity()), AssetRegistry.getInstance().getSkin());
+		transactionCostLabel = new Label("Total cost: 0",AssetRegistry.getInstance().getSkin());
 		
 		addWidgetsToWindow();
 		setSize(getPrefWidth(),getPrefHeight());
@@ -44,9 +53,9 @@ public class BuyRoboticonsMarket extends PopUpWindow{
 	 * Adds all the widgets that the user uses to interact with the market to the window
 	 */
 	private void addWidgetsToWindow(){
-		Label costPerRoboticonLabel = new Label("Price per roboticon: "+Integer.toString(Market.getInstance().getCostRoboticons(1)), new Skin(Gdx.files.internal("uiskin.json")));
-		Label roboticonOreConversionRateLabel = new Label("It costs the market " +Integer.toString(Market.getInstance().getRoboticonOreConversionRate()) 
-        +" ore to produce 1 roboticon", new Skin(Gdx.files.internal("uiskin.json")));
+		costPerRoboticonLabel = new Label("Price per roboticon: "+Integer.toString(market.getCostRoboticons(1)), AssetRegistry.getInstance().getSkin());
+		Label roboticonOreConversionRateLabel = new Label("It costs the market " +Integer.toString(market.getRoboticonOreConversionRate()) 
+        +" ore to produce 1 roboticon", AssetRegistry.getInstance().getSkin());
 
 		// Place all items on the screen in the desired places 
 		add(roboticonsInStockLabel).expand().fill().left();
@@ -70,7 +79,7 @@ public class BuyRoboticonsMarket extends PopUpWindow{
 	 */
 	private void createTransactionQuantitySpinBox(){
 		
-		transactionQuantitySpinBox = new SpinBox("Buy ",0,0, Market.getInstance().getRoboticonQuantity());
+		transactionQuantitySpinBox = new SpinBox("Buy ",0,0, market.getRoboticonQuantity());
 		transactionQuantitySpinBox.addListener(new ClickListener(){
 			@Override
 			public void clicked(InputEvent event, float x, float y)
@@ -83,7 +92,7 @@ public class BuyRoboticonsMarket extends PopUpWindow{
 	 * Updates the transaction cost label so that is displays the cost of the current transaction (number of roboticons * cost per roboticon)
 	 */
 	private void updateTransactionCostLabel(){
-		Integer transactionCost = Market.getInstance().getCostRoboticons(transactionQuantitySpinBox.getValue()); 
+		Integer transactionCost = market.getCostRoboticons(transactionQuantitySpinBox.getValue()); 
 		transactionCostLabel.setText("Total cost: "+transactionCost.toString());
 	}
 	
@@ -93,7 +102,7 @@ public class BuyRoboticonsMarket extends PopUpWindow{
 	 */
 	private void createButtons(){
 		// To be clicked when the player wishes to purchase the specified number of roboticons
-		completePurchaseButton = new TextButton("Purchase",new Skin(Gdx.files.internal("uiskin.json")));
+		completePurchaseButton = new TextButton("Purchase",AssetRegistry.getInstance().getSkin());
 		completePurchaseButton.addListener(new ClickListener(){
 			@Override
 			public void clicked(InputEvent event, float x, float y){
@@ -103,7 +112,7 @@ public class BuyRoboticonsMarket extends PopUpWindow{
 			});
 
 		// A button that can be clicked to try and make the market produce another roboticon
-		produceRoboticonButton = new TextButton("Make the market produce another roboticon", new Skin(Gdx.files.internal("uiskin.json")));
+		produceRoboticonButton = new TextButton("Make the market produce another roboticon", AssetRegistry.getInstance().getSkin());
 		produceRoboticonButton.addListener(new ClickListener(){
 			@Override
 			public void clicked(InputEvent event, float x, float y){
@@ -116,7 +125,7 @@ public class BuyRoboticonsMarket extends PopUpWindow{
 	 * Tries to get the market to produce another roboticon. If it cannot then the player is notified via a popup message
 	 */
 	private void attemptToProduceRoboticon(){
-		if(Market.getInstance().attemptToProduceRoboticon()){
+		if(market.attemptToProduceRoboticon()){
 			updateRoboticonsInStockLabel();
 		}
 		else{
@@ -138,7 +147,7 @@ public class BuyRoboticonsMarket extends PopUpWindow{
 				// If the purchase was successful
 				
 				// Other parts of the game need to react (e.g. the players inventory on the menu bar must be updated)
-				MessageManager.getInstance().dispatchMessage(GameEvents.PLAYERINVENTORYUPDATE.ordinal()); 
+				GameEventBus.getInstance().dispatch(GameEvents.PLAYERINVENTORYUPDATE); 
 				
 				updateRoboticonsInStockLabel();
 				updateTransactionCostLabel();			
@@ -155,11 +164,12 @@ public class BuyRoboticonsMarket extends PopUpWindow{
 	/**
 	 * Update the roboticons in stock label once a purchase has been made 
 	 * (also updates the maximum number that can be selected using the transactonQuantitySpinbox 
-	 * so that the player cannot attempt to buy more roboticons that are available)
+	 * so that the player cannot attempt to buy more roboticons that are available, and the price per roboticon)
 	 */
 	private void updateRoboticonsInStockLabel(){
-		int roboticonsInStock = Market.getInstance().getRoboticonQuantity();
+		int roboticonsInStock = market.getRoboticonQuantity();
 		roboticonsInStockLabel.setText("Roboticons in stock: "+Integer.toString(roboticonsInStock));
+		costPerRoboticonLabel.setText("Price per roboticon: "+Integer.toString(market.getCostRoboticons(1)));
 		transactionQuantitySpinBox.setMaxValue(roboticonsInStock);
 	}
 	
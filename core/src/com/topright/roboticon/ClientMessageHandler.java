@@ -0,0 +1,60 @@
+package com.topright.roboticon;
+
+/**
+ * Told about the messages that clients send to the game server (see {@link NetworkProtocol#dispatch(java.nio.ByteBuffer, ClientMessageHandler)})
+ */
+interface ClientMessageHandler {
+
+	/**
+	 * Called when a client wants to play in a match
+	 * @param version The version of the protocol that the client speaks
+	 */
+	public void join(int version);
+
+	/**
+	 * Called when a client's player wants to acquire a plot
+	 * @param row The row of the plot
+	 * @param column The column of the plot
+	 */
+	public void acquirePlot(int row, int column);
+
+	/**
+	 * Called when a client's player wants to buy roboticons
+	 * @param quantity The number of roboticons
+	 */
+	public void buyRoboticons(int quantity);
+
+	/**
+	 * Called when a client's player wants to customise a roboticon
+	 * @param customisation The customisation
+	 */
+	public void customiseRoboticon(RoboticonCustomisation customisation);
+
+	/**
+	 * Called when a client's player wants to place a roboticon on a plot
+	 * @param row The row of the plot
+	 * @param column The column of the plot
+	 * @param customisation The customisation of the roboticon
+	 */
+	public void placeRoboticon(int row, int column, RoboticonCustomisation customisation);
+
+	/**
+	 * Called when a client's player wants to buy a resource from the market
+	 * @param resource The resource
+	 * @param quantity The quantity of the resource
+	 */
+	public void buyResource(PlotSpecialism resource, int quantity);
+
+	/**
+	 * Called when a client's player wants to sell a resource to the market
+	 * @param resource The resource
+	 * @param quantity The quantity of the resource
+	 */
+	public void sellResource(PlotSpecialism resource, int quantity);
+
+	/**
+	 * Called when a client's player has finished a stage of the game
+	 * @param event The event that ends the stage
+	 */
+	public void finished(GameEvents event);
+}
@@ -1,9 +1,7 @@
 package com.topright.roboticon;
 
-import java.util.Random;
-
 /**
- * Contains a single static method that can be used to create and initialise a 2D array of plots
+ * Contains static methods that can be used to create and initialise a 2D array of plots
  * of a given size.
  * @author jcn509
  *
@@ -12,27 +10,42 @@ public class CreatePlots {
 	private CreatePlots(){} // No instantiations
 	
 	/**
-	 * Creates the 2D array of plot objects that players can interact with
+	 * Creates the 2D array of plot objects that players can interact with (using a randomly chosen seed)
 	 * @param rows The number of rows of plots that is required
 	 * @param columns The number of columns of plots that is required
 	 * @return 2D array of plot objects of the specified dimensions
 	 */
 	public static Plot[][] createPlots(int rows, int columns){
+		return createPlots(rows, columns, new GameRandom());
+	}
+	
+	/**
+	 * Creates the 2D array of plot objects that players can interact with
+	 * @param rows The number of rows of plots that is required
+	 * @param columns The number of columns of plots that is required
+	 * @param random Chooses the specialism of each plot (the same seed always gives the same plots)
+	 * @return 2D array of plot objects of the specified dimensions
+	 */
+	public static Plot[][] createPlots(int rows, int columns, GameRandom random){
 		if(rows<=0){
 			throw new IllegalArgumentException("rows must be >=0 rows = "+Integer.toString(rows));
 		}
 		if(columns<=0){
 			throw new IllegalArgumentException("columns must be >=0 columns = "+Integer.toString(columns));
 		}
+		if(random == null){
+			throw new IllegalArgumentException("random must not be null");
+		}
 		Plot[][] plots = new Plot[rows][columns];
+		// Shared by every plot (creating this for each plot was a large part of the cost of creating big maps)
+		PlotSpecialism[] specialismChoice = {PlotSpecialism.ORE,PlotSpecialism.ENERGY};
 		
 		for(int row=0;row<rows;row++){
 			
 			for(int column=0;column<columns;column++){
 				
 				// Randomly choose a specialism for each plot
-			    PlotSpecialism[] specialismChoice = {PlotSpecialism.ORE,PlotSpecialism.ENERGY};
-			    int choice = new Random().nextInt(specialismChoice.length);
+			    int choice = random.nextInt(specialismChoice.length);
 			
 			    // No Player owns each plot, no roboticon is placed on it and its specialism is random
 				plots[row][column]= new Plot(specialismChoice[choice]);
@@ -1,10 +1,7 @@
 package com.topright.roboticon;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
-import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
-import com.badlogic.gdx.ai.msg.MessageManager;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
 
@@ -15,17 +12,28 @@ import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
 public class CustomiseRoboticonsMarket extends PopUpWindow {
 
 	Player currentPlayer; // The current player who is looking to customise some of their roboticons
+	private Market market; // The market that charges for the customisations
 	private TextButton energyCustomisationButton;
 	private TextButton oreCustomisationButton;
 
 	/**
-	 * Constructor
+	 * Constructor (uses the shared market)
 	 * @param player The current player (who is looking to customise some of their roboticons)
 	 */
 	public CustomiseRoboticonsMarket(Player player){
+		this(player, Market.getInstance());
+	}
+	
+	/**
+	 * Constructor
+	 * @param player The current player (who is looking to customise some of their roboticons)
+	 * @param market The market that charges for the customisations
+	 */
+	public CustomiseRoboticonsMarket(Player player, Market market){
 		super("Market: Customise roboticons"); // The argument in the superclass constructor is the window title
 		
 		this.currentPlayer = player;
+		this.market = market;
 
 		createAndAddCostLabels();
 		row();
@@ -40,8 +48,8 @@ public class CustomiseRoboticonsMarket extends PopUpWindow {
 	 * to ensure that they are set up to carry out the correct actions when clicked and then adds them to the window.
 	 */
 	private void createAndAddCustomisationButtons(){
-		energyCustomisationButton = new TextButton("Customise a roboticon for energy", new Skin(Gdx.files.internal("uiskin.json")));
-		oreCustomisationButton = new TextButton("Customise a roboticon for ore", new Skin(Gdx.files.internal("uiskin.json")));
+		energyCustomisationButton = new TextButton("Customise a roboticon for energy", AssetRegistry.getInstance().getSkin());
+		oreCustomisationButton = new TextButton("Customise a roboticon for ore", AssetRegistry.getInstance().getSkin());
 		setCustomisationButtonClickBehaviour();
 		
 		add(energyCustomisationButton).left().fillX();
@@ -54,12 +62,12 @@ public class CustomiseRoboticonsMarket extends PopUpWindow {
 	 */
 	private void createAndAddCostLabels(){
 		Label energyCustomisationCostLabel = new Label("Energy customisation cost: "+
-				Integer.toString(Market.getInstance().getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY)),
-				new Skin(Gdx.files.internal("uiskin.json")));
+				Integer.toString(market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY)),
+				AssetRegistry.getInstance().getSkin());
 
 		Label oreCustomisationCostLabel = new Label("Ore customisation cost: "+
-				Integer.toString(Market.getInstance().getCostRoboticonCustomisation(RoboticonCustomisation.ORE)),
-				new Skin(Gdx.files.internal("uiskin.json")));
+				Integer.toString(market.getCostRoboticonCustomisation(RoboticonCustomisation.ORE)),
+				AssetRegistry.getInstance().getSkin());
 		
 		// Add the widgets to the window in the desired locations
 		add(energyCustomisationCostLabel).left();
@@ -104,9 +112,9 @@ public class CustomiseRoboticonsMarket extends PopUpWindow {
 		
 		if(currentPlayer.attemptToCustomiseRoboticon(customisation)){ // If it is possible to customise one of the players roboticons
 			// Other parts of the game must respond (e.g. the menu bar must updated as the contents of the player's inventory has changed)
-			MessageManager.getInstance().dispatchMessage(GameEvents.PLAYERINVENTORYUPDATE.ordinal()); 
+			GameEventBus.getInstance().dispatch(GameEvents.PLAYERINVENTORYUPDATE); 
 		}
-		else if(currentPlayer.getMoneyQuantity()<Market.getInstance().getCostRoboticonCustomisation(customisation)){ // If the player does not have enough money
+		else if(currentPlayer.getMoneyQuantity()<market.getCostRoboticonCustomisation(customisation)){ // If the player does not have enough money
 			getStage().addActor(new MessagePopUp("Not enough money","You don't have enough money!"));
 		}
 		else if(currentPlayer.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED) < 1){ // If the player does not have any uncustomised roboticons
@@ -0,0 +1,72 @@
+package com.topright.roboticon;
+
+import java.util.Arrays;
+
+/**
+ * Records how long each decision made by an AI took so that percentiles can be reported
+ * <p>
+ * Every latency is kept (in a growing array of longs, so no boxing) as a tournament only makes a few thousand decisions per strategy.
+ * Not thread safe, each game records into its own instance and the results are combined once the games are over.
+ * </p>
+ */
+final class DecisionLatencies {
+	private long[] latencies = new long[64]; // In nanoseconds
+	private int size = 0;
+	private boolean sorted = true;
+	
+	/**
+	 * Records the latency of a decision
+	 * @param nanos How long the decision took in nanoseconds
+	 */
+	void add(long nanos){
+		if(nanos < 0){
+			throw new IllegalArgumentException("nanos must be >= 0 nanos = "+nanos);
+		}
+		if(size == latencies.length){
+			latencies = Arrays.copyOf(latencies, size*2);
+		}
+		latencies[size++] = nanos;
+		sorted = false;
+	}
+	
+	/**
+	 * Records every latency recorded by another instance
+	 * @param other The other instance
+	 */
+	void addAll(DecisionLatencies other){
+		if(size + other.size > latencies.length){
+			latencies = Arrays.copyOf(latencies, Math.max(size + other.size, size*2));
+		}
+		System.arraycopy(other.latencies, 0, latencies, size, other.size);
+		size += other.size;
+		sorted = false;
+	}
+	
+	/**
+	 * Returns the number of decisions that have been recorded
+	 * @return The number of decisions
+	 */
+	int size(){
+		return size;
+	}
+	
+	/**
+	 * Returns the latency that the given percentage of decisions took no longer than (using the nearest rank)
+	 * @param percent The percentile (greater than 0 and no more than 100)
+	 * @return The latency in nanoseconds, 0 if no decisions have been recorded
+	 */
+	long getPercentile(double percent){
+		if(percent <= 0 || percent > 100){
+			throw new IllegalArgumentException("percent must be > 0 and <= 100 percent = "+percent);
+		}
+		if(size == 0){
+			return 0;
+		}
+		if(!sorted){
+			Arrays.sort(latencies, 0, size);
+			sorted = true;
+		}
+		int rank = (int)Math.ceil(percent/100*size);
+		return latencies[Math.max(rank, 1) - 1];
+	}
+}
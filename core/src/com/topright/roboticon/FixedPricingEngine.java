@@ -0,0 +1,20 @@
+package com.topright.roboticon;
+
+/**
+ * A {@link PricingEngine} that always buys and sells goods at their base price, whatever the market has in stock
+ * <p>
+ * Used by every {@link Market} unless it is given another engine.
+ * </p>
+ */
+public class FixedPricingEngine implements PricingEngine {
+	
+	@Override
+	public int getBuyPrice(int basePrice, int stock, int recentTradeVolume){
+		return basePrice;
+	}
+	
+	@Override
+	public int getSellPrice(int basePrice, int stock, int recentTradeVolume){
+		return basePrice;
+	}
+}
@@ -0,0 +1,168 @@
+package com.topright.roboticon;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+
+/**
+ * Reads and writes the frames of the {@link NetworkProtocol} over a non-blocking SocketChannel
+ * <p>
+ * Bytes are read into a single buffer and every whole frame in it is passed to a {@link FrameHandler}, the buffer only grows when a
+ * frame that is bigger than it arrives (the message that starts a match on a large map). Frames that are sent are queued and written by
+ * {@link FramedChannel#flush()}, whatever the channel will not take straight away is kept until the next flush (so a slow client never
+ * blocks the thread that serves it).
+ * </p>
+ * <p>
+ * Used by the game server (one for every connection, all served by one thread), the {@link RemoteGameClient} and the load generator.
+ * A FramedChannel must only be used by one thread at a time.
+ * </p>
+ */
+final class FramedChannel implements Closeable {
+	static final int DEFAULT_READ_BUFFER_SIZE = 4096;
+
+	private final SocketChannel channel;
+	private ByteBuffer readBuffer; // Ready to be written to (by the channel)
+	private final ArrayDeque<ByteBuffer> pendingWrites = new ArrayDeque<ByteBuffer>();
+	private long pendingBytes = 0;
+
+	/**
+	 * Told about every whole frame that is read
+	 */
+	interface FrameHandler {
+
+		/**
+		 * Called with every whole frame that is read
+		 * @param frame The type and payload of the frame (only valid until this method returns)
+		 */
+		public void handleFrame(ByteBuffer frame);
+	}
+
+	/**
+	 * Constructor, the channel is put in non-blocking mode
+	 * @param channel The channel that frames are read from and written to
+	 * @throws IOException If the channel can't be put in non-blocking mode
+	 */
+	FramedChannel(SocketChannel channel) throws IOException{
+		this(channel, DEFAULT_READ_BUFFER_SIZE);
+	}
+
+	/**
+	 * Constructor, the channel is put in non-blocking mode
+	 * @param channel The channel that frames are read from and written to
+	 * @param readBufferSize The initial size of the read buffer (it grows if a bigger frame arrives)
+	 * @throws IOException If the channel can't be put in non-blocking mode
+	 */
+	FramedChannel(SocketChannel channel, int readBufferSize) throws IOException{
+		if(channel == null){
+			throw new IllegalArgumentException("channel must not be null");
+		}
+		if(readBufferSize < NetworkProtocol.LENGTH_SIZE){
+			throw new IllegalArgumentException("readBufferSize must be >= "+NetworkProtocol.LENGTH_SIZE+" readBufferSize = "+readBufferSize);
+		}
+		this.channel = channel;
+		channel.configureBlocking(false);
+		readBuffer = ByteBuffer.allocate(readBufferSize);
+	}
+
+	/**
+	 * Returns the channel that frames are read from and written to
+	 * @return The channel
+	 */
+	SocketChannel getChannel(){
+		return channel;
+	}
+
+	/**
+	 * Reads everything that has arrived and passes every whole frame to a handler
+	 * <p>
+	 * Throws an IllegalArgumentException (after passing on every frame before it) if a frame has an invalid length.
+	 * </p>
+	 * @param handler Told about every whole frame
+	 * @return The number of frames read, or -1 if the other end has closed the connection
+	 * @throws IOException If the channel can't be read from
+	 */
+	int read(FrameHandler handler) throws IOException{
+		int frames = 0;
+		while(true){
+			int bytesRead = channel.read(readBuffer);
+			boolean bufferFilled = !readBuffer.hasRemaining(); // There may be more waiting to be read
+			readBuffer.flip();
+			ByteBuffer frame;
+			while((frame = NetworkProtocol.readFrame(readBuffer)) != null){
+				handler.handleFrame(frame);
+				frames++;
+			}
+			growIfFrameWontFit();
+			readBuffer.compact();
+			if(bytesRead < 0){
+				return -1;
+			}
+			if(bytesRead == 0 || !bufferFilled){
+				return frames; // Everything that has arrived has been read
+			}
+		}
+	}
+
+	/**
+	 * Replaces the read buffer (which must be ready to be read from) with a bigger one if the next frame is too big to fit in it
+	 */
+	private void growIfFrameWontFit(){
+		int frameLength = NetworkProtocol.getFrameLength(readBuffer);
+		if(frameLength >= 0 && NetworkProtocol.LENGTH_SIZE + frameLength > readBuffer.capacity()){
+			ByteBuffer biggerBuffer = ByteBuffer.allocate(NetworkProtocol.LENGTH_SIZE + frameLength);
+			biggerBuffer.put(readBuffer);
+			biggerBuffer.flip();
+			readBuffer = biggerBuffer;
+		}
+	}
+
+	/**
+	 * Queues a frame to be written by the next call to {@link FramedChannel#flush()}
+	 * <p>
+	 * The frame itself is not changed, so the same frame can be sent to many channels.
+	 * </p>
+	 * @param frame The frame (as returned by one of the encoding methods of {@link NetworkProtocol})
+	 */
+	void send(ByteBuffer frame){
+		ByteBuffer pendingFrame = frame.duplicate();
+		pendingWrites.add(pendingFrame);
+		pendingBytes += pendingFrame.remaining();
+	}
+
+	/**
+	 * Writes as many of the queued frames as the channel will take without blocking
+	 * @return true if every queued frame has been written
+	 * @throws IOException If the channel can't be written to
+	 */
+	boolean flush() throws IOException{
+		while(!pendingWrites.isEmpty()){
+			ByteBuffer frame = pendingWrites.peek();
+			pendingBytes -= channel.write(frame);
+			if(frame.hasRemaining()){
+				return false; // The channel is full
+			}
+			pendingWrites.poll();
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the number of bytes that have been sent but not written yet
+	 * @return The number of bytes waiting to be written
+	 */
+	long getPendingBytes(){
+		return pendingBytes;
+	}
+
+	/**
+	 * Closes the channel (any frames that have not been written are lost)
+	 */
+	@Override
+	public void close() throws IOException{
+		pendingWrites.clear();
+		pendingBytes = 0;
+		channel.close();
+	}
+}
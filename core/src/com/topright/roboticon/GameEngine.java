@@ -0,0 +1,486 @@
+package com.topright.roboticon;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the phases of the game (the rules of the game) without any GUI
+ * <p>
+ * AI players are told to make their moves as soon as their stage of the game is reached. When a human player must act the
+ * {@link GameEngineListener} is told about it and the engine waits until {@link GameEngine#handleEvent(GameEvents)} is called
+ * to say that the player has finished. If every player is an AI player the whole game is played by {@link GameEngine#start()}.
+ * </p>
+ * <p>
+ * The time spent in each phase is recorded so that simulations can report where the time goes (and is also given to the
+ * {@link MetricsRegistry}, so that the duration of every phase is recorded if it is enabled).
+ * </p>
+ * <p>
+ * If a {@link GameEventLog} is given to the engine then every phase that is entered and every action that changes the state of the
+ * game is recorded in it, so the game can be replayed later by a {@link GameLogReplayer}.
+ * </p>
+ * <p>
+ * Any number of players (at least 2) can play, they take their turns in the order given to the engine (see {@link TurnScheduler}).
+ * Production and the market are shared by all of the players and happen once every player has had their turn in a round.
+ * </p>
+ */
+public class GameEngine {
+	private PlotGrid plotGrid;
+	private GameEngineListener listener;
+	private GameEventLog eventLog = null; // null if the game is not being logged
+
+	private TurnScheduler turnScheduler;
+	private boolean anyHumanPlayers;
+	private Player currentPlayer;
+
+	private GamePhase phase = null; // null until the game has been started
+	private boolean waitingForPlayer = false; // true while waiting for a human player to finish the current stage
+
+	private long phaseStartTime; // When the current phase started (System.nanoTime)
+	private long[] phaseTimes = new long[GamePhase.values().length]; // Total time spent in each phase (in nanoseconds)
+	private int[] phaseCounts = new int[GamePhase.values().length]; // Number of times each phase has been completed
+	private int roundNumber = 0;
+
+	/**
+	 * Constructor
+	 * @param plotGrid The plots that the game is played on
+	 * @param firstPlayer The player who goes first in every round
+	 * @param secondPlayer The player who goes second in every round
+	 * @param listener Told whenever a human player must act (may be null if every player is an AI player)
+	 */
+	public GameEngine(PlotGrid plotGrid, Player firstPlayer, Player secondPlayer, GameEngineListener listener){
+		this(plotGrid, checkBothPlayers(firstPlayer, secondPlayer), listener);
+	}
+
+	/**
+	 * Constructor
+	 * <p>
+	 * AI players are only told who their opponent is in two player games (see {@link AIPlayer#setOpponent(Player, boolean)}).
+	 * </p>
+	 * @param plotGrid The plots that the game is played on
+	 * @param players The players in the order that they take their turns in every round (at least 2)
+	 * @param listener Told whenever a human player must act (may be null if every player is an AI player)
+	 */
+	public GameEngine(PlotGrid plotGrid, List<Player> players, GameEngineListener listener){
+		if(plotGrid == null){
+			throw new IllegalArgumentException("plotGrid must not be null");
+		}
+		turnScheduler = new TurnScheduler(players);
+		anyHumanPlayers = false;
+		for(Player player : turnScheduler.getPlayers()){
+			if(isHuman(player)){
+				anyHumanPlayers = true;
+			}
+		}
+		if(listener == null && anyHumanPlayers){
+			throw new IllegalArgumentException("A GameEngineListener is needed if any of the players are human players");
+		}
+		this.plotGrid = plotGrid;
+		this.listener = listener;
+		if(turnScheduler.getNumberOfPlayers() == 2){
+			Player firstPlayer = getFirstPlayer();
+			Player secondPlayer = getSecondPlayer();
+			if(firstPlayer instanceof AIPlayer){
+				((AIPlayer)firstPlayer).setOpponent(secondPlayer, true);
+			}
+			if(secondPlayer instanceof AIPlayer){
+				((AIPlayer)secondPlayer).setOpponent(firstPlayer, false);
+			}
+		}
+	}
+
+	/**
+	 * Returns a list of the two given players, checking that neither of them is null
+	 * @param firstPlayer The player who goes first in every round
+	 * @param secondPlayer The player who goes second in every round
+	 * @return A list containing the two players
+	 */
+	private static List<Player> checkBothPlayers(Player firstPlayer, Player secondPlayer){
+		if(firstPlayer == null || secondPlayer == null){
+			throw new IllegalArgumentException("Both players must not be null");
+		}
+		return Arrays.asList(firstPlayer, secondPlayer);
+	}
+
+	/**
+	 * Records the game in the given log, the players, their markets and the plots are all told to record their actions in it
+	 * @param eventLog The log that the game is to be recorded in
+	 */
+	public void setEventLog(GameEventLog eventLog){
+		if(phase != null){
+			throw new IllegalStateException("The event log must be set before the game is started!");
+		}
+		this.eventLog = eventLog;
+		plotGrid.setEventLog(eventLog);
+		for(Player player : turnScheduler.getPlayers()){
+			player.setEventLog(eventLog);
+			player.getMarket().setEventLog(eventLog);
+		}
+	}
+	
+	/**
+	 * Starts the game (at the plot acquisition stage)
+	 * <p>
+	 * Returns once a human player must act or (if every player is an AI player) once the game is over.
+	 * </p>
+	 */
+	public void start(){
+		if(phase != null){
+			throw new IllegalStateException("The game has already been started!");
+		}
+		turnScheduler.startRound();
+		currentPlayer = turnScheduler.getCurrentPlayer();
+		roundNumber = 1;
+		enterPhase(GamePhase.PLOTACQUISITION);
+		run();
+	}
+
+	/**
+	 * Carries on with a game that was saved (see {@link GameSnapshot}) from the start of the phase that it was saved in
+	 * <p>
+	 * Games are only saved while the engine is waiting for a human player (or once the game is over), so the human player is
+	 * asked to carry out the phase again. The AI players have already traded by the time that the human player is asked to
+	 * use the market, so they are not asked to trade again.
+	 * </p>
+	 * @param phase The phase that the game was saved in
+	 * @param currentPlayer The player whose turn it was
+	 * @param roundNumber The number of the round that was being played
+	 */
+	public void resume(GamePhase phase, Player currentPlayer, int roundNumber){
+		if(this.phase != null){
+			throw new IllegalStateException("The game has already been started!");
+		}
+		if(phase == null){
+			throw new IllegalArgumentException("phase must not be null");
+		}
+		if(!turnScheduler.contains(currentPlayer)){
+			throw new IllegalArgumentException("currentPlayer must be one of the players in the game");
+		}
+		if(roundNumber < 1){
+			throw new IllegalArgumentException("roundNumber must be >= 1 roundNumber = "+roundNumber);
+		}
+		turnScheduler.setCurrentPlayer(currentPlayer);
+		this.currentPlayer = currentPlayer;
+		this.roundNumber = roundNumber;
+		enterPhase(phase);
+		
+		if(phase == GamePhase.GAMEOVER){
+			if(listener != null){
+				listener.gameOver();
+			}
+		}
+		else if(phase == GamePhase.MARKET && anyHumanPlayers){
+			listener.allPlayersMarketStage();
+			waitingForPlayer = true;
+		}
+		else{
+			run();
+		}
+	}
+	
+	/**
+	 * Called when a human player has finished a stage of the game, moves the game on to the next stage.
+	 * <p>
+	 * Events that do not apply to the current stage (e.g. a timer that runs out after the player already moved on) are ignored.
+	 * </p>
+	 * @param event The event that has occurred
+	 * @return true if the event moved the game on and false if it was ignored
+	 */
+	public boolean handleEvent(GameEvents event){
+		if(!waitingForPlayer){
+			return false;
+		}
+
+		switch(event){
+		case PLOTAQUIRED:
+			if(phase != GamePhase.PLOTACQUISITION){
+				return false;
+			}
+			break;
+		case FINISHEDBUYINGROBOTICONS:
+			if(phase != GamePhase.BUYINGROBOTICONS){
+				return false;
+			}
+			break;
+		case FINISHEDCUSTOMISINGROBOTICONS:
+			// The timer set during the buying stage may run out before the player has started customising (skip straight to placing)
+			if(phase == GamePhase.BUYINGROBOTICONS){
+				nextPhase();
+			}
+			else if(phase != GamePhase.CUSTOMISINGROBOTICONS){
+				return false;
+			}
+			break;
+		case FINISHEDPLACINGROBOTICONS:
+			if(phase != GamePhase.PLACINGROBOTICONS){
+				return false;
+			}
+			break;
+		case FINISHEDWITHTHEMARKET:
+			if(phase != GamePhase.MARKET){
+				return false;
+			}
+			break;
+		default:
+			throw new IllegalArgumentException("The game engine is unable to respond to event "+event);
+		}
+
+		waitingForPlayer = false;
+		nextPhase();
+		run();
+		return true;
+	}
+
+	/**
+	 * Carries out stages of the game until a human player must act or the game is over
+	 * <p>
+	 * A loop is used (rather than each stage calling the next) so that games with many rounds do not overflow the stack.
+	 * </p>
+	 */
+	private void run(){
+		while(!waitingForPlayer && phase != GamePhase.GAMEOVER){
+			if(playPhase()){
+				nextPhase();
+			}
+			else{
+				waitingForPlayer = true;
+			}
+		}
+	}
+
+	/**
+	 * Carries out the current phase for the current player
+	 * @return true if the phase is complete and false if a human player must now act
+	 */
+	private boolean playPhase(){
+		switch(phase){
+		case PLOTACQUISITION:
+			plotGrid.setCurrentPlayer(currentPlayer);
+			if(plotGrid.allPlotsAquired()){
+				return true; // Happens when there are an odd number of plots, there's nothing left for this player to acquire
+			}
+			else if(isHuman(currentPlayer)){
+				listener.plotAcquisitionStage(currentPlayer);
+				return false;
+			}
+			((AIPlayer)currentPlayer).choosePlot(plotGrid);
+			return true;
+		case BUYINGROBOTICONS:
+			if(isHuman(currentPlayer)){
+				listener.buyingRoboticonsStage(currentPlayer);
+				return false;
+			}
+			// There is no timer for AI player (as it makes decisions very quickly and it would complicate the AI)
+			((AIPlayer)currentPlayer).buyRoboticons(plotGrid);
+			return true;
+		case CUSTOMISINGROBOTICONS:
+			if(isHuman(currentPlayer)){
+				listener.customisingRoboticonsStage(currentPlayer);
+				return false;
+			}
+			((AIPlayer)currentPlayer).customiseRoboticons(plotGrid);
+			return true;
+		case PLACINGROBOTICONS:
+			if(isHuman(currentPlayer)){
+				listener.roboticonPlacingStage(currentPlayer);
+				return false;
+			}
+			((AIPlayer)currentPlayer).placeRoboticons(plotGrid);
+			return true;
+		case PRODUCTION:
+			plotGrid.produceResources();
+			if(eventLog != null){
+				eventLog.resourcesProduced();
+			}
+			if(listener != null){
+				listener.resourcesProduced();
+			}
+			return true;
+		case MARKET:
+			// Tell the AI players to place their orders, then to buy and sell whatever resources they want to (every order has been
+			// placed by then, so they can sell to each other's buy orders)
+			for(Player player : turnScheduler.getPlayers()){
+				if(!isHuman(player)){
+					((AIPlayer)player).placeOrders();
+				}
+			}
+			for(Player player : turnScheduler.getPlayers()){
+				if(!isHuman(player)){
+					((AIPlayer)player).buyAndSellResources();
+				}
+			}
+			// This stage can only be ended by a human player (if there is one)
+			if(anyHumanPlayers){
+				listener.allPlayersMarketStage();
+				return false;
+			}
+			return true;
+		default:
+			throw new IllegalStateException("Unable to play phase "+phase);
+		}
+	}
+
+	/**
+	 * Moves the game on to the phase that follows the current one
+	 */
+	private void nextPhase(){
+		switch(phase){
+		case PLOTACQUISITION:
+			enterPhase(GamePhase.BUYINGROBOTICONS);
+			break;
+		case BUYINGROBOTICONS:
+			enterPhase(GamePhase.CUSTOMISINGROBOTICONS);
+			break;
+		case CUSTOMISINGROBOTICONS:
+			enterPhase(GamePhase.PLACINGROBOTICONS);
+			break;
+		case PLACINGROBOTICONS:
+			if(turnScheduler.nextPlayer()){ // Some players have yet to have their turn in this round
+				currentPlayer = turnScheduler.getCurrentPlayer();
+				enterPhase(GamePhase.PLOTACQUISITION);
+			}
+			else{
+				enterPhase(GamePhase.PRODUCTION); // followed immediately by the shared market phase
+			}
+			break;
+		case PRODUCTION:
+			enterPhase(GamePhase.MARKET);
+			break;
+		case MARKET:
+			closeOrderBooks();
+			// The game ends when all plots have been acquired and all players finished their turn in the current round
+			if(plotGrid.allPlotsAquired()){
+				enterPhase(GamePhase.GAMEOVER);
+				if(listener != null){
+					listener.gameOver();
+				}
+			}
+			else{
+				roundNumber++;
+				turnScheduler.startRound();
+				currentPlayer = turnScheduler.getCurrentPlayer();
+				enterPhase(GamePhase.PLOTACQUISITION);
+			}
+			break;
+		default:
+			throw new IllegalStateException("There is no phase after "+phase);
+		}
+	}
+
+	/**
+	 * Records how long the current phase took and makes the given phase the current phase
+	 * @param newPhase The phase that the game is entering
+	 */
+	private void enterPhase(GamePhase newPhase){
+		long now = System.nanoTime();
+		if(phase != null){
+			phaseTimes[phase.ordinal()] += now - phaseStartTime;
+			phaseCounts[phase.ordinal()]++;
+			MetricsRegistry.getInstance().recordPhaseDuration(phase, now - phaseStartTime);
+		}
+		phase = newPhase;
+		phaseStartTime = now;
+		if(eventLog != null){
+			eventLog.phaseEntered(newPhase, currentPlayer, roundNumber);
+		}
+	}
+
+	/**
+	 * Matches the orders that the players have placed during the market phase, orders that are not matched are cancelled
+	 */
+	private void closeOrderBooks(){
+		// Players usually share a market, each market must only be closed once
+		Map<Market, Boolean> closedMarkets = new IdentityHashMap<Market, Boolean>();
+		for(Player player : turnScheduler.getPlayers()){
+			Market market = player.getMarket();
+			if(market != null && !closedMarkets.containsKey(market)){
+				market.closeOrderBooks();
+				closedMarkets.put(market, Boolean.TRUE);
+			}
+		}
+	}
+
+	/**
+	 * Returns true if the given player is controlled by a human (i.e. is not an AI player)
+	 * @param player The player
+	 * @return true if the given player is controlled by a human
+	 */
+	private static boolean isHuman(Player player){
+		return !(player instanceof AIPlayer);
+	}
+
+	/**
+	 * Returns the phase that the game is currently in (null if the game has not been started)
+	 * @return The phase that the game is currently in
+	 */
+	public GamePhase getPhase(){
+		return phase;
+	}
+
+	/**
+	 * Returns the player whose turn it currently is
+	 * @return The player whose turn it currently is
+	 */
+	public Player getCurrentPlayer(){
+		return currentPlayer;
+	}
+
+	/**
+	 * Returns the player who goes first in every round
+	 * @return The player who goes first in every round
+	 */
+	public Player getFirstPlayer(){
+		return turnScheduler.getPlayers().get(0);
+	}
+
+	/**
+	 * Returns the player who goes second in every round
+	 * @return The player who goes second in every round
+	 */
+	public Player getSecondPlayer(){
+		return turnScheduler.getPlayers().get(1);
+	}
+
+	/**
+	 * Returns all of the players in the order that they take their turns
+	 * @return The players in the order that they take their turns (can't be modified)
+	 */
+	public List<Player> getPlayers(){
+		return turnScheduler.getPlayers();
+	}
+
+	/**
+	 * Returns true if the game is over
+	 * @return true if the game is over
+	 */
+	public boolean isGameOver(){
+		return phase == GamePhase.GAMEOVER;
+	}
+
+	/**
+	 * Returns the number of the round that is currently being played (starting from 1)
+	 * @return The number of the round that is currently being played
+	 */
+	public int getRoundNumber(){
+		return roundNumber;
+	}
+
+	/**
+	 * Returns the total time (in nanoseconds) that has been spent in the given phase (only includes completed phases)
+	 * @param phase The phase
+	 * @return The total time spent in the given phase in nanoseconds
+	 */
+	public long getPhaseTime(GamePhase phase){
+		return phaseTimes[phase.ordinal()];
+	}
+
+	/**
+	 * Returns the number of times the given phase has been completed
+	 * @param phase The phase
+	 * @return The number of times the given phase has been completed
+	 */
+	public int getPhaseCount(GamePhase phase){
+		return phaseCounts[phase.ordinal()];
+	}
+}
@@ -0,0 +1,49 @@
+package com.topright.roboticon;
+
+/**
+ * Implemented by classes (e.g. {@link Main}) that need to respond when the {@link GameEngine} reaches a stage of the game in which a human player must act
+ * <p>
+ * The GameEngine waits after calling any of the methods that are passed a Player, until it is told (via {@link GameEngine#handleEvent(GameEvents)}) that the player has finished.
+ * </p>
+ */
+public interface GameEngineListener {
+	
+	/**
+	 * Called when a human player must choose a plot to acquire (the engine waits for {@link GameEvents#PLOTAQUIRED})
+	 * @param player The human player who must choose a plot
+	 */
+	public void plotAcquisitionStage(Player player);
+	
+	/**
+	 * Called when a human player may buy roboticons (the engine waits for {@link GameEvents#FINISHEDBUYINGROBOTICONS} or {@link GameEvents#FINISHEDCUSTOMISINGROBOTICONS})
+	 * @param player The human player who may buy roboticons
+	 */
+	public void buyingRoboticonsStage(Player player);
+	
+	/**
+	 * Called when a human player may customise roboticons (the engine waits for {@link GameEvents#FINISHEDCUSTOMISINGROBOTICONS})
+	 * @param player The human player who may customise roboticons
+	 */
+	public void customisingRoboticonsStage(Player player);
+	
+	/**
+	 * Called when a human player may place roboticons (the engine waits for {@link GameEvents#FINISHEDPLACINGROBOTICONS})
+	 * @param player The human player who may place roboticons
+	 */
+	public void roboticonPlacingStage(Player player);
+	
+	/**
+	 * Called once all plots have produced resources for their owners (the engine does not wait)
+	 */
+	public void resourcesProduced();
+	
+	/**
+	 * Called once the AI players have used the market and the human players may use it (the engine waits for {@link GameEvents#FINISHEDWITHTHEMARKET})
+	 */
+	public void allPlayersMarketStage();
+	
+	/**
+	 * Called when the game is over (all plots have been acquired and every player has finished their turn)
+	 */
+	public void gameOver();
+}
@@ -0,0 +1,301 @@
+package com.topright.roboticon;
+
+import java.util.Arrays;
+
+/**
+ * A singleton class that passes the {@link GameEvents} dispatched by the widgets (e.g. the {@link MenuBar}) on to the classes that respond to
+ * them (e.g. {@link Main})
+ * <p>
+ * The listeners of each event are kept in an array (indexed by the ordinal of the event) that is sized when the listeners are added, so
+ * dispatching an event creates no objects: there is no message object and the payload is passed as an int rather than being boxed.
+ * Listeners may be added and removed (and further events dispatched) while an event is being delivered, in which case the array is copied
+ * first so that the delivery that is under way is not affected.
+ * </p>
+ * <p>
+ * In batched mode (which is off unless {@link GameEventBus#setBatched(boolean)} is called, the game itself always delivers events straight
+ * away) events are queued rather than delivered straight away, and are delivered in the order that they were dispatched when
+ * {@link GameEventBus#flush()} is called. The number of times that each event has been dispatched is
+ * counted either way. The bus must only be used by one thread at a time (the render thread in the game).
+ * </p>
+ */
+class GameEventBus {
+	static final int NO_PAYLOAD = 0; // The payload of events dispatched without one
+	static final int DEFAULT_LISTENER_CAPACITY = 4; // The number of listeners that each event has room for before its array must grow
+	static final int DEFAULT_BATCH_CAPACITY = 256; // The number of events that can be queued before the queue must grow
+
+	private static final GameEvents[] EVENTS = GameEvents.values(); // So that the array isn't copied every time an event is delivered
+
+	private static GameEventBus gameEventBus = new GameEventBus();
+
+	private final GameEventListener[][] listeners = new GameEventListener[EVENTS.length][];
+	private final int[] numberOfListeners = new int[EVENTS.length];
+	private final long[] dispatchCounts = new long[EVENTS.length];
+	private int deliveries = 0; // The number of deliveries that are under way (listeners may dispatch events)
+
+	private boolean batched = false;
+	private int[] batchedEvents = new int[DEFAULT_BATCH_CAPACITY]; // The ordinals of the queued events
+	private int[] batchedPayloads = new int[DEFAULT_BATCH_CAPACITY];
+	private int firstBatchedEvent = 0; // The index of the next queued event to be delivered
+	private int numberOfBatchedEvents = 0; // The index after the last queued event
+
+	/**
+	 * Constructor
+	 * <p>
+	 * Package-private (rather than private, as this is a singleton class) so that tests can use a bus of their own.
+	 * </p>
+	 */
+	GameEventBus(){
+		for(int i = 0; i < EVENTS.length; i++){
+			listeners[i] = new GameEventListener[DEFAULT_LISTENER_CAPACITY];
+		}
+	}
+
+	/**
+	 * Get the instance of this class (it is a singleton class)
+	 * @return The only instance of this class
+	 */
+	public static GameEventBus getInstance(){
+		return gameEventBus;
+	}
+
+	/**
+	 * Adds a listener that is told whenever a given event is dispatched
+	 * @param listener The listener
+	 * @param event The event
+	 * @return false if the listener had already been added for the event (it is only told once about each event)
+	 */
+	public boolean addListener(GameEventListener listener, GameEvents event){
+		if(listener == null){
+			throw new IllegalArgumentException("listener must not be null");
+		}
+		if(event == null){
+			throw new IllegalArgumentException("event must not be null");
+		}
+		int eventIndex = event.ordinal();
+		if(indexOfListener(listener, eventIndex) != -1){
+			return false;
+		}
+		GameEventListener[] eventListeners = listeners[eventIndex];
+		int size = numberOfListeners[eventIndex];
+		if(size == eventListeners.length){
+			eventListeners = Arrays.copyOf(eventListeners, size * 2);
+		}
+		else if(deliveries > 0){
+			eventListeners = eventListeners.clone(); // The event may be being delivered to the listeners in the current array
+		}
+		eventListeners[size] = listener;
+		listeners[eventIndex] = eventListeners;
+		numberOfListeners[eventIndex] = size + 1;
+		return true;
+	}
+
+	/**
+	 * Stops a listener from being told whenever a given event is dispatched
+	 * @param listener The listener
+	 * @param event The event
+	 * @return false if the listener had not been added for the event
+	 */
+	public boolean removeListener(GameEventListener listener, GameEvents event){
+		if(event == null){
+			throw new IllegalArgumentException("event must not be null");
+		}
+		int eventIndex = event.ordinal();
+		int index = indexOfListener(listener, eventIndex);
+		if(index == -1){
+			return false;
+		}
+		GameEventListener[] eventListeners = listeners[eventIndex];
+		if(deliveries > 0){
+			eventListeners = eventListeners.clone(); // The event may be being delivered to the listeners in the current array
+		}
+		int size = numberOfListeners[eventIndex];
+		System.arraycopy(eventListeners, index + 1, eventListeners, index, size - index - 1);
+		eventListeners[size - 1] = null;
+		listeners[eventIndex] = eventListeners;
+		numberOfListeners[eventIndex] = size - 1;
+		return true;
+	}
+
+	/**
+	 * Stops a listener from being told about any event
+	 * @param listener The listener
+	 */
+	public void removeListener(GameEventListener listener){
+		for(GameEvents event : EVENTS){
+			removeListener(listener, event);
+		}
+	}
+
+	/**
+	 * Returns the index of a listener in the array of listeners of an event
+	 * @param listener The listener
+	 * @param eventIndex The ordinal of the event
+	 * @return The index, -1 if the listener has not been added for the event
+	 */
+	private int indexOfListener(GameEventListener listener, int eventIndex){
+		GameEventListener[] eventListeners = listeners[eventIndex];
+		for(int i = 0; i < numberOfListeners[eventIndex]; i++){
+			if(eventListeners[i] == listener){
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the number of listeners that are told whenever a given event is dispatched
+	 * @param event The event
+	 * @return The number of listeners
+	 */
+	public int getNumberOfListeners(GameEvents event){
+		return numberOfListeners[event.ordinal()];
+	}
+
+	/**
+	 * Dispatches an event that has no payload
+	 * @param event The event
+	 */
+	public void dispatch(GameEvents event){
+		dispatch(event, NO_PAYLOAD);
+	}
+
+	/**
+	 * Dispatches an event, telling every listener that has been added for it (straight away, unless the bus is in batched mode)
+	 * @param event The event
+	 * @param payload Extra information about the event
+	 */
+	public void dispatch(GameEvents event, int payload){
+		if(event == null){
+			throw new IllegalArgumentException("event must not be null");
+		}
+		int eventIndex = event.ordinal();
+		dispatchCounts[eventIndex]++;
+		if(batched){
+			queue(eventIndex, payload);
+		}
+		else{
+			deliver(eventIndex, payload);
+		}
+	}
+
+	/**
+	 * Tells every listener that has been added for an event that it has been dispatched
+	 * @param eventIndex The ordinal of the event
+	 * @param payload Extra information about the event
+	 */
+	private void deliver(int eventIndex, int payload){
+		GameEventListener[] eventListeners = listeners[eventIndex]; // Not changed if listeners are added or removed during the delivery
+		int size = numberOfListeners[eventIndex];
+		GameEvents event = EVENTS[eventIndex];
+		deliveries++;
+		try{
+			for(int i = 0; i < size; i++){
+				eventListeners[i].handleGameEvent(event, payload);
+			}
+		}
+		finally{
+			deliveries--;
+		}
+	}
+
+	/**
+	 * Adds an event to the end of the queue of events that are waiting to be delivered, growing the queue if it is full
+	 * @param eventIndex The ordinal of the event
+	 * @param payload Extra information about the event
+	 */
+	private void queue(int eventIndex, int payload){
+		if(numberOfBatchedEvents == batchedEvents.length){
+			int queued = numberOfBatchedEvents - firstBatchedEvent;
+			int capacity = queued * 2 > batchedEvents.length ? batchedEvents.length * 2 : batchedEvents.length;
+			int[] events = new int[capacity];
+			int[] payloads = new int[capacity];
+			System.arraycopy(batchedEvents, firstBatchedEvent, events, 0, queued);
+			System.arraycopy(batchedPayloads, firstBatchedEvent, payloads, 0, queued);
+			batchedEvents = events;
+			batchedPayloads = payloads;
+			firstBatchedEvent = 0;
+			numberOfBatchedEvents = queued;
+		}
+		batchedEvents[numberOfBatchedEvents] = eventIndex;
+		batchedPayloads[numberOfBatchedEvents] = payload;
+		numberOfBatchedEvents++;
+	}
+
+	/**
+	 * Sets whether events are queued until {@link GameEventBus#flush()} is called rather than being delivered straight away
+	 * <p>
+	 * Any events that are queued when batched mode is turned off are delivered straight away.
+	 * </p>
+	 * @param batched true if events should be queued
+	 */
+	public void setBatched(boolean batched){
+		this.batched = batched;
+		if(!batched){
+			flush();
+		}
+	}
+
+	/**
+	 * Returns true if events are queued until {@link GameEventBus#flush()} is called rather than being delivered straight away
+	 * @return true if the bus is in batched mode
+	 */
+	public boolean isBatched(){
+		return batched;
+	}
+
+	/**
+	 * Delivers every queued event in the order that they were dispatched, including any that are dispatched by the listeners while
+	 * this is happening
+	 * <p>
+	 * If a listener throws an exception the events that have not yet been delivered stay queued.
+	 * </p>
+	 * @return The number of events that were delivered
+	 */
+	public int flush(){
+		int delivered = 0;
+		while(firstBatchedEvent < numberOfBatchedEvents){
+			int index = firstBatchedEvent++;
+			deliver(batchedEvents[index], batchedPayloads[index]);
+			delivered++;
+		}
+		firstBatchedEvent = 0;
+		numberOfBatchedEvents = 0;
+		return delivered;
+	}
+
+	/**
+	 * Returns the number of events that are queued (waiting for {@link GameEventBus#flush()} to be called)
+	 * @return The number of events
+	 */
+	public int getNumberOfQueuedEvents(){
+		return numberOfBatchedEvents - firstBatchedEvent;
+	}
+
+	/**
+	 * Returns the number of times that an event has been dispatched (since the counts were last reset)
+	 * @param event The event
+	 * @return The number of times
+	 */
+	public long getDispatchCount(GameEvents event){
+		return dispatchCounts[event.ordinal()];
+	}
+
+	/**
+	 * Returns the number of times that any event has been dispatched (since the counts were last reset)
+	 * @return The number of times
+	 */
+	public long getTotalDispatchCount(){
+		long total = 0;
+		for(long count : dispatchCounts){
+			total += count;
+		}
+		return total;
+	}
+
+	/**
+	 * Sets the number of times that each event has been dispatched back to 0
+	 */
+	public void resetDispatchCounts(){
+		Arrays.fill(dispatchCounts, 0);
+	}
+}
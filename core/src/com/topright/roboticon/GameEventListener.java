@@ -0,0 +1,14 @@
+package com.topright.roboticon;
+
+/**
+ * Implemented by classes (e.g. {@link Main}) that respond to the events dispatched through the {@link GameEventBus}
+ */
+interface GameEventListener {
+
+	/**
+	 * Called whenever an event that the listener has been added for is dispatched
+	 * @param event The event
+	 * @param payload Extra information about the event, {@link GameEventBus#NO_PAYLOAD} if there isn't any
+	 */
+	public void handleGameEvent(GameEvents event, int payload);
+}
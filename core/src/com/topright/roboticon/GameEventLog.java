@@ -0,0 +1,316 @@
+package com.topright.roboticon;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Records every action that changes the state of a game in a compact binary log, so that the game can be audited and
+ * reproduced later without the GUI (see {@link GameLogReplayer}).
+ * <p>
+ * The log starts with a header that holds the seed, the specialism of every plot and the starting inventories of the market and of
+ * every player, and how the market prices goods. It is followed by one entry for every phase that is entered, plot that is acquired, roboticon that is placed,
+ * successful transaction made by a player, trade between players (using an {@link OrderBook}), production of resources and roboticon
+ * produced by the market. Each entry is a
+ * {@link GameLogEntry} ordinal followed by a few fixed size fields, so most entries are 6 or 10 bytes long.
+ * </p>
+ * <p>
+ * Entries are written to a buffer that is only written to the file (using a FileChannel) when it is full, when the game is over or when
+ * the log is closed. A GameEventLog belongs to a single game and must only be used by one thread at a time.
+ * </p>
+ */
+public class GameEventLog implements Closeable {
+	static final int MAGIC = 0x52424C47; // "RBLG", the first 4 bytes of every log
+	static final short VERSION = 2;
+	static final int NO_PLAYER = -1; // Written as the current player when there isn't one
+	static final byte FIXED_PRICING = 0; // Written when the market uses a FixedPricingEngine
+	static final byte SUPPLY_DEMAND_PRICING = 1; // Written (followed by its reference stock and spread) when the market uses a SupplyDemandPricingEngine
+	private static final int BUFFER_SIZE = 64 * 1024;
+	private static final RoboticonCustomisation[] CUSTOMISATIONS = RoboticonCustomisation.values();
+	
+	private final FileChannel channel;
+	private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+	private final Player[] players; // A player's number in the log is their position in this array
+	private final int columns;
+	private long entriesWritten = 0;
+	
+	/**
+	 * Creates a log file (replacing any existing file) and writes the header, must be called before the game starts
+	 * @param file The file that the log is to be written to
+	 * @param seed The seed that the game was set up with
+	 * @param plots The plots that the game is played on
+	 * @param market The market used by the game
+	 * @param players Every player in the game
+	 * @return The new log
+	 * @throws IOException If the file can't be created or written to
+	 */
+	public static GameEventLog create(Path file, long seed, Plot[][] plots, Market market, Player... players) throws IOException{
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		try{
+			return new GameEventLog(channel, seed, plots, market, players);
+		}
+		catch(RuntimeException e){
+			channel.close();
+			throw e;
+		}
+	}
+	
+	/**
+	 * Constructor
+	 * @param channel The channel that the log is written to
+	 * @param seed The seed that the game was set up with
+	 * @param plots The plots that the game is played on
+	 * @param market The market used by the game
+	 * @param players Every player in the game
+	 */
+	GameEventLog(FileChannel channel, long seed, Plot[][] plots, Market market, Player... players){
+		if(plots.length == 0 || plots[0].length == 0){
+			throw new IllegalArgumentException("There must be at least one plot!");
+		}
+		if(players.length == 0 || players.length > Byte.MAX_VALUE){
+			throw new IllegalArgumentException("Can't log a game with "+players.length+" players");
+		}
+		if(!(market.getPricingEngine() instanceof FixedPricingEngine || market.getPricingEngine() instanceof SupplyDemandPricingEngine)){
+			throw new IllegalArgumentException("Can't log a game whose market uses a "+market.getPricingEngine().getClass().getSimpleName());
+		}
+		this.channel = channel;
+		this.players = players.clone();
+		columns = plots[0].length;
+		writeHeader(seed, plots, market);
+	}
+	
+	/**
+	 * Writes the seed, plots and starting inventories to the start of the log
+	 * @param seed The seed that the game was set up with
+	 * @param plots The plots that the game is played on
+	 * @param market The market used by the game
+	 */
+	private void writeHeader(long seed, Plot[][] plots, Market market){
+		buffer.putInt(MAGIC);
+		buffer.putShort(VERSION);
+		buffer.putLong(seed);
+		buffer.putInt(plots.length);
+		buffer.putInt(columns);
+		for(Plot[] row : plots){
+			for(Plot plot : row){
+				ensureSpace(1);
+				buffer.put((byte)plot.getSpecialism().ordinal());
+			}
+		}
+		
+		ensureSpace(12);
+		buffer.putInt(market.getOreQuantity());
+		buffer.putInt(market.getEnergyQuantity());
+		buffer.putInt(market.getRoboticonQuantity());
+		writePricingEngine(market.getPricingEngine());
+		
+		ensureSpace(1);
+		buffer.put((byte)players.length);
+		for(Player player : players){
+			ensureSpace(13 + 4*CUSTOMISATIONS.length);
+			buffer.put((byte)((player instanceof AIPlayer) ? 1 : 0));
+			buffer.putInt(player.getOreQuantity());
+			buffer.putInt(player.getEnergyQuantity());
+			buffer.putInt(player.getMoneyQuantity());
+			for(RoboticonCustomisation customisation : CUSTOMISATIONS){
+				buffer.putInt(player.getRoboticonQuantity(customisation));
+			}
+		}
+	}
+	
+	/**
+	 * Writes the type of pricing engine used by the market (and its settings) so that the game can be replayed with the same prices
+	 * @param pricingEngine The engine used by the market
+	 */
+	private void writePricingEngine(PricingEngine pricingEngine){
+		ensureSpace(9);
+		if(pricingEngine instanceof SupplyDemandPricingEngine){
+			SupplyDemandPricingEngine supplyDemandPricingEngine = (SupplyDemandPricingEngine)pricingEngine;
+			buffer.put(SUPPLY_DEMAND_PRICING);
+			buffer.putInt(supplyDemandPricingEngine.getReferenceStock());
+			buffer.putInt(supplyDemandPricingEngine.getSpreadPercent());
+		}
+		else{
+			buffer.put(FIXED_PRICING);
+		}
+	}
+	
+	/**
+	 * Records that a phase of the game has been entered
+	 * @param phase The phase that has been entered
+	 * @param currentPlayer The player whose turn it is (may be null)
+	 * @param roundNumber The number of the round that is being played
+	 */
+	void phaseEntered(GamePhase phase, Player currentPlayer, int roundNumber){
+		startEntry(GameLogEntry.PHASE, 6);
+		buffer.put((byte)phase.ordinal());
+		buffer.put((byte)((currentPlayer == null) ? NO_PLAYER : getPlayerNumber(currentPlayer)));
+		buffer.putInt(roundNumber);
+		if(phase == GamePhase.GAMEOVER){
+			flush(); // Nothing else will be logged
+		}
+	}
+	
+	/**
+	 * Records that a plot has been acquired
+	 * @param player The player who acquired the plot
+	 * @param row The row of the plot
+	 * @param column The column of the plot
+	 */
+	void plotAcquired(Player player, int row, int column){
+		startEntry(GameLogEntry.PLOTACQUIRED, 5);
+		buffer.put((byte)getPlayerNumber(player));
+		buffer.putInt(row*columns + column);
+	}
+	
+	/**
+	 * Records that a roboticon has been placed on a plot
+	 * @param player The player who placed the roboticon
+	 * @param row The row of the plot
+	 * @param column The column of the plot
+	 * @param customisation The customisation of the roboticon
+	 */
+	void roboticonPlaced(Player player, int row, int column, RoboticonCustomisation customisation){
+		startEntry(GameLogEntry.ROBOTICONPLACED, 6);
+		buffer.put((byte)getPlayerNumber(player));
+		buffer.putInt(row*columns + column);
+		buffer.put((byte)customisation.ordinal());
+	}
+	
+	/**
+	 * Records a successful transaction between a player and the market that involves a quantity of something (buying or selling)
+	 * @param type The type of transaction (e.g. {@link GameLogEntry#BOUGHTORE})
+	 * @param player The player who made the transaction
+	 * @param quantity The quantity that was bought or sold
+	 */
+	void transaction(GameLogEntry type, Player player, int quantity){
+		startEntry(type, 5);
+		buffer.put((byte)getPlayerNumber(player));
+		buffer.putInt(quantity);
+	}
+	
+	/**
+	 * Records a trade between two players that was made by matching their orders in an {@link OrderBook}
+	 * @param buyer The player who bought the resource
+	 * @param seller The player who sold the resource
+	 * @param resource The resource that was traded
+	 * @param quantity The quantity that was traded
+	 * @param price The price per unit
+	 */
+	void orderTrade(Player buyer, Player seller, PlotSpecialism resource, int quantity, int price){
+		startEntry(GameLogEntry.ORDERTRADE, 11);
+		buffer.put((byte)getPlayerNumber(buyer));
+		buffer.put((byte)getPlayerNumber(seller));
+		buffer.put((byte)resource.ordinal());
+		buffer.putInt(quantity);
+		buffer.putInt(price);
+	}
+	
+	/**
+	 * Records that a player has customised a roboticon
+	 * @param player The player who customised the roboticon
+	 * @param customisation The customisation that was applied
+	 */
+	void roboticonCustomised(Player player, RoboticonCustomisation customisation){
+		startEntry(GameLogEntry.CUSTOMISEDROBOTICON, 2);
+		buffer.put((byte)getPlayerNumber(player));
+		buffer.put((byte)customisation.ordinal());
+	}
+	
+	/**
+	 * Records that every plot has produced resources
+	 */
+	void resourcesProduced(){
+		startEntry(GameLogEntry.PRODUCTION, 0);
+	}
+	
+	/**
+	 * Records that the market has produced a roboticon
+	 */
+	void marketProducedRoboticon(){
+		startEntry(GameLogEntry.MARKETPRODUCEDROBOTICON, 0);
+	}
+	
+	/**
+	 * Returns the number of entries that have been logged (not including the header)
+	 * @return The number of entries that have been logged
+	 */
+	public long getEntriesWritten(){
+		return entriesWritten;
+	}
+	
+	/**
+	 * Returns the number that identifies the given player in the log
+	 * @param player The player
+	 * @return The player's number
+	 */
+	private int getPlayerNumber(Player player){
+		for(int playerNumber = 0; playerNumber < players.length; playerNumber++){
+			if(players[playerNumber] == player){
+				return playerNumber;
+			}
+		}
+		throw new IllegalArgumentException("The player is not part of the logged game");
+	}
+	
+	/**
+	 * Makes space for a new entry in the buffer and writes its type
+	 * @param type The type of the entry
+	 * @param payloadSize The number of bytes that follow the type
+	 */
+	private void startEntry(GameLogEntry type, int payloadSize){
+		ensureSpace(1 + payloadSize);
+		buffer.put((byte)type.ordinal());
+		entriesWritten++;
+	}
+	
+	/**
+	 * Writes the buffer to the file if it does not have enough space left
+	 * @param bytes The number of bytes that are about to be added to the buffer
+	 */
+	private void ensureSpace(int bytes){
+		if(buffer.remaining() < bytes){
+			flush();
+		}
+	}
+	
+	/**
+	 * Writes everything in the buffer to the file
+	 */
+	public void flush(){
+		if(!channel.isOpen()){
+			throw new IllegalStateException("The event log has been closed");
+		}
+		buffer.flip();
+		try{
+			while(buffer.hasRemaining()){
+				channel.write(buffer);
+			}
+		}
+		catch(IOException e){
+			throw new IllegalStateException("Unable to write to the event log", e);
+		}
+		finally{
+			buffer.clear();
+		}
+	}
+	
+	/**
+	 * Writes anything left in the buffer to the file and closes it
+	 * @throws IOException If the file can't be written to or closed
+	 */
+	@Override
+	public void close() throws IOException{
+		if(channel.isOpen()){
+			try{
+				flush();
+			}
+			finally{
+				channel.close();
+			}
+		}
+	}
+}
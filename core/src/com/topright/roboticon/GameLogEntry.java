@@ -0,0 +1,18 @@
+package com.topright.roboticon;
+/**
+ * An enumerated type used to denote the type of each entry in a game's event log (see {@link GameEventLog}).
+ * <p>
+ * The ordinal of each type is written to the log so new types must only ever be added to the end.
+ * </p>
+ */
+enum GameLogEntry {PHASE("phase"), PLOTACQUIRED("plotacquired"), ROBOTICONPLACED("roboticonplaced"), BOUGHTORE("boughtore"), BOUGHTENERGY("boughtenergy"), BOUGHTROBOTICONS("boughtroboticons"), CUSTOMISEDROBOTICON("customisedroboticon"), SOLDORE("soldore"), SOLDENERGY("soldenergy"), PRODUCTION("production"), MARKETPRODUCEDROBOTICON("marketproducedroboticon"), ORDERTRADE("ordertrade");
+	private final String name; // A string denoting the name of the entry type (used when throwing exceptions)
+	
+	private GameLogEntry(String s) {
+		name = s;
+	}
+	
+	public String toString(){
+		return this.name;
+	}	
+}
@@ -0,0 +1,385 @@
+package com.topright.roboticon;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumMap;
+
+/**
+ * Rebuilds the state of a game from a log written by {@link GameEventLog} (without any GUI)
+ * <p>
+ * The plots, market and players are created from the header of the log and then every logged action is carried out again
+ * using the same methods that were used during the game (e.g. {@link Player#attemptToBuyOre(int)}), so the rules are checked again
+ * as the game is replayed. An exception is thrown if an action that succeeded during the game fails when it is replayed.
+ * </p>
+ * <p>
+ * The log is read through a FileChannel into a fixed size buffer, so logs of any length can be replayed without reading them
+ * into memory first.
+ * </p>
+ * <p>
+ * Usage: GameLogReplayer [log file]
+ * </p>
+ */
+public class GameLogReplayer {
+	private static final int BUFFER_SIZE = 64 * 1024;
+	private static final GameLogEntry[] ENTRY_TYPES = GameLogEntry.values(); // values() creates a new array every time it is called
+	private static final GamePhase[] PHASES = GamePhase.values();
+	private static final PlotSpecialism[] SPECIALISMS = PlotSpecialism.values();
+	private static final RoboticonCustomisation[] CUSTOMISATIONS = RoboticonCustomisation.values();
+	
+	private final FileChannel channel;
+	private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+	private boolean endOfFile = false;
+	
+	private long seed;
+	private Plot[][] plots;
+	private HeadlessPlotManager plotGrid;
+	private Market market;
+	private Player[] players;
+	private GamePhase phase = null;
+	private Player currentPlayer = null;
+	private int roundNumber = 0;
+	private long entriesReplayed = 0;
+	
+	/**
+	 * Replays the game stored in the given log file
+	 * @param file The log file
+	 * @return The replayer, holds the state of the game at the end of the log
+	 * @throws IOException If the file can't be read
+	 */
+	public static GameLogReplayer replay(Path file) throws IOException{
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+		try{
+			GameLogReplayer replayer = new GameLogReplayer(channel);
+			replayer.replayAll();
+			return replayer;
+		}
+		finally{
+			channel.close();
+		}
+	}
+	
+	/**
+	 * Constructor, reads the header of the log and creates the plots, market and players
+	 * @param channel The channel that the log is read from
+	 * @throws IOException If the log can't be read
+	 */
+	GameLogReplayer(FileChannel channel) throws IOException{
+		this.channel = channel;
+		buffer.limit(0); // Nothing has been read yet
+		readHeader();
+	}
+	
+	/**
+	 * Reads the header of the log and creates the plots, market and players from it
+	 * @throws IOException If the log can't be read
+	 */
+	private void readHeader() throws IOException{
+		require(22);
+		if(buffer.getInt() != GameEventLog.MAGIC){
+			throw new IllegalArgumentException("The file is not a game event log");
+		}
+		short version = buffer.getShort();
+		if(version != GameEventLog.VERSION){
+			throw new IllegalArgumentException("Unsupported event log version "+version);
+		}
+		seed = buffer.getLong();
+		int rows = buffer.getInt();
+		int columns = buffer.getInt();
+		if(rows <= 0 || columns <= 0){
+			throw new IllegalArgumentException("Invalid map size in the event log rows = "+rows+" columns = "+columns);
+		}
+		
+		plots = new Plot[rows][columns];
+		for(int row = 0; row < rows; row++){
+			for(int column = 0; column < columns; column++){
+				require(1);
+				plots[row][column] = new Plot(SPECIALISMS[buffer.get()]);
+			}
+		}
+		plotGrid = new HeadlessPlotManager(plots);
+		
+		require(13);
+		market = new Market(new MarketInventory(buffer.getInt(), buffer.getInt(), buffer.getInt()));
+		byte pricing = buffer.get();
+		if(pricing == GameEventLog.SUPPLY_DEMAND_PRICING){
+			require(9); // The settings of the engine and the number of players
+			market.setPricingEngine(new SupplyDemandPricingEngine(buffer.getInt(), buffer.getInt()));
+		}
+		else if(pricing != GameEventLog.FIXED_PRICING){
+			throw new IllegalArgumentException("Unknown pricing engine in the event log "+pricing);
+		}
+		else{
+			require(1); // The number of players
+		}
+		
+		players = new Player[buffer.get()];
+		for(int playerNumber = 0; playerNumber < players.length; playerNumber++){
+			require(13 + 4*CUSTOMISATIONS.length);
+			boolean AIPlayer = buffer.get() == 1;
+			int oreQuantity = buffer.getInt();
+			int energyQuantity = buffer.getInt();
+			int moneyQuantity = buffer.getInt();
+			EnumMap<RoboticonCustomisation,Integer> roboticonQuantities = new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class);
+			for(RoboticonCustomisation customisation : CUSTOMISATIONS){
+				roboticonQuantities.put(customisation, buffer.getInt());
+			}
+			PlayerInventory inventory = new PlayerInventory(oreQuantity, energyQuantity, roboticonQuantities, moneyQuantity);
+			players[playerNumber] = AIPlayer ? new AIPlayer(inventory, market) : new Player(inventory, market);
+		}
+	}
+	
+	/**
+	 * Replays every entry in the log
+	 * @throws IOException If the log can't be read
+	 */
+	void replayAll() throws IOException{
+		while(require(1)){
+			replayEntry(ENTRY_TYPES[buffer.get()]);
+			entriesReplayed++;
+		}
+	}
+	
+	/**
+	 * Reads the rest of an entry and carries out the action that it records
+	 * @param type The type of the entry
+	 * @throws IOException If the log can't be read
+	 */
+	private void replayEntry(GameLogEntry type) throws IOException{
+		switch(type){
+		case PHASE:
+			requireEntry(type, 6);
+			phase = PHASES[buffer.get()];
+			byte playerNumber = buffer.get();
+			currentPlayer = (playerNumber == GameEventLog.NO_PLAYER) ? null : players[playerNumber];
+			roundNumber = buffer.getInt();
+			plotGrid.setCurrentPlayer(currentPlayer);
+			break;
+		case PLOTACQUIRED:{
+			requireEntry(type, 5);
+			Player player = players[buffer.get()];
+			int plotNumber = buffer.getInt();
+			plotGrid.setCurrentPlayer(player);
+			check(type, plotGrid.acquirePlot(plotGrid.getPlotRow(plotNumber), plotGrid.getPlotColumn(plotNumber)));
+			plotGrid.setCurrentPlayer(currentPlayer);
+			break;
+		}
+		case ROBOTICONPLACED:{
+			requireEntry(type, 6);
+			Player player = players[buffer.get()];
+			int plotNumber = buffer.getInt();
+			Plot plot = plots[plotGrid.getPlotRow(plotNumber)][plotGrid.getPlotColumn(plotNumber)];
+			check(type, player.attemptToPlaceRoboticon(plot, CUSTOMISATIONS[buffer.get()]));
+			break;
+		}
+		case CUSTOMISEDROBOTICON:
+			requireEntry(type, 2);
+			Player customiser = players[buffer.get()];
+			check(type, customiser.attemptToCustomiseRoboticon(CUSTOMISATIONS[buffer.get()]));
+			break;
+		case BOUGHTORE:
+		case BOUGHTENERGY:
+		case BOUGHTROBOTICONS:
+		case SOLDORE:
+		case SOLDENERGY:
+			requireEntry(type, 5);
+			check(type, replayTransaction(type, players[buffer.get()], buffer.getInt()));
+			break;
+		case PRODUCTION:
+			plotGrid.produceResources();
+			break;
+		case MARKETPRODUCEDROBOTICON:
+			check(type, market.attemptToProduceRoboticon());
+			break;
+		case ORDERTRADE:{
+			requireEntry(type, 11);
+			Player buyer = players[buffer.get()];
+			Player seller = players[buffer.get()];
+			PlotSpecialism resource = PlotSpecialism.values()[buffer.get()];
+			check(type, replayOrderTrade(buyer, seller, resource, buffer.getInt(), buffer.getInt()));
+			break;
+		}
+		default:
+			throw new IllegalStateException("Unable to replay entries of type "+type);
+		}
+	}
+	
+	/**
+	 * Carries out a transaction between a player and the market again
+	 * @param type The type of transaction
+	 * @param player The player who made the transaction
+	 * @param quantity The quantity that was bought or sold
+	 * @return true if the transaction succeeded
+	 */
+	private static boolean replayTransaction(GameLogEntry type, Player player, int quantity){
+		switch(type){
+		case BOUGHTORE:
+			return player.attemptToBuyOre(quantity);
+		case BOUGHTENERGY:
+			return player.attemptToBuyEnergy(quantity);
+		case BOUGHTROBOTICONS:
+			return player.attemptToBuyRoboticons(quantity);
+		case SOLDORE:
+			return player.attemptToSellOre(quantity);
+		case SOLDENERGY:
+			return player.attemptToSellEnergy(quantity);
+		default:
+			throw new IllegalArgumentException(type+" is not a transaction");
+		}
+	}
+	
+	/**
+	 * Carries out a trade between two players again (the orders themselves are not logged, only the trades that they led to)
+	 * @param buyer The player who bought the resource
+	 * @param seller The player who sold the resource
+	 * @param resource The resource that was traded
+	 * @param quantity The quantity that was traded
+	 * @param price The price per unit
+	 * @return true if the buyer could pay and the seller could deliver
+	 */
+	private static boolean replayOrderTrade(Player buyer, Player seller, PlotSpecialism resource, int quantity, int price){
+		int cost = quantity * price;
+		if(!buyer.inventory.tryDecreaseMoneyQuantity(cost)){
+			return false;
+		}
+		boolean delivered = (resource == PlotSpecialism.ORE) ? seller.inventory.tryDecreaseOreQuantity(quantity) : seller.inventory.tryDecreaseEnergyQuantity(quantity);
+		if(!delivered){
+			buyer.inventory.increaseMoneyQuantity(cost);
+			return false;
+		}
+		if(resource == PlotSpecialism.ORE){
+			buyer.inventory.increaseOreQuantity(quantity);
+		}
+		else{
+			buyer.inventory.increaseEnergyQuantity(quantity);
+		}
+		seller.inventory.increaseMoneyQuantity(cost);
+		return true;
+	}
+	
+	/**
+	 * Throws an exception if an action that succeeded during the game failed when it was replayed
+	 * @param type The type of the entry that was replayed
+	 * @param succeeded Whether or not the action succeeded when it was replayed
+	 */
+	private void check(GameLogEntry type, boolean succeeded){
+		if(!succeeded){
+			throw new IllegalStateException("Entry "+entriesReplayed+" ("+type+") could not be replayed, the log does not match the rules of the game");
+		}
+	}
+	
+	/**
+	 * Ensures that the rest of an entry is in the buffer, throws an exception if the log ends part way through the entry
+	 * @param type The type of the entry
+	 * @param bytes The number of bytes that follow the type
+	 * @throws IOException If the log can't be read
+	 */
+	private void requireEntry(GameLogEntry type, int bytes) throws IOException{
+		if(!require(bytes)){
+			throw new IllegalStateException("The event log ends part way through entry "+entriesReplayed+" ("+type+")");
+		}
+	}
+	
+	/**
+	 * Reads more of the log into the buffer if it holds fewer than the given number of bytes
+	 * @param bytes The number of bytes that are needed
+	 * @return true if the bytes are available and false if the end of the log has been reached
+	 * @throws IOException If the log can't be read
+	 */
+	private boolean require(int bytes) throws IOException{
+		while(buffer.remaining() < bytes){
+			if(endOfFile){
+				if(buffer.hasRemaining()){
+					throw new IllegalStateException("The event log ends part way through an entry");
+				}
+				return false;
+			}
+			buffer.compact();
+			endOfFile = channel.read(buffer) < 0;
+			buffer.flip();
+		}
+		return true;
+	}
+	
+	/**
+	 * Returns the seed that the game was set up with
+	 * @return The seed that the game was set up with
+	 */
+	public long getSeed(){
+		return seed;
+	}
+	
+	/**
+	 * Returns the plots (in the state that they were in at the end of the log)
+	 * @return The plots
+	 */
+	public Plot[][] getPlots(){
+		return plots;
+	}
+	
+	/**
+	 * Returns the market (in the state that it was in at the end of the log)
+	 * @return The market
+	 */
+	public Market getMarket(){
+		return market;
+	}
+	
+	/**
+	 * Returns the players (in the order that they were logged in)
+	 * @return The players
+	 */
+	public Player[] getPlayers(){
+		return players.clone();
+	}
+	
+	/**
+	 * Returns the phase that the game was in at the end of the log (null if no phase was logged)
+	 * @return The phase that the game was in at the end of the log
+	 */
+	public GamePhase getPhase(){
+		return phase;
+	}
+	
+	/**
+	 * Returns the number of the round that was being played at the end of the log
+	 * @return The number of the round that was being played
+	 */
+	public int getRoundNumber(){
+		return roundNumber;
+	}
+	
+	/**
+	 * Returns the number of entries that have been replayed (not including the header)
+	 * @return The number of entries that have been replayed
+	 */
+	public long getEntriesReplayed(){
+		return entriesReplayed;
+	}
+	
+	/**
+	 * Replays a log and prints the final state of the game
+	 * @param args The log file
+	 * @throws IOException If the log can't be read
+	 */
+	public static void main(String[] args) throws IOException{
+		if(args.length != 1){
+			System.out.println("Usage: GameLogReplayer [log file]");
+			return;
+		}
+		long startTime = System.nanoTime();
+		GameLogReplayer replayer = replay(Paths.get(args[0]));
+		double seconds = (System.nanoTime() - startTime)/1e9;
+		
+		System.out.println("Replayed "+replayer.getEntriesReplayed()+" entries in "+String.format("%.3f", seconds)+"s (seed "+replayer.getSeed()+")");
+		System.out.println("Phase: "+replayer.getPhase()+" Round: "+replayer.getRoundNumber());
+		Player[] players = replayer.getPlayers();
+		for(int playerNumber = 0; playerNumber < players.length; playerNumber++){
+			Player player = players[playerNumber];
+			System.out.println("Player "+playerNumber+": score "+player.calculateScore()+" ore "+player.getOreQuantity()+" energy "+player.getEnergyQuantity());
+		}
+	}
+}
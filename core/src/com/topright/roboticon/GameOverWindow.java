@@ -1,11 +1,19 @@
 package com.topright.roboticon;
 
-import com.badlogic.gdx.Gdx;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
-import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 
 /**
  * Popup Window used to inform the player as to who has won (and display all player's scores)
+ * <p>
+ * The players are listed in a table ranked by their final score (highest first). Players with the same score share a rank
+ * and are listed in the order that they took their turns.
+ * </p>
  * @author jcn509
  *
  */
@@ -17,49 +25,181 @@ public class GameOverWindow extends PopUpWindow {
 	 * @param AI The AI player that is currently playing the game
 	 */
 	public GameOverWindow(Player human, Player AI){
+		this(human, Arrays.asList(human, AI));
+	}
+	
+	/**
+	 * Constructor
+	 * @param human The human player that is currently playing the game (null if every player is an AI player)
+	 * @param players Every player in the game in the order that they took their turns
+	 */
+	public GameOverWindow(Player human, List<Player> players){
 		super("Game over");
-		createLabels(human, AI);
+		createLabels(rankPlayers(players, human));
 		setSize(getPrefWidth(),getPrefHeight());
 		moveToMiddleOfScreen();
-	}	
+	}
 	
 	/**
-	 * Creates the labels that inform the player as to who has won and the score earned by each player
-	 * @param human The human player that is currently playing the game
-	 * @param AI The AI player that is currently playing the game
+	 * A player's final score and the name that they are shown with
 	 */
-	private void createLabels(Player human, Player AI){
+	static class Standing {
+		private final String name;
+		private final int score;
+		private final boolean human;
+		private int rank; // Starting from 1, players with the same score have the same rank
 		
-		String winnerText = getWinnerText(human,AI); // States which player has won
-		Label winnerLabel = new Label(winnerText, new Skin(Gdx.files.internal("uiskin.json")));
+		/**
+		 * Constructor
+		 * @param name The name that the player is shown with
+		 * @param score The player's final score
+		 * @param human true if the player is the human player
+		 */
+		Standing(String name, int score, boolean human){
+			this.name = name;
+			this.score = score;
+			this.human = human;
+		}
+		
+		/**
+		 * Returns the name that the player is shown with
+		 * @return The name that the player is shown with
+		 */
+		String getName(){
+			return name;
+		}
 		
-		String humanPlayerScore = human.calculateScore().toString();
-		Label humanPlayerScoreLabel = new Label("Your final score: "+humanPlayerScore, new Skin(Gdx.files.internal("uiskin.json")));
-		String AIPlayerScore = AI.calculateScore().toString();
-		Label AIPlayerScoreLabel = new Label("AI final score: "+AIPlayerScore, new Skin(Gdx.files.internal("uiskin.json")));
+		/**
+		 * Returns the player's final score
+		 * @return The player's final score
+		 */
+		int getScore(){
+			return score;
+		}
+		
+		/**
+		 * Returns true if the player is the human player
+		 * @return true if the player is the human player
+		 */
+		boolean isHuman(){
+			return human;
+		}
+		
+		/**
+		 * Returns the player's rank (starting from 1)
+		 * @return The player's rank
+		 */
+		int getRank(){
+			return rank;
+		}
+	}
 	
-		add(winnerLabel);
-		row();
-		add(humanPlayerScoreLabel);
-		row();
-		add(AIPlayerScoreLabel);
+	/**
+	 * Returns the standings of the given players ranked by their final score (highest first)
+	 * <p>
+	 * AI players are named "AI" if there is only one of them, otherwise they are numbered in the order that they took their turns.
+	 * </p>
+	 * @param players Every player in the game in the order that they took their turns
+	 * @param human The human player (null if every player is an AI player)
+	 * @return The standings of the players, highest score first
+	 */
+	static List<Standing> rankPlayers(List<Player> players, Player human){
+		if(players == null || players.isEmpty()){
+			throw new IllegalArgumentException("There must be at least one player");
+		}
+		int numberOfAIPlayers = 0;
+		for(Player player : players){
+			if(player != human){
+				numberOfAIPlayers++;
+			}
+		}
+		
+		List<Standing> standings = new ArrayList<Standing>();
+		int AIPlayerNumber = 0;
+		for(Player player : players){
+			if(player == null){
+				throw new IllegalArgumentException("The players must not be null");
+			}
+			if(player == human){
+				standings.add(new Standing("You", player.calculateScore(), true));
+			}
+			else{
+				AIPlayerNumber++;
+				standings.add(new Standing((numberOfAIPlayers == 1) ? "AI" : "AI "+AIPlayerNumber, player.calculateScore(), false));
+			}
+		}
+		
+		// A stable sort, so players with the same score stay in turn order
+		Collections.sort(standings, new Comparator<Standing>(){
+			@Override
+			public int compare(Standing first, Standing second){
+				return Integer.compare(second.getScore(), first.getScore());
+			}
+		});
+		for(int position = 0; position < standings.size(); position++){
+			Standing standing = standings.get(position);
+			boolean tiedWithPrevious = position > 0 && standings.get(position-1).getScore() == standing.getScore();
+			standing.rank = tiedWithPrevious ? standings.get(position-1).getRank() : position+1;
+		}
+		return standings;
+	}
+	
+	/**
+	 * Creates the labels that inform the player as to who has won and the table of each player's rank and score
+	 * @param standings The standings of the players, highest score first
+	 */
+	private void createLabels(List<Standing> standings){
+		
+		String winnerText = getWinnerText(standings); // States which player has won
+		Label winnerLabel = new Label(winnerText, AssetRegistry.getInstance().getSkin());
+		
+		add(winnerLabel).colspan(2);
+		for(Standing standing : standings){
+			row();
+			Label rankLabel = new Label(getOrdinal(standing.getRank()), AssetRegistry.getInstance().getSkin());
+			String scoreText = (standing.isHuman() ? "Your" : standing.getName())+" final score: "+standing.getScore();
+			Label scoreLabel = new Label(scoreText, AssetRegistry.getInstance().getSkin());
+			add(rankLabel).padRight(10);
+			add(scoreLabel).left();
+		}
 	}
 	
 	/**
 	 * Returns a string that states which player has won
-	 * @param human The human player that is currently playing the game
-	 * @param AI The AI player that is currently playing the game
+	 * @param standings The standings of the players, highest score first
 	 * @return a string that states which player has won
 	 */
-	private String getWinnerText(Player human, Player AI){
-		if(human.calculateScore() > AI.calculateScore()){ // Human player has won
-			return "You won!";
-		}
-		else if(human.calculateScore() == AI.calculateScore()){
+	private String getWinnerText(List<Standing> standings){
+		Standing winner = standings.get(0);
+		if(standings.size() > 1 && standings.get(1).getRank() == 1){ // More than one player has the highest score
 			return "Its a draw!";
 		}
+		else if(winner.isHuman()){ // Human player has won
+			return "You won!";
+		}
 		else{
-			return "The AI won!";
+			return "The "+winner.getName()+" won!";
+		}
+	}
+	
+	/**
+	 * Returns a rank written as an ordinal number (e.g. 1st, 2nd, 3rd, 4th, 11th, 21st)
+	 * @param rank The rank (starting from 1)
+	 * @return The rank as an ordinal number
+	 */
+	static String getOrdinal(int rank){
+		if(rank % 100 >= 11 && rank % 100 <= 13){
+			return rank+"th";
+		}
+		switch(rank % 10){
+		case 1:
+			return rank+"st";
+		case 2:
+			return rank+"nd";
+		case 3:
+			return rank+"rd";
+		default:
+			return rank+"th";
 		}
 	}
 	
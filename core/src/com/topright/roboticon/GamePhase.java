@@ -0,0 +1,15 @@
+package com.topright.roboticon;
+/**
+ * An enumerated type used to denote the phase of the game that is currently being played (used by the {@link GameEngine})
+ */
+enum GamePhase {PLOTACQUISITION("plotacquisition"), BUYINGROBOTICONS("buyingroboticons"), CUSTOMISINGROBOTICONS("customisingroboticons"), PLACINGROBOTICONS("placingroboticons"), PRODUCTION("production"), MARKET("market"), GAMEOVER("gameover");
+	private final String name; // A string denoting the name of the phase (used when throwing exceptions and reporting timings)
+	
+	private GamePhase(String s) {
+		name = s;
+	}
+	
+	public String toString(){
+		return this.name;
+	}	
+}
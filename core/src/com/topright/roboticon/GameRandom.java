@@ -0,0 +1,91 @@
+package com.topright.roboticon;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The source of every random decision made while setting up and playing a single game
+ * <p>
+ * A game that is given a GameRandom with the same seed will always have the same plots and the same player going first,
+ * so games (and simulation or benchmark runs) can be reproduced. The numbers are generated by a {@link SplittableRandom},
+ * which (unlike {@link java.util.Random}) does not synchronise, so a GameRandom must only be used by one thread at a time.
+ * {@link GameRandom#split()} creates an independent GameRandom for another game or thread; splitting in the same order
+ * always gives the same results.
+ * </p>
+ */
+public class GameRandom {
+	private final long seed;
+	private final SplittableRandom random;
+	
+	/**
+	 * Constructor, uses a randomly chosen seed (use {@link GameRandom#getSeed()} to find out what it was)
+	 */
+	public GameRandom(){
+		this(ThreadLocalRandom.current().nextLong());
+	}
+	
+	/**
+	 * Constructor
+	 * @param seed The seed, every GameRandom created with the same seed generates the same numbers
+	 */
+	public GameRandom(long seed){
+		this(seed, new SplittableRandom(seed));
+	}
+	
+	/**
+	 * Constructor used when splitting
+	 * @param seed The seed of the GameRandom that was split
+	 * @param random The random number generator that is to be used
+	 */
+	private GameRandom(long seed, SplittableRandom random){
+		this.seed = seed;
+		this.random = random;
+	}
+	
+	/**
+	 * Returns the seed that this GameRandom (or the GameRandom that it was split from) was created with
+	 * @return The seed
+	 */
+	public long getSeed(){
+		return seed;
+	}
+	
+	/**
+	 * Returns a random int between 0 (inclusive) and bound (exclusive)
+	 * @param bound The upper bound (must be > 0)
+	 * @return A random int between 0 (inclusive) and bound (exclusive)
+	 */
+	public int nextInt(int bound){
+		if(bound <= 0){
+			throw new IllegalArgumentException("bound must be > 0 bound = "+bound);
+		}
+		return random.nextInt(bound);
+	}
+	
+	/**
+	 * Returns a random boolean
+	 * @return A random boolean
+	 */
+	public boolean nextBoolean(){
+		return random.nextInt(2) == 0;
+	}
+	
+	/**
+	 * Returns a random long
+	 * @return A random long
+	 */
+	public long nextLong(){
+		return random.nextLong();
+	}
+	
+	/**
+	 * Creates a new GameRandom that generates different numbers to this one and can be used by another thread.
+	 * <p>
+	 * This GameRandom is advanced, so the results depend only on the seed and the order in which GameRandoms are split.
+	 * </p>
+	 * @return A new GameRandom
+	 */
+	public GameRandom split(){
+		return new GameRandom(seed, random.split());
+	}
+}
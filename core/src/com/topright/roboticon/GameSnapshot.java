@@ -0,0 +1,395 @@
+package com.topright.roboticon;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumMap;
+
+/**
+ * A copy of the full state of a game (the plots, the inventories of the players and the market, the current phase, the current
+ * player and the player who goes first) that can be saved to a file and used to carry on with the game later.
+ * <p>
+ * A snapshot is taken by copying the state into arrays (one byte per plot for each of specialism, owner and roboticon), which is
+ * quick enough to do between frames. The copy can then be written to a file by another thread (see {@link Autosaver}) while the
+ * game carries on.
+ * </p>
+ * <p>
+ * Files have a fixed layout: a header (whose size only depends on the number of players) followed by the three plot arrays.
+ * They are written and read through a {@link MappedByteBuffer} so the plot arrays are copied straight to and from the file.
+ * A snapshot is written to a temporary file next to the save, which then replaces the save, so a save that was interrupted
+ * (e.g. by the game crashing) never replaces the previous save.
+ * </p>
+ */
+public class GameSnapshot {
+	static final int MAGIC = 0x52425356; // "RBSV"
+	static final short VERSION = 1;
+	static final byte NO_PLAYER = -1; // The owner of a plot that has not been acquired (and the current player before the game starts)
+	static final byte NO_PHASE = -1; // The phase of a game that has not been started
+	private static final byte NO_ROBOTICON = -1;
+	private static final RoboticonCustomisation[] CUSTOMISATIONS = RoboticonCustomisation.values();
+	private static final PlotSpecialism[] SPECIALISMS = PlotSpecialism.values();
+	private static final GamePhase[] PHASES = GamePhase.values();
+	private static final int HEADER_SIZE = 4 + 2 + 8 + 4 + 4 + 4 + 1 + 1 + 1 + 12 + 1; // Not including the players
+	private static final int PLAYER_SIZE = 1 + 12 + 4*CUSTOMISATIONS.length;
+	
+	private final long seed;
+	private final int rows;
+	private final int columns;
+	private final byte phase; // Ordinal of the current phase or NO_PHASE
+	private final int roundNumber;
+	private final byte currentPlayer; // Index of the current player or NO_PLAYER
+	private final int[] marketInventory; // ore, energy, roboticons
+	private final boolean[] AIPlayers;
+	private final int[][] playerInventories; // ore, energy, money and then the quantity of roboticons of each customisation for each player
+	private final byte[] specialisms; // The ordinal of the specialism of each plot
+	private final byte[] owners; // The index of the player that owns each plot or NO_PLAYER
+	private final byte[] roboticons; // The ordinal of the customisation of the roboticon on each plot or NO_ROBOTICON
+	
+	/**
+	 * Constructor, used once the state has been copied or read
+	 */
+	private GameSnapshot(long seed, int rows, int columns, byte phase, int roundNumber, byte currentPlayer, int[] marketInventory,
+			boolean[] AIPlayers, int[][] playerInventories, byte[] specialisms, byte[] owners, byte[] roboticons){
+		this.seed = seed;
+		this.rows = rows;
+		this.columns = columns;
+		this.phase = phase;
+		this.roundNumber = roundNumber;
+		this.currentPlayer = currentPlayer;
+		this.marketInventory = marketInventory;
+		this.AIPlayers = AIPlayers;
+		this.playerInventories = playerInventories;
+		this.specialisms = specialisms;
+		this.owners = owners;
+		this.roboticons = roboticons;
+	}
+	
+	/**
+	 * Copies the state of a game, must be called by the thread that is running the game
+	 * @param seed The seed that the game was set up with
+	 * @param plots The plots that the game is played on
+	 * @param market The market used by the game
+	 * @param gameEngine The engine running the game (the first player in the snapshot is the player who goes first)
+	 * @return The snapshot
+	 */
+	public static GameSnapshot capture(long seed, Plot[][] plots, Market market, GameEngine gameEngine){
+		if(plots.length == 0 || plots[0].length == 0){
+			throw new IllegalArgumentException("There must be at least one plot!");
+		}
+		Player[] players = gameEngine.getPlayers().toArray(new Player[0]);
+		if(players.length > Byte.MAX_VALUE){
+			throw new IllegalArgumentException("Games with more than "+Byte.MAX_VALUE+" players can't be saved, number of players = "+players.length);
+		}
+		boolean[] AIPlayers = new boolean[players.length];
+		int[][] playerInventories = new int[players.length][];
+		for(int playerNumber = 0; playerNumber < players.length; playerNumber++){
+			Player player = players[playerNumber];
+			AIPlayers[playerNumber] = player instanceof AIPlayer;
+			int[] inventory = new int[3 + CUSTOMISATIONS.length];
+			inventory[0] = player.getOreQuantity();
+			inventory[1] = player.getEnergyQuantity();
+			inventory[2] = player.getMoneyQuantity();
+			for(RoboticonCustomisation customisation : CUSTOMISATIONS){
+				inventory[3 + customisation.ordinal()] = player.getRoboticonQuantity(customisation);
+			}
+			playerInventories[playerNumber] = inventory;
+		}
+		
+		int rows = plots.length;
+		int columns = plots[0].length;
+		byte[] specialisms = new byte[rows*columns];
+		byte[] owners = new byte[rows*columns];
+		byte[] roboticons = new byte[rows*columns];
+		int plotNumber = 0;
+		for(Plot[] row : plots){
+			for(Plot plot : row){
+				specialisms[plotNumber] = (byte)plot.getSpecialism().ordinal();
+				owners[plotNumber] = playerNumber(players, plot.getPlayer());
+				roboticons[plotNumber] = plot.hasRoboticon() ? (byte)plot.getRoboticon().ordinal() : NO_ROBOTICON;
+				plotNumber++;
+			}
+		}
+		
+		GamePhase phase = gameEngine.getPhase();
+		int[] marketInventory = {market.getOreQuantity(), market.getEnergyQuantity(), market.getRoboticonQuantity()};
+		return new GameSnapshot(seed, rows, columns, (phase == null) ? NO_PHASE : (byte)phase.ordinal(), gameEngine.getRoundNumber(),
+				playerNumber(players, gameEngine.getCurrentPlayer()), marketInventory, AIPlayers, playerInventories, specialisms, owners, roboticons);
+	}
+	
+	/**
+	 * Returns the index of the given player
+	 * @param players Every player in the game
+	 * @param player The player (may be null)
+	 * @return The index of the player or NO_PLAYER if the player is null
+	 */
+	private static byte playerNumber(Player[] players, Player player){
+		if(player == null){
+			return NO_PLAYER;
+		}
+		for(byte playerNumber = 0; playerNumber < players.length; playerNumber++){
+			if(players[playerNumber] == player){
+				return playerNumber;
+			}
+		}
+		throw new IllegalArgumentException("A plot is owned by a player who is not part of the game");
+	}
+	
+	/**
+	 * Returns the number of bytes needed to save this snapshot
+	 * @return The number of bytes needed to save this snapshot
+	 */
+	int getSize(){
+		return HEADER_SIZE + PLAYER_SIZE*AIPlayers.length + 3*specialisms.length;
+	}
+	
+	/**
+	 * Saves this snapshot to a file (may be called by any thread)
+	 * @param file The file, any existing save in the file is only replaced once the snapshot has been completely written
+	 * @throws IOException If the file can't be written to
+	 */
+	public void write(Path file) throws IOException{
+		Path temporaryFile = file.resolveSibling(file.getFileName()+".tmp");
+		FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try{
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, getSize());
+			buffer.putInt(MAGIC);
+			buffer.putShort(VERSION);
+			buffer.putLong(seed);
+			buffer.putInt(rows);
+			buffer.putInt(columns);
+			buffer.putInt(roundNumber);
+			buffer.put(phase);
+			buffer.put(currentPlayer);
+			buffer.put((byte)AIPlayers.length);
+			for(int quantity : marketInventory){
+				buffer.putInt(quantity);
+			}
+			buffer.put((byte)0); // Reserved
+			for(int playerNumber = 0; playerNumber < AIPlayers.length; playerNumber++){
+				buffer.put((byte)(AIPlayers[playerNumber] ? 1 : 0));
+				for(int quantity : playerInventories[playerNumber]){
+					buffer.putInt(quantity);
+				}
+			}
+			buffer.put(specialisms);
+			buffer.put(owners);
+			buffer.put(roboticons);
+			buffer.force();
+		}
+		finally{
+			channel.close();
+		}
+		
+		try{
+			Files.move(temporaryFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		}
+		catch(AtomicMoveNotSupportedException e){
+			Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+	
+	/**
+	 * Loads a snapshot from a file
+	 * @param file The file
+	 * @return The snapshot
+	 * @throws IOException If the file can't be read
+	 */
+	public static GameSnapshot read(Path file) throws IOException{
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+		try{
+			if(channel.size() < HEADER_SIZE){
+				throw new IllegalArgumentException("The file is not a saved game");
+			}
+			ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if(buffer.getInt() != MAGIC){
+				throw new IllegalArgumentException("The file is not a saved game (or the game was not completely saved)");
+			}
+			short version = buffer.getShort();
+			if(version != VERSION){
+				throw new IllegalArgumentException("Unsupported saved game version "+version);
+			}
+			long seed = buffer.getLong();
+			int rows = buffer.getInt();
+			int columns = buffer.getInt();
+			int roundNumber = buffer.getInt();
+			byte phase = buffer.get();
+			byte currentPlayer = buffer.get();
+			int numberOfPlayers = buffer.get();
+			int[] marketInventory = {buffer.getInt(), buffer.getInt(), buffer.getInt()};
+			buffer.get(); // Reserved
+			if(rows <= 0 || columns <= 0 || numberOfPlayers <= 0 || phase < NO_PHASE || phase >= PHASES.length || roundNumber < 0
+					|| currentPlayer < NO_PLAYER || currentPlayer >= numberOfPlayers || (phase != NO_PHASE && currentPlayer == NO_PLAYER)){
+				throw new IllegalArgumentException("The saved game is corrupt");
+			}
+			checkQuantities(marketInventory);
+			if(channel.size() < HEADER_SIZE + (long)PLAYER_SIZE*numberOfPlayers + 3L*rows*columns){
+				throw new IllegalArgumentException("The saved game is incomplete");
+			}
+			
+			boolean[] AIPlayers = new boolean[numberOfPlayers];
+			int[][] playerInventories = new int[numberOfPlayers][3 + CUSTOMISATIONS.length];
+			for(int playerNumber = 0; playerNumber < numberOfPlayers; playerNumber++){
+				AIPlayers[playerNumber] = buffer.get() == 1;
+				for(int i = 0; i < playerInventories[playerNumber].length; i++){
+					playerInventories[playerNumber][i] = buffer.getInt();
+				}
+				checkQuantities(playerInventories[playerNumber]);
+			}
+			byte[] specialisms = new byte[rows*columns];
+			byte[] owners = new byte[rows*columns];
+			byte[] roboticons = new byte[rows*columns];
+			buffer.get(specialisms);
+			buffer.get(owners);
+			buffer.get(roboticons);
+			for(int plotNumber = 0; plotNumber < rows*columns; plotNumber++){
+				if(specialisms[plotNumber] < 0 || specialisms[plotNumber] >= SPECIALISMS.length
+						|| owners[plotNumber] < NO_PLAYER || owners[plotNumber] >= numberOfPlayers
+						|| roboticons[plotNumber] < NO_ROBOTICON || roboticons[plotNumber] >= CUSTOMISATIONS.length){
+					throw new IllegalArgumentException("The saved game is corrupt (plot "+plotNumber+")");
+				}
+			}
+			return new GameSnapshot(seed, rows, columns, phase, roundNumber, currentPlayer, marketInventory, AIPlayers, playerInventories, specialisms, owners, roboticons);
+		}
+		finally{
+			channel.close();
+		}
+	}
+	
+	/**
+	 * Checks that none of the quantities in a saved inventory are negative
+	 * @param quantities The quantities that were read
+	 */
+	private static void checkQuantities(int[] quantities){
+		for(int quantity : quantities){
+			if(quantity < 0){
+				throw new IllegalArgumentException("The saved game is corrupt (negative quantity "+quantity+")");
+			}
+		}
+	}
+	
+	/**
+	 * Creates a market with the inventory that was saved
+	 * @return The new market
+	 */
+	public Market createMarket(){
+		return new Market(new MarketInventory(marketInventory[0], marketInventory[1], marketInventory[2]));
+	}
+	
+	/**
+	 * Creates the players with the inventories that were saved (in order, the player who goes first is first)
+	 * @param market The market that the players are to trade with
+	 * @return The new players
+	 */
+	public Player[] createPlayers(Market market){
+		Player[] players = new Player[AIPlayers.length];
+		for(int playerNumber = 0; playerNumber < players.length; playerNumber++){
+			int[] quantities = playerInventories[playerNumber];
+			EnumMap<RoboticonCustomisation,Integer> roboticonQuantities = new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class);
+			for(RoboticonCustomisation customisation : CUSTOMISATIONS){
+				roboticonQuantities.put(customisation, quantities[3 + customisation.ordinal()]);
+			}
+			PlayerInventory inventory = new PlayerInventory(quantities[0], quantities[1], roboticonQuantities, quantities[2]);
+			players[playerNumber] = AIPlayers[playerNumber] ? new AIPlayer(inventory, market) : new Player(inventory, market);
+		}
+		return players;
+	}
+	
+	/**
+	 * Creates the plots in the state that they were saved in
+	 * @param players The players created by {@link GameSnapshot#createPlayers(Market)} (the owners of the plots)
+	 * @return The new plots
+	 */
+	public Plot[][] createPlots(Player[] players){
+		if(players.length != AIPlayers.length){
+			throw new IllegalArgumentException("The saved game has "+AIPlayers.length+" players not "+players.length);
+		}
+		Plot[][] plots = new Plot[rows][columns];
+		int plotNumber = 0;
+		for(int row = 0; row < rows; row++){
+			for(int column = 0; column < columns; column++){
+				Plot plot = new Plot(SPECIALISMS[specialisms[plotNumber]]);
+				if(owners[plotNumber] != NO_PLAYER){
+					plot.setPlayer(players[owners[plotNumber]]);
+				}
+				if(roboticons[plotNumber] != NO_ROBOTICON){
+					plot.placeRoboticon(CUSTOMISATIONS[roboticons[plotNumber]]);
+				}
+				plots[row][column] = plot;
+				plotNumber++;
+			}
+		}
+		return plots;
+	}
+	
+	/**
+	 * Carries on with the saved game using the given engine (see {@link GameEngine#resume(GamePhase, Player, int)})
+	 * <p>
+	 * Does nothing if the game had not been started when it was saved.
+	 * </p>
+	 * @param gameEngine A new engine using the plots and players that were created from this snapshot
+	 * @param players The players created by {@link GameSnapshot#createPlayers(Market)}
+	 */
+	public void resume(GameEngine gameEngine, Player[] players){
+		if(phase == NO_PHASE){
+			gameEngine.start();
+		}
+		else{
+			gameEngine.resume(PHASES[phase], players[currentPlayer], roundNumber);
+		}
+	}
+	
+	/**
+	 * Returns the seed that the game was set up with
+	 * @return The seed
+	 */
+	public long getSeed(){
+		return seed;
+	}
+	
+	/**
+	 * Returns the phase that the game was in (null if the game had not been started)
+	 * @return The phase that the game was in
+	 */
+	public GamePhase getPhase(){
+		return (phase == NO_PHASE) ? null : PHASES[phase];
+	}
+	
+	/**
+	 * Returns the number of the round that was being played
+	 * @return The number of the round that was being played
+	 */
+	public int getRoundNumber(){
+		return roundNumber;
+	}
+	
+	/**
+	 * Returns the index of the player whose turn it was (NO_PLAYER if the game had not been started)
+	 * @return The index of the current player
+	 */
+	public int getCurrentPlayerNumber(){
+		return currentPlayer;
+	}
+	
+	/**
+	 * Returns the number of rows of plots
+	 * @return The number of rows of plots
+	 */
+	public int getRows(){
+		return rows;
+	}
+	
+	/**
+	 * Returns the number of columns of plots
+	 * @return The number of columns of plots
+	 */
+	public int getColumns(){
+		return columns;
+	}
+}
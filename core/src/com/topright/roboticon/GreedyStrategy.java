@@ -0,0 +1,265 @@
+package com.topright.roboticon;
+
+/**
+ * The original AI strategy, acquires the first free plot, keeps a roboticon on every one of its plots and sells every resource that it produces
+ * <p>
+ * Other strategies extend this one and change only the decisions that they make differently.
+ * </p>
+ * @author josh
+ *
+ */
+class GreedyStrategy implements AIStrategy {
+	
+	@Override
+	public String getName(){
+		return "greedy";
+	}
+	
+	/**
+	 * Chooses a plot for the AI to acquire (and then acquires it)
+	 * @param player The player that is making the decision
+	 * @param plotManager The PlotGrid object that contains all the plots
+	 */
+	@Override
+	public void choosePlot(AIPlayer player, PlotGrid plotManager){
+		// There is no reason to choose any one plot over another, so the first unacquired plot is chosen
+		int plotNumber = plotManager.findUnacquiredPlot(0);
+		if(plotNumber < 0){
+			throw new IllegalStateException("Choose plot called when all plots have been acquired! Must be at least one empty plot!");
+		}
+		plotManager.acquirePlot(plotManager.getPlotRow(plotNumber),plotManager.getPlotColumn(plotNumber)); // Must only acquire one plot
+	}
+	
+	/**
+	 * Returns the total number of roboticons (of every customisation) that the player has
+	 * @param player The player
+	 * @return The total number of roboticons
+	 */
+	private static int getTotalNumberOfRoboticons(AIPlayer player){
+		int numberOfRoboticons=0;
+		for(RoboticonCustomisation customisation : RoboticonCustomisation.values()){
+			numberOfRoboticons += player.getRoboticonQuantity(customisation);
+		}
+		return numberOfRoboticons;
+	}
+	
+	/**
+	 * Causes the player to buy a number of (uncustomised) roboticons
+	 * <p>
+	 * Decides how many roboticons to buy based upon the number of plots without roboticons on and the number of uncustomised roboticons that the Player is in possession of
+	 * </p>	
+	 * <p>
+	 * Assumes that roboticons are customised right before they are placed. 
+	 * Will ensure (as long as the market can supply them and the player has enough money) that the player has the same number of roboticons as they have plots without roboticons on them.
+	 * </p>
+	 * @param player The player that is making the decision
+	 * @param plotManager Needed to determine how many of the Player's plots don't have a roboticon on them
+	 */
+	@Override
+	public void buyRoboticons(AIPlayer player, PlotGrid plotManager){
+		int numberOfEmptyPlots = getNumberOfEmptyPlots(player, plotManager);
+		
+		
+		int numberOfRoboticonsToBuy = numberOfEmptyPlots - getTotalNumberOfRoboticons(player);
+		
+		while(numberOfRoboticonsToBuy > 0){
+			
+			if(player.getMoneyQuantity() < player.getMarket().getCostRoboticons(1)){// If can't afford any roboticons...
+				return; 
+			}
+			else if(player.getMoneyQuantity() - player.getMarket().getCostRoboticons(1) < player.getMarket().getCostRoboticonCustomisation(RoboticonCustomisation.ORE)){
+				return; // Don't buy a roboticon if can't afford to customise it!
+			}
+			else if(player.getMoneyQuantity() - player.getMarket().getCostRoboticons(1) < player.getMarket().getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY)){
+				return; // Don't buy a roboticon if can't afford to customise it!
+			}
+			else if(player.getMarket().getRoboticonQuantity()<1){ // Attempt to make the market produce a roboticon, if it doesn't have any
+				if(!player.getMarket().attemptToProduceRoboticon())				
+					return; // Return if no more roboticons can be produced (and therefore can't be purchased)
+			}
+			
+			if(!player.attemptToBuyRoboticons(1)){ // Attempt to buy a roboticon
+				// If something has gone wrong
+				throw new IllegalStateException("The AI has made an invalid move when buying roboticons!");
+			}
+			
+			// If this point is reached then a roboticon must have been purchased
+			numberOfRoboticonsToBuy--;
+		}
+	}
+	
+	/**
+	 * Customises roboticons so that they can later be placed on the Player's plots
+	 * <p>
+	 * Only (at most) exactly as many roboticons of each customisation type will be produced as the Player has empty plots that specialise in producing the corresponding resource type
+	 * </p>
+	 * <p>
+	 * If the player does not have enough money (or enough uncustomised roboticons) then fewer customised roboticons will be prodcued.
+	 * </p>
+	 * @param player The player that is making the decision
+	 * @param plotManager
+	 */
+	@Override
+	public void customiseRoboticons(AIPlayer player, PlotGrid plotManager){
+		int numberOfEmptyEnergyPlots = getNumberOfEmptyPlots(player, plotManager,PlotSpecialism.ENERGY); // Energy plots without roboticons
+		int numberOfEmptyOrePlots = getNumberOfEmptyPlots(player, plotManager,PlotSpecialism.ORE); // Ore plots without roboticons
+		
+		int numberOfEnergyRoboticonsNeeded = numberOfEmptyEnergyPlots - player.getRoboticonQuantity(RoboticonCustomisation.ENERGY);	
+		int numberOfOreRoboticonsNeeded = numberOfEmptyOrePlots - player.getRoboticonQuantity(RoboticonCustomisation.ORE);
+
+		// Attempt to produce as many ore roboticons as are required
+		while(numberOfOreRoboticonsNeeded > 0){
+			if(player.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED)<1){ // Have no roboticons to customise
+				return; // May as well return as no energy roboticons can be produced either
+			}
+			else if(player.getMoneyQuantity() > player.getMarket().getCostRoboticonCustomisation(RoboticonCustomisation.ORE)){
+				// If the player has enough money for an ore customisation
+				if(!player.attemptToCustomiseRoboticon(RoboticonCustomisation.ORE)){ // Customise a roboticon for ore production
+					// If something has gone wrong
+					throw new IllegalStateException("The AI has made an invalid move when customising roboticons for ore productio!");
+				}
+			}
+			else{ // If the Player does not have enough money to produce an ore roboticon
+				break; // (They may still have enough money to produce energy roboticons)
+			}
+			
+			// If this point has been reached then an ore roboticon has been produced
+			numberOfOreRoboticonsNeeded--;
+		}
+		
+		// Attempt to produce as many energy roboticons as are required
+		while(numberOfEnergyRoboticonsNeeded > 0){
+			if(player.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED)<1){ // Have no roboticons to customise...
+				return; // Nothing more can be done
+			}
+			else if(player.getMoneyQuantity() > player.getMarket().getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY)){
+				// If the player has enough money for an energy customisation
+				if(!player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY)){ // Customise a roboticon for energy production
+					// If something has gone wrong
+					throw new IllegalStateException("The AI has made an invalid move when customising roboticons for energy production!");
+				}
+			}
+			else{ // If the Player does not have enough money to produce an ore roboticon
+				return; // Nothing more can be done
+			}
+			
+			// If this point has been reached then an energy roboticon has been produced
+			numberOfEnergyRoboticonsNeeded--;
+		}
+	}
+
+	/**
+	 * Places all customised roboticons on the Player's plots
+	 * <p>
+	 * Will place customised roboticons on the plots that they are best suited for (e.g. an ore roboticon will be placed on a plot that specialises in ore production)
+	 * </p>
+	 * <p>
+	 * Keeps placing roboticons on plots until the player runs of out of specialised plots on which to place roboticons or runs our of the associated customised roboticons.
+	 * (Will not place roboticons with a given customisation on plots that specialise in the production of a different resource)
+	 * </p>
+	 * @param player The player that is making the decision
+	 * @param plotManager
+	 */
+	@Override
+	public void placeRoboticons(AIPlayer player, PlotGrid plotManager){
+		// For every empty ore plot owned by the player (while the player has ore roboticons)
+		int plotNumber = plotManager.findEmptyPlot(player,PlotSpecialism.ORE,0);
+		while(plotNumber >= 0 && player.getRoboticonQuantity(RoboticonCustomisation.ORE) > 0){
+			plotManager.placeOreRoboticon(plotManager.getPlotColumn(plotNumber),plotManager.getPlotRow(plotNumber));
+			plotNumber = plotManager.findEmptyPlot(player,PlotSpecialism.ORE,plotNumber+1);
+		}
+		
+		// For every empty energy plot owned by the player (while the player has energy roboticons)
+		plotNumber = plotManager.findEmptyPlot(player,PlotSpecialism.ENERGY,0);
+		while(plotNumber >= 0 && player.getRoboticonQuantity(RoboticonCustomisation.ENERGY) > 0){
+			plotManager.placeEnergyRoboticon(plotManager.getPlotColumn(plotNumber),plotManager.getPlotRow(plotNumber));
+			plotNumber = plotManager.findEmptyPlot(player,PlotSpecialism.ENERGY,plotNumber+1);
+		}
+	}
+
+	/**
+	 * Places no orders, every resource is sold as soon as it is produced (see {@link #buyAndSellResources(AIPlayer)})
+	 * @param player The player that is making the decision
+	 */
+	@Override
+	public void placeOrders(AIPlayer player){
+	}
+
+	/**
+	 * Handles the buying and selling of resources to and from the market
+	 * <p>
+	 * Everything is sold, to other players whose buy orders pay more than the market does and the rest to the market.
+	 * </p>
+	 * @param player The player that is making the decision
+	 */
+	@Override
+	public void buyAndSellResources(AIPlayer player){
+		int energyToSell = player.getEnergyQuantity() - sellToBuyOrders(player, PlotSpecialism.ENERGY, player.getEnergyQuantity());
+		if(energyToSell>0) // No good reason to keep hold of energy...
+			player.attemptToSellEnergy(energyToSell);
+		
+		int oreToSell = player.getOreQuantity() - sellToBuyOrders(player, PlotSpecialism.ORE, player.getOreQuantity());
+		if(oreToSell>0) // Just sell all ore in its possession
+			player.attemptToSellOre(oreToSell);
+	}
+	
+	/**
+	 * Places an order to sell as much of a resource as other players are offering to buy for more than the market pays for it
+	 * @param player The player that is making the decision
+	 * @param resource The resource to sell
+	 * @param quantity The most that may be sold
+	 * @return The quantity that the order was placed for (0 if none was placed)
+	 */
+	static int sellToBuyOrders(AIPlayer player, PlotSpecialism resource, int quantity){
+		if(quantity <= 0){
+			return 0;
+		}
+		Market market = player.getMarket();
+		int marketPrice = (resource == PlotSpecialism.ORE) ? market.getSaleValueOre(1) : market.getSaleValueEnergy(1);
+		int quantityToOffer = Math.min(quantity, market.getOrderBook(resource).getBuyQuantityAbove(marketPrice));
+		if(quantityToOffer <= 0 || player.attemptToPlaceSellOrder(resource, quantityToOffer, marketPrice + 1) == null){
+			return 0;
+		}
+		return quantityToOffer;
+	}
+
+	/**
+	 * Returns the number of empty plots with a given specialism (those without roboticons on them) that the player is in possession of
+	 * @param player The player
+	 * @param plotManager The PlotGrid object that contains all of the plots
+	 * @param specialism The desired specialism of the plots
+	 * @return The number of plots with the given specialism that the player is in possession of
+	 */
+	private static int getNumberOfEmptyPlots(AIPlayer player, PlotGrid plotManager,PlotSpecialism specialism){
+		return plotManager.getNumberOfEmptyPlots(player,specialism); // Kept up to date by the PlotGrid (no need to look at every plot)
+	}
+	
+
+	/**
+	 * Returns the number of empty plots (those without roboticons on them) that the player is in possession of
+	 * @param player The player
+	 * @param plotManager The PlotGrid object that contains all of the plots
+	 * @return The number of plots that the player is in possession of
+	 */
+	private static int getNumberOfEmptyPlots(AIPlayer player, PlotGrid plotManager){
+		return getNumberOfEmptyPlots(player, plotManager,PlotSpecialism.ORE) + getNumberOfEmptyPlots(player, plotManager,PlotSpecialism.ENERGY);
+	}
+	
+	/**
+	 * Returns the number of the first unacquired plot with a given specialism
+	 * @param plotManager The PlotGrid object that contains all the plots
+	 * @param specialism The specialism
+	 * @return The number of the plot or -1 if there are no unacquired plots with that specialism
+	 */
+	static int findUnacquiredPlot(PlotGrid plotManager, PlotSpecialism specialism){
+		Plot[][] plots = plotManager.getPlots();
+		int plotNumber = plotManager.findUnacquiredPlot(0);
+		while(plotNumber >= 0){
+			if(plots[plotManager.getPlotRow(plotNumber)][plotManager.getPlotColumn(plotNumber)].getSpecialism() == specialism){
+				return plotNumber;
+			}
+			plotNumber = plotManager.findUnacquiredPlot(plotNumber + 1);
+		}
+		return -1;
+	}
+}
@@ -0,0 +1,218 @@
+package com.topright.roboticon;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Manages all the plots and allows Players to acquire plots and place roboticons on them without any GUI
+ * <p>
+ * Used directly when games are played without a GUI (e.g. by {@link GameEngine} simulations) and by {@link PlotManager}, 
+ * which adds the GUI on top of the rules implemented here.
+ * </p>
+ * <p>
+ * Keeps a {@link PlotOccupancyIndex} of the plots so that the unacquired plots and the empty plots of each player
+ * can be counted and found without looking at every plot in the grid.
+ * </p>
+ * <p>
+ * The plots of large maps produce resources in parallel (see {@link PlotProduction}).
+ * </p>
+ */
+public class HeadlessPlotManager implements PlotGrid{
+	private Plot[][] plots;
+	private Player currentPlayer = null;
+	private PlotOccupancyIndex occupancyIndex;
+	private GameEventLog eventLog = null; // Records every acquisition and placement (if the game is being logged)
+	private ForkJoinPool productionPool = null; // Used to produce the plots of large maps in parallel (null to use the common pool)
+	
+	/**
+	 * Constructor.
+	 * @param plots A 2D array of plots that the players can interact with
+	 */
+	public HeadlessPlotManager(Plot[][] plots){
+		this.plots = plots;
+		occupancyIndex = new PlotOccupancyIndex(plots);
+	}
+	
+	/**
+	 * Returns the array of plots in use by this object
+	 * @return The array of plots in use by this object
+	 */
+	@Override
+	public Plot[][] getPlots(){
+		return plots;
+	}
+	
+	/**
+	 * Set the current player (this information is needed by some other methods).
+	 * @param player The current player.
+	 */
+	@Override
+	public void setCurrentPlayer(Player player){
+		currentPlayer = player;
+	}
+	
+	/**
+	 * Sets the log that every plot acquisition and roboticon placement is recorded in
+	 * @param eventLog The log (null to stop logging)
+	 */
+	@Override
+	public void setEventLog(GameEventLog eventLog){
+		this.eventLog = eventLog;
+	}
+	
+	/**
+	 * Returns the current player
+	 * @return The current player
+	 */
+	public Player getCurrentPlayer(){
+		return currentPlayer;
+	}
+	
+	/**
+	 * Called if a plot is to be acquired by the current player.
+	 * <p>
+	 * If the plot is not currently owned by another player then it is acquired by the current player
+	 * (the plot updates the occupancy index itself).
+	 * </p>
+	 * @param row The row number of the plot.
+	 * @param column The column number of the plot.
+	 * @return true if the plot was acquired and false if it had already been acquired
+	 */
+	@Override
+	public boolean acquirePlot(int row, int column){
+		Plot plot = plots[row][column]; // The plot that is being looked at.
+		if(!plot.hasBeenAcquired()){ // If the Plot has yet to be acquired
+			plot.setPlayer(currentPlayer);
+			if(eventLog != null){
+				eventLog.plotAcquired(currentPlayer, row, column);
+			}
+			return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * Tries to place a roboticon of a given customisation (belonging to the current player) on a given plot
+	 * @param plotColumn The column number of the plot on which the roboticon is to be placed
+	 * @param plotRow The row number of the plot on which the roboticon is to be placed
+	 * @param customisation The customisation type of the roboticon that is to be placed
+	 * @return true if a roboticon was placed and false otherwise
+	 */
+	public boolean placeRoboticon(int plotColumn, int plotRow, RoboticonCustomisation customisation){
+		if(currentPlayer.attemptToPlaceRoboticon(plots[plotRow][plotColumn],customisation)){
+			if(eventLog != null){
+				eventLog.roboticonPlaced(currentPlayer, plotRow, plotColumn, customisation);
+			}
+			return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * Tries to place an energy roboticon at the chosen plot
+	 * @param plotColumn The column number of the plot
+	 * @param plotRow The row number of the plot
+	 * @return true if a roboticon was placed and false otherwise
+	 */
+	@Override
+	public boolean placeEnergyRoboticon(int plotColumn, int plotRow){
+		return placeRoboticon(plotColumn,plotRow,RoboticonCustomisation.ENERGY);
+	}
+	
+	/**
+	 * Tries to place an ore roboticon at the chosen plot
+	 * @param plotColumn The column number of the plot
+	 * @param plotRow The row number of the plot
+	 * @return true if a roboticon was placed and false otherwise
+	 */
+	@Override
+	public boolean placeOreRoboticon(int plotColumn, int plotRow){
+		return placeRoboticon(plotColumn,plotRow,RoboticonCustomisation.ORE);
+	}
+	
+	/**
+	 * Triggers all plots to produce resources for their players.
+	 */
+	@Override
+	public void produceResources(){
+		PlotProduction.produceResources(plots, productionPool);
+	}
+	
+	/**
+	 * Sets the pool whose threads are used to produce the plots of large maps in parallel
+	 * @param productionPool The pool (null to use the common pool)
+	 */
+	public void setProductionPool(ForkJoinPool productionPool){
+		this.productionPool = productionPool;
+	}
+	
+	/**
+	 * Returns true if every plot has already been acquired by some player.
+	 * @return Whether or not every plot has already been acquired.
+	 */
+	@Override
+	public boolean allPlotsAquired(){
+		return occupancyIndex.getNumberOfUnacquiredPlots() == 0;
+	}
+	
+	/**
+	 * Returns the number of plots that have not been acquired by any player
+	 * @return The number of plots that have not been acquired
+	 */
+	@Override
+	public int getNumberOfUnacquiredPlots(){
+		return occupancyIndex.getNumberOfUnacquiredPlots();
+	}
+	
+	/**
+	 * Returns the number of plots with a given specialism that are owned by a given player and do not have a roboticon on them
+	 * @param owner The player who owns the plots
+	 * @param specialism The specialism of the plots
+	 * @return The number of empty plots with the given specialism that the player owns
+	 */
+	@Override
+	public int getNumberOfEmptyPlots(Player owner, PlotSpecialism specialism){
+		return occupancyIndex.getNumberOfEmptyPlots(owner, specialism);
+	}
+	
+	/**
+	 * Returns the number of the first plot (starting from a given plot number) that has not been acquired
+	 * @param fromPlotNumber The number of the plot to start looking from
+	 * @return The number of the first plot that has not been acquired or -1 if there is no such plot
+	 */
+	@Override
+	public int findUnacquiredPlot(int fromPlotNumber){
+		return occupancyIndex.findUnacquiredPlot(fromPlotNumber);
+	}
+	
+	/**
+	 * Returns the number of the first plot (starting from a given plot number) with a given specialism that is owned by a given player and does not have a roboticon on it
+	 * @param owner The player who owns the plot
+	 * @param specialism The specialism of the plot
+	 * @param fromPlotNumber The number of the plot to start looking from
+	 * @return The number of the first empty plot with the given specialism that the player owns or -1 if there is no such plot
+	 */
+	@Override
+	public int findEmptyPlot(Player owner, PlotSpecialism specialism, int fromPlotNumber){
+		return occupancyIndex.findEmptyPlot(owner, specialism, fromPlotNumber);
+	}
+	
+	/**
+	 * Returns the row that the plot with the given number is in
+	 * @param plotNumber The number of the plot
+	 * @return The row that the plot is in
+	 */
+	@Override
+	public int getPlotRow(int plotNumber){
+		return occupancyIndex.getRow(plotNumber);
+	}
+	
+	/**
+	 * Returns the column that the plot with the given number is in
+	 * @param plotNumber The number of the plot
+	 * @return The column that the plot is in
+	 */
+	@Override
+	public int getPlotColumn(int plotNumber){
+		return occupancyIndex.getColumn(plotNumber);
+	}
+}
@@ -1,14 +1,22 @@
 package com.topright.roboticon;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Generic inventory class that can keep track of the quantity of ore and energy held.
  * <p>
  * A base class for the MarketInventory and PlayerInventory classes.
  * </p> 
+ * <p>
+ * Quantities are updated atomically (using compare and set) so that several threads can trade with the same inventory at once.
+ * The tryDecrease methods are used by the transactions in {@link Market}, they return false (rather than throwing an exception)
+ * if there is not enough of something so that a transaction can be rolled back.
+ * </p>
  * @author jcn509
  */
 public class Inventory {
-	private int oreQuantity;
-	private int energyQuantity;
+	private final AtomicInteger oreQuantity = new AtomicInteger();
+	private final AtomicInteger energyQuantity = new AtomicInteger();
 	
 	/**
 	 * Constructor
@@ -29,7 +37,7 @@ public class Inventory {
 	private void initialiseOreQuantity(int oreQuantity){
 		if (oreQuantity < 0) // Not allowed to store a negative quantity of ore
 			throw new IllegalArgumentException("oreQuantity must be >=0");
-		this.oreQuantity = oreQuantity;
+		this.oreQuantity.set(oreQuantity);
 	}
 	/**
 	 * Sets the initial quantity of energy stored in the inventory.
@@ -38,7 +46,7 @@ public class Inventory {
 	private void initialiseEnergyQuantity(int energyQuantity){
 		if (energyQuantity < 0) // Not allowed to store a negative quantity of energy
 			throw new IllegalArgumentException("energyQuantity must be >=0");
-		this.energyQuantity = energyQuantity;
+		this.energyQuantity.set(energyQuantity);
 	}
 	
 	/**
@@ -46,14 +54,14 @@ public class Inventory {
 	 * @return The quantity of ore stored in the inventory.
 	 */
 	public int getOreQuantity(){
-		return oreQuantity;
+		return oreQuantity.get();
 	}
 	/**
 	 * Returns the quantity of energy stored in the inventory.
 	 * @return The quantity of energy stored in the inventory.
 	 */
 	public int getEnergyQuantity(){
-		return energyQuantity;
+		return energyQuantity.get();
 	}
 	/**
 	 * Increases the quantity of energy stored in the inventory by the specified amount.
@@ -66,7 +74,7 @@ public class Inventory {
 		if(energyQuantityIncrease < 0){ // Cannot add a negative quantity of energy
 			throw new IllegalArgumentException("energyQuantityIncrease must be positive");
 		}
-		energyQuantity += energyQuantityIncrease;
+		energyQuantity.addAndGet(energyQuantityIncrease);
 	}
 	/**
 	 * Decreases the quantity of energy stored in the inventory by the specified amount.
@@ -76,11 +84,18 @@ public class Inventory {
 	 * @param energyQuantityDecrease The number of units of energy to be remove from the inventory.
 	 */
 	public void decreaseEnergyQuantity(int energyQuantityDecrease){
+		if(!tryDecreaseEnergyQuantity(energyQuantityDecrease)) // If taking away this much energy would cause there to be a negative amount of energy stored
+			throw new IllegalArgumentException("energyQuantityDecrease must not be greater than MoneyQuantity");
+	}
+	/**
+	 * Atomically decreases the quantity of energy stored in the inventory by the specified amount if there is enough energy stored.
+	 * @param energyQuantityDecrease The number of units of energy to be removed from the inventory.
+	 * @return true if the energy was removed and false if not enough energy is stored (nothing is removed).
+	 */
+	public boolean tryDecreaseEnergyQuantity(int energyQuantityDecrease){
 		if(energyQuantityDecrease < 0) // Cannot take away a negative quantity of energy.
 			throw new IllegalArgumentException("energyQuantityDecrease must be positive");
-		else if(energyQuantity - energyQuantityDecrease < 0) // If taking away this much energy would cause there to be a negative amount of energy stored
-			throw new IllegalArgumentException("energyQuantityDecrease must not be greater than MoneyQuantity");
-		energyQuantity -= energyQuantityDecrease;
+		return tryDecrease(energyQuantity, energyQuantityDecrease);
 	}
 	/**
 	 * Increases the quantity of ore stored in the inventory by the specified amount.
@@ -92,7 +107,7 @@ public class Inventory {
 	public void increaseOreQuantity(int oreQuantityIncrease){
 		if(oreQuantityIncrease < 0) // Cannot add a negative quantity of ore.
 			throw new IllegalArgumentException("preQuantityIncrease must be positive");
-		oreQuantity += oreQuantityIncrease;
+		oreQuantity.addAndGet(oreQuantityIncrease);
 	}
 	/**
 	 * Decreases the quantity of ore stored in the inventory by the specified amount.
@@ -102,11 +117,39 @@ public class Inventory {
 	 * @param oreQuantityDecrease The number of units of ore to remove from the inventory.
 	 */
 	public void decreaseOreQuantity(int oreQuantityDecrease){
+		if(!tryDecreaseOreQuantity(oreQuantityDecrease)) // If taking away this much ore would cause there to be a negative amount of ore stored
+			throw new IllegalArgumentException("oreQuantityDecrease must not be greater than oreQuantity");
+	}
+	/**
+	 * Atomically decreases the quantity of ore stored in the inventory by the specified amount if there is enough ore stored.
+	 * @param oreQuantityDecrease The number of units of ore to remove from the inventory.
+	 * @return true if the ore was removed and false if not enough ore is stored (nothing is removed).
+	 */
+	public boolean tryDecreaseOreQuantity(int oreQuantityDecrease){
 		if(oreQuantityDecrease < 0) // Cannot take away a negative amount of ore.
 			throw new IllegalArgumentException("oreQuantityDecrease must be positive");
-		else if(oreQuantity - oreQuantityDecrease <0) // If taking away this much ore would cause there to be a negative amount of ore stored
-			throw new IllegalArgumentException("oreQuantityDecrease must not be greater than oreQuantity");
-		oreQuantity -= oreQuantityDecrease;
+		return tryDecrease(oreQuantity, oreQuantityDecrease);
+	}
+	
+	/**
+	 * Atomically takes a given amount away from a quantity unless doing so would make the quantity negative.
+	 * <p>
+	 * Retries if another thread changes the quantity between it being read and it being updated.
+	 * </p>
+	 * @param quantity The quantity to decrease.
+	 * @param decrease The amount to take away (must not be negative).
+	 * @return true if the quantity was decreased and false if it is less than the amount to take away.
+	 */
+	static boolean tryDecrease(AtomicInteger quantity, int decrease){
+		while(true){
+			int current = quantity.get();
+			if(current < decrease){
+				return false;
+			}
+			if(quantity.compareAndSet(current, current - decrease)){
+				return true;
+			}
+		}
 	}
 }
 
@@ -0,0 +1,153 @@
+package com.topright.roboticon;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts how many recorded latencies fall into each of a fixed set of buckets so that percentiles can be reported (in the same way as
+ * an HDR histogram)
+ * <p>
+ * Latencies below 2 * {@link LatencyHistogram#SUB_BUCKETS} nanoseconds each have a bucket of their own. Above that every power of two is
+ * split into SUB_BUCKETS buckets, so a percentile is never more than 1/SUB_BUCKETS (about 3%) above the latency that it stands for,
+ * however large the latencies are. The buckets are allocated up front (enough for any long), so recording a latency creates no objects and
+ * takes the same time however many latencies have been recorded, unlike {@link DecisionLatencies} which keeps every one of them.
+ * </p>
+ * <p>
+ * Latencies may be recorded from several threads at once. Reading the histogram while latencies are being recorded gives results that may
+ * not include the latest of them.
+ * </p>
+ */
+final class LatencyHistogram {
+	static final int SUB_BUCKET_BITS = 5;
+	static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS; // The number of buckets that each power of two is split into
+	private static final int LINEAR_BUCKETS = SUB_BUCKETS * 2; // Latencies below this have a bucket each
+	static final int NUMBER_OF_BUCKETS = LINEAR_BUCKETS + (63 - SUB_BUCKET_BITS - 1) * SUB_BUCKETS;
+
+	private final AtomicLongArray counts = new AtomicLongArray(NUMBER_OF_BUCKETS);
+	private final AtomicLong count = new AtomicLong();
+	private final AtomicLong total = new AtomicLong(); // The sum of every latency recorded (in nanoseconds)
+	private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+	private final AtomicLong max = new AtomicLong(0);
+
+	/**
+	 * Records a latency
+	 * @param nanos The latency in nanoseconds
+	 */
+	void record(long nanos){
+		if(nanos < 0){
+			throw new IllegalArgumentException("nanos must be >= 0 nanos = "+nanos);
+		}
+		counts.incrementAndGet(bucketIndex(nanos));
+		count.incrementAndGet();
+		total.addAndGet(nanos);
+		long currentMin = min.get();
+		while(nanos < currentMin && !min.compareAndSet(currentMin, nanos)){
+			currentMin = min.get();
+		}
+		long currentMax = max.get();
+		while(nanos > currentMax && !max.compareAndSet(currentMax, nanos)){
+			currentMax = max.get();
+		}
+	}
+
+	/**
+	 * Returns the index of the bucket that a latency falls into
+	 * @param nanos The latency in nanoseconds
+	 * @return The index of the bucket
+	 */
+	static int bucketIndex(long nanos){
+		if(nanos < LINEAR_BUCKETS){
+			return (int)nanos;
+		}
+		int shift = 63 - Long.numberOfLeadingZeros(nanos) - SUB_BUCKET_BITS; // At least 1
+		int subBucket = (int)(nanos >>> shift); // Between SUB_BUCKETS and 2 * SUB_BUCKETS - 1
+		return LINEAR_BUCKETS + (shift - 1) * SUB_BUCKETS + subBucket - SUB_BUCKETS;
+	}
+
+	/**
+	 * Returns the highest latency that falls into a bucket
+	 * @param index The index of the bucket
+	 * @return The latency in nanoseconds
+	 */
+	static long highestLatencyInBucket(int index){
+		if(index < LINEAR_BUCKETS){
+			return index;
+		}
+		int shift = (index - LINEAR_BUCKETS) / SUB_BUCKETS + 1;
+		long subBucket = (index - LINEAR_BUCKETS) % SUB_BUCKETS + SUB_BUCKETS;
+		return ((subBucket + 1) << shift) - 1; // Overflows to Long.MAX_VALUE for the very last bucket
+	}
+
+	/**
+	 * Returns the number of latencies that have been recorded
+	 * @return The number of latencies
+	 */
+	long getCount(){
+		return count.get();
+	}
+
+	/**
+	 * Returns the shortest latency that has been recorded
+	 * @return The latency in nanoseconds, 0 if no latencies have been recorded
+	 */
+	long getMin(){
+		return count.get() == 0 ? 0 : min.get();
+	}
+
+	/**
+	 * Returns the longest latency that has been recorded
+	 * @return The latency in nanoseconds, 0 if no latencies have been recorded
+	 */
+	long getMax(){
+		return max.get();
+	}
+
+	/**
+	 * Returns the mean of the latencies that have been recorded
+	 * @return The mean in nanoseconds, 0 if no latencies have been recorded
+	 */
+	double getMean(){
+		long numberOfLatencies = count.get();
+		return numberOfLatencies == 0 ? 0 : (double)total.get() / numberOfLatencies;
+	}
+
+	/**
+	 * Returns the latency that the given percentage of the recorded latencies were no longer than (using the nearest rank)
+	 * <p>
+	 * The highest latency that falls into the bucket of the nearest rank is returned (or the longest latency recorded, if that is lower).
+	 * </p>
+	 * @param percent The percentile (greater than 0 and no more than 100)
+	 * @return The latency in nanoseconds, 0 if no latencies have been recorded
+	 */
+	long getPercentile(double percent){
+		if(percent <= 0 || percent > 100){
+			throw new IllegalArgumentException("percent must be > 0 and <= 100 percent = "+percent);
+		}
+		long numberOfLatencies = count.get();
+		if(numberOfLatencies == 0){
+			return 0;
+		}
+		long rank = Math.max((long)Math.ceil(percent/100*numberOfLatencies), 1);
+		long seen = 0;
+		for(int index = 0; index < NUMBER_OF_BUCKETS; index++){
+			seen += counts.get(index);
+			if(seen >= rank){
+				return Math.min(highestLatencyInBucket(index), getMax());
+			}
+		}
+		return getMax(); // Only reached if latencies were recorded while the buckets were being counted
+	}
+
+	/**
+	 * Forgets every latency that has been recorded
+	 */
+	void reset(){
+		for(int index = 0; index < NUMBER_OF_BUCKETS; index++){
+			counts.set(index, 0);
+		}
+		count.set(0);
+		total.set(0);
+		min.set(Long.MAX_VALUE);
+		max.set(0);
+	}
+}
@@ -0,0 +1,277 @@
+package com.topright.roboticon;
+
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+
+/**
+ * The options that the game is launched with: the map, the seed, the AI players, the game server to play on and the files that the
+ * game is saved, logged and measured in
+ * <p>
+ * The defaults are a new game on the standard (4 by 5) map against one AI player, with a randomly chosen seed and nothing saved,
+ * logged or measured. {@link LaunchOptions#parse(String[])} reads the options from the command line and system properties.
+ * </p>
+ */
+public class LaunchOptions {
+	static final int DEFAULT_PLOT_ROWS = 4;
+	static final int DEFAULT_PLOT_COLUMNS = 5;
+	static final int STARTING_MONEY = 30;
+	static final String DEFAULT_SAVE_FILE = "roboticon.sav";
+
+	// The system properties read by fromSystemProperties
+	static final String SAVE_FILE_PROPERTY = "roboticon.savefile";
+	static final String EVENT_LOG_PROPERTY = "roboticon.eventlog";
+	static final String METRICS_PROPERTY = "roboticon.metrics";
+	static final String AI_THINKING_TIME_PROPERTY = "roboticon.aithinkms";
+	static final String AI_PLAYERS_PROPERTY = "roboticon.aiplayers";
+	static final String SERVER_PROPERTY = "roboticon.server";
+
+	private int plotRows = DEFAULT_PLOT_ROWS;
+	private int plotColumns = DEFAULT_PLOT_COLUMNS;
+	private Long seed = null; // Chosen at random if not set
+	private int numberOfAIPlayers = 1;
+	private SearchBudget aiSearchBudget = null; // If set the first AI player searches ahead (see SearchStrategy) in new games
+	private InetSocketAddress serverAddress = null; // If set the game is played on this game server
+	private Path saveFile = null; // The game is only saved (and carried on with the next time that the game is started) if this is set
+	private Path eventLogFile = null; // The game is only logged if this is set
+	private Path metricsFile = null; // Timings and market transactions are only recorded (and written to this file when the game is closed) if this is set
+
+	/**
+	 * Reads the options from the command line and the system properties (see {@link LaunchOptions#fromSystemProperties()})
+	 * @param args Optionally the number of rows followed by the number of columns of plots on the map (e.g. 1000 1000) and then the
+	 * seed of the game (to play the same game again)
+	 * @return The options
+	 */
+	public static LaunchOptions parse(String[] args){
+		LaunchOptions options = fromSystemProperties();
+		if(args.length >= 2){
+			options.setMapSize(Integer.parseInt(args[0]), Integer.parseInt(args[1]));
+		}
+		if(args.length >= 3){
+			options.setSeed(Long.parseLong(args[2]));
+		}
+		return options;
+	}
+
+	/**
+	 * Reads the options from the system properties
+	 * <p>
+	 * The game is saved in {@value #DEFAULT_SAVE_FILE} (or the file given by {@value #SAVE_FILE_PROPERTY}). {@value #EVENT_LOG_PROPERTY}
+	 * is the file to record the game in and {@value #METRICS_PROPERTY} the file to write the time spent in each phase, AI decision and
+	 * frame (and the number of market transactions) to. {@value #AI_THINKING_TIME_PROPERTY} is the number of milliseconds that the AI
+	 * player searches ahead for before each decision, {@value #AI_PLAYERS_PROPERTY} the number of AI players and {@value #SERVER_PROPERTY}
+	 * the address of a game server (host or host:port) to play against other people on instead.
+	 * </p>
+	 * @return The options
+	 */
+	public static LaunchOptions fromSystemProperties(){
+		LaunchOptions options = new LaunchOptions();
+		options.setSaveFile(Paths.get(System.getProperty(SAVE_FILE_PROPERTY, DEFAULT_SAVE_FILE)));
+		String eventLogFile = System.getProperty(EVENT_LOG_PROPERTY);
+		if(eventLogFile != null){
+			options.setEventLogFile(Paths.get(eventLogFile));
+		}
+		String metricsFile = System.getProperty(METRICS_PROPERTY);
+		if(metricsFile != null){
+			options.setMetricsFile(Paths.get(metricsFile));
+		}
+		long aiThinkingTime = Long.getLong(AI_THINKING_TIME_PROPERTY, 0);
+		if(aiThinkingTime > 0){
+			options.setAISearchBudget(SearchBudget.time(aiThinkingTime));
+		}
+		options.setNumberOfAIPlayers(Integer.getInteger(AI_PLAYERS_PROPERTY, 1));
+		String server = System.getProperty(SERVER_PROPERTY);
+		if(server != null){
+			options.setServerAddress(parseServerAddress(server));
+		}
+		return options;
+	}
+
+	/**
+	 * Returns the address of a game server given as host or host:port (the default port is used if none is given)
+	 * @param server The host and (optionally) the port of the server
+	 * @return The address of the server
+	 */
+	static InetSocketAddress parseServerAddress(String server){
+		int colon = server.lastIndexOf(':');
+		if(colon < 0){
+			return new InetSocketAddress(server, NetworkProtocol.DEFAULT_PORT);
+		}
+		return new InetSocketAddress(server.substring(0, colon), Integer.parseInt(server.substring(colon + 1)));
+	}
+
+	/**
+	 * Sets the size of the map that new games are played on
+	 * @param plotRows The number of rows of plots on the map
+	 * @param plotColumns The number of columns of plots on the map
+	 */
+	public void setMapSize(int plotRows, int plotColumns){
+		if(plotRows <= 0 || plotColumns <= 0){
+			throw new IllegalArgumentException("The map must have at least one row and column of plots rows = "+plotRows+" columns = "+plotColumns);
+		}
+		this.plotRows = plotRows;
+		this.plotColumns = plotColumns;
+	}
+
+	/**
+	 * Returns the number of rows of plots on the map
+	 * @return The number of rows of plots on the map
+	 */
+	public int getPlotRows(){
+		return plotRows;
+	}
+
+	/**
+	 * Returns the number of columns of plots on the map
+	 * @return The number of columns of plots on the map
+	 */
+	public int getPlotColumns(){
+		return plotColumns;
+	}
+
+	/**
+	 * Sets the seed of new games, the same seed always gives the same plots and the same player going first
+	 * @param seed The seed
+	 */
+	public void setSeed(long seed){
+		this.seed = seed;
+	}
+
+	/**
+	 * Returns a new GameRandom for a new game, using the seed if one has been set and a randomly chosen seed if not
+	 * @return The GameRandom
+	 */
+	GameRandom createRandom(){
+		return (seed == null) ? new GameRandom() : new GameRandom(seed);
+	}
+
+	/**
+	 * Sets the number of AI players that the human player competes against in new games (games that are carried on with from a save
+	 * file keep the players that they were saved with)
+	 * @param numberOfAIPlayers The number of AI players (at least 1)
+	 */
+	public void setNumberOfAIPlayers(int numberOfAIPlayers){
+		if(numberOfAIPlayers < 1 || numberOfAIPlayers > PlayerColours.MAX_AI_PLAYERS){
+			throw new IllegalArgumentException("numberOfAIPlayers must be between 1 and "+PlayerColours.MAX_AI_PLAYERS+" numberOfAIPlayers = "+numberOfAIPlayers);
+		}
+		this.numberOfAIPlayers = numberOfAIPlayers;
+	}
+
+	/**
+	 * Returns the number of AI players that the human player competes against in new games
+	 * @return The number of AI players
+	 */
+	public int getNumberOfAIPlayers(){
+		return numberOfAIPlayers;
+	}
+
+	/**
+	 * Makes the first AI player in new games one that uses a {@link SearchStrategy} to search with the given budget for each decision
+	 * (using every core). Games that are carried on with from a save file keep the ordinary AI player.
+	 * @param aiSearchBudget How much searching the AI player does for each decision (null for an AI player that does not search)
+	 */
+	public void setAISearchBudget(SearchBudget aiSearchBudget){
+		this.aiSearchBudget = aiSearchBudget;
+	}
+
+	/**
+	 * Returns how much searching the first AI player in new games does for each decision
+	 * @return The search budget or null if the AI player does not search
+	 */
+	public SearchBudget getAISearchBudget(){
+		return aiSearchBudget;
+	}
+
+	/**
+	 * Creates the players of a new game, the human player first and then the AI players
+	 * <p>
+	 * Only the first AI player searches ahead if an AI search budget has been set (a {@link SearchStrategy} only searches in two player games).
+	 * </p>
+	 * @param market The market that the players use
+	 * @param random Used for every random decision made by the AI players
+	 * @return The players
+	 */
+	List<Player> createPlayers(Market market, GameRandom random){
+		List<Player> players = new ArrayList<Player>(numberOfAIPlayers + 1);
+		players.add(new Player(new PlayerInventory(0, 0, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), STARTING_MONEY), market));
+		for(int AIPlayerNumber = 0; AIPlayerNumber < numberOfAIPlayers; AIPlayerNumber++){
+			PlayerInventory inventory = new PlayerInventory(0, 0, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), STARTING_MONEY);
+			if(aiSearchBudget != null && AIPlayerNumber == 0){
+				players.add(new AIPlayer(inventory, market, new SearchStrategy(aiSearchBudget, Runtime.getRuntime().availableProcessors(), random.split())));
+			}
+			else{
+				players.add(new AIPlayer(inventory, market));
+			}
+		}
+		return players;
+	}
+
+	/**
+	 * Plays the game on the given game server instead of against local AI players (the game is not saved or logged)
+	 * @param serverAddress The address of the game server (null to play against local AI players)
+	 */
+	public void setServerAddress(InetSocketAddress serverAddress){
+		this.serverAddress = serverAddress;
+	}
+
+	/**
+	 * Returns the address of the game server that the game is played on
+	 * @return The address of the game server or null if the game is played against local AI players
+	 */
+	public InetSocketAddress getServerAddress(){
+		return serverAddress;
+	}
+
+	/**
+	 * Saves the game to the given file whenever it is autosaved and when the game is closed. The next time that the game is started
+	 * the saved game is carried on with.
+	 * @param saveFile The file that the game is saved in (null to not save the game)
+	 */
+	public void setSaveFile(Path saveFile){
+		this.saveFile = saveFile;
+	}
+
+	/**
+	 * Returns the file that the game is saved in
+	 * @return The file or null if the game is not saved
+	 */
+	public Path getSaveFile(){
+		return saveFile;
+	}
+
+	/**
+	 * Records the game in the given file (so that it can be replayed by {@link GameLogReplayer})
+	 * @param eventLogFile The file that the game is to be recorded in (null to not record the game)
+	 */
+	public void setEventLogFile(Path eventLogFile){
+		this.eventLogFile = eventLogFile;
+	}
+
+	/**
+	 * Returns the file that the game is recorded in
+	 * @return The file or null if the game is not recorded
+	 */
+	public Path getEventLogFile(){
+		return eventLogFile;
+	}
+
+	/**
+	 * Records where the time goes (and the transactions made with the market) using the {@link MetricsRegistry}, and writes the results
+	 * to the given file as CSV when the game is closed
+	 * @param metricsFile The file that the results are to be written to (null to not record them)
+	 */
+	public void setMetricsFile(Path metricsFile){
+		this.metricsFile = metricsFile;
+	}
+
+	/**
+	 * Returns the file that the metrics are written to
+	 * @return The file or null if the metrics are not recorded
+	 */
+	public Path getMetricsFile(){
+		return metricsFile;
+	}
+}
@@ -1,35 +1,72 @@
 package com.topright.roboticon;
 
-import java.util.EnumMap;
-import java.util.Random;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.List;
 
 import com.badlogic.gdx.ApplicationAdapter;
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.ai.msg.MessageManager;
-import com.badlogic.gdx.ai.msg.Telegram;
-import com.badlogic.gdx.ai.msg.Telegraph;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.ui.Table;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import java.lang.Math;
 
 /**
  * Sets up the various stages of the game and the GUI
+ * <p>
+ * The game is set up using the {@link LaunchOptions} it is given. If they hold a server address the game is played on a game server
+ * (see {@link RemoteGameClient}) rather than against local AI players. The same GUI is used either way, the stages are started by the
+ * server instead of by a local {@link GameEngine}.
+ * </p>
  * @author jcn509
  */
-public class Main extends ApplicationAdapter implements Telegraph{
+public class Main extends ApplicationAdapter implements GameEventListener, RemoteGameListener{
+	static final int MAX_PLOTS_AS_BUTTONS = 400; // Maps with more plots than this are drawn by a TiledPlotMap rather than a PlotManager
+	
 	private SpriteBatch batch;
 	private Stage stage;
 	
 	private MenuBar menu;	
 	private PopUpWindow marketWindow;
-	private PlotManager plotManager;
+	private PlotGridView plotManager; // Either a PlotManager or a TiledPlotMap (depending on the size of the map)
+	private Market market; // Only used by this game
+	private GameEngine gameEngine;
+	private GameEventLog eventLog = null;
+	private SaveFile saveFile = null;
+	private long lastFrameTime = 0; // When the previous frame was rendered (System.nanoTime, 0 before the first frame)
+	private GameSnapshot savedGame = null; // The game that is being carried on with (null for a new game)
+	private RemoteGameClient remoteGame = null; // Only used if the game is played on a game server
+	private boolean serverConnected = false;
+	private Table mainGuiContainer = null;
 
 	private Player humanPlayer;
-	private AIPlayer AIPlayer;
-	private Player currentPlayer;
-	private Player firstPlayer;
+	private List<Player> players; // Every player in the order that they take their turns
+	
+	private final LaunchOptions options;
+	private final GameRandom random; // Used for every random decision made when setting up the game
+	
+	/**
+	 * Constructor, a new game on the standard (4 by 5) map against one AI player that is not saved
+	 */
+	public Main(){
+		this(new LaunchOptions());
+	}
+	
+	/**
+	 * Constructor
+	 * @param options The options that the game is launched with
+	 */
+	public Main(LaunchOptions options){
+		if(options == null){
+			throw new IllegalArgumentException("options must not be null");
+		}
+		this.options = options;
+		this.random = options.createRandom();
+	}
 	
 	/**
 	 * Called when the game is started. Creates and initialises all the objects that are needed and starts the game.
@@ -41,14 +78,39 @@ public class Main extends ApplicationAdapter implements Telegraph{
 		menu = new MenuBar();
        	Gdx.input.setInputProcessor(stage);
        	
-       	initialisePlayers();
-       	initiliasePlotManager();
-       	Market.getInstance().setInventory(new MarketInventory(0,16,12));
-        
+       	loadProductionRules();
+       	if(options.getMetricsFile() != null){
+       		MetricsRegistry.getInstance().setEnabled(true);
+       	}
+       	
  		//this class handles all game events
         for (GameEvents event : GameEvents.values()) {
-        	MessageManager.getInstance().addListener(this, event.ordinal());
+        	GameEventBus.getInstance().addListener(this, event);
         }
+        
+       	if(options.getServerAddress() != null){
+       		joinRemoteGame(); // The rest of the GUI is created once the server has started the match
+       		return;
+       	}
+       	if(options.getSaveFile() != null){
+       		saveFile = new SaveFile(options.getSaveFile());
+       		savedGame = saveFile.load();
+       	}
+       	if(savedGame != null){
+       		restoreSavedGame();
+       	}
+       	else{
+       		Gdx.app.log("Main", "Seed: "+random.getSeed()); // Start the game with this seed to play the same game again
+       		market = new Market(new MarketInventory(0,16,12));
+       		market.setPricingEngine(new SupplyDemandPricingEngine()); // Prices respond to what the players buy and sell
+       		initialisePlayers();
+       		initiliasePlotManager(CreatePlots.createPlots(options.getPlotRows(),options.getPlotColumns(),random));
+       		initialiseGameEngine();
+       	}
+       	if(saveFile != null){
+       		long seed = (savedGame != null) ? savedGame.getSeed() : random.getSeed();
+       		saveFile.attach(seed, plotManager.getPlots(), market, gameEngine);
+       	}
      
         stage.addActor(createMainGUITable());
         startGame();
@@ -56,17 +118,125 @@ public class Main extends ApplicationAdapter implements Telegraph{
 	
 	
 	/**
-	 * Creates and initialises the player objects and chooses (randomly) which player is to go first
+	 * Creates and initialises the player objects (see {@link LaunchOptions#createPlayers(Market, GameRandom)}) and chooses (randomly)
+	 * the order in which they take their turns
 	 */
 	private void initialisePlayers(){
-		EnumMap<RoboticonCustomisation,Integer> HumanRoboticonQuantities = new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class);
-        EnumMap<RoboticonCustomisation,Integer> AIRoboticonQuantities = new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class);
-        humanPlayer = new Player(new PlayerInventory(0, 0, HumanRoboticonQuantities, 30));
-        AIPlayer = new AIPlayer(new PlayerInventory(0, 0, AIRoboticonQuantities, 30));
+        players = options.createPlayers(market, random);
+        humanPlayer = players.get(0);
         
-        // Randomly select which player is to go first
-        firstPlayer = (Math.random() < 0.5) ? humanPlayer : AIPlayer;
-        currentPlayer = firstPlayer;
+        // Randomly select the order in which the players take their turns (a Fisher-Yates shuffle, so the same seed gives the same order)
+        for(int playerNumber = players.size() - 1; playerNumber > 0; playerNumber--){
+        	int otherPlayerNumber = random.nextInt(playerNumber + 1);
+        	players.set(otherPlayerNumber, players.set(playerNumber, players.get(otherPlayerNumber)));
+        }
+	}
+	
+	/**
+	 * Creates the GameEngine that runs the stages of the game
+	 */
+	private void initialiseGameEngine(){
+		gameEngine = new GameEngine(plotManager, players, this);
+		
+		if(options.getEventLogFile() != null){
+			try{
+				eventLog = GameEventLog.create(options.getEventLogFile(), random.getSeed(), plotManager.getPlots(), market, players.toArray(new Player[0]));
+				gameEngine.setEventLog(eventLog);
+			}
+			catch(IOException e){
+				Gdx.app.error("Main", "Unable to create the event log, the game will not be logged", e);
+			}
+		}
+	}
+	
+	/**
+	 * Connects to the game server and waits (showing only the menu) for the server to start a match
+	 */
+	private void joinRemoteGame(){
+		mainGuiContainer = new Table();
+		mainGuiContainer.setFillParent(true);
+		mainGuiContainer.add(menu).expandX().fillX().top();
+		mainGuiContainer.row();
+		mainGuiContainer.add().expand();
+		stage.addActor(mainGuiContainer);
+		try{
+			remoteGame = RemoteGameClient.connect(options.getServerAddress(), this);
+			serverConnected = true;
+			menu.setMenuText("Waiting for other players to join...");
+		}
+		catch(IOException e){
+			Gdx.app.error("Main", "Unable to connect to the game server "+options.getServerAddress(), e);
+			menu.setMenuText("Unable to connect to the game server.");
+		}
+	}
+	
+	/**
+	 * Called by the {@link RemoteGameClient} once the server has started the match, creates the rest of the GUI
+	 * @param localPlayer The player controlled by this client
+	 * @param players Every player in the match in the order that they take their turns
+	 * @param plots The plots that the match is played on
+	 * @param market A copy of the server's market
+	 * @return The plot grid that displays the plots
+	 */
+	@Override
+	public PlotGrid matchStarted(Player localPlayer, List<Player> players, Plot[][] plots, Market market){
+		humanPlayer = localPlayer;
+		this.players = players;
+		this.market = market;
+		initiliasePlotManager(plots);
+		mainGuiContainer.remove();
+		stage.addActor(createMainGUITable());
+		menu.setMenuText("Waiting for the other players...");
+		menu.setPlayerInventoryData(humanPlayer);
+		return plotManager;
+	}
+	
+	/**
+	 * Called by the {@link RemoteGameClient} whenever the server says that a player's inventory has changed
+	 * @param player The player
+	 */
+	@Override
+	public void inventoryUpdated(Player player){
+		if(player == humanPlayer){
+			menu.setPlayerInventoryData(humanPlayer);
+		}
+	}
+	
+	/**
+	 * Loads the production rules that the plots of this game use (the standard rules are used if they could not be loaded)
+	 */
+	private void loadProductionRules(){
+		FileHandle rulesFile = Gdx.files.internal(ProductionRules.CONFIG_PATH);
+		if(!rulesFile.exists()){
+			return;
+		}
+		try(Reader reader = rulesFile.reader("UTF-8")){
+			ProductionRules.setDefault(ProductionRules.load(reader));
+		}
+		catch(IOException | IllegalArgumentException e){
+			Gdx.app.error("Main", "Unable to load the production rules, using the standard rules", e);
+		}
+	}
+	
+	/**
+	 * Creates the market, players, plots and GameEngine from the saved game
+	 * <p>
+	 * A game that is carried on with is not recorded in the event log (a log must start at the beginning of a game).
+	 * </p>
+	 */
+	private void restoreSavedGame(){
+		Gdx.app.log("Main", "Carrying on with the saved game, seed: "+savedGame.getSeed());
+		market = savedGame.createMarket();
+		market.setPricingEngine(new SupplyDemandPricingEngine()); // The recent trade volume is not saved so starts again from 0
+		Player[] savedPlayers = savedGame.createPlayers(market);
+		for(Player player : savedPlayers){
+			if(!(player instanceof AIPlayer)){
+				humanPlayer = player;
+			}
+		}
+		players = Arrays.asList(savedPlayers);
+		initiliasePlotManager(savedGame.createPlots(savedPlayers));
+		gameEngine = new GameEngine(plotManager, players, this);
 	}
 	
 	/**
@@ -74,20 +244,28 @@ public class Main extends ApplicationAdapter implements Telegraph{
 	 * @return
 	 */
 	private Table createMainGUITable(){
-		Table mainGuiContainer = new Table();
+		mainGuiContainer = new Table();
         mainGuiContainer.setFillParent(true);
         mainGuiContainer.add(menu).expandX().fillX();
         mainGuiContainer.row();
-        mainGuiContainer.add(plotManager).fill().expand();
+        mainGuiContainer.add((Actor)plotManager).fill().expand();
         return mainGuiContainer;
 	}
 
 	/**
-	 * Sets up the PlotManager object that contains all of the plots used in the game
+	 * Sets up the PlotManager (or for large maps the TiledPlotMap) object that contains all of the plots used in the game
+	 * <p>
+	 * A PlotManager creates several actors for every plot, which is fine for the standard map but far too slow for large maps.
+	 * </p>
+	 * @param plots The plots used in the game
 	 */
-	private void initiliasePlotManager(){
-		Plot[][] plots = CreatePlots.createPlots(4,5);
-		plotManager = new PlotManager("backgrounds/map.png",plots,humanPlayer,AIPlayer);
+	private void initiliasePlotManager(Plot[][] plots){
+		if(plots.length * plots[0].length > MAX_PLOTS_AS_BUTTONS){
+			plotManager = new TiledPlotMap("backgrounds/map.png",plots,humanPlayer,players);
+		}
+		else{
+			plotManager = new PlotManager("backgrounds/map.png",plots,humanPlayer,players);
+		}
 		  
 		// Don't want anything to happen when a plot is clicked initially
 	    plotManager.setPlotClickMode(PlotClickMode.NOACTION);
@@ -95,9 +273,19 @@ public class Main extends ApplicationAdapter implements Telegraph{
 	
 	/**
 	 * Overwritten LibGDX method that is called to render the game
+	 * <p>
+	 * If a metrics file has been set the time since the previous frame is recorded.
+	 * </p>
 	 */
 	@Override
 	public void render() {
+		if(options.getMetricsFile() != null){
+			long now = System.nanoTime();
+			if(lastFrameTime != 0){
+				MetricsRegistry.getInstance().recordFrameTime(now - lastFrameTime);
+			}
+			lastFrameTime = now;
+		}
 		Gdx.gl.glClearColor(0f, 0f, 0f, 1);
 		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
 		
@@ -106,232 +294,257 @@ public class Main extends ApplicationAdapter implements Telegraph{
 		batch.begin(); //everything between .begin() and .end() is drawn
 		stage.draw(); // used to draw UI elements like Buttons & windows
 		batch.end();
+		
+		if(remoteGame != null){
+			if(serverConnected){
+				pollServer();
+			}
+		}
+		else if(saveFile != null){
+			saveFile.update(Gdx.graphics.getDeltaTime());
+		}
 	}
 	
 	/**
-	 * Overwritten LibGDX method that is called if the window is resized
+	 * Deals with everything that the game server has sent since the last frame
 	 */
-	@Override
-	public void resize (int width, int height) {
-	    stage.getViewport().update(width, height, true);
+	private void pollServer(){
+		try{
+			if(!remoteGame.poll()){
+				disconnected(null);
+			}
+		}
+		catch(IOException | IllegalArgumentException | IllegalStateException e){
+			disconnected(e);
+		}
 	}
 	
 	/**
-	 * Called to start the game (at the plot acquisition stage)
+	 * Tells the user that the connection to the game server has been lost
+	 * @param cause Why the connection was lost (null if the server closed it)
 	 */
-	private void startGame() {
-		// Display the human players inventory data on the screen
-		menu.setPlayerInventoryData(humanPlayer);
-		plotAcquisitionStage();
+	private void disconnected(Exception cause){
+		if(!remoteGame.isGameOver()){
+			Gdx.app.error("Main", "Lost the connection to the game server", cause);
+			menu.setMenuText("Lost the connection to the game server.");
+		}
+		closeConnection();
 	}
 	
 	/**
-	 * Sets the game up for the plot acquisition stage. Makes AI Players choose a plot. Allows the human player choose to a plot.
-	 * <p>
-	 * If a human player is acquiring a plot then the PlotManager is updated
-	 * </p>
+	 * Closes the connection to the game server (if it is open)
 	 */
-	private void plotAcquisitionStage(){	
-		plotManager.setCurrentPlayer(currentPlayer);
-		if(currentPlayer == humanPlayer){
-			menu.setMenuText("Choose a plot to acquire.");
-        	plotManager.setPlotClickMode(PlotClickMode.ACQUIRE);
+	private void closeConnection(){
+		if(!serverConnected){
+			return;
 		}
-		else{
-			AIPlayer.choosePlot(plotManager);
+		serverConnected = false;
+		try{
+			remoteGame.close();
+		}
+		catch(IOException e){
+			Gdx.app.error("Main", "Unable to close the connection to the game server", e);
 		}
-
-		// When done, want to call buying Roboticons phase method
 	}
 	
 	/**
-	 * Sets the game up for the roboticon purchasing stage.
-	 * <p>
-	 * Tells AI player to purchase roboticons if they wish. Allows human players to purchase roboticons via a market window.
-	 * </p>
+	 * Overwritten LibGDX method that is called if the window is resized
 	 */
-	private void buyingRoboticonsStage(){
-		if(currentPlayer == humanPlayer){
-			
-			// Nothing should happen when a player clicks on a plot
-			plotManager.setPlotClickMode(PlotClickMode.NOACTION);
-			marketWindow = new BuyRoboticonsMarket(currentPlayer);
-			
-			// When the player has finished buying roboticons they can click this button to advance to the next stage
-			menu.setAndShowNextStageButton("Customise roboticons",GameEvents.FINISHEDBUYINGROBOTICONS.ordinal());
-		
-        	stage.addActor(marketWindow);        
-        	menu.setMenuText("Purchase roboticons if you wish. Click the 'Customise roboticons' button when you're done.");
-        	
-        	// The player has a limited amount of time in which to purchase and customise roboticons
-        	// If the timer runs out we may need to skip the customising stage entirely
-        	menu.setTimer(GameEvents.FINISHEDCUSTOMISINGROBOTICONS.ordinal(), 30); 
+	@Override
+	public void resize (int width, int height) {
+	    stage.getViewport().update(width, height, true);
+	}
+
+	/**
+	 * Overwritten LibGDX method that is called when the game is closed. Disposes of the shared assets, stops listening for events and writes
+	 * the metrics (if a metrics file has been set).
+	 */
+	@Override
+	public void dispose(){
+		stage.dispose();
+		batch.dispose();
+		GameEventBus.getInstance().removeListener(this);
+		if(saveFile != null){
+			saveFile.close();
 		}
-		else{
-			// There is no timer for AI player (as it makes decisions very quickly and it would complicate the AI)
-			AIPlayer.buyRoboticons(plotManager);
-			customisingRoboticonsStage();
+		closeConnection();
+		if(eventLog != null){
+			try{
+				eventLog.close();
+			}
+			catch(IOException e){
+				Gdx.app.error("Main", "Unable to close the event log", e);
+			}
 		}
+		if(options.getMetricsFile() != null){
+			try{
+				MetricsRegistry.getInstance().writeCsv(options.getMetricsFile());
+			}
+			catch(IOException e){
+				Gdx.app.error("Main", "Unable to write the metrics", e);
+			}
+		}
+
+		AssetRegistry assets = AssetRegistry.getInstance();
+		Gdx.app.log("AssetRegistry", "Assets loaded: "+assets.getLoadCount()+" Bytes loaded: "+assets.getBytesLoaded());
+		assets.dispose();
 	}
-	
+
 	/**
-	 * Sets the game up for the roboticon customising stage.
-	 * <p>
-	 * Tells AI player to customise roboticons if they wish. Allows human players to customise roboticons via a market window.
-	 * </p>
+	 * Called to start the game (at the plot acquisition stage) or to carry on with the saved game
 	 */
-	private void customisingRoboticonsStage(){
-		if(currentPlayer == humanPlayer){
-			
-			marketWindow.remove(); // get rid of the old window (from the roboticon buying phase)
-			marketWindow = new CustomiseRoboticonsMarket(currentPlayer);
-			
-			// Users may click the next stage button once they have finished customising their roboticons
-			menu.setAndShowNextStageButton("Place roboticons",GameEvents.FINISHEDCUSTOMISINGROBOTICONS.ordinal());
-		
-       		stage.addActor(marketWindow);        
-        	menu.setMenuText("Customise as many roboticons as you want. Click the 'Place roboticons' button when you're done.");
+	private void startGame() {
+		// Display the human players inventory data on the screen
+		menu.setPlayerInventoryData(humanPlayer);
+		if(savedGame != null){
+			savedGame.resume(gameEngine, players.toArray(new Player[0]));
 		}
 		else{
-			AIPlayer.customiseRoboticons(plotManager);
-			roboticonPlacingStage();
+			gameEngine.start();
 		}
-        // Note that the timer is still set from the buying roboticons stage (if human player)
 	}
 	
 	/**
-	 * Sets the game up for the roboticon placing stage.
+	 * Sets the game up so that the human player can choose a plot to acquire.
 	 * <p>
-	 * Tells AI player to place roboticons if they wish. Allows human players to place roboticons.
+	 * The PlotManager is updated so that clicking on a plot acquires it.
 	 * </p>
 	 */
-	private void roboticonPlacingStage(){
-		if(currentPlayer == humanPlayer){
-			menu.clearTimer();
-			marketWindow.remove();
-			marketWindow = null; // No longer need it
-			plotManager.setPlotClickMode(PlotClickMode.PLACEROBOTICON);
-			menu.setMenuText("Place roboticons if you want. Click the 'Finished my turn' button once you're done.");
-			menu.setAndShowNextStageButton("Finished my turn",GameEvents.FINISHEDPLACINGROBOTICONS.ordinal());
-		}
-		else{
-			AIPlayer.placeRoboticons(plotManager);
-			nextPlayersTurn();
-		}
+	@Override
+	public void plotAcquisitionStage(Player player){
+		plotManager.setCurrentPlayer(player);
+		menu.setMenuText("Choose a plot to acquire.");
+		plotManager.setPlotClickMode(PlotClickMode.ACQUIRE);
 	}
 	
 	/**
-	 * Sets up the game for the stage where all players can buy and sell from the market.
-	 * <p>
-	 * This stage can only be ended by the human player
-	 * </p>
+	 * Sets the game up so that the human player can purchase roboticons via a market window.
 	 */
-	private void allPlayersMarketStage(){
-		
-		// Tell the AI to buy and sell whatever resources it wants to
-		AIPlayer.buyAndSellResources();	
-
-		marketWindow = new ResourceMarket(humanPlayer);
+	@Override
+	public void buyingRoboticonsStage(Player player){
+		// Nothing should happen when a player clicks on a plot
+		plotManager.setPlotClickMode(PlotClickMode.NOACTION);
+		marketWindow = new BuyRoboticonsMarket(player, market);
 		
-		// The human player may click the next stage button when they are done with the market
-		menu.setAndShowNextStageButton("Finished with the market",GameEvents.FINISHEDWITHTHEMARKET.ordinal());
+		// When the player has finished buying roboticons they can click this button to advance to the next stage
+		menu.setAndShowNextStageButton("Customise roboticons",GameEvents.FINISHEDBUYINGROBOTICONS);
+	
+		stage.addActor(marketWindow);        
+		menu.setMenuText("Purchase roboticons if you wish. Click the 'Customise roboticons' button when you're done.");
 		
-        stage.addActor(marketWindow);        
-        menu.setMenuText("Market: buy and sell resources if you want. Click the 'Finished with the market' button when you are done.");
+		// The player has a limited amount of time in which to purchase and customise roboticons
+		// If the timer runs out we may need to skip the customising stage entirely
+		menu.setTimer(GameEvents.FINISHEDCUSTOMISINGROBOTICONS, 30); 
 	}
 	
 	/**
-	 * Tells all plots to produce resources for their owners (where applicable) 
-	 * <p> 
-	 * Also updates the players inventory data visible in the menu.
-	 * </p>
+	 * Sets the game up so that the human player can customise roboticons via a market window.
 	 */
-	private void produceResources(){
-		plotManager.produceResources();
-		menu.setPlayerInventoryData(humanPlayer);
-		allPlayersMarketStage();// Go straight to this stage
+	@Override
+	public void customisingRoboticonsStage(Player player){
+		marketWindow.remove(); // get rid of the old window (from the roboticon buying phase)
+		marketWindow = new CustomiseRoboticonsMarket(player, market);
+		
+		// Users may click the next stage button once they have finished customising their roboticons
+		menu.setAndShowNextStageButton("Place roboticons",GameEvents.FINISHEDCUSTOMISINGROBOTICONS);
+	
+		stage.addActor(marketWindow);        
+		menu.setMenuText("Customise as many roboticons as you want. Click the 'Place roboticons' button when you're done.");
+		// Note that the timer is still set from the buying roboticons stage
 	}
 	
 	/**
-	 * Starts the next round of the game (the first player can then acquire a plot again)
-	 * <p>
-	 * To be called once both players have completed their turns in a given round (if the game is not yet over)
-	 * </p>
+	 * Sets the game up so that the human player can place roboticons.
 	 */
-	private void nextRound(){
+	@Override
+	public void roboticonPlacingStage(Player player){
+		menu.clearTimer();
 		marketWindow.remove();
-		menu.hideNextStageButton(); // Shouldn't be visible during the plot acquisition stage
-		currentPlayer = (currentPlayer == humanPlayer)? AIPlayer : humanPlayer; // swap players
-		plotAcquisitionStage();
+		marketWindow = null; // No longer need it
+		plotManager.setPlotClickMode(PlotClickMode.PLACEROBOTICON);
+		menu.setMenuText("Place roboticons if you want. Click the 'Finished my turn' button once you're done.");
+		menu.setAndShowNextStageButton("Finished my turn",GameEvents.FINISHEDPLACINGROBOTICONS);
+	}
+	
+	/**
+	 * Updates the players inventory data visible in the menu once all plots have produced resources.
+	 */
+	@Override
+	public void resourcesProduced(){
+		menu.setPlayerInventoryData(humanPlayer);
 	}
 	
 	/**
-	 * Sets up the game for the next players turn in a given round
+	 * Sets up the game for the stage where all players can buy and sell from the market.
 	 * <p>
-	 * To be called when a player has finished their turn for a given round, but another player has yet to have theirs
+	 * This stage can only be ended by the human player
 	 * </p>
 	 */
-	private void nextPlayersTurn(){
-		if(currentPlayer == humanPlayer){
-			menu.hideNextStageButton();
-		}
+	@Override
+	public void allPlayersMarketStage(){
+		marketWindow = new ResourceMarket(humanPlayer, market);
 		
-		if(currentPlayer == firstPlayer){
-			currentPlayer = (currentPlayer == humanPlayer)? AIPlayer : humanPlayer; // swap players
-			plotManager.setCurrentPlayer(currentPlayer);
-			plotAcquisitionStage();
-		}
-		else{
-			produceResources();// followed immediately by the shared market phase
-		}
+		// The human player may click the next stage button when they are done with the market
+		menu.setAndShowNextStageButton("Finished with the market",GameEvents.FINISHEDWITHTHEMARKET);
+		
+		stage.addActor(marketWindow);        
+		menu.setMenuText("Market: buy and sell resources if you want. Click the 'Finished with the market' button when you are done.");
 	}
 	
 	/**
-	 * Calculates each players final score and creates a window to tell the user who the winner is
+	 * Creates a window to tell the user who the winner is
 	 * <p>
-	 * To be called once all plots have been acquired and each player has finished their turn
+	 * Called once all plots have been acquired and each player has finished their turn
 	 * </p>
 	 */
-	private void gameOver(){
-		// calculate scores, dialog box or something declaring the winner
-		menu.hideNextStageButton();
-		marketWindow.remove();
-		marketWindow = null;
+	@Override
+	public void gameOver(){
 		menu.setMenuText("Game over!");
-		stage.addActor(new GameOverWindow(humanPlayer,AIPlayer));
+		stage.addActor(new GameOverWindow(humanPlayer,players));
 	}
 
 	/**
-	 * Other classes may dispatch messages (to inform this class whenever a certain event occurs). They are dealt with here
+	 * Passes an event that ends a stage of the game on to the GameEngine (or to the game server if the game is played on one)
+	 * @param event The event that has occurred
+	 */
+	private void endStage(GameEvents event){
+		if(remoteGame != null){
+			if(event == GameEvents.PLOTAQUIRED){
+				// The server starts the next stage once it has been told about the plot, no other plot may be acquired until then
+				plotManager.setPlotClickMode(PlotClickMode.NOACTION);
+			}
+			remoteGame.handleEvent(event);
+		}
+		else{
+			gameEngine.handleEvent(event);
+		}
+	}
+	
+	/**
+	 * Other classes may dispatch events through the {@link GameEventBus} (to inform this class whenever a certain event occurs). They are dealt with here
+	 * <p>
+	 * Events that end a stage of the game are passed on to the GameEngine or the game server (after any GUI elements used in that stage are removed).
+	 * </p>
 	 */
 	@Override
-	public boolean handleMessage(Telegram msg) {
-		
-		GameEvents event = GameEvents.values()[msg.message]; //convert from the integer to code to an enum for readability
+	public void handleGameEvent(GameEvents event, int payload) {
 		switch(event){
 		case PLOTAQUIRED:// When a plot has been acquired we want to move to the buying stage
-			buyingRoboticonsStage();
-			break;
 		case FINISHEDBUYINGROBOTICONS:
-			customisingRoboticonsStage();
-			break;
 		case FINISHEDCUSTOMISINGROBOTICONS:
-			roboticonPlacingStage();
+			endStage(event);
 			break;
 		case FINISHEDPLACINGROBOTICONS:
 			plotManager.removeRoboticonPlaceMenu();
 			plotManager.setPlotClickMode(PlotClickMode.NOACTION);
-			nextPlayersTurn(); // if all players have had their turn, causes production and then market access
+			menu.hideNextStageButton();
+			endStage(event); // if all players have had their turn, causes production and then market access
 			break;
 		case FINISHEDWITHTHEMARKET:
-			// The game ends when all plots have been acquired and all players finished their turn in the current round
-			// (Both players will have finished their turn once they are both finished using the market in the stage where they both have access to the market)
-			if(plotManager.allPlotsAquired()){
-				gameOver();
-			}
-			else{
-				nextRound();
-			}
+			marketWindow.remove();
+			marketWindow = null;
+			menu.hideNextStageButton(); // Shouldn't be visible during the plot acquisition stage
+			endStage(event); // either the next round or the end of the game
 			break;
 		case PLAYERINVENTORYUPDATE:
 			// Whenever something happens that means that the players inventory data that is displayed on the screen should be updated
@@ -340,7 +553,5 @@ public class Main extends ApplicationAdapter implements Telegraph{
 		default:
 			throw new IllegalArgumentException("Unable to respond to message type "+event);
 		}
-	
-		return true;
 	}
 }
@@ -1,11 +1,44 @@
 package com.topright.roboticon;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
 /**
- * A singleton class used to manage the market allowing players to buy and sell resources to and from the market, buy roboticons and pay to have their roboticons customised
+ * Used to manage the market allowing players to buy and sell resources to and from the market, buy roboticons and pay to have their roboticons customised
+ * <p>
+ * Each game should have its own Market instance (passed to the players and market windows). A single shared instance is still
+ * available via {@link Market#getInstance()} and is used by anything that is not given a Market of its own.
+ * </p>
+ * <p>
+ * The attemptTo... methods that take a PlayerInventory are transactions: they may be used by many players (on different threads) at once.
+ * Each step of a transaction is an atomic update and if a later step fails the earlier steps are undone, so stock and money are never
+ * created, lost or allowed to become negative. Every attempt (made and rejected) is counted by the {@link MetricsRegistry} if it is enabled.
+ * </p>
+ * <p>
+ * Ore, energy and roboticons are priced by a {@link PricingEngine} (a {@link FixedPricingEngine} unless another is set) from the
+ * market's stock and the recent trade volume. The prices are cached and only worked out again when the stock or the trade volume
+ * has changed since they were last asked for, so they are cheap to query (e.g. every time a spin box in a market window changes).
+ * An order for more than one unit moves the price as it is carried out, so it is priced at the stock and trade volume that the
+ * market will have halfway through it (otherwise buying a lot of something and selling it straight back would make a profit).
+ * </p>
+ * <p>
+ * Players can also trade ore and energy with each other during the market phase by placing limit orders in the market's
+ * {@link OrderBook}s. Orders are matched in a batch at the end of the phase (by {@link #closeOrderBooks()}) or by {@link #matchOrders()}.
+ * </p>
  * @author Ben
  *
  */
 public class Market {
-	private MarketInventory inventory;
+	private volatile MarketInventory inventory; // volatile as players may trade with the market from several threads
+	private GameEventLog eventLog = null; // Records every roboticon that is produced (if the game is being logged)
+	private volatile PricingEngine pricingEngine = new FixedPricingEngine();
+	private volatile MarketPrices prices = null; // The most recently worked out prices (null if they have not been worked out)
+	private final AtomicIntegerArray recentTradeVolume = new AtomicIntegerArray(3); // Indexed by ORE, ENERGY and ROBOTICONS
+	private final OrderBook oreOrderBook = new OrderBook(PlotSpecialism.ORE); // Used by players to trade ore with each other
+	private final OrderBook energyOrderBook = new OrderBook(PlotSpecialism.ENERGY); // Used by players to trade energy with each other
+	static final int TRADE_VOLUME_DECAY = 8; // Each trade removes 1/TRADE_VOLUME_DECAY of the recent trade volume of that good
+	private static final int ORE = 0;
+	private static final int ENERGY = 1;
+	private static final int ROBOTICONS = 2;
 	private final int roboticonOreConversionRate = 4; // How many ore are needed to produce a roboticon
 	private final int oreCost = 5;
 	private final int energyCost = 6;
@@ -15,20 +48,74 @@ public class Market {
 	
 	private static Market market = new Market(); 
 	
+	/**
+	 * The prices that were worked out for a given stock and trade volume (immutable so it can be shared between threads)
+	 */
+	private static final class MarketPrices {
+		private final PricingEngine pricingEngine;
+		private final int[] stock;
+		private final int[] tradeVolume;
+		private final int[] buyPrices = new int[3];
+		private final int[] sellPrices = new int[3];
+		
+		/**
+		 * Constructor, works out the prices
+		 * @param pricingEngine The engine that works out the prices
+		 * @param basePrices The base price of each good
+		 * @param stock The quantity of each good that the market has in stock
+		 * @param tradeVolume The recent trade volume of each good
+		 */
+		MarketPrices(PricingEngine pricingEngine, int[] basePrices, int[] stock, int[] tradeVolume){
+			this.pricingEngine = pricingEngine;
+			this.stock = stock;
+			this.tradeVolume = tradeVolume;
+			for(int good = 0; good < buyPrices.length; good++){
+				buyPrices[good] = pricingEngine.getBuyPrice(basePrices[good], stock[good], tradeVolume[good]);
+				sellPrices[good] = pricingEngine.getSellPrice(basePrices[good], stock[good], tradeVolume[good]);
+			}
+		}
+		
+		/**
+		 * Returns whether or not these prices were worked out by the given engine for the given stock and trade volume
+		 * @param pricingEngine The engine currently used by the market
+		 * @param oreStock The quantity of ore that the market has in stock
+		 * @param energyStock The quantity of energy that the market has in stock
+		 * @param roboticonStock The number of roboticons that the market has in stock
+		 * @param tradeVolume The current recent trade volume of each good
+		 * @return true if the prices are still correct and false if they need to be worked out again
+		 */
+		boolean isFor(PricingEngine pricingEngine, int oreStock, int energyStock, int roboticonStock, AtomicIntegerArray tradeVolume){
+			return this.pricingEngine == pricingEngine && stock[ORE] == oreStock && stock[ENERGY] == energyStock && stock[ROBOTICONS] == roboticonStock
+					&& this.tradeVolume[ORE] == tradeVolume.get(ORE) && this.tradeVolume[ENERGY] == tradeVolume.get(ENERGY)
+					&& this.tradeVolume[ROBOTICONS] == tradeVolume.get(ROBOTICONS);
+		}
+	}
+	
 	/**
 	 * Constructor
 	 * <p>
-	 * Private as this is a singleton class so their should exist exactly one instance of the class (i.e. it should not be possible to create other instances)
+	 * Creates a market with an empty inventory.
 	 * </p>
 	 */
-	private Market(){
+	public Market(){
 		// Create with an empty inventory to stop null pointer exceptions when people attempt to use that market without first setting the inventory...
-		this.inventory = new MarketInventory(0,0,0);
+		this(new MarketInventory(0,0,0));
 	} 
 	
 	/**
-	 * Get the instance of this class (it is a singleton class)
-	 * @return The only instance of this class
+	 * Constructor
+	 * @param inventory The MarketInventory object that contains all of the resources and roboticons that the market is initially in possession of
+	 */
+	public Market(MarketInventory inventory){
+		if(inventory == null){
+			throw new IllegalArgumentException("inventory must not be null");
+		}
+		this.inventory = inventory;
+	}
+	
+	/**
+	 * Get the shared instance of this class (used by anything that has not been given a Market of its own)
+	 * @return The shared instance of this class
 	 */
 	public static Market getInstance(){
 		return market;
@@ -69,6 +156,134 @@ public class Market {
 		this.inventory = inventory;
 	}
 	
+	/**
+	 * Sets the engine that decides the prices of ore, energy and roboticons
+	 * @param pricingEngine The engine that decides the prices
+	 */
+	public void setPricingEngine(PricingEngine pricingEngine){
+		if(pricingEngine == null){
+			throw new IllegalArgumentException("pricingEngine must not be null");
+		}
+		this.pricingEngine = pricingEngine;
+	}
+	
+	/**
+	 * Returns the engine that decides the prices of ore, energy and roboticons
+	 * @return The engine that decides the prices
+	 */
+	public PricingEngine getPricingEngine(){
+		return pricingEngine;
+	}
+	
+	/**
+	 * Returns the recent trade volume of ore (the ore recently bought from the market minus the ore recently sold to it)
+	 * @return The recent trade volume of ore
+	 */
+	public int getRecentOreTradeVolume(){
+		return recentTradeVolume.get(ORE);
+	}
+	
+	/**
+	 * Returns the recent trade volume of energy (the energy recently bought from the market minus the energy recently sold to it)
+	 * @return The recent trade volume of energy
+	 */
+	public int getRecentEnergyTradeVolume(){
+		return recentTradeVolume.get(ENERGY);
+	}
+	
+	/**
+	 * Returns the recent trade volume of roboticons (the number of roboticons recently bought from the market)
+	 * @return The recent trade volume of roboticons
+	 */
+	public int getRecentRoboticonTradeVolume(){
+		return recentTradeVolume.get(ROBOTICONS);
+	}
+	
+	/**
+	 * Records a trade in the recent trade volume of a good
+	 * <p>
+	 * Older trades count for less, each trade removes 1/{@value #TRADE_VOLUME_DECAY} of the volume that was there before it.
+	 * </p>
+	 * @param good The good that was traded
+	 * @param quantityBought The quantity bought from the market (negative if it was sold to the market)
+	 */
+	private void recordTrade(int good, int quantityBought){
+		while(true){
+			int volume = recentTradeVolume.get(good);
+			if(recentTradeVolume.compareAndSet(good, volume, volume - volume/TRADE_VOLUME_DECAY + quantityBought)){
+				return;
+			}
+		}
+	}
+	
+	/**
+	 * Returns the quantity of a good that the market has in stock
+	 * @param good The good (ORE, ENERGY or ROBOTICONS)
+	 * @return The quantity in stock
+	 */
+	private int getStock(int good){
+		MarketInventory inventory = this.inventory;
+		switch(good){
+			case ORE:
+				return inventory.getOreQuantity();
+			case ENERGY:
+				return inventory.getEnergyQuantity();
+			default:
+				return inventory.getRoboticonQuantity();
+		}
+	}
+	
+	/**
+	 * Returns the amount that a player pays to buy a quantity of a good
+	 * @param good The good (ORE, ENERGY or ROBOTICONS)
+	 * @param basePrice The base price of the good
+	 * @param quantity The quantity to buy
+	 * @return The cost of the given quantity
+	 */
+	private int getBuyCost(int good, int basePrice, int quantity){
+		if(quantity <= 1){
+			return getPrices().buyPrices[good] * quantity;
+		}
+		// Priced at the stock and trade volume that the market will have halfway through the order
+		return pricingEngine.getBuyPrice(basePrice, getStock(good) - quantity/2, recentTradeVolume.get(good) + quantity/2) * quantity;
+	}
+	
+	/**
+	 * Returns the amount that the market pays a player for a quantity of a good
+	 * @param good The good (ORE or ENERGY)
+	 * @param basePrice The base price of the good
+	 * @param quantity The quantity to sell
+	 * @return The amount paid for the given quantity
+	 */
+	private int getSaleValue(int good, int basePrice, int quantity){
+		if(quantity <= 1){
+			return getPrices().sellPrices[good] * quantity;
+		}
+		// Priced at the stock and trade volume that the market will have halfway through the order
+		return pricingEngine.getSellPrice(basePrice, getStock(good) + quantity/2, recentTradeVolume.get(good) - quantity/2) * quantity;
+	}
+	
+	/**
+	 * Returns the current prices, they are only worked out again if the stock, trade volume or pricing engine has changed
+	 * @return The current prices
+	 */
+	private MarketPrices getPrices(){
+		MarketInventory inventory = this.inventory;
+		PricingEngine pricingEngine = this.pricingEngine;
+		int oreStock = inventory.getOreQuantity();
+		int energyStock = inventory.getEnergyQuantity();
+		int roboticonStock = inventory.getRoboticonQuantity();
+		
+		MarketPrices current = prices;
+		if(current == null || !current.isFor(pricingEngine, oreStock, energyStock, roboticonStock, recentTradeVolume)){
+			int[] tradeVolume = {recentTradeVolume.get(ORE), recentTradeVolume.get(ENERGY), recentTradeVolume.get(ROBOTICONS)};
+			current = new MarketPrices(pricingEngine, new int[]{oreCost, energyCost, uncustomisedRoboticonCost},
+					new int[]{oreStock, energyStock, roboticonStock}, tradeVolume);
+			prices = current;
+		}
+		return current;
+	}
+	
 	/**
 	 * Ensures that the player is not trying to buy more energy than is available and subtracts the amount of energy the player is trying to buy from the market
 	 * @param quantity The quantity of energy the player is trying to buy 
@@ -82,6 +297,7 @@ public class Market {
 		}
 		else if (inventory.getEnergyQuantity() >= quantity){
 			inventory.decreaseEnergyQuantity(quantity);
+			recordTrade(ENERGY, quantity);
 		}
 		else{
 			throw new IllegalArgumentException("Trying to buy more energy than is available the market has "+Integer.toString(inventory.getEnergyQuantity())+" energy. The player tried to buy "+Integer.toString(quantity));
@@ -101,6 +317,7 @@ public class Market {
 		}
 		else if (inventory.getOreQuantity() >= quantity){
 			inventory.decreaseOreQuantity(quantity);
+			recordTrade(ORE, quantity);
 		}
 		else {
 			throw new IllegalArgumentException("Trying to buy more ore than is available the market has "+Integer.toString(inventory.getOreQuantity())+" ore. The player tried to buy "+Integer.toString(quantity));
@@ -117,6 +334,7 @@ public class Market {
 		}
 		else if(quantity>0){
 			inventory.increaseEnergyQuantity(quantity);	
+			recordTrade(ENERGY, -quantity);
 		}
 		// Nothing happens if quantity = 0
 	}
@@ -131,6 +349,7 @@ public class Market {
 		}
 		else if(quantity>0){
 			inventory.increaseOreQuantity(quantity);
+			recordTrade(ORE, -quantity);
 		}
 		// Nothing happens if quantity = 0
 	}
@@ -148,6 +367,7 @@ public class Market {
 		}
 		else if (inventory.getRoboticonQuantity() >= quantity){
 			inventory.decreaseRoboticonQuantity(quantity);
+			recordTrade(ROBOTICONS, quantity);
 		}
 		else{
 			throw new IllegalArgumentException("Trying to buy more roboticons than are available the market has "+Integer.toString(inventory.getRoboticonQuantity())+" roboticons. The player tried to buy "+Integer.toString(quantity));
@@ -157,7 +377,7 @@ public class Market {
 	
 	/**
 	 * 
-	 * Returns the cost of a given quantity of ore
+	 * Returns the cost of a given quantity of ore (the amount that a player pays to buy it)
 	 * @param quantity The quantity of ore for which the cost is to be calculated
 	 * @return The cost of the given quantity of ore
 	 */
@@ -165,11 +385,23 @@ public class Market {
 		if(quantity < 0){
 			throw new IllegalArgumentException("Cannot calculate the cost of a negative quantity of ore. quantity = "+Integer.toString(quantity));
 		}
-		return oreCost * quantity;
+		return getBuyCost(ORE, oreCost, quantity);
+	}
+	
+	/**
+	 * Returns the amount that the market pays a player for a given quantity of ore
+	 * @param quantity The quantity of ore for which the sale value is to be calculated
+	 * @return The amount paid for the given quantity of ore
+	 */
+	public int getSaleValueOre(int quantity){
+		if(quantity < 0){
+			throw new IllegalArgumentException("Cannot calculate the sale value of a negative quantity of ore. quantity = "+Integer.toString(quantity));
+		}
+		return getSaleValue(ORE, oreCost, quantity);
 	}
 	
 	/**
-	 * Returns the cost of a given quantity of energy
+	 * Returns the cost of a given quantity of energy (the amount that a player pays to buy it)
 	 * @param quantity The quantity of energy for which the cost is to be calculated
 	 * @return The cost of the given quantity of energy
 	 */
@@ -177,7 +409,19 @@ public class Market {
 		if(quantity < 0){
 			throw new IllegalArgumentException("Cannot calculate the cost of a negative quantity of energy. quantity = "+Integer.toString(quantity));
 		}
-		return energyCost * quantity;
+		return getBuyCost(ENERGY, energyCost, quantity);
+	}
+	
+	/**
+	 * Returns the amount that the market pays a player for a given quantity of energy
+	 * @param quantity The quantity of energy for which the sale value is to be calculated
+	 * @return The amount paid for the given quantity of energy
+	 */
+	public int getSaleValueEnergy(int quantity){
+		if(quantity < 0){
+			throw new IllegalArgumentException("Cannot calculate the sale value of a negative quantity of energy. quantity = "+Integer.toString(quantity));
+		}
+		return getSaleValue(ENERGY, energyCost, quantity);
 	}
 	
 	/**
@@ -189,7 +433,7 @@ public class Market {
 		if(quantity < 0){
 			throw new IllegalArgumentException("Cannot calculate the cost of a negative quantity of roboticons. quantity = "+Integer.toString(quantity));
 		}
-		return uncustomisedRoboticonCost * quantity;
+		return getBuyCost(ROBOTICONS, uncustomisedRoboticonCost, quantity);
 	}
 	
 	/**
@@ -197,16 +441,36 @@ public class Market {
 	 * @return true if a roboticon was produced and false if not
 	 */
 	public boolean attemptToProduceRoboticon(){
+		return MetricsRegistry.getInstance().countTransaction(MarketTransaction.PRODUCEROBOTICON, produceRoboticon());
+	}
+	
+	/**
+	 * Carries out {@link Market#attemptToProduceRoboticon()} (the transaction is counted by that method)
+	 * @return true if the transaction was made and false if not
+	 */
+	private boolean produceRoboticon(){
 		
-		// If the market has enough ore to produce a roboticon
-		if(inventory.getOreQuantity() >= roboticonOreConversionRate){ 
+		// If the market has enough ore to produce a roboticon (taken in one step so the ore can't be used twice)
+		if(inventory.tryDecreaseOreQuantity(roboticonOreConversionRate)){
 			inventory.increaseRoboticonQuantity(1);
-			inventory.decreaseOreQuantity(roboticonOreConversionRate);
+			if(eventLog != null){
+				eventLog.marketProducedRoboticon();
+			}
 			return true;
 		}
 		return false;
 	}		
 	
+	/**
+	 * Sets the log that every roboticon produced by the market (and every trade made using its order books) is recorded in
+	 * @param eventLog The log (null to stop logging)
+	 */
+	void setEventLog(GameEventLog eventLog){
+		this.eventLog = eventLog;
+		oreOrderBook.setEventLog(eventLog);
+		energyOrderBook.setEventLog(eventLog);
+	}
+	
 	/**
 	 * Returns the cost of applying a given customisation to a roboticon
 	 * @param customisation the type of roboticon the market should produce
@@ -223,7 +487,262 @@ public class Market {
 		}
 	}
 	
+	/**
+	 * Returns the order book that players use to trade a given resource with each other
+	 * @param resource The resource
+	 * @return The order book for the given resource
+	 */
+	public OrderBook getOrderBook(PlotSpecialism resource){
+		switch(resource){
+			case ORE:
+				return oreOrderBook;
+			case ENERGY:
+				return energyOrderBook;
+			default:
+				throw new IllegalArgumentException("No order book for " + resource);
+		}
+	}
+	
+	/**
+	 * Matches the buy and sell orders in both order books
+	 * @return The total quantity of ore and energy that was traded
+	 */
+	public int matchOrders(){
+		return oreOrderBook.matchOrders() + energyOrderBook.matchOrders();
+	}
+	
+	/**
+	 * Called at the end of the market phase, matches the orders in both order books and then cancels any that are left
+	 * @return The total quantity of ore and energy that was traded
+	 */
+	public int closeOrderBooks(){
+		int quantityTraded = matchOrders();
+		oreOrderBook.cancelAllOrders();
+		energyOrderBook.cancelAllOrders();
+		return quantityTraded;
+	}
+	
 	public int getRoboticonOreConversionRate(){
 		return roboticonOreConversionRate;
 	}
+	
+	/**
+	 * A player attempts to buy ore from the market, as a single transaction that is safe to use from several threads at once.
+	 * <p>
+	 * The money is taken from the player first, if the market then turns out not to have enough ore the money is given back.
+	 * </p>
+	 * @param buyer The inventory of the player who is buying the ore
+	 * @param quantity The quantity of ore to buy
+	 * @return true if the ore was bought and false if not (the player does not have enough money or the market does not have enough ore)
+	 */
+	public boolean attemptToBuyOre(PlayerInventory buyer, int quantity){
+		return MetricsRegistry.getInstance().countTransaction(MarketTransaction.BUYORE, buyOre(buyer, quantity));
+	}
+	
+	/**
+	 * Carries out {@link Market#attemptToBuyOre(PlayerInventory, int)} (the transaction is counted by that method)
+	 * @param buyer The inventory of the player who is buying
+	 * @param quantity The quantity to buy
+	 * @return true if the transaction was made and false if not
+	 */
+	private boolean buyOre(PlayerInventory buyer, int quantity){
+		if(quantity == 0){
+			return true; // Don't want to do anything
+		}
+		else if(quantity < 0){
+			return false; // Invalid use of the method
+		}
+		
+		int cost = getCostOre(quantity);
+		if(!buyer.tryDecreaseMoneyQuantity(cost)){ // Not enough money
+			return false;
+		}
+		if(!inventory.tryDecreaseOreQuantity(quantity)){ // Not enough stock, roll back
+			buyer.increaseMoneyQuantity(cost);
+			return false;
+		}
+		recordTrade(ORE, quantity);
+		buyer.increaseOreQuantity(quantity);
+		return true;
+	}
+	
+	/**
+	 * A player attempts to buy energy from the market, as a single transaction that is safe to use from several threads at once.
+	 * <p>
+	 * The money is taken from the player first, if the market then turns out not to have enough energy the money is given back.
+	 * </p>
+	 * @param buyer The inventory of the player who is buying the energy
+	 * @param quantity The quantity of energy to buy
+	 * @return true if the energy was bought and false if not (the player does not have enough money or the market does not have enough energy)
+	 */
+	public boolean attemptToBuyEnergy(PlayerInventory buyer, int quantity){
+		return MetricsRegistry.getInstance().countTransaction(MarketTransaction.BUYENERGY, buyEnergy(buyer, quantity));
+	}
+	
+	/**
+	 * Carries out {@link Market#attemptToBuyEnergy(PlayerInventory, int)} (the transaction is counted by that method)
+	 * @param buyer The inventory of the player who is buying
+	 * @param quantity The quantity to buy
+	 * @return true if the transaction was made and false if not
+	 */
+	private boolean buyEnergy(PlayerInventory buyer, int quantity){
+		if(quantity == 0){
+			return true; // Don't want to do anything
+		}
+		else if(quantity < 0){
+			return false; // Invalid use of the method
+		}
+		
+		int cost = getCostEnergy(quantity);
+		if(!buyer.tryDecreaseMoneyQuantity(cost)){ // Not enough money
+			return false;
+		}
+		if(!inventory.tryDecreaseEnergyQuantity(quantity)){ // Not enough stock, roll back
+			buyer.increaseMoneyQuantity(cost);
+			return false;
+		}
+		recordTrade(ENERGY, quantity);
+		buyer.increaseEnergyQuantity(quantity);
+		return true;
+	}
+	
+	/**
+	 * A player attempts to buy (uncustomised) roboticons from the market, as a single transaction that is safe to use from several threads at once.
+	 * <p>
+	 * The money is taken from the player first, if the market then turns out not to have enough roboticons the money is given back.
+	 * </p>
+	 * @param buyer The inventory of the player who is buying the roboticons
+	 * @param quantity The number of roboticons to buy
+	 * @return true if the roboticons were bought and false if not (the player does not have enough money or the market does not have enough roboticons)
+	 */
+	public boolean attemptToBuyRoboticons(PlayerInventory buyer, int quantity){
+		return MetricsRegistry.getInstance().countTransaction(MarketTransaction.BUYROBOTICONS, buyRoboticons(buyer, quantity));
+	}
+	
+	/**
+	 * Carries out {@link Market#attemptToBuyRoboticons(PlayerInventory, int)} (the transaction is counted by that method)
+	 * @param buyer The inventory of the player who is buying
+	 * @param quantity The quantity to buy
+	 * @return true if the transaction was made and false if not
+	 */
+	private boolean buyRoboticons(PlayerInventory buyer, int quantity){
+		if(quantity == 0){
+			return true; // Don't want to do anything
+		}
+		else if(quantity < 0){
+			return false; // Invalid use of the method
+		}
+		
+		int cost = getCostRoboticons(quantity);
+		if(!buyer.tryDecreaseMoneyQuantity(cost)){ // Not enough money
+			return false;
+		}
+		if(!inventory.tryDecreaseRoboticonQuantity(quantity)){ // Not enough stock, roll back
+			buyer.increaseMoneyQuantity(cost);
+			return false;
+		}
+		recordTrade(ROBOTICONS, quantity);
+		buyer.increaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, quantity);
+		return true;
+	}
+	
+	/**
+	 * A player attempts to pay the market to customise one of their roboticons, as a single transaction that is safe to use from several threads at once.
+	 * <p>
+	 * An uncustomised roboticon is taken from the player first, if the player then turns out not to have enough money it is given back.
+	 * </p>
+	 * @param owner The inventory of the player who owns the roboticon
+	 * @param customisation The customisation to apply to the roboticon
+	 * @return true if a roboticon was customised and false if not (the player has no uncustomised roboticons or not enough money)
+	 */
+	public boolean attemptToCustomiseRoboticon(PlayerInventory owner, RoboticonCustomisation customisation){
+		return MetricsRegistry.getInstance().countTransaction(MarketTransaction.CUSTOMISEROBOTICON, customiseRoboticon(owner, customisation));
+	}
+	
+	/**
+	 * Carries out {@link Market#attemptToCustomiseRoboticon(PlayerInventory, RoboticonCustomisation)} (the transaction is counted by that method)
+	 * @param owner The inventory of the player who owns the roboticon
+	 * @param customisation The customisation to apply to the roboticon
+	 * @return true if the transaction was made and false if not
+	 */
+	private boolean customiseRoboticon(PlayerInventory owner, RoboticonCustomisation customisation){
+		int cost = getCostRoboticonCustomisation(customisation);
+		if(!owner.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, 1)){ // No roboticons to customise
+			return false;
+		}
+		if(!owner.tryDecreaseMoneyQuantity(cost)){ // Not enough money, roll back
+			owner.increaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, 1);
+			return false;
+		}
+		owner.increaseRoboticonQuantity(customisation, 1);
+		return true;
+	}
+	
+	/**
+	 * A player attempts to sell ore to the market, as a single transaction that is safe to use from several threads at once.
+	 * @param seller The inventory of the player who is selling the ore
+	 * @param quantity The quantity of ore to sell
+	 * @return true if the ore was sold and false if not (the player does not have enough ore)
+	 */
+	public boolean attemptToSellOre(PlayerInventory seller, int quantity){
+		return MetricsRegistry.getInstance().countTransaction(MarketTransaction.SELLORE, sellOre(seller, quantity));
+	}
+	
+	/**
+	 * Carries out {@link Market#attemptToSellOre(PlayerInventory, int)} (the transaction is counted by that method)
+	 * @param seller The inventory of the player who is selling
+	 * @param quantity The quantity to sell
+	 * @return true if the transaction was made and false if not
+	 */
+	private boolean sellOre(PlayerInventory seller, int quantity){
+		if(quantity == 0){
+			return true; // Don't want to do anything
+		}
+		else if(quantity < 0){
+			return false; // Invalid use of the method
+		}
+		
+		int value = getSaleValueOre(quantity); // The price is fixed before the market's stock goes up
+		if(!seller.tryDecreaseOreQuantity(quantity)){ // Cannot sell ore that is not in the player's possession
+			return false;
+		}
+		inventory.increaseOreQuantity(quantity);
+		recordTrade(ORE, -quantity);
+		seller.increaseMoneyQuantity(value);
+		return true;
+	}
+	
+	/**
+	 * A player attempts to sell energy to the market, as a single transaction that is safe to use from several threads at once.
+	 * @param seller The inventory of the player who is selling the energy
+	 * @param quantity The quantity of energy to sell
+	 * @return true if the energy was sold and false if not (the player does not have enough energy)
+	 */
+	public boolean attemptToSellEnergy(PlayerInventory seller, int quantity){
+		return MetricsRegistry.getInstance().countTransaction(MarketTransaction.SELLENERGY, sellEnergy(seller, quantity));
+	}
+	
+	/**
+	 * Carries out {@link Market#attemptToSellEnergy(PlayerInventory, int)} (the transaction is counted by that method)
+	 * @param seller The inventory of the player who is selling
+	 * @param quantity The quantity to sell
+	 * @return true if the transaction was made and false if not
+	 */
+	private boolean sellEnergy(PlayerInventory seller, int quantity){
+		if(quantity == 0){
+			return true; // Don't want to do anything
+		}
+		else if(quantity < 0){
+			return false; // Invalid use of the method
+		}
+		
+		int value = getSaleValueEnergy(quantity); // The price is fixed before the market's stock goes up
+		if(!seller.tryDecreaseEnergyQuantity(quantity)){ // Cannot sell energy that is not in the player's possession
+			return false;
+		}
+		inventory.increaseEnergyQuantity(quantity);
+		recordTrade(ENERGY, -quantity);
+		seller.increaseMoneyQuantity(value);
+		return true;
+	}
 }
@@ -1,4 +1,7 @@
 package com.topright.roboticon;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * A data structure used to keep track of the market's inventory.
  * <p>
@@ -12,7 +15,7 @@ package com.topright.roboticon;
  */
 
 public class MarketInventory extends Inventory{
-	private int roboticonQuantity;
+	private final AtomicInteger roboticonQuantity = new AtomicInteger();
 	
 	/**
 	 * Constructor
@@ -35,7 +38,7 @@ public class MarketInventory extends Inventory{
 	private void initialiseRoboticonQuantity(int roboticonQuantity){
 		if(roboticonQuantity<0) // Cannot store a negative quantity of roboticons.
 			throw new IllegalArgumentException("roboticonQuantity must be >=0");
-		this.roboticonQuantity = roboticonQuantity;
+		this.roboticonQuantity.set(roboticonQuantity);
 	}
 	
 	/**
@@ -43,7 +46,7 @@ public class MarketInventory extends Inventory{
 	 * @return The quantity of roboticons stored in the inventory.
 	 */
 	public int getRoboticonQuantity(){
-		return roboticonQuantity;
+		return roboticonQuantity.get();
 	}
 	
 	/**
@@ -56,7 +59,7 @@ public class MarketInventory extends Inventory{
 	public void increaseRoboticonQuantity(int roboticonQuantityIncrease){
 		if(roboticonQuantityIncrease < 0) // Cannot add a negative quantity of roboticons.
 			throw new IllegalArgumentException("roboticonQuantityIncrease must be positive");
-		roboticonQuantity += roboticonQuantityIncrease;
+		roboticonQuantity.addAndGet(roboticonQuantityIncrease);
 	}
 	
 	/**
@@ -68,10 +71,18 @@ public class MarketInventory extends Inventory{
 	 * @param roboticonQuantityDecrease The number of roboticons to be removed from the market.
 	 */
 	public void decreaseRoboticonQuantity(int roboticonQuantityDecrease){
+		if(!tryDecreaseRoboticonQuantity(roboticonQuantityDecrease)) // Cannot end up with a negative number of roboticons being stored.
+			throw new IllegalArgumentException("roboticonQuantityDecrease must not be greater than roboticonQuantity");
+	}
+	
+	/**
+	 * Atomically decreases the quantity of roboticons stored in the market by the given amount if enough roboticons are stored.
+	 * @param roboticonQuantityDecrease The number of roboticons to be removed from the market.
+	 * @return true if the roboticons were removed and false if not enough are stored (nothing is removed).
+	 */
+	public boolean tryDecreaseRoboticonQuantity(int roboticonQuantityDecrease){
 		if(roboticonQuantityDecrease < 0) // Cannot take away a negative quantity of roboticons.
 			throw new IllegalArgumentException("roboticonQuantityDecrease must be positive");
-		if(roboticonQuantity - roboticonQuantityDecrease < 0) // Cannot end up with a negative number of roboticons being stored.
-			throw new IllegalArgumentException("roboticonQuantityDecrease must not be greater than roboticonQuantity");
-		roboticonQuantity -= roboticonQuantityDecrease;
+		return tryDecrease(roboticonQuantity, roboticonQuantityDecrease);
 	}
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.topright.roboticon;
+/**
+ * An enumerated type used to denote the kind of transaction that a player attempted to make with the market (used when counting them, see {@link MetricsRegistry})
+ */
+enum MarketTransaction {BUYORE("buyore"), BUYENERGY("buyenergy"), BUYROBOTICONS("buyroboticons"), CUSTOMISEROBOTICON("customiseroboticon"), SELLORE("sellore"), SELLENERGY("sellenergy"), PRODUCEROBOTICON("produceroboticon");
+	private final String name; // A string denoting the name of the transaction (used when reporting the counts)
+	
+	private MarketTransaction(String s) {
+		name = s;
+	}
+	
+	public String toString(){
+		return this.name;
+	}	
+}
@@ -1,17 +1,11 @@
 package com.topright.roboticon;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.ai.msg.MessageManager;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.ui.Image;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
-import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.scenes.scene2d.ui.Table;
 import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
-import com.badlogic.gdx.utils.Timer;
-import com.badlogic.gdx.utils.Timer.Task;
 
 /**
  * A menu bar widget that is placed at the top of the screen
@@ -24,24 +18,25 @@ import com.badlogic.gdx.utils.Timer.Task;
 
 public class MenuBar extends Table{
 	private int timerTime;
+	private TimingWheel.Timeout timerTimeout = null; // The next update of the timer (null if the timer is not active)
 	private Label menuLabel;
 	private String menuText;
 	private TextButton nextStageButton;
 	private InventoryTable inventoryTable;
 	
 	/**
-	 * Set the text that is to be displayed on the next button, the message that is to be dispatched (to be dealt with elsewhere) when the next button is clicked and show the next button on screen.
+	 * Set the text that is to be displayed on the next button, the event that is to be dispatched through the {@link GameEventBus} (to be dealt with elsewhere) when the next button is clicked and show the next button on screen.
 	 * @param text The text to be displayed under the next button.
-	 * @param messageToPassWhenClicked The message that is to be dispatched when the next button is clicked.
+	 * @param messageToPassWhenClicked The event that is to be dispatched when the next button is clicked.
 	 */
-	public void setAndShowNextStageButton(String text,int messageToPassWhenClicked){
+	public void setAndShowNextStageButton(String text,final GameEvents messageToPassWhenClicked){
 		nextStageButton.clearListeners(); // Remove whatever click listener is currently set
 		nextStageButton.setText(text);
 		nextStageButton.addListener(new ClickListener() {
 	        @Override
 			public void clicked(InputEvent event, float x, float y)
 	        {
-	        	MessageManager.getInstance().dispatchMessage(messageToPassWhenClicked);
+	        	GameEventBus.getInstance().dispatch(messageToPassWhenClicked);
 	        }
 	    } );
 		showNextStageButton();
@@ -80,35 +75,58 @@ public class MenuBar extends Table{
 	 * </p>
 	 */
 	public void clearTimer(){
-		menuLabel.setText(menuText); // Remove the 'Time left: ' part
-		timerTime=0;
+		PhaseClock clock = PhaseClock.getInstance();
+		synchronized(clock){ // So that an update that is due can't run after the timer has been cleared
+			if(timerTimeout != null){
+				clock.cancel(timerTimeout);
+				timerTimeout = null;
+			}
+			menuLabel.setText(menuText); // Remove the 'Time left: ' part
+			timerTime=0;
+		}
 	}
 	
 	/**
-	 * Starts a timer that is displayed in the menu bar. When the time runs out a given message is dispatched (to be dealt with elsewhere).
-	 * @param messageToPass The message that is to be passed.
+	 * Starts a timer that is displayed in the menu bar. When the time runs out a given event is dispatched through the {@link GameEventBus} (to be dealt with elsewhere).
+	 * <p>
+	 * The timer is run by the {@link PhaseClock}, replacing any timer that is already running. The time displayed is updated once a
+	 * second, starting straight away.
+	 * </p>
+	 * @param messageToPass The event that is to be dispatched.
 	 * @param time The amount of time that the timer is to run for (in seconds).
 	 */
-	public void setTimer(int messageToPass, final int time){
-		timerTime = time;
-		Timer.schedule(new Task(){
-            @Override
-            public void run() {
-            	if(timerTime == 0){ // Stops things from being broken if the timer cleared from elsewhere.
-            		cancel();
-            	}
-            	else if(timerTime>1){
-            		timerTime-=1;
-            		menuLabel.setText(menuText+" Time left: "+timerTime);
-            	}
-            	else{
-            		MessageManager.getInstance().dispatchMessage(messageToPass); // Time ran out - pass the message.
-            	}
-            }
-        }
-        , 0       //    (delay till start)
-        , 1     //    (execute every 1 second)
-        , timerTime-1 ); //   reduce the time displayed by 1 every time it is executed
+	public void setTimer(GameEvents messageToPass, final int time){
+		PhaseClock clock = PhaseClock.getInstance();
+		synchronized(clock){
+			clearTimer();
+			timerTime = time;
+			scheduleTimerUpdate(messageToPass, clock.getTime(), 0);
+		}
+	}
+	
+	/**
+	 * Schedules an update of the timer, each is due a whole number of seconds after the timer was started (so they don't drift)
+	 * @param messageToPass The event that is to be dispatched when the time runs out.
+	 * @param startTime The time that the timer was started (as measured by the {@link PhaseClock}).
+	 * @param updateNumber The number of updates that have already been made.
+	 */
+	private void scheduleTimerUpdate(final GameEvents messageToPass, final long startTime, final int updateNumber){
+		PhaseClock clock = PhaseClock.getInstance();
+		long delay = Math.max(0, startTime + updateNumber*1000L - clock.getTime());
+		timerTimeout = clock.schedule(new Runnable(){
+			@Override
+			public void run(){
+				if(timerTime>1){
+					timerTime-=1;
+					menuLabel.setText(menuText+" Time left: "+timerTime);
+					scheduleTimerUpdate(messageToPass, startTime, updateNumber+1);
+				}
+				else{
+					timerTimeout = null;
+					GameEventBus.getInstance().dispatch(messageToPass); // Time ran out - pass the message.
+				}
+			}
+		}, delay);
 	}
 	
 	/**
@@ -136,23 +154,23 @@ public class MenuBar extends Table{
 		 * Constructor
 		 */
 		public InventoryTable(){
-			Image iconMoney = new Image(new Texture(Gdx.files.internal("icon/icon-coin.png")));
-			moneyLabel = new Label("uninitialised", new Skin(Gdx.files.internal("uiskin.json")));
+			Image iconMoney = new Image(AssetRegistry.getInstance().getRegion("icon/icon-coin"));
+			moneyLabel = new Label("uninitialised", AssetRegistry.getInstance().getSkin());
 		
-			Image iconEnergy = new Image(new Texture(Gdx.files.internal("icon/icon-energy.png")));
-			energyLabel = new Label("uninitialised", new Skin(Gdx.files.internal("uiskin.json")));
+			Image iconEnergy = new Image(AssetRegistry.getInstance().getRegion("icon/icon-energy"));
+			energyLabel = new Label("uninitialised", AssetRegistry.getInstance().getSkin());
 		
-			Image iconOre = new Image(new Texture(Gdx.files.internal("icon/icon-ore.png")));
-			oreLabel = new Label("uninitialised", new Skin(Gdx.files.internal("uiskin.json")));
+			Image iconOre = new Image(AssetRegistry.getInstance().getRegion("icon/icon-ore"));
+			oreLabel = new Label("uninitialised", AssetRegistry.getInstance().getSkin());
 
-			Image iconUncustomisedRoboticon = new Image(new Texture(Gdx.files.internal("icon/uncustomisedRoboticon.png")));
-			uncustomisedRoboticonLabel  = new Label("uninitialised", new Skin(Gdx.files.internal("uiskin.json")));
+			Image iconUncustomisedRoboticon = new Image(AssetRegistry.getInstance().getRegion("icon/uncustomisedRoboticon"));
+			uncustomisedRoboticonLabel  = new Label("uninitialised", AssetRegistry.getInstance().getSkin());
 			
-			Image iconEnergyRoboticon = new Image(new Texture(Gdx.files.internal("icon/energyRoboticon.png")));			
-			energyRoboticonLabel  = new Label("uninitialised", new Skin(Gdx.files.internal("uiskin.json")));
+			Image iconEnergyRoboticon = new Image(AssetRegistry.getInstance().getRegion("icon/energyRoboticon"));			
+			energyRoboticonLabel  = new Label("uninitialised", AssetRegistry.getInstance().getSkin());
 			
-			Image iconOreRoboticon = new Image(new Texture(Gdx.files.internal("icon/oreRoboticon.png")));
-			oreRoboticonLabel  = new Label("uninitialised", new Skin(Gdx.files.internal("uiskin.json")));
+			Image iconOreRoboticon = new Image(AssetRegistry.getInstance().getRegion("icon/oreRoboticon"));
+			oreRoboticonLabel  = new Label("uninitialised", AssetRegistry.getInstance().getSkin());
 			
 			add(iconMoney).left();
 			add(moneyLabel).left().padRight(40); // want separation between the numbers and the icons
@@ -194,10 +212,10 @@ public class MenuBar extends Table{
 		inventoryTable = new InventoryTable();
 		add(inventoryTable).left();
 		
-		menuLabel = new Label("", new Skin(Gdx.files.internal("uiskin.json")));
+		menuLabel = new Label("", AssetRegistry.getInstance().getSkin());
 		add(menuLabel).expandX().center();
 		
-		nextStageButton = new TextButton("", new Skin(Gdx.files.internal("uiskin.json"))); // Dont't want to place it right away
+		nextStageButton = new TextButton("", AssetRegistry.getInstance().getSkin()); // Dont't want to place it right away
 		                                                                                   // May not be needed and we don't yet know what it should do
 	}
 	
@@ -2,7 +2,6 @@ package com.topright.roboticon;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
-import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
@@ -21,7 +20,7 @@ public class MessagePopUp extends Dialog{
 	 * @param message The message that is to be displayed at the top of the window
 	 */
 	public MessagePopUp(String title, String message){
-		super(title,new Skin(Gdx.files.internal("uiskin.json")));
+		super(title,AssetRegistry.getInstance().getSkin());
 		addCloseButton();
 		addMessageLabel(message);
 		
@@ -36,7 +35,7 @@ public class MessagePopUp extends Dialog{
 	 * @param message The message that is to be displayed in the window
 	 */
 	private void addMessageLabel(String message){
-		Label messageLabel = new Label(message, new Skin(Gdx.files.internal("uiskin.json")));
+		Label messageLabel = new Label(message, AssetRegistry.getInstance().getSkin());
 		text(messageLabel); // Add the label to the window
 	}
 	
@@ -44,7 +43,7 @@ public class MessagePopUp extends Dialog{
 	 * Adds a close button to the window (destroys the window when its clicked)
 	 */
 	private void addCloseButton(){
-		closeButton = new TextButton("Ok", new Skin(Gdx.files.internal("uiskin.json")));
+		closeButton = new TextButton("Ok", AssetRegistry.getInstance().getSkin());
 		
 		// Defines what happens when the close button is clicked
 		closeButton.addListener(new ClickListener(){ 
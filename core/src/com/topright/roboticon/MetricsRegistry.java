@@ -0,0 +1,232 @@
+package com.topright.roboticon;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A singleton class that records where the time goes in a game and counts the transactions made with the market, so that it is possible
+ * to tell whether slow turns are caused by the AI players, the market or the rendering
+ * <p>
+ * Records the time spent in each phase of the game (by the {@link GameEngine}), the time taken by every decision made by an AI player (by
+ * {@link AIPlayer}, grouped by the phase that the decision was made in) and the time between frames (by {@link Main#render()}) in
+ * {@link LatencyHistogram}s, and counts the accepted and rejected attemptTo... calls of each {@link MarketTransaction} (made through
+ * either the {@link Market} or a {@link Player}). The results can be written to a CSV file.
+ * </p>
+ * <p>
+ * Nothing is recorded unless the registry has been enabled: while it is disabled every record and count method returns after reading a
+ * single volatile field. It is safe to record from several threads at once.
+ * </p>
+ */
+class MetricsRegistry {
+	private static final GamePhase[] PHASES = GamePhase.values();
+	private static final MarketTransaction[] TRANSACTIONS = MarketTransaction.values();
+	private static final double[] PERCENTILES = {50, 90, 99, 99.9}; // Written to the CSV file
+
+	private static MetricsRegistry metricsRegistry = new MetricsRegistry();
+
+	private volatile boolean enabled = false;
+	private final LatencyHistogram[] phaseDurations = new LatencyHistogram[PHASES.length]; // Indexed by the ordinal of the phase
+	private final LatencyHistogram[] aiDecisionLatencies = new LatencyHistogram[PHASES.length];
+	private final LatencyHistogram frameTimes = new LatencyHistogram();
+	private final AtomicLongArray acceptedTransactions = new AtomicLongArray(TRANSACTIONS.length); // Indexed by the ordinal of the transaction
+	private final AtomicLongArray rejectedTransactions = new AtomicLongArray(TRANSACTIONS.length);
+
+	/**
+	 * Constructor
+	 * <p>
+	 * Package-private (rather than private, as this is a singleton class) so that tests can use a registry of their own.
+	 * </p>
+	 */
+	MetricsRegistry(){
+		for(int i = 0; i < PHASES.length; i++){
+			phaseDurations[i] = new LatencyHistogram();
+			aiDecisionLatencies[i] = new LatencyHistogram();
+		}
+	}
+
+	/**
+	 * Get the instance of this class (it is a singleton class)
+	 * @return The only instance of this class
+	 */
+	public static MetricsRegistry getInstance(){
+		return metricsRegistry;
+	}
+
+	/**
+	 * Sets whether anything is recorded (nothing is until the registry has been enabled)
+	 * @param enabled true if timings and transactions should be recorded
+	 */
+	public void setEnabled(boolean enabled){
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Returns true if timings and transactions are being recorded
+	 * @return true if the registry is enabled
+	 */
+	public boolean isEnabled(){
+		return enabled;
+	}
+
+	/**
+	 * Records how long a phase of the game took (if the registry is enabled)
+	 * @param phase The phase
+	 * @param nanos How long the phase took in nanoseconds
+	 */
+	public void recordPhaseDuration(GamePhase phase, long nanos){
+		if(enabled){
+			phaseDurations[phase.ordinal()].record(nanos);
+		}
+	}
+
+	/**
+	 * Records how long a decision made by an AI player took (if the registry is enabled)
+	 * @param phase The phase that the decision was made in
+	 * @param nanos How long the decision took in nanoseconds
+	 */
+	public void recordAIDecision(GamePhase phase, long nanos){
+		if(enabled){
+			aiDecisionLatencies[phase.ordinal()].record(nanos);
+		}
+	}
+
+	/**
+	 * Records the time between two frames (if the registry is enabled)
+	 * @param nanos The time between the frames in nanoseconds
+	 */
+	public void recordFrameTime(long nanos){
+		if(enabled){
+			frameTimes.record(nanos);
+		}
+	}
+
+	/**
+	 * Counts a transaction that a player attempted to make with the market (if the registry is enabled)
+	 * @param transaction The kind of transaction
+	 * @param accepted true if the transaction was made and false if it was rejected
+	 * @return accepted (so that the result of the attempt can be counted as it is returned)
+	 */
+	public boolean countTransaction(MarketTransaction transaction, boolean accepted){
+		if(enabled){
+			(accepted ? acceptedTransactions : rejectedTransactions).incrementAndGet(transaction.ordinal());
+		}
+		return accepted;
+	}
+
+	/**
+	 * Returns the histogram of the time spent in a phase of the game
+	 * @param phase The phase
+	 * @return The histogram (in nanoseconds)
+	 */
+	public LatencyHistogram getPhaseDurations(GamePhase phase){
+		return phaseDurations[phase.ordinal()];
+	}
+
+	/**
+	 * Returns the histogram of the time taken by the decisions made by AI players in a phase of the game
+	 * @param phase The phase
+	 * @return The histogram (in nanoseconds)
+	 */
+	public LatencyHistogram getAIDecisionLatencies(GamePhase phase){
+		return aiDecisionLatencies[phase.ordinal()];
+	}
+
+	/**
+	 * Returns the histogram of the time between frames
+	 * @return The histogram (in nanoseconds)
+	 */
+	public LatencyHistogram getFrameTimes(){
+		return frameTimes;
+	}
+
+	/**
+	 * Returns the number of transactions of a given kind that were made
+	 * @param transaction The kind of transaction
+	 * @return The number of transactions
+	 */
+	public long getAcceptedTransactions(MarketTransaction transaction){
+		return acceptedTransactions.get(transaction.ordinal());
+	}
+
+	/**
+	 * Returns the number of transactions of a given kind that were rejected
+	 * @param transaction The kind of transaction
+	 * @return The number of transactions
+	 */
+	public long getRejectedTransactions(MarketTransaction transaction){
+		return rejectedTransactions.get(transaction.ordinal());
+	}
+
+	/**
+	 * Forgets everything that has been recorded (does not change whether the registry is enabled)
+	 */
+	public void reset(){
+		for(int i = 0; i < PHASES.length; i++){
+			phaseDurations[i].reset();
+			aiDecisionLatencies[i].reset();
+		}
+		frameTimes.reset();
+		for(int i = 0; i < TRANSACTIONS.length; i++){
+			acceptedTransactions.set(i, 0);
+			rejectedTransactions.set(i, 0);
+		}
+	}
+
+	/**
+	 * Writes everything that has been recorded as CSV, a header row followed by one row per histogram and one per transaction count
+	 * <p>
+	 * Timings are in microseconds. The rows of the transaction counts only have a count (the timing columns are left empty).
+	 * </p>
+	 * @param writer Where the CSV is written to
+	 * @throws IOException If the CSV could not be written
+	 */
+	void writeCsv(Writer writer) throws IOException{
+		writer.write("metric,count,mean_us,p50_us,p90_us,p99_us,p999_us,max_us\n");
+		for(GamePhase phase : PHASES){
+			writeHistogramRow(writer, "phase."+phase, phaseDurations[phase.ordinal()]);
+		}
+		for(GamePhase phase : PHASES){
+			writeHistogramRow(writer, "ai."+phase, aiDecisionLatencies[phase.ordinal()]);
+		}
+		writeHistogramRow(writer, "frame", frameTimes);
+		for(MarketTransaction transaction : TRANSACTIONS){
+			writer.write("market."+transaction+".accepted,"+getAcceptedTransactions(transaction)+",,,,,,\n");
+			writer.write("market."+transaction+".rejected,"+getRejectedTransactions(transaction)+",,,,,,\n");
+		}
+	}
+
+	/**
+	 * Writes a row of the CSV for a histogram
+	 * @param writer Where the CSV is written to
+	 * @param metric The name of the histogram
+	 * @param histogram The histogram
+	 * @throws IOException If the row could not be written
+	 */
+	private void writeHistogramRow(Writer writer, String metric, LatencyHistogram histogram) throws IOException{
+		StringBuilder row = new StringBuilder();
+		row.append(metric).append(',').append(histogram.getCount());
+		row.append(',').append(String.format(Locale.ROOT, "%.1f", histogram.getMean()/1000.0));
+		for(double percentile : PERCENTILES){
+			row.append(',').append(String.format(Locale.ROOT, "%.1f", histogram.getPercentile(percentile)/1000.0));
+		}
+		row.append(',').append(String.format(Locale.ROOT, "%.1f", histogram.getMax()/1000.0));
+		writer.write(row.append('\n').toString());
+	}
+
+	/**
+	 * Writes everything that has been recorded to a CSV file (see {@link MetricsRegistry#writeCsv(Writer)}), replacing the file if it exists
+	 * @param file The file
+	 * @throws IOException If the file could not be written
+	 */
+	public void writeCsv(Path file) throws IOException{
+		try(BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)){
+			writeCsv(writer);
+		}
+	}
+}
@@ -0,0 +1,255 @@
+package com.topright.roboticon;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * A single threaded Monte Carlo tree search over the decisions that a {@link SearchStrategy} makes for the rest of a game
+ * <p>
+ * The tree only contains the searcher's own decisions, which alternate between choosing the specialism of the next plot to
+ * acquire and choosing what to sell in the next market phase. Everything else (the opponent, buying and placing roboticons
+ * and production) is played out by a {@link GameEngine} using {@link AIPlayer}s with a {@link RolloutStrategy}, so the tree is "open loop": a node is
+ * a sequence of decisions rather than a state of the game, and the value of a node is the mean result of the rollouts that
+ * went through it.
+ * </p>
+ * <p>
+ * Each iteration selects a path through the tree using UCT (trying every child of a node once before any are repeated),
+ * expands a single new node, plays the rest of the game from a fresh copy of the {@link SearchState} and then adds the result
+ * to every node on the path. A result is the searcher's share of the money held by both players at the end of the game.
+ * </p>
+ */
+final class MonteCarloTreeSearch {
+	static final int MARKET_ACTIONS = 9; // Keep none, half or all of the ore times the same for energy (see SearchStrategy#applyMarketAction)
+	static final int MAX_DEPTH = 6; // Decisions further ahead than this are made at random during the rollout
+	private static final double EXPLORATION = Math.sqrt(2);
+	private static final PlotSpecialism[] SPECIALISMS = PlotSpecialism.values();
+	
+	/**
+	 * A sequence of decisions made by the searcher
+	 */
+	private static final class Node {
+		private final int action; // The action taken to reach this node from its parent
+		private final boolean plotDecision; // true if the children of this node choose a plot, false if they choose a market action
+		private final int plotsRemaining; // The number of plots that the searcher still has to choose (including those chosen by the children)
+		private Node[] children = null; // Created when the node is first visited
+		private int visits = 0;
+		private double totalReward = 0;
+		
+		private Node(int action, boolean plotDecision, int plotsRemaining){
+			this.action = action;
+			this.plotDecision = plotDecision;
+			this.plotsRemaining = plotsRemaining;
+		}
+	}
+	
+	private final SearchState state;
+	private final GamePhase phase; // The phase that the search is for, PLOTACQUISITION or MARKET
+	private final GameRandom random;
+	private final Node root;
+	private final int[] plotActions; // Ordinals of the specialisms that can still be acquired
+	private final ArrayList<Node> path = new ArrayList<Node>(); // Reused by every iteration
+	private long rollouts = 0;
+	
+	/**
+	 * Constructor
+	 * @param state The state of the game when the decision is to be made
+	 * @param phase PLOTACQUISITION if the decision is which plot to acquire, MARKET if the decision is what to sell
+	 * @param plotsRemaining The number of plots that the searcher will acquire before the end of the game (including this one if choosing a plot)
+	 * @param random Used to make every random decision during the rollouts (should only be used by this search)
+	 */
+	MonteCarloTreeSearch(SearchState state, GamePhase phase, int plotsRemaining, GameRandom random){
+		if(phase != GamePhase.PLOTACQUISITION && phase != GamePhase.MARKET){
+			throw new IllegalArgumentException("Can only search for plot acquisition and market decisions not "+phase);
+		}
+		this.state = state;
+		this.phase = phase;
+		this.random = random;
+		this.root = new Node(-1, phase == GamePhase.PLOTACQUISITION, plotsRemaining);
+		
+		int numberOfPlotActions = 0;
+		int[] plotActions = new int[SPECIALISMS.length];
+		for(PlotSpecialism specialism : SPECIALISMS){
+			if(state.hasUnacquiredPlot(specialism)){
+				plotActions[numberOfPlotActions++] = specialism.ordinal();
+			}
+		}
+		this.plotActions = Arrays.copyOf(plotActions, numberOfPlotActions);
+	}
+	
+	/**
+	 * Carries out iterations until the given number have been done or the deadline has passed (whichever comes first)
+	 * @param iterations The maximum number of iterations
+	 * @param deadline When to stop (System.nanoTime)
+	 * @return This search
+	 */
+	MonteCarloTreeSearch run(int iterations, long deadline){
+		for(int iteration = 0; iteration < iterations && System.nanoTime() < deadline; iteration++){
+			iterate();
+		}
+		return this;
+	}
+	
+	/**
+	 * Selects a path through the tree, expands it by one node, plays out the rest of the game and records the result
+	 */
+	void iterate(){
+		path.clear();
+		int[] plotDecisions = new int[MAX_DEPTH];
+		int[] marketDecisions = new int[MAX_DEPTH];
+		int numberOfPlotDecisions = 0;
+		int numberOfMarketDecisions = 0;
+		
+		Node node = root;
+		path.add(node);
+		while(path.size() <= MAX_DEPTH){
+			if(node.children == null){
+				node.children = createChildren(node);
+			}
+			if(node.children.length == 0){
+				break; // The game ends after this sequence of decisions
+			}
+			Node child = selectChild(node);
+			if(node.plotDecision){
+				plotDecisions[numberOfPlotDecisions++] = child.action;
+			}
+			else{
+				marketDecisions[numberOfMarketDecisions++] = child.action;
+			}
+			path.add(child);
+			node = child;
+			if(child.visits == 0){
+				break; // Expanded a new node
+			}
+		}
+		
+		double reward = rollout(Arrays.copyOf(plotDecisions, numberOfPlotDecisions), Arrays.copyOf(marketDecisions, numberOfMarketDecisions));
+		for(Node visited : path){
+			visited.visits++;
+			visited.totalReward += reward;
+		}
+	}
+	
+	/**
+	 * Creates the children of a node
+	 * @param node The node
+	 * @return The children (empty if the game is over once the node's decisions have been made)
+	 */
+	private Node[] createChildren(Node node){
+		if(node.plotDecision){
+			if(node.plotsRemaining == 0){
+				return new Node[0];
+			}
+			Node[] children = new Node[plotActions.length];
+			for(int action = 0; action < plotActions.length; action++){
+				children[action] = new Node(plotActions[action], false, node.plotsRemaining - 1);
+			}
+			return children;
+		}
+		Node[] children = new Node[MARKET_ACTIONS];
+		for(int action = 0; action < MARKET_ACTIONS; action++){
+			children[action] = new Node(action, true, node.plotsRemaining);
+		}
+		return children;
+	}
+	
+	/**
+	 * Returns the child of a node that should be visited next, the first unvisited child or (once all have been visited) the one with the highest UCT value
+	 * @param node The node
+	 * @return The child to visit
+	 */
+	private static Node selectChild(Node node){
+		Node best = null;
+		double bestValue = Double.NEGATIVE_INFINITY;
+		double logVisits = Math.log(node.visits);
+		for(Node child : node.children){
+			if(child.visits == 0){
+				return child;
+			}
+			double value = child.totalReward/child.visits + EXPLORATION*Math.sqrt(logVisits/child.visits);
+			if(value > bestValue){
+				bestValue = value;
+				best = child;
+			}
+		}
+		return best;
+	}
+	
+	/**
+	 * Plays the rest of the game on a fresh copy of the state
+	 * @param plotDecisions The specialisms of the next plots that the searcher acquires
+	 * @param marketDecisions The searcher's actions in the next market phases
+	 * @return The searcher's share of the money held by both players at the end of the game (0.5 if neither has any)
+	 */
+	private double rollout(int[] plotDecisions, int[] marketDecisions){
+		rollouts++;
+		Market market = state.createMarket();
+		AIPlayer searcher = new AIPlayer(state.createInventory(SearchState.SEARCHER), market, new RolloutStrategy(random, plotDecisions, marketDecisions));
+		AIPlayer opponent = new AIPlayer(state.createInventory(SearchState.OPPONENT), market, new RolloutStrategy(random));
+		PlotGrid plotGrid = new HeadlessPlotManager(state.createPlots(searcher, opponent));
+		GameEngine gameEngine = state.searcherPlaysFirst() ? new GameEngine(plotGrid, searcher, opponent, null) : new GameEngine(plotGrid, opponent, searcher, null);
+		gameEngine.resume(phase, searcher, 1);
+		
+		int searcherScore = searcher.calculateScore();
+		int totalScore = searcherScore + opponent.calculateScore();
+		return (totalScore == 0) ? 0.5 : (double)searcherScore/totalScore;
+	}
+	
+	/**
+	 * Returns the number of rollouts that started with the given action
+	 * @param action The first action (the ordinal of a specialism for plot decisions)
+	 * @return The number of rollouts that started with the given action
+	 */
+	int getVisits(int action){
+		Node child = getRootChild(action);
+		return (child == null) ? 0 : child.visits;
+	}
+	
+	/**
+	 * Returns the total result of the rollouts that started with the given action
+	 * @param action The first action (the ordinal of a specialism for plot decisions)
+	 * @return The total result of the rollouts that started with the given action
+	 */
+	double getTotalReward(int action){
+		Node child = getRootChild(action);
+		return (child == null) ? 0 : child.totalReward;
+	}
+	
+	/**
+	 * Returns the child of the root that the given action leads to
+	 * @param action The action
+	 * @return The child or null if the action can't be taken (or the root hasn't been visited yet)
+	 */
+	private Node getRootChild(int action){
+		if(root.children != null){
+			for(Node child : root.children){
+				if(child.action == action){
+					return child;
+				}
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * Returns the actions that can be taken at the root of the tree
+	 * @return Ordinals of the specialisms that can be acquired if choosing a plot otherwise every market action
+	 */
+	int[] getRootActions(){
+		if(phase == GamePhase.PLOTACQUISITION){
+			return plotActions.clone();
+		}
+		int[] actions = new int[MARKET_ACTIONS];
+		for(int action = 0; action < MARKET_ACTIONS; action++){
+			actions[action] = action;
+		}
+		return actions;
+	}
+	
+	/**
+	 * Returns the number of rollouts that have been played
+	 * @return The number of rollouts that have been played
+	 */
+	long getRollouts(){
+		return rollouts;
+	}
+}
@@ -0,0 +1,564 @@
+package com.topright.roboticon;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * The compact binary protocol spoken between the game server and its clients (see {@link RemoteGameClient})
+ * <p>
+ * Every message is a frame: the length of the rest of the frame (an int), the type of the message (a byte) and then a few fixed size
+ * fields. Plot coordinates are shorts, quantities are ints and enums are sent as their ordinal (a byte), so most messages are between
+ * 5 and 17 bytes long. Only the message that starts a match (which holds the specialism of every plot) is any bigger.
+ * </p>
+ * <p>
+ * The methods that encode a message return a new buffer that holds the whole frame, ready to be written to a channel. Frames are
+ * decoded by {@link NetworkProtocol#dispatch(ByteBuffer, ClientMessageHandler)} (on the server) and
+ * {@link NetworkProtocol#dispatch(ByteBuffer, ServerMessageHandler)} (on a client), which throw an IllegalArgumentException if a
+ * frame is malformed.
+ * </p>
+ */
+final class NetworkProtocol {
+	static final short VERSION = 1; // Sent when joining, the server turns away clients that speak a different version
+	static final int DEFAULT_PORT = 7847;
+	static final int LENGTH_SIZE = 4; // The number of bytes used for the length at the start of every frame
+	static final int MAX_FRAME_LENGTH = 1 << 22; // Big enough for the specialisms of a 2000x2000 map
+	static final int ALL_PLAYERS = -1; // Sent as the player of stages that every player takes part in at the same time
+
+	// Sent by clients
+	static final byte JOIN = 1;
+	static final byte ACQUIRE_PLOT = 2;
+	static final byte BUY_ROBOTICONS = 3;
+	static final byte CUSTOMISE_ROBOTICON = 4;
+	static final byte PLACE_ROBOTICON = 5;
+	static final byte BUY_RESOURCE = 6;
+	static final byte SELL_RESOURCE = 7;
+	static final byte FINISHED = 8;
+
+	// Sent by the server
+	static final byte MATCH_STARTED = 64;
+	static final byte STAGE = 65;
+	static final byte PLOT_ACQUIRED = 66;
+	static final byte ROBOTICON_PLACED = 67;
+	static final byte INVENTORY = 68;
+	static final byte MARKET = 69;
+	static final byte REJECTED = 70;
+	static final byte GAME_OVER = 71;
+
+	private static final PlotSpecialism[] SPECIALISMS = PlotSpecialism.values();
+	private static final RoboticonCustomisation[] CUSTOMISATIONS = RoboticonCustomisation.values();
+	private static final GamePhase[] PHASES = GamePhase.values();
+	private static final GameEvents[] EVENTS = GameEvents.values();
+	private static final ClientMessageHandler IGNORED_CLIENT_MESSAGES = new ClientMessageHandler(){ // Used by checkClientMessage
+		@Override
+		public void join(int version){
+		}
+
+		@Override
+		public void acquirePlot(int row, int column){
+		}
+
+		@Override
+		public void buyRoboticons(int quantity){
+		}
+
+		@Override
+		public void customiseRoboticon(RoboticonCustomisation customisation){
+		}
+
+		@Override
+		public void placeRoboticon(int row, int column, RoboticonCustomisation customisation){
+		}
+
+		@Override
+		public void buyResource(PlotSpecialism resource, int quantity){
+		}
+
+		@Override
+		public void sellResource(PlotSpecialism resource, int quantity){
+		}
+
+		@Override
+		public void finished(GameEvents event){
+		}
+	};
+
+	/**
+	 * Not to be used, the protocol is only made up of static methods
+	 */
+	private NetworkProtocol(){
+	}
+
+	/**
+	 * Returns a new buffer with the length and type of a frame already written to it
+	 * @param type The type of the message
+	 * @param payloadLength The number of bytes that follow the type
+	 * @return The buffer that the rest of the message is to be written to
+	 */
+	private static ByteBuffer frame(byte type, int payloadLength){
+		ByteBuffer frame = ByteBuffer.allocate(LENGTH_SIZE + 1 + payloadLength);
+		frame.putInt(1 + payloadLength);
+		frame.put(type);
+		return frame;
+	}
+
+	/**
+	 * Returns a frame that only holds a type (and a single byte)
+	 * @param type The type of the message
+	 * @param value The byte that follows the type
+	 * @return The frame, ready to be written
+	 */
+	private static ByteBuffer byteFrame(byte type, int value){
+		ByteBuffer frame = frame(type, 1);
+		frame.put((byte)value);
+		frame.flip();
+		return frame;
+	}
+
+	/**
+	 * Returns a plot coordinate as a short, throwing an exception if it is too big to be sent
+	 * @param coordinate The row or column of a plot
+	 * @return The coordinate as a short
+	 */
+	private static short coordinate(int coordinate){
+		if(coordinate < 0 || coordinate > Short.MAX_VALUE){
+			throw new IllegalArgumentException("Plot coordinates must be between 0 and "+Short.MAX_VALUE+" coordinate = "+coordinate);
+		}
+		return (short)coordinate;
+	}
+
+	/**
+	 * Encodes the message sent by a client that wants to play in a match
+	 * @return The frame, ready to be written
+	 */
+	static ByteBuffer join(){
+		ByteBuffer frame = frame(JOIN, 2);
+		frame.putShort(VERSION);
+		frame.flip();
+		return frame;
+	}
+
+	/**
+	 * Encodes the message sent by a client whose player wants to acquire a plot
+	 * @param row The row of the plot
+	 * @param column The column of the plot
+	 * @return The frame, ready to be written
+	 */
+	static ByteBuffer acquirePlot(int row, int column){
+		ByteBuffer frame = frame(ACQUIRE_PLOT, 4);
+		frame.putShort(coordinate(row));
+		frame.putShort(coordinate(column));
+		frame.flip();
+		return frame;
+	}
+
+	/**
+	 * Encodes the message sent by a client whose player wants to buy roboticons
+	 * @param quantity The number of roboticons
+	 * @return The frame, ready to be written
+	 */
+	static ByteBuffer buyRoboticons(int quantity){
+		ByteBuffer frame = frame(BUY_ROBOTICONS, 4);
+		frame.putInt(quantity);
+		frame.flip();
+		return frame;
+	}
+
+	/**
+	 * Encodes the message sent by a client whose player wants to customise a roboticon
+	 * @param customisation The customisation
+	 * @return The frame, ready to be written
+	 */
+	static ByteBuffer customiseRoboticon(RoboticonCustomisation customisation){
+		return byteFrame(CUSTOMISE_ROBOTICON, customisation.ordinal());
+	}
+
+	/**
+	 * Encodes the message sent by a client whose player wants to place a roboticon on a plot
+	 * @param row The row of the plot
+	 * @param column The column of the plot
+	 * @param customisation The customisation of the roboticon
+	 * @return The frame, ready to be written
+	 */
+	static ByteBuffer placeRoboticon(int row, int column, RoboticonCustomisation customisation){
+		ByteBuffer frame = frame(PLACE_ROBOTICON, 5);
+		frame.putShort(coordinate(row));
+		frame.putShort(coordinate(column));
+		frame.put((byte)customisation.ordinal());
+		frame.flip();
+		return frame;
+	}
+
+	/**
+	 * Encodes the message sent by a client whose player wants to buy a resource from the market
+	 * @param resource The resource
+	 * @param quantity The quantity of the resource
+	 * @return The frame, ready to be written
+	 */
+	static ByteBuffer buyResource(PlotSpecialism resource, int quantity){
+		return resourceFrame(BUY_RESOURCE, resource, quantity);
+	}
+
+	/**
+	 * Encodes the message sent by a client whose player wants to sell a resource to the market
+	 * @param resource The resource
+	 * @param quantity The quantity of the resource
+	 * @return The frame, ready to be written
+	 */
+	static ByteBuffer sellResource(PlotSpecialism resource, int quantity){
+		return resourceFrame(SELL_RESOURCE, resource, quantity);
+	}
+
+	/**
+	 * Helper function used by {@link NetworkProtocol#buyResource(PlotSpecialism, int)} and {@link NetworkProtocol#sellResource(PlotSpecialism, int)}
+	 * @param type The type of the message
+	 * @param resource The resource
+	 * @param quantity The quantity of the resource
+	 * @return The frame, ready to be written
+	 */
+	private static ByteBuffer resourceFrame(byte type, PlotSpecialism resource, int quantity){
+		ByteBuffer frame = frame(type, 5);
+		frame.put((byte)resource.ordinal());
+		frame.putInt(quantity);
+		frame.flip();
+		return frame;
+	}
+
+	/**
+	 * Encodes the message sent by a client whose player has finished a stage of the game
+	 * @param event The event that ends the stage
+	 * @return The frame, ready to be written
+	 */
+	static ByteBuffer finished(GameEvents event){
+		return byteFrame(FINISHED, event.ordinal());
+	}
+
+	/**
+	 * Encodes the message that tells a client that its match has started
+	 * @param playerNumber The number of the client's player (their position in the order that the players take their turns)
+	 * @param numberOfPlayers The number of players in the match
+	 * @param plots The plots that the match is played on
+	 * @return The frame, ready to be written
+	 */
+	static ByteBuffer matchStarted(int playerNumber, int numberOfPlayers, Plot[][] plots){
+		int rows = plots.length;
+		int columns = plots[0].length;
+		if(rows * (long)columns > MAX_FRAME_LENGTH - 7){
+			throw new IllegalArgumentException("The map is too big to be sent rows = "+rows+" columns = "+columns);
+		}
+		ByteBuffer frame = frame(MATCH_STARTED, 6 + rows*columns);
+		frame.put((byte)playerNumber);
+		frame.put((byte)numberOfPlayers);
+		frame.putShort(coordinate(rows));
+		frame.putShort(coordinate(columns));
+		for(Plot[] row : plots){
+			for(Plot plot : row){
+				frame.put((byte)plot.getSpecialism().ordinal());
+			}
+		}
+		frame.flip();
+		return frame;
+	}
+
+	/**
+	 * Encodes the message that tells clients which stage the match is in
+	 * @param phase The phase of the game
+	 * @param playerNumber The number of the player who must act ({@link NetworkProtocol#ALL_PLAYERS} if every player may act)
+	 * @param roundNumber The round that the match is in
+	 * @return The frame, ready to be written
+	 */
+	static ByteBuffer stage(GamePhase phase, int playerNumber, int roundNumber){
+		ByteBuffer frame = frame(STAGE, 6);
+		frame.put((byte)phase.ordinal());
+		frame.put((byte)playerNumber);
+		frame.putInt(roundNumber);
+		frame.flip();
+		return frame;
+	}
+
+	/**
+	 * Encodes the message that tells clients that a plot has been acquired
+	 * @param playerNumber The number of the player who acquired the plot
+	 * @param row The row of the plot
+	 * @param column The column of the plot
+	 * @return The frame, ready to be written
+	 */
+	static ByteBuffer plotAcquired(int playerNumber, int row, int column){
+		ByteBuffer frame = frame(PLOT_ACQUIRED, 5);
+		frame.put((byte)playerNumber);
+		frame.putShort(coordinate(row));
+		frame.putShort(coordinate(column));
+		frame.flip();
+		return frame;
+	}
+
+	/**
+	 * Encodes the message that tells clients that a roboticon has been placed on a plot
+	 * @param playerNumber The number of the player who placed the roboticon
+	 * @param row The row of the plot
+	 * @param column The column of the plot
+	 * @param customisation The customisation of the roboticon
+	 * @return The frame, ready to be written
+	 */
+	static ByteBuffer roboticonPlaced(int playerNumber, int row, int column, RoboticonCustomisation customisation){
+		ByteBuffer frame = frame(ROBOTICON_PLACED, 6);
+		frame.put((byte)playerNumber);
+		frame.putShort(coordinate(row));
+		frame.putShort(coordinate(column));
+		frame.put((byte)customisation.ordinal());
+		frame.flip();
+		return frame;
+	}
+
+	/**
+	 * Encodes the message that tells clients what a player owns
+	 * @param playerNumber The number of the player
+	 * @param player The player
+	 * @return The frame, ready to be written
+	 */
+	static ByteBuffer inventory(int playerNumber, Player player){
+		ByteBuffer frame = frame(INVENTORY, 13 + 4*CUSTOMISATIONS.length);
+		frame.put((byte)playerNumber);
+		frame.putInt(player.getOreQuantity());
+		frame.putInt(player.getEnergyQuantity());
+		frame.putInt(player.getMoneyQuantity());
+		for(RoboticonCustomisation customisation : CUSTOMISATIONS){
+			frame.putInt(player.getRoboticonQuantity(customisation));
+		}
+		frame.flip();
+		return frame;
+	}
+
+	/**
+	 * Encodes the message that tells clients what the market has in stock
+	 * @param market The market
+	 * @return The frame, ready to be written
+	 */
+	static ByteBuffer market(Market market){
+		ByteBuffer frame = frame(MARKET, 12);
+		frame.putInt(market.getOreQuantity());
+		frame.putInt(market.getEnergyQuantity());
+		frame.putInt(market.getRoboticonQuantity());
+		frame.flip();
+		return frame;
+	}
+
+	/**
+	 * Encodes the message that tells a client that the server did not carry out a message that it sent
+	 * @param messageType The type of the message that was not carried out
+	 * @return The frame, ready to be written
+	 */
+	static ByteBuffer rejected(byte messageType){
+		return byteFrame(REJECTED, messageType);
+	}
+
+	/**
+	 * Encodes the message that tells clients that the match is over
+	 * @param scores The score of every player (in player number order)
+	 * @return The frame, ready to be written
+	 */
+	static ByteBuffer gameOver(int[] scores){
+		ByteBuffer frame = frame(GAME_OVER, 1 + 4*scores.length);
+		frame.put((byte)scores.length);
+		for(int score : scores){
+			frame.putInt(score);
+		}
+		frame.flip();
+		return frame;
+	}
+
+	/**
+	 * Returns the next whole frame in a buffer (without its length) and moves the position of the buffer past it
+	 * <p>
+	 * The returned buffer shares its content with the given buffer, so it must be dealt with before the given buffer is reused.
+	 * </p>
+	 * @param input A buffer (ready to be read from) that holds the bytes received so far
+	 * @return The type and payload of the next frame, or null if the whole of the next frame has not been received yet
+	 */
+	static ByteBuffer readFrame(ByteBuffer input){
+		int frameLength = getFrameLength(input);
+		if(frameLength < 0 || input.remaining() < LENGTH_SIZE + frameLength){
+			return null;
+		}
+		ByteBuffer frame = input.duplicate();
+		frame.position(input.position() + LENGTH_SIZE);
+		frame.limit(input.position() + LENGTH_SIZE + frameLength);
+		input.position(frame.limit());
+		return frame.slice();
+	}
+
+	/**
+	 * Returns the length of the next frame in a buffer (not counting the length itself)
+	 * @param input A buffer (ready to be read from) that holds the bytes received so far
+	 * @return The length of the next frame or -1 if its length has not been received yet
+	 */
+	static int getFrameLength(ByteBuffer input){
+		if(input.remaining() < LENGTH_SIZE){
+			return -1;
+		}
+		int frameLength = input.getInt(input.position());
+		if(frameLength < 1 || frameLength > MAX_FRAME_LENGTH){
+			throw new IllegalArgumentException("Invalid frame length "+frameLength);
+		}
+		return frameLength;
+	}
+
+	/**
+	 * Decodes a frame sent by a client and passes it on to a handler
+	 * @param frame The type and payload of the frame (as returned by {@link NetworkProtocol#readFrame(ByteBuffer)})
+	 * @param handler Told about the message
+	 */
+	static void dispatch(ByteBuffer frame, ClientMessageHandler handler){
+		try{
+			dispatchClientMessage(frame, handler);
+		}
+		catch(BufferUnderflowException e){
+			throw new IllegalArgumentException("A client message of "+frame.limit()+" bytes is too short", e);
+		}
+	}
+
+	/**
+	 * Throws an IllegalArgumentException if a frame sent by a client is not a valid message, without decoding it for a handler
+	 * <p>
+	 * Used by a server that passes messages on to be carried out later (on another thread), so that clients that send invalid messages
+	 * can still be turned away straight away. The position of the frame is not changed.
+	 * </p>
+	 * @param frame The type and payload of the frame (as returned by {@link NetworkProtocol#readFrame(ByteBuffer)})
+	 */
+	static void checkClientMessage(ByteBuffer frame){
+		dispatch(frame.duplicate(), IGNORED_CLIENT_MESSAGES);
+	}
+
+	/**
+	 * Helper function used by {@link NetworkProtocol#dispatch(ByteBuffer, ClientMessageHandler)}
+	 * @param frame The type and payload of the frame
+	 * @param handler Told about the message
+	 */
+	private static void dispatchClientMessage(ByteBuffer frame, ClientMessageHandler handler){
+		byte type = frame.get();
+		switch(type){
+		case JOIN:
+			handler.join(frame.getShort());
+			break;
+		case ACQUIRE_PLOT:
+			handler.acquirePlot(frame.getShort(), frame.getShort());
+			break;
+		case BUY_ROBOTICONS:
+			handler.buyRoboticons(frame.getInt());
+			break;
+		case CUSTOMISE_ROBOTICON:
+			handler.customiseRoboticon(getEnum(CUSTOMISATIONS, frame.get()));
+			break;
+		case PLACE_ROBOTICON:
+			handler.placeRoboticon(frame.getShort(), frame.getShort(), getEnum(CUSTOMISATIONS, frame.get()));
+			break;
+		case BUY_RESOURCE:
+			handler.buyResource(getEnum(SPECIALISMS, frame.get()), frame.getInt());
+			break;
+		case SELL_RESOURCE:
+			handler.sellResource(getEnum(SPECIALISMS, frame.get()), frame.getInt());
+			break;
+		case FINISHED:
+			handler.finished(getEnum(EVENTS, frame.get()));
+			break;
+		default:
+			throw new IllegalArgumentException("Unknown client message type "+type);
+		}
+		checkFullyRead(frame, type);
+	}
+
+	/**
+	 * Decodes a frame sent by the server and passes it on to a handler
+	 * @param frame The type and payload of the frame (as returned by {@link NetworkProtocol#readFrame(ByteBuffer)})
+	 * @param handler Told about the message
+	 */
+	static void dispatch(ByteBuffer frame, ServerMessageHandler handler){
+		try{
+			dispatchServerMessage(frame, handler);
+		}
+		catch(BufferUnderflowException e){
+			throw new IllegalArgumentException("A server message of "+frame.limit()+" bytes is too short", e);
+		}
+	}
+
+	/**
+	 * Helper function used by {@link NetworkProtocol#dispatch(ByteBuffer, ServerMessageHandler)}
+	 * @param frame The type and payload of the frame
+	 * @param handler Told about the message
+	 */
+	private static void dispatchServerMessage(ByteBuffer frame, ServerMessageHandler handler){
+		byte type = frame.get();
+		switch(type){
+		case MATCH_STARTED:
+			int playerNumber = frame.get();
+			int numberOfPlayers = frame.get();
+			PlotSpecialism[][] specialisms = new PlotSpecialism[frame.getShort()][frame.getShort()];
+			for(PlotSpecialism[] row : specialisms){
+				for(int column = 0; column < row.length; column++){
+					row[column] = getEnum(SPECIALISMS, frame.get());
+				}
+			}
+			handler.matchStarted(playerNumber, numberOfPlayers, specialisms);
+			break;
+		case STAGE:
+			handler.stage(getEnum(PHASES, frame.get()), frame.get(), frame.getInt());
+			break;
+		case PLOT_ACQUIRED:
+			handler.plotAcquired(frame.get(), frame.getShort(), frame.getShort());
+			break;
+		case ROBOTICON_PLACED:
+			handler.roboticonPlaced(frame.get(), frame.getShort(), frame.getShort(), getEnum(CUSTOMISATIONS, frame.get()));
+			break;
+		case INVENTORY:
+			int inventoryPlayerNumber = frame.get();
+			int ore = frame.getInt();
+			int energy = frame.getInt();
+			int money = frame.getInt();
+			int[] roboticons = new int[CUSTOMISATIONS.length];
+			for(int customisation = 0; customisation < roboticons.length; customisation++){
+				roboticons[customisation] = frame.getInt();
+			}
+			handler.inventory(inventoryPlayerNumber, ore, energy, money, roboticons);
+			break;
+		case MARKET:
+			handler.market(frame.getInt(), frame.getInt(), frame.getInt());
+			break;
+		case REJECTED:
+			handler.rejected(frame.get());
+			break;
+		case GAME_OVER:
+			int[] scores = new int[frame.get()];
+			for(int player = 0; player < scores.length; player++){
+				scores[player] = frame.getInt();
+			}
+			handler.gameOver(scores);
+			break;
+		default:
+			throw new IllegalArgumentException("Unknown server message type "+type);
+		}
+		checkFullyRead(frame, type);
+	}
+
+	/**
+	 * Returns the enum constant with the given ordinal
+	 * @param values Every constant of the enum
+	 * @param ordinal The ordinal that was received
+	 * @return The constant
+	 */
+	private static <T extends Enum<T>> T getEnum(T[] values, byte ordinal){
+		if(ordinal < 0 || ordinal >= values.length){
+			throw new IllegalArgumentException("Invalid ordinal "+ordinal+" for "+values[0].getDeclaringClass().getSimpleName());
+		}
+		return values[ordinal];
+	}
+
+	/**
+	 * Throws an exception if a frame was longer than its message
+	 * @param frame The frame that has been decoded
+	 * @param type The type of the message
+	 */
+	private static void checkFullyRead(ByteBuffer frame, byte type){
+		if(frame.hasRemaining()){
+			throw new IllegalArgumentException(frame.remaining()+" unexpected bytes at the end of message type "+type);
+		}
+	}
+}
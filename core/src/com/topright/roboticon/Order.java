@@ -0,0 +1,130 @@
+package com.topright.roboticon;
+
+/**
+ * A limit order, placed by a player in an {@link OrderBook}, to buy or sell a quantity of a resource at a given price per unit or better
+ * <p>
+ * An order rests in the book until it has been filled (possibly by several trades) or cancelled. Orders are only ever changed
+ * by the book that they were placed in.
+ * </p>
+ */
+public class Order {
+	private final long sequenceNumber; // Orders placed earlier have lower numbers (used to give them priority at the same price)
+	private final Player owner;
+	private final PlotSpecialism resource;
+	private final OrderSide side;
+	private final int limitPrice;
+	private final int quantity;
+	private volatile int remainingQuantity;
+	private volatile boolean cancelled = false;
+	
+	/**
+	 * Constructor
+	 * @param sequenceNumber The position of the order in the sequence of orders placed in the book
+	 * @param owner The player who placed the order
+	 * @param resource The resource to be bought or sold
+	 * @param side Whether the order is to buy or to sell
+	 * @param quantity The quantity to be bought or sold
+	 * @param limitPrice The highest price per unit that will be paid (buy) or the lowest that will be accepted (sell)
+	 */
+	Order(long sequenceNumber, Player owner, PlotSpecialism resource, OrderSide side, int quantity, int limitPrice){
+		this.sequenceNumber = sequenceNumber;
+		this.owner = owner;
+		this.resource = resource;
+		this.side = side;
+		this.quantity = quantity;
+		this.remainingQuantity = quantity;
+		this.limitPrice = limitPrice;
+	}
+	
+	/**
+	 * Returns the position of the order in the sequence of orders placed in its book (earlier orders have lower numbers)
+	 * @return The sequence number of the order
+	 */
+	long getSequenceNumber(){
+		return sequenceNumber;
+	}
+	
+	/**
+	 * Returns the player who placed the order
+	 * @return The player who placed the order
+	 */
+	public Player getOwner(){
+		return owner;
+	}
+	
+	/**
+	 * Returns the resource that is to be bought or sold
+	 * @return The resource that is to be bought or sold
+	 */
+	public PlotSpecialism getResource(){
+		return resource;
+	}
+	
+	/**
+	 * Returns whether the order is to buy or to sell
+	 * @return Whether the order is to buy or to sell
+	 */
+	public OrderSide getSide(){
+		return side;
+	}
+	
+	/**
+	 * Returns the highest price per unit that will be paid (buy) or the lowest that will be accepted (sell)
+	 * @return The limit price of the order
+	 */
+	public int getLimitPrice(){
+		return limitPrice;
+	}
+	
+	/**
+	 * Returns the quantity that was to be bought or sold when the order was placed
+	 * @return The quantity of the order
+	 */
+	public int getQuantity(){
+		return quantity;
+	}
+	
+	/**
+	 * Returns the quantity that has yet to be bought or sold
+	 * @return The remaining quantity of the order
+	 */
+	public int getRemainingQuantity(){
+		return remainingQuantity;
+	}
+	
+	/**
+	 * Returns whether or not the order has been cancelled (either by the player or by the book)
+	 * @return true if the order has been cancelled and false if not
+	 */
+	public boolean isCancelled(){
+		return cancelled;
+	}
+	
+	/**
+	 * Returns whether or not the order is still resting in the book (it has not been filled or cancelled)
+	 * @return true if the order can still be traded and false if not
+	 */
+	public boolean isActive(){
+		return !cancelled && remainingQuantity > 0;
+	}
+	
+	/**
+	 * Records that part of the order has been traded
+	 * @param tradedQuantity The quantity that has been traded
+	 */
+	void fill(int tradedQuantity){
+		remainingQuantity -= tradedQuantity;
+	}
+	
+	/**
+	 * Cancels the order (nothing more will be traded)
+	 */
+	void cancel(){
+		cancelled = true;
+	}
+	
+	@Override
+	public String toString(){
+		return side+" "+remainingQuantity+"/"+quantity+" "+resource+" at "+limitPrice;
+	}
+}
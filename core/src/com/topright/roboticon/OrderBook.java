@@ -0,0 +1,314 @@
+package com.topright.roboticon;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A limit order book for a single resource (ore or energy) that players use to trade with each other during the market phase
+ * <p>
+ * Orders are matched with price-time priority: the highest buy order is matched with the lowest sell order and orders at the same
+ * price are matched in the order that they were placed. When two orders match they trade at the price of the one that was placed
+ * first. Orders are not matched as they are placed, they are matched in a batch by {@link #matchOrders()} (at the end of the market
+ * phase or whenever someone wants them matched).
+ * </p>
+ * <p>
+ * Each side of the book is a sorted map from price to a queue of the orders at that price, so placing an order and finding the best
+ * price take O(log number of prices) whatever the number of resting orders. Cancelled orders are left where they are and skipped
+ * when they reach the front of their queue, so cancelling is O(1).
+ * </p>
+ * <p>
+ * Nothing is taken from a player when they place an order. Each trade is a transaction (like those in {@link Market}): the money is
+ * taken from the buyer and the resource from the seller. If either of them no longer has enough for the whole trade, only as much
+ * as they can pay for (or deliver) is traded, and their order is only cancelled when they can not pay for (or deliver) anything at
+ * all. The book is safe to use from several threads at once (every method that uses it is synchronized).
+ * </p>
+ */
+public class OrderBook {
+	static final int NO_PRICE = -1; // Returned as the best price when there are no orders on that side of the book
+	
+	private final PlotSpecialism resource;
+	private final TreeMap<Integer, ArrayDeque<Order>> buyOrders = new TreeMap<Integer, ArrayDeque<Order>>(Collections.<Integer>reverseOrder()); // Highest price first
+	private final TreeMap<Integer, ArrayDeque<Order>> sellOrders = new TreeMap<Integer, ArrayDeque<Order>>(); // Lowest price first
+	private long nextSequenceNumber = 0;
+	private int restingOrders = 0;
+	private int lastTradePrice = NO_PRICE;
+	private long quantityTraded = 0;
+	private GameEventLog eventLog = null; // Records every trade (if the game is being logged)
+	
+	/**
+	 * Constructor
+	 * @param resource The resource that is traded using the book
+	 */
+	public OrderBook(PlotSpecialism resource){
+		if(resource == null){
+			throw new IllegalArgumentException("resource must not be null");
+		}
+		this.resource = resource;
+	}
+	
+	/**
+	 * Returns the resource that is traded using the book
+	 * @return The resource that is traded using the book
+	 */
+	public PlotSpecialism getResource(){
+		return resource;
+	}
+	
+	/**
+	 * Sets the log that every trade is recorded in
+	 * @param eventLog The log (null to stop logging)
+	 */
+	synchronized void setEventLog(GameEventLog eventLog){
+		this.eventLog = eventLog;
+	}
+	
+	/**
+	 * Places an order in the book (it will rest there until it is matched or cancelled)
+	 * @param owner The player placing the order
+	 * @param side Whether the order is to buy or to sell
+	 * @param quantity The quantity to buy or sell (must be > 0)
+	 * @param limitPrice The highest price per unit that will be paid (buy) or the lowest that will be accepted (sell), must be > 0
+	 * @return The order that was placed
+	 */
+	public synchronized Order placeOrder(Player owner, OrderSide side, int quantity, int limitPrice){
+		if(owner == null || side == null){
+			throw new IllegalArgumentException("owner and side must not be null");
+		}
+		if(quantity <= 0 || limitPrice <= 0){
+			throw new IllegalArgumentException("quantity and limitPrice must be > 0 quantity = "+quantity+" limitPrice = "+limitPrice);
+		}
+		if((long)quantity * limitPrice > Integer.MAX_VALUE){
+			throw new IllegalArgumentException("The total value of the order is too large quantity = "+quantity+" limitPrice = "+limitPrice);
+		}
+		
+		Order order = new Order(nextSequenceNumber++, owner, resource, side, quantity, limitPrice);
+		TreeMap<Integer, ArrayDeque<Order>> orders = (side == OrderSide.BUY) ? buyOrders : sellOrders;
+		ArrayDeque<Order> ordersAtPrice = orders.get(limitPrice);
+		if(ordersAtPrice == null){
+			ordersAtPrice = new ArrayDeque<Order>();
+			orders.put(limitPrice, ordersAtPrice);
+		}
+		ordersAtPrice.addLast(order);
+		restingOrders++;
+		return order;
+	}
+	
+	/**
+	 * Cancels an order that was placed in this book
+	 * @param order The order to cancel
+	 * @return true if the order was cancelled and false if it had already been filled or cancelled
+	 */
+	public synchronized boolean cancelOrder(Order order){
+		if(order.getResource() != resource){
+			throw new IllegalArgumentException("The order was not placed in this book ("+order+")");
+		}
+		if(!order.isActive()){
+			return false;
+		}
+		order.cancel();
+		restingOrders--;
+		return true;
+	}
+	
+	/**
+	 * Cancels every order in the book (used at the end of the market phase, orders do not last from one round to the next)
+	 */
+	public synchronized void cancelAllOrders(){
+		cancelAll(buyOrders);
+		cancelAll(sellOrders);
+		restingOrders = 0;
+	}
+	
+	/**
+	 * Cancels every order on one side of the book and removes them
+	 * @param orders One side of the book
+	 */
+	private void cancelAll(TreeMap<Integer, ArrayDeque<Order>> orders){
+		for(ArrayDeque<Order> ordersAtPrice : orders.values()){
+			for(Order order : ordersAtPrice){
+				order.cancel();
+			}
+		}
+		orders.clear();
+	}
+	
+	/**
+	 * Returns the first order (by price then time) that can still be traded on one side of the book, cancelled and filled orders
+	 * that are in front of it are removed
+	 * @param orders One side of the book
+	 * @return The best order or null if there are none
+	 */
+	private Order getBestOrder(TreeMap<Integer, ArrayDeque<Order>> orders){
+		while(!orders.isEmpty()){
+			Map.Entry<Integer, ArrayDeque<Order>> bestPrice = orders.firstEntry();
+			ArrayDeque<Order> ordersAtPrice = bestPrice.getValue();
+			while(!ordersAtPrice.isEmpty()){
+				if(ordersAtPrice.peekFirst().isActive()){
+					return ordersAtPrice.peekFirst();
+				}
+				ordersAtPrice.pollFirst();
+			}
+			orders.remove(bestPrice.getKey());
+		}
+		return null;
+	}
+	
+	/**
+	 * Returns the highest price that a player is offering to buy at
+	 * @return The best buy price or {@value #NO_PRICE} if there are no buy orders
+	 */
+	public synchronized int getBestBuyPrice(){
+		Order best = getBestOrder(buyOrders);
+		return (best == null) ? NO_PRICE : best.getLimitPrice();
+	}
+	
+	/**
+	 * Returns the lowest price that a player is offering to sell at
+	 * @return The best sell price or {@value #NO_PRICE} if there are no sell orders
+	 */
+	public synchronized int getBestSellPrice(){
+		Order best = getBestOrder(sellOrders);
+		return (best == null) ? NO_PRICE : best.getLimitPrice();
+	}
+	
+	/**
+	 * Returns the total quantity that players are offering to buy at prices above a given price
+	 * @param price The price
+	 * @return The remaining quantity of every buy order with a limit price above the given price
+	 */
+	public synchronized int getBuyQuantityAbove(int price){
+		int quantity = 0;
+		for(ArrayDeque<Order> ordersAtPrice : buyOrders.headMap(price, false).values()){ // Highest price first, so the head is above
+			for(Order order : ordersAtPrice){
+				if(order.isActive()){
+					quantity += order.getRemainingQuantity();
+				}
+			}
+		}
+		return quantity;
+	}
+	
+	/**
+	 * Returns the number of orders that are resting in the book (not filled or cancelled)
+	 * @return The number of resting orders
+	 */
+	public synchronized int getRestingOrderCount(){
+		return restingOrders;
+	}
+	
+	/**
+	 * Returns the price of the most recent trade
+	 * @return The price per unit of the most recent trade or {@value #NO_PRICE} if nothing has been traded
+	 */
+	public synchronized int getLastTradePrice(){
+		return lastTradePrice;
+	}
+	
+	/**
+	 * Returns the total quantity that has been traded using the book
+	 * @return The total quantity traded
+	 */
+	public synchronized long getQuantityTraded(){
+		return quantityTraded;
+	}
+	
+	/**
+	 * Matches every buy order with every sell order that it can be traded with (price-time priority)
+	 * <p>
+	 * Each trade is at the price of whichever of the two orders was placed first. A player's orders are never matched with each
+	 * other (the one placed later is cancelled).
+	 * </p>
+	 * @return The quantity that was traded
+	 */
+	public synchronized int matchOrders(){
+		int tradedThisBatch = 0;
+		while(true){
+			Order buyOrder = getBestOrder(buyOrders);
+			Order sellOrder = getBestOrder(sellOrders);
+			if(buyOrder == null || sellOrder == null || buyOrder.getLimitPrice() < sellOrder.getLimitPrice()){
+				return tradedThisBatch;
+			}
+			
+			boolean buyOrderFirst = buyOrder.getSequenceNumber() < sellOrder.getSequenceNumber();
+			if(buyOrder.getOwner() == sellOrder.getOwner()){ // A player can't trade with themselves
+				cancelOrder(buyOrderFirst ? sellOrder : buyOrder);
+				continue;
+			}
+			
+			int price = buyOrderFirst ? buyOrder.getLimitPrice() : sellOrder.getLimitPrice();
+			int quantity = trade(buyOrder, sellOrder, Math.min(buyOrder.getRemainingQuantity(), sellOrder.getRemainingQuantity()), price);
+			if(quantity > 0){
+				fill(buyOrder, quantity);
+				fill(sellOrder, quantity);
+				tradedThisBatch += quantity;
+				quantityTraded += quantity;
+				lastTradePrice = price;
+			}
+		}
+	}
+	
+	/**
+	 * Records that part of an order has been traded
+	 * @param order The order
+	 * @param tradedQuantity The quantity that has been traded
+	 */
+	private void fill(Order order, int tradedQuantity){
+		order.fill(tradedQuantity);
+		if(order.getRemainingQuantity() == 0){
+			restingOrders--;
+		}
+	}
+	
+	/**
+	 * Moves the money and resource between the two players as a single transaction
+	 * <p>
+	 * If the buyer can not pay for the whole quantity, only as much as they can pay for is traded (and the same for a seller that no
+	 * longer has the whole quantity). The order of a player who can not pay for (or deliver) a single unit is cancelled.
+	 * </p>
+	 * @param buyOrder The buy order
+	 * @param sellOrder The sell order
+	 * @param quantity The most that can be traded
+	 * @param price The price per unit
+	 * @return The quantity that was traded (0 if nothing was)
+	 */
+	private int trade(Order buyOrder, Order sellOrder, int quantity, int price){
+		PlayerInventory buyer = buyOrder.getOwner().inventory;
+		PlayerInventory seller = sellOrder.getOwner().inventory;
+		
+		int bought;
+		do{ // Retried if the buyer's money changes between reading it and taking it
+			bought = Math.min(quantity, buyer.getMoneyQuantity() / price);
+			if(bought <= 0){ // The buyer can no longer pay for anything
+				cancelOrder(buyOrder);
+				return 0;
+			}
+		}while(!buyer.tryDecreaseMoneyQuantity(bought * price));
+		
+		int delivered;
+		do{
+			delivered = Math.min(bought, (resource == PlotSpecialism.ORE) ? seller.getOreQuantity() : seller.getEnergyQuantity());
+			if(delivered <= 0){ // The seller no longer has anything to deliver, roll back
+				buyer.increaseMoneyQuantity(bought * price);
+				cancelOrder(sellOrder);
+				return 0;
+			}
+		}while(!((resource == PlotSpecialism.ORE) ? seller.tryDecreaseOreQuantity(delivered) : seller.tryDecreaseEnergyQuantity(delivered)));
+		if(delivered < bought){ // Give back the money for what the seller could not deliver
+			buyer.increaseMoneyQuantity((bought - delivered) * price);
+		}
+		
+		if(resource == PlotSpecialism.ORE){
+			buyer.increaseOreQuantity(delivered);
+		}
+		else{
+			buyer.increaseEnergyQuantity(delivered);
+		}
+		seller.increaseMoneyQuantity(delivered * price);
+		if(eventLog != null){
+			eventLog.orderTrade(buyOrder.getOwner(), sellOrder.getOwner(), resource, delivered, price);
+		}
+		return delivered;
+	}
+}
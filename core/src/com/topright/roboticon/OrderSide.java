@@ -0,0 +1,15 @@
+package com.topright.roboticon;
+/**
+ * An enumerated type used to denote whether an {@link Order} is to buy or to sell a resource
+ */
+enum OrderSide {BUY("buy"), SELL("sell");
+	private final String name; // A string denoting the name of the side (used when throwing exceptions)
+	
+	private OrderSide(String s) {
+		name = s;
+	}
+	
+	public String toString(){
+		return this.name;
+	}	
+}
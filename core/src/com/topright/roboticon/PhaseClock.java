@@ -0,0 +1,116 @@
+package com.topright.roboticon;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Timer;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/**
+ * Runs the tasks that keep to the time limits of the stages of the game (e.g. the countdown in the {@link MenuBar}) on a single
+ * {@link TimingWheel}
+ * <p>
+ * However many countdowns are running, the clock only has one LibGDX Timer task, which advances the wheel every
+ * {@link PhaseClock#TICK_MILLIS} milliseconds while there is anything waiting to be run (and is cancelled once there isn't). Scheduling
+ * and cancelling are O(1). Every method holds the clock's lock, as do the tasks while they run, so once a task has been cancelled it is
+ * guaranteed not to run (even if it was due at the same moment).
+ * </p>
+ */
+public class PhaseClock {
+	static final long TICK_MILLIS = 50;
+
+	private static PhaseClock phaseClock = new PhaseClock();
+
+	private final TimingWheel wheel = new TimingWheel(TICK_MILLIS, TimeUtils.millis());
+	private Timer.Task tickTask = null; // null while the clock is not ticking
+	private Application tickingApplication = null; // The application that the Timer task belongs to (it never runs once that has exited)
+
+	/**
+	 * Constructor
+	 * <p>
+	 * Private as this is a singleton class so there should exist exactly one instance of the class.
+	 * </p>
+	 */
+	private PhaseClock(){}
+
+	/**
+	 * Get the instance of this class (it is a singleton class)
+	 * @return The only instance of this class
+	 */
+	public static PhaseClock getInstance(){
+		return phaseClock;
+	}
+
+	/**
+	 * Returns the current time, as measured by the clock
+	 * @return The time (in milliseconds)
+	 */
+	public long getTime(){
+		return TimeUtils.millis();
+	}
+
+	/**
+	 * Schedules a task to run once a given amount of time has passed
+	 * @param task The task
+	 * @param delayMillis The time to wait (in milliseconds)
+	 * @return The timeout, which can be passed to {@link PhaseClock#cancel(TimingWheel.Timeout)}
+	 */
+	public synchronized TimingWheel.Timeout schedule(Runnable task, long delayMillis){
+		if(delayMillis < 0){
+			throw new IllegalArgumentException("delayMillis must be >= 0 delayMillis = "+delayMillis);
+		}
+		TimingWheel.Timeout timeout = wheel.scheduleAt(task, getTime() + delayMillis);
+		if(tickTask == null || tickingApplication != Gdx.app){
+			startTicking();
+		}
+		return timeout;
+	}
+
+	/**
+	 * Schedules the LibGDX Timer task that advances the wheel
+	 * <p>
+	 * A new task is created every time, as a task belongs to the LibGDX application that was running when it was created.
+	 * </p>
+	 */
+	private void startTicking(){
+		if(tickTask != null){
+			tickTask.cancel();
+		}
+		tickTask = new Timer.Task(){
+			@Override
+			public void run(){
+				tick();
+			}
+		};
+		float tickSeconds = TICK_MILLIS / 1000f;
+		Timer.schedule(tickTask, tickSeconds, tickSeconds);
+		tickingApplication = Gdx.app;
+	}
+
+	/**
+	 * Stops a task from being run
+	 * @param timeout The timeout returned when the task was scheduled
+	 * @return true if the task had not already been run or cancelled
+	 */
+	public synchronized boolean cancel(TimingWheel.Timeout timeout){
+		return timeout.cancel();
+	}
+
+	/**
+	 * Returns the number of tasks waiting to be run
+	 * @return The number of tasks
+	 */
+	public synchronized int getNumberOfPendingTasks(){
+		return wheel.size();
+	}
+
+	/**
+	 * Runs every task that is due, stopping the LibGDX Timer task if there is nothing left to run
+	 */
+	synchronized void tick(){
+		wheel.advanceTo(getTime());
+		if(wheel.isEmpty() && tickTask != null){
+			tickTask.cancel();
+			tickTask = null;
+		}
+	}
+}
@@ -2,17 +2,47 @@ package com.topright.roboticon;
 
 /**
  * Class to store all player attributes (including their inventory) and handle the buying and selling of resources and the buying and customisation of roboticons
+ * <p>
+ * Trades with the market are carried out by the market's transactional attemptTo... methods, so several players may trade with the same
+ * market at once. Every attempt (made and rejected) is counted by the {@link MetricsRegistry} (by the market) if it is enabled.
+ * </p>
  * @author jcn509
  */
 public class Player {
 	protected PlayerInventory inventory;
+	protected Market market; // The market that the player buys from and sells to
+	private GameEventLog eventLog = null; // Records every successful transaction (if the game is being logged)
 	
 	/**
 	 * Constructor.
+	 * <p>
+	 * The player uses the shared market ({@link Market#getInstance()}).
+	 * </p>
 	 * @param inventory A PlayerInventory object that contains all money, resources and roboticons that the player is initially in possession of.
 	 */
 	public Player(PlayerInventory inventory){
+		this(inventory, Market.getInstance());
+	}
+	
+	/**
+	 * Constructor.
+	 * @param inventory A PlayerInventory object that contains all money, resources and roboticons that the player is initially in possession of.
+	 * @param market The market that the player buys from and sells to (the market used by the game that the player is playing in).
+	 */
+	public Player(PlayerInventory inventory, Market market){
+		if(market == null){
+			throw new IllegalArgumentException("market must not be null");
+		}
 		this.inventory = inventory;
+		this.market = market;
+	}
+	
+	/**
+	 * Returns the market that the player buys from and sells to
+	 * @return The market that the player buys from and sells to
+	 */
+	public Market getMarket(){
+		return market;
 	}
 	
 	/**
@@ -67,189 +97,159 @@ public class Player {
 	/**
 	 * Attempt to purchase ore from the market (checks to see if the purchase is possible, if it is then the purchase is completed).
 	 * <p>
-	 * First finds out how much the ore will cost and checks to ensure that the player has enough money in their inventory.
-	 * If the player has enough money the quantities of ore in the player's and market's inventory are updated and money is taken from the player's inventory.
-	 * </p>
-	 * <p>
-	 * Assumes that the market has enough stock (handled elsewhere).
+	 * Carried out as a single transaction by {@link Market#attemptToBuyOre(PlayerInventory, int)}: the cost is taken from the player's
+	 * inventory only if they have enough money and it is given back if the market does not have enough ore, so it is safe for several
+	 * players to trade with the same market at once.
 	 * </p>
 	 * {@link Player#inventory}
 	 * @param quantity The amount of ore that the player wants to purchase.
 	 * @return A boolean value: true if the purchase was successful and false if not.
 	 */
 	public boolean attemptToBuyOre(int quantity){
-		if(quantity == 0){
-			return true; // Don't want to do anything
-		}
-		else if(quantity<0){
-			return false; // Invalid use of the method
-		}
-		
-		int cost = Market.getInstance().getCostOre(quantity);
-		if(cost > inventory.getMoneyQuantity()){ // Not enough money to complete the purchase.
-			return false; 
-		}
-		else{ // The player has enough money.
-			Market.getInstance().buyOreFromMarket(quantity);
-			inventory.increaseOreQuantity(quantity);
-			inventory.decreaseMoneyQuantity(cost);
-			return true;
+		if(!market.attemptToBuyOre(inventory, quantity)){
+			return false;
 		}
+		logTransaction(GameLogEntry.BOUGHTORE, quantity);
+		return true;
 	}
 	
 	/**
 	 * Attempt to purchase energy from the market (checks to see if the purchase is possible, if it is then the purchase is completed).
 	 * <p>
-	 * First finds out how much the energy will cost and checks to ensure that the player has enough money in their inventory.
-	 * If the player has enough money the quantities of energy in the player's and market's inventory are updated and money is taken from the player's inventory.
-	 * </p>
-	 * <p>
-	 * Assumes that the market has enough stock (handled elsewhere).
+	 * Carried out as a single transaction by {@link Market#attemptToBuyEnergy(PlayerInventory, int)}: the cost is taken from the player's
+	 * inventory only if they have enough money and it is given back if the market does not have enough energy.
 	 * </p>
 	 * {@link Player#inventory}
 	 * @param quantity The amount of energy that the player wants to purchase.
 	 * @return A boolean value: true if the purchase was successful and false if not.
 	 */
 	public boolean attemptToBuyEnergy(int quantity){
-		if(quantity == 0){
-			return true; // Don't want to do anything
-		}
-		else if(quantity<0){
-			return false; // Invalid use of the method
-		}
-		
-		int cost = Market.getInstance().getCostEnergy(quantity);
-		if(cost > inventory.getMoneyQuantity()){ // Not enough money to complete the purchase.
+		if(!market.attemptToBuyEnergy(inventory, quantity)){
 			return false;
 		}
-		else{ // The player has enough money.
-			Market.getInstance().buyEnergyFromMarket(quantity);
-			inventory.increaseEnergyQuantity(quantity);
-			inventory.decreaseMoneyQuantity(cost);
-			return true;
-		}
+		logTransaction(GameLogEntry.BOUGHTENERGY, quantity);
+		return true;
 	}
 	
 	/**
 	 * Attempt to purchase roboticons from the market (checks to see if the purchase is possible, if it is then the purchase is completed).
 	 * <p>
-	 * First finds out how much the roboticons will cost and checks to ensure that the player has enough money in their inventory.
-	 * If the player has enough money the quantities of uncustomised roboticons in the player's inventory and roboticons in the market's inventory are updated and money is taken from the player's inventory.
-	 * </p>
-	 * <p>
-	 * Assumes that the market has enough stock (handled elsewhere).
+	 * Carried out as a single transaction by {@link Market#attemptToBuyRoboticons(PlayerInventory, int)}: the cost is taken from the player's
+	 * inventory only if they have enough money and it is given back if the market does not have enough roboticons. The roboticons bought are uncustomised.
 	 * </p>
 	 * {@link Player#inventory}
 	 * @param quantity The the number of roboticons that the player wants to purchase.
 	 * @return A boolean value: true if the purchase was successful and false if not.
 	 */
 	public boolean attemptToBuyRoboticons(int quantity){
-		if(quantity == 0){
-			return true; // Don't want to do anything
-		}
-		else if(quantity<0){
-			return false; // Invalid use of the method
-		}
-		
-		int cost = Market.getInstance().getCostRoboticons(quantity);
-		if(cost > inventory.getMoneyQuantity()){ // Not enough money to complete the purchase.
+		if(!market.attemptToBuyRoboticons(inventory, quantity)){
 			return false;
 		}
-		else{ // The player has enough money.
-			Market.getInstance().buyRoboticonsFromMarket(quantity);
-			inventory.increaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED,quantity);
-			inventory.decreaseMoneyQuantity(cost);
-			return true;
-		}
+		logTransaction(GameLogEntry.BOUGHTROBOTICONS, quantity);
+		return true;
 	}
 	
 	/**
 	 * Attempt to customise a roboticon in the players inventory (if the customisation is possible then it is carried out).
 	 * <p>
-	 * First checks to see if the player has any uncustomsied roboticons.
-	 * If they do then the cost is fetched from the market and a check is performed to see if the player has enough money.
-	 * If the player has enough money then the purchase is completed and the players inventory updated (1 less uncustomised roboticon and 1 more roboticon with the desired customisation).
+	 * Carried out as a single transaction by {@link Market#attemptToCustomiseRoboticon(PlayerInventory, RoboticonCustomisation)}: an uncustomised
+	 * roboticon is taken from the player's inventory (if they have one) and given back if they do not have enough money to pay for the customisation.
 	 * </p>
 	 * @param customisation The customisation that the player wishes to apply to a roboticon {@link RoboticonCustomisation#RoboticonCustomisation}
 	 * @return A boolean value: true if the customisation was carried out false if it was not.
 	 */
 	public boolean attemptToCustomiseRoboticon(RoboticonCustomisation customisation){
-		
-		// No roboticons to customise
-		if(inventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED) == 0){
-			return false;
-		}
-		
-		int cost = Market.getInstance().getCostRoboticonCustomisation(customisation);
-		
-		if(cost > inventory.getMoneyQuantity()){ // Not enough money to purchase the customisation
+		if(!market.attemptToCustomiseRoboticon(inventory, customisation)){
 			return false;
 		}
-		else{
-			inventory.decreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, 1);
-			inventory.decreaseMoneyQuantity(cost);
-			inventory.increaseRoboticonQuantity(customisation, 1);
-			return true;
+		if(eventLog != null){
+			eventLog.roboticonCustomised(this, customisation);
 		}
+		return true;
 	}
 	
 	/**
 	 * Attempt to sell ore to the market (checks to see if the sale is possible, if it is then the sale is completed).
 	 * <p>
-	 * First checks how much ore the player has in their inventory.
-	 * If the player has enough ore the quantities of ore in the player's and market's inventory are updated and money is added to the player's inventory.
+	 * Carried out as a single transaction by {@link Market#attemptToSellOre(PlayerInventory, int)}: the ore is only taken from the player's
+	 * inventory if they have enough of it.
 	 * </p>
 	 * {@link Player#inventory}
 	 * @param quantity The amount of ore that the player wants to sell.
 	 * @return A boolean value: true if the sale was successful and false if not.
 	 */
 	public boolean attemptToSellOre(int quantity){
-		if(quantity == 0){
-			return true; // Don't want to do anything
-		}
-		else if(quantity<0){
-			return false; // Invalid use of the method
-		}
-		
-		if(quantity > inventory.getOreQuantity()){ // Cannot sell ore that is not in player's possession.
+		if(!market.attemptToSellOre(inventory, quantity)){
 			return false;
 		}
-		else{ // The player has enough ore
-			Market.getInstance().sellOreToMarket(quantity);
-			inventory.decreaseOreQuantity(quantity);
-			inventory.increaseMoneyQuantity(Market.getInstance().getCostOre(quantity));
-			return true;
-		}
+		logTransaction(GameLogEntry.SOLDORE, quantity);
+		return true;
 	}
 	
 	/**
-	 * Attempt to sell energy to the market (checks to see if the sale is possible, if it is then the purchase is completed).
+	 * Attempt to sell energy to the market (checks to see if the sale is possible, if it is then the sale is completed).
 	 * <p>
-	 * First checks to see if the player has enough energy in their inventory
-	 * If the player has enough energy the quantities of energy in the player's and market's inventory are updated and money is added to the player's inventory.
+	 * Carried out as a single transaction by {@link Market#attemptToSellEnergy(PlayerInventory, int)}: the energy is only taken from the player's
+	 * inventory if they have enough of it.
 	 * </p>
-	 * <p>
 	 * {@link Player#inventory}
 	 * @param quantity The amount of energy that the player wants to sell.
 	 * @return A boolean value: true if the sale was successful and false if not.
 	 */
 	public boolean attemptToSellEnergy(int quantity){
-		if(quantity == 0){
-			return true; // Don't want to do anything
+		if(!market.attemptToSellEnergy(inventory, quantity)){
+			return false;
 		}
-		else if(quantity<0){
-			return false; // Invalid use of the method
+		logTransaction(GameLogEntry.SOLDENERGY, quantity);
+		return true;
+	}
+	
+	/**
+	 * Attempt to place an order to buy a resource from another player in the market's order book
+	 * <p>
+	 * The order is only placed if the player currently has enough money to pay the limit price for the whole quantity. Nothing
+	 * is taken from the player until the order is matched.
+	 * </p>
+	 * @param resource The resource to buy (ore or energy)
+	 * @param quantity The quantity to buy
+	 * @param limitPrice The highest price per unit that the player will pay
+	 * @return The order that was placed or null if the player does not have enough money
+	 */
+	public Order attemptToPlaceBuyOrder(PlotSpecialism resource, int quantity, int limitPrice){
+		if((long)quantity * limitPrice > inventory.getMoneyQuantity()){ // Can't afford it
+			return null;
 		}
-		
-		if(quantity > inventory.getEnergyQuantity()){ // Cannot sell energy that is not in player's possession.
-			return false;
+		return market.getOrderBook(resource).placeOrder(this, OrderSide.BUY, quantity, limitPrice);
+	}
+	
+	/**
+	 * Attempt to place an order to sell a resource to another player in the market's order book
+	 * <p>
+	 * The order is only placed if the player currently has enough of the resource. Nothing is taken from the player until the order is matched.
+	 * </p>
+	 * @param resource The resource to sell (ore or energy)
+	 * @param quantity The quantity to sell
+	 * @param limitPrice The lowest price per unit that the player will accept
+	 * @return The order that was placed or null if the player does not have enough of the resource
+	 */
+	public Order attemptToPlaceSellOrder(PlotSpecialism resource, int quantity, int limitPrice){
+		int available = (resource == PlotSpecialism.ORE) ? inventory.getOreQuantity() : inventory.getEnergyQuantity();
+		if(quantity > available){ // Cannot sell what the player does not have
+			return null;
 		}
-		else{ // The player has enough energy
-			Market.getInstance().sellEnergyToMarket(quantity);
-			inventory.decreaseEnergyQuantity(quantity);
-			inventory.increaseMoneyQuantity(Market.getInstance().getCostEnergy(quantity));
-			return true;
+		return market.getOrderBook(resource).placeOrder(this, OrderSide.SELL, quantity, limitPrice);
+	}
+	
+	/**
+	 * Cancels one of the player's orders
+	 * @param order The order to cancel
+	 * @return true if the order was cancelled and false if it had already been filled or cancelled
+	 */
+	public boolean cancelOrder(Order order){
+		if(order.getOwner() != this){
+			throw new IllegalArgumentException("Players can only cancel their own orders");
 		}
+		return market.getOrderBook(order.getResource()).cancelOrder(order);
 	}
 	
 	/**
@@ -284,6 +284,25 @@ public class Player {
 		return true;
 	}
 	
+	/**
+	 * Sets the log that every successful transaction made by this player is recorded in
+	 * @param eventLog The log (null to stop logging)
+	 */
+	void setEventLog(GameEventLog eventLog){
+		this.eventLog = eventLog;
+	}
+	
+	/**
+	 * Records a successful transaction in the event log (if the game is being logged, transactions of nothing are not recorded)
+	 * @param type The type of transaction
+	 * @param quantity The quantity that was bought or sold
+	 */
+	private void logTransaction(GameLogEntry type, int quantity){
+		if(eventLog != null && quantity > 0){
+			eventLog.transaction(type, this, quantity);
+		}
+	}
+	
 	/**
 	 * Calculates and returns the Player's score
 	 * @return The Player's score
@@ -0,0 +1,162 @@
+package com.topright.roboticon;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.badlogic.gdx.graphics.Color;
+
+/**
+ * Gives every player in a game an owner number and the colour that the plots they own are drawn in
+ * <p>
+ * The human player is {@link PlotTiles#HUMAN_OWNER} and is drawn using its own overlay. The AI players are numbered from
+ * {@link PlotTiles#AI_OWNER} in the order that they were given and are all drawn using the AI overlay tinted with their own colour.
+ * The first AI player is not tinted so two player games look exactly as they always have. Colours are taken from a fixed
+ * palette and then generated (by stepping around the colour wheel) for lobbies with more AI players than the palette holds.
+ * </p>
+ * <p>
+ * Owner numbers are stored as a single (unsigned) byte per plot by {@link PlotTiles}, so at most
+ * {@link PlayerColours#MAX_AI_PLAYERS} AI players can be drawn.
+ * </p>
+ */
+class PlayerColours {
+	static final int MAX_OWNER = 255;
+	static final int MAX_AI_PLAYERS = MAX_OWNER - PlotTiles.AI_OWNER + 1;
+	private static final float FIRST_GENERATED_HUE = 30; // Degrees, between the first two colours of the palette
+	private static final float GOLDEN_ANGLE = 137.508f; // Degrees, consecutive generated colours are spread evenly around the colour wheel
+	private static final Color[] PALETTE = {
+		Color.WHITE, // The AI overlay as it is drawn in two player games
+		new Color(1f, 0.55f, 0.55f, 1f),
+		new Color(0.55f, 0.65f, 1f, 1f),
+		new Color(0.6f, 1f, 0.6f, 1f),
+		new Color(1f, 0.6f, 1f, 1f),
+		new Color(0.55f, 1f, 1f, 1f),
+		new Color(1f, 0.8f, 0.45f, 1f),
+		new Color(0.75f, 0.6f, 1f, 1f)
+	};
+
+	private final Player humanPlayer;
+	private final Map<Player, Integer> ownerNumbers = new IdentityHashMap<Player, Integer>();
+	private final List<Color> colours = new ArrayList<Color>(); // The colour of each owner number (index 0 is NO_OWNER)
+
+	/**
+	 * Constructor
+	 * @param players Every player in the game in the order that they take their turns (null entries are ignored)
+	 * @param humanPlayer The human player (may be null if there is no human player)
+	 */
+	PlayerColours(List<Player> players, Player humanPlayer){
+		this.humanPlayer = humanPlayer;
+		colours.add(Color.WHITE); // NO_OWNER
+		colours.add(Color.WHITE); // HUMAN_OWNER, drawn using the human overlay
+		int AIPlayerNumber = 0;
+		for(Player player : players){
+			if(player == null || player == humanPlayer){
+				continue;
+			}
+			if(AIPlayerNumber == MAX_AI_PLAYERS){
+				throw new IllegalArgumentException("No more than "+MAX_AI_PLAYERS+" AI players can be drawn");
+			}
+			ownerNumbers.put(player, PlotTiles.AI_OWNER + AIPlayerNumber);
+			colours.add(getAIColour(AIPlayerNumber));
+			AIPlayerNumber++;
+		}
+		if(AIPlayerNumber == 0){
+			colours.add(Color.WHITE); // Plots owned by players that were not given are still drawn as AI plots
+		}
+	}
+
+	/**
+	 * Returns the colour of the AI player with the given number
+	 * @param AIPlayerNumber The position of the AI player amongst the AI players (starting from 0)
+	 * @return The colour that the AI player's plots are drawn in
+	 */
+	static Color getAIColour(int AIPlayerNumber){
+		if(AIPlayerNumber < 0){
+			throw new IllegalArgumentException("AIPlayerNumber must be >= 0 AIPlayerNumber = "+AIPlayerNumber);
+		}
+		if(AIPlayerNumber < PALETTE.length){
+			return PALETTE[AIPlayerNumber];
+		}
+		float hue = (FIRST_GENERATED_HUE + (AIPlayerNumber - PALETTE.length) * GOLDEN_ANGLE) % 360;
+		return fromHsv(hue, 0.45f, 1f);
+	}
+
+	/**
+	 * Creates an opaque colour from its hue, saturation and value
+	 * @param hue The hue in degrees (0 to 360)
+	 * @param saturation The saturation (0 to 1)
+	 * @param value The value (0 to 1)
+	 * @return The colour
+	 */
+	static Color fromHsv(float hue, float saturation, float value){
+		float sector = (hue / 60f) % 6;
+		int wholeSector = (int)sector;
+		float fraction = sector - wholeSector;
+		float p = value * (1 - saturation);
+		float q = value * (1 - saturation * fraction);
+		float t = value * (1 - saturation * (1 - fraction));
+		switch(wholeSector){
+		case 0:
+			return new Color(value, t, p, 1f);
+		case 1:
+			return new Color(q, value, p, 1f);
+		case 2:
+			return new Color(p, value, t, 1f);
+		case 3:
+			return new Color(p, q, value, 1f);
+		case 4:
+			return new Color(t, p, value, 1f);
+		default:
+			return new Color(value, p, q, 1f);
+		}
+	}
+
+	/**
+	 * Returns the owner number of the given player
+	 * <p>
+	 * Players that were not given to the constructor are treated as the first AI player.
+	 * </p>
+	 * @param player The player (null if a plot has no owner)
+	 * @return NO_OWNER, HUMAN_OWNER or the owner number of an AI player
+	 */
+	int getOwnerNumber(Player player){
+		if(player == null){
+			return PlotTiles.NO_OWNER;
+		}
+		if(player == humanPlayer){
+			return PlotTiles.HUMAN_OWNER;
+		}
+		Integer ownerNumber = ownerNumbers.get(player);
+		return (ownerNumber == null) ? PlotTiles.AI_OWNER : ownerNumber;
+	}
+
+	/**
+	 * Returns true if the given player is the human player
+	 * @param player The player
+	 * @return true if the given player is the human player
+	 */
+	boolean isHumanPlayer(Player player){
+		return player == humanPlayer;
+	}
+
+	/**
+	 * Returns the number of owner numbers that are in use (including NO_OWNER), owner numbers go from 0 to this - 1
+	 * @return The number of owner numbers that are in use
+	 */
+	int getNumberOfOwners(){
+		return colours.size();
+	}
+
+	/**
+	 * Returns the colour that plots owned by the given owner are drawn in
+	 * @param ownerNumber The owner number
+	 * @return The colour (white if the overlay is not to be tinted)
+	 */
+	Color getColour(int ownerNumber){
+		if(ownerNumber < 0 || ownerNumber >= colours.size()){
+			throw new IllegalArgumentException("Invalid owner "+ownerNumber);
+		}
+		return colours.get(ownerNumber);
+	}
+}
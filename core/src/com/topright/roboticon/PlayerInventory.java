@@ -1,5 +1,7 @@
 package com.topright.roboticon;
 import java.util.EnumMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 /**
  * A data structure to store the contents of a player's inventory.
@@ -12,10 +14,11 @@ import java.util.EnumMap;
  */
 public class PlayerInventory extends Inventory{
 	
-	// Maps roboticon customisation types onto the number of roboticons of that customisation type stored in the inventory
-	private EnumMap<RoboticonCustomisation, Integer> roboticons = new EnumMap<RoboticonCustomisation, Integer>(RoboticonCustomisation.class);
+	// The number of roboticons of each customisation type stored in the inventory (indexed by the ordinal of the customisation type)
+	// Ints are used (rather than a map onto Integers) so that changing a quantity does not allocate any objects
+	private final AtomicIntegerArray roboticonQuantities = new AtomicIntegerArray(RoboticonCustomisation.values().length);
 	
-	private int moneyQuantity;
+	private final AtomicInteger moneyQuantity = new AtomicInteger();
 	
 	/**
 	 * Constructor.
@@ -41,7 +44,7 @@ public class PlayerInventory extends Inventory{
 		if(moneyQuantity<0) // Cannot have a negative quantity of money.
 			throw new IllegalArgumentException("moneyQuantity must be >= 0. moneyQuantity = "+Integer.toString(moneyQuantity));
 		else
-			this.moneyQuantity = moneyQuantity;
+			this.moneyQuantity.set(moneyQuantity);
 	}
 	
 	/**
@@ -49,6 +52,9 @@ public class PlayerInventory extends Inventory{
 	 * <p> 
 	 * Ensures that the quantity of roboticons (for any customisation is not negative).
 	 * </p>
+	 * <p>
+	 * The quantities are copied out of the map, changes made to the map afterwards do not affect the inventory.
+	 * </p>
 	 * @param roboticons Maps the customisation type of roboticons onto the initial quantity of each roboticon of that type to be stored in the inventory
 	 */
 	private void initialiseRoboticonQuantities(EnumMap<RoboticonCustomisation, Integer> roboticons){
@@ -57,8 +63,8 @@ public class PlayerInventory extends Inventory{
 		    if(entry.getValue()<0){ // Player may not have a negative quantity of any type of roboticon.
 		    	throw new IllegalArgumentException(entry.getKey().name()+ " is mapped to a value less than 0 in the roboticons map (value = "+entry.getValue().toString());
 		    }
+		    roboticonQuantities.set(entry.getKey().ordinal(), entry.getValue());
 		}
-		this.roboticons = roboticons;
 	}
 	
 	/**
@@ -73,12 +79,7 @@ public class PlayerInventory extends Inventory{
 		if(roboticonQuantityIncrease < 0){ // Cannot increase the quantity of roboticons by a negative amount.
 			throw new IllegalArgumentException("roboticonQuantityIncrease must be positive. roboticonQuantityIncrease = "+Integer.toString(roboticonQuantityIncrease));
 		}
-		else if(roboticons.containsKey(customisation)){ // If some roboticons with this customisation are already stored (or have been stored previously).
-			roboticons.put(customisation,roboticons.get(customisation)+roboticonQuantityIncrease);
-		}
-		else{ // If no roboticons with this customisation are stored.
-			roboticons.put(customisation, roboticonQuantityIncrease);
-		}
+		roboticonQuantities.addAndGet(customisation.ordinal(), roboticonQuantityIncrease);
 	}
 	
 	/**
@@ -91,19 +92,31 @@ public class PlayerInventory extends Inventory{
 	 * @param roboticonQuantityDecrease the number of roboticons to be removed from the inventory
 	 */
 	public void decreaseRoboticonQuantity(RoboticonCustomisation customisation, int roboticonQuantityDecrease){
-		
-		// If the inventory contains no roboticons with this customisation.
-		if(!roboticons.containsKey(customisation)){
-			throw new IllegalArgumentException("The inventory does not contain enough roboticons with customisation. "+customisation.name());
-		}
-		else if(roboticons.get(customisation) < roboticonQuantityDecrease){
-			throw new IllegalArgumentException("The inventory does not contain enough roboticons with customisation. "+customisation.name()+ roboticons.get(customisation).toString()+ "in the inventory, tried to decrease this number by "+Integer.toString(roboticonQuantityDecrease));
+		if(!tryDecreaseRoboticonQuantity(customisation, roboticonQuantityDecrease)){
+			throw new IllegalArgumentException("The inventory does not contain enough roboticons with customisation. "+customisation.name()+ Integer.toString(getRoboticonQuantity(customisation))+ "in the inventory, tried to decrease this number by "+Integer.toString(roboticonQuantityDecrease));
 		}
-		else if(roboticonQuantityDecrease < 0){ // Cannot decrease the number of roboticons by a negative amount.
+	}
+	
+	/**
+	 * Atomically removes roboticons of a specified customisation type from the inventory if enough of them are stored.
+	 * @param customisation specifies the customisation type that the roboticons to be removed have
+	 * @param roboticonQuantityDecrease the number of roboticons to be removed from the inventory
+	 * @return true if the roboticons were removed and false if not enough of them are stored (nothing is removed)
+	 */
+	public boolean tryDecreaseRoboticonQuantity(RoboticonCustomisation customisation, int roboticonQuantityDecrease){
+		if(roboticonQuantityDecrease < 0){ // Cannot decrease the number of roboticons by a negative amount.
 			throw new IllegalArgumentException("roboticonQuantityDecrease must be positive. roboticonQuantityDecrease = "+Integer.toString(roboticonQuantityDecrease));
 		}
-		
-		roboticons.put(customisation, roboticons.get(customisation)-roboticonQuantityDecrease);
+		int index = customisation.ordinal();
+		while(true){ // Retry if another thread changes the quantity between it being read and it being updated
+			int roboticonQuantity = roboticonQuantities.get(index);
+			if(roboticonQuantity < roboticonQuantityDecrease){
+				return false;
+			}
+			if(roboticonQuantities.compareAndSet(index, roboticonQuantity, roboticonQuantity-roboticonQuantityDecrease)){
+				return true;
+			}
+		}
 	}
 	
 	/**
@@ -112,10 +125,19 @@ public class PlayerInventory extends Inventory{
 	 * @return The quantity of roboticons stored with the specified customisation type.
 	 */
 	public int getRoboticonQuantity(RoboticonCustomisation customisation){
-		if(roboticons.containsKey(customisation)){ // If roboticons of this type are stored (or have previously been stored) in the inventory.
-			return roboticons.get(customisation);
+		return roboticonQuantities.get(customisation.ordinal());
+	}
+	
+	/**
+	 * Returns the total quantity of roboticons stored in the inventory (of every customisation type).
+	 * @return The total quantity of roboticons stored in the inventory.
+	 */
+	public int getTotalRoboticonQuantity(){
+		int totalRoboticonQuantity = 0;
+		for(int index = 0; index < roboticonQuantities.length(); index++){
+			totalRoboticonQuantity += roboticonQuantities.get(index);
 		}
-		return 0;
+		return totalRoboticonQuantity;
 	}
 	
 	/**
@@ -123,7 +145,7 @@ public class PlayerInventory extends Inventory{
 	 * @return The quantity of money stored in the inventory.
 	 */
 	public int getMoneyQuantity(){
-		return moneyQuantity;
+		return moneyQuantity.get();
 	}
 	
 	/**
@@ -138,7 +160,7 @@ public class PlayerInventory extends Inventory{
 			throw new IllegalArgumentException("moneyQuantityIncrease must be positive. moneyQuantityIncrease = "+Integer.toString(moneyQuantityIncrease));
 		}
 		else{
-			moneyQuantity +=  moneyQuantityIncrease;
+			moneyQuantity.addAndGet(moneyQuantityIncrease);
 		}
 	}
 	
@@ -151,14 +173,20 @@ public class PlayerInventory extends Inventory{
 	 * @param moneyQuantityDecrease The amount of money to take from the inventory.
 	 */
 	public void decreaseMoneyQuantity(int moneyQuantityDecrease){
+		if (!tryDecreaseMoneyQuantity(moneyQuantityDecrease)){ // Cannot cause the amount of money stored in the inventory to be negative.
+			throw new IllegalArgumentException("moneyQuantityDecrease must not be greater than moneyQuantity. moneyQuantity = "+Integer.toString(getMoneyQuantity())+" moneyQauntityDecrease = "+Integer.toString(moneyQuantityDecrease));
+		}
+	}
+	
+	/**
+	 * Atomically decreases the quantity of money stored in the inventory if enough money is stored.
+	 * @param moneyQuantityDecrease The amount of money to take from the inventory.
+	 * @return true if the money was taken and false if not enough money is stored (nothing is taken).
+	 */
+	public boolean tryDecreaseMoneyQuantity(int moneyQuantityDecrease){
 		if(moneyQuantityDecrease < 0){ // Cannot take a negative quantity of money from the inventory.
 			throw new IllegalArgumentException("moneyQuantityDecrease must be positive. moneyQuantityDecrease = "+Integer.toString(moneyQuantityDecrease));
 		}
-		else if (moneyQuantity - moneyQuantityDecrease < 0){ // Cannot cause the amount of money stored in the inventory to be negative.
-			throw new IllegalArgumentException("moneyQuantityDecrease must not be greater than moneyQuantity. moneyQuantity = "+Integer.toString(moneyQuantity)+" moneyQauntityDecrease = "+Integer.toString(moneyQuantityDecrease));
-		}
-		else{ // moneyDecreaseQuantity > 0 and moneyDecreaseQuantity < moneyQuantity
-			moneyQuantity -= moneyQuantityDecrease;
-		}
+		return tryDecrease(moneyQuantity, moneyQuantityDecrease);
 	}
 }
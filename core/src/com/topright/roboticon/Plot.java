@@ -13,14 +13,37 @@ public class Plot {
 	// A value of null indicates that no roboticon has been placed on this plot
 	private RoboticonCustomisation roboticon;
 	
+	// Told whenever this plot is acquired or has a roboticon placed on it (null if this plot is not being indexed)
+	private PlotOccupancyIndex occupancyIndex = null;
+	private int plotNumber; // The number of this plot in occupancyIndex
+	
+	private final ProductionRules productionRules; // Decides how much of each resource the roboticon on this plot produces
+	
+	// What this plot produces each turn, looked up again whenever a roboticon is placed on it or it is acquired
+	// A value of null indicates that nothing is produced (not acquired, no roboticon or a roboticon that produces nothing here)
+	private int[] yield = null;
+	
 	/**
-	 * Constructor
+	 * Constructor (the plot produces resources according to the default {@link ProductionRules})
 	 * @param specialism The resource that the plot is best at producing
 	 */
 	public Plot(PlotSpecialism specialism){
+		this(specialism, ProductionRules.getDefault());
+	}
+	
+	/**
+	 * Constructor
+	 * @param specialism The resource that the plot is best at producing
+	 * @param productionRules Decides how much of each resource the roboticon on this plot produces
+	 */
+	Plot(PlotSpecialism specialism, ProductionRules productionRules){
+		if(productionRules == null){
+			throw new IllegalArgumentException("productionRules must not be null");
+		}
 		acquiredBy = null; // Indicates that no player has acquired this plot yet
 		this.specialism = specialism;
 		roboticon = null; // Indicates that no roboticon has been placed on this plot yet
+		this.productionRules = productionRules;
 	}
 
 	/**
@@ -28,7 +51,12 @@ public class Plot {
 	 * @param roboticonCustomisation the customisation type of the roboticon
 	 */
 	public void placeRoboticon(RoboticonCustomisation roboticonCustomisation) {
+		boolean hadRoboticon = hasRoboticon();
 		this.roboticon = roboticonCustomisation;
+		updateYield();
+		if(occupancyIndex != null){
+			occupancyIndex.plotChanged(plotNumber, acquiredBy, hadRoboticon, this);
+		}
 	}
 
 	/**
@@ -41,12 +69,29 @@ public class Plot {
 	public void setPlayer(Player player){
 		if (!hasBeenAcquired()){
 			this.acquiredBy = player;
+			updateYield();
+			if(occupancyIndex != null){
+				occupancyIndex.plotChanged(plotNumber, null, hasRoboticon(), this);
+			}
 		}
 		else{
 			throw new IllegalArgumentException("Cannot acquire a plot that has already been acquired!");
 		}
 	}
 	
+	/**
+	 * Sets the index that is to be told whenever this plot is acquired or has a roboticon placed on it
+	 * <p>
+	 * Replaces any index that was previously set.
+	 * </p>
+	 * @param occupancyIndex The index
+	 * @param plotNumber The number of this plot in the index
+	 */
+	void setOccupancyIndex(PlotOccupancyIndex occupancyIndex, int plotNumber){
+		this.occupancyIndex = occupancyIndex;
+		this.plotNumber = plotNumber;
+	}
+	
 	/**
 	 * Returns true if this plot has been acquired and false otherwise
 	 * @return true if this plot has been acquired and false otherwise
@@ -85,40 +130,55 @@ public class Plot {
 	public PlotSpecialism getSpecialism(){
 		return specialism;
 	}
+	/**
+	 * Looks up what this plot produces each turn (to be called whenever its roboticon or owner changes)
+	 */
+	private void updateYield(){
+		if(acquiredBy == null || roboticon == null){
+			yield = null;
+		}
+		else{
+			yield = productionRules.getYield(roboticon, specialism);
+		}
+	}
+	
 	/**
 	 * Causes the plot to produce resources for the player that owns it (if applicable)
 	 * <p>
 	 * A plot will only produce resources if it has been acquired and had a roboticon placed on it
-	 * The type of resource produced depends on the customisation of the roboticon placed on the plot
-	 * The amount of whatever resource that is produced depends on whether the roboticons customisation matches the plots speciality
+	 * The type and amount of each resource that is produced depends on the customisation of the roboticon placed on the plot
+	 * and the plot's specialism (see {@link ProductionRules})
 	 * Resources produced are added to the inventory of the player who owns this plot
 	 * </p>
 	 */
 	public void produce(){
+		int[] producedYield = yield;
 		
-		// If no player has acquired this plot of if it does not have a roboticon on it
-		if ((acquiredBy == null) ||(!hasRoboticon())){
+		// If no player has acquired this plot, if it does not have a roboticon on it or if its roboticon produces nothing here
+		if (producedYield == null){
 			return; 
 		}
-		else{
-			if(roboticon == RoboticonCustomisation.ENERGY){ 
-				if(specialism == PlotSpecialism.ENERGY){
-					acquiredBy.increaseEnergyQuantity(2);
-				}
-				else{
-					acquiredBy.increaseEnergyQuantity(1);
-				}
-			}
-			else if(roboticon == RoboticonCustomisation.ORE){
-				if(specialism == PlotSpecialism.ORE){
-					acquiredBy.increaseOreQuantity(2);
-				}
-				else{
-					acquiredBy.increaseOreQuantity(1);
-				}
-			}
+		if(producedYield[ProductionRules.ENERGY] > 0){ 
+			acquiredBy.increaseEnergyQuantity(producedYield[ProductionRules.ENERGY]);
+		}
+		if(producedYield[ProductionRules.ORE] > 0){
+			acquiredBy.increaseOreQuantity(producedYield[ProductionRules.ORE]);
+		}
+	}
+	
+	/**
+	 * Records the resources that the plot produces in the given deltas instead of adding them to the owner's inventory straight away
+	 * <p>
+	 * Used by {@link PlotProduction} so that the plots of large maps can produce in parallel, the deltas are added to the players'
+	 * inventories once every plot has produced.
+	 * </p>
+	 * @param deltas Where the resources produced are recorded
+	 */
+	void produce(ProductionDeltas deltas){
+		int[] producedYield = yield;
+		if(producedYield != null){
+			deltas.add(acquiredBy, producedYield[ProductionRules.ORE], producedYield[ProductionRules.ENERGY]);
 		}
-		
 	}
 	
 }
@@ -0,0 +1,111 @@
+package com.topright.roboticon;
+
+/**
+ * The operations that players (both AI and human) can perform on the grid of plots
+ * <p>
+ * Implemented by {@link PlotManager} (which also displays the plots) and by {@link HeadlessPlotManager} (which does not need a GUI,
+ * so that games can be played without one e.g. when running simulations).
+ * </p>
+ */
+public interface PlotGrid {
+	
+	/**
+	 * Returns the 2D array of plots that make up the grid
+	 * @return The 2D array of plots that make up the grid
+	 */
+	public Plot[][] getPlots();
+	
+	/**
+	 * Set the current player (the player who acquires plots and places roboticons).
+	 * @param player The current player.
+	 */
+	public void setCurrentPlayer(Player player);
+	
+	/**
+	 * Called if a plot is to be acquired by the current player.
+	 * @param row The row number of the plot.
+	 * @param column The column number of the plot.
+	 * @return true if the plot was acquired and false if it had already been acquired
+	 */
+	public boolean acquirePlot(int row, int column);
+	
+	/**
+	 * Tries to place an energy roboticon (belonging to the current player) at the chosen plot
+	 * @param plotColumn The column number of the plot
+	 * @param plotRow The row number of the plot
+	 * @return true if a roboticon was placed and false otherwise
+	 */
+	public boolean placeEnergyRoboticon(int plotColumn, int plotRow);
+	
+	/**
+	 * Tries to place an ore roboticon (belonging to the current player) at the chosen plot
+	 * @param plotColumn The column number of the plot
+	 * @param plotRow The row number of the plot
+	 * @return true if a roboticon was placed and false otherwise
+	 */
+	public boolean placeOreRoboticon(int plotColumn, int plotRow);
+	
+	/**
+	 * Triggers all plots to produce resources for their players.
+	 */
+	public void produceResources();
+	
+	/**
+	 * Returns true if every plot has already been acquired by some player.
+	 * @return Whether or not every plot has already been acquired.
+	 */
+	public boolean allPlotsAquired();
+	
+	/**
+	 * Returns the number of plots that have not been acquired by any player (without looking at every plot)
+	 * @return The number of plots that have not been acquired
+	 */
+	public int getNumberOfUnacquiredPlots();
+	
+	/**
+	 * Returns the number of plots with a given specialism that are owned by a given player and do not have a roboticon on them (without looking at every plot)
+	 * @param owner The player who owns the plots
+	 * @param specialism The specialism of the plots
+	 * @return The number of empty plots with the given specialism that the player owns
+	 */
+	public int getNumberOfEmptyPlots(Player owner, PlotSpecialism specialism);
+	
+	/**
+	 * Returns the number of the first plot (starting from a given plot number) that has not been acquired
+	 * <p>
+	 * Plots are numbered row by row (plot number = row * number of columns + column), see {@link PlotGrid#getPlotRow(int)} and {@link PlotGrid#getPlotColumn(int)}.
+	 * </p>
+	 * @param fromPlotNumber The number of the plot to start looking from (0 to look at every plot)
+	 * @return The number of the first plot that has not been acquired or -1 if there is no such plot
+	 */
+	public int findUnacquiredPlot(int fromPlotNumber);
+	
+	/**
+	 * Returns the number of the first plot (starting from a given plot number) with a given specialism that is owned by a given player and does not have a roboticon on it
+	 * @param owner The player who owns the plot
+	 * @param specialism The specialism of the plot
+	 * @param fromPlotNumber The number of the plot to start looking from (0 to look at every plot)
+	 * @return The number of the first empty plot with the given specialism that the player owns or -1 if there is no such plot
+	 */
+	public int findEmptyPlot(Player owner, PlotSpecialism specialism, int fromPlotNumber);
+	
+	/**
+	 * Returns the row that the plot with the given number is in
+	 * @param plotNumber The number of the plot
+	 * @return The row that the plot is in
+	 */
+	public int getPlotRow(int plotNumber);
+	
+	/**
+	 * Returns the column that the plot with the given number is in
+	 * @param plotNumber The number of the plot
+	 * @return The column that the plot is in
+	 */
+	public int getPlotColumn(int plotNumber);
+	
+	/**
+	 * Sets the log that every plot acquisition and roboticon placement is recorded in
+	 * @param eventLog The log (null to stop logging)
+	 */
+	public void setEventLog(GameEventLog eventLog);
+}
@@ -0,0 +1,21 @@
+package com.topright.roboticon;
+
+/**
+ * A {@link PlotGrid} that also displays the plots and lets the human player interact with them by clicking on them
+ * <p>
+ * Implemented by {@link PlotManager} (a button for every plot, for the standard map) and by {@link TiledPlotMap} (for large maps).
+ * </p>
+ */
+public interface PlotGridView extends PlotGrid {
+	
+	/**
+	 * Sets what action will be performed when a plot is clicked.
+	 * @param mode Specifies what action is to be performed when a plot is clicked.
+	 */
+	public void setPlotClickMode(PlotClickMode mode);
+	
+	/**
+	 * If a RoboticonPlaceMenu is open it will be closed
+	 */
+	public void removeRoboticonPlaceMenu();
+}
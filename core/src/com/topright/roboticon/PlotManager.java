@@ -1,16 +1,17 @@
 package com.topright.roboticon;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.ai.msg.MessageManager;
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.NinePatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.ui.Table;
 import com.badlogic.gdx.scenes.scene2d.ui.Image;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
+import com.badlogic.gdx.scenes.scene2d.utils.NinePatchDrawable;
 import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
-import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Random;
 
 /**
@@ -20,19 +21,32 @@ import java.util.Random;
  * and one to actually manage the plot objects (that the AI could interact with)
  * as every interaction with a plot (whether by an AI player or a human player) requires to GUI to be updated
  * </p>
+ * <p>
+ * The rules themselves (acquiring plots, placing roboticons and producing resources) are implemented by a {@link HeadlessPlotManager}
+ * so that games can also be played without a GUI. This class updates the GUI whenever one of those actions succeeds.
+ * </p>
+ * <p>
+ * The overlay of the plots owned by each AI player is tinted with that player's colour (see {@link PlayerColours}).
+ * </p>
  * @author jcn509
  */
-public class PlotManager extends Table{
+public class PlotManager extends Table implements PlotGridView{
 	private PlotClickMode clickMode = PlotClickMode.NOACTION; // What happens when a plot is clicked
 	private Plot[][] plots;
+	private HeadlessPlotManager headlessPlotManager; // Implements the rules, this class adds the GUI
 	private ButtonWithIcon[][] buttons; // One button for each plot (users click these buttons to interact with the plots)
 	private Player currentPlayer = null;
 	private Player humanPlayer = null;
-	private Player AIPlayer = null;
+	private PlayerColours playerColours; // Gives each player an owner number and a colour
 	
 	// The menu should not be open initially
 	private RoboticonPlaceMenu roboticonPlaceMenu = null;
 	
+	// The overlays drawn on top of the plots (regions of the shared game atlas, shared by every plot button)
+	private NinePatchDrawable unacquiredOverlay;
+	private NinePatchDrawable humanOverlay;
+	private NinePatchDrawable[] ownerOverlays; // The overlay for each owner number (the AI overlay tinted with each AI player's colour)
+	
 	/**
 	 * Constructor.
 	 * @param backgroundImage A String that stores the file path of the background image 
@@ -42,12 +56,26 @@ public class PlotManager extends Table{
 	 * @param AIPlayer The AI player that is competing against the human player.
 	 */
 	public PlotManager(String backgroundImage,Plot[][] plots, Player humanPlayer, Player AIPlayer){
+		this(backgroundImage, plots, humanPlayer, Arrays.asList(humanPlayer, AIPlayer));
+	}
+	
+	/**
+	 * Constructor.
+	 * @param backgroundImage A String that stores the file path of the background image 
+	 * (i.e. a picture of a map to be displayed behind the plots).
+	 * @param plots A 2D array of plots that the player can interact with
+	 * @param humanPlayer The human player who is playing the game (null if every player is an AI player).
+	 * @param players Every player in the game in the order that they take their turns.
+	 */
+	public PlotManager(String backgroundImage,Plot[][] plots, Player humanPlayer, List<Player> players){
 		super();
-		setBackground(new TextureRegionDrawable(new TextureRegion(new Texture(Gdx.files.internal(backgroundImage)))));
+		setBackground(new TextureRegionDrawable(new TextureRegion(AssetRegistry.getInstance().getTexture(backgroundImage))));
 	
 		this.humanPlayer = humanPlayer;
-		this.AIPlayer = AIPlayer;
-		this.plots = plots;		
+		this.plots = plots;
+		playerColours = new PlayerColours(players, humanPlayer);
+		headlessPlotManager = new HeadlessPlotManager(plots);
+		createOverlays();
 		createPlotButtonGrid();
 	}
 	
@@ -82,9 +110,11 @@ public class PlotManager extends Table{
 	 * Tries to place an energy roboticon at the chosen plot
 	 * @param plotColumn The column number of the plot
 	 * @param plotRow The row number of the plot
+	 * @return true if a roboticon was placed and false otherwise
 	 */
-	public void placeEnergyRoboticon(int plotColumn, int plotRow){
-		placeRoboticon(plotColumn,plotRow,RoboticonCustomisation.ENERGY,"roboticons/energyRoboticon.png");
+	@Override
+	public boolean placeEnergyRoboticon(int plotColumn, int plotRow){
+		return placeRoboticon(plotColumn,plotRow,RoboticonCustomisation.ENERGY,"roboticons/energyRoboticon");
 	}
 	
 	/**
@@ -93,26 +123,31 @@ public class PlotManager extends Table{
 	 * @param plotColumn The column number of the plot on which the roboticon is to be placed
 	 * @param plotRow The row number of the plot on which the roboticon is to be placed
 	 * @param customisation The customisation type of the roboticon that is to be placed
-	 * @param imagePath The location where the image that is to be placed on the plot is stored
+	 * @param regionName The name of the region of the game atlas that contains the image that is to be placed on the plot
+	 * @return true if a roboticon was placed and false otherwise
 	 */
-	private void placeRoboticon(int plotColumn, int plotRow, RoboticonCustomisation customisation, String imagePath){
-		if(currentPlayer.attemptToPlaceRoboticon(plots[plotRow][plotColumn],customisation)){
+	private boolean placeRoboticon(int plotColumn, int plotRow, RoboticonCustomisation customisation, String regionName){
+		if(headlessPlotManager.placeRoboticon(plotColumn,plotRow,customisation)){
 			if(currentPlayer == humanPlayer){
-				MessageManager.getInstance().dispatchMessage(GameEvents.PLAYERINVENTORYUPDATE.ordinal()); // Trigger main to update the menubar
+				GameEventBus.getInstance().dispatch(GameEvents.PLAYERINVENTORYUPDATE); // Trigger main to update the menubar
 				removeRoboticonPlaceMenu(); // A roboticon place menu must have been open for the human player to place a roboticon
 			}
-			Image roboticonImage =  new Image(new Texture(Gdx.files.internal(imagePath)));
+			Image roboticonImage =  new Image(AssetRegistry.getInstance().getRegion(regionName)); // Shares the atlas texture, nothing new is loaded
 			buttons[plotRow][plotColumn].add(roboticonImage);
+			return true;
 		}
+		return false;
 	}
 	
 	/**
 	 * Tries to place an ore roboticon at the chosen plot
 	 * @param plotColumn The column number of the plot
 	 * @param plotRow The row number of the plot
+	 * @return true if a roboticon was placed and false otherwise
 	 */
-	public void placeOreRoboticon(int plotColumn, int plotRow){
-		placeRoboticon(plotColumn,plotRow,RoboticonCustomisation.ORE,"roboticons/oreRoboticon.png");
+	@Override
+	public boolean placeOreRoboticon(int plotColumn, int plotRow){
+		return placeRoboticon(plotColumn,plotRow,RoboticonCustomisation.ORE,"roboticons/oreRoboticon");
 	}	
 
 	/**
@@ -131,6 +166,7 @@ public class PlotManager extends Table{
 	/**
 	 * If a RoboticonPlaceMenu is open it will be closed
 	 */
+	@Override
 	public void removeRoboticonPlaceMenu(){
 		if(roboticonPlaceMenu != null){ // If a RoboticonPlaceMenu is open
 			roboticonPlaceMenu.remove(); // Remove it from the screen
@@ -141,34 +177,43 @@ public class PlotManager extends Table{
 	/**
 	 * Called if a plot is to be acquired by the current player.
 	 * <p>
-	 * If the plot is not currently owned by another player then it is acquired by the current player
-	 * and a message is dispatched to let the main class know that this has happened.
+	 * If the plot is not currently owned by another player then it is acquired by the current player.
+	 * If the human player acquired the plot then a message is dispatched to let the main class know that this has happened
+	 * (AI players are moved on to their next stage by the {@link GameEngine} itself).
 	 * </p>
 	 * @param row The row number of the plot.
 	 * @param column The column number of the plot.
+	 * @return true if the plot was acquired and false if it had already been acquired
 	 */
-	public void acquirePlot(int row, int column){
+	@Override
+	public boolean acquirePlot(int row, int column){
 		Plot plot = plots[row][column]; // The plot that is being looked at.
-		if(!plot.hasBeenAcquired()){ // If the Plot has yet to be acquired
-			plot.setPlayer(currentPlayer);
+		if(headlessPlotManager.acquirePlot(row,column)){ // If the Plot had yet to be acquired
 			if(currentPlayer == humanPlayer){
-				buttons[row][column].setImages("plot_overlays/human.pack", "human", "human");
-				buttons[row][column].add(new Label("Specialism: "+plot.getSpecialism().toString(),new Skin(Gdx.files.internal("uiskin.json")))).top().row();
+				buttons[row][column].setImages(humanOverlay, humanOverlay);
+				buttons[row][column].add(new Label("Specialism: "+plot.getSpecialism().toString(),AssetRegistry.getInstance().getSkin())).top().row();
 				buttons[row][column].row(); // add a new row to the table so that when a roboticon is placed, it will be appear below the specialism label
 			}
 			else{
-				buttons[row][column].setImages("plot_overlays/AI.pack", "AI", "AI");
+				NinePatchDrawable overlay = ownerOverlays[playerColours.getOwnerNumber(currentPlayer)];
+				buttons[row][column].setImages(overlay, overlay);
+			}
+			if(currentPlayer == humanPlayer){
+				GameEventBus.getInstance().dispatch(GameEvents.PLOTAQUIRED);
 			}
-			MessageManager.getInstance().dispatchMessage(GameEvents.PLOTAQUIRED.ordinal());
+			return true;
 		}
+		return false;
 	}
 	
 	/**
 	 * Set the current player (this information is needed by some other methods).
 	 * @param player The current player.
 	 */
+	@Override
 	public void setCurrentPlayer(Player player){
 		currentPlayer = player;
+		headlessPlotManager.setCurrentPlayer(player);
 	}
 	
 	
@@ -176,6 +221,7 @@ public class PlotManager extends Table{
 	 * Sets what action will be performed when a plot is clicked.
 	 * @param mode Specifies what action is to be performed when a plot is clicked.
 	 */
+	@Override
 	public void setPlotClickMode(PlotClickMode mode){
 		clickMode = mode;
 	}
@@ -183,27 +229,109 @@ public class PlotManager extends Table{
 	/**
 	 * Triggers all plots to produce resources for their players.
 	 */
+	@Override
 	public void produceResources(){
-		for(int row = 0; row<plots.length;row++){
-			for(int column = 0;column<plots[0].length;column++){
-				plots[row][column].produce();
-			}
-		}
+		headlessPlotManager.produceResources();
 	}
 	
 	/**
 	 * Returns true if every plot has already been acquired by some player.
 	 * @return Whether or not every plot has already been acquired.
 	 */
+	@Override
 	public boolean allPlotsAquired(){
-		for(int row = 0; row<plots.length;row++){
-			for(int column = 0;column<plots[0].length;column++){
-				if(!plots[row][column].hasBeenAcquired()){// If a plot has not been acquired
-					return false;  // Then not all of the plots have been acquired
-				}
-			}
+		return headlessPlotManager.allPlotsAquired();
+	}
+	
+	/**
+	 * Returns the number of plots that have not been acquired by any player
+	 * @return The number of plots that have not been acquired
+	 */
+	@Override
+	public int getNumberOfUnacquiredPlots(){
+		return headlessPlotManager.getNumberOfUnacquiredPlots();
+	}
+	
+	/**
+	 * Returns the number of plots with a given specialism that are owned by a given player and do not have a roboticon on them
+	 * @param owner The player who owns the plots
+	 * @param specialism The specialism of the plots
+	 * @return The number of empty plots with the given specialism that the player owns
+	 */
+	@Override
+	public int getNumberOfEmptyPlots(Player owner, PlotSpecialism specialism){
+		return headlessPlotManager.getNumberOfEmptyPlots(owner, specialism);
+	}
+	
+	/**
+	 * Returns the number of the first plot (starting from a given plot number) that has not been acquired
+	 * @param fromPlotNumber The number of the plot to start looking from
+	 * @return The number of the first plot that has not been acquired or -1 if there is no such plot
+	 */
+	@Override
+	public int findUnacquiredPlot(int fromPlotNumber){
+		return headlessPlotManager.findUnacquiredPlot(fromPlotNumber);
+	}
+	
+	/**
+	 * Returns the number of the first plot (starting from a given plot number) with a given specialism that is owned by a given player and does not have a roboticon on it
+	 * @param owner The player who owns the plot
+	 * @param specialism The specialism of the plot
+	 * @param fromPlotNumber The number of the plot to start looking from
+	 * @return The number of the first empty plot with the given specialism that the player owns or -1 if there is no such plot
+	 */
+	@Override
+	public int findEmptyPlot(Player owner, PlotSpecialism specialism, int fromPlotNumber){
+		return headlessPlotManager.findEmptyPlot(owner, specialism, fromPlotNumber);
+	}
+	
+	/**
+	 * Returns the row that the plot with the given number is in
+	 * @param plotNumber The number of the plot
+	 * @return The row that the plot is in
+	 */
+	@Override
+	public int getPlotRow(int plotNumber){
+		return headlessPlotManager.getPlotRow(plotNumber);
+	}
+	
+	/**
+	 * Returns the column that the plot with the given number is in
+	 * @param plotNumber The number of the plot
+	 * @return The column that the plot is in
+	 */
+	@Override
+	public int getPlotColumn(int plotNumber){
+		return headlessPlotManager.getPlotColumn(plotNumber);
+	}
+	
+	/**
+	 * Creates the overlays that are drawn on top of the plots from the shared game atlas
+	 * <p>
+	 * Only one drawable is created for each overlay (and each AI player's tint of the AI overlay) and it is shared by every plot button.
+	 * </p>
+	 */
+	private void createOverlays(){
+		unacquiredOverlay = createOverlay("plot_overlays/fence");
+		humanOverlay = createOverlay("plot_overlays/human");
+		NinePatchDrawable AIOverlay = createOverlay("plot_overlays/AI");
+		ownerOverlays = new NinePatchDrawable[playerColours.getNumberOfOwners()];
+		ownerOverlays[PlotTiles.NO_OWNER] = unacquiredOverlay;
+		ownerOverlays[PlotTiles.HUMAN_OWNER] = humanOverlay;
+		for(int owner = PlotTiles.AI_OWNER; owner < ownerOverlays.length; owner++){
+			Color colour = playerColours.getColour(owner);
+			ownerOverlays[owner] = colour.equals(Color.WHITE) ? AIOverlay : AIOverlay.tint(colour);
 		}
-		return true; // If not returned yet, then all plots have been acquired
+	}
+	
+	/**
+	 * Creates a nine patch drawable (so that the border of the overlay is not stretched) from a region of the game atlas
+	 * @param regionName The name of the region of the game atlas that contains the overlay image
+	 * @return The overlay drawable
+	 */
+	private NinePatchDrawable createOverlay(String regionName){
+		// Same splits as were used by the old plot_overlays/*.pack files
+		return new NinePatchDrawable(new NinePatch(AssetRegistry.getInstance().getRegion(regionName), 23, 26, 18, 34));
 	}
 	
 	/**
@@ -223,7 +351,7 @@ public class PlotManager extends Table{
 				final int r = row;
 				final int c = column;
 				
-				ButtonWithIcon button = new ButtonWithIcon("", "plot_overlays/unacquired.pack", "unacquired", "unacquired",
+				ButtonWithIcon button = new ButtonWithIcon("", unacquiredOverlay, unacquiredOverlay,
 						new ClickListener(){
 							@Override
 							public void clicked(InputEvent event, float x, float y)
@@ -241,6 +369,15 @@ public class PlotManager extends Table{
 		}
 	}
 	
+	/**
+	 * Sets the log that every plot acquisition and roboticon placement is recorded in
+	 * @param eventLog The log (null to stop logging)
+	 */
+	@Override
+	public void setEventLog(GameEventLog eventLog){
+		headlessPlotManager.setEventLog(eventLog);
+	}
+	
 	/**
 	 * Returns the array of plots in use by this object
 	 * <p>
@@ -248,6 +385,7 @@ public class PlotManager extends Table{
 	 * </p>
 	 * @return The array of plots in use by this object
 	 */
+	@Override
 	public Plot[][] getPlots(){
 		return plots;
 	}
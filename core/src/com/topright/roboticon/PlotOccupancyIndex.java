@@ -0,0 +1,212 @@
+package com.topright.roboticon;
+
+import java.util.BitSet;
+import java.util.HashMap;
+
+/**
+ * Keeps track of which plots have not been acquired and which acquired plots do not have a roboticon on them
+ * <p>
+ * Plots are numbered row by row (plot number = row * number of columns + column). The plots that have not been acquired
+ * and the empty plots of each player (for each specialism) are stored in BitSets along with how many of them there are,
+ * so that these can be counted in constant time and found without looking at every plot in the grid.
+ * </p>
+ * <p>
+ * Each plot tells the index whenever it is acquired or has a roboticon placed on it, so the index stays up to date
+ * no matter how the plot is changed. A plot can only be tracked by one index (the most recently created one).
+ * </p>
+ */
+class PlotOccupancyIndex {
+	private final int columns; // The number of columns of plots (needed to convert plot numbers to rows and columns)
+	private final BitSet unacquiredPlots = new BitSet();
+	private int numberOfUnacquiredPlots = 0;
+	private final HashMap<Player, EmptyPlots> emptyPlots = new HashMap<Player, EmptyPlots>(); // The empty plots owned by each player
+
+	/**
+	 * The plots owned by a single player that do not have roboticons on them (for each specialism)
+	 */
+	private static class EmptyPlots {
+		private final BitSet[] plots = new BitSet[PlotSpecialism.values().length];
+		private final int[] numberOfPlots = new int[PlotSpecialism.values().length];
+
+		/**
+		 * Constructor
+		 */
+		EmptyPlots(){
+			for(int specialism = 0; specialism < plots.length; specialism++){
+				plots[specialism] = new BitSet();
+			}
+		}
+	}
+
+	/**
+	 * Constructor, indexes the plots as they currently are and asks every plot to report any changes to the index
+	 * @param plots The plots that are to be indexed
+	 */
+	PlotOccupancyIndex(Plot[][] plots){
+		columns = (plots.length == 0) ? 0 : plots[0].length;
+		for(int row = 0; row < plots.length; row++){
+			for(int column = 0; column < columns; column++){
+				Plot plot = plots[row][column];
+				int plotNumber = getPlotNumber(row, column);
+				add(plotNumber, plot.hasBeenAcquired() ? plot.getPlayer() : null, plot.hasRoboticon(), plot.getSpecialism());
+				plot.setOccupancyIndex(this, plotNumber);
+			}
+		}
+	}
+
+	/**
+	 * Constructor, indexes the plots in a store as they currently are and asks the store to report any changes to the index
+	 * @param store The store that holds the plots that are to be indexed
+	 */
+	PlotOccupancyIndex(PlotStore store){
+		columns = store.getColumns();
+		int numberOfPlots = store.getNumberOfPlots();
+		for(int plotNumber = 0; plotNumber < numberOfPlots; plotNumber++){
+			add(plotNumber, store.getPlayer(plotNumber), store.hasRoboticon(plotNumber), store.getSpecialism(plotNumber));
+		}
+		store.setOccupancyIndex(this);
+	}
+
+	/**
+	 * Called by a plot whenever it has been acquired or has had a roboticon placed on it
+	 * @param plotNumber The number of the plot
+	 * @param previousOwner The player who owned the plot before it changed (null if it had not been acquired)
+	 * @param previouslyHadRoboticon Whether or not the plot had a roboticon on it before it changed
+	 * @param plot The plot (as it is now)
+	 */
+	void plotChanged(int plotNumber, Player previousOwner, boolean previouslyHadRoboticon, Plot plot){
+		plotChanged(plotNumber, previousOwner, previouslyHadRoboticon, plot.getPlayer(), plot.hasRoboticon(), plot.getSpecialism());
+	}
+
+	/**
+	 * Called by a {@link PlotStore} whenever one of its plots has been acquired or has had a roboticon placed on it
+	 * @param plotNumber The number of the plot
+	 * @param previousOwner The player who owned the plot before it changed (null if it had not been acquired)
+	 * @param previouslyHadRoboticon Whether or not the plot had a roboticon on it before it changed
+	 * @param owner The player who owns the plot now (null if it has not been acquired)
+	 * @param hasRoboticon Whether or not the plot has a roboticon on it now
+	 * @param specialism The specialism of the plot
+	 */
+	void plotChanged(int plotNumber, Player previousOwner, boolean previouslyHadRoboticon, Player owner, boolean hasRoboticon, PlotSpecialism specialism){
+		remove(plotNumber, previousOwner, previouslyHadRoboticon, specialism);
+		add(plotNumber, owner, hasRoboticon, specialism);
+	}
+
+	/**
+	 * Adds a plot to the index
+	 * @param plotNumber The number of the plot
+	 * @param owner The player who owns the plot (null if it has not been acquired)
+	 * @param hasRoboticon Whether or not the plot has a roboticon on it
+	 * @param specialism The specialism of the plot
+	 */
+	private void add(int plotNumber, Player owner, boolean hasRoboticon, PlotSpecialism specialism){
+		if(owner == null){
+			if(!unacquiredPlots.get(plotNumber)){
+				unacquiredPlots.set(plotNumber);
+				numberOfUnacquiredPlots++;
+			}
+		}
+		else if(!hasRoboticon && specialism != null){
+			EmptyPlots ownersPlots = emptyPlots.get(owner);
+			if(ownersPlots == null){
+				ownersPlots = new EmptyPlots();
+				emptyPlots.put(owner, ownersPlots);
+			}
+			if(!ownersPlots.plots[specialism.ordinal()].get(plotNumber)){
+				ownersPlots.plots[specialism.ordinal()].set(plotNumber);
+				ownersPlots.numberOfPlots[specialism.ordinal()]++;
+			}
+		}
+	}
+
+	/**
+	 * Removes a plot from the index
+	 * @param plotNumber The number of the plot
+	 * @param owner The player who owned the plot (null if it had not been acquired)
+	 * @param hadRoboticon Whether or not the plot had a roboticon on it
+	 * @param specialism The specialism of the plot
+	 */
+	private void remove(int plotNumber, Player owner, boolean hadRoboticon, PlotSpecialism specialism){
+		if(owner == null){
+			if(unacquiredPlots.get(plotNumber)){
+				unacquiredPlots.clear(plotNumber);
+				numberOfUnacquiredPlots--;
+			}
+		}
+		else if(!hadRoboticon && specialism != null){
+			EmptyPlots ownersPlots = emptyPlots.get(owner);
+			if(ownersPlots != null && ownersPlots.plots[specialism.ordinal()].get(plotNumber)){
+				ownersPlots.plots[specialism.ordinal()].clear(plotNumber);
+				ownersPlots.numberOfPlots[specialism.ordinal()]--;
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of plots that have not been acquired
+	 * @return The number of plots that have not been acquired
+	 */
+	int getNumberOfUnacquiredPlots(){
+		return numberOfUnacquiredPlots;
+	}
+
+	/**
+	 * Returns the number of plots with a given specialism that are owned by a given player and do not have a roboticon on them
+	 * @param owner The player
+	 * @param specialism The specialism of the plots
+	 * @return The number of empty plots with the given specialism that the player owns
+	 */
+	int getNumberOfEmptyPlots(Player owner, PlotSpecialism specialism){
+		EmptyPlots ownersPlots = emptyPlots.get(owner);
+		return (ownersPlots == null) ? 0 : ownersPlots.numberOfPlots[specialism.ordinal()];
+	}
+
+	/**
+	 * Returns the number of the first plot (starting from a given plot number) that has not been acquired
+	 * @param fromPlotNumber The number of the plot to start looking from
+	 * @return The number of the first plot that has not been acquired or -1 if there is no such plot
+	 */
+	int findUnacquiredPlot(int fromPlotNumber){
+		return unacquiredPlots.nextSetBit(fromPlotNumber);
+	}
+
+	/**
+	 * Returns the number of the first plot (starting from a given plot number) with a given specialism that is owned by a given player and does not have a roboticon on it
+	 * @param owner The player
+	 * @param specialism The specialism of the plot
+	 * @param fromPlotNumber The number of the plot to start looking from
+	 * @return The number of the first empty plot with the given specialism that the player owns or -1 if there is no such plot
+	 */
+	int findEmptyPlot(Player owner, PlotSpecialism specialism, int fromPlotNumber){
+		EmptyPlots ownersPlots = emptyPlots.get(owner);
+		return (ownersPlots == null) ? -1 : ownersPlots.plots[specialism.ordinal()].nextSetBit(fromPlotNumber);
+	}
+
+	/**
+	 * Returns the number of the plot in the given row and column
+	 * @param row The row of the plot
+	 * @param column The column of the plot
+	 * @return The number of the plot
+	 */
+	int getPlotNumber(int row, int column){
+		return row*columns + column;
+	}
+
+	/**
+	 * Returns the row that the plot with the given number is in
+	 * @param plotNumber The number of the plot
+	 * @return The row that the plot is in
+	 */
+	int getRow(int plotNumber){
+		return plotNumber / columns;
+	}
+
+	/**
+	 * Returns the column that the plot with the given number is in
+	 * @param plotNumber The number of the plot
+	 * @return The column that the plot is in
+	 */
+	int getColumn(int plotNumber){
+		return plotNumber % columns;
+	}
+}
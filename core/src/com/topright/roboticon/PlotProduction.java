@@ -0,0 +1,118 @@
+package com.topright.roboticon;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Makes every plot produce resources for the player that owns it, producing the plots of large maps in parallel
+ * <p>
+ * The map is split into tiles, each made up of whole rows of plots and holding about {@link PlotProduction#PLOTS_PER_TILE} plots
+ * (whole rows are used because the plots of a row are next to each other in memory, square tiles were slower to walk through).
+ * The tiles are shared between the threads of a ForkJoinPool (by splitting the range of tiles in half until only one tile is left)
+ * and every tile records what it produced in its own {@link ProductionDeltas}. The deltas are merged as the tasks are joined
+ * and then added to the players' inventories on the calling thread, so the threads never contend on a player's inventory.
+ * </p>
+ * <p>
+ * Maps that fit in a single tile (including the standard 4 by 5 map) are produced on the calling thread. The result is always
+ * exactly the same as making each plot produce in turn.
+ * </p>
+ */
+final class PlotProduction {
+	static final int PLOTS_PER_TILE = 16384; // Tiles hold at least one row and otherwise no more than this many plots
+
+	private PlotProduction(){} // No instantiations
+
+	/**
+	 * Produces a range of tiles, splitting the range in half (to be shared between threads) if it contains more than one tile
+	 */
+	static class ProductionTask extends RecursiveTask<ProductionDeltas> {
+		private static final long serialVersionUID = 1L;
+		private final Plot[][] plots;
+		private final int rowsPerTile;
+		private final int firstTile;
+		private final int endTile; // One after the last tile in the range
+
+		/**
+		 * Constructor
+		 * @param plots Every plot on the map
+		 * @param rowsPerTile The number of rows of plots in each tile (the last tile may have fewer)
+		 * @param firstTile The number of the first tile to produce (the tile containing the first row is tile 0)
+		 * @param endTile One after the number of the last tile to produce
+		 */
+		ProductionTask(Plot[][] plots, int rowsPerTile, int firstTile, int endTile){
+			this.plots = plots;
+			this.rowsPerTile = rowsPerTile;
+			this.firstTile = firstTile;
+			this.endTile = endTile;
+		}
+
+		@Override
+		protected ProductionDeltas compute(){
+			if(endTile - firstTile == 1){
+				ProductionDeltas deltas = new ProductionDeltas();
+				int firstRow = firstTile * rowsPerTile;
+				produceRows(plots, firstRow, Math.min(plots.length, firstRow + rowsPerTile), deltas);
+				return deltas;
+			}
+
+			int middleTile = (firstTile + endTile) >>> 1;
+			ProductionTask firstHalf = new ProductionTask(plots, rowsPerTile, firstTile, middleTile);
+			ProductionTask secondHalf = new ProductionTask(plots, rowsPerTile, middleTile, endTile);
+			firstHalf.fork();
+			ProductionDeltas deltas = secondHalf.compute();
+			deltas.addAll(firstHalf.join());
+			return deltas;
+		}
+	}
+
+	/**
+	 * Makes every plot produce resources and adds them to the inventories of the players that own the plots
+	 * @param plots Every plot on the map
+	 * @param pool The pool whose threads produce large maps (null to use the common pool). If this is called from a thread
+	 * that belongs to a ForkJoinPool (e.g. while a {@link SimulationRunner} is playing games) then that pool is used instead.
+	 */
+	static void produceResources(Plot[][] plots, ForkJoinPool pool){
+		produce(plots, pool).apply();
+	}
+
+	/**
+	 * Works out the resources that every plot produces without adding them to any player's inventory
+	 * @param plots Every plot on the map
+	 * @param pool The pool whose threads produce large maps (null to use the common pool)
+	 * @return The resources produced for each player
+	 */
+	static ProductionDeltas produce(Plot[][] plots, ForkJoinPool pool){
+		if(plots.length == 0 || plots[0].length == 0){
+			return new ProductionDeltas();
+		}
+		int rowsPerTile = Math.max(1, PLOTS_PER_TILE / plots[0].length);
+		int numberOfTiles = (plots.length + rowsPerTile - 1) / rowsPerTile;
+		if(numberOfTiles == 1){
+			ProductionDeltas deltas = new ProductionDeltas();
+			produceRows(plots, 0, plots.length, deltas);
+			return deltas;
+		}
+
+		ProductionTask task = new ProductionTask(plots, rowsPerTile, 0, numberOfTiles);
+		if(ForkJoinTask.inForkJoinPool()){
+			return task.invoke(); // Shares the pool that this thread already belongs to (waiting on another pool would block this thread)
+		}
+		return ((pool == null) ? ForkJoinPool.commonPool() : pool).invoke(task);
+	}
+
+	/**
+	 * Produces the plots in a range of rows
+	 * @param plots Every plot on the map
+	 * @param firstRow The first row to produce
+	 * @param endRow One after the last row to produce
+	 * @param deltas Where the resources produced are recorded
+	 */
+	private static void produceRows(Plot[][] plots, int firstRow, int endRow, ProductionDeltas deltas){
+		for(int row = firstRow; row < endRow; row++){
+			for(Plot plot : plots[row]){
+				plot.produce(deltas);
+			}
+		}
+	}
+}
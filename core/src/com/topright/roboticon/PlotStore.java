@@ -0,0 +1,493 @@
+package com.topright.roboticon;
+
+import java.nio.ByteBuffer;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Stores every plot of a (very large) map in a single direct ByteBuffer rather than as a separate Plot object for each plot
+ * <p>
+ * Each plot takes {@link PlotStore#BYTES_PER_PLOT} bytes: the first holds the ordinal of its specialism and the customisation of the
+ * roboticon on it (0 if there isn't one, otherwise the ordinal of the customisation + 1), the second holds the number of the player
+ * that owns it (0 if it has not been acquired). Plots are numbered row by row (plot number = row * number of columns + column) in the same
+ * way as {@link PlotOccupancyIndex}. As the buffer is outside of the heap and holds no references the garbage collector never has to look
+ * through it, and producing resources reads the buffer in order instead of following a reference to each plot.
+ * </p>
+ * <p>
+ * Code that works with Plot objects (e.g. {@link RoboticonPlaceMenu} and {@link AIPlayer}) can still be given one, see
+ * {@link PlotStore#getPlot(int, int)}, which returns a view of a plot that reads and changes the plot in the store.
+ * </p>
+ */
+final class PlotStore {
+	static final int BYTES_PER_PLOT = 2;
+	static final int MAX_OWNERS = 255; // Owner numbers are stored in a single (unsigned) byte and 0 means not acquired
+
+	private static final int FLAGS = 0; // The offset of the specialism and roboticon of a plot
+	private static final int OWNER = 1; // The offset of the owner of a plot
+	private static final int SPECIALISM_MASK = 0x3; // Up to 4 specialisms
+	private static final int ROBOTICON_SHIFT = 2; // Up to 7 customisations (0 means no roboticon)
+	private static final int ROBOTICON_MASK = 0x7 << ROBOTICON_SHIFT;
+
+	private static final PlotSpecialism[] SPECIALISMS = PlotSpecialism.values();
+	private static final RoboticonCustomisation[] CUSTOMISATIONS = RoboticonCustomisation.values();
+
+	private final ByteBuffer plots;
+	private final int rows;
+	private final int columns;
+	private final ProductionRules productionRules;
+
+	// What each value of the flags byte produces (looked up once, so producing a plot is a single array read), null if nothing
+	private final int[][] yields = new int[256][];
+
+	private final Player[] owners = new Player[MAX_OWNERS+1]; // The player with each owner number (0 is not used)
+	private final Map<Player, Integer> ownerNumbers = new IdentityHashMap<Player, Integer>();
+	private int numberOfOwners = 0;
+
+	private PlotOccupancyIndex occupancyIndex = null; // Told whenever a plot is acquired or has a roboticon placed on it
+
+	/**
+	 * Constructor, every plot specialises in ore, has not been acquired and has no roboticon on it
+	 * @param rows The number of rows of plots
+	 * @param columns The number of columns of plots
+	 * @param productionRules Decides how much of each resource the roboticons on the plots produce
+	 */
+	PlotStore(int rows, int columns, ProductionRules productionRules){
+		if(rows <= 0){
+			throw new IllegalArgumentException("rows must be > 0 rows = "+rows);
+		}
+		if(columns <= 0){
+			throw new IllegalArgumentException("columns must be > 0 columns = "+columns);
+		}
+		if((long)rows * columns * BYTES_PER_PLOT > Integer.MAX_VALUE){
+			throw new IllegalArgumentException("Too many plots to store rows = "+rows+" columns = "+columns);
+		}
+		if(productionRules == null){
+			throw new IllegalArgumentException("productionRules must not be null");
+		}
+		this.rows = rows;
+		this.columns = columns;
+		this.productionRules = productionRules;
+		plots = ByteBuffer.allocateDirect(rows * columns * BYTES_PER_PLOT); // Every byte starts as 0 (ore, no roboticon, not acquired)
+
+		for(PlotSpecialism specialism : SPECIALISMS){
+			for(RoboticonCustomisation customisation : CUSTOMISATIONS){
+				yields[packFlags(specialism, customisation)] = productionRules.getYield(customisation, specialism);
+			}
+		}
+	}
+
+	/**
+	 * Creates a store of plots whose specialisms are chosen in the same way as {@link CreatePlots#createPlots(int, int, GameRandom)}
+	 * (so the same seed gives the same map) that produce according to the default {@link ProductionRules}
+	 * @param rows The number of rows of plots that is required
+	 * @param columns The number of columns of plots that is required
+	 * @param random Chooses the specialism of each plot
+	 * @return The new store
+	 */
+	static PlotStore create(int rows, int columns, GameRandom random){
+		if(random == null){
+			throw new IllegalArgumentException("random must not be null");
+		}
+		PlotStore store = new PlotStore(rows, columns, ProductionRules.getDefault());
+		PlotSpecialism[] specialismChoice = {PlotSpecialism.ORE,PlotSpecialism.ENERGY}; // The same order as CreatePlots
+		int numberOfPlots = store.getNumberOfPlots();
+		for(int plotNumber = 0; plotNumber < numberOfPlots; plotNumber++){
+			store.setSpecialism(plotNumber, specialismChoice[random.nextInt(specialismChoice.length)]);
+		}
+		return store;
+	}
+
+	/**
+	 * Creates a store that holds a copy of the given plots (including who owns them and their roboticons) that produces according to the default {@link ProductionRules}
+	 * @param plots The plots
+	 * @return The new store
+	 */
+	static PlotStore copyOf(Plot[][] plots){
+		if(plots == null || plots.length == 0){
+			throw new IllegalArgumentException("There must be at least one row of plots");
+		}
+		PlotStore store = new PlotStore(plots.length, plots[0].length, ProductionRules.getDefault());
+		for(int row = 0; row < plots.length; row++){
+			for(int column = 0; column < plots[row].length; column++){
+				Plot plot = plots[row][column];
+				int plotNumber = store.getPlotNumber(row, column);
+				store.setSpecialism(plotNumber, plot.getSpecialism());
+				if(plot.hasBeenAcquired()){
+					store.setPlayer(plotNumber, plot.getPlayer());
+				}
+				if(plot.hasRoboticon()){
+					store.placeRoboticon(plotNumber, plot.getRoboticon());
+				}
+			}
+		}
+		return store;
+	}
+
+	/**
+	 * Returns the value of the flags byte of a plot with the given specialism and roboticon
+	 * @param specialism The specialism of the plot
+	 * @param roboticon The customisation of the roboticon on the plot (null if there isn't one)
+	 * @return The value of the flags byte
+	 */
+	private static int packFlags(PlotSpecialism specialism, RoboticonCustomisation roboticon){
+		int roboticonNumber = (roboticon == null) ? 0 : roboticon.ordinal()+1;
+		return specialism.ordinal() | (roboticonNumber << ROBOTICON_SHIFT);
+	}
+
+	/**
+	 * Returns the flags byte of a plot
+	 * @param plotNumber The number of the plot
+	 * @return The flags byte of the plot (as an unsigned value)
+	 */
+	private int getFlags(int plotNumber){
+		return plots.get(plotNumber*BYTES_PER_PLOT + FLAGS) & 0xFF;
+	}
+
+	/**
+	 * Returns the owner number of a plot
+	 * @param plotNumber The number of the plot
+	 * @return The owner number of the plot (0 if it has not been acquired)
+	 */
+	private int getOwnerNumber(int plotNumber){
+		return plots.get(plotNumber*BYTES_PER_PLOT + OWNER) & 0xFF;
+	}
+
+	/**
+	 * Returns the number of rows of plots
+	 * @return The number of rows of plots
+	 */
+	int getRows(){
+		return rows;
+	}
+
+	/**
+	 * Returns the number of columns of plots
+	 * @return The number of columns of plots
+	 */
+	int getColumns(){
+		return columns;
+	}
+
+	/**
+	 * Returns the number of plots in the store
+	 * @return The number of plots
+	 */
+	int getNumberOfPlots(){
+		return rows * columns;
+	}
+
+	/**
+	 * Returns the number of bytes used to store the plots (outside of the heap)
+	 * @return The number of bytes used to store the plots
+	 */
+	int getSizeInBytes(){
+		return plots.capacity();
+	}
+
+	/**
+	 * Returns the number of the plot in the given row and column
+	 * @param row The row of the plot
+	 * @param column The column of the plot
+	 * @return The number of the plot
+	 */
+	int getPlotNumber(int row, int column){
+		if(row < 0 || row >= rows || column < 0 || column >= columns){
+			throw new IllegalArgumentException("No such plot row = "+row+" column = "+column);
+		}
+		return row*columns + column;
+	}
+
+	/**
+	 * Returns the production rules that the plots produce resources according to
+	 * @return The production rules
+	 */
+	ProductionRules getProductionRules(){
+		return productionRules;
+	}
+
+	/**
+	 * Sets the index that is to be told whenever a plot is acquired or has a roboticon placed on it (replaces any index that was previously set)
+	 * @param occupancyIndex The index
+	 */
+	void setOccupancyIndex(PlotOccupancyIndex occupancyIndex){
+		this.occupancyIndex = occupancyIndex;
+	}
+
+	/**
+	 * Returns the resource type that a plot is best at producing
+	 * @param plotNumber The number of the plot
+	 * @return The specialism of the plot
+	 */
+	PlotSpecialism getSpecialism(int plotNumber){
+		return SPECIALISMS[getFlags(plotNumber) & SPECIALISM_MASK];
+	}
+
+	/**
+	 * Sets the resource type that a plot is best at producing (only used while the store is being filled in)
+	 * @param plotNumber The number of the plot
+	 * @param specialism The specialism of the plot
+	 */
+	private void setSpecialism(int plotNumber, PlotSpecialism specialism){
+		if(specialism == null){
+			throw new IllegalArgumentException("specialism must not be null");
+		}
+		int flags = getFlags(plotNumber);
+		plots.put(plotNumber*BYTES_PER_PLOT + FLAGS, (byte)((flags & ~SPECIALISM_MASK) | specialism.ordinal()));
+	}
+
+	/**
+	 * Returns the customisation of the roboticon on a plot
+	 * @param plotNumber The number of the plot
+	 * @return The customisation of the roboticon on the plot (null if there isn't one)
+	 */
+	RoboticonCustomisation getRoboticon(int plotNumber){
+		int roboticonNumber = (getFlags(plotNumber) & ROBOTICON_MASK) >>> ROBOTICON_SHIFT;
+		return (roboticonNumber == 0) ? null : CUSTOMISATIONS[roboticonNumber-1];
+	}
+
+	/**
+	 * Returns true if a plot has a roboticon on it and false otherwise
+	 * @param plotNumber The number of the plot
+	 * @return true if the plot has a roboticon on it and false otherwise
+	 */
+	boolean hasRoboticon(int plotNumber){
+		return (getFlags(plotNumber) & ROBOTICON_MASK) != 0;
+	}
+
+	/**
+	 * Sets the customisation of the roboticon on a plot (equivalent to placing a roboticon on the plot)
+	 * @param plotNumber The number of the plot
+	 * @param roboticon The customisation of the roboticon
+	 */
+	void placeRoboticon(int plotNumber, RoboticonCustomisation roboticon){
+		int flags = getFlags(plotNumber);
+		boolean hadRoboticon = (flags & ROBOTICON_MASK) != 0;
+		PlotSpecialism specialism = SPECIALISMS[flags & SPECIALISM_MASK];
+		plots.put(plotNumber*BYTES_PER_PLOT + FLAGS, (byte)packFlags(specialism, roboticon));
+		if(occupancyIndex != null){
+			Player owner = getPlayer(plotNumber);
+			occupancyIndex.plotChanged(plotNumber, owner, hadRoboticon, owner, roboticon != null, specialism);
+		}
+	}
+
+	/**
+	 * Returns the player that owns a plot
+	 * @param plotNumber The number of the plot
+	 * @return The player that owns the plot (null if it has not been acquired)
+	 */
+	Player getPlayer(int plotNumber){
+		return owners[getOwnerNumber(plotNumber)]; // owners[0] is always null
+	}
+
+	/**
+	 * Returns true if a plot has been acquired and false otherwise
+	 * @param plotNumber The number of the plot
+	 * @return true if the plot has been acquired and false otherwise
+	 */
+	boolean hasBeenAcquired(int plotNumber){
+		return getOwnerNumber(plotNumber) != 0;
+	}
+
+	/**
+	 * Sets the player that owns a plot (to be called when a player acquires the plot)
+	 * @param plotNumber The number of the plot
+	 * @param player The player who owns the plot
+	 */
+	void setPlayer(int plotNumber, Player player){
+		if(hasBeenAcquired(plotNumber)){
+			throw new IllegalArgumentException("Cannot acquire a plot that has already been acquired!");
+		}
+		if(player == null){
+			return; // The plot stays unacquired (in the same way as a Plot given a null player)
+		}
+		plots.put(plotNumber*BYTES_PER_PLOT + OWNER, (byte)assignOwnerNumber(player));
+		if(occupancyIndex != null){
+			occupancyIndex.plotChanged(plotNumber, null, hasRoboticon(plotNumber), player, hasRoboticon(plotNumber), getSpecialism(plotNumber));
+		}
+	}
+
+	/**
+	 * Returns the owner number of the given player, giving them the next number if they do not own any plots yet
+	 * @param player The player
+	 * @return The player's owner number
+	 */
+	private int assignOwnerNumber(Player player){
+		Integer ownerNumber = ownerNumbers.get(player);
+		if(ownerNumber == null){
+			if(numberOfOwners == MAX_OWNERS){
+				throw new IllegalStateException("A store of plots can not have more than "+MAX_OWNERS+" owners");
+			}
+			numberOfOwners++;
+			ownerNumber = numberOfOwners;
+			owners[numberOfOwners] = player;
+			ownerNumbers.put(player, ownerNumber);
+		}
+		return ownerNumber;
+	}
+
+	/**
+	 * Returns the number of players that own at least one plot
+	 * @return The number of owners
+	 */
+	int getNumberOfOwners(){
+		return numberOfOwners;
+	}
+
+	/**
+	 * Returns a view of a plot
+	 * <p>
+	 * The view holds no information of its own, reading it or changing it reads or changes the plot in the store. Views of the same
+	 * plot are equal to each other. Views are cheap to create but are not needed to produce resources, acquire plots or place roboticons.
+	 * </p>
+	 * @param row The row of the plot
+	 * @param column The column of the plot
+	 * @return A view of the plot
+	 */
+	Plot getPlot(int row, int column){
+		return new PlotView(this, getPlotNumber(row, column));
+	}
+
+	/**
+	 * Records the resources that a plot produces in the given deltas
+	 * @param plotNumber The number of the plot
+	 * @param deltas Where the resources produced are recorded
+	 */
+	void produce(int plotNumber, ProductionDeltas deltas){
+		int ownerNumber = getOwnerNumber(plotNumber);
+		int[] yield = yields[getFlags(plotNumber)];
+		if(ownerNumber != 0 && yield != null){
+			deltas.add(owners[ownerNumber], yield[ProductionRules.ORE], yield[ProductionRules.ENERGY]);
+		}
+	}
+
+	/**
+	 * Works out the resources that every plot produces without adding them to any player's inventory
+	 * <p>
+	 * Reads the store in order, adding up what each owner produces in arrays indexed by owner number.
+	 * </p>
+	 * @return The resources produced for each player
+	 */
+	ProductionDeltas produce(){
+		int[] ore = new int[numberOfOwners+1];
+		int[] energy = new int[numberOfOwners+1];
+		int end = getNumberOfPlots() * BYTES_PER_PLOT;
+		for(int offset = 0; offset < end; offset += BYTES_PER_PLOT){
+			int ownerNumber = plots.get(offset + OWNER) & 0xFF;
+			if(ownerNumber != 0){
+				int[] yield = yields[plots.get(offset + FLAGS) & 0xFF];
+				if(yield != null){
+					ore[ownerNumber] += yield[ProductionRules.ORE];
+					energy[ownerNumber] += yield[ProductionRules.ENERGY];
+				}
+			}
+		}
+
+		ProductionDeltas deltas = new ProductionDeltas();
+		for(int ownerNumber = 1; ownerNumber <= numberOfOwners; ownerNumber++){
+			if(ore[ownerNumber] > 0 || energy[ownerNumber] > 0){
+				deltas.add(owners[ownerNumber], ore[ownerNumber], energy[ownerNumber]);
+			}
+		}
+		return deltas;
+	}
+
+	/**
+	 * Makes every plot produce resources and adds them to the inventories of the players that own the plots
+	 */
+	void produceResources(){
+		produce().apply();
+	}
+
+	/**
+	 * A plot that is stored in a PlotStore (a flyweight that only knows which plot of which store it is)
+	 */
+	static class PlotView extends Plot {
+		private final PlotStore store;
+		private final int plotNumber;
+
+		/**
+		 * Constructor
+		 * @param store The store that holds the plot
+		 * @param plotNumber The number of the plot in the store
+		 */
+		PlotView(PlotStore store, int plotNumber){
+			super(null, store.getProductionRules()); // The specialism is read from the store
+			this.store = store;
+			this.plotNumber = plotNumber;
+		}
+
+		@Override
+		public void placeRoboticon(RoboticonCustomisation roboticonCustomisation){
+			store.placeRoboticon(plotNumber, roboticonCustomisation);
+		}
+
+		@Override
+		public void setPlayer(Player player){
+			store.setPlayer(plotNumber, player);
+		}
+
+		/**
+		 * Sets the index of the store that holds this plot (every plot in a store shares the store's index)
+		 * @param occupancyIndex The index
+		 * @param plotNumber The number of this plot in the index (the same as its number in the store)
+		 */
+		@Override
+		void setOccupancyIndex(PlotOccupancyIndex occupancyIndex, int plotNumber){
+			if(plotNumber != this.plotNumber){
+				throw new IllegalArgumentException("A plot must have the same number in its index as in its store");
+			}
+			store.setOccupancyIndex(occupancyIndex);
+		}
+
+		@Override
+		public boolean hasBeenAcquired(){
+			return store.hasBeenAcquired(plotNumber);
+		}
+
+		@Override
+		public Player getPlayer(){
+			return store.getPlayer(plotNumber);
+		}
+
+		@Override
+		public RoboticonCustomisation getRoboticon(){
+			return store.getRoboticon(plotNumber);
+		}
+
+		@Override
+		public boolean hasRoboticon(){
+			return store.hasRoboticon(plotNumber);
+		}
+
+		@Override
+		public PlotSpecialism getSpecialism(){
+			return store.getSpecialism(plotNumber);
+		}
+
+		@Override
+		public void produce(){
+			ProductionDeltas deltas = new ProductionDeltas();
+			store.produce(plotNumber, deltas);
+			deltas.apply();
+		}
+
+		@Override
+		void produce(ProductionDeltas deltas){
+			store.produce(plotNumber, deltas);
+		}
+
+		@Override
+		public boolean equals(Object other){
+			if(!(other instanceof PlotView)){
+				return false;
+			}
+			PlotView otherView = (PlotView)other;
+			return otherView.store == store && otherView.plotNumber == plotNumber;
+		}
+
+		@Override
+		public int hashCode(){
+			return System.identityHashCode(store)*31 + plotNumber;
+		}
+	}
+}
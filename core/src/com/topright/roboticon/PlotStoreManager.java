@@ -0,0 +1,222 @@
+package com.topright.roboticon;
+
+/**
+ * Manages the plots held in a {@link PlotStore} and allows Players to acquire plots and place roboticons on them without any GUI
+ * <p>
+ * Follows the same rules as {@link HeadlessPlotManager} but is meant for simulations of very large maps (millions of plots), where
+ * creating a Plot object for every plot would fill the heap. Plots are acquired, have roboticons placed on them and produce resources
+ * directly in the store, Plot objects are only created when they are asked for (see {@link PlotStoreManager#getPlots()}).
+ * </p>
+ */
+class PlotStoreManager implements PlotGrid{
+	private final PlotStore store;
+	private Plot[][] plots = null; // Views of every plot (only created if they are asked for)
+	private Player currentPlayer = null;
+	private final PlotOccupancyIndex occupancyIndex;
+	private GameEventLog eventLog = null; // Records every acquisition and placement (if the game is being logged)
+
+	/**
+	 * Constructor.
+	 * @param store The store that holds the plots that the players can interact with
+	 */
+	PlotStoreManager(PlotStore store){
+		if(store == null){
+			throw new IllegalArgumentException("store must not be null");
+		}
+		this.store = store;
+		occupancyIndex = new PlotOccupancyIndex(store);
+	}
+
+	/**
+	 * Returns the store that holds the plots
+	 * @return The store that holds the plots
+	 */
+	PlotStore getPlotStore(){
+		return store;
+	}
+
+	/**
+	 * Returns views of every plot (see {@link PlotStore#getPlot(int, int)})
+	 * <p>
+	 * The views are created the first time that this is called, which creates a (small) object for every plot, so this should be
+	 * avoided for very large maps. Neither the {@link GameEngine} nor the default AI players ({@link GreedyStrategy}) call this, strategies
+	 * that look at the specialisms of the plots that they choose (e.g. {@link SpecialismAwareStrategy}) do.
+	 * </p>
+	 * @return The 2D array of views of the plots
+	 */
+	@Override
+	public Plot[][] getPlots(){
+		if(plots == null){
+			plots = new Plot[store.getRows()][store.getColumns()];
+			for(int row = 0; row < plots.length; row++){
+				for(int column = 0; column < plots[row].length; column++){
+					plots[row][column] = store.getPlot(row, column);
+				}
+			}
+		}
+		return plots;
+	}
+
+	/**
+	 * Set the current player (this information is needed by some other methods).
+	 * @param player The current player.
+	 */
+	@Override
+	public void setCurrentPlayer(Player player){
+		currentPlayer = player;
+	}
+
+	/**
+	 * Returns the current player
+	 * @return The current player
+	 */
+	public Player getCurrentPlayer(){
+		return currentPlayer;
+	}
+
+	/**
+	 * Sets the log that every plot acquisition and roboticon placement is recorded in
+	 * @param eventLog The log (null to stop logging)
+	 */
+	@Override
+	public void setEventLog(GameEventLog eventLog){
+		this.eventLog = eventLog;
+	}
+
+	/**
+	 * Called if a plot is to be acquired by the current player.
+	 * @param row The row number of the plot.
+	 * @param column The column number of the plot.
+	 * @return true if the plot was acquired and false if it had already been acquired
+	 */
+	@Override
+	public boolean acquirePlot(int row, int column){
+		int plotNumber = store.getPlotNumber(row, column);
+		if(!store.hasBeenAcquired(plotNumber)){
+			store.setPlayer(plotNumber, currentPlayer);
+			if(eventLog != null){
+				eventLog.plotAcquired(currentPlayer, row, column);
+			}
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Tries to place a roboticon of a given customisation (belonging to the current player) on a given plot
+	 * @param plotColumn The column number of the plot on which the roboticon is to be placed
+	 * @param plotRow The row number of the plot on which the roboticon is to be placed
+	 * @param customisation The customisation type of the roboticon that is to be placed
+	 * @return true if a roboticon was placed and false otherwise
+	 */
+	public boolean placeRoboticon(int plotColumn, int plotRow, RoboticonCustomisation customisation){
+		if(currentPlayer.attemptToPlaceRoboticon(store.getPlot(plotRow, plotColumn), customisation)){
+			if(eventLog != null){
+				eventLog.roboticonPlaced(currentPlayer, plotRow, plotColumn, customisation);
+			}
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Tries to place an energy roboticon at the chosen plot
+	 * @param plotColumn The column number of the plot
+	 * @param plotRow The row number of the plot
+	 * @return true if a roboticon was placed and false otherwise
+	 */
+	@Override
+	public boolean placeEnergyRoboticon(int plotColumn, int plotRow){
+		return placeRoboticon(plotColumn,plotRow,RoboticonCustomisation.ENERGY);
+	}
+
+	/**
+	 * Tries to place an ore roboticon at the chosen plot
+	 * @param plotColumn The column number of the plot
+	 * @param plotRow The row number of the plot
+	 * @return true if a roboticon was placed and false otherwise
+	 */
+	@Override
+	public boolean placeOreRoboticon(int plotColumn, int plotRow){
+		return placeRoboticon(plotColumn,plotRow,RoboticonCustomisation.ORE);
+	}
+
+	/**
+	 * Triggers all plots to produce resources for their players.
+	 */
+	@Override
+	public void produceResources(){
+		store.produceResources();
+	}
+
+	/**
+	 * Returns true if every plot has already been acquired by some player.
+	 * @return Whether or not every plot has already been acquired.
+	 */
+	@Override
+	public boolean allPlotsAquired(){
+		return occupancyIndex.getNumberOfUnacquiredPlots() == 0;
+	}
+
+	/**
+	 * Returns the number of plots that have not been acquired by any player
+	 * @return The number of plots that have not been acquired
+	 */
+	@Override
+	public int getNumberOfUnacquiredPlots(){
+		return occupancyIndex.getNumberOfUnacquiredPlots();
+	}
+
+	/**
+	 * Returns the number of plots with a given specialism that are owned by a given player and do not have a roboticon on them
+	 * @param owner The player who owns the plots
+	 * @param specialism The specialism of the plots
+	 * @return The number of empty plots with the given specialism that the player owns
+	 */
+	@Override
+	public int getNumberOfEmptyPlots(Player owner, PlotSpecialism specialism){
+		return occupancyIndex.getNumberOfEmptyPlots(owner, specialism);
+	}
+
+	/**
+	 * Returns the number of the first plot (starting from a given plot number) that has not been acquired
+	 * @param fromPlotNumber The number of the plot to start looking from
+	 * @return The number of the first plot that has not been acquired or -1 if there is no such plot
+	 */
+	@Override
+	public int findUnacquiredPlot(int fromPlotNumber){
+		return occupancyIndex.findUnacquiredPlot(fromPlotNumber);
+	}
+
+	/**
+	 * Returns the number of the first plot (starting from a given plot number) with a given specialism that is owned by a given player and does not have a roboticon on it
+	 * @param owner The player who owns the plot
+	 * @param specialism The specialism of the plot
+	 * @param fromPlotNumber The number of the plot to start looking from
+	 * @return The number of the first empty plot with the given specialism that the player owns or -1 if there is no such plot
+	 */
+	@Override
+	public int findEmptyPlot(Player owner, PlotSpecialism specialism, int fromPlotNumber){
+		return occupancyIndex.findEmptyPlot(owner, specialism, fromPlotNumber);
+	}
+
+	/**
+	 * Returns the row that the plot with the given number is in
+	 * @param plotNumber The number of the plot
+	 * @return The row that the plot is in
+	 */
+	@Override
+	public int getPlotRow(int plotNumber){
+		return occupancyIndex.getRow(plotNumber);
+	}
+
+	/**
+	 * Returns the column that the plot with the given number is in
+	 * @param plotNumber The number of the plot
+	 * @return The column that the plot is in
+	 */
+	@Override
+	public int getPlotColumn(int plotNumber){
+		return occupancyIndex.getColumn(plotNumber);
+	}
+}
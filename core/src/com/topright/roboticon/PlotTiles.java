@@ -0,0 +1,146 @@
+package com.topright.roboticon;
+
+import java.util.Collections;
+
+/**
+ * The state of every plot that is needed to draw a map of plots, stored as a struct of arrays
+ * <p>
+ * Each array holds one byte per plot (plots are numbered row by row, plot number = row * number of columns + column),
+ * so a map of 1000x1000 plots needs 3MB rather than a Scene2D button (with its own style, labels and listener) for every plot.
+ * Drawing a large part of the map reads through these arrays in order instead of visiting every Plot object.
+ * </p>
+ * <p>
+ * The owner of each plot is stored as an unsigned byte, given to each player by {@link PlayerColours} (the first AI player is
+ * always AI_OWNER and any other AI players follow on from it).
+ * </p>
+ */
+class PlotTiles {
+	static final byte NO_OWNER = 0;
+	static final byte HUMAN_OWNER = 1;
+	static final byte AI_OWNER = 2;
+	
+	private static final byte NO_ROBOTICON = 0; // Otherwise the ordinal of the roboticon's customisation + 1
+	private static final PlotSpecialism[] SPECIALISMS = PlotSpecialism.values(); // values() creates a new array every time it is called
+	private static final RoboticonCustomisation[] CUSTOMISATIONS = RoboticonCustomisation.values();
+	
+	private final int rows;
+	private final int columns;
+	private final byte[] specialisms; // The ordinal of the specialism of each plot
+	private final byte[] owners; // NO_OWNER, HUMAN_OWNER or the owner number of an AI player (unsigned) for each plot
+	private final int numberOfOwners; // Owner numbers go from 0 to this - 1
+	private final byte[] roboticons; // The roboticon on each plot
+	
+	/**
+	 * Constructor, copies the state of the given plots
+	 * @param plots The plots
+	 * @param humanPlayer The human player (every other player that owns a plot is treated as the first AI player)
+	 */
+	PlotTiles(Plot[][] plots, Player humanPlayer){
+		this(plots, new PlayerColours(Collections.<Player>emptyList(), humanPlayer));
+	}
+	
+	/**
+	 * Constructor, copies the state of the given plots
+	 * @param plots The plots
+	 * @param playerColours Gives the owner number of each player that owns a plot
+	 */
+	PlotTiles(Plot[][] plots, PlayerColours playerColours){
+		if(plots.length == 0 || plots[0].length == 0){
+			throw new IllegalArgumentException("There must be at least one plot!");
+		}
+		rows = plots.length;
+		columns = plots[0].length;
+		specialisms = new byte[rows*columns];
+		owners = new byte[rows*columns];
+		roboticons = new byte[rows*columns];
+		numberOfOwners = playerColours.getNumberOfOwners();
+		
+		for(int row = 0; row < rows; row++){
+			for(int column = 0; column < columns; column++){
+				Plot plot = plots[row][column];
+				int plotNumber = getPlotNumber(row, column);
+				specialisms[plotNumber] = (byte)plot.getSpecialism().ordinal();
+				if(plot.hasBeenAcquired()){
+					owners[plotNumber] = (byte)playerColours.getOwnerNumber(plot.getPlayer());
+				}
+				if(plot.hasRoboticon()){
+					setRoboticon(plotNumber, plot.getRoboticon());
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Returns the number of rows of plots
+	 * @return The number of rows of plots
+	 */
+	int getRows(){
+		return rows;
+	}
+	
+	/**
+	 * Returns the number of columns of plots
+	 * @return The number of columns of plots
+	 */
+	int getColumns(){
+		return columns;
+	}
+	
+	/**
+	 * Returns the number of the plot in the given row and column
+	 * @param row The row of the plot
+	 * @param column The column of the plot
+	 * @return The number of the plot
+	 */
+	int getPlotNumber(int row, int column){
+		return row*columns + column;
+	}
+	
+	/**
+	 * Returns the specialism of a plot
+	 * @param plotNumber The number of the plot
+	 * @return The specialism of the plot
+	 */
+	PlotSpecialism getSpecialism(int plotNumber){
+		return SPECIALISMS[specialisms[plotNumber]];
+	}
+	
+	/**
+	 * Returns who owns a plot
+	 * @param plotNumber The number of the plot
+	 * @return NO_OWNER, HUMAN_OWNER or the owner number of an AI player
+	 */
+	int getOwner(int plotNumber){
+		return owners[plotNumber] & 0xFF;
+	}
+	
+	/**
+	 * Sets who owns a plot
+	 * @param plotNumber The number of the plot
+	 * @param owner NO_OWNER, HUMAN_OWNER or the owner number of an AI player
+	 */
+	void setOwner(int plotNumber, int owner){
+		if(owner < 0 || owner >= numberOfOwners){
+			throw new IllegalArgumentException("Invalid owner "+owner);
+		}
+		owners[plotNumber] = (byte)owner;
+	}
+	
+	/**
+	 * Returns the customisation of the roboticon on a plot
+	 * @param plotNumber The number of the plot
+	 * @return The customisation of the roboticon on the plot (null if there is no roboticon on the plot)
+	 */
+	RoboticonCustomisation getRoboticon(int plotNumber){
+		return (roboticons[plotNumber] == NO_ROBOTICON) ? null : CUSTOMISATIONS[roboticons[plotNumber]-1];
+	}
+	
+	/**
+	 * Sets the customisation of the roboticon on a plot
+	 * @param plotNumber The number of the plot
+	 * @param customisation The customisation of the roboticon (null if there is no roboticon on the plot)
+	 */
+	void setRoboticon(int plotNumber, RoboticonCustomisation customisation){
+		roboticons[plotNumber] = (customisation == null) ? NO_ROBOTICON : (byte)(customisation.ordinal()+1);
+	}
+}
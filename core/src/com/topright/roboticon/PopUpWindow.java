@@ -15,7 +15,7 @@ public class PopUpWindow extends Window{
 	 * @param titleText The title of the window
 	 */
 	public PopUpWindow(String titleText){
-		super(titleText, new Skin(Gdx.files.internal("uiskin.json")));
+		super(titleText, AssetRegistry.getInstance().getSkin());
 		setResizable(false);
 	}
 	
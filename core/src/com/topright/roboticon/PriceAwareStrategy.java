@@ -0,0 +1,127 @@
+package com.topright.roboticon;
+
+/**
+ * An AI strategy that holds on to resources while the market is paying less for them than it has done before
+ * <p>
+ * Remembers the most that the market has paid for a single unit of each resource during the game and only sells a unit while the
+ * market pays at least a given percentage of that. Everything is sold in the last market phase of the game (as resources
+ * that are still held at the end of the game are worth nothing). Plots and roboticons are handled in the same way as {@link GreedyStrategy}.
+ * </p>
+ * <p>
+ * While the market pays much less than that (so the resource can later be sold on for more), it also places buy orders that pay a
+ * little more than the market does, so that other players would rather sell to it than to the market. At most
+ * {@value #BID_MONEY_PERCENT}% of its money is bid on each resource.
+ * </p>
+ */
+class PriceAwareStrategy extends GreedyStrategy {
+	static final int DEFAULT_SELL_PERCENT = 90;
+	static final int BID_MONEY_PERCENT = 25; // The most of its money that is bid on each resource
+	
+	private final int sellPercent;
+	private int bestOrePrice = 0; // The most that the market has paid for one ore so far
+	private int bestEnergyPrice = 0; // The most that the market has paid for one energy so far
+	private PlotGrid plotGrid = null; // Needed to tell whether or not this is the last market phase
+	
+	/**
+	 * Constructor, sells while the market pays at least {@value #DEFAULT_SELL_PERCENT}% of the best price seen
+	 */
+	PriceAwareStrategy(){
+		this(DEFAULT_SELL_PERCENT);
+	}
+	
+	/**
+	 * Constructor
+	 * @param sellPercent Resources are sold while the market pays at least this percentage of the best price seen so far
+	 */
+	PriceAwareStrategy(int sellPercent){
+		if(sellPercent < 0 || sellPercent > 100){
+			throw new IllegalArgumentException("sellPercent must be between 0 and 100 sellPercent = "+sellPercent);
+		}
+		this.sellPercent = sellPercent;
+	}
+	
+	@Override
+	public String getName(){
+		return "price";
+	}
+	
+	@Override
+	public void buyRoboticons(AIPlayer player, PlotGrid plotManager){
+		plotGrid = plotManager;
+		super.buyRoboticons(player, plotManager);
+	}
+	
+	/**
+	 * Places a buy order for each resource that the market pays little enough for that it could later be sold on for more
+	 * @param player The player that is making the decision
+	 */
+	@Override
+	public void placeOrders(AIPlayer player){
+		updateBestPrices(player.getMarket());
+		if(plotGrid == null || plotGrid.allPlotsAquired()){
+			return; // Anything bought now could never be sold
+		}
+		
+		int moneyToBid = player.getMoneyQuantity() * BID_MONEY_PERCENT / 100;
+		placeBuyOrder(player, PlotSpecialism.ORE, player.getMarket().getSaleValueOre(1), bestOrePrice, moneyToBid);
+		placeBuyOrder(player, PlotSpecialism.ENERGY, player.getMarket().getSaleValueEnergy(1), bestEnergyPrice, moneyToBid);
+	}
+	
+	/**
+	 * Places an order to buy a resource for one more than the market pays for it, if that is less than the price it would be sold at
+	 * @param player The player that is making the decision
+	 * @param resource The resource to buy
+	 * @param marketPrice The price that the market pays for one unit of the resource
+	 * @param bestPrice The most that the market has paid for one unit of the resource
+	 * @param moneyToBid The most that may be spent
+	 */
+	private void placeBuyOrder(AIPlayer player, PlotSpecialism resource, int marketPrice, int bestPrice, int moneyToBid){
+		int limitPrice = marketPrice + 1;
+		if(limitPrice*100 >= bestPrice*sellPercent){ // Would be sold straight back for no more than was paid
+			return;
+		}
+		int quantity = moneyToBid / limitPrice;
+		if(quantity > 0){
+			player.attemptToPlaceBuyOrder(resource, quantity, limitPrice);
+		}
+	}
+	
+	/**
+	 * Remembers the most that the market has paid for a single unit of each resource
+	 * @param market The market
+	 */
+	private void updateBestPrices(Market market){
+		bestOrePrice = Math.max(bestOrePrice, market.getSaleValueOre(1));
+		bestEnergyPrice = Math.max(bestEnergyPrice, market.getSaleValueEnergy(1));
+	}
+	
+	@Override
+	public void buyAndSellResources(AIPlayer player){
+		Market market = player.getMarket();
+		updateBestPrices(market);
+		if(plotGrid == null || plotGrid.allPlotsAquired()){
+			super.buyAndSellResources(player); // The last chance to sell anything
+			return;
+		}
+		
+		// Sell one unit at a time as each sale lowers the price of the next
+		while(player.getOreQuantity() > 0 && market.getSaleValueOre(1)*100 >= bestOrePrice*sellPercent){
+			if(!player.attemptToSellOre(1)){
+				break;
+			}
+		}
+		while(player.getEnergyQuantity() > 0 && market.getSaleValueEnergy(1)*100 >= bestEnergyPrice*sellPercent){
+			if(!player.attemptToSellEnergy(1)){
+				break;
+			}
+		}
+	}
+	
+	/**
+	 * Returns the percentage of the best price seen that the market must pay for resources to be sold
+	 * @return The percentage
+	 */
+	int getSellPercent(){
+		return sellPercent;
+	}
+}
@@ -0,0 +1,36 @@
+package com.topright.roboticon;
+
+/**
+ * Decides the prices that a {@link Market} buys and sells ore, energy and roboticons at
+ * <p>
+ * Each good has a base price (the price used by the original, fixed price market). An engine works out the price of a single unit
+ * from the base price, the quantity that the market has in stock and the recent trade volume, which is the number of units that
+ * players have recently bought from the market minus the number that they have recently sold to it (trades made longer ago count
+ * for less).
+ * </p>
+ * <p>
+ * The market caches the prices that it is given and only asks for them again when its stock or the recent trade volume changes,
+ * so implementations are free to do more work than a multiplication. They must give the same prices every time that they are
+ * given the same arguments and must be safe to use from several threads at once.
+ * </p>
+ */
+public interface PricingEngine {
+	
+	/**
+	 * Returns the price that a player pays the market for a single unit of a good (the ask price)
+	 * @param basePrice The base price of the good
+	 * @param stock The quantity of the good that the market has in stock
+	 * @param recentTradeVolume The number of units recently bought from the market minus the number recently sold to it
+	 * @return The price of a single unit (must be > 0)
+	 */
+	int getBuyPrice(int basePrice, int stock, int recentTradeVolume);
+	
+	/**
+	 * Returns the price that the market pays a player for a single unit of a good (the bid price)
+	 * @param basePrice The base price of the good
+	 * @param stock The quantity of the good that the market has in stock
+	 * @param recentTradeVolume The number of units recently bought from the market minus the number recently sold to it
+	 * @return The price paid for a single unit (must be >= 0 and no more than the buy price)
+	 */
+	int getSellPrice(int basePrice, int stock, int recentTradeVolume);
+}
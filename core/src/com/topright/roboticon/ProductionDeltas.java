@@ -0,0 +1,110 @@
+package com.topright.roboticon;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * The resources produced for each player by some of the plots, added to the players' inventories in one go once every plot has produced
+ * <p>
+ * Each part of the map that is produced in parallel (see {@link PlotProduction}) fills in its own deltas, so the threads never
+ * touch the same player's inventory. The deltas of every part are then merged and each player's inventory is increased once
+ * (rather than once for every plot that they own).
+ * </p>
+ */
+final class ProductionDeltas {
+	private static final int ORE = 0;
+	private static final int ENERGY = 1;
+
+	private final Map<Player, int[]> quantities = new IdentityHashMap<Player, int[]>(); // Ore and energy produced for each player
+	private Player lastPlayer = null; // Neighbouring plots are often owned by the same player, saves looking them up again
+	private int[] lastQuantities = null;
+
+	/**
+	 * Records that resources have been produced for the given player
+	 * @param player The player that the resources were produced for
+	 * @param ore The quantity of ore produced
+	 * @param energy The quantity of energy produced
+	 */
+	void add(Player player, int ore, int energy){
+		if(player == null){
+			throw new IllegalArgumentException("player must not be null");
+		}
+		if(ore < 0 || energy < 0){
+			throw new IllegalArgumentException("Quantities produced must be >= 0 ore = "+ore+" energy = "+energy);
+		}
+		int[] playerQuantities = getQuantities(player);
+		playerQuantities[ORE] += ore;
+		playerQuantities[ENERGY] += energy;
+	}
+
+	/**
+	 * Adds the resources recorded in other deltas to these deltas
+	 * @param other The other deltas
+	 */
+	void addAll(ProductionDeltas other){
+		for(Map.Entry<Player, int[]> entry : other.quantities.entrySet()){
+			add(entry.getKey(), entry.getValue()[ORE], entry.getValue()[ENERGY]);
+		}
+	}
+
+	/**
+	 * Returns the ore and energy recorded for the given player, starting them from 0 if the player has not been seen before
+	 * @param player The player
+	 * @return The quantities of ore and energy recorded for the player
+	 */
+	private int[] getQuantities(Player player){
+		if(player != lastPlayer){
+			lastQuantities = quantities.get(player);
+			if(lastQuantities == null){
+				lastQuantities = new int[2];
+				quantities.put(player, lastQuantities);
+			}
+			lastPlayer = player;
+		}
+		return lastQuantities;
+	}
+
+	/**
+	 * Returns the quantity of ore recorded for the given player
+	 * @param player The player
+	 * @return The quantity of ore produced for the player
+	 */
+	int getOre(Player player){
+		int[] playerQuantities = quantities.get(player);
+		return (playerQuantities == null) ? 0 : playerQuantities[ORE];
+	}
+
+	/**
+	 * Returns the quantity of energy recorded for the given player
+	 * @param player The player
+	 * @return The quantity of energy produced for the player
+	 */
+	int getEnergy(Player player){
+		int[] playerQuantities = quantities.get(player);
+		return (playerQuantities == null) ? 0 : playerQuantities[ENERGY];
+	}
+
+	/**
+	 * Returns the number of players that resources have been recorded for
+	 * @return The number of players
+	 */
+	int getNumberOfPlayers(){
+		return quantities.size();
+	}
+
+	/**
+	 * Adds the recorded resources to the inventory of each player (once for each type of resource)
+	 */
+	void apply(){
+		for(Map.Entry<Player, int[]> entry : quantities.entrySet()){
+			Player player = entry.getKey();
+			int[] playerQuantities = entry.getValue();
+			if(playerQuantities[ORE] > 0){
+				player.increaseOreQuantity(playerQuantities[ORE]);
+			}
+			if(playerQuantities[ENERGY] > 0){
+				player.increaseEnergyQuantity(playerQuantities[ENERGY]);
+			}
+		}
+	}
+}
@@ -0,0 +1,200 @@
+package com.topright.roboticon;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Properties;
+
+/**
+ * A table of the quantity of each resource that a roboticon produces on a plot, looked up by the customisation of the roboticon and the specialism of the plot
+ * <p>
+ * The table is indexed by the ordinals of {@link RoboticonCustomisation} and {@link PlotSpecialism}, each entry holding the yield of every
+ * resource (see {@link ProductionRules#ORE} and {@link ProductionRules#ENERGY}). Plots look up their yield once when a roboticon is placed
+ * on them or they are acquired (see {@link Plot}) so that producing resources is a single array read.
+ * </p>
+ * <p>
+ * The table can be loaded from a properties file (see {@link ProductionRules#load(Reader)}) with one line for each customisation
+ * and specialism that produces anything, for example "ore.energy = 1 0" (an ore roboticon on an energy plot produces 1 ore and 0 energy).
+ * The names used are those returned by the toString methods of the two enumerated types.
+ * </p>
+ */
+final class ProductionRules {
+	static final String CONFIG_PATH = "production.properties"; // The rules that the game is played with (shipped with the assets)
+
+	static final int ORE = 0; // The position of the quantity of ore in each yield
+	static final int ENERGY = 1; // The position of the quantity of energy in each yield
+	static final int NUMBER_OF_RESOURCES = 2;
+
+	private static final RoboticonCustomisation[] CUSTOMISATIONS = RoboticonCustomisation.values();
+	private static final PlotSpecialism[] SPECIALISMS = PlotSpecialism.values();
+
+	// A roboticon whose customisation matches the plot's specialism produces 2 of that resource, otherwise it produces 1
+	static final ProductionRules STANDARD = createStandard();
+
+	private static volatile ProductionRules defaultRules = STANDARD;
+
+	// The yield of each customisation (first index) on each specialism (second index), null if nothing is produced
+	private final int[][][] yields = new int[CUSTOMISATIONS.length][SPECIALISMS.length][];
+
+	/**
+	 * Constructor
+	 * <p>
+	 * Private, rules are created by {@link ProductionRules#load(Reader)} (or are the standard rules).
+	 * </p>
+	 */
+	private ProductionRules(){}
+
+	/**
+	 * Returns the standard rules (the yields that the game has always had)
+	 * @return The standard rules
+	 */
+	private static ProductionRules createStandard(){
+		ProductionRules rules = new ProductionRules();
+		rules.setYield(RoboticonCustomisation.ORE, PlotSpecialism.ORE, 2, 0);
+		rules.setYield(RoboticonCustomisation.ORE, PlotSpecialism.ENERGY, 1, 0);
+		rules.setYield(RoboticonCustomisation.ENERGY, PlotSpecialism.ORE, 0, 1);
+		rules.setYield(RoboticonCustomisation.ENERGY, PlotSpecialism.ENERGY, 0, 2);
+		return rules;
+	}
+
+	/**
+	 * Returns the rules used by plots that are created without being given any rules
+	 * @return The default rules
+	 */
+	static ProductionRules getDefault(){
+		return defaultRules;
+	}
+
+	/**
+	 * Sets the rules used by plots that are created without being given any rules (plots that already exist are not changed)
+	 * @param rules The new default rules
+	 */
+	static void setDefault(ProductionRules rules){
+		if(rules == null){
+			throw new IllegalArgumentException("rules must not be null");
+		}
+		defaultRules = rules;
+	}
+
+	/**
+	 * Loads rules from a properties file
+	 * <p>
+	 * Each key is the name of a roboticon customisation and the name of a plot specialism separated by a ".", each value is the
+	 * quantity of ore followed by the quantity of energy produced. Any customisation and specialism that is not listed produces nothing.
+	 * </p>
+	 * @param reader Reads the properties file
+	 * @return The rules that were loaded
+	 * @throws IOException If the file could not be read
+	 */
+	static ProductionRules load(Reader reader) throws IOException{
+		if(reader == null){
+			throw new IllegalArgumentException("reader must not be null");
+		}
+		Properties properties = new Properties();
+		properties.load(reader);
+
+		ProductionRules rules = new ProductionRules();
+		for(String key : properties.stringPropertyNames()){
+			int separator = key.indexOf('.');
+			if(separator < 0){
+				throw new IllegalArgumentException("Production rules must be of the form <customisation>.<specialism> key = "+key);
+			}
+			RoboticonCustomisation customisation = findCustomisation(key.substring(0, separator));
+			PlotSpecialism specialism = findSpecialism(key.substring(separator+1));
+
+			String[] quantities = properties.getProperty(key).trim().split("\\s+");
+			if(quantities.length != NUMBER_OF_RESOURCES){
+				throw new IllegalArgumentException("Production rules must give the quantity of ore and of energy produced "+key+" = "+properties.getProperty(key));
+			}
+			try{
+				rules.setYield(customisation, specialism, Integer.parseInt(quantities[ORE]), Integer.parseInt(quantities[ENERGY]));
+			}
+			catch(NumberFormatException e){
+				throw new IllegalArgumentException("Quantities produced must be whole numbers "+key+" = "+properties.getProperty(key), e);
+			}
+		}
+		return rules;
+	}
+
+	/**
+	 * Returns the roboticon customisation with the given name
+	 * @param name The name of the customisation (as returned by its toString method)
+	 * @return The customisation
+	 */
+	private static RoboticonCustomisation findCustomisation(String name){
+		for(RoboticonCustomisation customisation : CUSTOMISATIONS){
+			if(customisation.toString().equals(name.trim())){
+				return customisation;
+			}
+		}
+		throw new IllegalArgumentException("Unknown roboticon customisation "+name);
+	}
+
+	/**
+	 * Returns the plot specialism with the given name
+	 * @param name The name of the specialism (as returned by its toString method)
+	 * @return The specialism
+	 */
+	private static PlotSpecialism findSpecialism(String name){
+		for(PlotSpecialism specialism : SPECIALISMS){
+			if(specialism.toString().equals(name.trim())){
+				return specialism;
+			}
+		}
+		throw new IllegalArgumentException("Unknown plot specialism "+name);
+	}
+
+	/**
+	 * Sets the quantity of each resource that a roboticon with the given customisation produces on a plot with the given specialism
+	 * @param customisation The customisation of the roboticon
+	 * @param specialism The specialism of the plot
+	 * @param ore The quantity of ore produced
+	 * @param energy The quantity of energy produced
+	 */
+	private void setYield(RoboticonCustomisation customisation, PlotSpecialism specialism, int ore, int energy){
+		if(ore < 0 || energy < 0){
+			throw new IllegalArgumentException("Quantities produced must be >= 0 ore = "+ore+" energy = "+energy);
+		}
+		int[] yield = null; // Nothing to produce
+		if(ore > 0 || energy > 0){
+			yield = new int[NUMBER_OF_RESOURCES];
+			yield[ORE] = ore;
+			yield[ENERGY] = energy;
+		}
+		yields[customisation.ordinal()][specialism.ordinal()] = yield;
+	}
+
+	/**
+	 * Returns the quantity of each resource that a roboticon with the given customisation produces on a plot with the given specialism
+	 * <p>
+	 * The array returned is shared and must not be changed.
+	 * </p>
+	 * @param customisation The customisation of the roboticon
+	 * @param specialism The specialism of the plot
+	 * @return The quantity of each resource produced (indexed by {@link ProductionRules#ORE} and {@link ProductionRules#ENERGY}) or null if nothing is produced
+	 */
+	int[] getYield(RoboticonCustomisation customisation, PlotSpecialism specialism){
+		return yields[customisation.ordinal()][specialism.ordinal()];
+	}
+
+	/**
+	 * Returns the quantity of ore that a roboticon with the given customisation produces on a plot with the given specialism
+	 * @param customisation The customisation of the roboticon
+	 * @param specialism The specialism of the plot
+	 * @return The quantity of ore produced
+	 */
+	int getOreYield(RoboticonCustomisation customisation, PlotSpecialism specialism){
+		int[] yield = getYield(customisation, specialism);
+		return (yield == null) ? 0 : yield[ORE];
+	}
+
+	/**
+	 * Returns the quantity of energy that a roboticon with the given customisation produces on a plot with the given specialism
+	 * @param customisation The customisation of the roboticon
+	 * @param specialism The specialism of the plot
+	 * @return The quantity of energy produced
+	 */
+	int getEnergyYield(RoboticonCustomisation customisation, PlotSpecialism specialism){
+		int[] yield = getYield(customisation, specialism);
+		return (yield == null) ? 0 : yield[ENERGY];
+	}
+}
@@ -0,0 +1,539 @@
+package com.topright.roboticon;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+
+/**
+ * Plays a game on a game server: keeps a copy of the match (its players, plots and market) up to date with what the server sends and
+ * applies every change to the GUI, and sends the human player's actions to the server
+ * <p>
+ * The client never runs the rules of the game itself, it is told which stage the match is in and calls the same
+ * {@link GameEngineListener} methods that a local {@link GameEngine} would (so {@link Main} can open the same market windows and
+ * set up the {@link MenuBar} in the same way). Plot acquisitions and roboticon placements made by the server are applied through the
+ * {@link PlotGrid} returned by {@link RemoteGameListener#matchStarted(Player, List, Plot[][], Market)} (the {@link PlotManager}), so they
+ * are drawn exactly as they would be in a local game. The human player's own actions are carried out locally first (see
+ * {@link RemotePlayer}) and then sent to the server, whose answer replaces them.
+ * </p>
+ * <p>
+ * Nothing blocks: {@link RemoteGameClient#poll()} reads whatever the server has sent and writes whatever is waiting to be sent, it is
+ * meant to be called every frame by the thread that renders the game.
+ * </p>
+ */
+class RemoteGameClient implements ServerMessageHandler, FramedChannel.FrameHandler, Closeable {
+	private static final RoboticonCustomisation[] CUSTOMISATIONS = RoboticonCustomisation.values();
+
+	private final FramedChannel channel;
+	private final RemoteGameListener listener;
+
+	private Market market = null; // The client's copy of the server's market (null until the match has started)
+	private List<Player> players = null; // In the order that they take their turns, so a player's number is their position in this list
+	private RemotePlayer localPlayer = null;
+	private int localPlayerNumber = -1;
+	private Plot[][] plots = null;
+	private PlotGrid plotGrid = null;
+	private boolean[][] acquisitionSent; // The plots that the local player has acquired that have been sent to the server
+
+	private GamePhase phase = null; // null until the first stage is entered
+	private Player stagePlayer = null; // The player who must act in the current stage (null if every player may act)
+	private int roundNumber = 0;
+	private int[] scores = null; // null until the match is over
+	private int rejectedMessages = 0;
+	private boolean applyingServerState = false; // true while changes made by the server are applied (they must not be sent back)
+
+	/**
+	 * Connects to a game server (waiting until the connection is made) and asks to join a match
+	 * @param address The address of the server
+	 * @param listener Told about the match
+	 * @return The client
+	 * @throws IOException If the client can't connect to the server
+	 */
+	static RemoteGameClient connect(InetSocketAddress address, RemoteGameListener listener) throws IOException{
+		SocketChannel socketChannel = SocketChannel.open(address);
+		try{
+			socketChannel.socket().setTcpNoDelay(true); // The messages are small and the player is waiting for the answer
+			return new RemoteGameClient(new FramedChannel(socketChannel), listener);
+		}
+		catch(IOException | RuntimeException e){
+			socketChannel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Constructor, asks the server to join a match
+	 * @param channel The (connected) channel to the server
+	 * @param listener Told about the match
+	 */
+	RemoteGameClient(FramedChannel channel, RemoteGameListener listener){
+		if(channel == null || listener == null){
+			throw new IllegalArgumentException("channel and listener must not be null");
+		}
+		this.channel = channel;
+		this.listener = listener;
+		channel.send(NetworkProtocol.join());
+	}
+
+	/**
+	 * Writes whatever is waiting to be sent and deals with everything that the server has sent (without waiting)
+	 * @return false if the server has closed the connection
+	 * @throws IOException If the connection fails
+	 */
+	boolean poll() throws IOException{
+		channel.flush();
+		if(channel.read(this) < 0){
+			return false;
+		}
+		channel.flush(); // Anything sent while dealing with the server's messages
+		return true;
+	}
+
+	/**
+	 * Called with every whole frame that the server has sent
+	 * @param frame The type and payload of the frame
+	 */
+	@Override
+	public void handleFrame(ByteBuffer frame){
+		NetworkProtocol.dispatch(frame, this);
+	}
+
+	/**
+	 * Called (instead of {@link GameEngine#handleEvent(GameEvents)}) when the human player has finished a stage of the game, tells the server
+	 * <p>
+	 * Events caused by changes that the server made are ignored (the server already knows about them).
+	 * </p>
+	 * @param event The event that has occurred
+	 */
+	void handleEvent(GameEvents event){
+		if(applyingServerState){
+			return;
+		}
+		if(event == GameEvents.PLOTAQUIRED){
+			sendAcquisitions();
+		}
+		else{
+			channel.send(NetworkProtocol.finished(event));
+		}
+	}
+
+	/**
+	 * Sends every plot that the local player has acquired (through the GUI) that has not been sent to the server yet
+	 */
+	private void sendAcquisitions(){
+		for(int row = 0; row < plots.length; row++){
+			for(int column = 0; column < plots[row].length; column++){
+				if(plots[row][column].getPlayer() == localPlayer && !acquisitionSent[row][column]){
+					acquisitionSent[row][column] = true;
+					channel.send(NetworkProtocol.acquirePlot(row, column));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Called by the local player after a transaction has succeeded, sends it to the server (unless the server made it)
+	 * @param frame The message that describes the transaction
+	 */
+	void playerActed(ByteBuffer frame){
+		if(!applyingServerState){
+			channel.send(frame);
+		}
+	}
+
+	/**
+	 * Called by the local player after they have placed a roboticon, sends it to the server (unless the server placed it)
+	 * @param plot The plot that the roboticon was placed on
+	 * @param customisation The customisation of the roboticon
+	 */
+	void roboticonPlaced(Plot plot, RoboticonCustomisation customisation){
+		if(applyingServerState){
+			return;
+		}
+		for(int row = 0; row < plots.length; row++){
+			for(int column = 0; column < plots[row].length; column++){
+				if(plots[row][column] == plot){
+					channel.send(NetworkProtocol.placeRoboticon(row, column, customisation));
+					return;
+				}
+			}
+		}
+		throw new IllegalArgumentException("The plot is not part of this match");
+	}
+
+	/**
+	 * Sets up the client's copy of the match and tells the listener about it
+	 * @param playerNumber The number of the client's player
+	 * @param numberOfPlayers The number of players in the match
+	 * @param specialisms The specialism of every plot on the map
+	 */
+	@Override
+	public void matchStarted(int playerNumber, int numberOfPlayers, PlotSpecialism[][] specialisms){
+		if(plots != null){
+			throw new IllegalStateException("The match has already started!");
+		}
+		if(playerNumber < 0 || playerNumber >= numberOfPlayers){
+			throw new IllegalArgumentException("Invalid player number "+playerNumber+" for a match with "+numberOfPlayers+" players");
+		}
+		market = new Market(new MarketInventory(0, 0, 0)); // The real stock is sent straight after the match starts
+		List<Player> newPlayers = new ArrayList<Player>();
+		for(int number = 0; number < numberOfPlayers; number++){
+			PlayerInventory inventory = new PlayerInventory(0, 0, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), 0);
+			if(number == playerNumber){
+				localPlayer = new RemotePlayer(inventory, market, this);
+				newPlayers.add(localPlayer);
+			}
+			else{
+				newPlayers.add(new Player(inventory, market));
+			}
+		}
+		players = Collections.unmodifiableList(newPlayers);
+		localPlayerNumber = playerNumber;
+		plots = new Plot[specialisms.length][];
+		acquisitionSent = new boolean[specialisms.length][];
+		for(int row = 0; row < plots.length; row++){
+			plots[row] = new Plot[specialisms[row].length];
+			acquisitionSent[row] = new boolean[specialisms[row].length];
+			for(int column = 0; column < plots[row].length; column++){
+				plots[row][column] = new Plot(specialisms[row][column]);
+			}
+		}
+		plotGrid = listener.matchStarted(localPlayer, players, plots, market);
+	}
+
+	/**
+	 * Moves the client's copy of the match on to a new stage and tells the listener about it if the local player must act
+	 * @param newPhase The phase of the game
+	 * @param playerNumber The number of the player who must act ({@link NetworkProtocol#ALL_PLAYERS} if every player may act)
+	 * @param newRoundNumber The round that the match is in
+	 */
+	@Override
+	public void stage(GamePhase newPhase, int playerNumber, int newRoundNumber){
+		checkMatchStarted();
+		phase = newPhase;
+		roundNumber = newRoundNumber;
+		stagePlayer = (playerNumber == NetworkProtocol.ALL_PLAYERS) ? null : getPlayer(playerNumber);
+		if(stagePlayer != null){
+			plotGrid.setCurrentPlayer(stagePlayer);
+		}
+		switch(newPhase){
+		case PLOTACQUISITION:
+			if(stagePlayer == localPlayer){
+				listener.plotAcquisitionStage(localPlayer);
+			}
+			break;
+		case BUYINGROBOTICONS:
+			if(stagePlayer == localPlayer){
+				listener.buyingRoboticonsStage(localPlayer);
+			}
+			break;
+		case CUSTOMISINGROBOTICONS:
+			if(stagePlayer == localPlayer){
+				listener.customisingRoboticonsStage(localPlayer);
+			}
+			break;
+		case PLACINGROBOTICONS:
+			if(stagePlayer == localPlayer){
+				listener.roboticonPlacingStage(localPlayer);
+			}
+			break;
+		case PRODUCTION:
+			listener.resourcesProduced();
+			break;
+		case MARKET:
+			listener.allPlayersMarketStage();
+			break;
+		default:
+			throw new IllegalArgumentException("The server can't start stage "+newPhase);
+		}
+	}
+
+	/**
+	 * Applies a plot acquisition made by the server (unless the local player already made it)
+	 * @param playerNumber The number of the player who acquired the plot
+	 * @param row The row of the plot
+	 * @param column The column of the plot
+	 */
+	@Override
+	public void plotAcquired(int playerNumber, int row, int column){
+		checkMatchStarted();
+		Player player = getPlayer(playerNumber);
+		Plot plot = getPlot(row, column);
+		if(plot.getPlayer() == player){
+			return; // Already acquired locally
+		}
+		applyingServerState = true;
+		try{
+			plotGrid.setCurrentPlayer(player);
+			plotGrid.acquirePlot(row, column);
+		}
+		finally{
+			restoreCurrentPlayer();
+		}
+	}
+
+	/**
+	 * Applies a roboticon placement made by the server (unless the local player already made it)
+	 * @param playerNumber The number of the player who placed the roboticon
+	 * @param row The row of the plot
+	 * @param column The column of the plot
+	 * @param customisation The customisation of the roboticon
+	 */
+	@Override
+	public void roboticonPlaced(int playerNumber, int row, int column, RoboticonCustomisation customisation){
+		checkMatchStarted();
+		Player player = getPlayer(playerNumber);
+		Plot plot = getPlot(row, column);
+		if(plot.getRoboticon() == customisation){
+			return; // Already placed locally
+		}
+		applyingServerState = true;
+		try{
+			// The client's copy of the player's inventory may not have caught up yet, the server sends the real inventory afterwards
+			player.inventory.increaseRoboticonQuantity(customisation, 1);
+			plotGrid.setCurrentPlayer(player);
+			if(customisation == RoboticonCustomisation.ORE){
+				plotGrid.placeOreRoboticon(column, row);
+			}
+			else{
+				plotGrid.placeEnergyRoboticon(column, row);
+			}
+		}
+		finally{
+			restoreCurrentPlayer();
+		}
+	}
+
+	/**
+	 * Gives the plot grid back to the player who must act in the current stage once a change made by the server has been applied
+	 */
+	private void restoreCurrentPlayer(){
+		if(stagePlayer != null){
+			plotGrid.setCurrentPlayer(stagePlayer);
+		}
+		applyingServerState = false;
+	}
+
+	/**
+	 * Replaces the client's copy of a player's inventory with the server's and tells the listener
+	 * @param playerNumber The number of the player
+	 * @param ore The player's ore
+	 * @param energy The player's energy
+	 * @param money The player's money
+	 * @param roboticons The number of roboticons of each customisation that the player has (indexed by ordinal)
+	 */
+	@Override
+	public void inventory(int playerNumber, int ore, int energy, int money, int[] roboticons){
+		checkMatchStarted();
+		Player player = getPlayer(playerNumber);
+		PlayerInventory inventory = player.inventory;
+		int oreChange = ore - inventory.getOreQuantity();
+		if(oreChange >= 0){
+			inventory.increaseOreQuantity(oreChange);
+		}
+		else{
+			inventory.decreaseOreQuantity(-oreChange);
+		}
+		int energyChange = energy - inventory.getEnergyQuantity();
+		if(energyChange >= 0){
+			inventory.increaseEnergyQuantity(energyChange);
+		}
+		else{
+			inventory.decreaseEnergyQuantity(-energyChange);
+		}
+		int moneyChange = money - inventory.getMoneyQuantity();
+		if(moneyChange >= 0){
+			inventory.increaseMoneyQuantity(moneyChange);
+		}
+		else{
+			inventory.decreaseMoneyQuantity(-moneyChange);
+		}
+		for(RoboticonCustomisation customisation : CUSTOMISATIONS){
+			int roboticonChange = roboticons[customisation.ordinal()] - inventory.getRoboticonQuantity(customisation);
+			if(roboticonChange >= 0){
+				inventory.increaseRoboticonQuantity(customisation, roboticonChange);
+			}
+			else{
+				inventory.decreaseRoboticonQuantity(customisation, -roboticonChange);
+			}
+		}
+		listener.inventoryUpdated(player);
+	}
+
+	/**
+	 * Replaces the client's copy of the market's stock with the server's
+	 * @param ore The ore in stock
+	 * @param energy The energy in stock
+	 * @param roboticons The roboticons in stock
+	 */
+	@Override
+	public void market(int ore, int energy, int roboticons){
+		checkMatchStarted();
+		market.setInventory(new MarketInventory(ore, energy, roboticons));
+	}
+
+	/**
+	 * Counts the messages that the server did not carry out (it sends the player's real inventory straight afterwards)
+	 * @param messageType The type of the message that was not carried out
+	 */
+	@Override
+	public void rejected(int messageType){
+		rejectedMessages++;
+	}
+
+	/**
+	 * Records the final scores and tells the listener that the match is over
+	 * @param finalScores The score of every player (in player number order)
+	 */
+	@Override
+	public void gameOver(int[] finalScores){
+		checkMatchStarted();
+		phase = GamePhase.GAMEOVER;
+		stagePlayer = null;
+		scores = finalScores;
+		listener.gameOver();
+	}
+
+	/**
+	 * Throws an exception if the server sends a message about the match before it has started
+	 */
+	private void checkMatchStarted(){
+		if(plots == null){
+			throw new IllegalStateException("The server sent a message about a match that has not started");
+		}
+	}
+
+	/**
+	 * Returns the player with the given number, throwing an exception if there is no such player
+	 * @param playerNumber The number of the player
+	 * @return The player
+	 */
+	private Player getPlayer(int playerNumber){
+		if(playerNumber < 0 || playerNumber >= players.size()){
+			throw new IllegalArgumentException("Invalid player number "+playerNumber);
+		}
+		return players.get(playerNumber);
+	}
+
+	/**
+	 * Returns the plot at the given position, throwing an exception if there is no such plot
+	 * @param row The row of the plot
+	 * @param column The column of the plot
+	 * @return The plot
+	 */
+	private Plot getPlot(int row, int column){
+		if(row < 0 || row >= plots.length || column < 0 || column >= plots[row].length){
+			throw new IllegalArgumentException("There is no plot at row "+row+" column "+column);
+		}
+		return plots[row][column];
+	}
+
+	/**
+	 * Returns true once the match has started
+	 * @return true once the match has started
+	 */
+	boolean hasMatchStarted(){
+		return plots != null;
+	}
+
+	/**
+	 * Returns the player controlled by this client (null until the match has started)
+	 * @return The player controlled by this client
+	 */
+	Player getLocalPlayer(){
+		return localPlayer;
+	}
+
+	/**
+	 * Returns the number of the player controlled by this client (-1 until the match has started)
+	 * @return The number of the player controlled by this client
+	 */
+	int getLocalPlayerNumber(){
+		return localPlayerNumber;
+	}
+
+	/**
+	 * Returns every player in the match in the order that they take their turns (null until the match has started)
+	 * @return Every player in the match
+	 */
+	List<Player> getPlayers(){
+		return players;
+	}
+
+	/**
+	 * Returns the client's copy of the plots (null until the match has started)
+	 * @return The plots
+	 */
+	Plot[][] getPlots(){
+		return plots;
+	}
+
+	/**
+	 * Returns the client's copy of the server's market (null until the match has started)
+	 * @return The market
+	 */
+	Market getMarket(){
+		return market;
+	}
+
+	/**
+	 * Returns the phase that the match is in (null until the first stage has been entered)
+	 * @return The phase that the match is in
+	 */
+	GamePhase getPhase(){
+		return phase;
+	}
+
+	/**
+	 * Returns the player who must act in the current stage (null if every player may act)
+	 * @return The player who must act
+	 */
+	Player getStagePlayer(){
+		return stagePlayer;
+	}
+
+	/**
+	 * Returns the round that the match is in
+	 * @return The round that the match is in
+	 */
+	int getRoundNumber(){
+		return roundNumber;
+	}
+
+	/**
+	 * Returns true once the server has said that the match is over
+	 * @return true if the match is over
+	 */
+	boolean isGameOver(){
+		return scores != null;
+	}
+
+	/**
+	 * Returns the final score of every player (in player number order) or null if the match is not over
+	 * @return The final scores
+	 */
+	int[] getScores(){
+		return scores;
+	}
+
+	/**
+	 * Returns the number of messages that the server did not carry out
+	 * @return The number of rejected messages
+	 */
+	int getRejectedMessages(){
+		return rejectedMessages;
+	}
+
+	/**
+	 * Closes the connection to the server
+	 */
+	@Override
+	public void close() throws IOException{
+		channel.close();
+	}
+}
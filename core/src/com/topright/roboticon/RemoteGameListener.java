@@ -0,0 +1,29 @@
+package com.topright.roboticon;
+
+import java.util.List;
+
+/**
+ * Told about a game that is being played on a game server (see {@link RemoteGameClient})
+ * <p>
+ * As well as the stages in which the human player must act (the same as for a local game, see {@link GameEngineListener}) the listener
+ * is told when the match starts, so that it can display the plots, and whenever the server says that a player's inventory has changed.
+ * </p>
+ */
+interface RemoteGameListener extends GameEngineListener {
+
+	/**
+	 * Called when the match has started, the listener must return the plot grid that the plots are displayed by
+	 * @param localPlayer The player controlled by this client
+	 * @param players Every player in the match in the order that they take their turns
+	 * @param plots The plots that the match is played on (no plot has been acquired yet)
+	 * @param market A copy of the server's market
+	 * @return The plot grid that the plots are displayed by (every change made by the server is applied through it)
+	 */
+	public PlotGrid matchStarted(Player localPlayer, List<Player> players, Plot[][] plots, Market market);
+
+	/**
+	 * Called whenever the server says that a player's inventory has changed
+	 * @param player The player
+	 */
+	public void inventoryUpdated(Player player);
+}
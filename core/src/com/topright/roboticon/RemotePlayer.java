@@ -0,0 +1,126 @@
+package com.topright.roboticon;
+
+/**
+ * The player controlled by a {@link RemoteGameClient}, every transaction that succeeds locally is also sent to the game server
+ * <p>
+ * Transactions are carried out straight away against the client's copy of the game (so the GUI responds immediately) and then carried
+ * out again by the server, whose answer is final: the server sends the player's inventory after every transaction (and says if it
+ * rejected it), which replaces whatever the client worked out. Changes that the client makes because the server told it to are not sent back.
+ * </p>
+ */
+class RemotePlayer extends Player {
+	private final RemoteGameClient client;
+
+	/**
+	 * Constructor
+	 * @param inventory A PlayerInventory object that contains all money, resources and roboticons that the player is initially in possession of.
+	 * @param market The client's copy of the server's market
+	 * @param client The client that sends the player's transactions to the server
+	 */
+	RemotePlayer(PlayerInventory inventory, Market market, RemoteGameClient client){
+		super(inventory, market);
+		if(client == null){
+			throw new IllegalArgumentException("client must not be null");
+		}
+		this.client = client;
+	}
+
+	/**
+	 * Tries to buy ore from the market, and sends the purchase to the server if it succeeds
+	 * @param quantity The quantity of ore
+	 * @return true if the purchase was successful and false otherwise
+	 */
+	@Override
+	public boolean attemptToBuyOre(int quantity){
+		if(super.attemptToBuyOre(quantity)){
+			client.playerActed(NetworkProtocol.buyResource(PlotSpecialism.ORE, quantity));
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Tries to buy energy from the market, and sends the purchase to the server if it succeeds
+	 * @param quantity The quantity of energy
+	 * @return true if the purchase was successful and false otherwise
+	 */
+	@Override
+	public boolean attemptToBuyEnergy(int quantity){
+		if(super.attemptToBuyEnergy(quantity)){
+			client.playerActed(NetworkProtocol.buyResource(PlotSpecialism.ENERGY, quantity));
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Tries to buy roboticons from the market, and sends the purchase to the server if it succeeds
+	 * @param quantity The number of roboticons
+	 * @return true if the purchase was successful and false otherwise
+	 */
+	@Override
+	public boolean attemptToBuyRoboticons(int quantity){
+		if(super.attemptToBuyRoboticons(quantity)){
+			client.playerActed(NetworkProtocol.buyRoboticons(quantity));
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Tries to customise a roboticon, and sends the customisation to the server if it succeeds
+	 * @param customisation The customisation
+	 * @return true if the roboticon was customised and false otherwise
+	 */
+	@Override
+	public boolean attemptToCustomiseRoboticon(RoboticonCustomisation customisation){
+		if(super.attemptToCustomiseRoboticon(customisation)){
+			client.playerActed(NetworkProtocol.customiseRoboticon(customisation));
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Tries to sell ore to the market, and sends the sale to the server if it succeeds
+	 * @param quantity The quantity of ore
+	 * @return true if the sale was successful and false otherwise
+	 */
+	@Override
+	public boolean attemptToSellOre(int quantity){
+		if(super.attemptToSellOre(quantity)){
+			client.playerActed(NetworkProtocol.sellResource(PlotSpecialism.ORE, quantity));
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Tries to sell energy to the market, and sends the sale to the server if it succeeds
+	 * @param quantity The quantity of energy
+	 * @return true if the sale was successful and false otherwise
+	 */
+	@Override
+	public boolean attemptToSellEnergy(int quantity){
+		if(super.attemptToSellEnergy(quantity)){
+			client.playerActed(NetworkProtocol.sellResource(PlotSpecialism.ENERGY, quantity));
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Tries to place a roboticon on a plot, and sends the placement to the server if it succeeds
+	 * @param plot The plot
+	 * @param roboticonCustomisation The customisation of the roboticon
+	 * @return true if a roboticon was placed and false otherwise
+	 */
+	@Override
+	public boolean attemptToPlaceRoboticon(Plot plot, RoboticonCustomisation roboticonCustomisation){
+		if(super.attemptToPlaceRoboticon(plot, roboticonCustomisation)){
+			client.roboticonPlaced(plot, roboticonCustomisation);
+			return true;
+		}
+		return false;
+	}
+}
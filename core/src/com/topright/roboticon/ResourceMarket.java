@@ -1,10 +1,7 @@
 package com.topright.roboticon;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
-import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
-import com.badlogic.gdx.ai.msg.MessageManager;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
 import com.badlogic.gdx.scenes.scene2d.ui.Table;
@@ -16,18 +13,29 @@ import com.badlogic.gdx.scenes.scene2d.ui.Table;
 public class ResourceMarket extends PopUpWindow {
 
 	private Player player;
+	private Market market; // The market that resources are bought from and sold to
 	private MarketInventoryTable marketInventoryTable; // Need to be able to update the inventory quantity values
 	private SaleTable saleTable; // The purchase table requires access to the sale table
 	private PurchaseTable purchaseTable; // The sale table requires access to the purchase table
 
 	/**
-	 * Constructor
+	 * Constructor (uses the shared market)
 	 * @param player The player who is using the market
 	 */
 	public ResourceMarket(Player player){
+		this(player, Market.getInstance());
+	}
+	
+	/**
+	 * Constructor
+	 * @param player The player who is using the market
+	 * @param market The market that resources are bought from and sold to
+	 */
+	public ResourceMarket(Player player, Market market){
 		super("Market: Buy and sell resources");
 		
 		this.player = player;
+		this.market = market;
 
 		marketInventoryTable = new MarketInventoryTable();
 		
@@ -50,38 +58,53 @@ public class ResourceMarket extends PopUpWindow {
 	private class MarketInventoryTable extends Table{
 		private Label oreQuantityLabel;
 		private Label energyQuantityLabel;
+		private Label oreBuyPriceLabel; // Prices depend on the market's stock so they change after every transaction
+		private Label oreSellPriceLabel;
+		private Label energyBuyPriceLabel;
+		private Label energySellPriceLabel;
 		
 		/**
 		 * Constructor
 		 */
 		public MarketInventoryTable(){
-			oreQuantityLabel = new Label("uninitialised", new Skin(Gdx.files.internal("uiskin.json")));
-			energyQuantityLabel = new Label("uninitialised", new Skin(Gdx.files.internal("uiskin.json")));
+			oreQuantityLabel = new Label("uninitialised", AssetRegistry.getInstance().getSkin());
+			energyQuantityLabel = new Label("uninitialised", AssetRegistry.getInstance().getSkin());
+			oreBuyPriceLabel = new Label("uninitialised", AssetRegistry.getInstance().getSkin());
+			oreSellPriceLabel = new Label("uninitialised", AssetRegistry.getInstance().getSkin());
+			energyBuyPriceLabel = new Label("uninitialised", AssetRegistry.getInstance().getSkin());
+			energySellPriceLabel = new Label("uninitialised", AssetRegistry.getInstance().getSkin());
 
-			add(new Label("Market stock", new Skin(Gdx.files.internal("uiskin.json")))).left().colspan(3);
+			add(new Label("Market stock", AssetRegistry.getInstance().getSkin())).left().colspan(4);
 			row();
-			add(new Label("Resource  ", new Skin(Gdx.files.internal("uiskin.json")))).left().padRight(5);
-			add(new Label("Quantity  ", new Skin(Gdx.files.internal("uiskin.json")))).left().padRight(5);
-			add(new Label("Price  ", new Skin(Gdx.files.internal("uiskin.json")))).left();
+			add(new Label("Resource  ", AssetRegistry.getInstance().getSkin())).left().padRight(5);
+			add(new Label("Quantity  ", AssetRegistry.getInstance().getSkin())).left().padRight(5);
+			add(new Label("Buy  ", AssetRegistry.getInstance().getSkin())).left().padRight(5);
+			add(new Label("Sell  ", AssetRegistry.getInstance().getSkin())).left();
 			row();
-			add(new Label("ore", new Skin(Gdx.files.internal("uiskin.json")))).left();
+			add(new Label("ore", AssetRegistry.getInstance().getSkin())).left();
 			add(oreQuantityLabel).left();
-			add(new Label(Integer.toString(Market.getInstance().getCostOre(1)), new Skin(Gdx.files.internal("uiskin.json")))).left();
+			add(oreBuyPriceLabel).left();
+			add(oreSellPriceLabel).left();
 			row();
-			add(new Label("energy", new Skin(Gdx.files.internal("uiskin.json")))).left();
+			add(new Label("energy", AssetRegistry.getInstance().getSkin())).left();
 			add(energyQuantityLabel).left();
-			add(new Label(Integer.toString(Market.getInstance().getCostEnergy(1)), new Skin(Gdx.files.internal("uiskin.json")))).left();
+			add(energyBuyPriceLabel).left();
+			add(energySellPriceLabel).left();
 			setSize(getPrefWidth(),getPrefHeight());
 			
-			update(); // Initialise the quantities of resources available
+			update(); // Initialise the quantities of resources available and their prices
 		}
 		
 		/**
 		 * Called whenever the inventory tables data needs to be updated (i.e. when a purchase or sale has been completed)
 		 */
 		public void update(){
-			oreQuantityLabel.setText(Integer.toString(Market.getInstance().getOreQuantity()));
-			energyQuantityLabel.setText(Integer.toString(Market.getInstance().getEnergyQuantity()));
+			oreQuantityLabel.setText(Integer.toString(market.getOreQuantity()));
+			energyQuantityLabel.setText(Integer.toString(market.getEnergyQuantity()));
+			oreBuyPriceLabel.setText(Integer.toString(market.getCostOre(1)));
+			oreSellPriceLabel.setText(Integer.toString(market.getSaleValueOre(1)));
+			energyBuyPriceLabel.setText(Integer.toString(market.getCostEnergy(1)));
+			energySellPriceLabel.setText(Integer.toString(market.getSaleValueEnergy(1)));
 		}
 	}
 	
@@ -93,7 +116,7 @@ public class ResourceMarket extends PopUpWindow {
 	 * @author jcn509
 	 *
 	 */
-	private class TransactionTable extends Table{
+	private abstract class TransactionTable extends Table{
 		protected SpinBox oreSpinBox;
 		protected SpinBox energySpinBox;
 		protected TextButton energyButton;
@@ -122,12 +145,12 @@ public class ResourceMarket extends PopUpWindow {
 		private void createWidgets(){
 			oreSpinBox = new SpinBox("Ore ",0, 0, 0);
 			energySpinBox = new SpinBox("Energy ",0, 0, 0);
-			energyButton = new TextButton("Complete transaction", new Skin(Gdx.files.internal("uiskin.json")));
-			oreButton = new TextButton("Complete transaction", new Skin(Gdx.files.internal("uiskin.json")));
+			energyButton = new TextButton("Complete transaction", AssetRegistry.getInstance().getSkin());
+			oreButton = new TextButton("Complete transaction", AssetRegistry.getInstance().getSkin());
 			
 			// Initially "uninitialised" but this value will be replaced
-			oreCostLabel = new Label("uninitialised", new Skin(Gdx.files.internal("uiskin.json")));
-			energyCostLabel = new Label("uninitialised", new Skin(Gdx.files.internal("uiskin.json")));
+			oreCostLabel = new Label("uninitialised", AssetRegistry.getInstance().getSkin());
+			energyCostLabel = new Label("uninitialised", AssetRegistry.getInstance().getSkin());
 		}
 		
 		/**
@@ -156,11 +179,11 @@ public class ResourceMarket extends PopUpWindow {
 		 * @param tableTitle
 		 */
 		private void addWidgetsToTable(String tableTitle){
-			add(new Label(tableTitle, new Skin(Gdx.files.internal("uiskin.json")))).colspan(2).padBottom(5).left(); 
+			add(new Label(tableTitle, AssetRegistry.getInstance().getSkin())).colspan(2).padBottom(5).left(); 
 			row();
 			add(oreSpinBox).colspan(2).expand().fill();
 			row();
-			add(new Label("Total: ", new Skin(Gdx.files.internal("uiskin.json")))).left();
+			add(new Label("Total: ", AssetRegistry.getInstance().getSkin())).left();
 			add(oreCostLabel).padRight(5).left();
 			row();
 			add(oreButton).left().padBottom(20);
@@ -168,25 +191,39 @@ public class ResourceMarket extends PopUpWindow {
 			row();
 			add(energySpinBox).colspan(2).expand().fill();
 			row();
-			add(new Label("Total: ", new Skin(Gdx.files.internal("uiskin.json")))).left();
+			add(new Label("Total: ", AssetRegistry.getInstance().getSkin())).left();
 			add(energyCostLabel).padRight(5).left();
 			row();
 			add(energyButton).left();
 		}
 
 		/**
-		 * Called whenever the value of the ore spin box is changed to update the total cost/value of the ore that is displayed
+		 * Returns the total cost/value of a given quantity of ore
+		 * @param quantity The quantity of ore
+		 * @return The amount that the player would pay (or be paid) for the ore
+		 */
+		protected abstract int getOreTotal(int quantity);
+		
+		/**
+		 * Returns the total cost/value of a given quantity of energy
+		 * @param quantity The quantity of energy
+		 * @return The amount that the player would pay (or be paid) for the energy
+		 */
+		protected abstract int getEnergyTotal(int quantity);
+
+		/**
+		 * Called whenever the value of the ore spin box (or the price of ore) is changed to update the total cost/value of the ore that is displayed
 		 */
 		protected void updateOreCostLabel(){
-			Integer oreCost = Market.getInstance().getCostOre(oreSpinBox.getValue()); 
+			Integer oreCost = getOreTotal(oreSpinBox.getValue()); 
 			oreCostLabel.setText(oreCost.toString());
 		}
 
 		/**
-		 * Called whenever the value of the energy spin box is changed to update the total cost/value of the energy that is displayed
+		 * Called whenever the value of the energy spin box (or the price of energy) is changed to update the total cost/value of the energy that is displayed
 		 */
 		protected void updateEnergyCostLabel(){
-			Integer energyCost = Market.getInstance().getCostEnergy(energySpinBox.getValue()); 
+			Integer energyCost = getEnergyTotal(energySpinBox.getValue()); 
 			energyCostLabel.setText(energyCost.toString());
 		}
 	}
@@ -205,8 +242,18 @@ public class ResourceMarket extends PopUpWindow {
 			setButtonClickBehaviour();
 			
 			// The user cannot attempt to buy more of a given resource than the market has in stock
-			oreSpinBox.setMaxValue(Market.getInstance().getOreQuantity());
-			energySpinBox.setMaxValue(Market.getInstance().getEnergyQuantity());
+			oreSpinBox.setMaxValue(market.getOreQuantity());
+			energySpinBox.setMaxValue(market.getEnergyQuantity());
+		}
+		
+		@Override
+		protected int getOreTotal(int quantity){
+			return market.getCostOre(quantity);
+		}
+		
+		@Override
+		protected int getEnergyTotal(int quantity){
+			return market.getCostEnergy(quantity);
 		}
 		
 		/**
@@ -243,11 +290,12 @@ public class ResourceMarket extends PopUpWindow {
 				
 				// Get the player to attempt to buy the ore
 				if(player.attemptToBuyOre(oreSpinBox.getValue())){ // If the purchase is successful
-					MessageManager.getInstance().dispatchMessage(GameEvents.PLAYERINVENTORYUPDATE.ordinal());
+					GameEventBus.getInstance().dispatch(GameEvents.PLAYERINVENTORYUPDATE);
 					marketInventoryTable.update();
 					updateMaxOreValue();
 					updateOreCostLabel();
 					saleTable.updateMaxOreValue();
+					saleTable.updateOreCostLabel(); // The price of ore has changed
 				}
 				else{ // As the player cannot attempt to purchase more ore than the market has in stock
 					// (Due to the upper bound imposed by the spinbox)
@@ -272,11 +320,12 @@ public class ResourceMarket extends PopUpWindow {
 				
 				// Get the player to attempt to buy the ore
 				if(player.attemptToBuyEnergy(energySpinBox.getValue())){ // If the purchase is successful
-					MessageManager.getInstance().dispatchMessage(GameEvents.PLAYERINVENTORYUPDATE.ordinal());
+					GameEventBus.getInstance().dispatch(GameEvents.PLAYERINVENTORYUPDATE);
 					marketInventoryTable.update();
 					updateMaxEnergyValue();
 					updateEnergyCostLabel();
 					saleTable.updateMaxEnergyValue();
+					saleTable.updateEnergyCostLabel(); // The price of energy has changed
 				}
 				else{ // As the player cannot attempt to purchase more energy than the market has in stock
 					// (Due to the upper bound imposed by the spinbox)
@@ -297,7 +346,7 @@ public class ResourceMarket extends PopUpWindow {
 		 * </p>
 		 */
 		public void updateMaxOreValue(){
-			int oreInStock = Market.getInstance().getOreQuantity();
+			int oreInStock = market.getOreQuantity();
 			oreSpinBox.setMaxValue(oreInStock);
 		}
 		
@@ -310,7 +359,7 @@ public class ResourceMarket extends PopUpWindow {
 		 * </p>
 		 */
 		public void updateMaxEnergyValue(){
-			int energyInStock = Market.getInstance().getEnergyQuantity();
+			int energyInStock = market.getEnergyQuantity();
 			energySpinBox.setMaxValue(energyInStock);
 		}
 	}
@@ -333,6 +382,16 @@ public class ResourceMarket extends PopUpWindow {
 			energySpinBox.setMaxValue(player.getEnergyQuantity());
 		}
 		
+		@Override
+		protected int getOreTotal(int quantity){
+			return market.getSaleValueOre(quantity);
+		}
+		
+		@Override
+		protected int getEnergyTotal(int quantity){
+			return market.getSaleValueEnergy(quantity);
+		}
+		
 		/**
 		 * Sets up the energy and ore purchase buttons to call the attemptEnergySale and attemptOreSale respectively when clicked
 		 */
@@ -364,11 +423,12 @@ public class ResourceMarket extends PopUpWindow {
 		private void attemptOreSale(){
 			if(oreSpinBox.getValue()>0){ // Nothing happens if they player attempts to sell 0 ore
 				if(player.attemptToSellOre(oreSpinBox.getValue())){
-					MessageManager.getInstance().dispatchMessage(GameEvents.PLAYERINVENTORYUPDATE.ordinal());
+					GameEventBus.getInstance().dispatch(GameEvents.PLAYERINVENTORYUPDATE);
 					marketInventoryTable.update();
 					updateMaxOreValue();
 					updateOreCostLabel(); // After max value is set, may need to be updated
 					purchaseTable.updateMaxOreValue();
+					purchaseTable.updateOreCostLabel(); // The price of ore has changed
 				}
 			}
 
@@ -384,7 +444,7 @@ public class ResourceMarket extends PopUpWindow {
 		private void attemptEnergySale(){
 			if(energySpinBox.getValue()>0){ // Nothing happens if they player attempts to sell 0 energy
 				if(player.attemptToSellEnergy(energySpinBox.getValue())){
-					MessageManager.getInstance().dispatchMessage(GameEvents.PLAYERINVENTORYUPDATE.ordinal());
+					GameEventBus.getInstance().dispatch(GameEvents.PLAYERINVENTORYUPDATE);
 					marketInventoryTable.update();
 					updateMaxEnergyValue();
 					updateEnergyCostLabel(); // After max value is set, may need to be updated
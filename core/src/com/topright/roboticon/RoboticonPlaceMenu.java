@@ -1,9 +1,7 @@
 package com.topright.roboticon;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
-import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
 
@@ -12,7 +10,7 @@ import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
  * @author jcn509
  */
 public class RoboticonPlaceMenu extends PopUpWindow{
-	private PlotManager plotManager;
+	private PlotGrid plotManager;
 	private int plotRow;
 	private int plotColumn;
 	private Player player;
@@ -28,7 +26,7 @@ public class RoboticonPlaceMenu extends PopUpWindow{
 	 * @param player The current player who may want to place a roboticon
 	 * @param plotManager The plot manager object that contains the plot where a roboticon may be placed
 	 */
-	public RoboticonPlaceMenu(float menuX, float menuY, int plotColumn, int plotRow, Player player ,PlotManager plotManager){
+	public RoboticonPlaceMenu(float menuX, float menuY, int plotColumn, int plotRow, Player player ,PlotGrid plotManager){
 	
 		super("Place roboticon");
 		
@@ -74,7 +72,7 @@ public class RoboticonPlaceMenu extends PopUpWindow{
 	 * Adds a close button to the window 
 	 */
 	private void addCloseButton(){
-		TextButton closeButton = new TextButton("close",new Skin(Gdx.files.internal("uiskin.json")));
+		TextButton closeButton = new TextButton("close",AssetRegistry.getInstance().getSkin());
 		closeButton.addListener(new ClickListener() {
 	        		@Override
 	        			public void clicked(InputEvent event, float x, float y)
@@ -92,8 +90,8 @@ public class RoboticonPlaceMenu extends PopUpWindow{
 	 */
 	private void placementAllowedMenu(){
 		
-		oreRoboticonButton = new TextButton("Ore roboticon ("+player.getRoboticonQuantity(RoboticonCustomisation.ORE)+")", new Skin(Gdx.files.internal("uiskin.json")));
-		energyRoboticonButton = new TextButton("Energy roboticon ("+player.getRoboticonQuantity(RoboticonCustomisation.ENERGY)+")", new Skin(Gdx.files.internal("uiskin.json")));
+		oreRoboticonButton = new TextButton("Ore roboticon ("+player.getRoboticonQuantity(RoboticonCustomisation.ORE)+")", AssetRegistry.getInstance().getSkin());
+		energyRoboticonButton = new TextButton("Energy roboticon ("+player.getRoboticonQuantity(RoboticonCustomisation.ENERGY)+")", AssetRegistry.getInstance().getSkin());
 		
 		setRoboticonButtonBehaviour(oreRoboticonButton, energyRoboticonButton);
 		
@@ -138,14 +136,14 @@ public class RoboticonPlaceMenu extends PopUpWindow{
 	 * Creates the menu that should be displayed when the chosen plot already has a roboticon on it
 	 */
 	private void alreadyHasRoboticonMenu(){
-		add(new Label("This plot already has a roboticon placed on it!", new Skin(Gdx.files.internal("uiskin.json")))).fill().expand();
+		add(new Label("This plot already has a roboticon placed on it!", AssetRegistry.getInstance().getSkin())).fill().expand();
 	}
 	
 	/**
 	 * Creates the menu that should be displayed when the player has no customised roboticons
 	 */
 	private void noRoboticonsMenu(){
-		add(new Label("You don't have any customised roboticons!", new Skin(Gdx.files.internal("uiskin.json")))).fill().expand();
+		add(new Label("You don't have any customised roboticons!", AssetRegistry.getInstance().getSkin())).fill().expand();
 	}
 	
 	/**
@@ -0,0 +1,86 @@
+package com.topright.roboticon;
+
+/**
+ * The strategy used to play out the rest of a game during a rollout by a {@link SearchStrategy}
+ * <p>
+ * Makes the decisions it is given (the ones being evaluated by the search) for its first plots and market phases, then plays like
+ * a {@link PriceAwareStrategy} that acquires plots in the same way as a {@link SpecialismAwareStrategy}. One plot in
+ * {@value #RANDOM_PLOT_ONE_IN} is given a random specialism instead so that rollouts differ from each other. Playing the rest
+ * of the game sensibly (rather than at random) makes the results of the rollouts much closer to those of real games.
+ * </p>
+ */
+class RolloutStrategy extends PriceAwareStrategy {
+	private static final int[] NO_DECISIONS = new int[0];
+	static final int RANDOM_PLOT_ONE_IN = 4; // How often a plot with a random specialism is chosen rather than the one worth the most
+	
+	private final GameRandom random;
+	private final int[] plotDecisions; // Ordinals of the specialisms of the first plots to acquire
+	private final int[] marketDecisions; // The actions to take in the first market phases (see SearchStrategy#applyMarketAction)
+	private int plotsChosen = 0;
+	private int marketPhasesPlayed = 0;
+	
+	/**
+	 * Constructor, for a strategy that plays at random from the start
+	 * @param random Used to make every random decision
+	 */
+	RolloutStrategy(GameRandom random){
+		this(random, NO_DECISIONS, NO_DECISIONS);
+	}
+	
+	/**
+	 * Constructor
+	 * @param random Used to make every random decision
+	 * @param plotDecisions Ordinals of the specialisms of the first plots to acquire
+	 * @param marketDecisions The actions to take in the first market phases
+	 */
+	RolloutStrategy(GameRandom random, int[] plotDecisions, int[] marketDecisions){
+		this.random = random;
+		this.plotDecisions = plotDecisions;
+		this.marketDecisions = marketDecisions;
+	}
+	
+	@Override
+	public String getName(){
+		return "rollout";
+	}
+	
+	@Override
+	public void choosePlot(AIPlayer player, PlotGrid plotManager){
+		PlotSpecialism specialism;
+		if(plotsChosen < plotDecisions.length){
+			specialism = PlotSpecialism.values()[plotDecisions[plotsChosen]];
+		}
+		else if(random.nextInt(RANDOM_PLOT_ONE_IN) == 0){
+			specialism = random.nextBoolean() ? PlotSpecialism.ORE : PlotSpecialism.ENERGY;
+		}
+		else{
+			specialism = SpecialismAwareStrategy.getPreferredSpecialism(player.getMarket());
+		}
+		plotsChosen++;
+		
+		int plotNumber = findUnacquiredPlot(plotManager, specialism);
+		if(plotNumber < 0){ // None left with that specialism (e.g. the opponent took the last one)
+			super.choosePlot(player, plotManager);
+			return;
+		}
+		plotManager.acquirePlot(plotManager.getPlotRow(plotNumber), plotManager.getPlotColumn(plotNumber));
+	}
+	
+	/**
+	 * Places no orders, trading between players is not one of the decisions being searched (and would slow every rollout down)
+	 * @param player The player that is making the decision
+	 */
+	@Override
+	public void placeOrders(AIPlayer player){
+	}
+	
+	@Override
+	public void buyAndSellResources(AIPlayer player){
+		if(marketPhasesPlayed < marketDecisions.length){
+			SearchStrategy.applyMarketAction(player, marketDecisions[marketPhasesPlayed++]);
+		}
+		else{
+			super.buyAndSellResources(player);
+		}
+	}
+}
@@ -0,0 +1,127 @@
+package com.topright.roboticon;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.badlogic.gdx.Gdx;
+
+/**
+ * The file that a game is saved in, so that it can be carried on with the next time that the game is started
+ * <p>
+ * Once a game has been attached it is autosaved every {@value #AUTOSAVE_INTERVAL} seconds (on a background thread, see
+ * {@link Autosaver}) and saved one last time when the file is closed. A game that is over is deleted instead, so that a new
+ * game is started next time.
+ * </p>
+ */
+class SaveFile {
+	static final float AUTOSAVE_INTERVAL = 30; // Seconds between autosaves
+	static final long CLOSE_TIMEOUT_MILLIS = 5000; // How long to wait for an autosave to finish when the file is closed
+
+	private final Path file;
+	private Autosaver autosaver = null; // Only created once a game has been attached
+	private float timeSinceAutosave = 0;
+	private long seed;
+	private Plot[][] plots;
+	private Market market;
+	private GameEngine gameEngine;
+
+	/**
+	 * Constructor
+	 * @param file The file that the game is saved in
+	 */
+	SaveFile(Path file){
+		if(file == null){
+			throw new IllegalArgumentException("file must not be null");
+		}
+		this.file = file;
+	}
+
+	/**
+	 * Loads the game that was saved in the file (if there is one)
+	 * @return The saved game or null if there isn't one, it is over or it could not be loaded
+	 */
+	GameSnapshot load(){
+		if(!Files.exists(file)){
+			return null;
+		}
+		try{
+			GameSnapshot snapshot = GameSnapshot.read(file);
+			if(snapshot.getPhase() != GamePhase.GAMEOVER){
+				return snapshot;
+			}
+		}
+		catch(IOException | IllegalArgumentException e){
+			logError("Unable to load the saved game, starting a new game", e);
+		}
+		return null;
+	}
+
+	/**
+	 * Starts saving a game in the file
+	 * @param seed The seed of the game
+	 * @param plots The plots that the game is played on
+	 * @param market The market used in the game
+	 * @param gameEngine The engine that is running the game
+	 */
+	void attach(long seed, Plot[][] plots, Market market, GameEngine gameEngine){
+		if(autosaver != null){
+			throw new IllegalStateException("A game has already been attached to the save file!");
+		}
+		this.seed = seed;
+		this.plots = plots;
+		this.market = market;
+		this.gameEngine = gameEngine;
+		autosaver = new Autosaver(file);
+	}
+
+	/**
+	 * Passes a snapshot of the game to the autosaver every {@link SaveFile#AUTOSAVE_INTERVAL} seconds (called every frame)
+	 * @param delta The time since the last frame (in seconds)
+	 */
+	void update(float delta){
+		if(autosaver == null || gameEngine.isGameOver()){
+			return;
+		}
+		timeSinceAutosave += delta;
+		if(timeSinceAutosave >= AUTOSAVE_INTERVAL){
+			timeSinceAutosave = 0;
+			autosaver.save(GameSnapshot.capture(seed, plots, market, gameEngine));
+		}
+	}
+
+	/**
+	 * Saves the game one last time (or deletes the save if the game is over), does nothing if no game was attached
+	 */
+	void close(){
+		if(autosaver == null){
+			return;
+		}
+		try{
+			autosaver.close(CLOSE_TIMEOUT_MILLIS); // Let any autosave finish so it can't overwrite the final save
+			if(gameEngine.isGameOver()){
+				Files.deleteIfExists(file); // Start a new game next time
+			}
+			else{
+				GameSnapshot.capture(seed, plots, market, gameEngine).write(file);
+			}
+		}
+		catch(IOException e){
+			logError("Unable to save the game", e);
+		}
+		catch(InterruptedException e){
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Logs an error (if the game is running, there is nothing to log to otherwise)
+	 * @param message What went wrong
+	 * @param e The exception
+	 */
+	private static void logError(String message, Exception e){
+		if(Gdx.app != null){
+			Gdx.app.error("SaveFile", message, e);
+		}
+	}
+}
@@ -0,0 +1,74 @@
+package com.topright.roboticon;
+
+/**
+ * How much work a {@link SearchStrategy} may do for each decision: either a number of rollouts or an amount of time
+ */
+public final class SearchBudget {
+	private final int iterations; // 0 if the budget is a time
+	private final long timeNanos; // 0 if the budget is a number of iterations
+	
+	/**
+	 * Constructor
+	 * @param iterations The number of rollouts (0 if the budget is a time)
+	 * @param timeNanos The time in nanoseconds (0 if the budget is a number of rollouts)
+	 */
+	private SearchBudget(int iterations, long timeNanos){
+		this.iterations = iterations;
+		this.timeNanos = timeNanos;
+	}
+	
+	/**
+	 * Returns a budget that allows a fixed number of rollouts per decision (the same seed will always make the same decisions)
+	 * @param iterations The number of rollouts per decision (shared between the worker threads)
+	 * @return The budget
+	 */
+	public static SearchBudget iterations(int iterations){
+		if(iterations <= 0){
+			throw new IllegalArgumentException("iterations must be > 0 iterations = "+iterations);
+		}
+		return new SearchBudget(iterations, 0);
+	}
+	
+	/**
+	 * Returns a budget that allows as many rollouts as can be done in a fixed amount of time per decision
+	 * @param millis The time allowed per decision in milliseconds
+	 * @return The budget
+	 */
+	public static SearchBudget time(long millis){
+		if(millis <= 0){
+			throw new IllegalArgumentException("millis must be > 0 millis = "+millis);
+		}
+		return new SearchBudget(0, millis * 1000000);
+	}
+	
+	/**
+	 * Returns whether or not this budget is a number of rollouts (rather than a time)
+	 * @return true if the budget is a number of rollouts
+	 */
+	public boolean isIterationBudget(){
+		return iterations > 0;
+	}
+	
+	/**
+	 * Returns the number of rollouts that one of the worker threads may do
+	 * @param workers The number of worker threads
+	 * @return The number of rollouts per worker (Integer.MAX_VALUE if the budget is a time)
+	 */
+	int getIterationsPerWorker(int workers){
+		return isIterationBudget() ? (iterations + workers - 1) / workers : Integer.MAX_VALUE;
+	}
+	
+	/**
+	 * Returns the time at which a search that started at the given time must stop
+	 * @param startTime When the search started (System.nanoTime)
+	 * @return When the search must stop (System.nanoTime), Long.MAX_VALUE if the budget is a number of rollouts
+	 */
+	long getDeadline(long startTime){
+		return isIterationBudget() ? Long.MAX_VALUE : startTime + timeNanos;
+	}
+	
+	@Override
+	public String toString(){
+		return isIterationBudget() ? iterations+" rollouts" : (timeNanos/1000000)+"ms";
+	}
+}
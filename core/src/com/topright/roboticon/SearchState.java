@@ -0,0 +1,156 @@
+package com.topright.roboticon;
+
+import java.util.EnumMap;
+
+/**
+ * The state of a game between two players, captured into arrays so that the rollouts done by a {@link SearchStrategy} can each
+ * set up their own copy of the game cheaply
+ * <p>
+ * A SearchState is never changed once it has been captured, so one is shared by every rollout (and every worker thread) in a search.
+ * Each rollout creates its own plots, inventories and market from it and plays on those, the real game is never touched.
+ * </p>
+ */
+final class SearchState {
+	static final int NO_OWNER = 0;
+	static final int SEARCHER = 1; // The player who is searching
+	static final int OPPONENT = 2;
+	private static final PlotSpecialism[] SPECIALISMS = PlotSpecialism.values();
+	private static final RoboticonCustomisation[] CUSTOMISATIONS = RoboticonCustomisation.values();
+	
+	private final int rows;
+	private final int columns;
+	private final byte[] specialisms; // One per plot, in plot number order
+	private final byte[] owners; // NO_OWNER, SEARCHER or OPPONENT
+	private final byte[] roboticons; // 0 if there is no roboticon, otherwise the ordinal of its customisation + 1
+	private final int[][] inventories = new int[3][]; // Indexed by SEARCHER and OPPONENT: ore, energy, money then roboticons
+	private final int marketOre;
+	private final int marketEnergy;
+	private final int marketRoboticons;
+	private final PricingEngine pricingEngine; // Pricing engines are never changed so can be shared
+	private final boolean searcherPlaysFirst;
+	
+	/**
+	 * Captures the state of a game
+	 * @param plots The plots that the game is played on
+	 * @param market The market used by the game
+	 * @param searcher The player who is searching
+	 * @param opponent The other player
+	 * @param searcherPlaysFirst true if the searcher is the first player in each round
+	 */
+	SearchState(Plot[][] plots, Market market, Player searcher, Player opponent, boolean searcherPlaysFirst){
+		rows = plots.length;
+		columns = plots[0].length;
+		specialisms = new byte[rows*columns];
+		owners = new byte[rows*columns];
+		roboticons = new byte[rows*columns];
+		for(int row = 0; row < rows; row++){
+			for(int column = 0; column < columns; column++){
+				Plot plot = plots[row][column];
+				int plotNumber = row*columns + column;
+				specialisms[plotNumber] = (byte)plot.getSpecialism().ordinal();
+				if(plot.getPlayer() == searcher){
+					owners[plotNumber] = SEARCHER;
+				}
+				else if(plot.getPlayer() == opponent){
+					owners[plotNumber] = OPPONENT;
+				}
+				if(plot.hasRoboticon()){
+					roboticons[plotNumber] = (byte)(plot.getRoboticon().ordinal() + 1);
+				}
+			}
+		}
+		inventories[SEARCHER] = captureInventory(searcher);
+		inventories[OPPONENT] = captureInventory(opponent);
+		marketOre = market.getOreQuantity();
+		marketEnergy = market.getEnergyQuantity();
+		marketRoboticons = market.getRoboticonQuantity();
+		pricingEngine = market.getPricingEngine();
+		this.searcherPlaysFirst = searcherPlaysFirst;
+	}
+	
+	/**
+	 * Copies the contents of a player's inventory into an array
+	 * @param player The player
+	 * @return The player's ore, energy, money and then roboticons of each customisation
+	 */
+	private static int[] captureInventory(Player player){
+		int[] inventory = new int[3 + CUSTOMISATIONS.length];
+		inventory[0] = player.getOreQuantity();
+		inventory[1] = player.getEnergyQuantity();
+		inventory[2] = player.getMoneyQuantity();
+		for(RoboticonCustomisation customisation : CUSTOMISATIONS){
+			inventory[3 + customisation.ordinal()] = player.getRoboticonQuantity(customisation);
+		}
+		return inventory;
+	}
+	
+	/**
+	 * Creates a new market with the captured stock and pricing engine
+	 * @return The new market
+	 */
+	Market createMarket(){
+		Market market = new Market(new MarketInventory(marketOre, marketEnergy, marketRoboticons));
+		market.setPricingEngine(pricingEngine);
+		return market;
+	}
+	
+	/**
+	 * Creates a new inventory with the captured contents of a player's inventory
+	 * @param player SEARCHER or OPPONENT
+	 * @return The new inventory
+	 */
+	PlayerInventory createInventory(int player){
+		int[] inventory = inventories[player];
+		EnumMap<RoboticonCustomisation,Integer> roboticonQuantities = new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class);
+		for(RoboticonCustomisation customisation : CUSTOMISATIONS){
+			roboticonQuantities.put(customisation, inventory[3 + customisation.ordinal()]);
+		}
+		return new PlayerInventory(inventory[0], inventory[1], roboticonQuantities, inventory[2]);
+	}
+	
+	/**
+	 * Creates new plots with the captured specialisms, owners and roboticons
+	 * @param searcher The player who takes the place of the searcher
+	 * @param opponent The player who takes the place of the opponent
+	 * @return The new plots
+	 */
+	Plot[][] createPlots(Player searcher, Player opponent){
+		Plot[][] plots = new Plot[rows][columns];
+		for(int row = 0; row < rows; row++){
+			for(int column = 0; column < columns; column++){
+				int plotNumber = row*columns + column;
+				Plot plot = new Plot(SPECIALISMS[specialisms[plotNumber]]);
+				if(owners[plotNumber] != NO_OWNER){
+					plot.setPlayer((owners[plotNumber] == SEARCHER) ? searcher : opponent);
+				}
+				if(roboticons[plotNumber] != 0){
+					plot.placeRoboticon(CUSTOMISATIONS[roboticons[plotNumber] - 1]);
+				}
+				plots[row][column] = plot;
+			}
+		}
+		return plots;
+	}
+	
+	/**
+	 * Returns whether or not there is an unacquired plot with the given specialism
+	 * @param specialism The specialism
+	 * @return true if there is at least one unacquired plot with the given specialism
+	 */
+	boolean hasUnacquiredPlot(PlotSpecialism specialism){
+		for(int plotNumber = 0; plotNumber < owners.length; plotNumber++){
+			if(owners[plotNumber] == NO_OWNER && specialisms[plotNumber] == specialism.ordinal()){
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Returns whether or not the searcher is the first player in each round
+	 * @return true if the searcher plays first
+	 */
+	boolean searcherPlaysFirst(){
+		return searcherPlaysFirst;
+	}
+}
@@ -0,0 +1,234 @@
+package com.topright.roboticon;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An AI strategy that decides which plots to acquire and what to sell at the market by searching ahead using Monte Carlo tree search
+ * <p>
+ * Each decision captures the state of the game once (see {@link SearchState}) and then plays the rest of the game many times from
+ * it using the same rules as the real game (see {@link MonteCarloTreeSearch}), choosing the action that the search tried most often.
+ * Buying, customising and placing roboticons are left to {@link GreedyStrategy} as there is only one sensible way to do them.
+ * The player's opponent must be known (it is set by the {@link GameEngine}), until then the greedy decisions are made.
+ * </p>
+ * <p>
+ * The search can be shared between several worker threads, each of which grows its own tree from its own {@link GameRandom}
+ * (split from this strategy's) before the results for each action are added together. With a budget that is a number of
+ * rollouts the same seed always makes the same decisions however long the search takes.
+ * </p>
+ */
+class SearchStrategy extends GreedyStrategy {
+	private static final AtomicInteger workerThreadCount = new AtomicInteger();
+	
+	private final SearchBudget budget;
+	private final int threads;
+	private final GameRandom random;
+	private ExecutorService workers = null; // Created when first needed (only if there is more than one thread)
+	
+	private PlotGrid plotGrid = null; // The plots that the game is being played on (needed when choosing what to sell)
+	
+	private long rollouts = 0;
+	private long searchTime = 0; // Total time spent searching in nanoseconds
+	
+	/**
+	 * Constructor
+	 * @param budget How much searching to do for each decision
+	 * @param threads The number of threads to search with
+	 * @param random Used to make every random decision during the search
+	 */
+	SearchStrategy(SearchBudget budget, int threads, GameRandom random){
+		if(budget == null || random == null){
+			throw new IllegalArgumentException("budget and random must not be null");
+		}
+		if(threads <= 0){
+			throw new IllegalArgumentException("threads must be > 0 threads = "+threads);
+		}
+		this.budget = budget;
+		this.threads = threads;
+		this.random = random;
+	}
+	
+	@Override
+	public String getName(){
+		return "search";
+	}
+	
+	@Override
+	public void choosePlot(AIPlayer player, PlotGrid plotManager){
+		plotGrid = plotManager;
+		if(player.getOpponent() == null){
+			super.choosePlot(player, plotManager);
+			return;
+		}
+		int plotsRemaining = (plotManager.getNumberOfUnacquiredPlots() + 1)/2; // It is this player's turn so it gets the odd plot
+		PlotSpecialism specialism = PlotSpecialism.values()[search(player, GamePhase.PLOTACQUISITION, plotsRemaining)];
+		int plotNumber = findUnacquiredPlot(plotManager, specialism);
+		plotManager.acquirePlot(plotManager.getPlotRow(plotNumber), plotManager.getPlotColumn(plotNumber));
+	}
+	
+	@Override
+	public void buyRoboticons(AIPlayer player, PlotGrid plotManager){
+		plotGrid = plotManager; // A player may not get to choose a plot in the last round
+		super.buyRoboticons(player, plotManager);
+	}
+	
+	@Override
+	public void buyAndSellResources(AIPlayer player){
+		if(player.getOpponent() == null || plotGrid == null || (player.getOreQuantity() == 0 && player.getEnergyQuantity() == 0)){
+			super.buyAndSellResources(player);
+			return;
+		}
+		int unacquiredPlots = plotGrid.getNumberOfUnacquiredPlots();
+		int plotsRemaining = player.playsFirst() ? (unacquiredPlots + 1)/2 : unacquiredPlots/2; // The first player chooses first next round
+		applyMarketAction(player, search(player, GamePhase.MARKET, plotsRemaining));
+	}
+	
+	/**
+	 * Sells none, half or all of a player's ore and energy
+	 * @param player The player
+	 * @param action 0 to 8, action/3 is the amount of ore and action%3 is the amount of energy (0 is none, 1 is half and 2 is all)
+	 */
+	static void applyMarketAction(Player player, int action){
+		if(action < 0 || action >= MonteCarloTreeSearch.MARKET_ACTIONS){
+			throw new IllegalArgumentException("action must be between 0 and "+(MonteCarloTreeSearch.MARKET_ACTIONS-1)+" action = "+action);
+		}
+		int energyToSell = player.getEnergyQuantity()*(action%3)/2;
+		if(energyToSell > 0){
+			player.attemptToSellEnergy(energyToSell);
+		}
+		int oreToSell = player.getOreQuantity()*(action/3)/2;
+		if(oreToSell > 0){
+			player.attemptToSellOre(oreToSell);
+		}
+	}
+	
+	/**
+	 * Searches for the best action to take now
+	 * @param player The player that is making the decision
+	 * @param phase PLOTACQUISITION or MARKET
+	 * @param plotsRemaining The number of plots that this player will acquire before the end of the game (including this one if choosing a plot)
+	 * @return The ordinal of the specialism of the plot to acquire or the market action to take
+	 */
+	private int search(AIPlayer player, GamePhase phase, int plotsRemaining){
+		long startTime = System.nanoTime();
+		SearchState state = new SearchState(plotGrid.getPlots(), player.getMarket(), player, player.getOpponent(), player.playsFirst());
+		MonteCarloTreeSearch[] searches = new MonteCarloTreeSearch[threads];
+		for(int worker = 0; worker < threads; worker++){
+			searches[worker] = new MonteCarloTreeSearch(state, phase, plotsRemaining, random.split()); // Split in order so that results can be repeated
+		}
+		int[] actions = searches[0].getRootActions();
+		if(actions.length == 1){
+			return actions[0];
+		}
+		
+		runSearches(searches, budget.getIterationsPerWorker(threads), budget.getDeadline(startTime));
+		
+		int bestAction = actions[0];
+		int bestVisits = -1;
+		double bestReward = 0;
+		for(int action : actions){
+			int visits = 0;
+			double reward = 0;
+			for(MonteCarloTreeSearch search : searches){
+				visits += search.getVisits(action);
+				reward += search.getTotalReward(action);
+			}
+			if(visits > bestVisits || (visits == bestVisits && reward > bestReward)){
+				bestAction = action;
+				bestVisits = visits;
+				bestReward = reward;
+			}
+		}
+		for(MonteCarloTreeSearch search : searches){
+			rollouts += search.getRollouts();
+		}
+		searchTime += System.nanoTime() - startTime;
+		return bestAction;
+	}
+	
+	/**
+	 * Runs the searches, one per worker thread
+	 * @param searches The searches
+	 * @param iterations The number of iterations that each search may do
+	 * @param deadline When every search must stop (System.nanoTime)
+	 */
+	private void runSearches(MonteCarloTreeSearch[] searches, final int iterations, final long deadline){
+		if(searches.length == 1){
+			searches[0].run(iterations, deadline);
+			return;
+		}
+		if(workers == null){
+			workers = Executors.newFixedThreadPool(threads, new ThreadFactory(){
+				@Override
+				public Thread newThread(Runnable runnable){
+					Thread thread = new Thread(runnable, "search-worker-"+workerThreadCount.incrementAndGet());
+					thread.setDaemon(true); // Must not stop the game from exiting
+					return thread;
+				}
+			});
+		}
+		
+		List<Callable<MonteCarloTreeSearch>> tasks = new ArrayList<Callable<MonteCarloTreeSearch>>();
+		for(final MonteCarloTreeSearch search : searches){
+			tasks.add(new Callable<MonteCarloTreeSearch>(){
+				@Override
+				public MonteCarloTreeSearch call(){
+					return search.run(iterations, deadline);
+				}
+			});
+		}
+		try{
+			for(Future<MonteCarloTreeSearch> result : workers.invokeAll(tasks)){
+				result.get();
+			}
+		}
+		catch(InterruptedException e){
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while searching!", e); // Searches that were cancelled may still be running
+		}
+		catch(ExecutionException e){
+			throw new IllegalStateException("A search failed!", e.getCause());
+		}
+	}
+	
+	/**
+	 * Stops the worker threads (they are daemon threads, so this only needs to be called if the strategy is finished with before the program exits)
+	 */
+	void shutdown(){
+		if(workers != null){
+			workers.shutdownNow();
+			workers = null;
+		}
+	}
+	
+	/**
+	 * Returns the number of games that have been played out by the searches so far
+	 * @return The number of rollouts
+	 */
+	long getRollouts(){
+		return rollouts;
+	}
+	
+	/**
+	 * Returns the total time spent searching so far in nanoseconds
+	 * @return The time spent searching
+	 */
+	long getSearchTime(){
+		return searchTime;
+	}
+	
+	/**
+	 * Returns the number of games played out per second of searching (across all of the worker threads)
+	 * @return The number of rollouts per second, 0 if no searching has been done
+	 */
+	double getRolloutsPerSecond(){
+		return (searchTime == 0) ? 0 : rollouts/(searchTime/1e9);
+	}
+}
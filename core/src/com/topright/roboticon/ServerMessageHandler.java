@@ -0,0 +1,70 @@
+package com.topright.roboticon;
+
+/**
+ * Told about the messages that the game server sends to its clients (see {@link NetworkProtocol#dispatch(java.nio.ByteBuffer, ServerMessageHandler)})
+ */
+interface ServerMessageHandler {
+
+	/**
+	 * Called when the client's match has started
+	 * @param playerNumber The number of the client's player (their position in the order that the players take their turns)
+	 * @param numberOfPlayers The number of players in the match
+	 * @param specialisms The specialism of every plot on the map
+	 */
+	public void matchStarted(int playerNumber, int numberOfPlayers, PlotSpecialism[][] specialisms);
+
+	/**
+	 * Called when the match enters a stage in which a human player must act
+	 * @param phase The phase of the game
+	 * @param playerNumber The number of the player who must act ({@link NetworkProtocol#ALL_PLAYERS} if every player may act)
+	 * @param roundNumber The round that the match is in
+	 */
+	public void stage(GamePhase phase, int playerNumber, int roundNumber);
+
+	/**
+	 * Called when a plot has been acquired
+	 * @param playerNumber The number of the player who acquired the plot
+	 * @param row The row of the plot
+	 * @param column The column of the plot
+	 */
+	public void plotAcquired(int playerNumber, int row, int column);
+
+	/**
+	 * Called when a roboticon has been placed on a plot
+	 * @param playerNumber The number of the player who placed the roboticon
+	 * @param row The row of the plot
+	 * @param column The column of the plot
+	 * @param customisation The customisation of the roboticon
+	 */
+	public void roboticonPlaced(int playerNumber, int row, int column, RoboticonCustomisation customisation);
+
+	/**
+	 * Called with what a player now owns
+	 * @param playerNumber The number of the player
+	 * @param ore The player's ore
+	 * @param energy The player's energy
+	 * @param money The player's money
+	 * @param roboticons The number of roboticons of each customisation that the player has (indexed by ordinal)
+	 */
+	public void inventory(int playerNumber, int ore, int energy, int money, int[] roboticons);
+
+	/**
+	 * Called with what the market now has in stock
+	 * @param ore The ore in stock
+	 * @param energy The energy in stock
+	 * @param roboticons The roboticons in stock
+	 */
+	public void market(int ore, int energy, int roboticons);
+
+	/**
+	 * Called when the server did not carry out a message sent by the client (e.g. it was not the player's turn)
+	 * @param messageType The type of the message that was not carried out
+	 */
+	public void rejected(int messageType);
+
+	/**
+	 * Called when the match is over
+	 * @param scores The score of every player (in player number order)
+	 */
+	public void gameOver(int[] scores);
+}
@@ -0,0 +1,401 @@
+package com.topright.roboticon;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Plays many AI only games (without any GUI) in parallel using a ForkJoinPool and reports how quickly they were played
+ * <p>
+ * Reports the number of games played per second and the mean time spent in each phase of a game. Useful for
+ * checking the performance of the AI and the rules of the game (which are run by {@link GameEngine}).
+ * </p>
+ * <p>
+ * Every game is given its own {@link GameRandom}, split (in a fixed order) from a single seed, so running with the same
+ * seed and number of games always plays the same games however many threads are used.
+ * </p>
+ * <p>
+ * Usage: SimulationRunner [number of games] [number of threads] [seed] [search rollouts] [number of players]
+ * </p>
+ * <p>
+ * If a number of search rollouts is given then the first player uses a {@link SearchStrategy} that plays that many rollouts per decision
+ * (on the thread that is playing its game) and the number of rollouts played per second is also reported.
+ * </p>
+ * <p>
+ * Games are played by two players unless a number of players is given. Large lobbies of AI players put far more load on the
+ * shared market and on production than two player games do, the map is made larger (by {@link SimulationRunner#PLOTS_PER_PLAYER}
+ * plots for every player) so that every player still gets to acquire plots.
+ * </p>
+ * <p>
+ * If the system property roboticon.metrics is set to the path of a file, the {@link MetricsRegistry} is enabled while the games are played
+ * and what it recorded (e.g. the latency percentiles of the AI decisions) is written to that file.
+ * </p>
+ */
+public class SimulationRunner {
+	private static final int PLOT_ROWS = 4;
+	private static final int PLOT_COLUMNS = 5;
+	private static final int STARTING_MONEY = 30;
+	static final int DEFAULT_PLAYERS = 2;
+	static final int PLOTS_PER_PLAYER = PLOT_ROWS * PLOT_COLUMNS / DEFAULT_PLAYERS; // Each player's share of the standard map
+	private static final int GAMES_PER_TASK = 16; // Tasks that are to play no more than this many games are not split any further
+
+	private SimulationRunner(){} // No instantiations
+
+	/**
+	 * The results of playing a number of games (can be combined with the results of other games)
+	 */
+	static class SimulationResults {
+		private int gamesPlayed = 0;
+		private int[] wins = new int[DEFAULT_PLAYERS]; // The number of games won by the player in each position in the turn order
+		private int rounds = 0;
+		private long[] phaseTimes = new long[GamePhase.values().length]; // Total time spent in each phase (in nanoseconds)
+		private long searchRollouts = 0; // Played by players using a SearchStrategy
+		private long searchTime = 0; // Total time spent searching by players using a SearchStrategy (in nanoseconds)
+
+		/**
+		 * Adds the results of a game that has been completed
+		 * @param gameEngine The GameEngine that played the game
+		 */
+		void addGame(GameEngine gameEngine){
+			if(!gameEngine.isGameOver()){
+				throw new IllegalArgumentException("Cannot add the results of a game that is not over!");
+			}
+			gamesPlayed++;
+			rounds += gameEngine.getRoundNumber();
+			for(GamePhase phase : GamePhase.values()){
+				phaseTimes[phase.ordinal()] += gameEngine.getPhaseTime(phase);
+			}
+			List<Player> players = gameEngine.getPlayers();
+			for(Player player : players){
+				if(player instanceof AIPlayer && ((AIPlayer)player).getStrategy() instanceof SearchStrategy){
+					SearchStrategy strategy = (SearchStrategy)((AIPlayer)player).getStrategy();
+					searchRollouts += strategy.getRollouts();
+					searchTime += strategy.getSearchTime();
+				}
+			}
+
+			// The game is only won if a single player has the highest score
+			int winner = -1;
+			int highestScore = Integer.MIN_VALUE;
+			for(int position = 0; position < players.size(); position++){
+				int score = players.get(position).calculateScore();
+				if(score > highestScore){
+					highestScore = score;
+					winner = position;
+				}
+				else if(score == highestScore){
+					winner = -1;
+				}
+			}
+			if(winner != -1){
+				ensureCapacity(players.size());
+				wins[winner]++;
+			}
+		}
+
+		/**
+		 * Makes sure that the wins of the given number of players can be counted
+		 * @param numberOfPlayers The number of players
+		 */
+		private void ensureCapacity(int numberOfPlayers){
+			if(wins.length < numberOfPlayers){
+				wins = Arrays.copyOf(wins, numberOfPlayers);
+			}
+		}
+
+		/**
+		 * Adds the results of other games to these results
+		 * @param other The results of other games
+		 */
+		void addAll(SimulationResults other){
+			gamesPlayed += other.gamesPlayed;
+			ensureCapacity(other.wins.length);
+			for(int position = 0; position < other.wins.length; position++){
+				wins[position] += other.wins[position];
+			}
+			rounds += other.rounds;
+			for(int phase = 0; phase < phaseTimes.length; phase++){
+				phaseTimes[phase] += other.phaseTimes[phase];
+			}
+			searchRollouts += other.searchRollouts;
+			searchTime += other.searchTime;
+		}
+
+		/**
+		 * Returns the number of games that have been played
+		 * @return The number of games that have been played
+		 */
+		int getGamesPlayed(){
+			return gamesPlayed;
+		}
+
+		/**
+		 * Returns the number of games won by the player who went first
+		 * @return The number of games won by the player who went first
+		 */
+		int getFirstPlayerWins(){
+			return getWins(0);
+		}
+
+		/**
+		 * Returns the number of games won by the player who went second
+		 * @return The number of games won by the player who went second
+		 */
+		int getSecondPlayerWins(){
+			return getWins(1);
+		}
+
+		/**
+		 * Returns the number of games won by the player in the given position in the turn order
+		 * @param position The position in the turn order (0 for the player who went first)
+		 * @return The number of games won by the player in the given position
+		 */
+		int getWins(int position){
+			if(position < 0){
+				throw new IllegalArgumentException("position must be >= 0 position = "+position);
+			}
+			return (position < wins.length) ? wins[position] : 0;
+		}
+
+		/**
+		 * Returns the total number of rounds played in all of the games
+		 * @return The total number of rounds played in all of the games
+		 */
+		int getRounds(){
+			return rounds;
+		}
+
+		/**
+		 * Returns the mean time (in nanoseconds) spent in the given phase per game
+		 * @param phase The phase
+		 * @return The mean time spent in the given phase per game in nanoseconds
+		 */
+		double getMeanPhaseTime(GamePhase phase){
+			return (gamesPlayed == 0) ? 0 : (double)phaseTimes[phase.ordinal()]/gamesPlayed;
+		}
+
+		/**
+		 * Returns the total number of rollouts played by players using a SearchStrategy in all of the games
+		 * @return The total number of rollouts
+		 */
+		long getSearchRollouts(){
+			return searchRollouts;
+		}
+
+		/**
+		 * Returns the number of rollouts played per second of searching by a single thread
+		 * @return The number of rollouts per second, 0 if there was no searching
+		 */
+		double getSearchRolloutsPerSecond(){
+			return (searchTime == 0) ? 0 : searchRollouts/(searchTime/1e9);
+		}
+	}
+
+	/**
+	 * Plays a given number of games, splitting the work in half (to be shared between threads) if there are many games to play
+	 */
+	static class SimulationTask extends RecursiveTask<SimulationResults> {
+		private static final long serialVersionUID = 1L;
+		private int numberOfGames;
+		private GameRandom random; // Only used by this task
+		private int searchRollouts; // 0 if no player searches
+		private int numberOfPlayers;
+
+		/**
+		 * Constructor
+		 * @param numberOfGames The number of games to play
+		 * @param random Split to give each game its own GameRandom
+		 * @param searchRollouts The number of rollouts per decision made by the first player (0 if the first player does not search)
+		 * @param numberOfPlayers The number of players in each game
+		 */
+		SimulationTask(int numberOfGames, GameRandom random, int searchRollouts, int numberOfPlayers){
+			this.numberOfGames = numberOfGames;
+			this.random = random;
+			this.searchRollouts = searchRollouts;
+			this.numberOfPlayers = numberOfPlayers;
+		}
+
+		@Override
+		protected SimulationResults compute(){
+			if(numberOfGames <= GAMES_PER_TASK){
+				SimulationResults results = new SimulationResults();
+				for(int game = 0; game < numberOfGames; game++){
+					results.addGame(playGame(random.split(), searchRollouts, numberOfPlayers));
+				}
+				return results;
+			}
+
+			// Split before forking so that the games played do not depend on how the tasks are scheduled
+			SimulationTask firstHalf = new SimulationTask(numberOfGames/2, random.split(), searchRollouts, numberOfPlayers);
+			SimulationTask secondHalf = new SimulationTask(numberOfGames - numberOfGames/2, random, searchRollouts, numberOfPlayers);
+			firstHalf.fork();
+			SimulationResults results = secondHalf.compute();
+			results.addAll(firstHalf.join());
+			return results;
+		}
+	}
+
+	/**
+	 * Plays a single AI versus AI game from start to finish
+	 * <p>
+	 * Every game has its own Market so games can be played at the same time without affecting each other.
+	 * </p>
+	 * @return The GameEngine that played the game (the game will be over)
+	 */
+	static GameEngine playGame(){
+		return playGame(new GameRandom());
+	}
+
+	/**
+	 * Plays a single AI versus AI game from start to finish
+	 * @param random Used for every random decision made when setting up the game (the same seed always plays the same game)
+	 * @return The GameEngine that played the game (the game will be over)
+	 */
+	static GameEngine playGame(GameRandom random){
+		return playGame(random, 0);
+	}
+
+	/**
+	 * Plays a single AI versus AI game from start to finish
+	 * @param random Used for every random decision made when setting up the game and by any searching player
+	 * @param searchRollouts The number of rollouts per decision made by the first player (0 if the first player is an ordinary AIPlayer)
+	 * @return The GameEngine that played the game (the game will be over)
+	 */
+	static GameEngine playGame(GameRandom random, int searchRollouts){
+		return playGame(random, searchRollouts, DEFAULT_PLAYERS);
+	}
+
+	/**
+	 * Plays a single game between the given number of AI players from start to finish
+	 * <p>
+	 * The map has {@link SimulationRunner#PLOT_ROWS} rows and enough columns to give every player at least
+	 * {@link SimulationRunner#PLOTS_PER_PLAYER} plots (the standard 4 by 5 map for two players).
+	 * </p>
+	 * @param random Used for every random decision made when setting up the game and by any searching player
+	 * @param searchRollouts The number of rollouts per decision made by the first player (0 if the first player is an ordinary AIPlayer)
+	 * @param numberOfPlayers The number of players (at least 2)
+	 * @return The GameEngine that played the game (the game will be over)
+	 */
+	static GameEngine playGame(GameRandom random, int searchRollouts, int numberOfPlayers){
+		if(numberOfPlayers < 2){
+			throw new IllegalArgumentException("numberOfPlayers must be >= 2 numberOfPlayers = "+numberOfPlayers);
+		}
+		Market market = new Market(new MarketInventory(0,16,12));
+		int plotColumns = Math.max(PLOT_COLUMNS, (numberOfPlayers*PLOTS_PER_PLAYER + PLOT_ROWS - 1)/PLOT_ROWS);
+		PlotGrid plotGrid = new HeadlessPlotManager(CreatePlots.createPlots(PLOT_ROWS, plotColumns, random));
+		List<Player> players = new ArrayList<Player>(numberOfPlayers);
+		if(searchRollouts > 0){
+			players.add(new AIPlayer(new PlayerInventory(0, 0, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), STARTING_MONEY), market, new SearchStrategy(SearchBudget.iterations(searchRollouts), 1, random.split())));
+		}
+		while(players.size() < numberOfPlayers){
+			players.add(new AIPlayer(new PlayerInventory(0, 0, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), STARTING_MONEY), market));
+		}
+		GameEngine gameEngine = new GameEngine(plotGrid, players, null);
+		gameEngine.start();
+		return gameEngine;
+	}
+
+	/**
+	 * Plays the given number of games using the given number of threads
+	 * @param numberOfGames The number of games to play
+	 * @param threads The number of threads to use
+	 * @param seed The seed that every game's GameRandom is split from
+	 * @return The combined results of all of the games
+	 */
+	static SimulationResults runGames(int numberOfGames, int threads, long seed){
+		return runGames(numberOfGames, threads, seed, 0);
+	}
+
+	/**
+	 * Plays the given number of games using the given number of threads
+	 * @param numberOfGames The number of games to play
+	 * @param threads The number of threads to use
+	 * @param seed The seed that every game's GameRandom is split from
+	 * @param searchRollouts The number of rollouts per decision made by the first player in each game (0 if the first player does not search)
+	 * @return The combined results of all of the games
+	 */
+	static SimulationResults runGames(int numberOfGames, int threads, long seed, int searchRollouts){
+		return runGames(numberOfGames, threads, seed, searchRollouts, DEFAULT_PLAYERS);
+	}
+
+	/**
+	 * Plays the given number of games using the given number of threads
+	 * @param numberOfGames The number of games to play
+	 * @param threads The number of threads to use
+	 * @param seed The seed that every game's GameRandom is split from
+	 * @param searchRollouts The number of rollouts per decision made by the first player in each game (0 if the first player does not search)
+	 * @param numberOfPlayers The number of AI players in each game (at least 2)
+	 * @return The combined results of all of the games
+	 */
+	static SimulationResults runGames(int numberOfGames, int threads, long seed, int searchRollouts, int numberOfPlayers){
+		if(numberOfGames < 0){
+			throw new IllegalArgumentException("numberOfGames must be >= 0 numberOfGames = "+numberOfGames);
+		}
+		if(threads <= 0){
+			throw new IllegalArgumentException("threads must be > 0 threads = "+threads);
+		}
+		if(searchRollouts < 0){
+			throw new IllegalArgumentException("searchRollouts must be >= 0 searchRollouts = "+searchRollouts);
+		}
+		if(numberOfPlayers < 2){
+			throw new IllegalArgumentException("numberOfPlayers must be >= 2 numberOfPlayers = "+numberOfPlayers);
+		}
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		try{
+			return pool.invoke(new SimulationTask(numberOfGames, new GameRandom(seed), searchRollouts, numberOfPlayers));
+		}
+		finally{
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Plays the games and prints the results
+	 * @param args Optionally the number of games to play followed by the number of threads to use, the seed, the number of search rollouts
+	 * and the number of players
+	 * @throws IOException If the metrics file could not be written
+	 */
+	public static void main(String[] args) throws IOException{
+		int numberOfGames = (args.length > 0) ? Integer.parseInt(args[0]) : 10000;
+		int threads = (args.length > 1) ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+		long seed = (args.length > 2) ? Long.parseLong(args[2]) : new GameRandom().getSeed();
+		int searchRollouts = (args.length > 3) ? Integer.parseInt(args[3]) : 0;
+		int numberOfPlayers = (args.length > 4) ? Integer.parseInt(args[4]) : DEFAULT_PLAYERS;
+
+		Path metricsFile = LaunchOptions.fromSystemProperties().getMetricsFile(); // The same system property as the game
+		MetricsRegistry.getInstance().setEnabled(metricsFile != null);
+
+		long startTime = System.nanoTime();
+		SimulationResults results = runGames(numberOfGames, threads, seed, searchRollouts, numberOfPlayers);
+		double seconds = (System.nanoTime() - startTime)/1e9;
+
+		System.out.println("Games played: "+results.getGamesPlayed()+" using "+threads+" threads in "+String.format("%.3f", seconds)+"s (seed "+seed+")");
+		System.out.println("Games per second: "+String.format("%.1f", results.getGamesPlayed()/seconds));
+		if(numberOfPlayers == DEFAULT_PLAYERS){
+			System.out.println("First player wins: "+results.getFirstPlayerWins()+" Second player wins: "+results.getSecondPlayerWins());
+		}
+		else{
+			System.out.println("Players per game: "+numberOfPlayers+" First player wins: "+results.getFirstPlayerWins()+" Last player wins: "+results.getWins(numberOfPlayers-1));
+		}
+		if(searchRollouts > 0){
+			System.out.println("First player searched "+searchRollouts+" rollouts per decision");
+			System.out.println("Rollouts per second: "+String.format("%.1f", results.getSearchRolloutsPerSecond())+" per thread, "+String.format("%.1f", results.getSearchRollouts()/seconds)+" in total");
+		}
+		System.out.println("Mean rounds per game: "+String.format("%.2f", (double)results.getRounds()/Math.max(1, results.getGamesPlayed())));
+		System.out.println("Mean time per game in each phase (microseconds):");
+		for(GamePhase phase : GamePhase.values()){
+			if(phase != GamePhase.GAMEOVER){
+				System.out.println("\t"+phase+": "+String.format("%.2f", results.getMeanPhaseTime(phase)/1000));
+			}
+		}
+		if(metricsFile != null){
+			MetricsRegistry.getInstance().writeCsv(metricsFile);
+			System.out.println("Metrics written to "+metricsFile.toAbsolutePath());
+		}
+	}
+}
@@ -0,0 +1,40 @@
+package com.topright.roboticon;
+
+/**
+ * An AI strategy that acquires plots with whichever specialism currently earns the most for each roboticon placed on it
+ * <p>
+ * A roboticon on a plot that matches its customisation produces 2 of that resource per round, so a plot is worth the amount
+ * that the market pays for 2 of its resource less the cost of customising a roboticon for it. Roboticons are bought, customised,
+ * placed and resources sold in the same way as {@link GreedyStrategy}.
+ * </p>
+ */
+class SpecialismAwareStrategy extends GreedyStrategy {
+	private static final int MATCHING_PRODUCTION = 2; // Produced each round by a roboticon on a plot that matches its customisation
+	
+	@Override
+	public String getName(){
+		return "specialism";
+	}
+	
+	@Override
+	public void choosePlot(AIPlayer player, PlotGrid plotManager){
+		PlotSpecialism preferred = getPreferredSpecialism(player.getMarket());
+		int plotNumber = findUnacquiredPlot(plotManager, preferred);
+		if(plotNumber < 0){ // There are none left with that specialism
+			super.choosePlot(player, plotManager);
+			return;
+		}
+		plotManager.acquirePlot(plotManager.getPlotRow(plotNumber), plotManager.getPlotColumn(plotNumber));
+	}
+	
+	/**
+	 * Returns the specialism of plot that is currently worth the most (ore if both are worth the same)
+	 * @param market The market that the player trades with
+	 * @return The specialism worth the most
+	 */
+	static PlotSpecialism getPreferredSpecialism(Market market){
+		int oreValue = market.getSaleValueOre(MATCHING_PRODUCTION) - market.getCostRoboticonCustomisation(RoboticonCustomisation.ORE);
+		int energyValue = market.getSaleValueEnergy(MATCHING_PRODUCTION) - market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);
+		return (energyValue > oreValue) ? PlotSpecialism.ENERGY : PlotSpecialism.ORE;
+	}
+}
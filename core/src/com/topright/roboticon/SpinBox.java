@@ -1,9 +1,7 @@
 package com.topright.roboticon;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
-import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.scenes.scene2d.ui.Table;
 import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
@@ -33,13 +31,13 @@ public class SpinBox extends Table{
 		this.maxValue = maxValue;
 		this.minValue = minValue;
 		
-		valueLabel = new Label(Integer.toString(value), new Skin(Gdx.files.internal("uiskin.json")));
+		valueLabel = new Label(Integer.toString(value), AssetRegistry.getInstance().getSkin());
 		
-		increaseQuantityButton = new TextButton("+", new Skin(Gdx.files.internal("uiskin.json")));		
-		decreaseQuantityButton = new TextButton("-", new Skin(Gdx.files.internal("uiskin.json")));
+		increaseQuantityButton = new TextButton("+", AssetRegistry.getInstance().getSkin());		
+		decreaseQuantityButton = new TextButton("-", AssetRegistry.getInstance().getSkin());
 		setButtonBehaviour();
 		
-		add(new Label(text,new Skin(Gdx.files.internal("uiskin.json")))).left();
+		add(new Label(text,AssetRegistry.getInstance().getSkin())).left();
 		add(valueLabel).right().expand().padRight(5);
 		add(increaseQuantityButton).right();
 		add(decreaseQuantityButton).right();
@@ -0,0 +1,90 @@
+package com.topright.roboticon;
+
+/**
+ * A {@link PricingEngine} that raises prices when the market is running short of a good or players have been buying it and lowers
+ * them when the market is flooded with it or players have been selling it
+ * <p>
+ * Goods cost their base price when the market has the reference stock of them and nobody has traded them recently. The price
+ * moves with the square root of reference stock / stock (so that an empty market is expensive but not absurdly so), and by a
+ * further {@value #VOLUME_WEIGHT} times the recent trade volume as a proportion of the reference stock. It never moves outside of
+ * {@value #MIN_PRICE_FACTOR} to {@value #MAX_PRICE_FACTOR} times the base price.
+ * </p>
+ * <p>
+ * The market buys for less than it sells for, the gap between the two (the spread) is a percentage of the price.
+ * </p>
+ */
+public class SupplyDemandPricingEngine implements PricingEngine {
+	static final double MIN_PRICE_FACTOR = 0.5;
+	static final double MAX_PRICE_FACTOR = 2.0;
+	static final double VOLUME_WEIGHT = 0.5;
+	static final int DEFAULT_REFERENCE_STOCK = 16;
+	static final int DEFAULT_SPREAD_PERCENT = 20;
+	
+	private final int referenceStock;
+	private final int spreadPercent;
+	
+	/**
+	 * Constructor (uses a reference stock of {@value #DEFAULT_REFERENCE_STOCK} and a spread of {@value #DEFAULT_SPREAD_PERCENT}%)
+	 */
+	public SupplyDemandPricingEngine(){
+		this(DEFAULT_REFERENCE_STOCK, DEFAULT_SPREAD_PERCENT);
+	}
+	
+	/**
+	 * Constructor
+	 * @param referenceStock The quantity of a good that the market must have in stock for it to be sold at its base price
+	 * @param spreadPercent The gap between the buy and sell price as a percentage of the price (0 to 100)
+	 */
+	public SupplyDemandPricingEngine(int referenceStock, int spreadPercent){
+		if(referenceStock <= 0){
+			throw new IllegalArgumentException("referenceStock must be > 0 referenceStock = "+referenceStock);
+		}
+		if(spreadPercent < 0 || spreadPercent > 100){
+			throw new IllegalArgumentException("spreadPercent must be between 0 and 100 spreadPercent = "+spreadPercent);
+		}
+		this.referenceStock = referenceStock;
+		this.spreadPercent = spreadPercent;
+	}
+	
+	/**
+	 * Returns the quantity of a good that the market must have in stock for it to be sold at its base price
+	 * @return The reference stock
+	 */
+	public int getReferenceStock(){
+		return referenceStock;
+	}
+	
+	/**
+	 * Returns the gap between the buy and sell price as a percentage of the price
+	 * @return The spread (as a percentage)
+	 */
+	public int getSpreadPercent(){
+		return spreadPercent;
+	}
+	
+	/**
+	 * Returns the price of a unit of a good before the spread is applied
+	 * @param basePrice The base price of the good
+	 * @param stock The quantity of the good that the market has in stock
+	 * @param recentTradeVolume The number of units recently bought from the market minus the number recently sold to it
+	 * @return The price before the spread is applied
+	 */
+	double getMidPrice(int basePrice, int stock, int recentTradeVolume){
+		double scarcity = Math.sqrt((referenceStock + 1.0) / (Math.max(stock, 0) + 1.0));
+		double demand = 1 + VOLUME_WEIGHT * recentTradeVolume / referenceStock;
+		double factor = Math.min(MAX_PRICE_FACTOR, Math.max(MIN_PRICE_FACTOR, scarcity * demand));
+		return basePrice * factor;
+	}
+	
+	@Override
+	public int getBuyPrice(int basePrice, int stock, int recentTradeVolume){
+		double price = getMidPrice(basePrice, stock, recentTradeVolume) * (200 + spreadPercent) / 200;
+		return Math.max(1, (int)Math.ceil(price));
+	}
+	
+	@Override
+	public int getSellPrice(int basePrice, int stock, int recentTradeVolume){
+		double price = getMidPrice(basePrice, stock, recentTradeVolume) * (200 - spreadPercent) / 200;
+		return Math.min(getBuyPrice(basePrice, stock, recentTradeVolume), Math.max(0, (int)Math.floor(price)));
+	}
+}
@@ -0,0 +1,543 @@
+package com.topright.roboticon;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.InputEvent;
+import com.badlogic.gdx.scenes.scene2d.InputListener;
+import com.badlogic.gdx.scenes.scene2d.ui.WidgetGroup;
+
+/**
+ * Displays a (possibly very large) map of plots and allows Players (both AI and human) to acquire plots and place roboticons on them
+ * <p>
+ * Used instead of {@link PlotManager} for large maps. Rather than creating a button for every plot, the state of the plots
+ * that is needed to draw them is kept in a {@link PlotTiles} struct of arrays and the plots are drawn as tiles (regions of the
+ * shared game atlas) by this single actor. Only the tiles that can currently be seen are drawn and the plot that was
+ * clicked is worked out from the position of the click, so the cost of drawing a frame and of handling a click does not
+ * depend on the size of the map.
+ * </p>
+ * <p>
+ * The plots owned by each AI player are tinted with that player's colour (see {@link PlayerColours}) so that games with
+ * many AI players can be followed. The map can be moved by dragging it and zoomed in and out with the mouse wheel.
+ * The rules themselves are implemented by a {@link HeadlessPlotManager} (as they are for {@link PlotManager}).
+ * </p>
+ */
+public class TiledPlotMap extends WidgetGroup implements PlotGridView{
+	static final float DEFAULT_TILE_SIZE = 64; // The width and height (in pixels) of a plot when the map is first displayed
+	static final float MIN_TILE_SIZE = 2; // The furthest that the map can be zoomed out
+	static final float MAX_TILE_SIZE = 256; // The furthest that the map can be zoomed in
+	static final float ZOOM_STEP = 1.25f; // How much the map is zoomed in or out by each time the mouse wheel is scrolled
+	private static final float TAP_SQUARE_SIZE = 8; // Moving further than this (in pixels) while a button is held down drags the map rather than clicking a plot
+	private static final float ROBOTICON_BORDER = 0.2f; // The fraction of a plot that is left empty on each side of a roboticon
+	
+	private static final Color ORE_TINT = new Color(0.9f, 0.75f, 0.55f, 1f); // Shows the specialism of the human player's plots
+	private static final Color ENERGY_TINT = new Color(1f, 1f, 0.6f, 1f);
+	
+	private PlotClickMode clickMode = PlotClickMode.NOACTION; // What happens when a plot is clicked
+	private Plot[][] plots;
+	private HeadlessPlotManager headlessPlotManager; // Implements the rules, this class adds the GUI
+	private PlotTiles tiles; // What is drawn for each plot
+	private Player currentPlayer = null;
+	private Player humanPlayer = null;
+	private PlayerColours playerColours; // Gives the owner number of each player (stored in tiles)
+	private Color[] ownerColours; // The colour that each owner's tiles are drawn in (indexed by owner number)
+	
+	// The menu should not be open initially
+	private RoboticonPlaceMenu roboticonPlaceMenu = null;
+	
+	// Regions of the shared game atlas (and the background texture), shared with PlotManager
+	private TextureRegion background;
+	private TextureRegion unacquiredTile;
+	private TextureRegion humanTile;
+	private TextureRegion AITile;
+	private TextureRegion oreRoboticon;
+	private TextureRegion energyRoboticon;
+	
+	private float tileSize = DEFAULT_TILE_SIZE; // The current width and height (in pixels) of each plot
+	private float viewX = 0; // Position on the map (in pixels) that is displayed at the left edge of this actor
+	private float viewY = 0; // Position on the map (in pixels, from the bottom of the map) that is displayed at the bottom edge of this actor
+	private boolean viewPositioned = false; // The top left of the map is displayed once the size of this actor is known
+	
+	/**
+	 * Constructor.
+	 * @param backgroundImage A String that stores the file path of the background image (displayed behind the plots).
+	 * @param plots A 2D array of plots that the player can interact with
+	 * @param humanPlayer The human player who is playing the game.
+	 * @param AIPlayer The AI player that is competing against the human player.
+	 */
+	public TiledPlotMap(String backgroundImage, Plot[][] plots, Player humanPlayer, Player AIPlayer){
+		this(backgroundImage, plots, humanPlayer, Arrays.asList(humanPlayer, AIPlayer));
+	}
+	
+	/**
+	 * Constructor.
+	 * @param backgroundImage A String that stores the file path of the background image (displayed behind the plots).
+	 * @param plots A 2D array of plots that the player can interact with
+	 * @param humanPlayer The human player who is playing the game (null if every player is an AI player).
+	 * @param players Every player in the game in the order that they take their turns.
+	 */
+	public TiledPlotMap(String backgroundImage, Plot[][] plots, Player humanPlayer, List<Player> players){
+		super();
+		this.humanPlayer = humanPlayer;
+		this.plots = plots;
+		headlessPlotManager = new HeadlessPlotManager(plots);
+		playerColours = new PlayerColours(players, humanPlayer);
+		tiles = new PlotTiles(plots, playerColours);
+		ownerColours = new Color[playerColours.getNumberOfOwners()];
+		for(int owner = 0; owner < ownerColours.length; owner++){
+			ownerColours[owner] = playerColours.getColour(owner);
+		}
+		
+		AssetRegistry assets = AssetRegistry.getInstance();
+		Texture backgroundTexture = assets.getTexture(backgroundImage);
+		background = new TextureRegion(backgroundTexture);
+		unacquiredTile = assets.getRegion("plot_overlays/fence");
+		humanTile = assets.getRegion("plot_overlays/human");
+		AITile = assets.getRegion("plot_overlays/AI");
+		oreRoboticon = assets.getRegion("roboticons/oreRoboticon");
+		energyRoboticon = assets.getRegion("roboticons/energyRoboticon");
+		
+		addListener(new MapInputListener());
+	}
+	
+	/**
+	 * Handles clicks on plots, dragging the map and zooming in and out (a single listener for the whole map)
+	 */
+	private class MapInputListener extends InputListener {
+		private float lastX, lastY; // Where the pointer was the last time that it was pressed or dragged
+		private float downX, downY; // Where the pointer was pressed
+		private boolean dragging = false;
+		
+		@Override
+		public boolean touchDown(InputEvent event, float x, float y, int pointer, int button){
+			if(pointer != 0 || event.getTarget() != TiledPlotMap.this){
+				return false; // Clicks on the roboticon place menu are handled by the menu
+			}
+			downX = lastX = x;
+			downY = lastY = y;
+			dragging = false;
+			return true;
+		}
+		
+		@Override
+		public void touchDragged(InputEvent event, float x, float y, int pointer){
+			if(!dragging && (Math.abs(x - downX) > TAP_SQUARE_SIZE || Math.abs(y - downY) > TAP_SQUARE_SIZE)){
+				dragging = true;
+			}
+			if(dragging){
+				pan(lastX - x, lastY - y);
+				lastX = x;
+				lastY = y;
+			}
+		}
+		
+		@Override
+		public void touchUp(InputEvent event, float x, float y, int pointer, int button){
+			if(!dragging){
+				int plotNumber = getPlotNumberAt(x, y);
+				if(plotNumber >= 0){
+					plotClicked(plotNumber / tiles.getColumns(), plotNumber % tiles.getColumns(), x, y);
+				}
+			}
+		}
+		
+		@Override
+		public void enter(InputEvent event, float x, float y, int pointer, Actor fromActor){
+			if(getStage() != null){
+				getStage().setScrollFocus(TiledPlotMap.this); // So that the map receives mouse wheel events
+			}
+		}
+		
+		@Override
+		public boolean scrolled(InputEvent event, float x, float y, int amount){
+			zoomAt((amount > 0) ? 1/ZOOM_STEP : ZOOM_STEP, x, y);
+			return true;
+		}
+	}
+	
+	/**
+	 * Returns the number of the plot that is displayed at the given position
+	 * @param x The x coordinate (relative to this actor)
+	 * @param y The y coordinate (relative to this actor)
+	 * @return The number of the plot (row * number of columns + column) or -1 if there is no plot at the given position
+	 */
+	int getPlotNumberAt(float x, float y){
+		int column = MathUtils.floor((viewX + x) / tileSize);
+		int rowFromBottom = MathUtils.floor((viewY + y) / tileSize);
+		if(column < 0 || column >= tiles.getColumns() || rowFromBottom < 0 || rowFromBottom >= tiles.getRows()){
+			return -1;
+		}
+		return tiles.getPlotNumber(tiles.getRows() - 1 - rowFromBottom, column);
+	}
+	
+	/**
+	 * Called whenever a plot is clicked, ensures that the correct operation (if any) is carried out on the plot.
+	 * @param row The row number of the plot that was clicked.
+	 * @param column The column number of the plot that was clicked.
+	 * @param x The x coordinate of the click (relative to this actor)
+	 * @param y The y coordinate of the click (relative to this actor)
+	 */
+	void plotClicked(int row, int column, float x, float y){
+		if(clickMode == PlotClickMode.ACQUIRE){
+			acquirePlot(row,column);
+		}
+		else if(clickMode == PlotClickMode.PLACEROBOTICON && plots[row][column].getPlayer() == currentPlayer){
+			removeRoboticonPlaceMenu(); // If a menu is already open (possibly for a different plot) then remove it
+			roboticonPlaceMenu = new RoboticonPlaceMenu(x, y, column, row, currentPlayer, this);
+			addActor(roboticonPlaceMenu);
+		}
+	}
+	
+	/**
+	 * Moves the part of the map that is displayed (the map can't be moved completely out of view)
+	 * @param deltaX How far to move to the right (in pixels)
+	 * @param deltaY How far to move up (in pixels)
+	 */
+	void pan(float deltaX, float deltaY){
+		viewX += deltaX;
+		viewY += deltaY;
+		clampView();
+	}
+	
+	/**
+	 * Zooms in or out keeping the plot at the given position in the same place
+	 * @param factor The amount by which the size of the plots is multiplied
+	 * @param x The x coordinate (relative to this actor) that stays still
+	 * @param y The y coordinate (relative to this actor) that stays still
+	 */
+	void zoomAt(float factor, float x, float y){
+		float newTileSize = MathUtils.clamp(tileSize * factor, MIN_TILE_SIZE, MAX_TILE_SIZE);
+		float scale = newTileSize / tileSize;
+		viewX = (viewX + x) * scale - x;
+		viewY = (viewY + y) * scale - y;
+		tileSize = newTileSize;
+		clampView();
+	}
+	
+	/**
+	 * Stops the map from being moved out of view. A map that is smaller than this actor is displayed in the top left corner.
+	 */
+	private void clampView(){
+		float mapWidth = tiles.getColumns() * tileSize;
+		float mapHeight = tiles.getRows() * tileSize;
+		viewX = (mapWidth <= getWidth()) ? 0 : MathUtils.clamp(viewX, 0, mapWidth - getWidth());
+		viewY = (mapHeight <= getHeight()) ? mapHeight - getHeight() : MathUtils.clamp(viewY, 0, mapHeight - getHeight());
+	}
+	
+	@Override
+	public void layout(){
+		if(!viewPositioned && getWidth() > 0 && getHeight() > 0){
+			viewY = tiles.getRows() * tileSize; // Start with the top left of the map on display
+			viewPositioned = true;
+		}
+		clampView();
+	}
+	
+	/**
+	 * Returns the first column that is (at least partly) visible
+	 * @return The first column that is visible
+	 */
+	int getFirstVisibleColumn(){
+		return Math.max(0, MathUtils.floor(viewX / tileSize));
+	}
+	
+	/**
+	 * Returns the last column that is (at least partly) visible
+	 * @return The last column that is visible
+	 */
+	int getLastVisibleColumn(){
+		return Math.min(tiles.getColumns() - 1, MathUtils.ceil((viewX + getWidth()) / tileSize) - 1);
+	}
+	
+	/**
+	 * Returns the first (top) row that is (at least partly) visible
+	 * @return The first row that is visible
+	 */
+	int getFirstVisibleRow(){
+		return Math.max(0, tiles.getRows() - MathUtils.ceil((viewY + getHeight()) / tileSize));
+	}
+	
+	/**
+	 * Returns the last (bottom) row that is (at least partly) visible
+	 * @return The last row that is visible
+	 */
+	int getLastVisibleRow(){
+		return Math.min(tiles.getRows() - 1, tiles.getRows() - 1 - MathUtils.floor(viewY / tileSize));
+	}
+	
+	/**
+	 * Returns the current width and height (in pixels) of each plot
+	 * @return The current width and height of each plot
+	 */
+	float getTileSize(){
+		return tileSize;
+	}
+	
+	/**
+	 * Returns the state of the plots that is drawn
+	 * @return The state of the plots that is drawn
+	 */
+	PlotTiles getTiles(){
+		return tiles;
+	}
+	
+	/**
+	 * Draws the background, the visible plots (and any roboticons on them) and then any children (e.g. a roboticon place menu)
+	 */
+	@Override
+	public void draw(Batch batch, float parentAlpha){
+		validate();
+		Color oldColor = batch.getColor().cpy();
+		batch.setColor(1, 1, 1, parentAlpha);
+		batch.draw(background, getX(), getY(), getWidth(), getHeight());
+		
+		batch.flush();
+		if(clipBegin()){
+			drawVisibleTiles(batch, parentAlpha);
+			batch.flush();
+			clipEnd();
+		}
+		batch.setColor(oldColor);
+		super.draw(batch, parentAlpha);
+	}
+	
+	/**
+	 * Draws the plots that can currently be seen
+	 * @param batch The batch that is used to draw the plots
+	 * @param parentAlpha The alpha of the parent actor
+	 */
+	private void drawVisibleTiles(Batch batch, float parentAlpha){
+		int lastRow = getLastVisibleRow();
+		int lastColumn = getLastVisibleColumn();
+		float mapTop = getY() - viewY + tiles.getRows() * tileSize; // Where the top of the map is drawn
+		float roboticonBorder = tileSize * ROBOTICON_BORDER;
+		float roboticonSize = tileSize - 2 * roboticonBorder;
+		
+		for(int row = getFirstVisibleRow(); row <= lastRow; row++){
+			float tileY = mapTop - (row + 1) * tileSize;
+			for(int column = getFirstVisibleColumn(); column <= lastColumn; column++){
+				int plotNumber = tiles.getPlotNumber(row, column);
+				float tileX = getX() - viewX + column * tileSize;
+				
+				int owner = tiles.getOwner(plotNumber);
+				if(owner == PlotTiles.NO_OWNER){
+					batch.draw(unacquiredTile, tileX, tileY, tileSize, tileSize);
+				}
+				else if(owner == PlotTiles.HUMAN_OWNER){
+					Color tint = (tiles.getSpecialism(plotNumber) == PlotSpecialism.ORE) ? ORE_TINT : ENERGY_TINT;
+					batch.setColor(tint.r, tint.g, tint.b, parentAlpha);
+					batch.draw(humanTile, tileX, tileY, tileSize, tileSize);
+					batch.setColor(1, 1, 1, parentAlpha);
+				}
+				else{
+					Color tint = ownerColours[owner];
+					batch.setColor(tint.r, tint.g, tint.b, parentAlpha);
+					batch.draw(AITile, tileX, tileY, tileSize, tileSize);
+					batch.setColor(1, 1, 1, parentAlpha);
+				}
+				
+				RoboticonCustomisation roboticon = tiles.getRoboticon(plotNumber);
+				if(roboticon != null){
+					TextureRegion roboticonRegion = (roboticon == RoboticonCustomisation.ORE) ? oreRoboticon : energyRoboticon;
+					batch.draw(roboticonRegion, tileX + roboticonBorder, tileY + roboticonBorder, roboticonSize, roboticonSize);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Tries to place an energy roboticon at the chosen plot
+	 * @param plotColumn The column number of the plot
+	 * @param plotRow The row number of the plot
+	 * @return true if a roboticon was placed and false otherwise
+	 */
+	@Override
+	public boolean placeEnergyRoboticon(int plotColumn, int plotRow){
+		return placeRoboticon(plotColumn,plotRow,RoboticonCustomisation.ENERGY);
+	}
+	
+	/**
+	 * Tries to place an ore roboticon at the chosen plot
+	 * @param plotColumn The column number of the plot
+	 * @param plotRow The row number of the plot
+	 * @return true if a roboticon was placed and false otherwise
+	 */
+	@Override
+	public boolean placeOreRoboticon(int plotColumn, int plotRow){
+		return placeRoboticon(plotColumn,plotRow,RoboticonCustomisation.ORE);
+	}
+	
+	/**
+	 * Places a roboticon of a given customisation on a given plot (and updates the tile that is drawn for the plot)
+	 * @param plotColumn The column number of the plot on which the roboticon is to be placed
+	 * @param plotRow The row number of the plot on which the roboticon is to be placed
+	 * @param customisation The customisation type of the roboticon that is to be placed
+	 * @return true if a roboticon was placed and false otherwise
+	 */
+	private boolean placeRoboticon(int plotColumn, int plotRow, RoboticonCustomisation customisation){
+		if(headlessPlotManager.placeRoboticon(plotColumn,plotRow,customisation)){
+			tiles.setRoboticon(tiles.getPlotNumber(plotRow, plotColumn), customisation);
+			if(currentPlayer == humanPlayer){
+				GameEventBus.getInstance().dispatch(GameEvents.PLAYERINVENTORYUPDATE); // Trigger main to update the menubar
+				removeRoboticonPlaceMenu(); // A roboticon place menu must have been open for the human player to place a roboticon
+			}
+			return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * If a RoboticonPlaceMenu is open it will be closed
+	 */
+	@Override
+	public void removeRoboticonPlaceMenu(){
+		if(roboticonPlaceMenu != null){ // If a RoboticonPlaceMenu is open
+			roboticonPlaceMenu.remove(); // Remove it from the screen
+			roboticonPlaceMenu=null;
+		}
+	}
+	
+	/**
+	 * Called if a plot is to be acquired by the current player (and updates the tile that is drawn for the plot).
+	 * <p>
+	 * If the human player acquired the plot then a message is dispatched to let the main class know that this has happened
+	 * (AI players are moved on to their next stage by the {@link GameEngine} itself).
+	 * </p>
+	 * @param row The row number of the plot.
+	 * @param column The column number of the plot.
+	 * @return true if the plot was acquired and false if it had already been acquired
+	 */
+	@Override
+	public boolean acquirePlot(int row, int column){
+		if(headlessPlotManager.acquirePlot(row,column)){ // If the Plot had yet to be acquired
+			tiles.setOwner(tiles.getPlotNumber(row, column), playerColours.getOwnerNumber(currentPlayer));
+			if(currentPlayer == humanPlayer){
+				GameEventBus.getInstance().dispatch(GameEvents.PLOTAQUIRED);
+			}
+			return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * Set the current player (this information is needed by some other methods).
+	 * @param player The current player.
+	 */
+	@Override
+	public void setCurrentPlayer(Player player){
+		currentPlayer = player;
+		headlessPlotManager.setCurrentPlayer(player);
+	}
+	
+	/**
+	 * Sets what action will be performed when a plot is clicked.
+	 * @param mode Specifies what action is to be performed when a plot is clicked.
+	 */
+	@Override
+	public void setPlotClickMode(PlotClickMode mode){
+		clickMode = mode;
+	}
+	
+	/**
+	 * Triggers all plots to produce resources for their players.
+	 */
+	@Override
+	public void produceResources(){
+		headlessPlotManager.produceResources();
+	}
+	
+	/**
+	 * Returns true if every plot has already been acquired by some player.
+	 * @return Whether or not every plot has already been acquired.
+	 */
+	@Override
+	public boolean allPlotsAquired(){
+		return headlessPlotManager.allPlotsAquired();
+	}
+	
+	/**
+	 * Returns the number of plots that have not been acquired by any player
+	 * @return The number of plots that have not been acquired
+	 */
+	@Override
+	public int getNumberOfUnacquiredPlots(){
+		return headlessPlotManager.getNumberOfUnacquiredPlots();
+	}
+	
+	/**
+	 * Returns the number of plots with a given specialism that are owned by a given player and do not have a roboticon on them
+	 * @param owner The player who owns the plots
+	 * @param specialism The specialism of the plots
+	 * @return The number of empty plots with the given specialism that the player owns
+	 */
+	@Override
+	public int getNumberOfEmptyPlots(Player owner, PlotSpecialism specialism){
+		return headlessPlotManager.getNumberOfEmptyPlots(owner, specialism);
+	}
+	
+	/**
+	 * Returns the number of the first plot (starting from a given plot number) that has not been acquired
+	 * @param fromPlotNumber The number of the plot to start looking from
+	 * @return The number of the first plot that has not been acquired or -1 if there is no such plot
+	 */
+	@Override
+	public int findUnacquiredPlot(int fromPlotNumber){
+		return headlessPlotManager.findUnacquiredPlot(fromPlotNumber);
+	}
+	
+	/**
+	 * Returns the number of the first plot (starting from a given plot number) with a given specialism that is owned by a given player and does not have a roboticon on it
+	 * @param owner The player who owns the plot
+	 * @param specialism The specialism of the plot
+	 * @param fromPlotNumber The number of the plot to start looking from
+	 * @return The number of the first empty plot with the given specialism that the player owns or -1 if there is no such plot
+	 */
+	@Override
+	public int findEmptyPlot(Player owner, PlotSpecialism specialism, int fromPlotNumber){
+		return headlessPlotManager.findEmptyPlot(owner, specialism, fromPlotNumber);
+	}
+	
+	/**
+	 * Returns the row that the plot with the given number is in
+	 * @param plotNumber The number of the plot
+	 * @return The row that the plot is in
+	 */
+	@Override
+	public int getPlotRow(int plotNumber){
+		return headlessPlotManager.getPlotRow(plotNumber);
+	}
+	
+	/**
+	 * Returns the column that the plot with the given number is in
+	 * @param plotNumber The number of the plot
+	 * @return The column that the plot is in
+	 */
+	@Override
+	public int getPlotColumn(int plotNumber){
+		return headlessPlotManager.getPlotColumn(plotNumber);
+	}
+	
+	/**
+	 * Sets the log that every plot acquisition and roboticon placement is recorded in
+	 * @param eventLog The log (null to stop logging)
+	 */
+	@Override
+	public void setEventLog(GameEventLog eventLog){
+		headlessPlotManager.setEventLog(eventLog);
+	}
+	
+	/**
+	 * Returns the array of plots in use by this object
+	 * @return The array of plots in use by this object
+	 */
+	@Override
+	public Plot[][] getPlots(){
+		return plots;
+	}
+}
@@ -0,0 +1,77 @@
+package com.topright.roboticon;
+
+/**
+ * Makes the same decisions as another {@link AIStrategy} and records how long each of them took
+ */
+final class TimedStrategy implements AIStrategy {
+	private final AIStrategy strategy;
+	private final DecisionLatencies latencies;
+	
+	/**
+	 * Constructor
+	 * @param strategy The strategy that makes the decisions
+	 * @param latencies Where the time taken by each decision is recorded
+	 */
+	TimedStrategy(AIStrategy strategy, DecisionLatencies latencies){
+		if(strategy == null || latencies == null){
+			throw new IllegalArgumentException("strategy and latencies must not be null");
+		}
+		this.strategy = strategy;
+		this.latencies = latencies;
+	}
+	
+	/**
+	 * Returns the strategy that makes the decisions
+	 * @return The strategy
+	 */
+	AIStrategy getStrategy(){
+		return strategy;
+	}
+	
+	@Override
+	public String getName(){
+		return strategy.getName();
+	}
+	
+	@Override
+	public void choosePlot(AIPlayer player, PlotGrid plotGrid){
+		long startTime = System.nanoTime();
+		strategy.choosePlot(player, plotGrid);
+		latencies.add(System.nanoTime() - startTime);
+	}
+	
+	@Override
+	public void buyRoboticons(AIPlayer player, PlotGrid plotGrid){
+		long startTime = System.nanoTime();
+		strategy.buyRoboticons(player, plotGrid);
+		latencies.add(System.nanoTime() - startTime);
+	}
+	
+	@Override
+	public void customiseRoboticons(AIPlayer player, PlotGrid plotGrid){
+		long startTime = System.nanoTime();
+		strategy.customiseRoboticons(player, plotGrid);
+		latencies.add(System.nanoTime() - startTime);
+	}
+	
+	@Override
+	public void placeRoboticons(AIPlayer player, PlotGrid plotGrid){
+		long startTime = System.nanoTime();
+		strategy.placeRoboticons(player, plotGrid);
+		latencies.add(System.nanoTime() - startTime);
+	}
+	
+	@Override
+	public void placeOrders(AIPlayer player){
+		long startTime = System.nanoTime();
+		strategy.placeOrders(player);
+		latencies.add(System.nanoTime() - startTime);
+	}
+	
+	@Override
+	public void buyAndSellResources(AIPlayer player){
+		long startTime = System.nanoTime();
+		strategy.buyAndSellResources(player);
+		latencies.add(System.nanoTime() - startTime);
+	}
+}
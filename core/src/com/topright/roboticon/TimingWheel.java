@@ -0,0 +1,287 @@
+package com.topright.roboticon;
+
+/**
+ * A hierarchical timing wheel, used to run tasks when the time given to a stage of the game runs out
+ * <p>
+ * Time is split into ticks. The wheel has {@link TimingWheel#LEVELS} levels of {@link TimingWheel#WHEEL_SIZE} buckets: a task due
+ * within the next WHEEL_SIZE ticks goes in a bucket of the first level, one due further away in a bucket of a higher level, each of whose
+ * buckets covers WHEEL_SIZE times as many ticks as one from the level below. When the wheel reaches the start of a higher level bucket
+ * its tasks are moved down to the level below. Scheduling and cancelling a task are O(1) (the buckets are doubly linked lists), and
+ * advancing the wheel only touches the buckets of the ticks that pass (when the wheel is empty it jumps straight to the new time).
+ * </p>
+ * <p>
+ * The wheel has no thread or clock of its own: whoever owns it calls {@link TimingWheel#advanceTo(long)} with the current time, which
+ * runs every task whose deadline has passed. Tasks are never run early and are run at most one tick (plus however long the owner takes to
+ * advance the wheel) late. Tasks may schedule and cancel other tasks. A wheel must only be used by one thread at a time.
+ * </p>
+ */
+public final class TimingWheel {
+	static final int WHEEL_BITS = 6;
+	static final int WHEEL_SIZE = 1 << WHEEL_BITS; // The number of buckets in each level
+	static final int LEVELS = 4;
+	static final long MAX_TICKS = 1L << (WHEEL_BITS * LEVELS); // Tasks due further away than this are moved down again once it passes
+	private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+	private static final int PENDING = 0;
+	private static final int EXPIRED = 1;
+	private static final int CANCELLED = 2;
+
+	private final long tickMillis;
+	private final long startTime;
+	private long currentTick = 0; // The number of ticks between the start time and the time that the wheel has been advanced to
+	private final Timeout[][] buckets = new Timeout[LEVELS][WHEEL_SIZE]; // The first timeout of each bucket (or null)
+	private int size = 0;
+
+	/**
+	 * A task that has been scheduled to run at a given time
+	 */
+	public final class Timeout {
+		private Runnable task; // null once the timeout has been cancelled
+		private final long deadline;
+		private final long expiryTick; // The tick that the task is run on
+		private int state = PENDING;
+		private int level; // The bucket that the timeout is in
+		private int index;
+		private Timeout previous = null; // The other timeouts in the same bucket
+		private Timeout next = null;
+
+		/**
+		 * Constructor
+		 * @param task The task
+		 * @param deadline The time that the task is due (in milliseconds)
+		 * @param expiryTick The tick that the task is run on
+		 */
+		private Timeout(Runnable task, long deadline, long expiryTick){
+			this.task = task;
+			this.deadline = deadline;
+			this.expiryTick = expiryTick;
+		}
+
+		/**
+		 * Stops the task from being run, in O(1) time
+		 * @return true if the task had not already been run or cancelled
+		 */
+		public boolean cancel(){
+			if(state != PENDING){
+				return false;
+			}
+			remove(this);
+			state = CANCELLED;
+			task = null; // Whatever the task refers to may be garbage collected straight away
+			return true;
+		}
+
+		/**
+		 * Returns the time that the task is due
+		 * @return The deadline (in milliseconds)
+		 */
+		public long getDeadline(){
+			return deadline;
+		}
+
+		/**
+		 * Returns true if the task is still waiting to be run
+		 * @return true if the task has not been run or cancelled
+		 */
+		public boolean isPending(){
+			return state == PENDING;
+		}
+
+		/**
+		 * Returns true if the task has been run
+		 * @return true if the task has been run
+		 */
+		public boolean isExpired(){
+			return state == EXPIRED;
+		}
+
+		/**
+		 * Returns true if the task was cancelled before it was run
+		 * @return true if the task has been cancelled
+		 */
+		public boolean isCancelled(){
+			return state == CANCELLED;
+		}
+	}
+
+	/**
+	 * Constructor
+	 * @param tickMillis The length of a tick (in milliseconds), the precision with which tasks are run
+	 * @param startTime The current time (in milliseconds, measured by whichever clock will be passed to {@link TimingWheel#advanceTo(long)})
+	 */
+	public TimingWheel(long tickMillis, long startTime){
+		if(tickMillis <= 0){
+			throw new IllegalArgumentException("tickMillis must be > 0 tickMillis = "+tickMillis);
+		}
+		this.tickMillis = tickMillis;
+		this.startTime = startTime;
+	}
+
+	/**
+	 * Schedules a task to run once a given amount of time (from the time that the wheel has been advanced to) has passed
+	 * @param task The task
+	 * @param delayMillis The time to wait (in milliseconds)
+	 * @return The timeout, which can be used to cancel the task
+	 */
+	public Timeout schedule(Runnable task, long delayMillis){
+		if(delayMillis < 0){
+			throw new IllegalArgumentException("delayMillis must be >= 0 delayMillis = "+delayMillis);
+		}
+		return scheduleAt(task, getTime() + delayMillis);
+	}
+
+	/**
+	 * Schedules a task to run at a given time, in O(1) time
+	 * @param task The task
+	 * @param deadline The time that the task is due (in milliseconds), if it has already passed the task is run when the wheel is next
+	 * advanced
+	 * @return The timeout, which can be used to cancel the task
+	 */
+	public Timeout scheduleAt(Runnable task, long deadline){
+		if(task == null){
+			throw new IllegalArgumentException("task must not be null");
+		}
+		long expiryTick = currentTick + 1; // Never the current tick, whose bucket may be being run
+		if(deadline - startTime > expiryTick * tickMillis){
+			expiryTick = (deadline - startTime + tickMillis - 1) / tickMillis; // Rounded up so that the task is never run early
+		}
+		Timeout timeout = new Timeout(task, deadline, expiryTick);
+		add(timeout);
+		size++;
+		return timeout;
+	}
+
+	/**
+	 * Advances the wheel to the given time, running every task whose deadline has passed (in the order that they are due)
+	 * <p>
+	 * If a task throws an exception the wheel stops where it is, the other tasks that are due are run the next time it is advanced.
+	 * </p>
+	 * @param time The current time (in milliseconds)
+	 */
+	public void advanceTo(long time){
+		long targetTick = (time - startTime) / tickMillis;
+		while(true){
+			runBucket(buckets[0][(int)(currentTick & WHEEL_MASK)]);
+			if(currentTick >= targetTick){
+				return;
+			}
+			if(size == 0){
+				currentTick = targetTick; // Nothing to run on the ticks in between
+				return;
+			}
+			currentTick++;
+			for(int level = 1; level < LEVELS && (currentTick & ((1L << (WHEEL_BITS * level)) - 1)) == 0; level++){
+				cascade(level, (int)((currentTick >>> (WHEEL_BITS * level)) & WHEEL_MASK));
+			}
+		}
+	}
+
+	/**
+	 * Runs the task of every timeout in a bucket of the first level (all of which are due on the current tick)
+	 * @param first The first timeout in the bucket
+	 */
+	private void runBucket(Timeout first){
+		Timeout timeout = first;
+		while(timeout != null){
+			remove(timeout);
+			Runnable task = timeout.task;
+			timeout.state = EXPIRED;
+			timeout.task = null;
+			task.run(); // May cancel the timeouts that follow it in the bucket
+			timeout = buckets[0][(int)(currentTick & WHEEL_MASK)];
+		}
+	}
+
+	/**
+	 * Moves every timeout in a bucket of a higher level down to the levels below (now that the wheel has reached the start of the bucket)
+	 * @param level The level
+	 * @param index The index of the bucket
+	 */
+	private void cascade(int level, int index){
+		Timeout timeout = buckets[level][index];
+		buckets[level][index] = null;
+		while(timeout != null){
+			Timeout next = timeout.next;
+			timeout.previous = null;
+			timeout.next = null;
+			add(timeout);
+			timeout = next;
+		}
+	}
+
+	/**
+	 * Adds a timeout to the bucket that it belongs in (given how far away it is)
+	 * @param timeout The timeout
+	 */
+	private void add(Timeout timeout){
+		long bucketTick = timeout.expiryTick;
+		long ticksAway = bucketTick - currentTick;
+		if(ticksAway >= MAX_TICKS){ // Put in the furthest bucket, from where it will be moved down again
+			ticksAway = MAX_TICKS - 1;
+			bucketTick = currentTick + ticksAway;
+		}
+		int level = 0;
+		while(ticksAway >= (1L << (WHEEL_BITS * (level + 1)))){
+			level++;
+		}
+		int index = (int)((bucketTick >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+		timeout.level = level;
+		timeout.index = index;
+		timeout.next = buckets[level][index];
+		if(timeout.next != null){
+			timeout.next.previous = timeout;
+		}
+		buckets[level][index] = timeout;
+	}
+
+	/**
+	 * Removes a pending timeout from its bucket
+	 * @param timeout The timeout
+	 */
+	private void remove(Timeout timeout){
+		if(timeout.previous == null){
+			buckets[timeout.level][timeout.index] = timeout.next;
+		}
+		else{
+			timeout.previous.next = timeout.next;
+		}
+		if(timeout.next != null){
+			timeout.next.previous = timeout.previous;
+		}
+		timeout.previous = null;
+		timeout.next = null;
+		size--;
+	}
+
+	/**
+	 * Returns the time that the wheel has been advanced to, rounded down to the start of a tick
+	 * @return The time (in milliseconds)
+	 */
+	public long getTime(){
+		return startTime + currentTick * tickMillis;
+	}
+
+	/**
+	 * Returns the length of a tick
+	 * @return The length of a tick (in milliseconds)
+	 */
+	public long getTickMillis(){
+		return tickMillis;
+	}
+
+	/**
+	 * Returns the number of tasks waiting to be run
+	 * @return The number of pending timeouts
+	 */
+	public int size(){
+		return size;
+	}
+
+	/**
+	 * Returns true if there are no tasks waiting to be run
+	 * @return true if the wheel is empty
+	 */
+	public boolean isEmpty(){
+		return size == 0;
+	}
+}
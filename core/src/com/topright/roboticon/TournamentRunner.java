@@ -0,0 +1,409 @@
+package com.topright.roboticon;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Plays a round robin tournament between AI strategies (without any GUI), rates them using Elo and writes the results to a CSV file
+ * <p>
+ * Every pair of strategies plays the same number of games against each other, taking turns to go first. The games are played in
+ * parallel but their results are added up (and the Elo ratings updated) in a fixed order, and every game is given its own
+ * {@link GameRandom} split from a single seed, so the same seed always gives the same results however many threads are used
+ * (as long as every strategy's decisions do not depend on time).
+ * </p>
+ * <p>
+ * The CSV file has one row per strategy with its rating, its wins, draws and losses and percentiles of the time that it
+ * took to make each decision.
+ * </p>
+ * <p>
+ * Usage: TournamentRunner [games per pairing] [number of threads] [seed] [search rollouts] [CSV file]
+ * </p>
+ */
+public class TournamentRunner {
+	private static final int PLOT_ROWS = 4;
+	private static final int PLOT_COLUMNS = 5;
+	private static final int STARTING_MONEY = 30;
+	static final double INITIAL_RATING = 1500;
+	static final double K_FACTOR = 32; // The most that a rating can change by after one game
+	private static final double[] PERCENTILES = {50, 90, 99, 100};
+	
+	private TournamentRunner(){} // No instantiations
+	
+	/**
+	 * A strategy that has been entered into the tournament, a new instance of the strategy is created for every game
+	 */
+	abstract static class Entrant {
+		private final String name;
+		
+		/**
+		 * Constructor
+		 * @param name The name used in the results
+		 */
+		Entrant(String name){
+			this.name = name;
+		}
+		
+		/**
+		 * Returns the name used in the results
+		 * @return The name
+		 */
+		String getName(){
+			return name;
+		}
+		
+		/**
+		 * Creates a new instance of the strategy for a single game
+		 * @param random Used by the strategy for any random decisions that it makes (only used by this game)
+		 * @return The new strategy
+		 */
+		abstract AIStrategy createStrategy(GameRandom random);
+	}
+	
+	/**
+	 * Returns the strategies that are played against each other by default
+	 * @param searchRollouts The number of rollouts per decision made by the search strategy (0 to leave it out)
+	 * @return The entrants
+	 */
+	static List<Entrant> createDefaultEntrants(final int searchRollouts){
+		List<Entrant> entrants = new ArrayList<Entrant>();
+		entrants.add(new Entrant("greedy"){
+			@Override
+			AIStrategy createStrategy(GameRandom random){
+				return new GreedyStrategy();
+			}
+		});
+		entrants.add(new Entrant("specialism"){
+			@Override
+			AIStrategy createStrategy(GameRandom random){
+				return new SpecialismAwareStrategy();
+			}
+		});
+		entrants.add(new Entrant("price"){
+			@Override
+			AIStrategy createStrategy(GameRandom random){
+				return new PriceAwareStrategy();
+			}
+		});
+		if(searchRollouts > 0){
+			entrants.add(new Entrant("search"){
+				@Override
+				AIStrategy createStrategy(GameRandom random){
+					return new SearchStrategy(SearchBudget.iterations(searchRollouts), 1, random); // The games are already played in parallel
+				}
+			});
+		}
+		return entrants;
+	}
+	
+	/**
+	 * The result of a single game between two entrants
+	 */
+	static class GameResult {
+		private final int firstEntrant; // Index of the entrant that went first
+		private final int secondEntrant;
+		private final int firstScore;
+		private final int secondScore;
+		private final DecisionLatencies firstLatencies;
+		private final DecisionLatencies secondLatencies;
+		
+		/**
+		 * Constructor
+		 * @param firstEntrant Index of the entrant that went first
+		 * @param secondEntrant Index of the entrant that went second
+		 * @param firstScore The final score of the player who went first
+		 * @param secondScore The final score of the player who went second
+		 * @param firstLatencies The time taken by each of the decisions made by the player who went first
+		 * @param secondLatencies The time taken by each of the decisions made by the player who went second
+		 */
+		GameResult(int firstEntrant, int secondEntrant, int firstScore, int secondScore, DecisionLatencies firstLatencies, DecisionLatencies secondLatencies){
+			this.firstEntrant = firstEntrant;
+			this.secondEntrant = secondEntrant;
+			this.firstScore = firstScore;
+			this.secondScore = secondScore;
+			this.firstLatencies = firstLatencies;
+			this.secondLatencies = secondLatencies;
+		}
+		
+		/**
+		 * Returns the result for the player who went first, 1 for a win, 0.5 for a draw and 0 for a loss
+		 * @return The result for the player who went first
+		 */
+		double getFirstPlayerResult(){
+			return (firstScore > secondScore) ? 1 : (firstScore == secondScore) ? 0.5 : 0;
+		}
+	}
+	
+	/**
+	 * The combined results of every game in a tournament
+	 */
+	static class TournamentResults {
+		private final String[] names;
+		private final double[] ratings;
+		private final int[] wins;
+		private final int[] draws;
+		private final int[] losses;
+		private final DecisionLatencies[] latencies;
+		
+		/**
+		 * Constructor, every entrant starts with a rating of {@value TournamentRunner#INITIAL_RATING}
+		 * @param entrants The entrants
+		 */
+		TournamentResults(List<Entrant> entrants){
+			int numberOfEntrants = entrants.size();
+			names = new String[numberOfEntrants];
+			ratings = new double[numberOfEntrants];
+			wins = new int[numberOfEntrants];
+			draws = new int[numberOfEntrants];
+			losses = new int[numberOfEntrants];
+			latencies = new DecisionLatencies[numberOfEntrants];
+			for(int entrant = 0; entrant < numberOfEntrants; entrant++){
+				names[entrant] = entrants.get(entrant).getName();
+				ratings[entrant] = INITIAL_RATING;
+				latencies[entrant] = new DecisionLatencies();
+			}
+		}
+		
+		/**
+		 * Adds the result of a game and updates both entrants' ratings
+		 * @param result The result of the game
+		 */
+		void addGame(GameResult result){
+			int first = result.firstEntrant;
+			int second = result.secondEntrant;
+			double firstResult = result.getFirstPlayerResult();
+			if(firstResult == 1){
+				wins[first]++;
+				losses[second]++;
+			}
+			else if(firstResult == 0){
+				losses[first]++;
+				wins[second]++;
+			}
+			else{
+				draws[first]++;
+				draws[second]++;
+			}
+			
+			double change = K_FACTOR*(firstResult - getExpectedResult(ratings[first], ratings[second]));
+			ratings[first] += change;
+			ratings[second] -= change;
+			latencies[first].addAll(result.firstLatencies);
+			latencies[second].addAll(result.secondLatencies);
+		}
+		
+		/**
+		 * Returns the result that a player is expected to get against another according to their Elo ratings
+		 * @param rating The player's rating
+		 * @param opponentRating The other player's rating
+		 * @return The expected result (between 0 and 1)
+		 */
+		static double getExpectedResult(double rating, double opponentRating){
+			return 1/(1 + Math.pow(10, (opponentRating - rating)/400));
+		}
+		
+		/**
+		 * Returns the number of entrants
+		 * @return The number of entrants
+		 */
+		int getNumberOfEntrants(){
+			return names.length;
+		}
+		
+		/**
+		 * Returns the name of an entrant
+		 * @param entrant The index of the entrant
+		 * @return The name of the entrant
+		 */
+		String getName(int entrant){
+			return names[entrant];
+		}
+		
+		/**
+		 * Returns the Elo rating of an entrant
+		 * @param entrant The index of the entrant
+		 * @return The rating
+		 */
+		double getRating(int entrant){
+			return ratings[entrant];
+		}
+		
+		/**
+		 * Returns the number of games won by an entrant
+		 * @param entrant The index of the entrant
+		 * @return The number of games won
+		 */
+		int getWins(int entrant){
+			return wins[entrant];
+		}
+		
+		/**
+		 * Returns the number of games drawn by an entrant
+		 * @param entrant The index of the entrant
+		 * @return The number of games drawn
+		 */
+		int getDraws(int entrant){
+			return draws[entrant];
+		}
+		
+		/**
+		 * Returns the number of games lost by an entrant
+		 * @param entrant The index of the entrant
+		 * @return The number of games lost
+		 */
+		int getLosses(int entrant){
+			return losses[entrant];
+		}
+		
+		/**
+		 * Returns the time taken by every decision made by an entrant
+		 * @param entrant The index of the entrant
+		 * @return The latencies of the entrant's decisions
+		 */
+		DecisionLatencies getLatencies(int entrant){
+			return latencies[entrant];
+		}
+		
+		/**
+		 * Writes the results as CSV, a header row followed by one row per entrant (latencies are in microseconds)
+		 * @param writer Where the CSV is written to
+		 * @throws IOException If the CSV could not be written
+		 */
+		void writeCsv(Writer writer) throws IOException{
+			writer.write("strategy,rating,games,wins,draws,losses,decisions,p50_us,p90_us,p99_us,max_us\n");
+			for(int entrant = 0; entrant < names.length; entrant++){
+				StringBuilder row = new StringBuilder();
+				row.append(names[entrant]).append(',');
+				row.append(String.format(Locale.ROOT, "%.1f", ratings[entrant])).append(',');
+				row.append(wins[entrant] + draws[entrant] + losses[entrant]).append(',');
+				row.append(wins[entrant]).append(',').append(draws[entrant]).append(',').append(losses[entrant]).append(',');
+				row.append(latencies[entrant].size());
+				for(double percentile : PERCENTILES){
+					row.append(',').append(String.format(Locale.ROOT, "%.1f", latencies[entrant].getPercentile(percentile)/1000.0));
+				}
+				writer.write(row.append('\n').toString());
+			}
+		}
+	}
+	
+	/**
+	 * Plays a single game between two entrants
+	 * @param entrants Every entrant in the tournament
+	 * @param firstEntrant The index of the entrant that goes first
+	 * @param secondEntrant The index of the entrant that goes second
+	 * @param random Used for every random decision made when setting up the game and by the strategies
+	 * @return The result of the game
+	 */
+	static GameResult playGame(List<Entrant> entrants, int firstEntrant, int secondEntrant, GameRandom random){
+		Market market = new Market(new MarketInventory(0,16,12));
+		market.setPricingEngine(new SupplyDemandPricingEngine());
+		PlotGrid plotGrid = new HeadlessPlotManager(CreatePlots.createPlots(PLOT_ROWS, PLOT_COLUMNS, random));
+		DecisionLatencies firstLatencies = new DecisionLatencies();
+		DecisionLatencies secondLatencies = new DecisionLatencies();
+		AIPlayer firstPlayer = new AIPlayer(new PlayerInventory(0, 0, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), STARTING_MONEY), market,
+				new TimedStrategy(entrants.get(firstEntrant).createStrategy(random.split()), firstLatencies));
+		AIPlayer secondPlayer = new AIPlayer(new PlayerInventory(0, 0, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), STARTING_MONEY), market,
+				new TimedStrategy(entrants.get(secondEntrant).createStrategy(random.split()), secondLatencies));
+		
+		new GameEngine(plotGrid, firstPlayer, secondPlayer, null).start();
+		return new GameResult(firstEntrant, secondEntrant, firstPlayer.calculateScore(), secondPlayer.calculateScore(), firstLatencies, secondLatencies);
+	}
+	
+	/**
+	 * Plays every pair of entrants against each other
+	 * @param entrants The entrants (at least two)
+	 * @param gamesPerPairing The number of games played by each pair of entrants (they take turns to go first)
+	 * @param threads The number of threads to play the games on
+	 * @param seed The seed that every game's GameRandom is split from
+	 * @return The results of the tournament
+	 */
+	static TournamentResults runTournament(final List<Entrant> entrants, int gamesPerPairing, int threads, long seed){
+		if(entrants.size() < 2){
+			throw new IllegalArgumentException("At least two entrants are needed for a tournament");
+		}
+		if(gamesPerPairing <= 0){
+			throw new IllegalArgumentException("gamesPerPairing must be > 0 gamesPerPairing = "+gamesPerPairing);
+		}
+		if(threads <= 0){
+			throw new IllegalArgumentException("threads must be > 0 threads = "+threads);
+		}
+		
+		GameRandom random = new GameRandom(seed);
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		try{
+			List<Future<GameResult>> games = new ArrayList<Future<GameResult>>();
+			for(int first = 0; first < entrants.size(); first++){
+				for(int second = first + 1; second < entrants.size(); second++){
+					for(int game = 0; game < gamesPerPairing; game++){
+						// Split before submitting so that the games played do not depend on how they are scheduled
+						final GameRandom gameRandom = random.split();
+						final int firstEntrant = (game%2 == 0) ? first : second;
+						final int secondEntrant = (game%2 == 0) ? second : first;
+						games.add(pool.submit(new Callable<GameResult>(){
+							@Override
+							public GameResult call(){
+								return playGame(entrants, firstEntrant, secondEntrant, gameRandom);
+							}
+						}));
+					}
+				}
+			}
+			
+			TournamentResults results = new TournamentResults(entrants);
+			for(Future<GameResult> game : games){
+				results.addGame(game.get());
+			}
+			return results;
+		}
+		catch(InterruptedException e){
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while playing the tournament!", e);
+		}
+		catch(ExecutionException e){
+			throw new IllegalStateException("A game could not be played!", e.getCause());
+		}
+		finally{
+			pool.shutdownNow();
+		}
+	}
+	
+	/**
+	 * Plays the tournament, prints the results and writes them to a CSV file
+	 * @param args Optionally the number of games per pairing followed by the number of threads, the seed, the number of search rollouts and the CSV file
+	 * @throws IOException If the CSV file could not be written
+	 */
+	public static void main(String[] args) throws IOException{
+		int gamesPerPairing = (args.length > 0) ? Integer.parseInt(args[0]) : 20;
+		int threads = (args.length > 1) ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+		long seed = (args.length > 2) ? Long.parseLong(args[2]) : new GameRandom().getSeed();
+		int searchRollouts = (args.length > 3) ? Integer.parseInt(args[3]) : 200;
+		Path csvFile = Paths.get((args.length > 4) ? args[4] : "tournament.csv");
+		
+		long startTime = System.nanoTime();
+		TournamentResults results = runTournament(createDefaultEntrants(searchRollouts), gamesPerPairing, threads, seed);
+		double seconds = (System.nanoTime() - startTime)/1e9;
+		try(BufferedWriter writer = Files.newBufferedWriter(csvFile, StandardCharsets.UTF_8)){
+			results.writeCsv(writer);
+		}
+		
+		System.out.println("Tournament played using "+threads+" threads in "+String.format("%.3f", seconds)+"s (seed "+seed+")");
+		for(int entrant = 0; entrant < results.getNumberOfEntrants(); entrant++){
+			System.out.println("\t"+results.getName(entrant)+": rating "+String.format("%.1f", results.getRating(entrant))
+					+" won "+results.getWins(entrant)+" drew "+results.getDraws(entrant)+" lost "+results.getLosses(entrant)
+					+" median decision "+String.format("%.1f", results.getLatencies(entrant).getPercentile(50)/1000.0)+"us");
+		}
+		System.out.println("Results written to "+csvFile.toAbsolutePath());
+	}
+}
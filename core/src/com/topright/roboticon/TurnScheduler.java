@@ -0,0 +1,115 @@
+package com.topright.roboticon;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Decides whose turn it is, the players take their turns in the same order in every round
+ * <p>
+ * Used by {@link GameEngine} so that games can be played by any number of players (at least 2), the order of the players
+ * can't be changed once the scheduler has been created.
+ * </p>
+ */
+class TurnScheduler {
+	private final List<Player> players;
+	private int currentPlayerIndex = 0;
+
+	/**
+	 * Constructor
+	 * @param players The players in the order that they are to take their turns (the same player can't appear twice)
+	 */
+	TurnScheduler(List<Player> players){
+		if(players == null){
+			throw new IllegalArgumentException("players must not be null");
+		}
+		if(players.size() < 2){
+			throw new IllegalArgumentException("There must be at least 2 players, number of players = "+players.size());
+		}
+		Set<Player> seenPlayers = new HashSet<Player>(); // Lobbies can be large so players are not compared with every other player
+		for(Player player : players){
+			if(player == null){
+				throw new IllegalArgumentException("The players must not be null");
+			}
+			if(!seenPlayers.add(player)){
+				throw new IllegalArgumentException("A player can't take more than one turn per round");
+			}
+		}
+		this.players = Collections.unmodifiableList(new ArrayList<Player>(players));
+	}
+
+	/**
+	 * Returns the players in the order that they take their turns
+	 * @return The players in the order that they take their turns (can't be modified)
+	 */
+	List<Player> getPlayers(){
+		return players;
+	}
+
+	/**
+	 * Returns the number of players
+	 * @return The number of players
+	 */
+	int getNumberOfPlayers(){
+		return players.size();
+	}
+
+	/**
+	 * Returns the player whose turn it currently is
+	 * @return The player whose turn it currently is
+	 */
+	Player getCurrentPlayer(){
+		return players.get(currentPlayerIndex);
+	}
+
+	/**
+	 * Returns the position of the player whose turn it currently is (0 for the player who goes first)
+	 * @return The position of the player whose turn it currently is
+	 */
+	int getCurrentPlayerIndex(){
+		return currentPlayerIndex;
+	}
+
+	/**
+	 * Moves on to the next player in the current round
+	 * @return true if it is now the next player's turn, false if every player has had their turn (the first player is then the current player)
+	 */
+	boolean nextPlayer(){
+		currentPlayerIndex++;
+		if(currentPlayerIndex == players.size()){
+			currentPlayerIndex = 0;
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Goes back to the first player (at the start of a new round)
+	 */
+	void startRound(){
+		currentPlayerIndex = 0;
+	}
+
+	/**
+	 * Makes it the given player's turn (used when resuming a saved game)
+	 * @param player The player whose turn it is to be
+	 */
+	void setCurrentPlayer(Player player){
+		int playerIndex = players.indexOf(player);
+		if(playerIndex == -1){
+			throw new IllegalArgumentException("The player must be one of the players in the game");
+		}
+		currentPlayerIndex = playerIndex;
+	}
+
+	/**
+	 * Returns true if the given player is one of the players
+	 * @param player The player
+	 * @return true if the given player is one of the players
+	 */
+	boolean contains(Player player){
+		return players.contains(player);
+	}
+}
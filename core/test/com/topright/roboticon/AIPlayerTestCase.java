@@ -50,14 +50,7 @@ public class AIPlayerTestCase {
 	public void testChoosePlotExceptionThrownNoEmptyPlots(){
 		
 		new Expectations(){{
-			plotManager.getPlots(); result = new Plot[][]{
-				  { plot1,plot2,plot2 },
-				  { plot2,plot2,plot2 },
-				  { plot2,plot2,plot2 }
-				};
-			plot1.hasBeenAcquired(); result = true;
-			plot2.hasBeenAcquired(); result = true;
-			
+			plotManager.findUnacquiredPlot(0); result = -1; // All plots have been acquired
 		}};
 		player.choosePlot(plotManager);
 	}
@@ -70,13 +63,9 @@ public class AIPlayerTestCase {
 	public void testChoosePlotFirstEmptyPlotAcquired(){
 		
 		new Expectations(){{
-			plotManager.getPlots(); result = new Plot[][]{
-				  { plot1,plot2,plot2 },
-				  { plot2,plot2,plot2 },
-				  { plot2,plot2,plot2 }
-				};
-			plot1.hasBeenAcquired(); result = false;
-			
+			plotManager.findUnacquiredPlot(0); result = 0; // The first plot has not been acquired
+			plotManager.getPlotRow(0); result = 0;
+			plotManager.getPlotColumn(0); result = 0;
 		}};
 		player.choosePlot(plotManager);
 		new Verifications(){{ // Ensure that the plot is acquired
@@ -93,17 +82,13 @@ public class AIPlayerTestCase {
 	public void testChoosePlotOnlyOneAcquired(){
 		
 		new Expectations(){{
-			plotManager.getPlots(); result = new Plot[][]{
-				  { plot1,plot2,plot2 },
-				  { plot2,plot2,plot2 },
-				  { plot2,plot2,plot2 }
-				};
-			plot1.hasBeenAcquired(); result = false;
-			
+			plotManager.findUnacquiredPlot(0); result = 0; // The first plot has not been acquired
+			plotManager.getPlotRow(0); result = 0;
+			plotManager.getPlotColumn(0); result = 0;
 		}};
 		player.choosePlot(plotManager);
-		new Verifications(){{ // Ensure that the second plot was not even looked at
-			plot2.hasBeenAcquired(); times=0;
+		new Verifications(){{ // Ensure that no other plot was even looked for
+			plotManager.findUnacquiredPlot(anyInt); times=1;
 			plotManager.acquirePlot(0,1); times=0;
 		}};
 	}
@@ -116,13 +101,9 @@ public class AIPlayerTestCase {
 	public void testChoosePlotFirstEmptyPlotAcquired2(){
 		
 		new Expectations(){{
-			plotManager.getPlots(); result = new Plot[][]{
-				  { plot2,plot1,plot2 },
-				  { plot2,plot2,plot2 },
-				  { plot2,plot2,plot2 }
-				};
-			plot1.hasBeenAcquired(); result = false;
-			plot2.hasBeenAcquired(); result = true;
+			plotManager.findUnacquiredPlot(0); result = 1; // The second plot is the first that has not been acquired
+			plotManager.getPlotRow(1); result = 0;
+			plotManager.getPlotColumn(1); result = 1;
 		}};
 		player.choosePlot(plotManager);
 		new Verifications(){{ // Ensure that the plot is acquired
@@ -139,13 +120,9 @@ public class AIPlayerTestCase {
 	public void testChoosePlotOnlyOneAcquired2(){
 		
 		new Expectations(){{
-			plotManager.getPlots(); result = new Plot[][]{
-				  { plot2,plot1,plot2 },
-				  { plot2,plot2,plot2 },
-				  { plot2,plot2,plot2 }
-				};
-			plot1.hasBeenAcquired(); result = false;
-			plot2.hasBeenAcquired(); result = true;
+			plotManager.findUnacquiredPlot(0); result = 1; // The second plot is the first that has not been acquired
+			plotManager.getPlotRow(1); result = 0;
+			plotManager.getPlotColumn(1); result = 1;
 		}};
 		player.choosePlot(plotManager);
 		new Verifications(){{ // Ensure that the plot is acquired
@@ -161,21 +138,12 @@ public class AIPlayerTestCase {
 	public void testBuyRoboticonsNoEmptyPlots(){
 		
 		new Expectations(){{
-			plotManager.getPlots(); result = new Plot[][]{
-				  { plot2,plot1,plot2 },
-				  { plot2,plot2,plot2 },
-				  { plot2,plot2,plot3 }
-				};
-			plot1.getPlayer(); result = null;
-			plot2.getPlayer(); result = player;
-			plot3.getPlayer(); result = player;
-			plot2.hasRoboticon(); result = true;
-			plot3.hasRoboticon(); result = true;
-			
+			plotManager.getNumberOfEmptyPlots(player, PlotSpecialism.ORE); result = 0;
+			plotManager.getNumberOfEmptyPlots(player, PlotSpecialism.ENERGY); result = 0;
 		}};
 		player.buyRoboticons(plotManager);
 		new Verifications(){{ // Ensure that the plot is acquired
-			market.buyRoboticonsFromMarket(anyInt); times=0; // no roboticons purchased
+			market.attemptToBuyRoboticons((PlayerInventory)any, anyInt); times=0; // no roboticons purchased
 		}};
 	}
 	
@@ -187,24 +155,14 @@ public class AIPlayerTestCase {
 	public void testBuyRoboticonsManyRoboticonsInInventory(){
 		
 		new Expectations(){{
-			plotManager.getPlots(); result = new Plot[][]{
-				  { plot2,plot1,plot2 },
-				  { plot2,plot2,plot2 },
-				  { plot2,plot2,plot1 }
-				};
-			plot1.getPlayer(); result = player; // All plots owned by player
-			plot2.getPlayer(); result = player;
-
-			plot1.hasRoboticon(); result = false; // All plots empty
-			plot2.hasRoboticon(); result = false;
-			plot1.getSpecialism(); result = PlotSpecialism.ORE;
-			plot2.getSpecialism(); result = PlotSpecialism.ENERGY;
+			plotManager.getNumberOfEmptyPlots(player, PlotSpecialism.ORE); result = 2;
+			plotManager.getNumberOfEmptyPlots(player, PlotSpecialism.ENERGY); result = 7;
 			
 			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=9; // There are 9 plots
 		}};
 		player.buyRoboticons(plotManager);
 		new Verifications(){{ // Ensure that the plot is acquired
-			market.buyRoboticonsFromMarket(anyInt); times=0; // no roboticons purchased
+			market.attemptToBuyRoboticons((PlayerInventory)any, anyInt); times=0; // no roboticons purchased
 		}};
 	}
 	
@@ -216,20 +174,13 @@ public class AIPlayerTestCase {
 	public void testBuyRoboticonsOneEmptyPlot(){
 		
 		new Expectations(){{
-			plotManager.getPlots(); result = new Plot[][]{
-				  { plot2,plot1,plot2 },
-				  { plot2,plot2,plot2 },
-				  { plot2,plot2,plot2 }
-				};
-			plot1.getPlayer(); result = player; 
-			plot2.getPlayer(); result = null;
-
-			plot1.hasRoboticon(); result = false; 
-			plot1.getSpecialism(); result = PlotSpecialism.ORE;
+			plotManager.getNumberOfEmptyPlots(player, PlotSpecialism.ORE); result = 1;
+			plotManager.getNumberOfEmptyPlots(player, PlotSpecialism.ENERGY); result = 0;
 			
 			market.getRoboticonQuantity();result=5; // Enough roboticons
 			
 			market.getCostRoboticons(1); result = 5;
+			market.attemptToBuyRoboticons((PlayerInventory)any, anyInt); result = true; // The market accepts every purchase
 
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ORE);result=5;
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=5;
@@ -239,7 +190,7 @@ public class AIPlayerTestCase {
 		}};
 		player.buyRoboticons(plotManager);
 		new Verifications(){{ 
-			market.buyRoboticonsFromMarket(1); times=1;
+			market.attemptToBuyRoboticons(playerInventory, 1); times=1;
 		}};
 	}
 	
@@ -251,23 +202,13 @@ public class AIPlayerTestCase {
 	public void testBuyRoboticonsTwoEmptyPlots(){
 		
 		new Expectations(){{
-			plotManager.getPlots(); result = new Plot[][]{
-				  { plot2,plot1,plot2 },
-				  { plot2,plot2,plot2 },
-				  { plot2,plot2,plot3 }
-				};
-			plot1.getPlayer(); result = player; 
-			plot2.getPlayer(); result = null;
-			plot3.getPlayer(); result = player; 
-
-			plot1.hasRoboticon(); result = false; 
-			plot3.hasRoboticon(); result = false; 
-			plot1.getSpecialism(); result = PlotSpecialism.ORE;
-			plot3.getSpecialism(); result = PlotSpecialism.ENERGY;
+			plotManager.getNumberOfEmptyPlots(player, PlotSpecialism.ORE); result = 1;
+			plotManager.getNumberOfEmptyPlots(player, PlotSpecialism.ENERGY); result = 1;
 			
 			market.getRoboticonQuantity();result=5; // Enough roboticons
 			
 			market.getCostRoboticons(1); result = 5;
+			market.attemptToBuyRoboticons((PlayerInventory)any, anyInt); result = true; // The market accepts every purchase
 
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ORE);result=5;
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=5;
@@ -277,7 +218,7 @@ public class AIPlayerTestCase {
 		}};
 		player.buyRoboticons(plotManager);
 		new Verifications(){{ 
-			market.buyRoboticonsFromMarket(1); times=2;
+			market.attemptToBuyRoboticons(playerInventory, 1); times=2;
 		}};
 	}
 	
@@ -289,23 +230,13 @@ public class AIPlayerTestCase {
 	public void testBuyRoboticonsThreeEmptyPlotsOneRoboticonInInvetory(){
 		
 		new Expectations(){{
-			plotManager.getPlots(); result = new Plot[][]{
-				  { plot1,plot1,plot2 },
-				  { plot2,plot2,plot2 },
-				  { plot2,plot2,plot3 }
-				};
-			plot1.getPlayer(); result = player; 
-			plot2.getPlayer(); result = null;
-			plot3.getPlayer(); result = player; 
-
-			plot1.hasRoboticon(); result = false; 
-			plot3.hasRoboticon(); result = false; 
-			plot1.getSpecialism(); result = PlotSpecialism.ORE;
-			plot3.getSpecialism(); result = PlotSpecialism.ENERGY;
+			plotManager.getNumberOfEmptyPlots(player, PlotSpecialism.ORE); result = 2;
+			plotManager.getNumberOfEmptyPlots(player, PlotSpecialism.ENERGY); result = 1;
 			
 			market.getRoboticonQuantity();result=5; // Enough roboticons
 			
 			market.getCostRoboticons(1); result = 5;
+			market.attemptToBuyRoboticons((PlayerInventory)any, anyInt); result = true; // The market accepts every purchase
 
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ORE);result=5;
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=5;
@@ -315,35 +246,25 @@ public class AIPlayerTestCase {
 		}};
 		player.buyRoboticons(plotManager);
 		new Verifications(){{ 
-			market.buyRoboticonsFromMarket(1); times=2;
+			market.attemptToBuyRoboticons(playerInventory, 1); times=2;
 		}};
 	}
 	
 	/**
-	 * Tests {@link AIPlayer#buyRoboticons} ensures that the correct amount of money 
-	 * is removed from the AIPlayers inventory when it buys 2 roboticons
+	 * Tests {@link AIPlayer#buyRoboticons} ensures that the AIPlayer pays for the 2 roboticons
+	 * that it buys through the market's transactions
 	 */
 	@Test
 	public void testBuyRoboticonsMoneyTaken(){
 		
 		new Expectations(){{
-			plotManager.getPlots(); result = new Plot[][]{
-				  { plot1,plot1,plot2 },
-				  { plot2,plot2,plot2 },
-				  { plot2,plot2,plot3 }
-				};
-			plot1.getPlayer(); result = player; 
-			plot2.getPlayer(); result = null;
-			plot3.getPlayer(); result = player; 
-
-			plot1.hasRoboticon(); result = false; 
-			plot3.hasRoboticon(); result = false; 
-			plot1.getSpecialism(); result = PlotSpecialism.ORE;
-			plot3.getSpecialism(); result = PlotSpecialism.ENERGY;
+			plotManager.getNumberOfEmptyPlots(player, PlotSpecialism.ORE); result = 2;
+			plotManager.getNumberOfEmptyPlots(player, PlotSpecialism.ENERGY); result = 1;
 			
 			market.getRoboticonQuantity();result=5; // Enough roboticons
 			
 			market.getCostRoboticons(1); result = 5;
+			market.attemptToBuyRoboticons((PlayerInventory)any, anyInt); result = true; // The market accepts every purchase
 
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ORE);result=5;
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=5;
@@ -353,7 +274,8 @@ public class AIPlayerTestCase {
 		}};
 		player.buyRoboticons(plotManager);
 		new Verifications(){{ 
-			playerInventory.decreaseMoneyQuantity(5);times=2; // 2 roboticons purchased
+			market.attemptToBuyRoboticons(playerInventory, 1);times=2; // 2 roboticons purchased, the market takes the money from the inventory
+			playerInventory.decreaseMoneyQuantity(anyInt);times=0; // The money is not taken outside of the market's transaction
 		}};
 	}
 	
@@ -365,23 +287,13 @@ public class AIPlayerTestCase {
 	public void testBuyRoboticonsProduceARoboticon(){
 		
 		new Expectations(){{
-			plotManager.getPlots(); result = new Plot[][]{
-				  { plot2,plot1,plot2 },
-				  { plot2,plot2,plot2 },
-				  { plot2,plot2,plot2 }
-				};
-			plot1.getPlayer(); result = player; 
-			plot2.getPlayer(); result = null;
-
-
-			plot1.hasRoboticon(); result = false; 
-			plot1.getSpecialism(); result = PlotSpecialism.ORE;
+			plotManager.getNumberOfEmptyPlots(player, PlotSpecialism.ORE); result = 1;
+			plotManager.getNumberOfEmptyPlots(player, PlotSpecialism.ENERGY); result = 0;
 			
 			market.getRoboticonQuantity();result=0; // Not enough roboticons
 			
 			market.getCostRoboticons(1); result = 5;
 			market.attemptToProduceRoboticon(); result = true;
-			
 
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ORE);result=5;
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=5;
@@ -403,17 +315,8 @@ public class AIPlayerTestCase {
 	public void testBuyRoboticonsProduceRoboticon(){
 		
 		new Expectations(){{
-			plotManager.getPlots(); result = new Plot[][]{
-				  { plot2,plot2,plot2 },
-				  { plot2,plot2,plot2 },
-				  { plot1,plot2,plot2 }
-				};
-			plot1.getPlayer(); result = player; 
-			plot2.getPlayer(); result = null;
-
-			plot1.hasRoboticon(); result = false;
-			plot1.getSpecialism(); result = PlotSpecialism.ORE;
-		
+			plotManager.getNumberOfEmptyPlots(player, PlotSpecialism.ORE); result = 1;
+			plotManager.getNumberOfEmptyPlots(player, PlotSpecialism.ENERGY); result = 0;
 			
 			market.getRoboticonQuantity();result=0; // not enough roboticons
 			
@@ -439,19 +342,8 @@ public class AIPlayerTestCase {
 	public void testBuyRoboticonsNoPurchaseIfRoboticonCantBeProduced(){
 		
 		new Expectations(){{
-			plotManager.getPlots(); result = new Plot[][]{
-				  { plot1,plot1,plot2 },
-				  { plot2,plot2,plot2 },
-				  { plot2,plot2,plot3 }
-				};
-			plot1.getPlayer(); result = player; 
-			plot2.getPlayer(); result = null;
-			plot3.getPlayer(); result = player; 
-
-			plot1.hasRoboticon(); result = false; 
-			plot3.hasRoboticon(); result = false; 
-			plot1.getSpecialism(); result = PlotSpecialism.ORE;
-			plot3.getSpecialism(); result = PlotSpecialism.ENERGY;
+			plotManager.getNumberOfEmptyPlots(player, PlotSpecialism.ORE); result = 2;
+			plotManager.getNumberOfEmptyPlots(player, PlotSpecialism.ENERGY); result = 1;
 			
 			market.getRoboticonQuantity();result=0; // not enough roboticons
 			market.attemptToProduceRoboticon();result=false; // no roboticons can be produced
@@ -466,7 +358,7 @@ public class AIPlayerTestCase {
 		}};
 		player.buyRoboticons(plotManager);
 		new Verifications(){{ 
-			market.buyRoboticonsFromMarket(anyInt); times=0; // no roboticons purchased
+			market.attemptToBuyRoboticons((PlayerInventory)any, anyInt); times=0; // no roboticons purchased
 		}};
 	}
 	
@@ -478,19 +370,8 @@ public class AIPlayerTestCase {
 	public void testBuyRoboticonsNotEnoughMoneyToPurchase(){
 		
 		new Expectations(){{
-			plotManager.getPlots(); result = new Plot[][]{
-				  { plot1,plot1,plot2 },
-				  { plot2,plot2,plot2 },
-				  { plot2,plot2,plot1 }
-				};
-			plot1.getPlayer(); result = player; 
-			plot2.getPlayer(); result = null;
-	
-
-			plot1.hasRoboticon(); result = false;
-			plot1.getSpecialism(); result = PlotSpecialism.ORE;
-			
-			
+			plotManager.getNumberOfEmptyPlots(player, PlotSpecialism.ORE); result = 3;
+			plotManager.getNumberOfEmptyPlots(player, PlotSpecialism.ENERGY); result = 0;
 			
 			market.getCostRoboticons(1); result = 5;
 			
@@ -499,7 +380,7 @@ public class AIPlayerTestCase {
 		}};
 		player.buyRoboticons(plotManager);
 		new Verifications(){{ 
-			market.buyRoboticonsFromMarket(1); times=0; // no roboticons purchased
+			market.attemptToBuyRoboticons(playerInventory, 1); times=0; // no roboticons purchased
 		}};
 	}
 	
@@ -511,16 +392,8 @@ public class AIPlayerTestCase {
 	public void testBuyRoboticonsNotEnoughMoneyToCustomise(){
 		
 		new Expectations(){{
-			plotManager.getPlots(); result = new Plot[][]{
-				  { plot1,plot1,plot2 },
-				  { plot2,plot2,plot2 },
-				  { plot2,plot2,plot1 }
-				};
-			plot1.getPlayer(); result = player; 
-			plot2.getPlayer(); result = null;
-	
-			plot1.hasRoboticon(); result = false; 
-			plot1.getSpecialism(); result = PlotSpecialism.ORE;
+			plotManager.getNumberOfEmptyPlots(player, PlotSpecialism.ORE); result = 3;
+			plotManager.getNumberOfEmptyPlots(player, PlotSpecialism.ENERGY); result = 0;
 			
 			market.getCostRoboticons(1); result = 5;
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ORE);result=5;
@@ -530,7 +403,7 @@ public class AIPlayerTestCase {
 		}};
 		player.buyRoboticons(plotManager);
 		new Verifications(){{ 
-			market.buyRoboticonsFromMarket(1); times=0; // no roboticons purchased
+			market.attemptToBuyRoboticons(playerInventory, 1); times=0; // no roboticons purchased
 		}};
 	}
 	
@@ -542,20 +415,8 @@ public class AIPlayerTestCase {
 	public void testPlaceRoboticonsNoRoboticons(){
 		
 		new Expectations(){{
-			plotManager.getPlots(); result = new Plot[][]{
-				  { plot1,plot1,plot2 },
-				  { plot2,plot2,plot2 },
-				  { plot2,plot2,plot1 }
-				};
-			plot1.getPlayer(); result = player; 
-			plot2.getPlayer(); result = player;
-	
-
-			plot1.hasRoboticon(); result = false; 
-			plot2.hasRoboticon(); result = false; 
-
-			plot1.getSpecialism(); result = PlotSpecialism.ORE;
-			plot2.getSpecialism(); result = PlotSpecialism.ENERGY;
+			plotManager.findEmptyPlot(player, PlotSpecialism.ORE, 0); result = 0; // Empty plots that specialise in both ore and energy
+			plotManager.findEmptyPlot(player, PlotSpecialism.ENERGY, 0); result = 2;
 			
 			playerInventory.getRoboticonQuantity(RoboticonCustomisation.ORE);result=0; // No customised roboticons
 			playerInventory.getRoboticonQuantity(RoboticonCustomisation.ENERGY);result=0;
@@ -576,19 +437,11 @@ public class AIPlayerTestCase {
 	public void testPlaceRoboticonsNoEmptyPlots(){
 		
 		new Expectations(){{
-			plotManager.getPlots(); result = new Plot[][]{
-				  { plot1,plot1,plot2 },
-				  { plot2,plot2,plot2 },
-				  { plot2,plot2,plot1 }
-				};
-			plot1.getPlayer(); result = player; 
-			plot2.getPlayer(); result = player;
-	
-			// No empty plots
-			plot1.hasRoboticon(); result = true; 
-			plot2.hasRoboticon(); result = true;
-			
+			plotManager.findEmptyPlot(player, PlotSpecialism.ORE, 0); result = -1; // No empty plots
+			plotManager.findEmptyPlot(player, PlotSpecialism.ENERGY, 0); result = -1;
 			
+			// No empty plots
+
 		}};
 		player.placeRoboticons(plotManager);
 		new Verifications(){{ 
@@ -606,19 +459,8 @@ public class AIPlayerTestCase {
 	public void testPlaceRoboticonsOnlyHaveEnergyRoboticonsNoOreRoboticonsPlaced(){
 		
 		new Expectations(){{
-			plotManager.getPlots(); result = new Plot[][]{
-				  { plot1,plot1,plot2 },
-				  { plot2,plot2,plot2 },
-				  { plot2,plot2,plot1 }
-				};
-			plot1.getPlayer(); result = player; 
-			plot2.getPlayer(); result = player;
-	
-			plot1.hasRoboticon(); result = false; 
-			plot2.hasRoboticon(); result = false; 
-
-			plot1.getSpecialism(); result = PlotSpecialism.ORE;
-			plot2.getSpecialism(); result = PlotSpecialism.ENERGY;
+			plotManager.findEmptyPlot(player, PlotSpecialism.ORE, 0); result = 0; // Empty plots that specialise in both ore and energy
+			plotManager.findEmptyPlot(player, PlotSpecialism.ENERGY, anyInt); returns(2, 3, 4, 5, 6, 7, -1);
 			
 			playerInventory.getRoboticonQuantity(RoboticonCustomisation.ORE);result=0; 
 			playerInventory.getRoboticonQuantity(RoboticonCustomisation.ENERGY);result=100;
@@ -639,19 +481,8 @@ public class AIPlayerTestCase {
 	public void testPlaceRoboticonsOnlyHaveEnergyRoboticonsEnergyRoboticonsPlaced(){
 		
 		new Expectations(){{
-			plotManager.getPlots(); result = new Plot[][]{
-				  { plot1,plot1,plot2 },
-				  { plot2,plot2,plot2 },
-				  { plot2,plot2,plot1 }
-				};
-			plot1.getPlayer(); result = player; 
-			plot2.getPlayer(); result = player;
-	
-			plot1.hasRoboticon(); result = false; 
-			plot2.hasRoboticon(); result = false; 
-
-			plot1.getSpecialism(); result = PlotSpecialism.ENERGY;
-			plot2.getSpecialism(); result = PlotSpecialism.ORE;
+			plotManager.findEmptyPlot(player, PlotSpecialism.ORE, 0); result = 2;
+			plotManager.findEmptyPlot(player, PlotSpecialism.ENERGY, anyInt); returns(0, 1, 8, -1); // 3 empty plots that specialise in energy
 			
 			playerInventory.getRoboticonQuantity(RoboticonCustomisation.ORE);result=0; 
 			playerInventory.getRoboticonQuantity(RoboticonCustomisation.ENERGY);result=3;
@@ -673,19 +504,8 @@ public class AIPlayerTestCase {
 	public void testPlaceRoboticonsOnlyHaveOreRoboticonsNoEnergyRoboticonsPlaced(){
 		
 		new Expectations(){{
-			plotManager.getPlots(); result = new Plot[][]{
-				  { plot1,plot1,plot2 },
-				  { plot2,plot2,plot2 },
-				  { plot2,plot2,plot1 }
-				};
-			plot1.getPlayer(); result = player; 
-			plot2.getPlayer(); result = player;
-	
-			plot1.hasRoboticon(); result = false; 
-			plot2.hasRoboticon(); result = false; 
-
-			plot1.getSpecialism(); result = PlotSpecialism.ORE;
-			plot2.getSpecialism(); result = PlotSpecialism.ENERGY;
+			plotManager.findEmptyPlot(player, PlotSpecialism.ORE, anyInt); returns(0, 1, 8, -1); // Empty plots that specialise in both ore and energy
+			plotManager.findEmptyPlot(player, PlotSpecialism.ENERGY, 0); result = 2;
 			
 			playerInventory.getRoboticonQuantity(RoboticonCustomisation.ORE);result=100; 
 			playerInventory.getRoboticonQuantity(RoboticonCustomisation.ENERGY);result=0;
@@ -705,19 +525,8 @@ public class AIPlayerTestCase {
 	public void testPlaceRoboticonsOnlyHaveOreRoboticonsOreRoboticonsPlaced(){
 		
 		new Expectations(){{
-			plotManager.getPlots(); result = new Plot[][]{
-				  { plot1,plot1,plot2 },
-				  { plot2,plot2,plot2 },
-				  { plot2,plot2,plot1 }
-				};
-			plot1.getPlayer(); result = player; 
-			plot2.getPlayer(); result = player;
-	
-			plot1.hasRoboticon(); result = false; 
-			plot2.hasRoboticon(); result = false; 
-
-			plot1.getSpecialism(); result = PlotSpecialism.ORE;
-			plot2.getSpecialism(); result = PlotSpecialism.ENERGY;
+			plotManager.findEmptyPlot(player, PlotSpecialism.ORE, anyInt); returns(0, 1, 8, -1); // 3 empty plots that specialise in ore
+			plotManager.findEmptyPlot(player, PlotSpecialism.ENERGY, 0); result = 2;
 			
 			playerInventory.getRoboticonQuantity(RoboticonCustomisation.ORE);result=100; 
 			playerInventory.getRoboticonQuantity(RoboticonCustomisation.ENERGY);result=0;
@@ -741,7 +550,7 @@ public class AIPlayerTestCase {
 		}};
 		player.buyAndSellResources();
 		new Verifications(){{ 
-			market.sellOreToMarket(anyInt);times=0;
+			market.attemptToSellOre((PlayerInventory)any, anyInt);times=0;
 		}};
 	}
 	
@@ -757,7 +566,7 @@ public class AIPlayerTestCase {
 		}};
 		player.buyAndSellResources();
 		new Verifications(){{ 
-			market.sellEnergyToMarket(anyInt);times=0;
+			market.attemptToSellEnergy((PlayerInventory)any, anyInt);times=0;
 		}};
 	}
 	
@@ -773,7 +582,7 @@ public class AIPlayerTestCase {
 		}};
 		player.buyAndSellResources();
 		new Verifications(){{ 
-			market.sellOreToMarket(1);times=1;
+			market.attemptToSellOre(playerInventory, 1);times=1;
 		}};
 	}
 	
@@ -789,7 +598,7 @@ public class AIPlayerTestCase {
 		}};
 		player.buyAndSellResources();
 		new Verifications(){{ 
-			market.sellOreToMarket(5);times=1;
+			market.attemptToSellOre(playerInventory, 5);times=1;
 		}};
 	}
 	
@@ -805,7 +614,7 @@ public class AIPlayerTestCase {
 		}};
 		player.buyAndSellResources();
 		new Verifications(){{ 
-			market.sellEnergyToMarket(1);times=1;
+			market.attemptToSellEnergy(playerInventory, 1);times=1;
 		}};
 	}
 	
@@ -821,7 +630,55 @@ public class AIPlayerTestCase {
 		}};
 		player.buyAndSellResources();
 		new Verifications(){{ 
-			market.sellEnergyToMarket(5);times=1;
+			market.attemptToSellEnergy(playerInventory, 5);times=1;
+		}};
+	}
+	
+	/**
+	 * Tests {@link AIPlayer#AIPlayer(PlayerInventory, Market, AIStrategy)} ensures that an exception is thrown if the strategy is null
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testNullStrategy(){
+		new AIPlayer(playerInventory, market, null);
+	}
+	
+	/**
+	 * Tests {@link AIPlayer#AIPlayer(PlayerInventory)} ensures that the original (greedy) strategy is used if none is given
+	 */
+	@Test
+	public void testDefaultStrategyGreedy(){
+		Assert.assertTrue(player.getStrategy() instanceof GreedyStrategy);
+	}
+	
+	/**
+	 * Tests {@link AIPlayer} ensures that every decision is passed on to the player's strategy
+	 * @param strategy A mocked strategy
+	 */
+	@Test
+	public void testDecisionsMadeByStrategy(@Mocked final AIStrategy strategy){
+		final AIPlayer strategyPlayer = new AIPlayer(playerInventory, market, strategy);
+		strategyPlayer.choosePlot(plotManager);
+		strategyPlayer.buyRoboticons(plotManager);
+		strategyPlayer.customiseRoboticons(plotManager);
+		strategyPlayer.placeRoboticons(plotManager);
+		strategyPlayer.buyAndSellResources();
+		new VerificationsInOrder(){{
+			strategy.choosePlot(strategyPlayer, plotManager);
+			strategy.buyRoboticons(strategyPlayer, plotManager);
+			strategy.customiseRoboticons(strategyPlayer, plotManager);
+			strategy.placeRoboticons(strategyPlayer, plotManager);
+			strategy.buyAndSellResources(strategyPlayer);
 		}};
 	}
+	
+	/**
+	 * Tests {@link AIPlayer#setOpponent(Player, boolean)} ensures that the opponent and turn order are remembered
+	 */
+	@Test
+	public void testSetOpponent(){
+		Player opponent = new Player(playerInventory);
+		player.setOpponent(opponent, true);
+		Assert.assertSame(opponent, player.getOpponent());
+		Assert.assertTrue(player.playsFirst());
+	}
 }
@@ -0,0 +1,109 @@
+package com.topright.roboticon;
+
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+
+/**
+ * Test case for the AssetRegistry class
+ */
+public class AssetRegistryTestCase extends GuiTest {
+	private static final String TEXTURE_PATH = "icon/icon-coin.png";
+
+	/**
+	 * Runs after each test, disposes of all loaded assets so that each test starts with an empty registry
+	 */
+	@After
+	public void disposeAssets(){
+		AssetRegistry.getInstance().dispose();
+	}
+
+	/**
+	 * Tests {@link AssetRegistry#acquire(String, Class)} ensures that acquiring the same texture twice returns the same shared instance.
+	 */
+	@Test
+	public void testAcquireTwiceSameInstance(){
+		Texture first = AssetRegistry.getInstance().acquire(TEXTURE_PATH, Texture.class);
+		Texture second = AssetRegistry.getInstance().acquire(TEXTURE_PATH, Texture.class);
+		assertSame(first, second);
+	}
+
+	/**
+	 * Tests {@link AssetRegistry#acquire(String, Class)} ensures that a texture is only loaded from disk once no matter how many times it is acquired.
+	 */
+	@Test
+	public void testAcquireTwiceLoadedOnce(){
+		AssetRegistry.getInstance().acquire(TEXTURE_PATH, Texture.class);
+		AssetRegistry.getInstance().acquire(TEXTURE_PATH, Texture.class);
+		assertEquals(1, AssetRegistry.getInstance().getLoadCount());
+		assertTrue(AssetRegistry.getInstance().getBytesLoaded() > 0);
+	}
+
+	/**
+	 * Tests {@link AssetRegistry#acquire(String, Class)} ensures that the reference count is increased every time an asset is acquired.
+	 */
+	@Test
+	public void testAcquireReferenceCount(){
+		AssetRegistry.getInstance().acquire(TEXTURE_PATH, Texture.class);
+		AssetRegistry.getInstance().acquire(TEXTURE_PATH, Texture.class);
+		assertEquals(2, AssetRegistry.getInstance().getReferenceCount(TEXTURE_PATH));
+	}
+
+	/**
+	 * Tests {@link AssetRegistry#release(String)} ensures that the reference count is decreased when an asset is released.
+	 */
+	@Test
+	public void testReleaseReferenceCount(){
+		AssetRegistry.getInstance().acquire(TEXTURE_PATH, Texture.class);
+		AssetRegistry.getInstance().acquire(TEXTURE_PATH, Texture.class);
+		AssetRegistry.getInstance().release(TEXTURE_PATH);
+		assertEquals(1, AssetRegistry.getInstance().getReferenceCount(TEXTURE_PATH));
+	}
+
+	/**
+	 * Tests {@link AssetRegistry#release(String)} ensures that an asset is loaded from disk again if it is acquired after all references to it have been released.
+	 */
+	@Test
+	public void testReleaseAllReferencesReloaded(){
+		AssetRegistry.getInstance().acquire(TEXTURE_PATH, Texture.class);
+		AssetRegistry.getInstance().release(TEXTURE_PATH);
+		assertEquals(0, AssetRegistry.getInstance().getReferenceCount(TEXTURE_PATH));
+		AssetRegistry.getInstance().acquire(TEXTURE_PATH, Texture.class);
+		assertEquals(2, AssetRegistry.getInstance().getLoadCount());
+	}
+
+	/**
+	 * Tests {@link AssetRegistry#release(String)} ensures that an exception is thrown when an asset that was never acquired is released.
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testReleaseNotAcquired(){
+		AssetRegistry.getInstance().release(TEXTURE_PATH);
+	}
+
+	/**
+	 * Tests {@link AssetRegistry#getTexture(String)} ensures that the registry only holds a single reference no matter how many times the texture is requested.
+	 */
+	@Test
+	public void testGetTextureHeldOnce(){
+		Texture first = AssetRegistry.getInstance().getTexture(TEXTURE_PATH);
+		Texture second = AssetRegistry.getInstance().getTexture(TEXTURE_PATH);
+		assertSame(first, second);
+		assertEquals(1, AssetRegistry.getInstance().getReferenceCount(TEXTURE_PATH));
+		assertEquals(1, AssetRegistry.getInstance().getLoadCount());
+	}
+
+	/**
+	 * Tests {@link AssetRegistry#getFont()} ensures that the same font is shared until the registry is disposed of, and that a new font is created afterwards.
+	 */
+	@Test
+	public void testGetFontSharedUntilDisposed(){
+		BitmapFont font = AssetRegistry.getInstance().getFont();
+		assertSame(font, AssetRegistry.getInstance().getFont());
+		AssetRegistry.getInstance().dispose();
+		assertNotSame(font, AssetRegistry.getInstance().getFont());
+	}
+}
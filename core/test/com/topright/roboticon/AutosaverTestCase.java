@@ -0,0 +1,85 @@
+package com.topright.roboticon;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.EnumMap;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test case for {@link Autosaver}
+ */
+public class AutosaverTestCase {
+	@Rule public TemporaryFolder folder = new TemporaryFolder();
+	
+	private Path saveFile;
+	private GameEngine gameEngine;
+	private Market market;
+	private Plot[][] plots;
+	
+	/**
+	 * Runs before every test, plays a whole game between two AI players (so that it can be saved)
+	 */
+	@Before
+	public void setup(){
+		saveFile = folder.getRoot().toPath().resolve("autosave.sav");
+		market = new Market(new MarketInventory(0,16,12));
+		AIPlayer firstPlayer = new AIPlayer(new PlayerInventory(0, 0, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), 30), market);
+		AIPlayer secondPlayer = new AIPlayer(new PlayerInventory(0, 0, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), 30), market);
+		plots = CreatePlots.createPlots(4, 5, new GameRandom(1L));
+		gameEngine = new GameEngine(new HeadlessPlotManager(plots), firstPlayer, secondPlayer, null);
+		gameEngine.start();
+	}
+	
+	/**
+	 * Tests {@link Autosaver#Autosaver(Path)} ensures that an exception is thrown if the file is null
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testConstructorNullFile(){
+		new Autosaver(null);
+	}
+	
+	/**
+	 * Tests {@link Autosaver#save(GameSnapshot)} ensures that the snapshot has been saved once the autosaver has been closed
+	 * @throws Exception If the save can't be read or the test is interrupted
+	 */
+	@Test
+	public void testSaveWrittenBeforeClose() throws Exception{
+		Autosaver autosaver = new Autosaver(saveFile);
+		autosaver.save(GameSnapshot.capture(5L, plots, market, gameEngine));
+		assertTrue(autosaver.close(10000));
+		assertNull(autosaver.getLastError());
+		assertEquals(5L, GameSnapshot.read(saveFile).getSeed());
+	}
+	
+	/**
+	 * Tests {@link Autosaver#save(GameSnapshot)} ensures that the latest snapshot is the one that ends up saved
+	 * @throws Exception If the save can't be read or the test is interrupted
+	 */
+	@Test
+	public void testLatestSnapshotSaved() throws Exception{
+		Autosaver autosaver = new Autosaver(saveFile);
+		for(long seed = 0; seed < 50; seed++){
+			autosaver.save(GameSnapshot.capture(seed, plots, market, gameEngine));
+		}
+		assertTrue(autosaver.close(10000));
+		assertEquals(49L, GameSnapshot.read(saveFile).getSeed());
+	}
+	
+	/**
+	 * Tests {@link Autosaver#getLastError()} ensures that an error is recorded if the snapshot can't be saved
+	 * @throws Exception If the test is interrupted
+	 */
+	@Test
+	public void testSaveFailed() throws Exception{
+		Autosaver autosaver = new Autosaver(folder.getRoot().toPath().resolve("missing").resolve("autosave.sav"));
+		autosaver.save(GameSnapshot.capture(5L, plots, market, gameEngine));
+		assertTrue(autosaver.close(10000));
+		assertTrue(autosaver.getLastError() instanceof IOException);
+	}
+}
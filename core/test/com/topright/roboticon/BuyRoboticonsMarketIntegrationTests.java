@@ -6,13 +6,11 @@ import java.util.EnumMap;
 import org.junit.Before;
 import org.junit.Test;
 
-import com.badlogic.gdx.ai.msg.MessageDispatcher;
-import com.badlogic.gdx.ai.msg.MessageManager;
 import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
 
 /**
  * Integration tests for the {@link BuyRoboticonsMarket}, {@link Market}, {@link Player},
- * {@link PlayerInventory}, {@link MarketInventory}, {@link MessageDispatcher} classes
+ * {@link PlayerInventory}, {@link MarketInventory}, {@link GameEventBus} classes
  * @author jcn509
  */
 public class BuyRoboticonsMarketIntegrationTests extends GuiTest { 
@@ -6,8 +6,6 @@ import java.util.EnumMap;
 import org.junit.Before;
 import org.junit.Test;
 
-import com.badlogic.gdx.ai.msg.MessageDispatcher;
-import com.badlogic.gdx.ai.msg.MessageManager;
 import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
 
 import mockit.Expectations;
@@ -28,7 +26,7 @@ public class BuyRoboticonsMarketTestCase extends GuiTest {
 	@Mocked private Player player;
 	@Mocked private PlayerInventory playerInventory;
 	@Mocked private MarketInventory marketInventory;
-	@Mocked private MessageDispatcher messageDispatcher;
+	@Mocked private GameEventBus eventBus;
 	private TextButton completePurchaseButton;
 	private TextButton produceRoboticonButton;
 	private SpinBox transactionQuantitySpinBox;
@@ -40,7 +38,7 @@ public class BuyRoboticonsMarketTestCase extends GuiTest {
 	 */
 	@Before
 	public void setup(){
-		messageDispatcher = MessageManager.getInstance();
+		eventBus = GameEventBus.getInstance();
 		EnumMap<RoboticonCustomisation,Integer> roboticonQuantities = new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class);
 		playerInventory = new PlayerInventory(0,1,roboticonQuantities, 2);
 		player = new Player(playerInventory);
@@ -157,7 +155,7 @@ public class BuyRoboticonsMarketTestCase extends GuiTest {
 		clickActor(completePurchaseButton);
 		
 		new Verifications(){{ // Message dispatched
-			messageDispatcher.dispatchMessage(GameEvents.PLAYERINVENTORYUPDATE.ordinal());times=1;
+			eventBus.dispatch(GameEvents.PLAYERINVENTORYUPDATE);times=1;
 		}};
 	}
 	
@@ -174,7 +172,7 @@ public class BuyRoboticonsMarketTestCase extends GuiTest {
 		clickActor(completePurchaseButton);
 		
 		new Verifications(){{ // Message not dispatched
-			messageDispatcher.dispatchMessage(GameEvents.PLAYERINVENTORYUPDATE.ordinal());times=0;
+			eventBus.dispatch(GameEvents.PLAYERINVENTORYUPDATE);times=0;
 		}};
 	}
 	
@@ -226,4 +226,46 @@ public class CreatePlotsTestCase {
 		}
 	}
 	
+	/**
+	 * Tests {@link CreatePlots#createPlots(int, int, GameRandom)} ensures that the same seed always gives plots
+	 * with the same specialisms.
+	 */
+	@Test
+	public void testCreatePlotsSameSeedSameSpecialisms(){
+		Plot[][] plots = CreatePlots.createPlots(10, 10, new GameRandom(42));
+		Plot[][] samePlots = CreatePlots.createPlots(10, 10, new GameRandom(42));
+		for(int row=0;row<plots.length;row++){
+			for(int column=0;column<plots[0].length;column++){
+				assertEquals(plots[row][column].getSpecialism(), samePlots[row][column].getSpecialism());
+			}
+		}
+	}
+	
+	/**
+	 * Tests {@link CreatePlots#createPlots(int, int, GameRandom)} ensures that both specialisms are used
+	 * (for a map that is large enough that this is practically certain).
+	 */
+	@Test
+	public void testCreatePlotsSeededBothSpecialismsUsed(){
+		Plot[][] plots = CreatePlots.createPlots(10, 10, new GameRandom(42));
+		int orePlots = 0;
+		for(int row=0;row<plots.length;row++){
+			for(int column=0;column<plots[0].length;column++){
+				if(plots[row][column].getSpecialism() == PlotSpecialism.ORE){
+					orePlots++;
+				}
+			}
+		}
+		assertTrue(orePlots > 0 && orePlots < 100);
+	}
+	
+	/**
+	 * Tests {@link CreatePlots#createPlots(int, int, GameRandom)} ensures that an exception is thrown 
+	 * when no GameRandom is passed to it.
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testCreatePlotsNullRandom(){
+		CreatePlots.createPlots(4, 5, null);
+	}
+	
 }
@@ -7,8 +7,6 @@ import java.util.EnumMap;
 import org.junit.Before;
 import org.junit.Test;
 
-import com.badlogic.gdx.ai.msg.MessageDispatcher;
-import com.badlogic.gdx.ai.msg.MessageManager;
 import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
 
 import mockit.Expectations;
@@ -29,7 +27,7 @@ public class CustomiseRoboticonMarketTestCase extends GuiTest {
 	@Mocked Player player;
 	@Mocked PlayerInventory playerInventory;
 	@Mocked MarketInventory marketInventory;
-	@Mocked private MessageDispatcher messageDispatcher;
+	@Mocked private GameEventBus eventBus;
 	private TextButton energyCustomisationButton;
 	private TextButton oreCustomisationButton;
 	private CustomiseRoboticonsMarket customiseRoboticonsMarket;
@@ -41,7 +39,7 @@ public class CustomiseRoboticonMarketTestCase extends GuiTest {
 	 */
 	@Before
 	public void setup(){
-		messageDispatcher = MessageManager.getInstance();
+		eventBus = GameEventBus.getInstance();
 		EnumMap<RoboticonCustomisation,Integer> roboticonQuantities = new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class);
 		playerInventory = new PlayerInventory(0,1,roboticonQuantities, 2);
 		player = new Player(playerInventory);
@@ -80,7 +78,7 @@ public class CustomiseRoboticonMarketTestCase extends GuiTest {
 		}};
 		clickActor(energyCustomisationButton);
 		new Verifications(){{ // Message dispatched
-			messageDispatcher.dispatchMessage(GameEvents.PLAYERINVENTORYUPDATE.ordinal()); times=1;
+			eventBus.dispatch(GameEvents.PLAYERINVENTORYUPDATE); times=1;
 		}};
 	}
 	
@@ -98,7 +96,7 @@ public class CustomiseRoboticonMarketTestCase extends GuiTest {
 		}};
 		clickActor(energyCustomisationButton);
 		new Verifications(){{ // Message not dispatched
-			messageDispatcher.dispatchMessage(GameEvents.PLAYERINVENTORYUPDATE.ordinal()); times=0;
+			eventBus.dispatch(GameEvents.PLAYERINVENTORYUPDATE); times=0;
 		}};
 	}
 	
@@ -113,7 +111,7 @@ public class CustomiseRoboticonMarketTestCase extends GuiTest {
 		}};
 		clickActor(oreCustomisationButton);
 		new Verifications(){{ // Message dispatched
-			messageDispatcher.dispatchMessage(GameEvents.PLAYERINVENTORYUPDATE.ordinal()); times=1;
+			eventBus.dispatch(GameEvents.PLAYERINVENTORYUPDATE); times=1;
 		}};
 	}
 	
@@ -131,7 +129,7 @@ public class CustomiseRoboticonMarketTestCase extends GuiTest {
 		}};
 		clickActor(oreCustomisationButton);
 		new Verifications(){{ // Message not dispatched
-			messageDispatcher.dispatchMessage(GameEvents.PLAYERINVENTORYUPDATE.ordinal()); times=0;
+			eventBus.dispatch(GameEvents.PLAYERINVENTORYUPDATE); times=0;
 		}};
 	}
 	
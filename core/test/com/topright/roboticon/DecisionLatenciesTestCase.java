@@ -0,0 +1,83 @@
+package com.topright.roboticon;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Test case for {@link DecisionLatencies}
+ */
+public class DecisionLatenciesTestCase {
+	
+	/**
+	 * Tests {@link DecisionLatencies#getPercentile(double)} ensures that the nearest rank is used
+	 */
+	@Test
+	public void testPercentiles(){
+		DecisionLatencies latencies = new DecisionLatencies();
+		for(int latency = 100; latency >= 1; latency--){ // Added out of order
+			latencies.add(latency);
+		}
+		assertEquals(100, latencies.size());
+		assertEquals(50, latencies.getPercentile(50));
+		assertEquals(90, latencies.getPercentile(90));
+		assertEquals(99, latencies.getPercentile(99));
+		assertEquals(100, latencies.getPercentile(100));
+		assertEquals(1, latencies.getPercentile(0.1));
+	}
+	
+	/**
+	 * Tests {@link DecisionLatencies#getPercentile(double)} ensures that 0 is returned if nothing has been recorded
+	 */
+	@Test
+	public void testPercentileEmpty(){
+		assertEquals(0, new DecisionLatencies().getPercentile(50));
+	}
+	
+	/**
+	 * Tests {@link DecisionLatencies#add(long)} ensures that latencies recorded after a percentile has been found are included in later percentiles
+	 */
+	@Test
+	public void testAddAfterPercentile(){
+		DecisionLatencies latencies = new DecisionLatencies();
+		latencies.add(10);
+		assertEquals(10, latencies.getPercentile(100));
+		latencies.add(5);
+		latencies.add(20);
+		assertEquals(20, latencies.getPercentile(100));
+		assertEquals(5, latencies.getPercentile(1));
+	}
+	
+	/**
+	 * Tests {@link DecisionLatencies#addAll(DecisionLatencies)} ensures that every latency from the other instance is added (growing the storage as needed)
+	 */
+	@Test
+	public void testAddAll(){
+		DecisionLatencies latencies = new DecisionLatencies();
+		DecisionLatencies other = new DecisionLatencies();
+		for(int latency = 0; latency < 1000; latency++){
+			latencies.add(latency);
+			other.add(latency + 1000);
+		}
+		latencies.addAll(other);
+		assertEquals(2000, latencies.size());
+		assertEquals(1999, latencies.getPercentile(100));
+		assertEquals(999, latencies.getPercentile(50));
+	}
+	
+	/**
+	 * Tests {@link DecisionLatencies#add(long)} ensures that an exception is thrown if the latency is negative
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testAddNegative(){
+		new DecisionLatencies().add(-1);
+	}
+	
+	/**
+	 * Tests {@link DecisionLatencies#getPercentile(double)} ensures that an exception is thrown if the percentile is more than 100
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testPercentileTooLarge(){
+		new DecisionLatencies().getPercentile(101);
+	}
+}
@@ -0,0 +1,176 @@
+package com.topright.roboticon;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.*;
+
+/**
+ * Test case for {@link FramedChannel}, uses a real pair of connected sockets (over the loopback interface)
+ */
+public class FramedChannelTestCase {
+	private static final long TIMEOUT_MILLIS = 5000;
+
+	private FramedChannel sender;
+	private FramedChannel receiver;
+	private final List<ByteBuffer> framesReceived = new ArrayList<ByteBuffer>();
+	private final FramedChannel.FrameHandler recordingHandler = new FramedChannel.FrameHandler(){
+		@Override
+		public void handleFrame(ByteBuffer frame){
+			ByteBuffer copy = ByteBuffer.allocate(frame.remaining());
+			copy.put(frame).flip();
+			framesReceived.add(copy);
+		}
+	};
+
+	/**
+	 * Runs before every test, connects two FramedChannels to each other
+	 * @throws IOException If the sockets can't be connected
+	 */
+	@Before
+	public void setup() throws IOException{
+		try(ServerSocketChannel serverSocket = ServerSocketChannel.open()){
+			serverSocket.bind(new InetSocketAddress("127.0.0.1", 0));
+			SocketChannel client = SocketChannel.open(serverSocket.getLocalAddress());
+			sender = new FramedChannel(client);
+			receiver = new FramedChannel(serverSocket.accept(), 16);
+		}
+	}
+
+	/**
+	 * Runs after every test, closes both channels
+	 * @throws IOException If a channel can't be closed
+	 */
+	@After
+	public void tearDown() throws IOException{
+		sender.close();
+		receiver.close();
+	}
+
+	/**
+	 * Flushes the sender until everything has been written and reads from the receiver until the given number of frames have arrived
+	 * @param frames The number of frames to wait for
+	 * @throws IOException If a channel fails
+	 */
+	private void transfer(int frames) throws IOException{
+		long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+		while(framesReceived.size() < frames){
+			sender.flush();
+			assertTrue(receiver.read(recordingHandler) >= 0);
+			assertTrue("Timed out waiting for frames", System.currentTimeMillis() < deadline);
+		}
+	}
+
+	/**
+	 * Tests {@link FramedChannel#FramedChannel(SocketChannel)} ensures that an IllegalArgumentException is thrown if the channel is null
+	 * @throws IOException Never
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructorNullChannel() throws IOException{
+		new FramedChannel(null);
+	}
+
+	/**
+	 * Tests {@link FramedChannel#FramedChannel(SocketChannel, int)} ensures that an IllegalArgumentException is thrown if the read buffer
+	 * can't hold the length of a frame
+	 * @throws IOException Never
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructorReadBufferTooSmall() throws IOException{
+		new FramedChannel(sender.getChannel(), NetworkProtocol.LENGTH_SIZE - 1);
+	}
+
+	/**
+	 * Tests {@link FramedChannel#send} and {@link FramedChannel#read} ensure that frames arrive whole and in the order that they were sent
+	 * @throws IOException If a channel fails
+	 */
+	@Test
+	public void testFramesArriveInOrder() throws IOException{
+		sender.send(NetworkProtocol.buyRoboticons(1));
+		sender.send(NetworkProtocol.acquirePlot(2, 3));
+		sender.send(NetworkProtocol.finished(GameEvents.FINISHEDBUYINGROBOTICONS));
+		transfer(3);
+		assertEquals(3, framesReceived.size());
+		assertEquals(NetworkProtocol.BUY_ROBOTICONS, framesReceived.get(0).get(0));
+		assertEquals(NetworkProtocol.ACQUIRE_PLOT, framesReceived.get(1).get(0));
+		assertEquals(NetworkProtocol.FINISHED, framesReceived.get(2).get(0));
+	}
+
+	/**
+	 * Tests {@link FramedChannel#read} ensures that a frame that is bigger than the read buffer still arrives whole
+	 * @throws IOException If a channel fails
+	 */
+	@Test
+	public void testFrameBiggerThanReadBuffer() throws IOException{
+		Plot[][] plots = new Plot[20][20];
+		for(int row = 0; row < plots.length; row++){
+			for(int column = 0; column < plots[row].length; column++){
+				plots[row][column] = new Plot((row + column) % 2 == 0 ? PlotSpecialism.ORE : PlotSpecialism.ENERGY);
+			}
+		}
+		ByteBuffer frame = NetworkProtocol.matchStarted(0, 2, plots);
+		sender.send(frame);
+		transfer(1);
+		assertEquals(frame.remaining() - NetworkProtocol.LENGTH_SIZE, framesReceived.get(0).remaining());
+	}
+
+	/**
+	 * Tests {@link FramedChannel#send} ensures that the frame that is sent is not changed (so it can be sent to many channels)
+	 * @throws IOException If a channel fails
+	 */
+	@Test
+	public void testSendDoesNotChangeFrame() throws IOException{
+		ByteBuffer frame = NetworkProtocol.buyRoboticons(1);
+		int length = frame.remaining();
+		sender.send(frame);
+		sender.send(frame);
+		transfer(2);
+		assertEquals(length, frame.remaining());
+	}
+
+	/**
+	 * Tests {@link FramedChannel#getPendingBytes} ensures that it counts the bytes that have been sent but not written
+	 * @throws IOException If a channel fails
+	 */
+	@Test
+	public void testGetPendingBytes() throws IOException{
+		ByteBuffer frame = NetworkProtocol.buyRoboticons(1);
+		sender.send(frame);
+		assertEquals(frame.remaining(), sender.getPendingBytes());
+		assertTrue(sender.flush());
+		assertEquals(0, sender.getPendingBytes());
+	}
+
+	/**
+	 * Tests {@link FramedChannel#read} ensures that -1 is returned once the other end has closed the connection
+	 * @throws IOException If a channel fails
+	 */
+	@Test
+	public void testReadClosed() throws IOException{
+		sender.close();
+		long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+		int result;
+		while((result = receiver.read(recordingHandler)) == 0){
+			assertTrue("Timed out waiting for the connection to close", System.currentTimeMillis() < deadline);
+		}
+		assertEquals(-1, result);
+	}
+
+	/**
+	 * Tests {@link FramedChannel#read} ensures that an IllegalArgumentException is thrown if a frame has an invalid length
+	 * @throws IOException If a channel fails
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testReadInvalidLength() throws IOException{
+		ByteBuffer invalid = ByteBuffer.allocate(NetworkProtocol.LENGTH_SIZE);
+		invalid.putInt(0, -5);
+		sender.send(invalid);
+		transfer(1);
+	}
+}
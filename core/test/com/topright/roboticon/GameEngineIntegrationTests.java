@@ -0,0 +1,244 @@
+package com.topright.roboticon;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+
+import org.junit.*;
+
+/**
+ * Integration tests for {@link GameEngine} (using real players, plots and a {@link HeadlessPlotManager})
+ */
+public class GameEngineIntegrationTests {
+	private HeadlessPlotManager plotManager;
+	private AIPlayer firstPlayer;
+	private AIPlayer secondPlayer;
+	private Market market;
+
+	/**
+	 * Runs before every test, creates the plots, the AI players and the market used by the game
+	 */
+	@Before
+	public void setup(){
+		plotManager = new HeadlessPlotManager(CreatePlots.createPlots(3, 3));
+		market = new Market(new MarketInventory(0,16,12));
+		firstPlayer = new AIPlayer(new PlayerInventory(0, 0, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), 30), market);
+		secondPlayer = new AIPlayer(new PlayerInventory(0, 0, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), 30), market);
+	}
+
+	/**
+	 * Tests {@link GameEngine#start} ensures that a game between two AI players is played until every plot has been acquired
+	 */
+	@Test
+	public void testStartAIPlayersGameOver(){
+		GameEngine gameEngine = new GameEngine(plotManager, firstPlayer, secondPlayer, null);
+		gameEngine.start();
+		assertTrue(gameEngine.isGameOver());
+		assertTrue(plotManager.allPlotsAquired());
+	}
+
+	/**
+	 * Tests {@link GameEngine#start} ensures that each AI player acquires one plot per round (the first player gets the extra plot if there are an odd number)
+	 */
+	@Test
+	public void testStartAIPlayersPlotsShared(){
+		GameEngine gameEngine = new GameEngine(plotManager, firstPlayer, secondPlayer, null);
+		gameEngine.start();
+
+		int firstPlayerPlots = 0;
+		int secondPlayerPlots = 0;
+		for(Plot[] row : plotManager.getPlots()){
+			for(Plot plot : row){
+				if(plot.getPlayer() == firstPlayer){
+					firstPlayerPlots++;
+				}
+				else if(plot.getPlayer() == secondPlayer){
+					secondPlayerPlots++;
+				}
+			}
+		}
+		assertEquals(5, firstPlayerPlots);
+		assertEquals(4, secondPlayerPlots);
+		assertEquals(5, gameEngine.getRoundNumber());
+	}
+
+	/**
+	 * Tests {@link GameEngine#start} ensures that the time spent in every phase of the game is recorded
+	 */
+	@Test
+	public void testStartAIPlayersPhaseTimesRecorded(){
+		GameEngine gameEngine = new GameEngine(plotManager, firstPlayer, secondPlayer, null);
+		gameEngine.start();
+		assertEquals(10, gameEngine.getPhaseCount(GamePhase.PLOTACQUISITION));
+		assertEquals(5, gameEngine.getPhaseCount(GamePhase.MARKET));
+		assertTrue(gameEngine.getPhaseTime(GamePhase.BUYINGROBOTICONS) > 0);
+	}
+
+	/**
+	 * Tests {@link GameEngine#start} ensures that the game only uses its own market (the shared market is not affected)
+	 */
+	@Test
+	public void testStartAIPlayersOwnMarketUsed(){
+		Market.getInstance().setInventory(new MarketInventory(0,0,0));
+		GameEngine gameEngine = new GameEngine(plotManager, firstPlayer, secondPlayer, null);
+		gameEngine.start();
+		assertEquals(0, Market.getInstance().getRoboticonQuantity());
+		assertEquals(0, Market.getInstance().getOreQuantity());
+		assertTrue(market.getRoboticonQuantity() < 12 || market.getOreQuantity() > 0); // The AI players have traded with the game's market
+	}
+
+	/**
+	 * Tests {@link SimulationRunner#runGames} ensures that every game is played to the end when many games are played at the same time
+	 */
+	@Test
+	public void testRunGamesConcurrently(){
+		SimulationRunner.SimulationResults results = SimulationRunner.runGames(200, 4, 1234L);
+		assertEquals(200, results.getGamesPlayed());
+		assertEquals(200*10, results.getRounds()); // 20 plots, 2 per round
+	}
+
+	/**
+	 * Tests {@link SimulationRunner#runGames} ensures that the same seed plays the same games however many threads are used
+	 */
+	@Test
+	public void testRunGamesSameSeedSameResults(){
+		SimulationRunner.SimulationResults singleThreaded = SimulationRunner.runGames(100, 1, 99L);
+		SimulationRunner.SimulationResults multiThreaded = SimulationRunner.runGames(100, 4, 99L);
+		assertEquals(singleThreaded.getFirstPlayerWins(), multiThreaded.getFirstPlayerWins());
+		assertEquals(singleThreaded.getSecondPlayerWins(), multiThreaded.getSecondPlayerWins());
+	}
+
+	/**
+	 * Tests {@link SimulationRunner#playGame(GameRandom)} ensures that a game played with the same seed ends with the same scores
+	 */
+	@Test
+	public void testPlayGameSameSeedSameGame(){
+		GameEngine firstGame = SimulationRunner.playGame(new GameRandom(7L));
+		GameEngine secondGame = SimulationRunner.playGame(new GameRandom(7L));
+		assertEquals(firstGame.getFirstPlayer().calculateScore(), secondGame.getFirstPlayer().calculateScore());
+		assertEquals(firstGame.getSecondPlayer().calculateScore(), secondGame.getSecondPlayer().calculateScore());
+	}
+
+	/**
+	 * Tests {@link SimulationRunner#runGames(int, int, long, int)} ensures that a player using a {@link SearchStrategy} wins more games than one using a {@link GreedyStrategy}
+	 */
+	@Test
+	public void testSearchStrategyWinsMostGames(){
+		SimulationRunner.SimulationResults results = SimulationRunner.runGames(20, 4, 4321L, 100);
+		assertEquals(20, results.getGamesPlayed());
+		assertTrue(results.getFirstPlayerWins() > 15);
+		assertTrue(results.getSearchRollouts() > 0);
+		assertTrue(results.getSearchRolloutsPerSecond() > 0);
+	}
+
+	/**
+	 * Tests {@link GameEngine#start} ensures that a game between three AI players shares the plots out in turn order
+	 */
+	@Test
+	public void testStartThreeAIPlayersPlotsShared(){
+		AIPlayer thirdPlayer = new AIPlayer(new PlayerInventory(0, 0, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), 30), market);
+		GameEngine gameEngine = new GameEngine(plotManager, Arrays.<Player>asList(firstPlayer, secondPlayer, thirdPlayer), null);
+		gameEngine.start();
+
+		assertTrue(gameEngine.isGameOver());
+		int[] plotsOwned = new int[3];
+		for(Plot[] row : plotManager.getPlots()){
+			for(Plot plot : row){
+				plotsOwned[gameEngine.getPlayers().indexOf(plot.getPlayer())]++;
+			}
+		}
+		assertArrayEquals(new int[]{3, 3, 3}, plotsOwned);
+		assertEquals(3, gameEngine.getRoundNumber());
+		assertEquals(9, gameEngine.getPhaseCount(GamePhase.PLOTACQUISITION));
+		assertEquals(3, gameEngine.getPhaseCount(GamePhase.PRODUCTION));
+		assertEquals(3, gameEngine.getPhaseCount(GamePhase.MARKET));
+	}
+
+	/**
+	 * Tests {@link GameEngine#start} ensures that when there are more players than plots the players at the end of the turn order simply miss out
+	 */
+	@Test
+	public void testStartMorePlayersThanPlots(){
+		List<Player> players = new ArrayList<Player>();
+		for(int playerNumber = 0; playerNumber < 12; playerNumber++){
+			players.add(new AIPlayer(new PlayerInventory(0, 0, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), 30), market));
+		}
+		GameEngine gameEngine = new GameEngine(plotManager, players, null);
+		gameEngine.start();
+
+		assertTrue(gameEngine.isGameOver());
+		assertEquals(1, gameEngine.getRoundNumber());
+		for(int playerNumber = 0; playerNumber < 9; playerNumber++){
+			assertEquals(1, plotManager.getNumberOfEmptyPlots(players.get(playerNumber), PlotSpecialism.ORE)
+					+ plotManager.getNumberOfEmptyPlots(players.get(playerNumber), PlotSpecialism.ENERGY)
+					+ countPlotsWithRoboticons(players.get(playerNumber)));
+		}
+		assertEquals(0, countPlotsWithRoboticons(players.get(11)) + plotManager.getNumberOfEmptyPlots(players.get(11), PlotSpecialism.ORE)
+				+ plotManager.getNumberOfEmptyPlots(players.get(11), PlotSpecialism.ENERGY));
+	}
+
+	/**
+	 * Returns the number of plots owned by the given player that have a roboticon on them
+	 * @param player The player
+	 * @return The number of plots owned by the player that have a roboticon on them
+	 */
+	private int countPlotsWithRoboticons(Player player){
+		int plotsWithRoboticons = 0;
+		for(Plot[] row : plotManager.getPlots()){
+			for(Plot plot : row){
+				if(plot.getPlayer() == player && plot.hasRoboticon()){
+					plotsWithRoboticons++;
+				}
+			}
+		}
+		return plotsWithRoboticons;
+	}
+
+	/**
+	 * Tests {@link GameEngine#start} ensures that a game between two players gives the same result whichever constructor is used
+	 */
+	@Test
+	public void testTwoPlayerListSameGame(){
+		GameEngine gameEngine = new GameEngine(new HeadlessPlotManager(CreatePlots.createPlots(3, 3, new GameRandom(5L))), firstPlayer, secondPlayer, null);
+		gameEngine.start();
+
+		HeadlessPlotManager otherPlotManager = new HeadlessPlotManager(CreatePlots.createPlots(3, 3, new GameRandom(5L)));
+		Market otherMarket = new Market(new MarketInventory(0,16,12));
+		AIPlayer otherFirstPlayer = new AIPlayer(new PlayerInventory(0, 0, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), 30), otherMarket);
+		AIPlayer otherSecondPlayer = new AIPlayer(new PlayerInventory(0, 0, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), 30), otherMarket);
+		GameEngine otherGameEngine = new GameEngine(otherPlotManager, Arrays.<Player>asList(otherFirstPlayer, otherSecondPlayer), null);
+		otherGameEngine.start();
+
+		assertEquals(firstPlayer.calculateScore(), otherFirstPlayer.calculateScore());
+		assertEquals(secondPlayer.calculateScore(), otherSecondPlayer.calculateScore());
+		assertSame(otherSecondPlayer, otherFirstPlayer.getOpponent());
+	}
+
+	/**
+	 * Tests {@link SimulationRunner#runGames(int, int, long, int, int)} ensures that games with a large lobby of AI players are all played to the end
+	 */
+	@Test
+	public void testRunGamesLargeLobby(){
+		SimulationRunner.SimulationResults results = SimulationRunner.runGames(8, 4, 2468L, 0, 40);
+		assertEquals(8, results.getGamesPlayed());
+		assertEquals(8*SimulationRunner.PLOTS_PER_PLAYER, results.getRounds()); // 400 plots, 40 per round
+		int wins = 0;
+		for(int position = 0; position < 40; position++){
+			wins += results.getWins(position);
+		}
+		assertTrue(wins <= 8);
+		assertTrue(results.getMeanPhaseTime(GamePhase.MARKET) > 0);
+	}
+
+	/**
+	 * Tests {@link SimulationRunner#playGame(GameRandom, int, int)} ensures that every player in a large lobby ends up with the same number of plots
+	 */
+	@Test
+	public void testPlayGameLargeLobbyPlotsShared(){
+		GameEngine gameEngine = SimulationRunner.playGame(new GameRandom(11L), 0, 20);
+		assertEquals(20, gameEngine.getPlayers().size());
+		assertEquals(SimulationRunner.PLOTS_PER_PLAYER, gameEngine.getRoundNumber());
+	}
+}
@@ -0,0 +1,335 @@
+package com.topright.roboticon;
+import static org.junit.Assert.*;
+
+import org.junit.*;
+import mockit.*;
+import mockit.integration.junit4.*;
+import org.junit.runner.RunWith;
+
+/**
+ * Test case for {@link GameEngine}
+ */
+
+@RunWith(JMockit.class)
+public class GameEngineTestCase {
+
+	@Mocked private PlotGrid plotGrid;
+	@Mocked private GameEngineListener listener;
+	@Mocked private Player humanPlayer;
+	@Mocked private AIPlayer AIPlayer;
+
+	/**
+	 * Tests {@link GameEngine#GameEngine} ensures that an exception is thrown if plotGrid is null
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testConstructorNullPlotGrid(){
+		new GameEngine(null, humanPlayer, AIPlayer, listener);
+	}
+
+	/**
+	 * Tests {@link GameEngine#GameEngine} ensures that an exception is thrown if a player is null
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testConstructorNullPlayer(){
+		new GameEngine(plotGrid, humanPlayer, null, listener);
+	}
+
+	/**
+	 * Tests {@link GameEngine#GameEngine} ensures that an exception is thrown if there is a human player but no listener
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testConstructorHumanPlayerNoListener(){
+		new GameEngine(plotGrid, humanPlayer, AIPlayer, null);
+	}
+
+	/**
+	 * Tests {@link GameEngine#start} ensures that an exception is thrown if the game has already been started
+	 */
+	@Test(expected=IllegalStateException.class)
+	public void testStartTwice(){
+		GameEngine gameEngine = new GameEngine(plotGrid, humanPlayer, AIPlayer, listener);
+		gameEngine.start();
+		gameEngine.start();
+	}
+
+	/**
+	 * Tests {@link GameEngine#setEventLog} ensures that an exception is thrown if the game has already been started
+	 */
+	@Test(expected=IllegalStateException.class)
+	public void testSetEventLogAfterStart(@Mocked GameEventLog eventLog){
+		GameEngine gameEngine = new GameEngine(plotGrid, humanPlayer, AIPlayer, listener);
+		gameEngine.start();
+		gameEngine.setEventLog(eventLog);
+	}
+
+	/**
+	 * Tests {@link GameEngine#setEventLog} ensures that the plots and players are told to record their actions in the log
+	 * and that every phase that is entered is recorded
+	 */
+	@Test
+	public void testSetEventLog(@Mocked final GameEventLog eventLog){
+		GameEngine gameEngine = new GameEngine(plotGrid, humanPlayer, AIPlayer, listener);
+		gameEngine.setEventLog(eventLog);
+		gameEngine.start();
+		new Verifications(){{
+			plotGrid.setEventLog(eventLog);
+			humanPlayer.setEventLog(eventLog);
+			AIPlayer.setEventLog(eventLog);
+			eventLog.phaseEntered(GamePhase.PLOTACQUISITION, humanPlayer, 1); times = 1;
+		}};
+	}
+
+	/**
+	 * Tests {@link GameEngine#resume} ensures that an exception is thrown if the game has already been started
+	 */
+	@Test(expected=IllegalStateException.class)
+	public void testResumeAfterStart(){
+		GameEngine gameEngine = new GameEngine(plotGrid, humanPlayer, AIPlayer, listener);
+		gameEngine.start();
+		gameEngine.resume(GamePhase.MARKET, humanPlayer, 2);
+	}
+
+	/**
+	 * Tests {@link GameEngine#resume} ensures that an exception is thrown if the current player is not part of the game
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testResumeUnknownPlayer(@Mocked Player otherPlayer){
+		new GameEngine(plotGrid, humanPlayer, AIPlayer, listener).resume(GamePhase.MARKET, otherPlayer, 2);
+	}
+
+	/**
+	 * Tests {@link GameEngine#resume} ensures that the human player is asked to carry on with the phase that the game was saved in
+	 */
+	@Test
+	public void testResumeHumanPlayerPhase(){
+		GameEngine gameEngine = new GameEngine(plotGrid, AIPlayer, humanPlayer, listener);
+		gameEngine.resume(GamePhase.PLACINGROBOTICONS, humanPlayer, 3);
+		assertEquals(GamePhase.PLACINGROBOTICONS, gameEngine.getPhase());
+		assertEquals(3, gameEngine.getRoundNumber());
+		new Verifications(){{
+			listener.roboticonPlacingStage(humanPlayer); times = 1;
+		}};
+	}
+
+	/**
+	 * Tests {@link GameEngine#resume} ensures that the AI player does not trade again when the market phase is carried on with
+	 */
+	@Test
+	public void testResumeMarketPhase(){
+		GameEngine gameEngine = new GameEngine(plotGrid, humanPlayer, AIPlayer, listener);
+		gameEngine.resume(GamePhase.MARKET, AIPlayer, 2);
+		assertEquals(GamePhase.MARKET, gameEngine.getPhase());
+		new Verifications(){{
+			listener.allPlayersMarketStage(); times = 1;
+			AIPlayer.buyAndSellResources(); times = 0;
+		}};
+		assertTrue(gameEngine.handleEvent(GameEvents.FINISHEDWITHTHEMARKET));
+		assertEquals(3, gameEngine.getRoundNumber());
+	}
+
+	/**
+	 * Tests {@link GameEngine#start} ensures that the game waits for a human player who goes first to acquire a plot
+	 */
+	@Test
+	public void testStartHumanPlayerFirst(){
+		GameEngine gameEngine = new GameEngine(plotGrid, humanPlayer, AIPlayer, listener);
+		gameEngine.start();
+
+		assertEquals(GamePhase.PLOTACQUISITION, gameEngine.getPhase());
+		assertSame(humanPlayer, gameEngine.getCurrentPlayer());
+		new Verifications(){{
+			plotGrid.setCurrentPlayer(humanPlayer);
+			listener.plotAcquisitionStage(humanPlayer); times = 1;
+			AIPlayer.choosePlot((PlotGrid)any); times = 0;
+		}};
+	}
+
+	/**
+	 * Tests {@link GameEngine#start} ensures that an AI player who goes first takes their whole turn before the human player is asked to acquire a plot
+	 */
+	@Test
+	public void testStartAIPlayerFirst(){
+		GameEngine gameEngine = new GameEngine(plotGrid, AIPlayer, humanPlayer, listener);
+		gameEngine.start();
+
+		assertEquals(GamePhase.PLOTACQUISITION, gameEngine.getPhase());
+		assertSame(humanPlayer, gameEngine.getCurrentPlayer());
+		new VerificationsInOrder(){{
+			AIPlayer.choosePlot(plotGrid);
+			AIPlayer.buyRoboticons(plotGrid);
+			AIPlayer.customiseRoboticons(plotGrid);
+			AIPlayer.placeRoboticons(plotGrid);
+			listener.plotAcquisitionStage(humanPlayer);
+		}};
+	}
+
+	/**
+	 * Tests {@link GameEngine#start} ensures that the plot acquisition stage is skipped if there are no plots left to acquire
+	 */
+	@Test
+	public void testStartNoPlotsLeftToAcquire(){
+		new Expectations(){{
+			plotGrid.allPlotsAquired(); result = true;
+		}};
+		GameEngine gameEngine = new GameEngine(plotGrid, humanPlayer, AIPlayer, listener);
+		gameEngine.start();
+
+		assertEquals(GamePhase.BUYINGROBOTICONS, gameEngine.getPhase());
+		new Verifications(){{
+			listener.plotAcquisitionStage(humanPlayer); times = 0;
+			listener.buyingRoboticonsStage(humanPlayer); times = 1;
+		}};
+	}
+
+	/**
+	 * Tests {@link GameEngine#handleEvent} ensures that an event is ignored if the game has not been started
+	 */
+	@Test
+	public void testHandleEventNotStarted(){
+		GameEngine gameEngine = new GameEngine(plotGrid, humanPlayer, AIPlayer, listener);
+		assertFalse(gameEngine.handleEvent(GameEvents.PLOTAQUIRED));
+		assertNull(gameEngine.getPhase());
+	}
+
+	/**
+	 * Tests {@link GameEngine#handleEvent} ensures that an event that does not apply to the current stage is ignored
+	 */
+	@Test
+	public void testHandleEventWrongStageIgnored(){
+		GameEngine gameEngine = new GameEngine(plotGrid, humanPlayer, AIPlayer, listener);
+		gameEngine.start();
+		assertFalse(gameEngine.handleEvent(GameEvents.FINISHEDWITHTHEMARKET));
+		assertEquals(GamePhase.PLOTACQUISITION, gameEngine.getPhase());
+	}
+
+	/**
+	 * Tests {@link GameEngine#handleEvent} ensures that acquiring a plot moves the game on to the roboticon buying stage
+	 */
+	@Test
+	public void testHandleEventPlotAcquired(){
+		GameEngine gameEngine = new GameEngine(plotGrid, humanPlayer, AIPlayer, listener);
+		gameEngine.start();
+		assertTrue(gameEngine.handleEvent(GameEvents.PLOTAQUIRED));
+		assertEquals(GamePhase.BUYINGROBOTICONS, gameEngine.getPhase());
+		new Verifications(){{
+			listener.buyingRoboticonsStage(humanPlayer); times = 1;
+		}};
+	}
+
+	/**
+	 * Tests {@link GameEngine#handleEvent} ensures that finishing buying roboticons moves the game on to the roboticon customising stage
+	 */
+	@Test
+	public void testHandleEventFinishedBuyingRoboticons(){
+		GameEngine gameEngine = new GameEngine(plotGrid, humanPlayer, AIPlayer, listener);
+		gameEngine.start();
+		gameEngine.handleEvent(GameEvents.PLOTAQUIRED);
+		assertTrue(gameEngine.handleEvent(GameEvents.FINISHEDBUYINGROBOTICONS));
+		assertEquals(GamePhase.CUSTOMISINGROBOTICONS, gameEngine.getPhase());
+		new Verifications(){{
+			listener.customisingRoboticonsStage(humanPlayer); times = 1;
+		}};
+	}
+
+	/**
+	 * Tests {@link GameEngine#handleEvent} ensures that the customising stage is skipped if the timer runs out during the buying stage
+	 */
+	@Test
+	public void testHandleEventFinishedCustomisingDuringBuyingStage(){
+		GameEngine gameEngine = new GameEngine(plotGrid, humanPlayer, AIPlayer, listener);
+		gameEngine.start();
+		gameEngine.handleEvent(GameEvents.PLOTAQUIRED);
+		assertTrue(gameEngine.handleEvent(GameEvents.FINISHEDCUSTOMISINGROBOTICONS));
+		assertEquals(GamePhase.PLACINGROBOTICONS, gameEngine.getPhase());
+		new Verifications(){{
+			listener.customisingRoboticonsStage(humanPlayer); times = 0;
+			listener.roboticonPlacingStage(humanPlayer); times = 1;
+		}};
+	}
+
+	/**
+	 * Tests {@link GameEngine#handleEvent} ensures that once the human player (going first) has finished placing roboticons the AI player takes their turn
+	 * and then resources are produced and the market stage begins
+	 */
+	@Test
+	public void testHandleEventFinishedPlacingFirstPlayer(){
+		GameEngine gameEngine = new GameEngine(plotGrid, humanPlayer, AIPlayer, listener);
+		gameEngine.start();
+		gameEngine.handleEvent(GameEvents.PLOTAQUIRED);
+		gameEngine.handleEvent(GameEvents.FINISHEDBUYINGROBOTICONS);
+		gameEngine.handleEvent(GameEvents.FINISHEDCUSTOMISINGROBOTICONS);
+		assertTrue(gameEngine.handleEvent(GameEvents.FINISHEDPLACINGROBOTICONS));
+
+		assertEquals(GamePhase.MARKET, gameEngine.getPhase());
+		assertSame(AIPlayer, gameEngine.getCurrentPlayer());
+		new VerificationsInOrder(){{
+			AIPlayer.choosePlot(plotGrid);
+			AIPlayer.placeRoboticons(plotGrid);
+			plotGrid.produceResources();
+			listener.resourcesProduced();
+			AIPlayer.buyAndSellResources();
+			listener.allPlayersMarketStage();
+		}};
+	}
+
+	/**
+	 * Tests {@link GameEngine#handleEvent} ensures that the next round starts once the market stage is over (if not all plots have been acquired)
+	 */
+	@Test
+	public void testHandleEventFinishedWithTheMarketNextRound(){
+		GameEngine gameEngine = new GameEngine(plotGrid, AIPlayer, humanPlayer, listener);
+		gameEngine.start();
+		gameEngine.handleEvent(GameEvents.PLOTAQUIRED);
+		gameEngine.handleEvent(GameEvents.FINISHEDBUYINGROBOTICONS);
+		gameEngine.handleEvent(GameEvents.FINISHEDCUSTOMISINGROBOTICONS);
+		gameEngine.handleEvent(GameEvents.FINISHEDPLACINGROBOTICONS);
+		assertTrue(gameEngine.handleEvent(GameEvents.FINISHEDWITHTHEMARKET));
+
+		assertEquals(2, gameEngine.getRoundNumber());
+		assertEquals(GamePhase.PLOTACQUISITION, gameEngine.getPhase());
+		assertSame(humanPlayer, gameEngine.getCurrentPlayer()); // The AI player (going first) has already taken their turn
+		assertFalse(gameEngine.isGameOver());
+		new Verifications(){{
+			AIPlayer.choosePlot(plotGrid); times = 2;
+		}};
+	}
+
+	/**
+	 * Tests {@link GameEngine#handleEvent} ensures that the game is over once the market stage is over if all plots have been acquired
+	 */
+	@Test
+	public void testHandleEventFinishedWithTheMarketGameOver(){
+		GameEngine gameEngine = new GameEngine(plotGrid, humanPlayer, AIPlayer, listener);
+		gameEngine.start();
+		gameEngine.handleEvent(GameEvents.PLOTAQUIRED);
+		gameEngine.handleEvent(GameEvents.FINISHEDBUYINGROBOTICONS);
+		gameEngine.handleEvent(GameEvents.FINISHEDCUSTOMISINGROBOTICONS);
+		gameEngine.handleEvent(GameEvents.FINISHEDPLACINGROBOTICONS);
+		new Expectations(){{
+			plotGrid.allPlotsAquired(); result = true;
+		}};
+		assertTrue(gameEngine.handleEvent(GameEvents.FINISHEDWITHTHEMARKET));
+
+		assertTrue(gameEngine.isGameOver());
+		new Verifications(){{
+			listener.gameOver(); times = 1;
+		}};
+	}
+
+	/**
+	 * Tests {@link GameEngine#start} ensures that a game between two AI players is played to the end without a listener
+	 */
+	@Test
+	public void testStartAIPlayersOnly(@Mocked final AIPlayer secondAIPlayer){
+		new Expectations(){{
+			plotGrid.allPlotsAquired(); returns(false, false, true);
+		}};
+		GameEngine gameEngine = new GameEngine(plotGrid, AIPlayer, secondAIPlayer, null);
+		gameEngine.start();
+
+		assertTrue(gameEngine.isGameOver());
+		assertEquals(1, gameEngine.getPhaseCount(GamePhase.PRODUCTION));
+		assertEquals(1, gameEngine.getPhaseCount(GamePhase.MARKET));
+		assertEquals(2, gameEngine.getPhaseCount(GamePhase.PLOTACQUISITION));
+	}
+}
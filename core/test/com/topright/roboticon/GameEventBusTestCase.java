@@ -0,0 +1,333 @@
+package com.topright.roboticon;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test case for {@link GameEventBus}
+ */
+public class GameEventBusTestCase {
+	private GameEventBus eventBus;
+	private List<String> eventsHandled; // "<listener name> <event> <payload>" for every event handled, in the order they were handled
+
+	/**
+	 * A listener that records every event that it is told about
+	 */
+	private class RecordingListener implements GameEventListener {
+		private final String name;
+
+		/**
+		 * Constructor
+		 * @param name The name that is recorded with the events
+		 */
+		public RecordingListener(String name){
+			this.name = name;
+		}
+
+		@Override
+		public void handleGameEvent(GameEvents event, int payload){
+			eventsHandled.add(name+" "+event+" "+payload);
+		}
+	}
+
+	/**
+	 * Runs before every test, creates a bus that no listeners have been added to
+	 */
+	@Before
+	public void setup(){
+		eventBus = new GameEventBus();
+		eventsHandled = new ArrayList<String>();
+	}
+
+	/**
+	 * Tests {@link GameEventBus#getInstance()} ensures that the same instance is always returned
+	 */
+	@Test
+	public void testGetInstance(){
+		assertSame(GameEventBus.getInstance(), GameEventBus.getInstance());
+	}
+
+	/**
+	 * Tests {@link GameEventBus#addListener(GameEventListener, GameEvents)} ensures that an IllegalArgumentException is thrown for a null listener
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testAddListenerNull(){
+		eventBus.addListener(null, GameEvents.PLOTAQUIRED);
+	}
+
+	/**
+	 * Tests {@link GameEventBus#dispatch(GameEvents)} ensures that an IllegalArgumentException is thrown for a null event
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testDispatchNull(){
+		eventBus.dispatch(null);
+	}
+
+	/**
+	 * Tests {@link GameEventBus#dispatch(GameEvents, int)} ensures that a listener is told about the event and its payload
+	 */
+	@Test
+	public void testDispatchPayload(){
+		eventBus.addListener(new RecordingListener("a"), GameEvents.PLOTAQUIRED);
+		eventBus.dispatch(GameEvents.PLOTAQUIRED, 42);
+		assertEquals(1, eventsHandled.size());
+		assertEquals("a plotaquired 42", eventsHandled.get(0));
+	}
+
+	/**
+	 * Tests {@link GameEventBus#dispatch(GameEvents)} ensures that an event dispatched without a payload is passed {@link GameEventBus#NO_PAYLOAD}
+	 */
+	@Test
+	public void testDispatchNoPayload(){
+		eventBus.addListener(new RecordingListener("a"), GameEvents.FINISHEDWITHTHEMARKET);
+		eventBus.dispatch(GameEvents.FINISHEDWITHTHEMARKET);
+		assertEquals("a finishedwiththemarket "+GameEventBus.NO_PAYLOAD, eventsHandled.get(0));
+	}
+
+	/**
+	 * Tests {@link GameEventBus#dispatch(GameEvents)} ensures that a listener is not told about events that it has not been added for
+	 */
+	@Test
+	public void testDispatchOtherEvent(){
+		eventBus.addListener(new RecordingListener("a"), GameEvents.PLOTAQUIRED);
+		eventBus.dispatch(GameEvents.PLAYERINVENTORYUPDATE);
+		assertTrue(eventsHandled.isEmpty());
+	}
+
+	/**
+	 * Tests {@link GameEventBus#dispatch(GameEvents)} ensures that the listeners are told in the order that they were added, including once
+	 * there are more than {@link GameEventBus#DEFAULT_LISTENER_CAPACITY} of them
+	 */
+	@Test
+	public void testDispatchManyListenersInOrder(){
+		int numberOfListeners = GameEventBus.DEFAULT_LISTENER_CAPACITY * 2 + 1;
+		for(int i = 0; i < numberOfListeners; i++){
+			eventBus.addListener(new RecordingListener(Integer.toString(i)), GameEvents.PLOTAQUIRED);
+		}
+		assertEquals(numberOfListeners, eventBus.getNumberOfListeners(GameEvents.PLOTAQUIRED));
+		eventBus.dispatch(GameEvents.PLOTAQUIRED);
+		assertEquals(numberOfListeners, eventsHandled.size());
+		for(int i = 0; i < numberOfListeners; i++){
+			assertEquals(i+" plotaquired 0", eventsHandled.get(i));
+		}
+	}
+
+	/**
+	 * Tests {@link GameEventBus#addListener(GameEventListener, GameEvents)} ensures that a listener that is added twice is only told once
+	 */
+	@Test
+	public void testAddListenerTwice(){
+		RecordingListener listener = new RecordingListener("a");
+		assertTrue(eventBus.addListener(listener, GameEvents.PLOTAQUIRED));
+		assertFalse(eventBus.addListener(listener, GameEvents.PLOTAQUIRED));
+		eventBus.dispatch(GameEvents.PLOTAQUIRED);
+		assertEquals(1, eventsHandled.size());
+	}
+
+	/**
+	 * Tests {@link GameEventBus#removeListener(GameEventListener, GameEvents)} ensures that a removed listener is no longer told about the event
+	 * (but the others are)
+	 */
+	@Test
+	public void testRemoveListener(){
+		RecordingListener listener = new RecordingListener("a");
+		eventBus.addListener(listener, GameEvents.PLOTAQUIRED);
+		eventBus.addListener(new RecordingListener("b"), GameEvents.PLOTAQUIRED);
+		assertTrue(eventBus.removeListener(listener, GameEvents.PLOTAQUIRED));
+		assertFalse(eventBus.removeListener(listener, GameEvents.PLOTAQUIRED));
+		eventBus.dispatch(GameEvents.PLOTAQUIRED);
+		assertEquals(1, eventsHandled.size());
+		assertEquals("b plotaquired 0", eventsHandled.get(0));
+	}
+
+	/**
+	 * Tests {@link GameEventBus#removeListener(GameEventListener)} ensures that the listener is no longer told about any event
+	 */
+	@Test
+	public void testRemoveListenerAllEvents(){
+		RecordingListener listener = new RecordingListener("a");
+		for(GameEvents event : GameEvents.values()){
+			eventBus.addListener(listener, event);
+		}
+		eventBus.removeListener(listener);
+		for(GameEvents event : GameEvents.values()){
+			eventBus.dispatch(event);
+			assertEquals(0, eventBus.getNumberOfListeners(event));
+		}
+		assertTrue(eventsHandled.isEmpty());
+	}
+
+	/**
+	 * Tests {@link GameEventBus#dispatch(GameEvents)} ensures that if a listener removes a listener while an event is being delivered, the
+	 * delivery under way is not affected and the listener is not told about the next event
+	 */
+	@Test
+	public void testRemoveListenerDuringDelivery(){
+		final RecordingListener removed = new RecordingListener("b");
+		eventBus.addListener(new GameEventListener(){
+			@Override
+			public void handleGameEvent(GameEvents event, int payload){
+				eventsHandled.add("a");
+				eventBus.removeListener(removed, event);
+			}
+		}, GameEvents.PLOTAQUIRED);
+		eventBus.addListener(removed, GameEvents.PLOTAQUIRED);
+		eventBus.dispatch(GameEvents.PLOTAQUIRED);
+		assertEquals(2, eventsHandled.size());
+		eventBus.dispatch(GameEvents.PLOTAQUIRED);
+		assertEquals(3, eventsHandled.size());
+		assertEquals("a", eventsHandled.get(2));
+	}
+
+	/**
+	 * Tests {@link GameEventBus#dispatch(GameEvents)} ensures that a listener that is added while an event is being delivered is only told
+	 * about the next event
+	 */
+	@Test
+	public void testAddListenerDuringDelivery(){
+		final RecordingListener added = new RecordingListener("b");
+		eventBus.addListener(new GameEventListener(){
+			@Override
+			public void handleGameEvent(GameEvents event, int payload){
+				eventBus.addListener(added, event);
+			}
+		}, GameEvents.PLOTAQUIRED);
+		eventBus.dispatch(GameEvents.PLOTAQUIRED);
+		assertTrue(eventsHandled.isEmpty());
+		eventBus.dispatch(GameEvents.PLOTAQUIRED);
+		assertEquals(1, eventsHandled.size());
+	}
+
+	/**
+	 * Tests {@link GameEventBus#setBatched(boolean)} ensures that events are queued (not delivered) in batched mode and are delivered, in the
+	 * order they were dispatched, when {@link GameEventBus#flush()} is called
+	 */
+	@Test
+	public void testBatchedDispatch(){
+		eventBus.addListener(new RecordingListener("a"), GameEvents.PLOTAQUIRED);
+		eventBus.addListener(new RecordingListener("a"), GameEvents.FINISHEDWITHTHEMARKET);
+		eventBus.setBatched(true);
+		eventBus.dispatch(GameEvents.PLOTAQUIRED, 1);
+		eventBus.dispatch(GameEvents.FINISHEDWITHTHEMARKET, 2);
+		eventBus.dispatch(GameEvents.PLOTAQUIRED, 3);
+		assertTrue(eventsHandled.isEmpty());
+		assertEquals(3, eventBus.getNumberOfQueuedEvents());
+		assertEquals(3, eventBus.flush());
+		assertEquals(0, eventBus.getNumberOfQueuedEvents());
+		assertEquals("a plotaquired 1", eventsHandled.get(0));
+		assertEquals("a finishedwiththemarket 2", eventsHandled.get(1));
+		assertEquals("a plotaquired 3", eventsHandled.get(2));
+	}
+
+	/**
+	 * Tests {@link GameEventBus#flush()} ensures that more than {@link GameEventBus#DEFAULT_BATCH_CAPACITY} events can be queued
+	 */
+	@Test
+	public void testBatchedDispatchManyEvents(){
+		eventBus.addListener(new RecordingListener("a"), GameEvents.PLOTAQUIRED);
+		eventBus.setBatched(true);
+		int numberOfEvents = GameEventBus.DEFAULT_BATCH_CAPACITY * 3 + 7;
+		for(int i = 0; i < numberOfEvents; i++){
+			eventBus.dispatch(GameEvents.PLOTAQUIRED, i);
+		}
+		assertEquals(numberOfEvents, eventBus.flush());
+		for(int i = 0; i < numberOfEvents; i++){
+			assertEquals("a plotaquired "+i, eventsHandled.get(i));
+		}
+	}
+
+	/**
+	 * Tests {@link GameEventBus#flush()} ensures that events that are dispatched by listeners during a flush are delivered by the same flush
+	 */
+	@Test
+	public void testFlushDeliversEventsDispatchedByListeners(){
+		eventBus.addListener(new GameEventListener(){
+			@Override
+			public void handleGameEvent(GameEvents event, int payload){
+				eventBus.dispatch(GameEvents.PLAYERINVENTORYUPDATE, payload);
+			}
+		}, GameEvents.PLOTAQUIRED);
+		eventBus.addListener(new RecordingListener("a"), GameEvents.PLAYERINVENTORYUPDATE);
+		eventBus.setBatched(true);
+		eventBus.dispatch(GameEvents.PLOTAQUIRED, 5);
+		assertEquals(2, eventBus.flush());
+		assertEquals(1, eventsHandled.size());
+		assertEquals("a playerinventorychanged 5", eventsHandled.get(0));
+	}
+
+	/**
+	 * Tests {@link GameEventBus#flush()} ensures that if a listener throws an exception the events that have not yet been delivered stay queued
+	 */
+	@Test
+	public void testFlushListenerThrows(){
+		eventBus.addListener(new GameEventListener(){
+			@Override
+			public void handleGameEvent(GameEvents event, int payload){
+				throw new IllegalStateException("Listener failed");
+			}
+		}, GameEvents.PLOTAQUIRED);
+		eventBus.addListener(new RecordingListener("a"), GameEvents.FINISHEDWITHTHEMARKET);
+		eventBus.setBatched(true);
+		eventBus.dispatch(GameEvents.PLOTAQUIRED);
+		eventBus.dispatch(GameEvents.FINISHEDWITHTHEMARKET);
+		try{
+			eventBus.flush();
+			fail("The exception was not thrown");
+		}
+		catch(IllegalStateException e){
+			assertEquals(1, eventBus.getNumberOfQueuedEvents());
+		}
+		assertEquals(1, eventBus.flush());
+		assertEquals(1, eventsHandled.size());
+	}
+
+	/**
+	 * Tests {@link GameEventBus#setBatched(boolean)} ensures that the queued events are delivered when batched mode is turned off, and that
+	 * later events are delivered straight away
+	 */
+	@Test
+	public void testSetBatchedFalseFlushes(){
+		eventBus.addListener(new RecordingListener("a"), GameEvents.PLOTAQUIRED);
+		eventBus.setBatched(true);
+		assertTrue(eventBus.isBatched());
+		eventBus.dispatch(GameEvents.PLOTAQUIRED);
+		eventBus.setBatched(false);
+		assertFalse(eventBus.isBatched());
+		assertEquals(1, eventsHandled.size());
+		eventBus.dispatch(GameEvents.PLOTAQUIRED);
+		assertEquals(2, eventsHandled.size());
+	}
+
+	/**
+	 * Tests {@link GameEventBus#getDispatchCount(GameEvents)} ensures that every event is counted separately, whether or not it has any
+	 * listeners and whether or not the bus is in batched mode
+	 */
+	@Test
+	public void testDispatchCounts(){
+		eventBus.dispatch(GameEvents.PLOTAQUIRED);
+		eventBus.dispatch(GameEvents.PLOTAQUIRED, 3);
+		eventBus.setBatched(true);
+		eventBus.dispatch(GameEvents.FINISHEDPLACINGROBOTICONS);
+		assertEquals(2, eventBus.getDispatchCount(GameEvents.PLOTAQUIRED));
+		assertEquals(1, eventBus.getDispatchCount(GameEvents.FINISHEDPLACINGROBOTICONS));
+		assertEquals(0, eventBus.getDispatchCount(GameEvents.FINISHEDWITHTHEMARKET));
+		assertEquals(3, eventBus.getTotalDispatchCount());
+	}
+
+	/**
+	 * Tests {@link GameEventBus#resetDispatchCounts()} ensures that every count is set back to 0
+	 */
+	@Test
+	public void testResetDispatchCounts(){
+		eventBus.dispatch(GameEvents.PLOTAQUIRED);
+		eventBus.dispatch(GameEvents.PLAYERINVENTORYUPDATE);
+		eventBus.resetDispatchCounts();
+		assertEquals(0, eventBus.getDispatchCount(GameEvents.PLOTAQUIRED));
+		assertEquals(0, eventBus.getTotalDispatchCount());
+	}
+}
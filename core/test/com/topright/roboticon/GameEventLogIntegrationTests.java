@@ -0,0 +1,265 @@
+package com.topright.roboticon;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumMap;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Integration tests for {@link GameEventLog} and {@link GameLogReplayer}, games between AI players are logged and then replayed
+ */
+public class GameEventLogIntegrationTests {
+	private static final long SEED = 2017L;
+	
+	@Rule public TemporaryFolder folder = new TemporaryFolder();
+	
+	private Path logFile;
+	private Market market;
+	private AIPlayer firstPlayer;
+	private AIPlayer secondPlayer;
+	private HeadlessPlotManager plotManager;
+	
+	/**
+	 * Runs before every test, creates a game between two AI players on a seeded 4 by 5 map
+	 * @throws IOException If the temporary log file can't be created
+	 */
+	@Before
+	public void setup() throws IOException{
+		logFile = folder.newFile("game.rblog").toPath();
+		market = new Market(new MarketInventory(0,16,12));
+		firstPlayer = new AIPlayer(new PlayerInventory(0, 0, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), 30), market);
+		secondPlayer = new AIPlayer(new PlayerInventory(0, 0, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), 30), market);
+		plotManager = new HeadlessPlotManager(CreatePlots.createPlots(4, 5, new GameRandom(SEED)));
+	}
+	
+	/**
+	 * Plays the whole game, recording it in the log file
+	 * @return The number of entries that were logged
+	 * @throws IOException If the log can't be written
+	 */
+	private long playLoggedGame() throws IOException{
+		GameEventLog eventLog = GameEventLog.create(logFile, SEED, plotManager.getPlots(), market, firstPlayer, secondPlayer);
+		try{
+			GameEngine gameEngine = new GameEngine(plotManager, firstPlayer, secondPlayer, null);
+			gameEngine.setEventLog(eventLog);
+			gameEngine.start();
+		}
+		finally{
+			eventLog.close();
+		}
+		return eventLog.getEntriesWritten();
+	}
+	
+	/**
+	 * Ensures that every entry that was logged is replayed
+	 * @throws IOException If the log can't be written or read
+	 */
+	@Test
+	public void testEveryEntryReplayed() throws IOException{
+		long entriesWritten = playLoggedGame();
+		GameLogReplayer replayer = GameLogReplayer.replay(logFile);
+		assertTrue(entriesWritten > 0);
+		assertEquals(entriesWritten, replayer.getEntriesReplayed());
+		assertEquals(SEED, replayer.getSeed());
+	}
+	
+	/**
+	 * Ensures that the replayed game ends in the same phase and round as the game that was logged
+	 * @throws IOException If the log can't be written or read
+	 */
+	@Test
+	public void testReplayEndsInSamePhase() throws IOException{
+		playLoggedGame();
+		GameLogReplayer replayer = GameLogReplayer.replay(logFile);
+		assertEquals(GamePhase.GAMEOVER, replayer.getPhase());
+		assertEquals(10, replayer.getRoundNumber()); // 20 plots, 2 per round
+	}
+	
+	/**
+	 * Ensures that the players in the replayed game end up with the same inventories as the players in the game that was logged
+	 * @throws IOException If the log can't be written or read
+	 */
+	@Test
+	public void testReplayPlayersMatch() throws IOException{
+		playLoggedGame();
+		Player[] replayedPlayers = GameLogReplayer.replay(logFile).getPlayers();
+		Player[] players = {firstPlayer, secondPlayer};
+		assertEquals(2, replayedPlayers.length);
+		for(int playerNumber = 0; playerNumber < players.length; playerNumber++){
+			assertTrue(replayedPlayers[playerNumber] instanceof AIPlayer);
+			assertEquals(players[playerNumber].getMoneyQuantity(), replayedPlayers[playerNumber].getMoneyQuantity());
+			assertEquals(players[playerNumber].getOreQuantity(), replayedPlayers[playerNumber].getOreQuantity());
+			assertEquals(players[playerNumber].getEnergyQuantity(), replayedPlayers[playerNumber].getEnergyQuantity());
+			for(RoboticonCustomisation customisation : RoboticonCustomisation.values()){
+				assertEquals(players[playerNumber].getRoboticonQuantity(customisation), replayedPlayers[playerNumber].getRoboticonQuantity(customisation));
+			}
+		}
+	}
+	
+	/**
+	 * Ensures that a game whose market prices goods by supply and demand is replayed with the same prices
+	 * @throws IOException If the log can't be written or read
+	 */
+	@Test
+	public void testReplaySupplyDemandPricing() throws IOException{
+		market.setPricingEngine(new SupplyDemandPricingEngine(10, 30));
+		playLoggedGame();
+		GameLogReplayer replayer = GameLogReplayer.replay(logFile);
+		SupplyDemandPricingEngine pricingEngine = (SupplyDemandPricingEngine)replayer.getMarket().getPricingEngine();
+		assertEquals(10, pricingEngine.getReferenceStock());
+		assertEquals(30, pricingEngine.getSpreadPercent());
+		assertEquals(firstPlayer.getMoneyQuantity(), replayer.getPlayers()[0].getMoneyQuantity());
+		assertEquals(secondPlayer.getMoneyQuantity(), replayer.getPlayers()[1].getMoneyQuantity());
+	}
+	
+	/**
+	 * Ensures that trades between players made using the market's order books are replayed
+	 * @throws IOException If the log can't be written or read
+	 */
+	@Test
+	public void testReplayOrderTrades() throws IOException{
+		firstPlayer.increaseOreQuantity(6);
+		GameEventLog eventLog = GameEventLog.create(logFile, SEED, plotManager.getPlots(), market, firstPlayer, secondPlayer);
+		try{
+			market.setEventLog(eventLog);
+			firstPlayer.attemptToPlaceSellOrder(PlotSpecialism.ORE, 6, 2);
+			secondPlayer.attemptToPlaceBuyOrder(PlotSpecialism.ORE, 4, 3);
+			assertEquals(4, market.matchOrders());
+		}
+		finally{
+			eventLog.close();
+		}
+		
+		GameLogReplayer replayer = GameLogReplayer.replay(logFile);
+		assertEquals(1, replayer.getEntriesReplayed());
+		assertEquals(2, replayer.getPlayers()[0].getOreQuantity());
+		assertEquals(38, replayer.getPlayers()[0].getMoneyQuantity());
+		assertEquals(4, replayer.getPlayers()[1].getOreQuantity());
+		assertEquals(22, replayer.getPlayers()[1].getMoneyQuantity());
+	}
+	
+	/**
+	 * Ensures that a game can't be logged if its market uses a pricing engine that can't be recorded in the log
+	 * @throws IOException If the log file can't be created
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testUnknownPricingEngine() throws IOException{
+		market.setPricingEngine(new PricingEngine(){
+			@Override
+			public int getBuyPrice(int basePrice, int stock, int recentTradeVolume){
+				return 1;
+			}
+			
+			@Override
+			public int getSellPrice(int basePrice, int stock, int recentTradeVolume){
+				return 1;
+			}
+		});
+		GameEventLog.create(logFile, SEED, plotManager.getPlots(), market, firstPlayer, secondPlayer);
+	}
+	
+	/**
+	 * Ensures that the market in the replayed game ends up with the same inventory as the market in the game that was logged
+	 * @throws IOException If the log can't be written or read
+	 */
+	@Test
+	public void testReplayMarketMatches() throws IOException{
+		playLoggedGame();
+		Market replayedMarket = GameLogReplayer.replay(logFile).getMarket();
+		assertEquals(market.getOreQuantity(), replayedMarket.getOreQuantity());
+		assertEquals(market.getEnergyQuantity(), replayedMarket.getEnergyQuantity());
+		assertEquals(market.getRoboticonQuantity(), replayedMarket.getRoboticonQuantity());
+	}
+	
+	/**
+	 * Ensures that the plots in the replayed game have the same specialisms, owners and roboticons as the plots in the game that was logged
+	 * @throws IOException If the log can't be written or read
+	 */
+	@Test
+	public void testReplayPlotsMatch() throws IOException{
+		playLoggedGame();
+		GameLogReplayer replayer = GameLogReplayer.replay(logFile);
+		Plot[][] plots = plotManager.getPlots();
+		Plot[][] replayedPlots = replayer.getPlots();
+		Player[] replayedPlayers = replayer.getPlayers();
+		for(int row = 0; row < plots.length; row++){
+			for(int column = 0; column < plots[row].length; column++){
+				Plot plot = plots[row][column];
+				Plot replayedPlot = replayedPlots[row][column];
+				assertEquals(plot.getSpecialism(), replayedPlot.getSpecialism());
+				assertEquals(plot.getRoboticon(), replayedPlot.getRoboticon());
+				Player expectedOwner = (plot.getPlayer() == firstPlayer) ? replayedPlayers[0] : replayedPlayers[1];
+				assertSame(expectedOwner, replayedPlot.getPlayer());
+			}
+		}
+	}
+	
+	/**
+	 * Ensures that an exception is thrown if the file is not an event log
+	 * @throws IOException If the file can't be written or read
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testReplayNotALog() throws IOException{
+		Files.write(logFile, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20, 21, 22});
+		GameLogReplayer.replay(logFile);
+	}
+	
+	/**
+	 * Ensures that an exception is thrown if the log ends part way through an entry
+	 * @throws IOException If the log can't be written or read
+	 */
+	@Test(expected=IllegalStateException.class)
+	public void testReplayTruncatedLog() throws IOException{
+		playLoggedGame();
+		FileChannel channel = FileChannel.open(logFile, StandardOpenOption.WRITE);
+		try{
+			channel.truncate(channel.size() - 3); // Part of the last entry (the game over phase) is lost
+		}
+		finally{
+			channel.close();
+		}
+		GameLogReplayer.replay(logFile);
+	}
+	
+	/**
+	 * Ensures that an exception is thrown if an entry in the log breaks the rules of the game
+	 * @throws IOException If the log can't be written or read
+	 */
+	@Test(expected=IllegalStateException.class)
+	public void testReplayInvalidEntry() throws IOException{
+		GameEventLog eventLog = GameEventLog.create(logFile, SEED, plotManager.getPlots(), market, firstPlayer, secondPlayer);
+		eventLog.plotAcquired(firstPlayer, 0, 0);
+		eventLog.plotAcquired(secondPlayer, 0, 0); // The plot has already been acquired
+		eventLog.close();
+		GameLogReplayer.replay(logFile);
+	}
+	
+	/**
+	 * Ensures that a log that is larger than the buffers used to write and read it is replayed correctly
+	 * @throws IOException If the log can't be written or read
+	 */
+	@Test
+	public void testReplayLargeLog() throws IOException{
+		plotManager = new HeadlessPlotManager(CreatePlots.createPlots(300, 300, new GameRandom(SEED))); // 90000 plots, larger than the buffers
+		GameEventLog eventLog = GameEventLog.create(logFile, SEED, plotManager.getPlots(), market, firstPlayer, secondPlayer);
+		for(int round = 0; round < 30000; round++){
+			eventLog.phaseEntered(GamePhase.PRODUCTION, null, round);
+		}
+		eventLog.close();
+		
+		GameLogReplayer replayer = GameLogReplayer.replay(logFile);
+		assertEquals(30000, replayer.getEntriesReplayed());
+		assertEquals(29999, replayer.getRoundNumber());
+		assertEquals(plotManager.getPlots()[299][299].getSpecialism(), replayer.getPlots()[299][299].getSpecialism());
+		assertTrue(Files.size(logFile) < 90000 + 30000*7 + 1000);
+	}
+}
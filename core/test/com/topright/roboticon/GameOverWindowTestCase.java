@@ -2,7 +2,9 @@ package com.topright.roboticon;
 
 import static org.junit.Assert.*;
 
+import java.util.Arrays;
 import java.util.EnumMap;
+import java.util.List;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -26,6 +28,7 @@ public class GameOverWindowTestCase extends GuiTest {
 	private String winnerTextString;
 	@Mocked Player AIPlayer;
 	@Mocked Player humanPlayer;
+	@Mocked Player secondAIPlayer;
 	@Mocked PlayerInventory AIPlayerInventory;
 	@Mocked PlayerInventory humanPlayerInventory;
 	
@@ -227,4 +230,82 @@ public class GameOverWindowTestCase extends GuiTest {
 	}
 	
 	
+	/**
+	 * Ensures that {@link GameOverWindow#rankPlayers(List, Player)} ranks the players by their score, players with the same score share a rank
+	 */
+	@Test
+	public void testRankPlayersSharedRank(){
+		new Expectations(){{
+			humanPlayer.calculateScore();result=10;
+			AIPlayer.calculateScore();result=12;
+			secondAIPlayer.calculateScore();result=10;
+		}};
+		List<GameOverWindow.Standing> standings = GameOverWindow.rankPlayers(Arrays.asList(humanPlayer, AIPlayer, secondAIPlayer), humanPlayer);
+		assertEquals("AI 1", standings.get(0).getName());
+		assertEquals(1, standings.get(0).getRank());
+		assertEquals("You", standings.get(1).getName()); // Took their turn before the other AI player
+		assertTrue(standings.get(1).isHuman());
+		assertEquals(2, standings.get(1).getRank());
+		assertEquals("AI 2", standings.get(2).getName());
+		assertEquals(2, standings.get(2).getRank());
+		assertEquals(10, standings.get(2).getScore());
+	}
+	
+	/**
+	 * Ensures that {@link GameOverWindow#rankPlayers(List, Player)} names the only AI player "AI"
+	 */
+	@Test
+	public void testRankPlayersSingleAIName(){
+		List<GameOverWindow.Standing> standings = GameOverWindow.rankPlayers(Arrays.asList(AIPlayer, humanPlayer), humanPlayer);
+		assertEquals("AI", standings.get(0).getName());
+	}
+	
+	/**
+	 * Ensures that {@link GameOverWindow#rankPlayers(List, Player)} throws an exception if there are no players
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testRankPlayersNoPlayers(){
+		GameOverWindow.rankPlayers(Arrays.<Player>asList(), humanPlayer);
+	}
+	
+	/**
+	 * Ensures that {@link GameOverWindow#getOrdinal(int)} gives the correct suffix (including for 11th, 12th and 13th)
+	 */
+	@Test
+	public void testGetOrdinal(){
+		assertEquals("1st", GameOverWindow.getOrdinal(1));
+		assertEquals("2nd", GameOverWindow.getOrdinal(2));
+		assertEquals("3rd", GameOverWindow.getOrdinal(3));
+		assertEquals("4th", GameOverWindow.getOrdinal(4));
+		assertEquals("11th", GameOverWindow.getOrdinal(11));
+		assertEquals("12th", GameOverWindow.getOrdinal(12));
+		assertEquals("13th", GameOverWindow.getOrdinal(13));
+		assertEquals("21st", GameOverWindow.getOrdinal(21));
+		assertEquals("112th", GameOverWindow.getOrdinal(112));
+	}
+	
+	/**
+	 * Ensures that in a game with several AI players the AI player that won is named and every player's score is displayed
+	 */
+	@Test
+	public void winnerTextSeveralAIPlayers(){
+		new Expectations(){{
+			humanPlayer.calculateScore();result=3;
+			AIPlayer.calculateScore();result=5;
+			secondAIPlayer.calculateScore();result=8;
+		}};
+		gameOverWindow = new GameOverWindow(humanPlayer, Arrays.asList(AIPlayer, secondAIPlayer, humanPlayer));
+		getLabelData();
+		assertEquals("the ai 2 won!", winnerTextString);
+		
+		int scoreLabels = 0;
+		Array<Actor> children = gameOverWindow.getChildren();
+		for(int child=0;child<children.size;child++){
+			if(children.get(child) instanceof Label && ((Label)children.get(child)).getText().toString().contains("final score")){
+				scoreLabels++;
+			}
+		}
+		assertEquals(3, scoreLabels);
+	}
+	
 }
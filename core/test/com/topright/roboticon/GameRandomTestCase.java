@@ -0,0 +1,104 @@
+package com.topright.roboticon;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Test case for {@link GameRandom}
+ */
+public class GameRandomTestCase {
+	
+	/**
+	 * Tests {@link GameRandom#getSeed()} ensures that the seed that was passed to the constructor is returned
+	 */
+	@Test
+	public void testGetSeed(){
+		assertEquals(123L, new GameRandom(123L).getSeed());
+	}
+	
+	/**
+	 * Tests {@link GameRandom#nextInt(int)} ensures that two GameRandoms with the same seed generate the same numbers
+	 */
+	@Test
+	public void testSameSeedSameNumbers(){
+		GameRandom random = new GameRandom(5L);
+		GameRandom sameRandom = new GameRandom(5L);
+		for(int i = 0; i < 100; i++){
+			assertEquals(random.nextInt(1000), sameRandom.nextInt(1000));
+		}
+	}
+	
+	/**
+	 * Tests {@link GameRandom#nextLong()} ensures that two GameRandoms with different seeds generate different numbers
+	 */
+	@Test
+	public void testDifferentSeedsDifferentNumbers(){
+		assertNotEquals(new GameRandom(5L).nextLong(), new GameRandom(6L).nextLong());
+	}
+	
+	/**
+	 * Tests {@link GameRandom#nextInt(int)} ensures that every number is within the bound
+	 */
+	@Test
+	public void testNextIntWithinBound(){
+		GameRandom random = new GameRandom(1L);
+		for(int i = 0; i < 1000; i++){
+			int number = random.nextInt(3);
+			assertTrue(number >= 0 && number < 3);
+		}
+	}
+	
+	/**
+	 * Tests {@link GameRandom#nextInt(int)} ensures that an exception is thrown if the bound is 0
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testNextIntZeroBound(){
+		new GameRandom(1L).nextInt(0);
+	}
+	
+	/**
+	 * Tests {@link GameRandom#nextBoolean()} ensures that both true and false are generated
+	 */
+	@Test
+	public void testNextBooleanBothValues(){
+		GameRandom random = new GameRandom(1L);
+		boolean trueGenerated = false;
+		boolean falseGenerated = false;
+		for(int i = 0; i < 100; i++){
+			if(random.nextBoolean()){
+				trueGenerated = true;
+			}
+			else{
+				falseGenerated = true;
+			}
+		}
+		assertTrue(trueGenerated && falseGenerated);
+	}
+	
+	/**
+	 * Tests {@link GameRandom#split()} ensures that splitting in the same order gives the same numbers
+	 */
+	@Test
+	public void testSplitReproducible(){
+		GameRandom random = new GameRandom(9L);
+		GameRandom sameRandom = new GameRandom(9L);
+		GameRandom split = random.split();
+		GameRandom sameSplit = sameRandom.split();
+		for(int i = 0; i < 100; i++){
+			assertEquals(split.nextLong(), sameSplit.nextLong());
+			assertEquals(random.nextLong(), sameRandom.nextLong());
+		}
+	}
+	
+	/**
+	 * Tests {@link GameRandom#split()} ensures that the new GameRandom generates different numbers to the one that it was split from
+	 */
+	@Test
+	public void testSplitIndependent(){
+		GameRandom random = new GameRandom(9L);
+		GameRandom split = random.split();
+		assertNotEquals(random.nextLong(), split.nextLong());
+		assertEquals(9L, split.getSeed());
+	}
+}
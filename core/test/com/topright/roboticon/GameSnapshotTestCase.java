@@ -0,0 +1,268 @@
+package com.topright.roboticon;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumMap;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import mockit.Mocked;
+import mockit.Verifications;
+import mockit.integration.junit4.JMockit;
+
+/**
+ * Test case for {@link GameSnapshot}
+ * <p>
+ * A game between a human player (who goes first) and an AI player is played up to the point where the human player
+ * has acquired a plot and bought a roboticon, then it is saved and loaded.
+ * </p>
+ */
+@RunWith(JMockit.class)
+public class GameSnapshotTestCase {
+	private static final long SEED = 99L;
+	
+	@Rule public TemporaryFolder folder = new TemporaryFolder();
+	@Mocked private GameEngineListener listener;
+	
+	private Path saveFile;
+	private Market market;
+	private Player humanPlayer;
+	private AIPlayer AIPlayer;
+	private HeadlessPlotManager plotManager;
+	private GameEngine gameEngine;
+	
+	/**
+	 * Runs before every test, plays the start of a game
+	 * @throws IOException If the temporary save file can't be created
+	 */
+	@Before
+	public void setup() throws IOException{
+		saveFile = folder.newFile("game.sav").toPath();
+		market = new Market(new MarketInventory(0,16,12));
+		humanPlayer = new Player(new PlayerInventory(0, 0, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), 30), market);
+		AIPlayer = new AIPlayer(new PlayerInventory(0, 0, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), 30), market);
+		plotManager = new HeadlessPlotManager(CreatePlots.createPlots(4, 5, new GameRandom(SEED)));
+		gameEngine = new GameEngine(plotManager, humanPlayer, AIPlayer, listener);
+		
+		gameEngine.start();
+		plotManager.acquirePlot(2, 3);
+		gameEngine.handleEvent(GameEvents.PLOTAQUIRED);
+		humanPlayer.attemptToBuyRoboticons(1);
+	}
+	
+	/**
+	 * Saves the game and loads it again
+	 * @return The snapshot that was loaded
+	 * @throws IOException If the save file can't be written to or read
+	 */
+	private GameSnapshot saveAndLoad() throws IOException{
+		GameSnapshot.capture(SEED, plotManager.getPlots(), market, gameEngine).write(saveFile);
+		return GameSnapshot.read(saveFile);
+	}
+	
+	/**
+	 * Ensures that the seed, phase, round, current player and map size are loaded
+	 * @throws IOException If the save file can't be written to or read
+	 */
+	@Test
+	public void testHeaderLoaded() throws IOException{
+		GameSnapshot snapshot = saveAndLoad();
+		assertEquals(SEED, snapshot.getSeed());
+		assertEquals(GamePhase.BUYINGROBOTICONS, snapshot.getPhase());
+		assertEquals(1, snapshot.getRoundNumber());
+		assertEquals(0, snapshot.getCurrentPlayerNumber());
+		assertEquals(4, snapshot.getRows());
+		assertEquals(5, snapshot.getColumns());
+	}
+	
+	/**
+	 * Tests {@link GameSnapshot#createMarket()} ensures that the market has the inventory that was saved
+	 * @throws IOException If the save file can't be written to or read
+	 */
+	@Test
+	public void testCreateMarket() throws IOException{
+		Market loadedMarket = saveAndLoad().createMarket();
+		assertEquals(market.getOreQuantity(), loadedMarket.getOreQuantity());
+		assertEquals(market.getEnergyQuantity(), loadedMarket.getEnergyQuantity());
+		assertEquals(11, loadedMarket.getRoboticonQuantity());
+	}
+	
+	/**
+	 * Tests {@link GameSnapshot#createPlayers(Market)} ensures that the players are created in order with the inventories that were saved
+	 * @throws IOException If the save file can't be written to or read
+	 */
+	@Test
+	public void testCreatePlayers() throws IOException{
+		Market loadedMarket = new Market();
+		Player[] players = saveAndLoad().createPlayers(loadedMarket);
+		assertEquals(2, players.length);
+		assertFalse(players[0] instanceof AIPlayer); // The human player goes first
+		assertTrue(players[1] instanceof AIPlayer);
+		assertEquals(humanPlayer.getMoneyQuantity(), players[0].getMoneyQuantity());
+		assertEquals(1, players[0].getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED));
+		assertEquals(AIPlayer.getMoneyQuantity(), players[1].getMoneyQuantity());
+		assertSame(loadedMarket, players[0].getMarket());
+	}
+	
+	/**
+	 * Tests {@link GameSnapshot#createPlots(Player[])} ensures that the plots have the specialisms and owners that were saved
+	 * @throws IOException If the save file can't be written to or read
+	 */
+	@Test
+	public void testCreatePlots() throws IOException{
+		GameSnapshot snapshot = saveAndLoad();
+		Player[] players = snapshot.createPlayers(new Market());
+		Plot[][] loadedPlots = snapshot.createPlots(players);
+		Plot[][] plots = plotManager.getPlots();
+		for(int row = 0; row < plots.length; row++){
+			for(int column = 0; column < plots[row].length; column++){
+				assertEquals(plots[row][column].getSpecialism(), loadedPlots[row][column].getSpecialism());
+				assertEquals(plots[row][column].hasBeenAcquired(), loadedPlots[row][column].hasBeenAcquired());
+			}
+		}
+		assertSame(players[0], loadedPlots[2][3].getPlayer());
+	}
+	
+	/**
+	 * Tests {@link GameSnapshot#createPlots(Player[])} ensures that roboticons that had been placed are loaded
+	 * @throws IOException If the save file can't be written to or read
+	 */
+	@Test
+	public void testCreatePlotsRoboticons() throws IOException{
+		plotManager.getPlots()[2][3].placeRoboticon(RoboticonCustomisation.ENERGY);
+		GameSnapshot snapshot = saveAndLoad();
+		Plot[][] loadedPlots = snapshot.createPlots(snapshot.createPlayers(new Market()));
+		assertEquals(RoboticonCustomisation.ENERGY, loadedPlots[2][3].getRoboticon());
+		assertFalse(loadedPlots[0][0].hasRoboticon());
+	}
+	
+	/**
+	 * Tests {@link GameSnapshot#createPlots(Player[])} ensures that an exception is thrown if the wrong number of players are passed to it
+	 * @throws IOException If the save file can't be written to or read
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testCreatePlotsWrongPlayers() throws IOException{
+		saveAndLoad().createPlots(new Player[]{humanPlayer});
+	}
+	
+	/**
+	 * Tests {@link GameSnapshot#resume(GameEngine, Player[])} ensures that the human player is asked to carry on with the phase that the game was saved in
+	 * @throws IOException If the save file can't be written to or read
+	 */
+	@Test
+	public void testResume() throws IOException{
+		GameSnapshot snapshot = saveAndLoad();
+		Player[] players = snapshot.createPlayers(snapshot.createMarket());
+		final GameEngine loadedGameEngine = new GameEngine(new HeadlessPlotManager(snapshot.createPlots(players)), players[0], players[1], listener);
+		snapshot.resume(loadedGameEngine, players);
+		
+		assertEquals(GamePhase.BUYINGROBOTICONS, loadedGameEngine.getPhase());
+		assertSame(players[0], loadedGameEngine.getCurrentPlayer());
+		new Verifications(){{
+			listener.buyingRoboticonsStage(loadedGameEngine.getCurrentPlayer()); times = 1;
+		}};
+	}
+	
+	/**
+	 * Tests {@link GameSnapshot#write(Path)} ensures that a smaller game can be saved over a larger one
+	 * @throws IOException If the save file can't be written to or read
+	 */
+	@Test
+	public void testWriteOverLargerSave() throws IOException{
+		Plot[][] largePlots = CreatePlots.createPlots(100, 100, new GameRandom(SEED));
+		GameSnapshot.capture(SEED, largePlots, market, gameEngine).write(saveFile);
+		GameSnapshot snapshot = saveAndLoad();
+		assertEquals(4, snapshot.getRows());
+		assertEquals(GameSnapshot.capture(SEED, plotManager.getPlots(), market, gameEngine).getSize(), Files.size(saveFile));
+	}
+	
+	/**
+	 * Tests {@link GameSnapshot#write(Path)} and {@link GameSnapshot#read(Path)} ensure that a large map is saved and loaded correctly
+	 * @throws IOException If the save file can't be written to or read
+	 */
+	@Test
+	public void testLargeMap() throws IOException{
+		Plot[][] largePlots = CreatePlots.createPlots(1000, 1000, new GameRandom(SEED));
+		largePlots[999][999].setPlayer(AIPlayer);
+		largePlots[999][999].placeRoboticon(RoboticonCustomisation.ORE);
+		GameSnapshot.capture(SEED, largePlots, market, gameEngine).write(saveFile);
+		
+		GameSnapshot snapshot = GameSnapshot.read(saveFile);
+		Player[] players = snapshot.createPlayers(new Market());
+		Plot[][] loadedPlots = snapshot.createPlots(players);
+		assertEquals(1000, loadedPlots.length);
+		assertSame(players[1], loadedPlots[999][999].getPlayer());
+		assertEquals(RoboticonCustomisation.ORE, loadedPlots[999][999].getRoboticon());
+		assertEquals(largePlots[500][123].getSpecialism(), loadedPlots[500][123].getSpecialism());
+	}
+	
+	/**
+	 * Tests {@link GameSnapshot#write(Path)} ensures that the previous save is kept if a save is interrupted, and that the
+	 * temporary file left behind is replaced by the next save
+	 * @throws IOException If the save file can't be written to or read
+	 */
+	@Test
+	public void testWriteAfterInterruptedSave() throws IOException{
+		GameSnapshot.capture(SEED, plotManager.getPlots(), market, gameEngine).write(saveFile);
+		Path temporaryFile = saveFile.resolveSibling(saveFile.getFileName()+".tmp");
+		Files.write(temporaryFile, new byte[]{1, 2, 3}); // As if the game crashed while the next save was being written
+		assertEquals(SEED, GameSnapshot.read(saveFile).getSeed());
+		
+		GameSnapshot.capture(SEED + 1, plotManager.getPlots(), market, gameEngine).write(saveFile);
+		assertEquals(SEED + 1, GameSnapshot.read(saveFile).getSeed());
+		assertFalse(Files.exists(temporaryFile));
+	}
+	
+	/**
+	 * Tests {@link GameSnapshot#read(Path)} ensures that a file that does not start with the magic number is not loaded
+	 * @throws IOException If the save file can't be written to or read
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testReadIncompleteSave() throws IOException{
+		GameSnapshot.capture(SEED, plotManager.getPlots(), market, gameEngine).write(saveFile);
+		FileChannel channel = FileChannel.open(saveFile, StandardOpenOption.WRITE);
+		try{
+			channel.write(java.nio.ByteBuffer.allocate(4), 0);
+		}
+		finally{
+			channel.close();
+		}
+		GameSnapshot.read(saveFile);
+	}
+	
+	/**
+	 * Tests {@link GameSnapshot#read(Path)} ensures that a file that is not a save is not loaded
+	 * @throws IOException If the file can't be written to or read
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testReadNotASave() throws IOException{
+		Files.write(saveFile, new byte[]{1, 2, 3});
+		GameSnapshot.read(saveFile);
+	}
+	
+	/**
+	 * Tests {@link GameSnapshot#read(Path)} ensures that a save that has been cut short is not loaded
+	 * @throws IOException If the save file can't be written to or read
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testReadTruncatedSave() throws IOException{
+		GameSnapshot.capture(SEED, plotManager.getPlots(), market, gameEngine).write(saveFile);
+		FileChannel channel = FileChannel.open(saveFile, StandardOpenOption.WRITE);
+		try{
+			channel.truncate(channel.size() - 1);
+		}
+		finally{
+			channel.close();
+		}
+		GameSnapshot.read(saveFile);
+	}
+}
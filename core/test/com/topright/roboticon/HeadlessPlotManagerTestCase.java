@@ -0,0 +1,166 @@
+package com.topright.roboticon;
+import static org.junit.Assert.*;
+
+import org.junit.*;
+import mockit.*;
+import mockit.integration.junit4.*;
+import org.junit.runner.RunWith;
+
+/**
+ * Test case for {@link HeadlessPlotManager}
+ */
+
+@RunWith(JMockit.class)
+public class HeadlessPlotManagerTestCase {
+	private HeadlessPlotManager plotManager;
+	@Mocked private Player player;
+	@Mocked private Plot plot1;
+	@Mocked private Plot plot2;
+
+	/**
+	 * Runs before every test, creates a HeadlessPlotManager that manages a 1x2 grid of (mocked) plots
+	 */
+	@Before
+	public void setup(){
+		plotManager = new HeadlessPlotManager(new Plot[][]{{plot1, plot2}});
+		plotManager.setCurrentPlayer(player);
+	}
+
+	/**
+	 * Tests {@link HeadlessPlotManager#getPlots} ensures that the plots passed to the constructor are returned
+	 */
+	@Test
+	public void testGetPlots(){
+		assertSame(plot1, plotManager.getPlots()[0][0]);
+		assertSame(plot2, plotManager.getPlots()[0][1]);
+	}
+
+	/**
+	 * Tests {@link HeadlessPlotManager#setCurrentPlayer} ensures that the current player is stored
+	 */
+	@Test
+	public void testSetCurrentPlayer(){
+		assertSame(player, plotManager.getCurrentPlayer());
+	}
+
+	/**
+	 * Tests {@link HeadlessPlotManager#acquirePlot} ensures that a plot that has not been acquired is acquired by the current player
+	 */
+	@Test
+	public void testAcquirePlotNotAcquired(){
+		new Expectations(){{
+			plot2.hasBeenAcquired(); result = false;
+		}};
+		assertTrue(plotManager.acquirePlot(0, 1));
+		new Verifications(){{
+			plot2.setPlayer(player); times = 1;
+		}};
+	}
+
+	/**
+	 * Tests {@link HeadlessPlotManager#acquirePlot} ensures that an acquisition is recorded in the event log
+	 */
+	@Test
+	public void testAcquirePlotLogged(@Mocked final GameEventLog eventLog){
+		new Expectations(){{
+			plot2.hasBeenAcquired(); result = false;
+		}};
+		plotManager.setEventLog(eventLog);
+		plotManager.acquirePlot(0, 1);
+		new Verifications(){{
+			eventLog.plotAcquired(player, 0, 1); times = 1;
+		}};
+	}
+
+	/**
+	 * Tests {@link HeadlessPlotManager#acquirePlot} ensures that a plot that has already been acquired is not acquired again
+	 */
+	@Test
+	public void testAcquirePlotAlreadyAcquired(){
+		new Expectations(){{
+			plot2.hasBeenAcquired(); result = true;
+		}};
+		assertFalse(plotManager.acquirePlot(0, 1));
+		new Verifications(){{
+			plot2.setPlayer((Player)any); times = 0;
+		}};
+	}
+
+	/**
+	 * Tests {@link HeadlessPlotManager#placeEnergyRoboticon} ensures that the current player is asked to place an energy roboticon on the correct plot
+	 */
+	@Test
+	public void testPlaceEnergyRoboticon(){
+		new Expectations(){{
+			player.attemptToPlaceRoboticon(plot2, RoboticonCustomisation.ENERGY); result = true;
+		}};
+		assertTrue(plotManager.placeEnergyRoboticon(1, 0));
+	}
+
+	/**
+	 * Tests {@link HeadlessPlotManager#placeEnergyRoboticon} ensures that a placement is recorded in the event log (and a failed one is not)
+	 */
+	@Test
+	public void testPlaceRoboticonLogged(@Mocked final GameEventLog eventLog){
+		new Expectations(){{
+			player.attemptToPlaceRoboticon(plot2, RoboticonCustomisation.ENERGY); result = true;
+			player.attemptToPlaceRoboticon(plot1, RoboticonCustomisation.ORE); result = false;
+		}};
+		plotManager.setEventLog(eventLog);
+		plotManager.placeEnergyRoboticon(1, 0);
+		plotManager.placeOreRoboticon(0, 0);
+		new Verifications(){{
+			eventLog.roboticonPlaced(player, 0, 1, RoboticonCustomisation.ENERGY); times = 1;
+			eventLog.roboticonPlaced((Player)any, anyInt, anyInt, RoboticonCustomisation.ORE); times = 0;
+		}};
+	}
+
+	/**
+	 * Tests {@link HeadlessPlotManager#placeOreRoboticon} ensures that false is returned if the current player is unable to place an ore roboticon
+	 */
+	@Test
+	public void testPlaceOreRoboticonFailed(){
+		new Expectations(){{
+			player.attemptToPlaceRoboticon(plot1, RoboticonCustomisation.ORE); result = false;
+		}};
+		assertFalse(plotManager.placeOreRoboticon(0, 0));
+	}
+
+	/**
+	 * Tests {@link HeadlessPlotManager#produceResources} ensures that every plot is told to produce resources
+	 */
+	@Test
+	public void testProduceResources(){
+		plotManager.produceResources();
+		new Verifications(){{
+			plot1.produce((ProductionDeltas)any); times = 1;
+			plot2.produce((ProductionDeltas)any); times = 1;
+		}};
+	}
+
+	/**
+	 * Tests {@link HeadlessPlotManager#allPlotsAquired} ensures that false is returned if any plot has not been acquired
+	 */
+	@Test
+	public void testAllPlotsAcquiredOneNotAcquired(){
+		new Expectations(){{
+			plot1.hasBeenAcquired(); result = true;
+			plot2.hasBeenAcquired(); result = false;
+		}};
+		plotManager = new HeadlessPlotManager(new Plot[][]{{plot1, plot2}}); // The plots are indexed when the manager is created
+		assertFalse(plotManager.allPlotsAquired());
+	}
+
+	/**
+	 * Tests {@link HeadlessPlotManager#allPlotsAquired} ensures that true is returned if every plot has been acquired
+	 */
+	@Test
+	public void testAllPlotsAcquiredAllAcquired(){
+		new Expectations(){{
+			plot1.hasBeenAcquired(); result = true;
+			plot2.hasBeenAcquired(); result = true;
+		}};
+		plotManager = new HeadlessPlotManager(new Plot[][]{{plot1, plot2}}); // The plots are indexed when the manager is created
+		assertTrue(plotManager.allPlotsAquired());
+	}
+}
@@ -256,4 +256,42 @@ public class InventoryTestCase {
 		inv.decreaseOreQuantity(0);
 		assertEquals(energyQuantity,inv.getOreQuantity());
 	}
+	
+	/**
+	 * Tests {@link Inventory#tryDecreaseOreQuantity} ensures that the ore is removed and true returned when enough ore is stored
+	 */
+	@Test
+	public void testTryDecreaseOreQuantityEnoughOre(){
+		inv.increaseOreQuantity(5);
+		assertTrue(inv.tryDecreaseOreQuantity(5));
+		assertEquals(0,inv.getOreQuantity());
+	}
+	
+	/**
+	 * Tests {@link Inventory#tryDecreaseOreQuantity} ensures that nothing is removed and false returned when not enough ore is stored
+	 */
+	@Test
+	public void testTryDecreaseOreQuantityNotEnoughOre(){
+		inv.increaseOreQuantity(2);
+		assertFalse(inv.tryDecreaseOreQuantity(3));
+		assertEquals(2,inv.getOreQuantity());
+	}
+	
+	/**
+	 * Tests {@link Inventory#tryDecreaseEnergyQuantity} ensures that nothing is removed and false returned when not enough energy is stored
+	 */
+	@Test
+	public void testTryDecreaseEnergyQuantityNotEnoughEnergy(){
+		inv.increaseEnergyQuantity(1);
+		assertFalse(inv.tryDecreaseEnergyQuantity(2));
+		assertEquals(1,inv.getEnergyQuantity());
+	}
+	
+	/**
+	 * Tests {@link Inventory#tryDecreaseEnergyQuantity} ensures that an exception is thrown when a negative value is passed
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testTryDecreaseEnergyQuantityNegative(){
+		inv.tryDecreaseEnergyQuantity(-1);
+	}
 }
\ No newline at end of file
@@ -0,0 +1,160 @@
+package com.topright.roboticon;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test case for {@link LatencyHistogram}
+ */
+public class LatencyHistogramTestCase {
+	private LatencyHistogram histogram;
+
+	/**
+	 * Runs before every test, creates an empty histogram
+	 */
+	@Before
+	public void setup(){
+		histogram = new LatencyHistogram();
+	}
+
+	/**
+	 * Tests {@link LatencyHistogram#record(long)} ensures that an IllegalArgumentException is thrown for a negative latency
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testRecordNegative(){
+		histogram.record(-1);
+	}
+
+	/**
+	 * Tests {@link LatencyHistogram#getPercentile(double)} ensures that an IllegalArgumentException is thrown for a percentile of 0
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testGetPercentileZero(){
+		histogram.getPercentile(0);
+	}
+
+	/**
+	 * Tests {@link LatencyHistogram#getPercentile(double)} ensures that an IllegalArgumentException is thrown for a percentile above 100
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testGetPercentileAboveOneHundred(){
+		histogram.getPercentile(100.1);
+	}
+
+	/**
+	 * Tests the methods of {@link LatencyHistogram} ensure that 0 is returned when no latencies have been recorded
+	 */
+	@Test
+	public void testEmpty(){
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getMin());
+		assertEquals(0, histogram.getMax());
+		assertEquals(0, histogram.getMean(), 0);
+		assertEquals(0, histogram.getPercentile(50));
+	}
+
+	/**
+	 * Tests {@link LatencyHistogram#getPercentile(double)} ensures that small latencies (which have a bucket each) are reported exactly
+	 */
+	@Test
+	public void testSmallLatenciesExact(){
+		for(long nanos = 1; nanos <= 10; nanos++){
+			histogram.record(nanos);
+		}
+		assertEquals(5, histogram.getPercentile(50));
+		assertEquals(9, histogram.getPercentile(90));
+		assertEquals(10, histogram.getPercentile(100));
+		assertEquals(1, histogram.getMin());
+		assertEquals(10, histogram.getMax());
+		assertEquals(5.5, histogram.getMean(), 0.0001);
+		assertEquals(10, histogram.getCount());
+	}
+
+	/**
+	 * Tests {@link LatencyHistogram#bucketIndex(long)} and {@link LatencyHistogram#highestLatencyInBucket(int)} ensure that every latency
+	 * falls into a bucket that covers it, that the buckets are in order and that the last bucket covers the largest possible latency
+	 */
+	@Test
+	public void testBuckets(){
+		Random random = new Random(7);
+		for(int i = 0; i < 100000; i++){
+			long nanos = (random.nextLong() >>> 1) >>> random.nextInt(63); // Any latency, the small ones as likely as the large ones
+			int index = LatencyHistogram.bucketIndex(nanos);
+			assertTrue(nanos <= LatencyHistogram.highestLatencyInBucket(index));
+			assertTrue(index == 0 || nanos > LatencyHistogram.highestLatencyInBucket(index - 1));
+		}
+		assertEquals(LatencyHistogram.NUMBER_OF_BUCKETS - 1, LatencyHistogram.bucketIndex(Long.MAX_VALUE));
+		assertEquals(Long.MAX_VALUE, LatencyHistogram.highestLatencyInBucket(LatencyHistogram.NUMBER_OF_BUCKETS - 1));
+	}
+
+	/**
+	 * Tests {@link LatencyHistogram#getPercentile(double)} ensures that the percentiles of many random latencies are never below the exact
+	 * percentile and are no more than 1/{@link LatencyHistogram#SUB_BUCKETS} above it
+	 */
+	@Test
+	public void testPercentilesWithinPrecision(){
+		Random random = new Random(42);
+		long[] latencies = new long[10000];
+		for(int i = 0; i < latencies.length; i++){
+			latencies[i] = (long)Math.exp(random.nextDouble() * 25); // Between 1ns and about 70ms
+			histogram.record(latencies[i]);
+		}
+		Arrays.sort(latencies);
+		for(double percent : new double[]{1, 25, 50, 90, 99, 99.9, 100}){
+			long exact = latencies[(int)Math.ceil(percent/100*latencies.length) - 1];
+			long reported = histogram.getPercentile(percent);
+			assertTrue("p"+percent+" reported "+reported+" below "+exact, reported >= exact);
+			assertTrue("p"+percent+" reported "+reported+" too far above "+exact, reported <= exact + exact / LatencyHistogram.SUB_BUCKETS);
+		}
+		assertEquals(latencies[latencies.length - 1], histogram.getPercentile(100));
+	}
+
+	/**
+	 * Tests {@link LatencyHistogram#record(long)} ensures that latencies recorded by several threads at once are all counted
+	 * @throws InterruptedException If interrupted while waiting for the threads
+	 */
+	@Test
+	public void testRecordFromSeveralThreads() throws InterruptedException{
+		Thread[] threads = new Thread[4];
+		for(int i = 0; i < threads.length; i++){
+			final long nanos = (i + 1) * 1000;
+			threads[i] = new Thread(new Runnable(){
+				@Override
+				public void run(){
+					for(int j = 0; j < 10000; j++){
+						histogram.record(nanos);
+					}
+				}
+			});
+			threads[i].start();
+		}
+		for(Thread thread : threads){
+			thread.join();
+		}
+		assertEquals(40000, histogram.getCount());
+		assertEquals(1000, histogram.getMin());
+		assertEquals(4000, histogram.getMax());
+		assertEquals(2500, histogram.getMean(), 0.0001);
+	}
+
+	/**
+	 * Tests {@link LatencyHistogram#reset()} ensures that every latency that has been recorded is forgotten
+	 */
+	@Test
+	public void testReset(){
+		histogram.record(100);
+		histogram.record(100000);
+		histogram.reset();
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getMax());
+		assertEquals(0, histogram.getPercentile(100));
+		histogram.record(5);
+		assertEquals(5, histogram.getMin());
+		assertEquals(5, histogram.getPercentile(50));
+	}
+}
@@ -0,0 +1,118 @@
+package com.topright.roboticon;
+
+import static org.junit.Assert.*;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Test case for {@link LaunchOptions}
+ */
+public class LaunchOptionsTestCase {
+	
+	/**
+	 * Tests {@link LaunchOptions#LaunchOptions()} ensures that the defaults are a new game on the standard map against one AI player
+	 * that is not saved, logged or measured
+	 */
+	@Test
+	public void testDefaults(){
+		LaunchOptions options = new LaunchOptions();
+		assertEquals(LaunchOptions.DEFAULT_PLOT_ROWS, options.getPlotRows());
+		assertEquals(LaunchOptions.DEFAULT_PLOT_COLUMNS, options.getPlotColumns());
+		assertEquals(1, options.getNumberOfAIPlayers());
+		assertNull(options.getAISearchBudget());
+		assertNull(options.getServerAddress());
+		assertNull(options.getSaveFile());
+		assertNull(options.getEventLogFile());
+		assertNull(options.getMetricsFile());
+	}
+	
+	/**
+	 * Tests {@link LaunchOptions#parse(String[])} ensures that the map size and seed are read from the command line
+	 */
+	@Test
+	public void testParseMapSizeAndSeed(){
+		LaunchOptions options = LaunchOptions.parse(new String[]{"10", "20", "42"});
+		assertEquals(10, options.getPlotRows());
+		assertEquals(20, options.getPlotColumns());
+		assertEquals(42L, options.createRandom().getSeed());
+		assertEquals(42L, options.createRandom().getSeed()); // Every game started with the options uses the same seed
+	}
+	
+	/**
+	 * Tests {@link LaunchOptions#parse(String[])} ensures that the game is saved in the default save file unless told otherwise
+	 */
+	@Test
+	public void testParseNoArguments(){
+		LaunchOptions options = LaunchOptions.parse(new String[0]);
+		assertEquals(LaunchOptions.DEFAULT_PLOT_ROWS, options.getPlotRows());
+		assertEquals(LaunchOptions.DEFAULT_SAVE_FILE, options.getSaveFile().toString());
+	}
+	
+	/**
+	 * Tests {@link LaunchOptions#fromSystemProperties()} ensures that the options are read from the system properties
+	 */
+	@Test
+	public void testFromSystemProperties(){
+		System.setProperty(LaunchOptions.AI_PLAYERS_PROPERTY, "3");
+		System.setProperty(LaunchOptions.METRICS_PROPERTY, "metrics.csv");
+		System.setProperty(LaunchOptions.SERVER_PROPERTY, "localhost:1234");
+		try{
+			LaunchOptions options = LaunchOptions.fromSystemProperties();
+			assertEquals(3, options.getNumberOfAIPlayers());
+			assertEquals("metrics.csv", options.getMetricsFile().toString());
+			assertEquals(1234, options.getServerAddress().getPort());
+			assertNull(options.getEventLogFile());
+		}
+		finally{
+			System.clearProperty(LaunchOptions.AI_PLAYERS_PROPERTY);
+			System.clearProperty(LaunchOptions.METRICS_PROPERTY);
+			System.clearProperty(LaunchOptions.SERVER_PROPERTY);
+		}
+	}
+	
+	/**
+	 * Tests {@link LaunchOptions#parseServerAddress(String)} ensures that the default port is used if none is given
+	 */
+	@Test
+	public void testParseServerAddressDefaultPort(){
+		InetSocketAddress address = LaunchOptions.parseServerAddress("localhost");
+		assertEquals("localhost", address.getHostString());
+		assertEquals(NetworkProtocol.DEFAULT_PORT, address.getPort());
+	}
+	
+	/**
+	 * Tests {@link LaunchOptions#setMapSize(int, int)} ensures that an exception is thrown if the map has no rows
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testSetMapSizeNoRows(){
+		new LaunchOptions().setMapSize(0, 5);
+	}
+	
+	/**
+	 * Tests {@link LaunchOptions#setNumberOfAIPlayers(int)} ensures that an exception is thrown if there would be no AI players
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testSetNumberOfAIPlayersZero(){
+		new LaunchOptions().setNumberOfAIPlayers(0);
+	}
+	
+	/**
+	 * Tests {@link LaunchOptions#createPlayers(Market, GameRandom)} ensures that the human player comes first followed by the AI players
+	 */
+	@Test
+	public void testCreatePlayers(){
+		LaunchOptions options = new LaunchOptions();
+		options.setNumberOfAIPlayers(2);
+		Market market = new Market(new MarketInventory(0,16,12));
+		List<Player> players = options.createPlayers(market, new GameRandom(1L));
+		assertEquals(3, players.size());
+		assertFalse(players.get(0) instanceof AIPlayer);
+		assertTrue(players.get(1) instanceof AIPlayer);
+		assertTrue(players.get(2) instanceof AIPlayer);
+		assertSame(market, players.get(1).getMarket());
+		assertEquals(LaunchOptions.STARTING_MONEY, players.get(0).getMoneyQuantity());
+	}
+}
@@ -2,6 +2,8 @@ package com.topright.roboticon;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertFalse;
+import java.util.EnumMap;
+
 import org.junit.Before;
 import org.junit.Test;
 
@@ -428,5 +430,88 @@ public class MarketIntegrationTests {
 		Market.getInstance().attemptToProduceRoboticon();
 		assertEquals(roboticonsBefore, inventory.getRoboticonQuantity());
 	}
-
+	
+	/**
+	 * Tests {@link Market#attemptToBuyOre(PlayerInventory, int)} ensures that the ore and money are moved when the player can afford it and the market has enough ore
+	 */
+	@Test
+	public void testTransactionBuyOreCompleted(){
+		PlayerInventory buyer = new PlayerInventory(0,0,new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class),100);
+		assertTrue(Market.getInstance().attemptToBuyOre(buyer, 2));
+		assertEquals(3, inventory.getOreQuantity());
+		assertEquals(2, buyer.getOreQuantity());
+		assertEquals(100-Market.getInstance().getCostOre(2), buyer.getMoneyQuantity());
+	}
+	
+	/**
+	 * Tests {@link Market#attemptToBuyOre(PlayerInventory, int)} ensures that the player's money is given back when the market does not have enough ore
+	 */
+	@Test
+	public void testTransactionBuyOreNotEnoughStockRolledBack(){
+		PlayerInventory buyer = new PlayerInventory(0,0,new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class),100);
+		assertFalse(Market.getInstance().attemptToBuyOre(buyer, 6));
+		assertEquals(5, inventory.getOreQuantity());
+		assertEquals(0, buyer.getOreQuantity());
+		assertEquals(100, buyer.getMoneyQuantity());
+	}
+	
+	/**
+	 * Tests {@link Market#attemptToBuyEnergy(PlayerInventory, int)} ensures that nothing changes when the player cannot afford the energy
+	 */
+	@Test
+	public void testTransactionBuyEnergyNotEnoughMoney(){
+		PlayerInventory buyer = new PlayerInventory(0,0,new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class),1);
+		assertFalse(Market.getInstance().attemptToBuyEnergy(buyer, 1));
+		assertEquals(5, inventory.getEnergyQuantity());
+		assertEquals(1, buyer.getMoneyQuantity());
+	}
+	
+	/**
+	 * Tests {@link Market#attemptToBuyRoboticons(PlayerInventory, int)} ensures that the player's money is given back when the market does not have enough roboticons
+	 */
+	@Test
+	public void testTransactionBuyRoboticonsNotEnoughStockRolledBack(){
+		PlayerInventory buyer = new PlayerInventory(0,0,new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class),1000);
+		assertFalse(Market.getInstance().attemptToBuyRoboticons(buyer, 7));
+		assertEquals(6, inventory.getRoboticonQuantity());
+		assertEquals(1000, buyer.getMoneyQuantity());
+		assertEquals(0, buyer.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED));
+	}
+	
+	/**
+	 * Tests {@link Market#attemptToCustomiseRoboticon(PlayerInventory, RoboticonCustomisation)} ensures that the uncustomised roboticon is given back when the player cannot afford the customisation
+	 */
+	@Test
+	public void testTransactionCustomiseRoboticonNotEnoughMoneyRolledBack(){
+		PlayerInventory owner = new PlayerInventory(0,0,new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class),1);
+		owner.increaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, 1);
+		assertFalse(Market.getInstance().attemptToCustomiseRoboticon(owner, RoboticonCustomisation.ORE));
+		assertEquals(1, owner.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED));
+		assertEquals(0, owner.getRoboticonQuantity(RoboticonCustomisation.ORE));
+		assertEquals(1, owner.getMoneyQuantity());
+	}
+	
+	/**
+	 * Tests {@link Market#attemptToSellEnergy(PlayerInventory, int)} ensures that the energy and money are moved when the player has enough energy
+	 */
+	@Test
+	public void testTransactionSellEnergyCompleted(){
+		PlayerInventory seller = new PlayerInventory(0,4,new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class),0);
+		assertTrue(Market.getInstance().attemptToSellEnergy(seller, 3));
+		assertEquals(8, inventory.getEnergyQuantity());
+		assertEquals(1, seller.getEnergyQuantity());
+		assertEquals(Market.getInstance().getCostEnergy(3), seller.getMoneyQuantity());
+	}
+	
+	/**
+	 * Tests {@link Market#attemptToSellOre(PlayerInventory, int)} ensures that nothing changes when the player does not have enough ore
+	 */
+	@Test
+	public void testTransactionSellOreNotEnoughOre(){
+		PlayerInventory seller = new PlayerInventory(1,0,new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class),0);
+		assertFalse(Market.getInstance().attemptToSellOre(seller, 2));
+		assertEquals(5, inventory.getOreQuantity());
+		assertEquals(1, seller.getOreQuantity());
+		assertEquals(0, seller.getMoneyQuantity());
+	}
 }
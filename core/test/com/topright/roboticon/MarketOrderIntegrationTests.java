@@ -0,0 +1,160 @@
+package com.topright.roboticon;
+
+import static org.junit.Assert.*;
+
+import java.util.EnumMap;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import mockit.Mocked;
+import mockit.integration.junit4.JMockit;
+
+/**
+ * Integration tests involving {@link Player}, {@link Market}, {@link OrderBook} and {@link GameEngine}: players trading with each other using orders
+ */
+@RunWith(JMockit.class)
+public class MarketOrderIntegrationTests {
+	@Mocked private GameEngineListener listener;
+	
+	private Market market;
+	private Player humanPlayer;
+	private AIPlayer AIPlayer;
+	
+	/**
+	 * Runs before every test, creates a market and two players that use it
+	 */
+	@Before
+	public void setup(){
+		market = new Market(new MarketInventory(0,16,12));
+		humanPlayer = new Player(new PlayerInventory(10, 10, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), 50), market);
+		AIPlayer = new AIPlayer(new PlayerInventory(10, 10, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), 50), market);
+	}
+	
+	/**
+	 * Tests {@link Player#attemptToPlaceBuyOrder} ensures that an order is placed in the market's order book for the resource
+	 */
+	@Test
+	public void testPlaceBuyOrder(){
+		Order order = humanPlayer.attemptToPlaceBuyOrder(PlotSpecialism.ENERGY, 5, 4);
+		assertNotNull(order);
+		assertEquals(OrderSide.BUY, order.getSide());
+		assertSame(humanPlayer, order.getOwner());
+		assertEquals(4, market.getOrderBook(PlotSpecialism.ENERGY).getBestBuyPrice());
+		assertEquals(50, humanPlayer.getMoneyQuantity()); // Nothing is taken until the order is matched
+	}
+	
+	/**
+	 * Tests {@link Player#attemptToPlaceBuyOrder} ensures that no order is placed if the player can't afford it
+	 */
+	@Test
+	public void testPlaceBuyOrderNotEnoughMoney(){
+		assertNull(humanPlayer.attemptToPlaceBuyOrder(PlotSpecialism.ORE, 11, 5));
+		assertEquals(0, market.getOrderBook(PlotSpecialism.ORE).getRestingOrderCount());
+	}
+	
+	/**
+	 * Tests {@link Player#attemptToPlaceSellOrder} ensures that an order is placed in the market's order book for the resource
+	 */
+	@Test
+	public void testPlaceSellOrder(){
+		Order order = humanPlayer.attemptToPlaceSellOrder(PlotSpecialism.ORE, 10, 6);
+		assertNotNull(order);
+		assertEquals(OrderSide.SELL, order.getSide());
+		assertEquals(6, market.getOrderBook(PlotSpecialism.ORE).getBestSellPrice());
+	}
+	
+	/**
+	 * Tests {@link Player#attemptToPlaceSellOrder} ensures that no order is placed if the player does not have enough of the resource
+	 */
+	@Test
+	public void testPlaceSellOrderNotEnoughResource(){
+		assertNull(humanPlayer.attemptToPlaceSellOrder(PlotSpecialism.ENERGY, 11, 6));
+		assertEquals(0, market.getOrderBook(PlotSpecialism.ENERGY).getRestingOrderCount());
+	}
+	
+	/**
+	 * Tests {@link Player#cancelOrder(Order)} ensures that a player can cancel their own order
+	 */
+	@Test
+	public void testCancelOrder(){
+		Order order = humanPlayer.attemptToPlaceSellOrder(PlotSpecialism.ORE, 10, 6);
+		assertTrue(humanPlayer.cancelOrder(order));
+		assertTrue(order.isCancelled());
+	}
+	
+	/**
+	 * Tests {@link Player#cancelOrder(Order)} ensures that a player can't cancel another player's order
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testCancelOtherPlayersOrder(){
+		Order order = humanPlayer.attemptToPlaceSellOrder(PlotSpecialism.ORE, 10, 6);
+		AIPlayer.cancelOrder(order);
+	}
+	
+	/**
+	 * Tests {@link Market#matchOrders()} ensures that the orders in both books are matched
+	 */
+	@Test
+	public void testMatchOrders(){
+		humanPlayer.attemptToPlaceSellOrder(PlotSpecialism.ORE, 4, 3);
+		AIPlayer.attemptToPlaceBuyOrder(PlotSpecialism.ORE, 4, 3);
+		AIPlayer.attemptToPlaceSellOrder(PlotSpecialism.ENERGY, 2, 7);
+		humanPlayer.attemptToPlaceBuyOrder(PlotSpecialism.ENERGY, 2, 7);
+		assertEquals(6, market.matchOrders());
+		assertEquals(14, AIPlayer.getOreQuantity());
+		assertEquals(12, humanPlayer.getEnergyQuantity());
+		assertEquals(50 + 12 - 14, humanPlayer.getMoneyQuantity());
+	}
+	
+	/**
+	 * Tests {@link Market#closeOrderBooks()} ensures that orders that are not matched are cancelled
+	 */
+	@Test
+	public void testCloseOrderBooks(){
+		Order sellOrder = humanPlayer.attemptToPlaceSellOrder(PlotSpecialism.ORE, 4, 9);
+		AIPlayer.attemptToPlaceBuyOrder(PlotSpecialism.ORE, 4, 3);
+		assertEquals(0, market.closeOrderBooks());
+		assertTrue(sellOrder.isCancelled());
+		assertEquals(0, market.getOrderBook(PlotSpecialism.ORE).getRestingOrderCount());
+	}
+	
+	/**
+	 * Ensures that the orders placed during the market phase are matched when the human player finishes with the market
+	 */
+	@Test
+	public void testOrdersMatchedAtEndOfMarketPhase(){
+		HeadlessPlotManager plotManager = new HeadlessPlotManager(CreatePlots.createPlots(4, 5, new GameRandom(3L)));
+		GameEngine gameEngine = new GameEngine(plotManager, humanPlayer, AIPlayer, listener);
+		gameEngine.resume(GamePhase.MARKET, humanPlayer, 1);
+		
+		Order sellOrder = humanPlayer.attemptToPlaceSellOrder(PlotSpecialism.ORE, 5, 2);
+		Order buyOrder = AIPlayer.attemptToPlaceBuyOrder(PlotSpecialism.ORE, 5, 2);
+		assertTrue(sellOrder.isActive());
+		
+		gameEngine.handleEvent(GameEvents.FINISHEDWITHTHEMARKET);
+		assertFalse(sellOrder.isActive());
+		assertFalse(buyOrder.isActive());
+		assertEquals(5, humanPlayer.getOreQuantity());
+		assertEquals(15, AIPlayer.getOreQuantity());
+	}
+	
+	/**
+	 * Ensures that AI players trade with each other using the order books when playing a whole game (a {@link PriceAwareStrategy}
+	 * bids for the resources that a {@link GreedyStrategy} would otherwise sell to the market once the market's prices have fallen)
+	 */
+	@Test
+	public void testAIPlayersTradeUsingOrders(){
+		market.setPricingEngine(new SupplyDemandPricingEngine());
+		HeadlessPlotManager plotManager = new HeadlessPlotManager(CreatePlots.createPlots(4, 5, new GameRandom(3L)));
+		AIPlayer priceAwarePlayer = new AIPlayer(new PlayerInventory(0, 0, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), 30), market, new PriceAwareStrategy());
+		AIPlayer greedyPlayer = new AIPlayer(new PlayerInventory(0, 0, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), 30), market, new GreedyStrategy());
+		new GameEngine(plotManager, priceAwarePlayer, greedyPlayer, null).start();
+		
+		long quantityTraded = market.getOrderBook(PlotSpecialism.ORE).getQuantityTraded() + market.getOrderBook(PlotSpecialism.ENERGY).getQuantityTraded();
+		assertTrue(quantityTraded > 0);
+		assertEquals(0, market.getOrderBook(PlotSpecialism.ORE).getRestingOrderCount()); // Closed at the end of every market phase
+		assertEquals(0, market.getOrderBook(PlotSpecialism.ENERGY).getRestingOrderCount());
+	}
+}
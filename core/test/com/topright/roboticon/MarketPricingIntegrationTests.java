@@ -0,0 +1,212 @@
+package com.topright.roboticon;
+
+import static org.junit.Assert.*;
+
+import java.util.EnumMap;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests for the prices used by {@link Market} (worked out by a {@link PricingEngine})
+ */
+public class MarketPricingIntegrationTests {
+	private Market market;
+	private PlayerInventory playerInventory;
+	private CountingPricingEngine countingPricingEngine;
+	
+	/**
+	 * A pricing engine that charges the stock + 1 and counts how many times it has been asked for a price
+	 */
+	private static class CountingPricingEngine implements PricingEngine {
+		int pricesWorkedOut = 0;
+		
+		@Override
+		public int getBuyPrice(int basePrice, int stock, int recentTradeVolume){
+			pricesWorkedOut++;
+			return stock + 1;
+		}
+		
+		@Override
+		public int getSellPrice(int basePrice, int stock, int recentTradeVolume){
+			pricesWorkedOut++;
+			return stock;
+		}
+	}
+	
+	/**
+	 * Runs before every test, creates a market and a player inventory with plenty of money, ore and energy
+	 */
+	@Before
+	public void setup(){
+		market = new Market(new MarketInventory(16,16,12));
+		playerInventory = new PlayerInventory(50, 50, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), 1000);
+		countingPricingEngine = new CountingPricingEngine();
+	}
+	
+	/**
+	 * Ensures that a market uses fixed prices unless it is given another pricing engine
+	 */
+	@Test
+	public void testFixedPricesByDefault(){
+		assertTrue(market.getPricingEngine() instanceof FixedPricingEngine);
+		market.attemptToBuyOre(playerInventory, 10);
+		assertEquals(5, market.getCostOre(1));
+		assertEquals(5, market.getSaleValueOre(1));
+		assertEquals(6, market.getCostEnergy(1));
+		assertEquals(6, market.getSaleValueEnergy(1));
+		assertEquals(10, market.getCostRoboticons(1));
+	}
+	
+	/**
+	 * Tests {@link Market#setPricingEngine(PricingEngine)} ensures that an exception is thrown if the engine is null
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testSetNullPricingEngine(){
+		market.setPricingEngine(null);
+	}
+	
+	/**
+	 * Ensures that the prices are taken from the pricing engine that has been set
+	 */
+	@Test
+	public void testPricesFromPricingEngine(){
+		market.getCostOre(1); // Caches the fixed prices
+		market.setPricingEngine(countingPricingEngine);
+		assertEquals(17, market.getCostOre(1));
+		assertEquals(16, market.getSaleValueOre(1));
+		assertEquals(13, market.getCostRoboticons(1));
+	}
+	
+	/**
+	 * Ensures that an order for more than one unit is priced at the stock that the market will have halfway through it
+	 */
+	@Test
+	public void testLargeOrderPricedHalfwayThrough(){
+		market.setPricingEngine(countingPricingEngine);
+		assertEquals((16 - 2 + 1)*4, market.getCostOre(4));
+		assertEquals((16 + 2)*4, market.getSaleValueOre(4));
+	}
+	
+	/**
+	 * Ensures that the prices of single units are not worked out again if nothing has changed
+	 */
+	@Test
+	public void testPricesCached(){
+		market.setPricingEngine(countingPricingEngine);
+		market.getCostOre(1);
+		int pricesWorkedOut = countingPricingEngine.pricesWorkedOut;
+		for(int query = 0; query < 100; query++){
+			market.getCostOre(1);
+			market.getSaleValueEnergy(1);
+			market.getCostRoboticons(1);
+		}
+		assertEquals(pricesWorkedOut, countingPricingEngine.pricesWorkedOut);
+	}
+	
+	/**
+	 * Ensures that the prices are worked out again once the market's stock changes
+	 */
+	@Test
+	public void testPricesWorkedOutAgainAfterTrade(){
+		market.setPricingEngine(countingPricingEngine);
+		market.getCostOre(1);
+		int pricesWorkedOut = countingPricingEngine.pricesWorkedOut;
+		assertTrue(market.attemptToBuyOre(playerInventory, 4));
+		assertEquals(13, market.getCostOre(1));
+		assertTrue(countingPricingEngine.pricesWorkedOut > pricesWorkedOut);
+	}
+	
+	/**
+	 * Ensures that the prices are worked out again if the market's inventory is changed directly
+	 */
+	@Test
+	public void testPricesWorkedOutAgainAfterInventoryChange(){
+		MarketInventory inventory = new MarketInventory(16,16,12);
+		market.setInventory(inventory);
+		market.setPricingEngine(countingPricingEngine);
+		market.getCostEnergy(1);
+		inventory.increaseEnergyQuantity(4);
+		assertEquals(21, market.getCostEnergy(1));
+	}
+	
+	/**
+	 * Ensures that buying a good from the market adds to its recent trade volume
+	 */
+	@Test
+	public void testBuyingAddsToTradeVolume(){
+		market.attemptToBuyOre(playerInventory, 3);
+		market.buyOreFromMarket(2);
+		market.attemptToBuyRoboticons(playerInventory, 1);
+		assertEquals(3 + 2, market.getRecentOreTradeVolume());
+		assertEquals(1, market.getRecentRoboticonTradeVolume());
+	}
+	
+	/**
+	 * Ensures that selling a good to the market takes away from its recent trade volume
+	 */
+	@Test
+	public void testSellingTakesAwayFromTradeVolume(){
+		market.attemptToSellEnergy(playerInventory, 4);
+		assertEquals(-4, market.getRecentEnergyTradeVolume());
+	}
+	
+	/**
+	 * Ensures that older trades count for less in the recent trade volume
+	 */
+	@Test
+	public void testTradeVolumeDecays(){
+		market.buyOreFromMarket(Market.TRADE_VOLUME_DECAY);
+		market.buyOreFromMarket(1);
+		assertEquals(Market.TRADE_VOLUME_DECAY - 1 + 1, market.getRecentOreTradeVolume());
+	}
+	
+	/**
+	 * Ensures that the price of ore goes up when players buy a lot of it
+	 */
+	@Test
+	public void testSupplyDemandBuyingRaisesPrice(){
+		market.setPricingEngine(new SupplyDemandPricingEngine());
+		int priceBefore = market.getCostOre(1);
+		assertTrue(market.attemptToBuyOre(playerInventory, 12));
+		assertTrue(market.getCostOre(1) > priceBefore);
+	}
+	
+	/**
+	 * Ensures that the price of energy goes down when players sell a lot of it
+	 */
+	@Test
+	public void testSupplyDemandSellingLowersPrice(){
+		market.setPricingEngine(new SupplyDemandPricingEngine());
+		int priceBefore = market.getSaleValueEnergy(1);
+		assertTrue(market.attemptToSellEnergy(playerInventory, 40));
+		assertTrue(market.getSaleValueEnergy(1) < priceBefore);
+	}
+	
+	/**
+	 * Ensures that a player who sells to the market is paid the price that was quoted before the market's stock went up
+	 */
+	@Test
+	public void testSaleUsesPriceBeforeTrade(){
+		market.setPricingEngine(new SupplyDemandPricingEngine());
+		int value = market.getSaleValueOre(20);
+		assertTrue(market.attemptToSellOre(playerInventory, 20));
+		assertEquals(1000 + value, playerInventory.getMoneyQuantity());
+	}
+	
+	/**
+	 * Ensures that a player who buys and then immediately sells the same ore ends up with less money (because of the spread), however much they trade
+	 */
+	@Test
+	public void testSpreadCostsRoundTrip(){
+		market.setPricingEngine(new SupplyDemandPricingEngine());
+		Player player = new Player(playerInventory, market);
+		for(int quantity = 1; quantity <= 16; quantity++){
+			int moneyBefore = player.getMoneyQuantity();
+			assertTrue(player.attemptToBuyOre(quantity));
+			assertTrue(player.attemptToSellOre(quantity));
+			assertTrue(player.getMoneyQuantity() < moneyBefore);
+		}
+		assertEquals(50, player.getOreQuantity());
+	}
+}
@@ -3,6 +3,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -476,7 +477,7 @@ public class MarketTestCase {
 	@Test
 	public void testAttemptToProduceRoboticonsHaveMoreThanEnoughOreReturnTrue(){
 		new Expectations(){{
-			inventory.getOreQuantity(); result = Market.getInstance().getRoboticonOreConversionRate()+99999; // More than enough ore
+			inventory.tryDecreaseOreQuantity(anyInt); result = true; // More than enough ore
 		}};
 		assertTrue(Market.getInstance().attemptToProduceRoboticon());
 	}
@@ -487,7 +488,7 @@ public class MarketTestCase {
 	@Test
 	public void testAttemptToProduceRoboticonsHaveMoreThanEnoughOreRoboticonAdded(){
 		new Expectations(){{
-			inventory.getOreQuantity(); result = Market.getInstance().getRoboticonOreConversionRate()+99999; // More than enough ore
+			inventory.tryDecreaseOreQuantity(anyInt); result = true; // More than enough ore
 		}};
 		Market.getInstance().attemptToProduceRoboticon();
 		new Verifications(){{
@@ -501,11 +502,11 @@ public class MarketTestCase {
 	@Test
 	public void testAttemptToProduceRoboticonsHaveMoreThanEnoughOreOreReduced(){
 		new Expectations(){{
-			inventory.getOreQuantity(); result = Market.getInstance().getRoboticonOreConversionRate()+99999; // More than enough ore
+			inventory.tryDecreaseOreQuantity(anyInt); result = true; // More than enough ore
 		}};
 		Market.getInstance().attemptToProduceRoboticon();
 		new Verifications(){{
-			inventory.decreaseOreQuantity(Market.getInstance().getRoboticonOreConversionRate()); times=1;
+			inventory.tryDecreaseOreQuantity(Market.getInstance().getRoboticonOreConversionRate()); times=1;
 		}};
 	}
 	
@@ -515,7 +516,7 @@ public class MarketTestCase {
 	@Test
 	public void testAttemptToProduceRoboticonsHaveExactlyEnoughOreReturnTrue(){
 		new Expectations(){{
-			inventory.getOreQuantity(); result = Market.getInstance().getRoboticonOreConversionRate(); // Exactly enough ore
+			inventory.tryDecreaseOreQuantity(anyInt); result = true; // Exactly enough ore
 		}};
 		assertTrue(Market.getInstance().attemptToProduceRoboticon());
 	}
@@ -526,7 +527,7 @@ public class MarketTestCase {
 	@Test
 	public void testAttemptToProduceRoboticonsHaveExactlyEnoughOreRoboticonAdded(){
 		new Expectations(){{
-			inventory.getOreQuantity(); result = Market.getInstance().getRoboticonOreConversionRate(); // Exactly enough ore
+			inventory.tryDecreaseOreQuantity(anyInt); result = true; // Exactly enough ore
 		}};
 		Market.getInstance().attemptToProduceRoboticon();
 		new Verifications(){{
@@ -540,11 +541,11 @@ public class MarketTestCase {
 	@Test
 	public void testAttemptToProduceRoboticonsHaveExactlyEnoughOreOreReduced(){
 		new Expectations(){{
-			inventory.getOreQuantity(); result = Market.getInstance().getRoboticonOreConversionRate(); // Exactly enough ore
+			inventory.tryDecreaseOreQuantity(anyInt); result = true; // Exactly enough ore
 		}};
 		Market.getInstance().attemptToProduceRoboticon();
 		new Verifications(){{
-			inventory.decreaseOreQuantity(Market.getInstance().getRoboticonOreConversionRate()); times=1;
+			inventory.tryDecreaseOreQuantity(Market.getInstance().getRoboticonOreConversionRate()); times=1;
 		}};
 	}
 
@@ -554,7 +555,7 @@ public class MarketTestCase {
 	@Test
 	public void testProduceRoboticonsNotEnoughOreReturnFalse(){
 		new Expectations(){{
-			inventory.getOreQuantity(); result = Market.getInstance().getRoboticonOreConversionRate() - 1; // Not enough ore
+			inventory.tryDecreaseOreQuantity(anyInt); result = false; // Not enough ore
 		}};
 		assertFalse(Market.getInstance().attemptToProduceRoboticon());
 	}
@@ -565,7 +566,7 @@ public class MarketTestCase {
 	@Test
 	public void testProduceRoboticonsNotEnoughOreNoOreRemoved(){
 		new Expectations(){{
-			inventory.getOreQuantity(); result = Market.getInstance().getRoboticonOreConversionRate() - 1; // Not enough ore
+			inventory.tryDecreaseOreQuantity(anyInt); result = false; // Not enough ore
 		}};
 		Market.getInstance().attemptToProduceRoboticon();
 		new Verifications(){{
@@ -579,7 +580,7 @@ public class MarketTestCase {
 	@Test
 	public void testProduceRoboticonsNotEnoughOreNoRoboticonsAdded(){
 		new Expectations(){{
-			inventory.getOreQuantity(); result = Market.getInstance().getRoboticonOreConversionRate() - 1; // Not enough ore
+			inventory.tryDecreaseOreQuantity(anyInt); result = false; // Not enough ore
 		}};
 		Market.getInstance().attemptToProduceRoboticon();
 		new Verifications(){{
@@ -610,4 +611,28 @@ public class MarketTestCase {
 	public void testGetCostRoboticonExceptionUnustomised(){
 		Market.getInstance().getCostRoboticonCustomisation(RoboticonCustomisation.UNCUSTOMISED);
 	}
+	
+	/**
+	 * Tests {@link Market#Market(MarketInventory)} ensures that an exception is thrown if the inventory is null
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testConstructorNullInventory(){
+		new Market(null);
+	}
+	
+	/**
+	 * Tests {@link Market#Market(MarketInventory)} ensures that a new market uses the inventory it was given and not the shared market's inventory
+	 */
+	@Test
+	public void testConstructorOwnInventory(@Mocked final MarketInventory otherInventory){
+		new Expectations(){{
+			otherInventory.getOreQuantity(); result = 3;
+		}};
+		Market otherMarket = new Market(otherInventory);
+		assertNotSame(Market.getInstance(), otherMarket);
+		otherMarket.buyOreFromMarket(2);
+		new Verifications(){{
+			otherInventory.decreaseOreQuantity(2); times=1;
+		}};
+	}
 }
@@ -0,0 +1,151 @@
+package com.topright.roboticon;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.*;
+
+/**
+ * Stress tests for the transactions in {@link Market} (many players trading with one market on different threads at the same time)
+ * <p>
+ * Checks that no ore, energy, roboticons or money are created or lost (other than the ore that the market turns into roboticons)
+ * and that no quantity ever becomes negative.
+ * </p>
+ */
+public class MarketTransactionStressTests {
+	private static final int THREADS = 8;
+	private static final int TRANSACTIONS_PER_THREAD = 20000;
+	private static final int STARTING_MONEY = 500;
+
+	private Market market;
+	private PlayerInventory[] traders;
+	private ExecutorService executor;
+	private AtomicInteger roboticonsProduced;
+
+	/**
+	 * Runs before every test, creates a market with little stock (so that transactions often fail) and one trader per thread
+	 */
+	@Before
+	public void setup(){
+		market = new Market(new MarketInventory(20, 20, 10));
+		traders = new PlayerInventory[THREADS];
+		for(int trader = 0; trader < THREADS; trader++){
+			traders[trader] = new PlayerInventory(5, 5, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), STARTING_MONEY);
+		}
+		executor = Executors.newFixedThreadPool(THREADS);
+		roboticonsProduced = new AtomicInteger();
+	}
+
+	/**
+	 * Runs after every test, stops the threads
+	 */
+	@After
+	public void shutdown(){
+		executor.shutdownNow();
+	}
+
+	/**
+	 * Carries out random transactions for a single trader once all traders are ready to start (some of which are the market
+	 * producing a roboticon, these are counted in roboticonsProduced)
+	 * @param trader The inventory of the trader
+	 * @param seed The seed used to choose the transactions
+	 * @param startingGun Counted down once all of the traders have been submitted (so that they all start at once)
+	 * @return The change in the trader's money that the successful transactions should have caused
+	 */
+	private Callable<Integer> createTrader(final PlayerInventory trader, final long seed, final CountDownLatch startingGun){
+		return new Callable<Integer>(){
+			@Override
+			public Integer call() throws Exception {
+				Random random = new Random(seed);
+				int moneyChange = 0;
+				startingGun.await();
+				for(int transaction = 0; transaction < TRANSACTIONS_PER_THREAD; transaction++){
+					int quantity = 1 + random.nextInt(3);
+					switch(random.nextInt(8)){
+					case 0:
+						if(market.attemptToBuyOre(trader, quantity)) moneyChange -= market.getCostOre(quantity);
+						break;
+					case 1:
+						if(market.attemptToSellOre(trader, quantity)) moneyChange += market.getCostOre(quantity);
+						break;
+					case 2:
+						if(market.attemptToBuyEnergy(trader, quantity)) moneyChange -= market.getCostEnergy(quantity);
+						break;
+					case 3:
+						if(market.attemptToSellEnergy(trader, quantity)) moneyChange += market.getCostEnergy(quantity);
+						break;
+					case 4:
+						if(market.attemptToBuyRoboticons(trader, 1)) moneyChange -= market.getCostRoboticons(1);
+						break;
+					case 5:
+						if(market.attemptToCustomiseRoboticon(trader, RoboticonCustomisation.ORE)) moneyChange -= market.getCostRoboticonCustomisation(RoboticonCustomisation.ORE);
+						break;
+					case 6:
+						if(market.attemptToProduceRoboticon()) roboticonsProduced.incrementAndGet();
+						break;
+					default:
+						if(market.attemptToCustomiseRoboticon(trader, RoboticonCustomisation.ENERGY)) moneyChange -= market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);
+					}
+					assertTrue(trader.getMoneyQuantity() >= 0);
+				}
+				return moneyChange;
+			}
+		};
+	}
+
+	/**
+	 * Tests the transactions in {@link Market} ensures that when many traders use the market at the same time the totals of ore, energy
+	 * and roboticons are conserved (taking into account the roboticons produced from ore by the market) and every trader's money matches
+	 * the transactions that they completed
+	 */
+	@Test
+	public void testConcurrentTransactionsTotalsConserved() throws Exception {
+		int totalOre = market.getOreQuantity();
+		int totalEnergy = market.getEnergyQuantity();
+		int totalRoboticons = market.getRoboticonQuantity();
+		for(PlayerInventory trader : traders){
+			totalOre += trader.getOreQuantity();
+			totalEnergy += trader.getEnergyQuantity();
+			totalRoboticons += trader.getTotalRoboticonQuantity();
+		}
+
+		CountDownLatch startingGun = new CountDownLatch(1);
+		List<Future<Integer>> moneyChanges = new ArrayList<Future<Integer>>(THREADS);
+		for(int trader = 0; trader < THREADS; trader++){
+			moneyChanges.add(executor.submit(createTrader(traders[trader], trader, startingGun)));
+		}
+		startingGun.countDown();
+
+		for(int trader = 0; trader < THREADS; trader++){
+			int moneyChange = moneyChanges.get(trader).get(60, TimeUnit.SECONDS); // Rethrows any failure on the trader's thread
+			assertEquals(STARTING_MONEY + moneyChange, traders[trader].getMoneyQuantity());
+		}
+		int oreAfter = market.getOreQuantity();
+		int energyAfter = market.getEnergyQuantity();
+		int roboticonsAfter = market.getRoboticonQuantity();
+		for(PlayerInventory trader : traders){
+			assertTrue(trader.getOreQuantity() >= 0);
+			assertTrue(trader.getEnergyQuantity() >= 0);
+			oreAfter += trader.getOreQuantity();
+			energyAfter += trader.getEnergyQuantity();
+			roboticonsAfter += trader.getTotalRoboticonQuantity();
+		}
+
+		assertTrue(market.getOreQuantity() >= 0);
+		assertTrue(market.getEnergyQuantity() >= 0);
+		assertTrue(market.getRoboticonQuantity() >= 0);
+		assertEquals(totalOre, oreAfter + roboticonsProduced.get()*market.getRoboticonOreConversionRate());
+		assertEquals(totalEnergy, energyAfter);
+		assertEquals(totalRoboticons + roboticonsProduced.get(), roboticonsAfter);
+	}
+}
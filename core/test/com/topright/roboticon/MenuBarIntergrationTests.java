@@ -8,8 +8,6 @@ import java.util.concurrent.TimeUnit;
 import org.junit.Before;
 import org.junit.Test;
 
-import com.badlogic.gdx.ai.msg.MessageDispatcher;
-import com.badlogic.gdx.ai.msg.MessageManager;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
 import com.badlogic.gdx.utils.Array;
@@ -27,7 +25,7 @@ public class MenuBarIntergrationTests extends GuiTest {
 	private MenuBar menuBar;
 	Player player;
 	PlayerInventory playerInventory;
-	MessageDispatcher messageDispatcher;
+	GameEventBus eventBus;
 	
 	
 	/**
@@ -43,7 +41,7 @@ public class MenuBarIntergrationTests extends GuiTest {
 		menuBar = new MenuBar();
 		stage.addActor(menuBar);
 		
-		messageDispatcher = MessageManager.getInstance();
+		eventBus = GameEventBus.getInstance();
 	}
 	
 	/**
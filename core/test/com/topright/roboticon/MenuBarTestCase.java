@@ -8,8 +8,6 @@ import java.util.concurrent.TimeUnit;
 import org.junit.Before;
 import org.junit.Test;
 
-import com.badlogic.gdx.ai.msg.MessageDispatcher;
-import com.badlogic.gdx.ai.msg.MessageManager;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
 import com.badlogic.gdx.utils.Array;
@@ -27,7 +25,7 @@ public class MenuBarTestCase extends GuiTest {
 	private MenuBar menuBar;
 	@Mocked Player player;
 	@Mocked PlayerInventory playerInventory;
-	@Mocked MessageDispatcher messageDispatcher;
+	@Mocked GameEventBus eventBus;
 	
 	
 	/**
@@ -43,7 +41,7 @@ public class MenuBarTestCase extends GuiTest {
 		menuBar = new MenuBar();
 		stage.addActor(menuBar);
 		
-		messageDispatcher = MessageManager.getInstance();
+		eventBus = GameEventBus.getInstance();
 	}
 	
 	/**
@@ -280,65 +278,65 @@ public class MenuBarTestCase extends GuiTest {
 	}
 	
 	/**
-	 * Tests {@link MenuBar#setAndShowNextStageButton(String, int)} ensures that the next stage button is shown once setAndShowNextStageButton is called
+	 * Tests {@link MenuBar#setAndShowNextStageButton(String, GameEvents)} ensures that the next stage button is shown once setAndShowNextStageButton is called
 	 */
 	@Test
 	public void testNextShowAndSetStageButtonShow(){
 	
 		// The button will have menuBar as its parent if it is displayed on the menuBar
-		menuBar.setAndShowNextStageButton("test", 0);
+		menuBar.setAndShowNextStageButton("test", GameEvents.PLOTAQUIRED);
 		assertEquals(menuBar.getNextStageButton().getParent(),menuBar);
 	}
 	
 	/**
-	 * Tests {@link MenuBar#setAndShowNextStageButton(String, int)} ensures that the next stage button displays the correct text ("test1") after setAndShowNextStageButton is called
+	 * Tests {@link MenuBar#setAndShowNextStageButton(String, GameEvents)} ensures that the next stage button displays the correct text ("test1") after setAndShowNextStageButton is called
 	 */
 	@Test
 	public void testNextShowAndSetStageButtonCorrectTextTest1(){
 	
 		// The button will have menuBar as its parent if it is displayed on the menuBar
-		menuBar.setAndShowNextStageButton("test1", 0);
+		menuBar.setAndShowNextStageButton("test1", GameEvents.PLOTAQUIRED);
 		assertEquals(menuBar.getNextStageButton().getText().toString(),"test1");
 	}
 	
 	/**
-	 * Tests {@link MenuBar#setAndShowNextStageButton(String, int)} ensures that the next stage button displays the correct text ("Test 2") after setAndShowNextStageButton is called
+	 * Tests {@link MenuBar#setAndShowNextStageButton(String, GameEvents)} ensures that the next stage button displays the correct text ("Test 2") after setAndShowNextStageButton is called
 	 */
 	@Test
 	public void testNextShowAndSetStageButtonCorrectTextTest2(){
 	
 		// The button will have menuBar as its parent if it is displayed on the menuBar
-		menuBar.setAndShowNextStageButton("Test 2", 0);
+		menuBar.setAndShowNextStageButton("Test 2", GameEvents.PLOTAQUIRED);
 		assertEquals(menuBar.getNextStageButton().getText().toString(),"Test 2");
 	}
 	
 	/**
-	 * Tests {@link MenuBar#setAndShowNextStageButton(String, int)} ensures that the correct message (0) is dispatched when the next stage button is clicked 
+	 * Tests {@link MenuBar#setAndShowNextStageButton(String, GameEvents)} ensures that the correct message (PLOTAQUIRED) is dispatched when the next stage button is clicked 
 	 * after setAndShowNextStageButton is called
 	 */
 	@Test
-	public void testNextShowAndSetStageButtonCorrectMessagePassedWhenClickedZero(){
+	public void testNextShowAndSetStageButtonCorrectMessagePassedWhenClickedPlotAquired(){
 	
 		// The button will have menuBar as its parent if it is displayed on the menuBar
-		menuBar.setAndShowNextStageButton("Test 2", 0);
+		menuBar.setAndShowNextStageButton("Test 2", GameEvents.PLOTAQUIRED);
 		clickActor(menuBar.getNextStageButton());
 		new Verifications(){{
-			messageDispatcher.dispatchMessage(0);
+			eventBus.dispatch(GameEvents.PLOTAQUIRED);
 		}};
 	}
 	
 	/**
-	 * Tests {@link MenuBar#setAndShowNextStageButton(String, int)} ensures that the correct message (9) is dispatched when the next stage button is clicked 
+	 * Tests {@link MenuBar#setAndShowNextStageButton(String, GameEvents)} ensures that the correct message (PLAYERINVENTORYUPDATE) is dispatched when the next stage button is clicked 
 	 * after setAndShowNextStageButton is called
 	 */
 	@Test
-	public void testNextShowAndSetStageButtonCorrectMessagePassedWhenClickedNine(){
+	public void testNextShowAndSetStageButtonCorrectMessagePassedWhenClickedPlayerInventoryUpdate(){
 	
 		// The button will have menuBar as its parent if it is displayed on the menuBar
-		menuBar.setAndShowNextStageButton("Test 2", 9);
+		menuBar.setAndShowNextStageButton("Test 2", GameEvents.PLAYERINVENTORYUPDATE);
 		clickActor(menuBar.getNextStageButton());
 		new Verifications(){{
-			messageDispatcher.dispatchMessage(9);
+			eventBus.dispatch(GameEvents.PLAYERINVENTORYUPDATE);
 		}};
 	}
 	
@@ -347,7 +345,7 @@ public class MenuBarTestCase extends GuiTest {
 	 */
 	@Test
 	public void testHideNextStageButtonHidden(){
-		menuBar.setAndShowNextStageButton("test", 0); // Show the button
+		menuBar.setAndShowNextStageButton("test", GameEvents.PLOTAQUIRED); // Show the button
 		menuBar.hideNextStageButton();
 		
 		// If the button is not on screen (hidden) it will not have a parent
@@ -355,14 +353,14 @@ public class MenuBarTestCase extends GuiTest {
 	}
 	
 	/**
-	 * Tests {@link MenuBar#setTimer(int, int)} ensures that the timer label is displayed and updated/reduced every second
+	 * Tests {@link MenuBar#setTimer(GameEvents, int)} ensures that the timer label is displayed and updated/reduced every second
 	 * @throws InterruptedException 
 	 */
 	@Test
 	public void testSetTimerLabelDisplayedThree() throws InterruptedException{
 		menuBar.setMenuText("test");
 		int timeLeft =3; // The time to pause for
-		menuBar.setTimer(0,timeLeft);
+		menuBar.setTimer(GameEvents.PLOTAQUIRED,timeLeft);
 		TimeUnit.SECONDS.sleep(1); // Wait 1 second to ensure that the timer label is displayed
 		
 		while(timeLeft>1){
@@ -383,14 +381,14 @@ public class MenuBarTestCase extends GuiTest {
 	}
 	
 	/**
-	 * Tests {@link MenuBar#setTimer(int, int)} ensures that the timer label is displayed and updated/reduced every second for four seconds
+	 * Tests {@link MenuBar#setTimer(GameEvents, int)} ensures that the timer label is displayed and updated/reduced every second for four seconds
 	 * @throws InterruptedException 
 	 */
 	@Test
 	public void testSetTimerLabelDisplayedFour() throws InterruptedException{
 		menuBar.setMenuText("test");
 		int timeLeft = 4; // The time to pause for
-		menuBar.setTimer(0,timeLeft);
+		menuBar.setTimer(GameEvents.PLOTAQUIRED,timeLeft);
 		TimeUnit.SECONDS.sleep(1); // Wait 1 second to ensure that the timer label is displayed
 		
 		while(timeLeft>1){
@@ -411,7 +409,7 @@ public class MenuBarTestCase extends GuiTest {
 	}
 	
 	/**
-	 * Tests {@link MenuBar#setTimer(int, int)} enures that the message to pass when the timer 
+	 * Tests {@link MenuBar#setTimer(GameEvents, int)} enures that the message to pass when the timer 
 	 * runs out is not passed before the timer reaches 0
 	 * @throws InterruptedException 
 	 */
@@ -419,14 +417,14 @@ public class MenuBarTestCase extends GuiTest {
 	public void testSetTimerLabelMessageNotPassedBeforeFinishedZero() throws InterruptedException{
 		menuBar.setMenuText("test");
 		int timeLeft = 4; // The time to pause for
-		menuBar.setTimer(0,timeLeft);
+		menuBar.setTimer(GameEvents.PLOTAQUIRED,timeLeft);
 		TimeUnit.SECONDS.sleep(1); 
 		
 		while(timeLeft>1){
 			timeLeft--;
 			
 			new Verifications(){{
-				messageDispatcher.dispatchMessage(anyInt);times=0;
+				eventBus.dispatch((GameEvents)any);times=0;
 			}};
 			TimeUnit.SECONDS.sleep(1);
 		}
@@ -435,7 +433,7 @@ public class MenuBarTestCase extends GuiTest {
 	}
 	
 	/**
-	 * Tests {@link MenuBar#setTimer(int, int)} ensures that the correct message is passed 
+	 * Tests {@link MenuBar#setTimer(GameEvents, int)} ensures that the correct message is passed 
 	 * when the timer runs out is passed when the timer reaches 0
 	 * @throws InterruptedException 
 	 */
@@ -443,16 +441,16 @@ public class MenuBarTestCase extends GuiTest {
 	public void testSetTimerLabelMessagePassedWhenTimerRunsOut() throws InterruptedException{
 		menuBar.setMenuText("test");
 		int time = 4; // The time to pause for
-		menuBar.setTimer(0,time);
+		menuBar.setTimer(GameEvents.PLOTAQUIRED,time);
 		TimeUnit.SECONDS.sleep(time); 
 		
 		new Verifications(){{
-			messageDispatcher.dispatchMessage(0);times=1;
+			eventBus.dispatch(GameEvents.PLOTAQUIRED);times=1;
 		}};
 	}
 	
 	/**
-	 * Tests {@link MenuBar#setTimer(int, int)} ensures that the correct message is passed 
+	 * Tests {@link MenuBar#setTimer(GameEvents, int)} ensures that the correct message is passed 
 	 * when the timer runs out is passed when the timer reaches 0
 	 * @throws InterruptedException 
 	 */
@@ -460,11 +458,11 @@ public class MenuBarTestCase extends GuiTest {
 	public void testSetTimerLabelMessagePassedWhenTimerRunsOut2() throws InterruptedException{
 		menuBar.setMenuText("test");
 		int time = 3; // The time to pause for
-		menuBar.setTimer(2,time);
+		menuBar.setTimer(GameEvents.FINISHEDCUSTOMISINGROBOTICONS,time);
 		TimeUnit.SECONDS.sleep(time);
 		
 		new Verifications(){{
-			messageDispatcher.dispatchMessage(2);times=1;
+			eventBus.dispatch(GameEvents.FINISHEDCUSTOMISINGROBOTICONS);times=1;
 		}};
 	}
 	
@@ -477,7 +475,7 @@ public class MenuBarTestCase extends GuiTest {
 	public void testClearTimerMessageNotDispatchedWhenTimerRunsOut() throws InterruptedException{
 		menuBar.setMenuText("test");
 		int timeLeft = 4; // The time to pause for
-		menuBar.setTimer(0,timeLeft);
+		menuBar.setTimer(GameEvents.PLOTAQUIRED,timeLeft);
 		menuBar.clearTimer();
 		TimeUnit.SECONDS.sleep(1); 
 		
@@ -487,7 +485,7 @@ public class MenuBarTestCase extends GuiTest {
 			TimeUnit.SECONDS.sleep(1);
 		}
 		new Verifications(){{
-			messageDispatcher.dispatchMessage(anyInt);times=0; 
+			eventBus.dispatch((GameEvents)any);times=0; 
 			// Message that was supposed to be dispatched when the timer ran out is not
 		}};
 	}
@@ -498,10 +496,10 @@ public class MenuBarTestCase extends GuiTest {
 	 */
 	@Test
 	public void testClearTimerMessageNotDispatchedInstantly(){		
-		menuBar.setTimer(0,10);
+		menuBar.setTimer(GameEvents.PLOTAQUIRED,10);
 		menuBar.clearTimer();
 		new Verifications(){{
-			messageDispatcher.dispatchMessage(anyInt);times=0; 
+			eventBus.dispatch((GameEvents)any);times=0; 
 			// Message that was supposed to be dispatched when the timer ran out is not
 		}};
 	}
@@ -514,7 +512,7 @@ public class MenuBarTestCase extends GuiTest {
 	public void testClearTimerNotDisplayed() throws InterruptedException{		
 		menuBar.setMenuText("test");
 		int timeLeft =3; // The time to pause for
-		menuBar.setTimer(0,timeLeft);
+		menuBar.setTimer(GameEvents.PLOTAQUIRED,timeLeft);
 		TimeUnit.SECONDS.sleep(1); // Wait 1 second to ensure that the timer label is displayed
 		menuBar.clearTimer();
 		
@@ -0,0 +1,241 @@
+package com.topright.roboticon;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test case for {@link MetricsRegistry}, including the timings and counts that are given to it by the rest of the game
+ */
+public class MetricsRegistryTestCase {
+	private MetricsRegistry metrics;
+
+	/**
+	 * Runs before every test, creates a registry of its own and enables the shared registry (which is used by the rest of the game)
+	 */
+	@Before
+	public void setup(){
+		metrics = new MetricsRegistry();
+		MetricsRegistry.getInstance().reset();
+		MetricsRegistry.getInstance().setEnabled(true);
+	}
+
+	/**
+	 * Runs after every test, disables the shared registry again
+	 */
+	@After
+	public void tearDown(){
+		MetricsRegistry.getInstance().setEnabled(false);
+		MetricsRegistry.getInstance().reset();
+	}
+
+	/**
+	 * Returns the inventory of a player who has no roboticons
+	 * @param ore The quantity of ore
+	 * @param money The quantity of money
+	 * @return The inventory
+	 */
+	private static PlayerInventory playerInventory(int ore, int money){
+		return new PlayerInventory(ore, 0, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), money);
+	}
+
+	/**
+	 * Tests {@link MetricsRegistry#getInstance()} ensures that the same instance is always returned
+	 */
+	@Test
+	public void testGetInstance(){
+		assertSame(MetricsRegistry.getInstance(), MetricsRegistry.getInstance());
+	}
+
+	/**
+	 * Tests {@link MetricsRegistry#MetricsRegistry()} ensures that nothing is recorded until the registry has been enabled
+	 */
+	@Test
+	public void testDisabledByDefault(){
+		assertFalse(metrics.isEnabled());
+		metrics.recordPhaseDuration(GamePhase.MARKET, 1000);
+		metrics.recordAIDecision(GamePhase.MARKET, 1000);
+		metrics.recordFrameTime(1000);
+		assertTrue(metrics.countTransaction(MarketTransaction.BUYORE, true));
+		assertFalse(metrics.countTransaction(MarketTransaction.BUYORE, false));
+		assertEquals(0, metrics.getPhaseDurations(GamePhase.MARKET).getCount());
+		assertEquals(0, metrics.getAIDecisionLatencies(GamePhase.MARKET).getCount());
+		assertEquals(0, metrics.getFrameTimes().getCount());
+		assertEquals(0, metrics.getAcceptedTransactions(MarketTransaction.BUYORE));
+		assertEquals(0, metrics.getRejectedTransactions(MarketTransaction.BUYORE));
+	}
+
+	/**
+	 * Tests {@link MetricsRegistry#recordPhaseDuration(GamePhase, long)} ensures that each phase is recorded separately
+	 */
+	@Test
+	public void testRecordPhaseDuration(){
+		metrics.setEnabled(true);
+		metrics.recordPhaseDuration(GamePhase.PLOTACQUISITION, 2000);
+		metrics.recordPhaseDuration(GamePhase.PLOTACQUISITION, 4000);
+		metrics.recordPhaseDuration(GamePhase.MARKET, 9000);
+		assertEquals(2, metrics.getPhaseDurations(GamePhase.PLOTACQUISITION).getCount());
+		assertEquals(3000, metrics.getPhaseDurations(GamePhase.PLOTACQUISITION).getMean(), 0.0001);
+		assertEquals(1, metrics.getPhaseDurations(GamePhase.MARKET).getCount());
+		assertEquals(0, metrics.getPhaseDurations(GamePhase.PRODUCTION).getCount());
+	}
+
+	/**
+	 * Tests {@link MetricsRegistry#recordAIDecision(GamePhase, long)} ensures that the decisions are recorded separately from the phases
+	 */
+	@Test
+	public void testRecordAIDecision(){
+		metrics.setEnabled(true);
+		metrics.recordAIDecision(GamePhase.BUYINGROBOTICONS, 500);
+		assertEquals(1, metrics.getAIDecisionLatencies(GamePhase.BUYINGROBOTICONS).getCount());
+		assertEquals(500, metrics.getAIDecisionLatencies(GamePhase.BUYINGROBOTICONS).getMax());
+		assertEquals(0, metrics.getPhaseDurations(GamePhase.BUYINGROBOTICONS).getCount());
+	}
+
+	/**
+	 * Tests {@link MetricsRegistry#recordFrameTime(long)} ensures that the frame times are recorded
+	 */
+	@Test
+	public void testRecordFrameTime(){
+		metrics.setEnabled(true);
+		metrics.recordFrameTime(16000000);
+		metrics.recordFrameTime(17000000);
+		assertEquals(2, metrics.getFrameTimes().getCount());
+		assertEquals(16000000, metrics.getFrameTimes().getMin());
+	}
+
+	/**
+	 * Tests {@link MetricsRegistry#countTransaction(MarketTransaction, boolean)} ensures that accepted and rejected transactions of each kind
+	 * are counted separately and that the result is passed back
+	 */
+	@Test
+	public void testCountTransaction(){
+		metrics.setEnabled(true);
+		assertTrue(metrics.countTransaction(MarketTransaction.SELLORE, true));
+		assertTrue(metrics.countTransaction(MarketTransaction.SELLORE, true));
+		assertFalse(metrics.countTransaction(MarketTransaction.SELLORE, false));
+		assertEquals(2, metrics.getAcceptedTransactions(MarketTransaction.SELLORE));
+		assertEquals(1, metrics.getRejectedTransactions(MarketTransaction.SELLORE));
+		assertEquals(0, metrics.getAcceptedTransactions(MarketTransaction.SELLENERGY));
+	}
+
+	/**
+	 * Tests {@link MetricsRegistry#reset()} ensures that everything that was recorded is forgotten (and that the registry stays enabled)
+	 */
+	@Test
+	public void testReset(){
+		metrics.setEnabled(true);
+		metrics.recordPhaseDuration(GamePhase.MARKET, 1000);
+		metrics.recordFrameTime(1000);
+		metrics.countTransaction(MarketTransaction.BUYENERGY, false);
+		metrics.reset();
+		assertTrue(metrics.isEnabled());
+		assertEquals(0, metrics.getPhaseDurations(GamePhase.MARKET).getCount());
+		assertEquals(0, metrics.getFrameTimes().getCount());
+		assertEquals(0, metrics.getRejectedTransactions(MarketTransaction.BUYENERGY));
+	}
+
+	/**
+	 * Tests {@link MetricsRegistry#writeCsv(java.io.Writer)} ensures that a header is written followed by a row for every histogram and
+	 * for every transaction count (with the timings in microseconds)
+	 * @throws IOException If the CSV could not be written
+	 */
+	@Test
+	public void testWriteCsv() throws IOException{
+		metrics.setEnabled(true);
+		metrics.recordPhaseDuration(GamePhase.MARKET, 3000);
+		metrics.countTransaction(MarketTransaction.BUYROBOTICONS, true);
+		StringWriter writer = new StringWriter();
+		metrics.writeCsv(writer);
+		String[] rows = writer.toString().split("\n");
+		assertEquals("metric,count,mean_us,p50_us,p90_us,p99_us,p999_us,max_us", rows[0]);
+		assertEquals(1 + GamePhase.values().length * 2 + 1 + MarketTransaction.values().length * 2, rows.length);
+		assertTrue(writer.toString().contains("\nphase.market,1,3.0,3.0,3.0,3.0,3.0,3.0\n"));
+		assertTrue(writer.toString().contains("\nmarket.buyroboticons.accepted,1,,,,,,\n"));
+		assertTrue(writer.toString().contains("\nframe,0,"));
+	}
+
+	/**
+	 * Tests {@link MetricsRegistry#writeCsv(Path)} ensures that the CSV is written to the file
+	 * @throws IOException If the file could not be written
+	 */
+	@Test
+	public void testWriteCsvFile() throws IOException{
+		Path file = Files.createTempFile("metrics", ".csv");
+		try{
+			metrics.writeCsv(file);
+			List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+			assertEquals("metric,count,mean_us,p50_us,p90_us,p99_us,p999_us,max_us", lines.get(0));
+		}
+		finally{
+			Files.delete(file);
+		}
+	}
+
+	/**
+	 * Tests {@link Market#attemptToBuyOre(PlayerInventory, int)} ensures that accepted and rejected attempts are counted
+	 */
+	@Test
+	public void testMarketTransactionsCounted(){
+		Market market = new Market(new MarketInventory(10, 10, 10));
+		assertTrue(market.attemptToBuyOre(playerInventory(0, 1000), 1));
+		assertFalse(market.attemptToBuyOre(playerInventory(0, 0), 1)); // Not enough money
+		assertFalse(market.attemptToSellOre(playerInventory(0, 0), 1)); // No ore to sell
+		MetricsRegistry shared = MetricsRegistry.getInstance();
+		assertEquals(1, shared.getAcceptedTransactions(MarketTransaction.BUYORE));
+		assertEquals(1, shared.getRejectedTransactions(MarketTransaction.BUYORE));
+		assertEquals(1, shared.getRejectedTransactions(MarketTransaction.SELLORE));
+	}
+
+	/**
+	 * Tests {@link Player#attemptToSellOre(int)} ensures that accepted and rejected attempts are counted
+	 */
+	@Test
+	public void testPlayerTransactionsCounted(){
+		Player player = new Player(playerInventory(1, 0), new Market(new MarketInventory(10, 10, 10)));
+		assertTrue(player.attemptToSellOre(1));
+		assertFalse(player.attemptToSellOre(1)); // The player has no ore left
+		assertEquals(1, MetricsRegistry.getInstance().getAcceptedTransactions(MarketTransaction.SELLORE));
+		assertEquals(1, MetricsRegistry.getInstance().getRejectedTransactions(MarketTransaction.SELLORE));
+	}
+
+	/**
+	 * Tests {@link Market#attemptToBuyOre(PlayerInventory, int)} ensures that nothing is counted while the shared registry is disabled
+	 */
+	@Test
+	public void testTransactionsNotCountedWhenDisabled(){
+		MetricsRegistry.getInstance().setEnabled(false);
+		Market market = new Market(new MarketInventory(10, 10, 10));
+		market.attemptToBuyOre(playerInventory(0, 1000), 1);
+		assertEquals(0, MetricsRegistry.getInstance().getAcceptedTransactions(MarketTransaction.BUYORE));
+	}
+
+	/**
+	 * Tests {@link GameEngine} and {@link AIPlayer} ensure that the duration of every phase and the time taken by every AI decision are
+	 * recorded when AI only games are played
+	 */
+	@Test
+	public void testGamesRecordPhasesAndAIDecisions(){
+		SimulationRunner.runGames(2, 1, 1, 0, 2);
+		MetricsRegistry shared = MetricsRegistry.getInstance();
+		for(GamePhase phase : GamePhase.values()){
+			if(phase != GamePhase.GAMEOVER){
+				assertTrue(shared.getPhaseDurations(phase).getCount() > 0);
+			}
+		}
+		assertEquals(0, shared.getAIDecisionLatencies(GamePhase.PRODUCTION).getCount()); // The AI players make no decisions in this phase
+		assertEquals(0, shared.getPhaseDurations(GamePhase.GAMEOVER).getCount()); // The game never leaves this phase
+		assertEquals(shared.getPhaseDurations(GamePhase.PLOTACQUISITION).getCount(), shared.getAIDecisionLatencies(GamePhase.PLOTACQUISITION).getCount());
+		assertEquals(shared.getPhaseDurations(GamePhase.MARKET).getCount() * 2 * 2, shared.getAIDecisionLatencies(GamePhase.MARKET).getCount()); // Both players place orders then trade
+	}
+}
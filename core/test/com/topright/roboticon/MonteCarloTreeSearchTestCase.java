@@ -0,0 +1,146 @@
+package com.topright.roboticon;
+
+import static org.junit.Assert.*;
+
+import java.util.EnumMap;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test case for {@link MonteCarloTreeSearch}
+ */
+public class MonteCarloTreeSearchTestCase {
+	private Market market;
+	private Player searcher;
+	private Player opponent;
+	private Plot[][] plots;
+	
+	/**
+	 * Runs before every test, creates a 2 by 3 grid of unacquired plots and two players with some money
+	 */
+	@Before
+	public void setup(){
+		market = new Market(new MarketInventory(0, 16, 12));
+		searcher = new AIPlayer(new PlayerInventory(0, 0, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), 30), market);
+		opponent = new AIPlayer(new PlayerInventory(0, 0, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), 30), market);
+		plots = new Plot[2][3];
+		for(int row = 0; row < 2; row++){
+			for(int column = 0; column < 3; column++){
+				plots[row][column] = new Plot((column%2 == 0) ? PlotSpecialism.ORE : PlotSpecialism.ENERGY);
+			}
+		}
+	}
+	
+	/**
+	 * Creates a search for the plot that the searcher acquires first
+	 * @param seed The seed used by the rollouts
+	 * @return The search
+	 */
+	private MonteCarloTreeSearch createPlotSearch(long seed){
+		return new MonteCarloTreeSearch(new SearchState(plots, market, searcher, opponent, true), GamePhase.PLOTACQUISITION, 3, new GameRandom(seed));
+	}
+	
+	/**
+	 * Tests {@link MonteCarloTreeSearch#run(int, long)} ensures that the given number of rollouts are played and every one starts with a root action
+	 */
+	@Test
+	public void testRunPlaysGivenNumberOfRollouts(){
+		MonteCarloTreeSearch search = createPlotSearch(1L).run(50, Long.MAX_VALUE);
+		
+		assertEquals(50, search.getRollouts());
+		int visits = 0;
+		for(int action : search.getRootActions()){
+			assertTrue(search.getVisits(action) > 0);
+			visits += search.getVisits(action);
+		}
+		assertEquals(50, visits);
+	}
+	
+	/**
+	 * Tests {@link MonteCarloTreeSearch#run(int, long)} ensures that no rollouts are played once the deadline has passed
+	 */
+	@Test
+	public void testRunStopsAtDeadline(){
+		assertEquals(0, createPlotSearch(1L).run(Integer.MAX_VALUE, System.nanoTime()).getRollouts());
+	}
+	
+	/**
+	 * Tests {@link MonteCarloTreeSearch#run(int, long)} ensures that rollouts do not change the game that is being searched
+	 */
+	@Test
+	public void testRunDoesNotChangeGame(){
+		createPlotSearch(1L).run(50, Long.MAX_VALUE);
+		
+		for(Plot[] row : plots){
+			for(Plot plot : row){
+				assertFalse(plot.hasBeenAcquired());
+			}
+		}
+		assertEquals(30, searcher.getMoneyQuantity());
+		assertEquals(16, market.getEnergyQuantity());
+	}
+	
+	/**
+	 * Tests {@link MonteCarloTreeSearch#run(int, long)} ensures that searches with the same seed find the same results
+	 */
+	@Test
+	public void testSameSeedSameResults(){
+		MonteCarloTreeSearch search = createPlotSearch(3L).run(100, Long.MAX_VALUE);
+		MonteCarloTreeSearch sameSearch = createPlotSearch(3L).run(100, Long.MAX_VALUE);
+		
+		for(int action : search.getRootActions()){
+			assertEquals(search.getVisits(action), sameSearch.getVisits(action));
+			assertEquals(search.getTotalReward(action), sameSearch.getTotalReward(action), 0);
+		}
+	}
+	
+	/**
+	 * Tests {@link MonteCarloTreeSearch#getRootActions()} ensures that only specialisms with unacquired plots can be chosen
+	 */
+	@Test
+	public void testPlotRootActions(){
+		plots[0][1].setPlayer(opponent);
+		plots[1][1].setPlayer(searcher);
+		
+		assertArrayEquals(new int[]{PlotSpecialism.ORE.ordinal()}, createPlotSearch(1L).getRootActions());
+	}
+	
+	/**
+	 * Tests {@link MonteCarloTreeSearch#getRootActions()} ensures that every market action can be chosen in the market phase
+	 */
+	@Test
+	public void testMarketRootActions(){
+		MonteCarloTreeSearch search = new MonteCarloTreeSearch(new SearchState(plots, market, searcher, opponent, true), GamePhase.MARKET, 3, new GameRandom(1L));
+		
+		assertEquals(MonteCarloTreeSearch.MARKET_ACTIONS, search.getRootActions().length);
+	}
+	
+	/**
+	 * Tests {@link MonteCarloTreeSearch#run(int, long)} ensures that in the last market phase of the game selling everything is tried the most (as only money counts towards the score)
+	 */
+	@Test
+	public void testLastMarketPhaseSellsEverything(){
+		for(int column = 0; column < 3; column++){
+			plots[0][column].setPlayer(searcher);
+			plots[1][column].setPlayer(opponent);
+		}
+		searcher.increaseOreQuantity(4);
+		searcher.increaseEnergyQuantity(4);
+		MonteCarloTreeSearch search = new MonteCarloTreeSearch(new SearchState(plots, market, searcher, opponent, true), GamePhase.MARKET, 0, new GameRandom(1L));
+		search.run(300, Long.MAX_VALUE);
+		
+		int sellEverything = MonteCarloTreeSearch.MARKET_ACTIONS - 1;
+		for(int action = 0; action < sellEverything; action++){
+			assertTrue(search.getVisits(sellEverything) > search.getVisits(action));
+		}
+	}
+	
+	/**
+	 * Tests {@link MonteCarloTreeSearch#MonteCarloTreeSearch} ensures that an exception is thrown if the phase is not one in which the searcher makes a decision
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testInvalidPhase(){
+		new MonteCarloTreeSearch(new SearchState(plots, market, searcher, opponent, true), GamePhase.PRODUCTION, 3, new GameRandom(1L));
+	}
+}
@@ -0,0 +1,355 @@
+package com.topright.roboticon;
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.util.EnumMap;
+
+import org.junit.*;
+import mockit.*;
+import mockit.integration.junit4.*;
+import org.junit.runner.RunWith;
+
+/**
+ * Test case for {@link NetworkProtocol}
+ */
+
+@RunWith(JMockit.class)
+public class NetworkProtocolTestCase {
+	@Mocked private ClientMessageHandler clientHandler;
+	@Mocked private ServerMessageHandler serverHandler;
+
+	/**
+	 * Reads the only frame in an encoded buffer (ensuring that the whole buffer is one frame)
+	 * @param encoded The encoded frame
+	 * @return The type and payload of the frame
+	 */
+	private ByteBuffer readOnlyFrame(ByteBuffer encoded){
+		ByteBuffer frame = NetworkProtocol.readFrame(encoded);
+		assertNotNull(frame);
+		assertFalse(encoded.hasRemaining());
+		return frame;
+	}
+
+	/**
+	 * Tests {@link NetworkProtocol#join} ensures that the protocol version is sent
+	 */
+	@Test
+	public void testJoin(){
+		NetworkProtocol.dispatch(readOnlyFrame(NetworkProtocol.join()), clientHandler);
+		new Verifications(){{
+			clientHandler.join(NetworkProtocol.VERSION); times = 1;
+		}};
+	}
+
+	/**
+	 * Tests {@link NetworkProtocol#acquirePlot} ensures that the row and column are decoded correctly
+	 */
+	@Test
+	public void testAcquirePlot(){
+		NetworkProtocol.dispatch(readOnlyFrame(NetworkProtocol.acquirePlot(3, 700)), clientHandler);
+		new Verifications(){{
+			clientHandler.acquirePlot(3, 700); times = 1;
+		}};
+	}
+
+	/**
+	 * Tests {@link NetworkProtocol#acquirePlot} ensures that coordinates that can't be sent are rejected
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testAcquirePlotCoordinateTooBig(){
+		NetworkProtocol.acquirePlot(0, Short.MAX_VALUE + 1);
+	}
+
+	/**
+	 * Tests {@link NetworkProtocol#buyRoboticons} ensures that the quantity is decoded correctly
+	 */
+	@Test
+	public void testBuyRoboticons(){
+		NetworkProtocol.dispatch(readOnlyFrame(NetworkProtocol.buyRoboticons(12)), clientHandler);
+		new Verifications(){{
+			clientHandler.buyRoboticons(12); times = 1;
+		}};
+	}
+
+	/**
+	 * Tests {@link NetworkProtocol#customiseRoboticon} ensures that the customisation is decoded correctly
+	 */
+	@Test
+	public void testCustomiseRoboticon(){
+		NetworkProtocol.dispatch(readOnlyFrame(NetworkProtocol.customiseRoboticon(RoboticonCustomisation.ENERGY)), clientHandler);
+		new Verifications(){{
+			clientHandler.customiseRoboticon(RoboticonCustomisation.ENERGY); times = 1;
+		}};
+	}
+
+	/**
+	 * Tests {@link NetworkProtocol#placeRoboticon} ensures that the plot and customisation are decoded correctly
+	 */
+	@Test
+	public void testPlaceRoboticon(){
+		NetworkProtocol.dispatch(readOnlyFrame(NetworkProtocol.placeRoboticon(4, 2, RoboticonCustomisation.ORE)), clientHandler);
+		new Verifications(){{
+			clientHandler.placeRoboticon(4, 2, RoboticonCustomisation.ORE); times = 1;
+		}};
+	}
+
+	/**
+	 * Tests {@link NetworkProtocol#buyResource} ensures that the resource and quantity are decoded correctly
+	 */
+	@Test
+	public void testBuyResource(){
+		NetworkProtocol.dispatch(readOnlyFrame(NetworkProtocol.buyResource(PlotSpecialism.ENERGY, 9)), clientHandler);
+		new Verifications(){{
+			clientHandler.buyResource(PlotSpecialism.ENERGY, 9); times = 1;
+		}};
+	}
+
+	/**
+	 * Tests {@link NetworkProtocol#sellResource} ensures that the resource and quantity are decoded correctly
+	 */
+	@Test
+	public void testSellResource(){
+		NetworkProtocol.dispatch(readOnlyFrame(NetworkProtocol.sellResource(PlotSpecialism.ORE, 5)), clientHandler);
+		new Verifications(){{
+			clientHandler.sellResource(PlotSpecialism.ORE, 5); times = 1;
+		}};
+	}
+
+	/**
+	 * Tests {@link NetworkProtocol#finished} ensures that the event is decoded correctly
+	 */
+	@Test
+	public void testFinished(){
+		NetworkProtocol.dispatch(readOnlyFrame(NetworkProtocol.finished(GameEvents.FINISHEDWITHTHEMARKET)), clientHandler);
+		new Verifications(){{
+			clientHandler.finished(GameEvents.FINISHEDWITHTHEMARKET); times = 1;
+		}};
+	}
+
+	/**
+	 * Tests {@link NetworkProtocol#matchStarted} ensures that the player numbers and the specialism of every plot are decoded correctly
+	 */
+	@Test
+	public void testMatchStarted(){
+		Plot[][] plots = new Plot[][]{{new Plot(PlotSpecialism.ORE), new Plot(PlotSpecialism.ENERGY), new Plot(PlotSpecialism.ENERGY)},
+				{new Plot(PlotSpecialism.ENERGY), new Plot(PlotSpecialism.ORE), new Plot(PlotSpecialism.ORE)}};
+		NetworkProtocol.dispatch(readOnlyFrame(NetworkProtocol.matchStarted(1, 3, plots)), serverHandler);
+		new Verifications(){{
+			PlotSpecialism[][] specialisms;
+			serverHandler.matchStarted(1, 3, specialisms = withCapture()); times = 1;
+			assertEquals(2, specialisms.length);
+			assertArrayEquals(new PlotSpecialism[]{PlotSpecialism.ORE, PlotSpecialism.ENERGY, PlotSpecialism.ENERGY}, specialisms[0]);
+			assertArrayEquals(new PlotSpecialism[]{PlotSpecialism.ENERGY, PlotSpecialism.ORE, PlotSpecialism.ORE}, specialisms[1]);
+		}};
+	}
+
+	/**
+	 * Tests {@link NetworkProtocol#stage} ensures that the phase, player and round are decoded correctly (including
+	 * {@link NetworkProtocol#ALL_PLAYERS})
+	 */
+	@Test
+	public void testStage(){
+		NetworkProtocol.dispatch(readOnlyFrame(NetworkProtocol.stage(GamePhase.MARKET, NetworkProtocol.ALL_PLAYERS, 17)), serverHandler);
+		new Verifications(){{
+			serverHandler.stage(GamePhase.MARKET, NetworkProtocol.ALL_PLAYERS, 17); times = 1;
+		}};
+	}
+
+	/**
+	 * Tests {@link NetworkProtocol#plotAcquired} ensures that the player and plot are decoded correctly
+	 */
+	@Test
+	public void testPlotAcquired(){
+		NetworkProtocol.dispatch(readOnlyFrame(NetworkProtocol.plotAcquired(2, 6, 1)), serverHandler);
+		new Verifications(){{
+			serverHandler.plotAcquired(2, 6, 1); times = 1;
+		}};
+	}
+
+	/**
+	 * Tests {@link NetworkProtocol#roboticonPlaced} ensures that the player, plot and customisation are decoded correctly
+	 */
+	@Test
+	public void testRoboticonPlaced(){
+		NetworkProtocol.dispatch(readOnlyFrame(NetworkProtocol.roboticonPlaced(0, 1, 2, RoboticonCustomisation.ENERGY)), serverHandler);
+		new Verifications(){{
+			serverHandler.roboticonPlaced(0, 1, 2, RoboticonCustomisation.ENERGY); times = 1;
+		}};
+	}
+
+	/**
+	 * Tests {@link NetworkProtocol#inventory} ensures that everything that a player owns is decoded correctly
+	 */
+	@Test
+	public void testInventory(){
+		EnumMap<RoboticonCustomisation, Integer> roboticons = new EnumMap<RoboticonCustomisation, Integer>(RoboticonCustomisation.class);
+		roboticons.put(RoboticonCustomisation.ORE, 1);
+		roboticons.put(RoboticonCustomisation.ENERGY, 2);
+		roboticons.put(RoboticonCustomisation.UNCUSTOMISED, 3);
+		Player player = new Player(new PlayerInventory(4, 5, roboticons, 6), new Market());
+		NetworkProtocol.dispatch(readOnlyFrame(NetworkProtocol.inventory(1, player)), serverHandler);
+		new Verifications(){{
+			int[] roboticonQuantities;
+			serverHandler.inventory(1, 4, 5, 6, roboticonQuantities = withCapture()); times = 1;
+			assertArrayEquals(new int[]{1, 2, 3}, roboticonQuantities);
+		}};
+	}
+
+	/**
+	 * Tests {@link NetworkProtocol#market} ensures that the stock of the market is decoded correctly
+	 */
+	@Test
+	public void testMarket(){
+		Market market = new Market(new MarketInventory(7, 8, 9));
+		NetworkProtocol.dispatch(readOnlyFrame(NetworkProtocol.market(market)), serverHandler);
+		new Verifications(){{
+			serverHandler.market(7, 8, 9); times = 1;
+		}};
+	}
+
+	/**
+	 * Tests {@link NetworkProtocol#rejected} ensures that the type of the rejected message is decoded correctly
+	 */
+	@Test
+	public void testRejected(){
+		NetworkProtocol.dispatch(readOnlyFrame(NetworkProtocol.rejected(NetworkProtocol.PLACE_ROBOTICON)), serverHandler);
+		new Verifications(){{
+			serverHandler.rejected(NetworkProtocol.PLACE_ROBOTICON); times = 1;
+		}};
+	}
+
+	/**
+	 * Tests {@link NetworkProtocol#gameOver} ensures that every score is decoded correctly
+	 */
+	@Test
+	public void testGameOver(){
+		NetworkProtocol.dispatch(readOnlyFrame(NetworkProtocol.gameOver(new int[]{10, -3, 250})), serverHandler);
+		new Verifications(){{
+			int[] scores;
+			serverHandler.gameOver(scores = withCapture()); times = 1;
+			assertArrayEquals(new int[]{10, -3, 250}, scores);
+		}};
+	}
+
+	/**
+	 * Tests {@link NetworkProtocol#readFrame} ensures that several frames in one buffer are read one at a time
+	 */
+	@Test
+	public void testReadFrameSeveralFrames(){
+		ByteBuffer first = NetworkProtocol.buyRoboticons(1);
+		ByteBuffer second = NetworkProtocol.acquirePlot(2, 3);
+		ByteBuffer input = ByteBuffer.allocate(first.remaining() + second.remaining());
+		input.put(first).put(second).flip();
+
+		NetworkProtocol.dispatch(NetworkProtocol.readFrame(input), clientHandler);
+		NetworkProtocol.dispatch(NetworkProtocol.readFrame(input), clientHandler);
+		assertNull(NetworkProtocol.readFrame(input));
+		new VerificationsInOrder(){{
+			clientHandler.buyRoboticons(1);
+			clientHandler.acquirePlot(2, 3);
+		}};
+	}
+
+	/**
+	 * Tests {@link NetworkProtocol#readFrame} ensures that null is returned (and nothing is consumed) until the whole of a frame has arrived
+	 */
+	@Test
+	public void testReadFramePartialFrame(){
+		ByteBuffer encoded = NetworkProtocol.placeRoboticon(1, 1, RoboticonCustomisation.ORE);
+		int length = encoded.remaining();
+		for(int received = 0; received < length; received++){
+			ByteBuffer input = encoded.duplicate();
+			input.limit(received);
+			assertNull(NetworkProtocol.readFrame(input));
+			assertEquals(0, input.position());
+		}
+		assertNotNull(NetworkProtocol.readFrame(encoded.duplicate()));
+	}
+
+	/**
+	 * Tests {@link NetworkProtocol#getFrameLength} ensures that a frame with no type is rejected
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testGetFrameLengthZero(){
+		NetworkProtocol.getFrameLength(ByteBuffer.allocate(NetworkProtocol.LENGTH_SIZE));
+	}
+
+	/**
+	 * Tests {@link NetworkProtocol#getFrameLength} ensures that a frame that is longer than the longest allowed frame is rejected
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testGetFrameLengthTooLong(){
+		ByteBuffer input = ByteBuffer.allocate(NetworkProtocol.LENGTH_SIZE);
+		input.putInt(0, NetworkProtocol.MAX_FRAME_LENGTH + 1);
+		NetworkProtocol.getFrameLength(input);
+	}
+
+	/**
+	 * Tests {@link NetworkProtocol#dispatch(ByteBuffer, ClientMessageHandler)} ensures that an unknown message type is rejected
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testDispatchUnknownType(){
+		NetworkProtocol.dispatch(ByteBuffer.wrap(new byte[]{NetworkProtocol.STAGE}), clientHandler);
+	}
+
+	/**
+	 * Tests {@link NetworkProtocol#dispatch(ByteBuffer, ClientMessageHandler)} ensures that a message that is too short is rejected with
+	 * an IllegalArgumentException
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testDispatchTooShort(){
+		NetworkProtocol.dispatch(ByteBuffer.wrap(new byte[]{NetworkProtocol.ACQUIRE_PLOT, 0, 1}), clientHandler);
+	}
+
+	/**
+	 * Tests {@link NetworkProtocol#dispatch(ByteBuffer, ClientMessageHandler)} ensures that a message with bytes after its end is rejected
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testDispatchTrailingBytes(){
+		NetworkProtocol.dispatch(ByteBuffer.wrap(new byte[]{NetworkProtocol.BUY_ROBOTICONS, 0, 0, 0, 1, 0}), clientHandler);
+	}
+
+	/**
+	 * Tests {@link NetworkProtocol#dispatch(ByteBuffer, ClientMessageHandler)} ensures that an invalid enum ordinal is rejected
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testDispatchInvalidOrdinal(){
+		NetworkProtocol.dispatch(ByteBuffer.wrap(new byte[]{NetworkProtocol.CUSTOMISE_ROBOTICON, (byte)RoboticonCustomisation.values().length}),
+				clientHandler);
+	}
+
+	/**
+	 * Tests {@link NetworkProtocol#dispatch(ByteBuffer, ServerMessageHandler)} ensures that a negative enum ordinal is rejected
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testDispatchNegativeOrdinal(){
+		NetworkProtocol.dispatch(ByteBuffer.wrap(new byte[]{NetworkProtocol.STAGE, -1, 0, 0, 0, 0, 1}), serverHandler);
+	}
+
+	/**
+	 * Tests {@link NetworkProtocol#checkClientMessage(ByteBuffer)} ensures that a valid message is accepted without its position changing
+	 */
+	@Test
+	public void testCheckClientMessageValid(){
+		ByteBuffer frame = NetworkProtocol.readFrame(NetworkProtocol.placeRoboticon(2, 3, RoboticonCustomisation.ORE));
+		int position = frame.position();
+		NetworkProtocol.checkClientMessage(frame);
+		assertEquals(position, frame.position());
+	}
+
+	/**
+	 * Tests {@link NetworkProtocol#checkClientMessage(ByteBuffer)} ensures that a message with bytes after its end is rejected
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testCheckClientMessageTrailingBytes(){
+		NetworkProtocol.checkClientMessage(ByteBuffer.wrap(new byte[]{NetworkProtocol.BUY_ROBOTICONS, 0, 0, 0, 1, 0}));
+	}
+
+	/**
+	 * Tests {@link NetworkProtocol#checkClientMessage(ByteBuffer)} ensures that a server message is rejected
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testCheckClientMessageServerMessage(){
+		NetworkProtocol.checkClientMessage(ByteBuffer.wrap(new byte[]{NetworkProtocol.REJECTED, NetworkProtocol.JOIN}));
+	}
+}
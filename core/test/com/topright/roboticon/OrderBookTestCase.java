@@ -0,0 +1,412 @@
+package com.topright.roboticon;
+
+import static org.junit.Assert.*;
+
+import java.util.EnumMap;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test case for {@link OrderBook}
+ */
+public class OrderBookTestCase {
+	private OrderBook orderBook;
+	private Player alice;
+	private Player bob;
+	private Player carol;
+	
+	/**
+	 * Creates a player with the given money and ore
+	 * @param money The player's money
+	 * @param ore The player's ore
+	 * @return The new player
+	 */
+	private static Player createPlayer(int money, int ore){
+		return new Player(new PlayerInventory(ore, 0, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), money), new Market());
+	}
+	
+	/**
+	 * Runs before every test, creates an ore order book and three players with money and ore
+	 */
+	@Before
+	public void setup(){
+		orderBook = new OrderBook(PlotSpecialism.ORE);
+		alice = createPlayer(100, 20);
+		bob = createPlayer(100, 20);
+		carol = createPlayer(100, 20);
+	}
+	
+	/**
+	 * Tests {@link OrderBook#OrderBook(PlotSpecialism)} ensures that an exception is thrown if the resource is null
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testConstructorNullResource(){
+		new OrderBook(null);
+	}
+	
+	/**
+	 * Tests {@link OrderBook#placeOrder} ensures that an exception is thrown if the quantity is 0
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testPlaceOrderZeroQuantity(){
+		orderBook.placeOrder(alice, OrderSide.BUY, 0, 5);
+	}
+	
+	/**
+	 * Tests {@link OrderBook#placeOrder} ensures that an exception is thrown if the limit price is 0
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testPlaceOrderZeroPrice(){
+		orderBook.placeOrder(alice, OrderSide.SELL, 1, 0);
+	}
+	
+	/**
+	 * Tests {@link OrderBook#placeOrder} ensures that an exception is thrown if the owner is null
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testPlaceOrderNullOwner(){
+		orderBook.placeOrder(null, OrderSide.SELL, 1, 5);
+	}
+	
+	/**
+	 * Tests {@link OrderBook#placeOrder} ensures that an exception is thrown if the total value of the order can't be stored in an int
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testPlaceOrderValueTooLarge(){
+		orderBook.placeOrder(alice, OrderSide.BUY, Integer.MAX_VALUE, 2);
+	}
+	
+	/**
+	 * Ensures that there are no best prices when the book is empty
+	 */
+	@Test
+	public void testEmptyBook(){
+		assertEquals(OrderBook.NO_PRICE, orderBook.getBestBuyPrice());
+		assertEquals(OrderBook.NO_PRICE, orderBook.getBestSellPrice());
+		assertEquals(0, orderBook.getRestingOrderCount());
+		assertEquals(0, orderBook.matchOrders());
+	}
+	
+	/**
+	 * Ensures that the best prices are the highest buy price and the lowest sell price
+	 */
+	@Test
+	public void testBestPrices(){
+		orderBook.placeOrder(alice, OrderSide.BUY, 1, 4);
+		orderBook.placeOrder(alice, OrderSide.BUY, 1, 6);
+		orderBook.placeOrder(bob, OrderSide.SELL, 1, 9);
+		orderBook.placeOrder(bob, OrderSide.SELL, 1, 7);
+		assertEquals(6, orderBook.getBestBuyPrice());
+		assertEquals(7, orderBook.getBestSellPrice());
+		assertEquals(4, orderBook.getRestingOrderCount());
+	}
+	
+	/**
+	 * Tests {@link OrderBook#getBuyQuantityAbove(int)} ensures that only active buy orders above the price are counted
+	 */
+	@Test
+	public void testBuyQuantityAbove(){
+		orderBook.placeOrder(alice, OrderSide.BUY, 2, 4);
+		orderBook.placeOrder(alice, OrderSide.BUY, 3, 6);
+		orderBook.placeOrder(bob, OrderSide.BUY, 5, 7);
+		orderBook.cancelOrder(orderBook.placeOrder(carol, OrderSide.BUY, 8, 9));
+		orderBook.placeOrder(bob, OrderSide.SELL, 4, 8);
+		assertEquals(8, orderBook.getBuyQuantityAbove(4));
+		assertEquals(10, orderBook.getBuyQuantityAbove(3));
+		assertEquals(0, orderBook.getBuyQuantityAbove(7));
+	}
+	
+	/**
+	 * Ensures that nothing is traded when the highest buy price is lower than the lowest sell price
+	 */
+	@Test
+	public void testNoMatch(){
+		Order buyOrder = orderBook.placeOrder(alice, OrderSide.BUY, 3, 4);
+		Order sellOrder = orderBook.placeOrder(bob, OrderSide.SELL, 3, 5);
+		assertEquals(0, orderBook.matchOrders());
+		assertEquals(3, buyOrder.getRemainingQuantity());
+		assertEquals(3, sellOrder.getRemainingQuantity());
+		assertEquals(100, alice.getMoneyQuantity());
+	}
+	
+	/**
+	 * Ensures that orders are not matched until {@link OrderBook#matchOrders()} is called
+	 */
+	@Test
+	public void testNotMatchedWhenPlaced(){
+		orderBook.placeOrder(alice, OrderSide.BUY, 3, 5);
+		Order sellOrder = orderBook.placeOrder(bob, OrderSide.SELL, 3, 5);
+		assertEquals(3, sellOrder.getRemainingQuantity());
+		assertEquals(20, alice.getOreQuantity());
+	}
+	
+	/**
+	 * Ensures that the resource and money are moved between the players when orders are matched
+	 */
+	@Test
+	public void testMatchMovesResourceAndMoney(){
+		orderBook.placeOrder(alice, OrderSide.BUY, 3, 5);
+		orderBook.placeOrder(bob, OrderSide.SELL, 3, 5);
+		assertEquals(3, orderBook.matchOrders());
+		assertEquals(23, alice.getOreQuantity());
+		assertEquals(85, alice.getMoneyQuantity());
+		assertEquals(17, bob.getOreQuantity());
+		assertEquals(115, bob.getMoneyQuantity());
+		assertEquals(0, orderBook.getRestingOrderCount());
+		assertEquals(3, orderBook.getQuantityTraded());
+	}
+	
+	/**
+	 * Ensures that the lowest sell order is matched first
+	 */
+	@Test
+	public void testPricePriority(){
+		Order expensive = orderBook.placeOrder(bob, OrderSide.SELL, 1, 5);
+		Order cheap = orderBook.placeOrder(carol, OrderSide.SELL, 1, 4);
+		orderBook.placeOrder(alice, OrderSide.BUY, 1, 6);
+		orderBook.matchOrders();
+		assertFalse(cheap.isActive());
+		assertTrue(expensive.isActive());
+	}
+	
+	/**
+	 * Ensures that orders at the same price are matched in the order that they were placed
+	 */
+	@Test
+	public void testTimePriority(){
+		Order first = orderBook.placeOrder(bob, OrderSide.SELL, 1, 5);
+		Order second = orderBook.placeOrder(carol, OrderSide.SELL, 1, 5);
+		orderBook.placeOrder(alice, OrderSide.BUY, 1, 5);
+		orderBook.matchOrders();
+		assertFalse(first.isActive());
+		assertTrue(second.isActive());
+	}
+	
+	/**
+	 * Ensures that a trade is at the price of the buy order when it was placed first
+	 */
+	@Test
+	public void testTradePriceBuyOrderFirst(){
+		orderBook.placeOrder(alice, OrderSide.BUY, 1, 10);
+		orderBook.placeOrder(bob, OrderSide.SELL, 1, 6);
+		orderBook.matchOrders();
+		assertEquals(10, orderBook.getLastTradePrice());
+		assertEquals(110, bob.getMoneyQuantity());
+	}
+	
+	/**
+	 * Ensures that a trade is at the price of the sell order when it was placed first
+	 */
+	@Test
+	public void testTradePriceSellOrderFirst(){
+		orderBook.placeOrder(bob, OrderSide.SELL, 1, 6);
+		orderBook.placeOrder(alice, OrderSide.BUY, 1, 10);
+		orderBook.matchOrders();
+		assertEquals(6, orderBook.getLastTradePrice());
+		assertEquals(94, alice.getMoneyQuantity());
+	}
+	
+	/**
+	 * Ensures that a large order can be filled by several smaller ones and is left resting with the rest of its quantity
+	 */
+	@Test
+	public void testPartialFill(){
+		Order buyOrder = orderBook.placeOrder(alice, OrderSide.BUY, 10, 5);
+		orderBook.placeOrder(bob, OrderSide.SELL, 3, 5);
+		orderBook.placeOrder(carol, OrderSide.SELL, 4, 5);
+		assertEquals(7, orderBook.matchOrders());
+		assertEquals(3, buyOrder.getRemainingQuantity());
+		assertTrue(buyOrder.isActive());
+		assertEquals(1, orderBook.getRestingOrderCount());
+	}
+	
+	/**
+	 * Ensures that a player's orders are never matched with each other (the one placed later is cancelled)
+	 */
+	@Test
+	public void testNoSelfTrade(){
+		Order sellOrder = orderBook.placeOrder(alice, OrderSide.SELL, 2, 5);
+		Order buyOrder = orderBook.placeOrder(alice, OrderSide.BUY, 2, 5);
+		assertEquals(0, orderBook.matchOrders());
+		assertTrue(sellOrder.isActive());
+		assertTrue(buyOrder.isCancelled());
+		assertEquals(100, alice.getMoneyQuantity());
+	}
+	
+	/**
+	 * Ensures that the trade is rolled back and the buy order cancelled if the buyer can no longer pay for a single unit
+	 */
+	@Test
+	public void testBuyerCannotPay(){
+		Player poorPlayer = createPlayer(4, 0);
+		Order buyOrder = orderBook.placeOrder(poorPlayer, OrderSide.BUY, 2, 5);
+		Order sellOrder = orderBook.placeOrder(bob, OrderSide.SELL, 2, 5);
+		assertEquals(0, orderBook.matchOrders());
+		assertTrue(buyOrder.isCancelled());
+		assertTrue(sellOrder.isActive());
+		assertEquals(4, poorPlayer.getMoneyQuantity());
+		assertEquals(20, bob.getOreQuantity());
+	}
+	
+	/**
+	 * Ensures that a buyer who can only pay for part of a trade is given as much as they can pay for (and the rest of their order is
+	 * then cancelled)
+	 */
+	@Test
+	public void testBuyerCanOnlyPayForPart(){
+		Player poorPlayer = createPlayer(12, 0);
+		Order buyOrder = orderBook.placeOrder(poorPlayer, OrderSide.BUY, 3, 5);
+		Order sellOrder = orderBook.placeOrder(bob, OrderSide.SELL, 3, 5);
+		assertEquals(2, orderBook.matchOrders());
+		assertTrue(buyOrder.isCancelled());
+		assertEquals(1, buyOrder.getRemainingQuantity());
+		assertTrue(sellOrder.isActive());
+		assertEquals(1, sellOrder.getRemainingQuantity());
+		assertEquals(2, poorPlayer.getMoneyQuantity());
+		assertEquals(2, poorPlayer.getOreQuantity());
+		assertEquals(110, bob.getMoneyQuantity());
+		assertEquals(18, bob.getOreQuantity());
+	}
+	
+	/**
+	 * Ensures that the trade is rolled back (the buyer is given their money back) and the sell order cancelled if the seller can no
+	 * longer deliver a single unit
+	 */
+	@Test
+	public void testSellerCannotDeliver(){
+		Player playerWithoutOre = createPlayer(0, 0);
+		Order sellOrder = orderBook.placeOrder(playerWithoutOre, OrderSide.SELL, 2, 5);
+		Order buyOrder = orderBook.placeOrder(alice, OrderSide.BUY, 2, 5);
+		assertEquals(0, orderBook.matchOrders());
+		assertTrue(sellOrder.isCancelled());
+		assertTrue(buyOrder.isActive());
+		assertEquals(100, alice.getMoneyQuantity());
+		assertEquals(0, playerWithoutOre.getMoneyQuantity());
+	}
+	
+	/**
+	 * Ensures that a seller who can only deliver part of a trade sells what they have (the buyer is only charged for that) and the
+	 * rest of their order is then cancelled
+	 */
+	@Test
+	public void testSellerCanOnlyDeliverPart(){
+		Player playerWithLittleOre = createPlayer(0, 1);
+		Order sellOrder = orderBook.placeOrder(playerWithLittleOre, OrderSide.SELL, 2, 5);
+		Order buyOrder = orderBook.placeOrder(alice, OrderSide.BUY, 2, 5);
+		assertEquals(1, orderBook.matchOrders());
+		assertTrue(sellOrder.isCancelled());
+		assertEquals(1, sellOrder.getRemainingQuantity());
+		assertTrue(buyOrder.isActive());
+		assertEquals(1, buyOrder.getRemainingQuantity());
+		assertEquals(95, alice.getMoneyQuantity());
+		assertEquals(21, alice.getOreQuantity());
+		assertEquals(5, playerWithLittleOre.getMoneyQuantity());
+		assertEquals(0, playerWithLittleOre.getOreQuantity());
+	}
+	
+	/**
+	 * Ensures that the next order is matched once an order that could not be settled has been cancelled
+	 */
+	@Test
+	public void testMatchingContinuesAfterFailedTrade(){
+		Player playerWithoutOre = createPlayer(0, 0);
+		orderBook.placeOrder(playerWithoutOre, OrderSide.SELL, 2, 4);
+		orderBook.placeOrder(bob, OrderSide.SELL, 2, 5);
+		orderBook.placeOrder(alice, OrderSide.BUY, 2, 5);
+		assertEquals(2, orderBook.matchOrders());
+		assertEquals(22, alice.getOreQuantity());
+	}
+	
+	/**
+	 * Tests {@link OrderBook#cancelOrder(Order)} ensures that a cancelled order is not matched
+	 */
+	@Test
+	public void testCancelledOrderNotMatched(){
+		Order sellOrder = orderBook.placeOrder(bob, OrderSide.SELL, 2, 5);
+		orderBook.placeOrder(alice, OrderSide.BUY, 2, 5);
+		assertTrue(orderBook.cancelOrder(sellOrder));
+		assertEquals(0, orderBook.matchOrders());
+		assertEquals(OrderBook.NO_PRICE, orderBook.getBestSellPrice());
+		assertEquals(1, orderBook.getRestingOrderCount());
+	}
+	
+	/**
+	 * Tests {@link OrderBook#cancelOrder(Order)} ensures that an order can only be cancelled once
+	 */
+	@Test
+	public void testCancelTwice(){
+		Order sellOrder = orderBook.placeOrder(bob, OrderSide.SELL, 2, 5);
+		assertTrue(orderBook.cancelOrder(sellOrder));
+		assertFalse(orderBook.cancelOrder(sellOrder));
+		assertEquals(0, orderBook.getRestingOrderCount());
+	}
+	
+	/**
+	 * Tests {@link OrderBook#cancelOrder(Order)} ensures that an exception is thrown if the order was placed in a book for a different resource
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testCancelOrderFromOtherBook(){
+		Order energyOrder = new OrderBook(PlotSpecialism.ENERGY).placeOrder(bob, OrderSide.SELL, 2, 5);
+		orderBook.cancelOrder(energyOrder);
+	}
+	
+	/**
+	 * Tests {@link OrderBook#cancelAllOrders()} ensures that every order is cancelled
+	 */
+	@Test
+	public void testCancelAllOrders(){
+		Order buyOrder = orderBook.placeOrder(alice, OrderSide.BUY, 2, 4);
+		Order sellOrder = orderBook.placeOrder(bob, OrderSide.SELL, 2, 5);
+		orderBook.cancelAllOrders();
+		assertTrue(buyOrder.isCancelled());
+		assertTrue(sellOrder.isCancelled());
+		assertEquals(0, orderBook.getRestingOrderCount());
+		assertEquals(OrderBook.NO_PRICE, orderBook.getBestBuyPrice());
+	}
+	
+	/**
+	 * Ensures that energy is traded by an energy order book
+	 */
+	@Test
+	public void testEnergyOrderBook(){
+		OrderBook energyOrderBook = new OrderBook(PlotSpecialism.ENERGY);
+		bob.increaseEnergyQuantity(5);
+		energyOrderBook.placeOrder(alice, OrderSide.BUY, 5, 3);
+		energyOrderBook.placeOrder(bob, OrderSide.SELL, 5, 3);
+		assertEquals(5, energyOrderBook.matchOrders());
+		assertEquals(5, alice.getEnergyQuantity());
+		assertEquals(20, alice.getOreQuantity());
+	}
+	
+	/**
+	 * Ensures that thousands of resting orders are matched correctly: no money or ore is created or lost and the book is left uncrossed
+	 */
+	@Test
+	public void testManyOrders(){
+		Player[] players = new Player[50];
+		for(int playerNumber = 0; playerNumber < players.length; playerNumber++){
+			players[playerNumber] = createPlayer(100000, 1000);
+		}
+		GameRandom random = new GameRandom(7L);
+		for(int order = 0; order < 10000; order++){
+			Player player = players[random.nextInt(players.length)];
+			OrderSide side = random.nextBoolean() ? OrderSide.BUY : OrderSide.SELL;
+			orderBook.placeOrder(player, side, 1 + random.nextInt(10), 1 + random.nextInt(20));
+		}
+		assertEquals(10000, orderBook.getRestingOrderCount());
+		
+		int traded = orderBook.matchOrders();
+		assertTrue(traded > 0);
+		assertTrue(orderBook.getBestBuyPrice() < orderBook.getBestSellPrice());
+		
+		long totalMoney = 0;
+		long totalOre = 0;
+		for(Player player : players){
+			totalMoney += player.getMoneyQuantity();
+			totalOre += player.getOreQuantity();
+		}
+		assertEquals(100000L * players.length, totalMoney);
+		assertEquals(1000L * players.length, totalOre);
+	}
+}
@@ -0,0 +1,92 @@
+package com.topright.roboticon;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+/**
+ * Test case for {@link PhaseClock}, runs with the headless LibGDX application (which the clock's Timer task needs)
+ */
+public class PhaseClockTestCase extends GuiTest {
+
+	/**
+	 * Tests {@link PhaseClock#schedule(Runnable, long)} ensures that an IllegalArgumentException is thrown for a negative delay
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testScheduleNegativeDelay(){
+		PhaseClock.getInstance().schedule(new Runnable(){
+			@Override
+			public void run(){
+			}
+		}, -1);
+	}
+
+	/**
+	 * Tests {@link PhaseClock#schedule(Runnable, long)} ensures that a task is run once its delay has passed (and not before)
+	 * @throws InterruptedException If interrupted while waiting
+	 */
+	@Test
+	public void testScheduledTaskRun() throws InterruptedException{
+		final CountDownLatch latch = new CountDownLatch(1);
+		final AtomicLong runTime = new AtomicLong();
+		final PhaseClock clock = PhaseClock.getInstance();
+		long scheduledTime = clock.getTime();
+		clock.schedule(new Runnable(){
+			@Override
+			public void run(){
+				runTime.set(clock.getTime());
+				latch.countDown();
+			}
+		}, 200);
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+		assertTrue(runTime.get() - scheduledTime >= 200);
+	}
+
+	/**
+	 * Tests {@link PhaseClock#cancel(TimingWheel.Timeout)} ensures that a cancelled task is never run
+	 * @throws InterruptedException If interrupted while waiting
+	 */
+	@Test
+	public void testCancelledTaskNotRun() throws InterruptedException{
+		final CountDownLatch cancelledRun = new CountDownLatch(1);
+		final CountDownLatch laterRun = new CountDownLatch(1);
+		PhaseClock clock = PhaseClock.getInstance();
+		TimingWheel.Timeout timeout = clock.schedule(new Runnable(){
+			@Override
+			public void run(){
+				cancelledRun.countDown();
+			}
+		}, 100);
+		clock.schedule(new Runnable(){
+			@Override
+			public void run(){
+				laterRun.countDown();
+			}
+		}, 300);
+		assertTrue(clock.cancel(timeout));
+		assertTrue(laterRun.await(5, TimeUnit.SECONDS));
+		assertEquals(1, cancelledRun.getCount());
+		assertFalse(clock.cancel(timeout));
+	}
+
+	/**
+	 * Tests {@link PhaseClock#getNumberOfPendingTasks()} ensures that a task is counted until it is cancelled
+	 */
+	@Test
+	public void testNumberOfPendingTasks(){
+		PhaseClock clock = PhaseClock.getInstance();
+		int pendingBefore = clock.getNumberOfPendingTasks();
+		TimingWheel.Timeout timeout = clock.schedule(new Runnable(){
+			@Override
+			public void run(){
+			}
+		}, 60000);
+		assertEquals(pendingBefore + 1, clock.getNumberOfPendingTasks());
+		clock.cancel(timeout);
+		assertEquals(pendingBefore, clock.getNumberOfPendingTasks());
+	}
+}
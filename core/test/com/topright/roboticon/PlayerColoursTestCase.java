@@ -0,0 +1,111 @@
+package com.topright.roboticon;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.graphics.Color;
+
+import mockit.Mocked;
+
+/**
+ * Test case for {@link PlayerColours}
+ */
+public class PlayerColoursTestCase {
+	@Mocked Player humanPlayer;
+	@Mocked Player firstAIPlayer;
+	@Mocked Player secondAIPlayer;
+
+	/**
+	 * Tests {@link PlayerColours#getOwnerNumber(Player)} ensures that the human player and the AI players (in the order given) are numbered correctly
+	 */
+	@Test
+	public void testOwnerNumbers(){
+		PlayerColours playerColours = new PlayerColours(Arrays.asList(firstAIPlayer, humanPlayer, secondAIPlayer), humanPlayer);
+		assertEquals(PlotTiles.NO_OWNER, playerColours.getOwnerNumber(null));
+		assertEquals(PlotTiles.HUMAN_OWNER, playerColours.getOwnerNumber(humanPlayer));
+		assertEquals(PlotTiles.AI_OWNER, playerColours.getOwnerNumber(firstAIPlayer));
+		assertEquals(PlotTiles.AI_OWNER + 1, playerColours.getOwnerNumber(secondAIPlayer));
+		assertEquals(4, playerColours.getNumberOfOwners());
+	}
+
+	/**
+	 * Tests {@link PlayerColours#getOwnerNumber(Player)} ensures that players that were not given are treated as the first AI player
+	 */
+	@Test
+	public void testOwnerNumberUnknownPlayer(){
+		PlayerColours playerColours = new PlayerColours(Arrays.asList(humanPlayer, (Player)null), humanPlayer);
+		assertEquals(PlotTiles.AI_OWNER, playerColours.getOwnerNumber(firstAIPlayer));
+		assertEquals(3, playerColours.getNumberOfOwners());
+		assertEquals(Color.WHITE, playerColours.getColour(PlotTiles.AI_OWNER));
+	}
+
+	/**
+	 * Tests {@link PlayerColours#getColour(int)} ensures that a two player game is drawn without tinting the AI overlay
+	 */
+	@Test
+	public void testTwoPlayersNotTinted(){
+		PlayerColours playerColours = new PlayerColours(Arrays.asList(humanPlayer, firstAIPlayer), humanPlayer);
+		assertEquals(Color.WHITE, playerColours.getColour(playerColours.getOwnerNumber(firstAIPlayer)));
+		assertTrue(playerColours.isHumanPlayer(humanPlayer));
+		assertFalse(playerColours.isHumanPlayer(firstAIPlayer));
+	}
+
+	/**
+	 * Tests {@link PlayerColours#getColour(int)} ensures that an exception is thrown for an owner number that is not in use
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testColourUnusedOwnerNumber(){
+		new PlayerColours(Arrays.asList(humanPlayer, firstAIPlayer), humanPlayer).getColour(3);
+	}
+
+	/**
+	 * Tests {@link PlayerColours#getAIColour(int)} ensures that every AI player in a large lobby is given a different colour
+	 */
+	@Test
+	public void testAIColoursDifferent(){
+		Set<Color> colours = new HashSet<Color>();
+		for(int AIPlayerNumber = 0; AIPlayerNumber < PlayerColours.MAX_AI_PLAYERS; AIPlayerNumber++){
+			Color colour = PlayerColours.getAIColour(AIPlayerNumber);
+			assertEquals(1f, colour.a, 0);
+			assertTrue(colours.add(colour));
+		}
+	}
+
+	/**
+	 * Tests {@link PlayerColours#getAIColour(int)} ensures that an exception is thrown for a negative AI player number
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testAIColourNegative(){
+		PlayerColours.getAIColour(-1);
+	}
+
+	/**
+	 * Tests {@link PlayerColours#fromHsv(float, float, float)} ensures that the primary colours and white are created correctly
+	 */
+	@Test
+	public void testFromHsv(){
+		assertEquals(new Color(1, 0, 0, 1), PlayerColours.fromHsv(0, 1, 1));
+		assertEquals(new Color(0, 1, 0, 1), PlayerColours.fromHsv(120, 1, 1));
+		assertEquals(new Color(0, 0, 1, 1), PlayerColours.fromHsv(240, 1, 1));
+		assertEquals(Color.WHITE, PlayerColours.fromHsv(300, 0, 1));
+	}
+
+	/**
+	 * Tests {@link PlayerColours#PlayerColours(List, Player)} ensures that an exception is thrown if there are too many AI players to draw
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testTooManyAIPlayers(){
+		List<Player> players = new ArrayList<Player>();
+		for(int playerNumber = 0; playerNumber <= PlayerColours.MAX_AI_PLAYERS; playerNumber++){
+			players.add(new Player(null));
+		}
+		new PlayerColours(players, humanPlayer);
+	}
+}
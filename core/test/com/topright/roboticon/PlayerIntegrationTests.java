@@ -2926,4 +2926,52 @@ public class PlayerIntegrationTests {
 		 // Therefore the result is cast to an int
 		assertEquals(5,(int)player.calculateScore());
 	}
+	
+	///////////////////////////////////////////////////////////////// per-game markets
+	
+	/**
+	 * Tests {@link Player#Player(PlayerInventory, Market)} ensures that a player who is given their own market buys from that market 
+	 * and that the shared market is not affected
+	 */
+	@Test
+	public void testBuyOreOwnMarketUsed(){
+		Market gameMarket = new Market(new MarketInventory(10,10,10));
+		playerInventory.increaseMoneyQuantity(100);
+		Player gamePlayer = new Player(playerInventory, gameMarket);
+		
+		assertTrue(gamePlayer.attemptToBuyOre(2));
+		assertEquals(8, gameMarket.getOreQuantity());
+		assertEquals(10, market.getOreQuantity()); // The shared market is unchanged
+	}
+	
+	/**
+	 * Tests {@link Player#Player(PlayerInventory, Market)} ensures that players in different games do not affect each others markets
+	 */
+	@Test
+	public void testSellEnergyMarketsIndependent(){
+		Market firstMarket = new Market(new MarketInventory(0,0,0));
+		Market secondMarket = new Market(new MarketInventory(0,0,0));
+		playerInventory.increaseEnergyQuantity(4);
+		Player firstPlayer = new Player(playerInventory, firstMarket);
+		
+		assertTrue(firstPlayer.attemptToSellEnergy(3));
+		assertEquals(3, firstMarket.getEnergyQuantity());
+		assertEquals(0, secondMarket.getEnergyQuantity());
+	}
+	
+	/**
+	 * Tests {@link Player#Player(PlayerInventory)} ensures that a player who is not given a market uses the shared market
+	 */
+	@Test
+	public void testGetMarketDefaultsToSharedMarket(){
+		assertSame(Market.getInstance(), player.getMarket());
+	}
+	
+	/**
+	 * Tests {@link Player#Player(PlayerInventory, Market)} ensures that an exception is thrown if the market is null
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testConstructorNullMarket(){
+		new Player(playerInventory, null);
+	}
 }
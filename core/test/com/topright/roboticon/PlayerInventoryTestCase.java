@@ -691,4 +691,36 @@ public class PlayerInventoryTestCase {
 		inv.decreaseMoneyQuantity(1);// stores 0 money right after initialisation, therefore an exception should be thrown
 	}
 	
+	
+	/**
+	 * Tests {@link PlayerInventory#PlayerInventory} ensures that changing the map of roboticon quantities after the inventory is created does not affect the inventory
+	 */
+	@Test
+	public void testCreatePlayerInventoryRoboticonMapCopied(){
+		EnumMap<RoboticonCustomisation,Integer> roboticonQuantities = new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class);
+		roboticonQuantities.put(RoboticonCustomisation.ORE, 2);
+		PlayerInventory inv2 = new PlayerInventory(0,0,roboticonQuantities,0);
+		roboticonQuantities.put(RoboticonCustomisation.ORE, 5);
+		assertEquals(2,inv2.getRoboticonQuantity(RoboticonCustomisation.ORE));
+	}
+	
+	/**
+	 * Tests {@link PlayerInventory#getTotalRoboticonQuantity} ensures that 0 is returned when no roboticons are stored
+	 */
+	@Test
+	public void testGetTotalRoboticonQuantityEmpty(){
+		assertEquals(0,inv.getTotalRoboticonQuantity());
+	}
+	
+	/**
+	 * Tests {@link PlayerInventory#getTotalRoboticonQuantity} ensures that roboticons of every customisation type are counted
+	 */
+	@Test
+	public void testGetTotalRoboticonQuantityAllCustomisations(){
+		inv.increaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, 1);
+		inv.increaseRoboticonQuantity(RoboticonCustomisation.ORE, 2);
+		inv.increaseRoboticonQuantity(RoboticonCustomisation.ENERGY, 300);
+		inv.decreaseRoboticonQuantity(RoboticonCustomisation.ENERGY, 100);
+		assertEquals(203,inv.getTotalRoboticonQuantity());
+	}
 }
@@ -1,6 +1,5 @@
 package com.topright.roboticon;
 import static org.junit.Assert.*;
-import java.util.EnumMap;
 import org.junit.*;	
 import mockit.*;
 import mockit.integration.junit4.*;
@@ -15,19 +14,17 @@ import org.junit.runner.RunWith;
 public class PlayerTestCase {
 	
 	private Player player;
-	@Mocked private PlayerInventory playerInventory;
-	@Mocked private Market market;
+	@Injectable private PlayerInventory playerInventory; // Only this instance is mocked (the market's inventory is real)
+	private Market market; // Real, methods are only mocked by the tests that record expectations on it (partial mocking)
 	@Mocked private Plot plot;
 
 	/**
-	 * Runs before every test, creates PlayerInventory and Player objects
+	 * Runs before every test, creates Market and Player objects
 	 */
 	@Before
 	public void setup(){
-		playerInventory = new PlayerInventory(5,4,new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class),1000);
-		player = new Player(playerInventory);
-		market = Market.getInstance();
-		market.setInventory(new MarketInventory(10,10,10));
+		market = new Market(new MarketInventory(10,10,10));
+		player = new Player(playerInventory, market);
 		plot = new Plot(PlotSpecialism.ORE);
 	}
 	
@@ -66,9 +63,9 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testReturnTrueBuyEnergyHaveEnoughMoneySix(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostEnergy(6); result = 10;
-			playerInventory.getMoneyQuantity();result=100; // More than enough money
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // More than enough money
 		}};
 		
 		assertTrue(player.attemptToBuyEnergy(6));
@@ -79,9 +76,9 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testIncreaseEnergyBuyEnergyHaveEnoughMoneySix(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostEnergy(6); result = 10;
-			playerInventory.getMoneyQuantity();result=100; // More than enough money
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // More than enough money
 		}};
 
 		player.attemptToBuyEnergy(6);
@@ -95,14 +92,14 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testReduceMoneyBuyEnergyHaveEnoughMoneySix(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostEnergy(6); result = 10;
-			playerInventory.getMoneyQuantity();result=100; // More than enough money
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // More than enough money
 		}};
 		
 		player.attemptToBuyEnergy(6);
 		new Verifications(){{
-			playerInventory.decreaseMoneyQuantity(10);times=1;
+			playerInventory.tryDecreaseMoneyQuantity(10);times=1;
 		}};
 	}
 	
@@ -111,14 +108,14 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testCallMarketBuyEnergyHaveEnoughMoneySix(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostEnergy(6); result = 10;
-			playerInventory.getMoneyQuantity();result=100; // More than enough money
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // More than enough money
 		}};
 		
 		player.attemptToBuyEnergy(6);
 		new Verifications(){{
-			market.buyEnergyFromMarket(6);times=1;
+			market.attemptToBuyEnergy(playerInventory, 6);times=1;
 		}};
 	}
 	
@@ -127,9 +124,9 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testReturnTrueBuyEnergyHaveEnoughMoneyOne(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostEnergy(1); result = 10;
-			playerInventory.getMoneyQuantity();result=100; // More than enough money
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // More than enough money
 		}};
 		
 		assertTrue(player.attemptToBuyEnergy(1));
@@ -140,9 +137,9 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testIncreaseEnergyBuyEnergyHaveEnoughMoneyOne(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostEnergy(1); result = 10;
-			playerInventory.getMoneyQuantity();result=100; // More than enough money
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // More than enough money
 		}};
 		
 		player.attemptToBuyEnergy(1);
@@ -156,14 +153,14 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testReduceMoneyBuyEnergyHaveEnoughMoneyOne(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostEnergy(1); result = 10;
-			playerInventory.getMoneyQuantity();result=100; // More than enough money
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // More than enough money
 		}};
 		
 		player.attemptToBuyEnergy(1);
 		new Verifications(){{
-			playerInventory.decreaseMoneyQuantity(10);times=1; // 10 = the cost of 1 energy as set up in the expectations
+			playerInventory.tryDecreaseMoneyQuantity(10);times=1; // 10 = the cost of 1 energy as set up in the expectations
 		}};
 	}
 	
@@ -172,14 +169,14 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testCallMarketBuyEnergyHaveEnoughMoneyOne(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostEnergy(1); result = 10;
-			playerInventory.getMoneyQuantity();result=100; // More than enough money
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // More than enough money
 		}};
 		
 		player.attemptToBuyEnergy(1);
 		new Verifications(){{
-			market.buyEnergyFromMarket(1);times=1;
+			market.attemptToBuyEnergy(playerInventory, 1);times=1;
 		}};
 	}
 	
@@ -221,9 +218,9 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testReturnTrueBuyEnergyHaveExactlyEnoughMoney(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostEnergy(3); result = 10;
-			playerInventory.getMoneyQuantity();result=10; // Exactly enough money
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // Exactly enough money
 		}};
 		
 		assertTrue(player.attemptToBuyEnergy(3));
@@ -234,14 +231,14 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testIncreaseEnergyBuyEnergyHaveExactlyEnoughMoney(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostEnergy(3); result = 10;
-			playerInventory.getMoneyQuantity();result=10; // Exactly enough money
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // Exactly enough money
 		}};
 		
 		player.attemptToBuyEnergy(3);
 		new Verifications(){{
-			market.buyEnergyFromMarket(3);times=1;
+			market.attemptToBuyEnergy(playerInventory, 3);times=1;
 			playerInventory.increaseEnergyQuantity(3);times=1;
 		}};
 	}
@@ -251,15 +248,15 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testReduceMoneyBuyEnergyHaveExactlyEnoughMoney(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostEnergy(3); result = 10;
-			playerInventory.getMoneyQuantity();result=10; // Exactly enough money
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // Exactly enough money
 		}};
 		
 		player.attemptToBuyEnergy(3);
 		new Verifications(){{
-			market.buyEnergyFromMarket(3);times=1;
-			playerInventory.decreaseMoneyQuantity(10);times=1; // 10 = the cost of 3 energy as set up in the expectations
+			market.attemptToBuyEnergy(playerInventory, 3);times=1;
+			playerInventory.tryDecreaseMoneyQuantity(10);times=1; // 10 = the cost of 3 energy as set up in the expectations
 		}};
 	}
 	
@@ -279,7 +276,7 @@ public class PlayerTestCase {
 		
 		player.attemptToBuyEnergy(-1);
 		new Verifications(){{
-			playerInventory.decreaseMoneyQuantity(anyInt);times=0;
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);times=0;
 		}};
 	}
 	
@@ -300,9 +297,9 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testBuyEnergyReturnFalseNotEnoughMoney(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostEnergy(anyInt); result = 1000;
-			playerInventory.getMoneyQuantity(); result = 0;
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=false;
 		}};
 		
 		assertFalse(player.attemptToBuyEnergy(1000000));
@@ -314,9 +311,9 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testBuyEnergyDecreaseMoneyNotEnoughMoney(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostEnergy(anyInt); result = 1000;
-			playerInventory.getMoneyQuantity(); result = 0;
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=false;
 		}};
 		
 		player.attemptToBuyEnergy(1000000);
@@ -330,9 +327,9 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testBuyEnergyIncreaseEnergyNotEnoughMoney(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostEnergy(anyInt); result = 1000;
-			playerInventory.getMoneyQuantity(); result = 0;
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=false;
 		}};
 		
 		player.attemptToBuyEnergy(1000000);
@@ -350,9 +347,9 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testReturnTrueBuyOreHaveEnoughMoneySix(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostOre(6); result = 10;
-			playerInventory.getMoneyQuantity();result=100; // More than enough money
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // More than enough money
 		}};
 		
 		assertTrue(player.attemptToBuyOre(6));
@@ -363,9 +360,9 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testIncreaseOreBuyOreHaveEnoughMoneySix(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostOre(6); result = 10;
-			playerInventory.getMoneyQuantity();result=100; // More than enough money
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // More than enough money
 		}};
 
 		player.attemptToBuyOre(6);
@@ -379,14 +376,14 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testReduceMoneyBuyOreHaveEnoughMoneySix(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostOre(6); result = 10;
-			playerInventory.getMoneyQuantity();result=100; // More than enough money
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // More than enough money
 		}};
 		
 		player.attemptToBuyOre(6);
 		new Verifications(){{
-			playerInventory.decreaseMoneyQuantity(10);times=1;
+			playerInventory.tryDecreaseMoneyQuantity(10);times=1;
 		}};
 	}
 	
@@ -395,14 +392,14 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testCallMarketBuyOreHaveEnoughMoneySix(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostOre(6); result = 10;
-			playerInventory.getMoneyQuantity();result=100; // More than enough money
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // More than enough money
 		}};
 		
 		player.attemptToBuyOre(6);
 		new Verifications(){{
-			market.buyOreFromMarket(6);times=1;
+			market.attemptToBuyOre(playerInventory, 6);times=1;
 		}};
 	}
 	
@@ -411,9 +408,9 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testReturnTrueBuyOreHaveEnoughMoneyOne(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostOre(1); result = 10;
-			playerInventory.getMoneyQuantity();result=100; // More than enough money
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // More than enough money
 		}};
 		
 		assertTrue(player.attemptToBuyOre(1));
@@ -424,9 +421,9 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testIncreaseOreBuyOreHaveEnoughMoneyOne(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostOre(1); result = 10;
-			playerInventory.getMoneyQuantity();result=100; // More than enough money
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // More than enough money
 		}};
 		
 		player.attemptToBuyOre(1);
@@ -440,14 +437,14 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testReduceMoneyBuyOreHaveEnoughMoneyOne(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostOre(1); result = 10;
-			playerInventory.getMoneyQuantity();result=100; // More than enough money
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // More than enough money
 		}};
 		
 		player.attemptToBuyOre(1);
 		new Verifications(){{
-			playerInventory.decreaseMoneyQuantity(10);times=1; // 10 = the cost of 1 ore as set up in the expectations
+			playerInventory.tryDecreaseMoneyQuantity(10);times=1; // 10 = the cost of 1 ore as set up in the expectations
 		}};
 	}
 	
@@ -456,14 +453,14 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testCallMarketBuyOreHaveEnoughMoneyOne(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostOre(1); result = 10;
-			playerInventory.getMoneyQuantity();result=100; // More than enough money
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // More than enough money
 		}};
 		
 		player.attemptToBuyOre(1);
 		new Verifications(){{
-			market.buyOreFromMarket(1);times=1;
+			market.attemptToBuyOre(playerInventory, 1);times=1;
 		}};
 	}
 	
@@ -505,9 +502,9 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testReturnTrueBuyOreHaveExactlyEnoughMoney(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostOre(3); result = 10;
-			playerInventory.getMoneyQuantity();result=10; // Exactly enough money
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // Exactly enough money
 		}};
 		
 		assertTrue(player.attemptToBuyOre(3));
@@ -518,14 +515,14 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testIncreaseOreBuyOreHaveExactlyEnoughMoney(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostOre(3); result = 10;
-			playerInventory.getMoneyQuantity();result=10; // Exactly enough money
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // Exactly enough money
 		}};
 		
 		player.attemptToBuyOre(3);
 		new Verifications(){{
-			market.buyOreFromMarket(3);times=1;
+			market.attemptToBuyOre(playerInventory, 3);times=1;
 			playerInventory.increaseOreQuantity(3);times=1;
 		}};
 	}
@@ -535,15 +532,15 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testReduceMoneyBuyOreHaveExactlyEnoughMoney(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostOre(3); result = 10;
-			playerInventory.getMoneyQuantity();result=10; // Exactly enough money
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // Exactly enough money
 		}};
 		
 		player.attemptToBuyOre(3);
 		new Verifications(){{
-			market.buyOreFromMarket(3);times=1;
-			playerInventory.decreaseMoneyQuantity(10);times=1; // 10 = the cost of 3 ore as set up in the expectations
+			market.attemptToBuyOre(playerInventory, 3);times=1;
+			playerInventory.tryDecreaseMoneyQuantity(10);times=1; // 10 = the cost of 3 ore as set up in the expectations
 		}};
 	}
 	
@@ -562,7 +559,7 @@ public class PlayerTestCase {
 	public void testBuyOreDecreaseMoneyNegativeQuantity(){
 		player.attemptToBuyOre(-1);
 		new Verifications(){{
-			playerInventory.decreaseMoneyQuantity(anyInt);times=0;
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);times=0;
 		}};
 	}
 	
@@ -583,9 +580,9 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testBuyOreReturnFalseNotEnoughMoney(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostOre(anyInt); result = 1000;
-			playerInventory.getMoneyQuantity(); result = 0;
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=false;
 		}};
 		
 		assertFalse(player.attemptToBuyOre(1000000));
@@ -597,9 +594,9 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testBuyOreDecreaseMoneyNotEnoughMoney(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostOre(anyInt); result = 1000;
-			playerInventory.getMoneyQuantity(); result = 0;
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=false;
 		}};
 		
 		player.attemptToBuyOre(1000000);
@@ -613,9 +610,9 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testBuyOreIncreaseOreNotEnoughMoney(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostOre(anyInt); result = 1000;
-			playerInventory.getMoneyQuantity(); result = 0;
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=false;
 		}};
 		
 		player.attemptToBuyOre(1000000);
@@ -638,9 +635,9 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testReturnTrueBuyRoboticonsHaveEnoughMoneySix(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticons(6); result = 10;
-			playerInventory.getMoneyQuantity();result=100; // More than enough money
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // More than enough money
 		}};
 		
 		assertTrue(player.attemptToBuyRoboticons(6));
@@ -651,9 +648,9 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testIncreaseRoboticonsBuyRoboticonsHaveEnoughMoneySix(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticons(6); result = 10;
-			playerInventory.getMoneyQuantity();result=100; // More than enough money
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // More than enough money
 		}};
 
 		player.attemptToBuyRoboticons(6);
@@ -667,14 +664,14 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testReduceMoneyBuyRoboticonsHaveEnoughMoneySix(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticons(6); result = 10;
-			playerInventory.getMoneyQuantity();result=100; // More than enough money
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // More than enough money
 		}};
 		
 		player.attemptToBuyRoboticons(6);
 		new Verifications(){{
-			playerInventory.decreaseMoneyQuantity(10);times=1;
+			playerInventory.tryDecreaseMoneyQuantity(10);times=1;
 		}};
 	}
 	
@@ -683,14 +680,14 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testCallMarketBuyRoboticonsHaveEnoughMoneySix(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticons(6); result = 10;
-			playerInventory.getMoneyQuantity();result=100; // More than enough money
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // More than enough money
 		}};
 		
 		player.attemptToBuyRoboticons(6);
 		new Verifications(){{
-			market.buyRoboticonsFromMarket(6);times=1;
+			market.attemptToBuyRoboticons(playerInventory, 6);times=1;
 		}};
 	}
 	
@@ -699,9 +696,9 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testReturnTrueBuyRoboticonsHaveEnoughMoneyOne(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticons(1); result = 10;
-			playerInventory.getMoneyQuantity();result=100; // More than enough money
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // More than enough money
 		}};
 		
 		assertTrue(player.attemptToBuyRoboticons(1));
@@ -712,9 +709,9 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testIncreaseRoboticonsBuyRoboticonsHaveEnoughMoneyOne(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticons(1); result = 10;
-			playerInventory.getMoneyQuantity();result=100; // More than enough money
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // More than enough money
 		}};
 		
 		player.attemptToBuyRoboticons(1);
@@ -728,14 +725,14 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testReduceMoneyBuyRoboticonsHaveEnoughMoneyOne(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticons(1); result = 10;
-			playerInventory.getMoneyQuantity();result=100; // More than enough money
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // More than enough money
 		}};
 		
 		player.attemptToBuyRoboticons(1);
 		new Verifications(){{
-			playerInventory.decreaseMoneyQuantity(10);times=1; // 10 = the cost of 1 roboticons as set up in the expectations
+			playerInventory.tryDecreaseMoneyQuantity(10);times=1; // 10 = the cost of 1 roboticons as set up in the expectations
 		}};
 	}
 	
@@ -744,14 +741,14 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testCallMarketBuyRoboticonsHaveEnoughMoneyOne(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticons(1); result = 10;
-			playerInventory.getMoneyQuantity();result=100; // More than enough money
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // More than enough money
 		}};
 		
 		player.attemptToBuyRoboticons(1);
 		new Verifications(){{
-			market.buyRoboticonsFromMarket(1);times=1;
+			market.attemptToBuyRoboticons(playerInventory, 1);times=1;
 		}};
 	}
 	
@@ -793,9 +790,9 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testReturnTrueBuyRoboticonsHaveExactlyEnoughMoney(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticons(3); result = 10;
-			playerInventory.getMoneyQuantity();result=10; // Exactly enough money
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // Exactly enough money
 		}};
 		
 		assertTrue(player.attemptToBuyRoboticons(3));
@@ -806,14 +803,14 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testIncreaseRoboticonsBuyRoboticonsHaveExactlyEnoughMoney(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticons(3); result = 10;
-			playerInventory.getMoneyQuantity();result=10; // Exactly enough money
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // Exactly enough money
 		}};
 		
 		player.attemptToBuyRoboticons(3);
 		new Verifications(){{
-			market.buyRoboticonsFromMarket(3);times=1;
+			market.attemptToBuyRoboticons(playerInventory, 3);times=1;
 			playerInventory.increaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, 3);times=1;
 		}};
 	}
@@ -823,15 +820,15 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testReduceMoneyBuyRoboticonsHaveExactlyEnoughMoney(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticons(3); result = 10;
-			playerInventory.getMoneyQuantity();result=10; // Exactly enough money
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // Exactly enough money
 		}};
 		
 		player.attemptToBuyRoboticons(3);
 		new Verifications(){{
-			market.buyRoboticonsFromMarket(3);times=1;
-			playerInventory.decreaseMoneyQuantity(10);times=1; // 10 = the cost of 3 roboticons as set up in the expectations
+			market.attemptToBuyRoboticons(playerInventory, 3);times=1;
+			playerInventory.tryDecreaseMoneyQuantity(10);times=1; // 10 = the cost of 3 roboticons as set up in the expectations
 		}};
 	}
 	
@@ -850,7 +847,7 @@ public class PlayerTestCase {
 	public void testBuyRoboticonsDecreaseMoneyNegativeQuantity(){
 		player.attemptToBuyRoboticons(-1);
 		new Verifications(){{
-			playerInventory.decreaseMoneyQuantity(anyInt);times=0;
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);times=0;
 		}};
 	}
 	
@@ -871,9 +868,9 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testBuyRoboticonsReturnFalseNotEnoughMoney(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticons(anyInt); result = 1000;
-			playerInventory.getMoneyQuantity(); result = 0;
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=false;
 		}};
 		
 		assertFalse(player.attemptToBuyRoboticons(1000000));
@@ -885,9 +882,9 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testBuyRoboticonsDecreaseMoneyNotEnoughMoney(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticons(anyInt); result = 1000;
-			playerInventory.getMoneyQuantity(); result = 0;
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=false;
 		}};
 		
 		player.attemptToBuyRoboticons(1000000);
@@ -901,9 +898,9 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testBuyRoboticonsIncreaseRoboticonsNotEnoughMoney(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticons(anyInt); result = 1000;
-			playerInventory.getMoneyQuantity(); result = 0;
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=false;
 		}};
 		
 		player.attemptToBuyRoboticons(1000000);
@@ -927,8 +924,8 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testReturnTrueSellEnergyHaveEnoughEnergyFive(){
-		new Expectations(){{
-			playerInventory.getEnergyQuantity();result=6; // More than enough energy
+		new Expectations(market){{
+			playerInventory.tryDecreaseEnergyQuantity(anyInt);result=true; // More than enough energy
 		}};
 		
 		assertTrue(player.attemptToSellEnergy(5));
@@ -939,13 +936,13 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testDecreaseEnergySellEnergyHaveEnoughEnergyFive(){
-		new Expectations(){{
-			playerInventory.getEnergyQuantity();result=6; // More than enough energy
+		new Expectations(market){{
+			playerInventory.tryDecreaseEnergyQuantity(anyInt);result=true; // More than enough energy
 		}};
 
 		player.attemptToSellEnergy(5);
 		new Verifications(){{
-			playerInventory.decreaseEnergyQuantity(5);times=1;
+			playerInventory.tryDecreaseEnergyQuantity(5);times=1;
 		}};
 	}
 	
@@ -954,9 +951,9 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testIncreaseMoneySellEnergyHaveEnoughEnergyFive(){
-		new Expectations(){{
-			market.getCostEnergy(5); result = 10;
-			playerInventory.getEnergyQuantity();result=6; // More than enough energy
+		new Expectations(market){{
+			market.getSaleValueEnergy(5); result = 10;
+			playerInventory.tryDecreaseEnergyQuantity(anyInt);result=true; // More than enough energy
 		}};
 		
 		player.attemptToSellEnergy(5);
@@ -970,13 +967,13 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testCallMarketSellEnergyHaveEnoughEnergyFive(){
-		new Expectations(){{
-			playerInventory.getEnergyQuantity();result=6; // More than enough energy
+		new Expectations(market){{
+			playerInventory.tryDecreaseEnergyQuantity(anyInt);result=true; // More than enough energy
 		}};
 		
 		player.attemptToSellEnergy(5);
 		new Verifications(){{
-			market.sellEnergyToMarket(5);times=1;
+			market.attemptToSellEnergy(playerInventory, 5);times=1;
 		}};
 	}
 	
@@ -985,8 +982,8 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testReturnTrueSellEnergyHaveEnoughEnergyOne(){
-		new Expectations(){{
-			playerInventory.getEnergyQuantity();result=6; // More than enough energy
+		new Expectations(market){{
+			playerInventory.tryDecreaseEnergyQuantity(anyInt);result=true; // More than enough energy
 		}};
 		
 		assertTrue(player.attemptToSellEnergy(1));
@@ -997,13 +994,13 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testDecreaseEnergySellEnergyHaveEnoughEnergyOne(){
-		new Expectations(){{
-			playerInventory.getEnergyQuantity();result=6; // More than enough energy
+		new Expectations(market){{
+			playerInventory.tryDecreaseEnergyQuantity(anyInt);result=true; // More than enough energy
 		}};
 		
 		player.attemptToSellEnergy(1);
 		new Verifications(){{
-			playerInventory.decreaseEnergyQuantity(1);times=1;
+			playerInventory.tryDecreaseEnergyQuantity(1);times=1;
 		}};
 	}
 	
@@ -1012,9 +1009,9 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testIncreaseMoneySellEnergyHaveEnoughEnergyOne(){
-		new Expectations(){{
-			market.getCostEnergy(1); result = 10;
-			playerInventory.getEnergyQuantity();result=6; // More than enough energy
+		new Expectations(market){{
+			market.getSaleValueEnergy(1); result = 10;
+			playerInventory.tryDecreaseEnergyQuantity(anyInt);result=true; // More than enough energy
 		}};
 		
 		player.attemptToSellEnergy(1);
@@ -1028,13 +1025,13 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testCallMarketSellEnergyHaveEnoughEnergyOne(){
-		new Expectations(){{
-			playerInventory.getEnergyQuantity();result=6; // More than enough energy
+		new Expectations(market){{
+			playerInventory.tryDecreaseEnergyQuantity(anyInt);result=true; // More than enough energy
 		}};
 		
 		player.attemptToSellEnergy(1);
 		new Verifications(){{
-			market.sellEnergyToMarket(1);times=1;
+			market.attemptToSellEnergy(playerInventory, 1);times=1;
 		}};
 	}
 	
@@ -1076,8 +1073,8 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testReturnTrueSellEnergyHaveExactlyEnoughEnergy(){
-		new Expectations(){{
-			playerInventory.getEnergyQuantity();result=3; // Exactly enough energy
+		new Expectations(market){{
+			playerInventory.tryDecreaseEnergyQuantity(anyInt);result=true; // Exactly enough energy
 		}};
 		
 		assertTrue(player.attemptToSellEnergy(3));
@@ -1088,13 +1085,13 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testDecreaseEnergySellEnergyHaveExactlyEnoughEnergy(){
-		new Expectations(){{
-			playerInventory.getEnergyQuantity();result=3; // Exactly enough energy
+		new Expectations(market){{
+			playerInventory.tryDecreaseEnergyQuantity(anyInt);result=true; // Exactly enough energy
 		}};
 		
 		player.attemptToSellEnergy(3);
 		new Verifications(){{
-			playerInventory.decreaseEnergyQuantity(3);times=1;
+			playerInventory.tryDecreaseEnergyQuantity(3);times=1;
 		}};
 	}
 	
@@ -1103,9 +1100,9 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testIncreaseMoneySellEnergyHaveExactlyEnoughEnergy(){
-		new Expectations(){{
-			market.getCostEnergy(3); result = 10;
-			playerInventory.getEnergyQuantity();result=3; // Exactly enough energy
+		new Expectations(market){{
+			market.getSaleValueEnergy(3); result = 10;
+			playerInventory.tryDecreaseEnergyQuantity(anyInt);result=true; // Exactly enough energy
 		}};
 		
 		player.attemptToSellEnergy(3);
@@ -1142,7 +1139,7 @@ public class PlayerTestCase {
 		
 		player.attemptToSellEnergy(-1);
 		new Verifications(){{
-			playerInventory.decreaseEnergyQuantity(anyInt);times=0;
+			playerInventory.tryDecreaseEnergyQuantity(anyInt);times=0;
 		}};
 	}	
 	
@@ -1151,8 +1148,8 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testSellEnergyReturnFalseNotEnoughEnergy(){
-		new Expectations(){{
-			playerInventory.getEnergyQuantity(); result = 1000000-1;
+		new Expectations(market){{
+			playerInventory.tryDecreaseEnergyQuantity(anyInt);result=false;
 		}};
 		
 		assertFalse(player.attemptToSellEnergy(1000000));
@@ -1164,8 +1161,8 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testBuyEnergyIncreaseMoneyNotEnoughEnergy(){
-		new Expectations(){{
-			playerInventory.getEnergyQuantity(); result = 1000000-1;
+		new Expectations(market){{
+			playerInventory.tryDecreaseEnergyQuantity(anyInt);result=false;
 		}};
 		
 		player.attemptToSellEnergy(1000000);
@@ -1179,8 +1176,8 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testSellEnergyDecreaseEnergyNotEnoughEnergy(){
-		new Expectations(){{
-			playerInventory.getEnergyQuantity(); result = 1000000-1;
+		new Expectations(market){{
+			playerInventory.tryDecreaseEnergyQuantity(anyInt);result=false;
 		}};
 		
 		player.attemptToSellEnergy(1000000);
@@ -1198,8 +1195,8 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testReturnTrueSellOreHaveEnoughOreFive(){
-		new Expectations(){{
-			playerInventory.getOreQuantity();result=6; // More than enough ore
+		new Expectations(market){{
+			playerInventory.tryDecreaseOreQuantity(anyInt);result=true; // More than enough ore
 		}};
 		
 		assertTrue(player.attemptToSellOre(5));
@@ -1210,13 +1207,13 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testDecreaseOreSellOreHaveEnoughOreFive(){
-		new Expectations(){{
-			playerInventory.getOreQuantity();result=6; // More than enough ore
+		new Expectations(market){{
+			playerInventory.tryDecreaseOreQuantity(anyInt);result=true; // More than enough ore
 		}};
 
 		player.attemptToSellOre(5);
 		new Verifications(){{
-			playerInventory.decreaseOreQuantity(5);times=1;
+			playerInventory.tryDecreaseOreQuantity(5);times=1;
 		}};
 	}
 	
@@ -1225,9 +1222,9 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testIncreaseMoneySellOreHaveEnoughOreFive(){
-		new Expectations(){{
-			market.getCostOre(5); result = 10;
-			playerInventory.getOreQuantity();result=6; // More than enough ore
+		new Expectations(market){{
+			market.getSaleValueOre(5); result = 10;
+			playerInventory.tryDecreaseOreQuantity(anyInt);result=true; // More than enough ore
 		}};
 		
 		player.attemptToSellOre(5);
@@ -1241,13 +1238,13 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testCallMarketSellOreHaveEnoughOreFive(){
-		new Expectations(){{
-			playerInventory.getOreQuantity();result=6; // More than enough ore
+		new Expectations(market){{
+			playerInventory.tryDecreaseOreQuantity(anyInt);result=true; // More than enough ore
 		}};
 		
 		player.attemptToSellOre(5);
 		new Verifications(){{
-			market.sellOreToMarket(5);times=1;
+			market.attemptToSellOre(playerInventory, 5);times=1;
 		}};
 	}
 	
@@ -1256,8 +1253,8 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testReturnTrueSellOreHaveEnoughOreOne(){
-		new Expectations(){{
-			playerInventory.getOreQuantity();result=6; // More than enough ore
+		new Expectations(market){{
+			playerInventory.tryDecreaseOreQuantity(anyInt);result=true; // More than enough ore
 		}};
 		
 		assertTrue(player.attemptToSellOre(1));
@@ -1268,13 +1265,13 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testDecreaseOreSellOreHaveEnoughOreOne(){
-		new Expectations(){{
-			playerInventory.getOreQuantity();result=6; // More than enough ore
+		new Expectations(market){{
+			playerInventory.tryDecreaseOreQuantity(anyInt);result=true; // More than enough ore
 		}};
 		
 		player.attemptToSellOre(1);
 		new Verifications(){{
-			playerInventory.decreaseOreQuantity(1);times=1;
+			playerInventory.tryDecreaseOreQuantity(1);times=1;
 		}};
 	}
 	
@@ -1283,9 +1280,9 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testIncreaseMoneySellOreHaveEnoughOreOne(){
-		new Expectations(){{
-			market.getCostOre(1); result = 10;
-			playerInventory.getOreQuantity();result=6; // More than enough ore
+		new Expectations(market){{
+			market.getSaleValueOre(1); result = 10;
+			playerInventory.tryDecreaseOreQuantity(anyInt);result=true; // More than enough ore
 		}};
 		
 		player.attemptToSellOre(1);
@@ -1299,13 +1296,13 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testCallMarketSellOreHaveEnoughOreOne(){
-		new Expectations(){{
-			playerInventory.getOreQuantity();result=6; // More than enough ore
+		new Expectations(market){{
+			playerInventory.tryDecreaseOreQuantity(anyInt);result=true; // More than enough ore
 		}};
 		
 		player.attemptToSellOre(1);
 		new Verifications(){{
-			market.sellOreToMarket(1);times=1;
+			market.attemptToSellOre(playerInventory, 1);times=1;
 		}};
 	}
 	
@@ -1347,8 +1344,8 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testReturnTrueSellOreHaveExactlyEnoughOre(){
-		new Expectations(){{
-			playerInventory.getOreQuantity();result=3; // Exactly enough ore
+		new Expectations(market){{
+			playerInventory.tryDecreaseOreQuantity(anyInt);result=true; // Exactly enough ore
 		}};
 		
 		assertTrue(player.attemptToSellOre(3));
@@ -1359,13 +1356,13 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testDecreaseOreSellOreHaveExactlyEnoughOre(){
-		new Expectations(){{
-			playerInventory.getOreQuantity();result=3; // Exactly enough ore
+		new Expectations(market){{
+			playerInventory.tryDecreaseOreQuantity(anyInt);result=true; // Exactly enough ore
 		}};
 		
 		player.attemptToSellOre(3);
 		new Verifications(){{
-			playerInventory.decreaseOreQuantity(3);times=1;
+			playerInventory.tryDecreaseOreQuantity(3);times=1;
 		}};
 	}
 	
@@ -1374,9 +1371,9 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testIncreaseMoneySellOreHaveExactlyEnoughOre(){
-		new Expectations(){{
-			market.getCostOre(3); result = 10;
-			playerInventory.getOreQuantity();result=3; // Exactly enough ore
+		new Expectations(market){{
+			market.getSaleValueOre(3); result = 10;
+			playerInventory.tryDecreaseOreQuantity(anyInt);result=true; // Exactly enough ore
 		}};
 		
 		player.attemptToSellOre(3);
@@ -1413,7 +1410,7 @@ public class PlayerTestCase {
 		
 		player.attemptToSellOre(-1);
 		new Verifications(){{
-			playerInventory.decreaseOreQuantity(anyInt);times=0;
+			playerInventory.tryDecreaseOreQuantity(anyInt);times=0;
 		}};
 	}	
 	
@@ -1422,8 +1419,8 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testSellOreReturnFalseNotEnoughOre(){
-		new Expectations(){{
-			playerInventory.getOreQuantity(); result = 1000000-1;
+		new Expectations(market){{
+			playerInventory.tryDecreaseOreQuantity(anyInt);result=false;
 		}};
 		
 		assertFalse(player.attemptToSellOre(1000000));
@@ -1435,8 +1432,8 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testBuyOreIncreaseMoneyNotEnoughOre(){
-		new Expectations(){{
-			playerInventory.getOreQuantity(); result = 1000000-1;
+		new Expectations(market){{
+			playerInventory.tryDecreaseOreQuantity(anyInt);result=false;
 		}};
 		
 		player.attemptToSellOre(1000000);
@@ -1450,8 +1447,8 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testSellOreDecreaseOreNotEnoughOre(){
-		new Expectations(){{
-			playerInventory.getOreQuantity(); result = 1000000-1;
+		new Expectations(market){{
+			playerInventory.tryDecreaseOreQuantity(anyInt);result=false;
 		}};
 		
 		player.attemptToSellOre(1000000);
@@ -1473,10 +1470,10 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testReturnTrueCustomiseRoboticonHaveMoreThanEnoughMoneyAndRoboticonsEnergy(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=10;
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=7; // More than enough money
-			playerInventory.getMoneyQuantity();result=10000; // More than enough money
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=true; // More than enough money
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // More than enough money
 		}};
 		assertTrue(player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY));
 	}
@@ -1486,10 +1483,10 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testReturnTrueCustomiseRoboticonHaveMoreThanEnoughMoneyAndOneRoboticonEnergy(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=10;
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=1; // Exactly enough roboticons
-			playerInventory.getMoneyQuantity();result=10000; // More than enough money
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=true; // Exactly enough roboticons
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // More than enough money
 		}};
 		assertTrue(player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY));
 			
@@ -1500,10 +1497,10 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testReturnTrueCustomiseRoboticonHaveExactMoneyAndMoreThanOneRoboticonEnergy(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=10;
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=10; // More than enough roboticons
-			playerInventory.getMoneyQuantity();result=10; // Exactly enough money
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=true; // More than enough roboticons
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // Exactly enough money
 		}};
 		assertTrue(player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY));
 	}
@@ -1513,10 +1510,10 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testReturnTrueCustomiseRoboticonHaveExactMoneyAndOneRoboticonEnergy(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=10;
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=1; // Exactly enough roboticons
-			playerInventory.getMoneyQuantity();result=10; // Exactly enough money
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=true; // Exactly enough roboticons
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // Exactly enough money
 		}};
 		assertTrue(player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY));
 	}
@@ -1526,14 +1523,14 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testDecreaseRoboticonsCustomiseRoboticonHaveMoreThanEnoughMoneyAndRoboticonsEnergy(){
-			new Expectations(){{
+			new Expectations(market){{
 						market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=10;
-						playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=7; // More than enough money
-						playerInventory.getMoneyQuantity();result=10000; // More than enough money
+						playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=true; // More than enough money
+						playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // More than enough money
 			}};
 			player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY);
 			new Verifications(){{
-				playerInventory.decreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, 1);times=1;
+				playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, 1);times=1;
 			}};
 	}
 
@@ -1542,14 +1539,14 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testDecreaseRoboticonsCustomiseRoboticonHaveMoreThanEnoughMoneyAndOneRoboticonEnergy(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=10;
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=1; // Exactly enough roboticons
-	playerInventory.getMoneyQuantity();result=10000; // More than enough money
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=true; // Exactly enough roboticons
+	playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // More than enough money
 		}};
 		player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY);
 		new Verifications(){{
-			playerInventory.decreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, 1);times=1;
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, 1);times=1;
 		}};	
 	}
 
@@ -1558,14 +1555,14 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testDecreaseRoboticonsCustomiseRoboticonHaveExactMoneyAndMoreThanOneRoboticonEnergy(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=10;
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=10; // More than enough roboticons
-			playerInventory.getMoneyQuantity();result=10; // Exactly enough money
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=true; // More than enough roboticons
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // Exactly enough money
 		}};
 		player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY);
 		new Verifications(){{
-			playerInventory.decreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, 1);times=1;
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, 1);times=1;
 		}};
 	}
 
@@ -1574,14 +1571,14 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testDecreaseRoboticonsCustomiseRoboticonHaveExactMoneyAndOneRoboticonEnergy(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=10;
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=1; // Exactly enough roboticons
-			playerInventory.getMoneyQuantity();result=10; // Exactly enough money
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=true; // Exactly enough roboticons
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // Exactly enough money
 		}};
 		player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY);
 		new Verifications(){{
-			playerInventory.decreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, 1);times=1;
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, 1);times=1;
 		}};
 	}
 	
@@ -1590,14 +1587,14 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testIncreaseMoneyCustomiseRoboticonHaveMoreThanEnoughMoneyAndRoboticonsEnergy(){
-			new Expectations(){{
+			new Expectations(market){{
 						market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=8;
-						playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=7; // More than enough money
-						playerInventory.getMoneyQuantity();result=10000; // More than enough money
+						playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=true; // More than enough money
+						playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // More than enough money
 			}};
 			player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY);
 			new Verifications(){{
-				playerInventory.decreaseMoneyQuantity(8);times=1;
+				playerInventory.tryDecreaseMoneyQuantity(8);times=1;
 			}};
 	}
 
@@ -1606,14 +1603,14 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testIncreaseMoneyCustomiseRoboticonHaveMoreThanEnoughMoneyAndOneRoboticonEnergy(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=7;
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=1; // Exactly enough roboticons
-	playerInventory.getMoneyQuantity();result=10000; // More than enough money
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=true; // Exactly enough roboticons
+	playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // More than enough money
 		}};
 		player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY);
 		new Verifications(){{
-			playerInventory.decreaseMoneyQuantity(7);times=1;
+			playerInventory.tryDecreaseMoneyQuantity(7);times=1;
 		}};	
 	}
 
@@ -1622,14 +1619,14 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testIncreaseMoneyCustomiseRoboticonHaveExactMoneyAndMoreThanOneRoboticonEnergy(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=7;
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=10; // More than enough roboticons
-			playerInventory.getMoneyQuantity();result=10; // Exactly enough money
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=true; // More than enough roboticons
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // Exactly enough money
 		}};
 		player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY);
 		new Verifications(){{
-			playerInventory.decreaseMoneyQuantity(7);times=1;
+			playerInventory.tryDecreaseMoneyQuantity(7);times=1;
 		}};
 	}
 
@@ -1638,14 +1635,14 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testIncreaseMoneyCustomiseRoboticonHaveExactMoneyAndOneRoboticonEnergy(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=7;
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=1; // Exactly enough roboticons
-			playerInventory.getMoneyQuantity();result=10; // Exactly enough money
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=true; // Exactly enough roboticons
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // Exactly enough money
 		}};
 		player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY);
 		new Verifications(){{
-			playerInventory.decreaseMoneyQuantity(7);times=1;
+			playerInventory.tryDecreaseMoneyQuantity(7);times=1;
 		}};
 	}
 	
@@ -1654,10 +1651,10 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testIncreaseRoboticonsCustomiseRoboticonHaveMoreThanEnoughMoneyAndRoboticonsEnergy(){
-			new Expectations(){{
+			new Expectations(market){{
 						market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=10;
-						playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=7; // More than enough money
-						playerInventory.getMoneyQuantity();result=10000; // More than enough money
+						playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=true; // More than enough money
+						playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // More than enough money
 			}};
 			player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY);
 			new Verifications(){{
@@ -1670,10 +1667,10 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testIncreaseRoboticonsCustomiseRoboticonHaveMoreThanEnoughMoneyAndOneRoboticonEnergy(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=10;
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=1; // Exactly enough roboticons
-	playerInventory.getMoneyQuantity();result=10000; // More than enough money
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=true; // Exactly enough roboticons
+	playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // More than enough money
 		}};
 		player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY);
 		new Verifications(){{
@@ -1686,10 +1683,10 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testIncreaseRoboticonsCustomiseRoboticonHaveExactMoneyAndMoreThanOneRoboticonEnergy(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=10;
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=10; // More than enough roboticons
-			playerInventory.getMoneyQuantity();result=10; // Exactly enough money
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=true; // More than enough roboticons
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // Exactly enough money
 		}};
 		player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY);
 		new Verifications(){{
@@ -1702,10 +1699,10 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testIncreaseRoboticonsCustomiseRoboticonHaveExactMoneyAndOneRoboticonEnergy(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=10;
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=1; // Exactly enough roboticons
-			playerInventory.getMoneyQuantity();result=10; // Exactly enough money
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=true; // Exactly enough roboticons
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // Exactly enough money
 		}};
 		player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY);
 		new Verifications(){{
@@ -1718,10 +1715,10 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testReturnFalseNotEnoughMoneyCustomiseRoboticonsEnergy(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=11;
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=1;
-			playerInventory.getMoneyQuantity();result=10;
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=true;
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=false;
 		}};
 		assertFalse(player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY));
 	
@@ -1732,10 +1729,10 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testDecreaseRobpoticonsNotEnoughMoneyCustomiseRoboticonsEnergy(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=11;
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=1;
-			playerInventory.getMoneyQuantity();result=10;
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=true;
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=false;
 		}};
 		player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY);
 		new Verifications(){{
@@ -1748,10 +1745,10 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testDecreaseMoneyNotEnoughMoneyCustomiseRoboticonsEnergy(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=11;
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=1;
-			playerInventory.getMoneyQuantity();result=10;
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=true;
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=false;
 		}};
 		player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY);
 		new Verifications(){{
@@ -1764,10 +1761,10 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testIncreaseRoboticonsNotEnoughMoneyCustomiseRoboticonsEnergy(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=11;
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=1;
-			playerInventory.getMoneyQuantity();result=10;
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=true;
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=false;
 		}};
 		player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY);
 		new Verifications(){{
@@ -1780,10 +1777,10 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testReturnFalseNotEnoughMoneyCustomiseRoboticonsEnergy2(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=110;
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=1;
-			playerInventory.getMoneyQuantity();result=10;
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=true;
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=false;
 		}};
 		assertFalse(player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY));
 	
@@ -1794,10 +1791,10 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testDecreaseRobpoticonsNotEnoughMoneyCustomiseRoboticonsEnergy2(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=110;
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=1;
-			playerInventory.getMoneyQuantity();result=10;
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=true;
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=false;
 		}};
 		player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY);
 		new Verifications(){{
@@ -1810,10 +1807,10 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testDecreaseMoneyNotEnoughMoneyCustomiseRoboticonsEnergy2(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=110;
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=1;
-			playerInventory.getMoneyQuantity();result=10;
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=true;
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=false;
 		}};
 		player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY);
 		new Verifications(){{
@@ -1826,10 +1823,10 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testIncreaseRoboticonsNotEnoughMoneyCustomiseRoboticonsEnergy2(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=110;
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=1;
-			playerInventory.getMoneyQuantity();result=10;
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=true;
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=false;
 		}};
 		player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY);
 		new Verifications(){{
@@ -1842,8 +1839,8 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testReturnFalseNoUncustomisedRoboticonsCustomiseRoboticonsEnergy(){
-		new Expectations(){{
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=0;
+		new Expectations(market){{
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=false;
 		}};
 		assertFalse(player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY));
 	}	
@@ -1853,8 +1850,8 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testDecreaseRoboticonsNoUncustomisedRoboticonsCustomiseRoboticonsEnergy(){
-		new Expectations(){{
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=0;
+		new Expectations(market){{
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=false;
 		}};
 		player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY);
 		new Verifications(){{
@@ -1867,12 +1864,12 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testDecreaseMoneyNoUncustomisedRoboticonsCustomiseRoboticonsEnergy(){
-		new Expectations(){{
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=0;
+		new Expectations(market){{
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=false;
 		}};
 		player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY);
 		new Verifications(){{
-			playerInventory.decreaseMoneyQuantity(anyInt);times=0;
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);times=0;
 		}};
 	}
 	
@@ -1881,8 +1878,8 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testIncreaseRoboticonsNoUncustomisedRoboticonsCustomiseRoboticonsEnergy(){
-		new Expectations(){{
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=0;
+		new Expectations(market){{
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=false;
 		}};
 		player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY);
 		new Verifications(){{
@@ -1896,10 +1893,10 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testReturnTrueCustomiseRoboticonHaveMoreThanEnoughMoneyAndRoboticonsOre(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=10;
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=7; // More than enough money
-			playerInventory.getMoneyQuantity();result=10000; // More than enough money
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=true; // More than enough money
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // More than enough money
 		}};
 		assertTrue(player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY));
 	}
@@ -1909,10 +1906,10 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testReturnTrueCustomiseRoboticonHaveMoreThanEnoughMoneyAndOneRoboticonOre(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=10;
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=1; // Exactly enough roboticons
-			playerInventory.getMoneyQuantity();result=10000; // More than enough money
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=true; // Exactly enough roboticons
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // More than enough money
 		}};
 		assertTrue(player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY));
 			
@@ -1923,10 +1920,10 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testReturnTrueCustomiseRoboticonHaveExactMoneyAndMoreThanOneRoboticonOre(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=10;
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=10; // More than enough roboticons
-			playerInventory.getMoneyQuantity();result=10; // Exactly enough money
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=true; // More than enough roboticons
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // Exactly enough money
 		}};
 		assertTrue(player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY));
 	}
@@ -1936,10 +1933,10 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testReturnTrueCustomiseRoboticonHaveExactMoneyAndOneRoboticonOre(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=10;
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=1; // Exactly enough roboticons
-			playerInventory.getMoneyQuantity();result=10; // Exactly enough money
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=true; // Exactly enough roboticons
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // Exactly enough money
 		}};
 		assertTrue(player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY));
 	}
@@ -1949,14 +1946,14 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testDecreaseRoboticonsCustomiseRoboticonHaveMoreThanEnoughMoneyAndRoboticonsOre(){
-			new Expectations(){{
+			new Expectations(market){{
 						market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=10;
-						playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=7; // More than enough money
-						playerInventory.getMoneyQuantity();result=10000; // More than enough money
+						playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=true; // More than enough money
+						playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // More than enough money
 			}};
 			player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY);
 			new Verifications(){{
-				playerInventory.decreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, 1);times=1;
+				playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, 1);times=1;
 			}};
 	}
 
@@ -1965,14 +1962,14 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testDecreaseRoboticonsCustomiseRoboticonHaveMoreThanEnoughMoneyAndOneRoboticonOre(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=10;
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=1; // Exactly enough roboticons
-	playerInventory.getMoneyQuantity();result=10000; // More than enough money
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=true; // Exactly enough roboticons
+	playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // More than enough money
 		}};
 		player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY);
 		new Verifications(){{
-			playerInventory.decreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, 1);times=1;
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, 1);times=1;
 		}};	
 	}
 
@@ -1981,14 +1978,14 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testDecreaseRoboticonsCustomiseRoboticonHaveExactMoneyAndMoreThanOneRoboticonOre(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=10;
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=10; // More than enough roboticons
-			playerInventory.getMoneyQuantity();result=10; // Exactly enough money
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=true; // More than enough roboticons
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // Exactly enough money
 		}};
 		player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY);
 		new Verifications(){{
-			playerInventory.decreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, 1);times=1;
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, 1);times=1;
 		}};
 	}
 
@@ -1997,14 +1994,14 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testDecreaseRoboticonsCustomiseRoboticonHaveExactMoneyAndOneRoboticonOre(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=10;
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=1; // Exactly enough roboticons
-			playerInventory.getMoneyQuantity();result=10; // Exactly enough money
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=true; // Exactly enough roboticons
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // Exactly enough money
 		}};
 		player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY);
 		new Verifications(){{
-			playerInventory.decreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, 1);times=1;
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, 1);times=1;
 		}};
 	}
 	
@@ -2013,14 +2010,14 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testIncreaseMoneyCustomiseRoboticonHaveMoreThanEnoughMoneyAndRoboticonsOre(){
-			new Expectations(){{
+			new Expectations(market){{
 						market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=8;
-						playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=7; // More than enough money
-						playerInventory.getMoneyQuantity();result=10000; // More than enough money
+						playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=true; // More than enough money
+						playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // More than enough money
 			}};
 			player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY);
 			new Verifications(){{
-				playerInventory.decreaseMoneyQuantity(8);times=1;
+				playerInventory.tryDecreaseMoneyQuantity(8);times=1;
 			}};
 	}
 
@@ -2029,14 +2026,14 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testIncreaseMoneyCustomiseRoboticonHaveMoreThanEnoughMoneyAndOneRoboticonOre(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=7;
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=1; // Exactly enough roboticons
-	playerInventory.getMoneyQuantity();result=10000; // More than enough money
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=true; // Exactly enough roboticons
+	playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // More than enough money
 		}};
 		player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY);
 		new Verifications(){{
-			playerInventory.decreaseMoneyQuantity(7);times=1;
+			playerInventory.tryDecreaseMoneyQuantity(7);times=1;
 		}};	
 	}
 
@@ -2045,14 +2042,14 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testIncreaseMoneyCustomiseRoboticonHaveExactMoneyAndMoreThanOneRoboticonOre(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=7;
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=10; // More than enough roboticons
-			playerInventory.getMoneyQuantity();result=10; // Exactly enough money
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=true; // More than enough roboticons
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // Exactly enough money
 		}};
 		player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY);
 		new Verifications(){{
-			playerInventory.decreaseMoneyQuantity(7);times=1;
+			playerInventory.tryDecreaseMoneyQuantity(7);times=1;
 		}};
 	}
 
@@ -2061,14 +2058,14 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testIncreaseMoneyCustomiseRoboticonHaveExactMoneyAndOneRoboticonOre(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=7;
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=1; // Exactly enough roboticons
-			playerInventory.getMoneyQuantity();result=10; // Exactly enough money
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=true; // Exactly enough roboticons
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // Exactly enough money
 		}};
 		player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY);
 		new Verifications(){{
-			playerInventory.decreaseMoneyQuantity(7);times=1;
+			playerInventory.tryDecreaseMoneyQuantity(7);times=1;
 		}};
 	}
 	
@@ -2077,10 +2074,10 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testIncreaseRoboticonsCustomiseRoboticonHaveMoreThanEnoughMoneyAndRoboticonsOre(){
-			new Expectations(){{
+			new Expectations(market){{
 						market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=10;
-						playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=7; // More than enough money
-						playerInventory.getMoneyQuantity();result=10000; // More than enough money
+						playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=true; // More than enough money
+						playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // More than enough money
 			}};
 			player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY);
 			new Verifications(){{
@@ -2093,10 +2090,10 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testIncreaseRoboticonsCustomiseRoboticonHaveMoreThanEnoughMoneyAndOneRoboticonOre(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=10;
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=1; // Exactly enough roboticons
-	playerInventory.getMoneyQuantity();result=10000; // More than enough money
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=true; // Exactly enough roboticons
+	playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // More than enough money
 		}};
 		player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY);
 		new Verifications(){{
@@ -2109,10 +2106,10 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testIncreaseRoboticonsCustomiseRoboticonHaveExactMoneyAndMoreThanOneRoboticonOre(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=10;
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=10; // More than enough roboticons
-			playerInventory.getMoneyQuantity();result=10; // Exactly enough money
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=true; // More than enough roboticons
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // Exactly enough money
 		}};
 		player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY);
 		new Verifications(){{
@@ -2125,10 +2122,10 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testIncreaseRoboticonsCustomiseRoboticonHaveExactMoneyAndOneRoboticonOre(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=10;
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=1; // Exactly enough roboticons
-			playerInventory.getMoneyQuantity();result=10; // Exactly enough money
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=true; // Exactly enough roboticons
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=true; // Exactly enough money
 		}};
 		player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY);
 		new Verifications(){{
@@ -2141,10 +2138,10 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testReturnFalseNotEnoughMoneyCustomiseRoboticonsOre(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=11;
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=1;
-			playerInventory.getMoneyQuantity();result=10;
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=true;
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=false;
 		}};
 		assertFalse(player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY));
 	
@@ -2155,10 +2152,10 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testDecreaseRobpoticonsNotEnoughMoneyCustomiseRoboticonsOre(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=11;
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=1;
-			playerInventory.getMoneyQuantity();result=10;
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=true;
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=false;
 		}};
 		player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY);
 		new Verifications(){{
@@ -2171,10 +2168,10 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testDecreaseMoneyNotEnoughMoneyCustomiseRoboticonsOre(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=11;
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=1;
-			playerInventory.getMoneyQuantity();result=10;
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=true;
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=false;
 		}};
 		player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY);
 		new Verifications(){{
@@ -2187,10 +2184,10 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testIncreaseRoboticonsNotEnoughMoneyCustomiseRoboticonsOre(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=11;
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=1;
-			playerInventory.getMoneyQuantity();result=10;
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=true;
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=false;
 		}};
 		player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY);
 		new Verifications(){{
@@ -2203,10 +2200,10 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testReturnFalseNotEnoughMoneyCustomiseRoboticonsOre2(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=110;
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=1;
-			playerInventory.getMoneyQuantity();result=10;
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=true;
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=false;
 		}};
 		assertFalse(player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY));
 	
@@ -2217,10 +2214,10 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testDecreaseRobpoticonsNotEnoughMoneyCustomiseRoboticonsOre2(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=110;
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=1;
-			playerInventory.getMoneyQuantity();result=10;
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=true;
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=false;
 		}};
 		player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY);
 		new Verifications(){{
@@ -2233,10 +2230,10 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testDecreaseMoneyNotEnoughMoneyCustomiseRoboticonsOre2(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=110;
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=1;
-			playerInventory.getMoneyQuantity();result=10;
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=true;
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=false;
 		}};
 		player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY);
 		new Verifications(){{
@@ -2249,10 +2246,10 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testIncreaseRoboticonsNotEnoughMoneyCustomiseRoboticonsOre2(){
-		new Expectations(){{
+		new Expectations(market){{
 			market.getCostRoboticonCustomisation(RoboticonCustomisation.ENERGY);result=110;
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=1;
-			playerInventory.getMoneyQuantity();result=10;
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=true;
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);result=false;
 		}};
 		player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY);
 		new Verifications(){{
@@ -2265,8 +2262,8 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testReturnFalseNoUncustomisedRoboticonsCustomiseRoboticonsOre(){
-		new Expectations(){{
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=0;
+		new Expectations(market){{
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=false;
 		}};
 		assertFalse(player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY));
 	}	
@@ -2276,8 +2273,8 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testDecreaseRoboticonsNoUncustomisedRoboticonsCustomiseRoboticonsOre(){
-		new Expectations(){{
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=0;
+		new Expectations(market){{
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=false;
 		}};
 		player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY);
 		new Verifications(){{
@@ -2290,12 +2287,12 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testDecreaseMoneyNoUncustomisedRoboticonsCustomiseRoboticonsOre(){
-		new Expectations(){{
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=0;
+		new Expectations(market){{
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=false;
 		}};
 		player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY);
 		new Verifications(){{
-			playerInventory.decreaseMoneyQuantity(anyInt);times=0;
+			playerInventory.tryDecreaseMoneyQuantity(anyInt);times=0;
 		}};
 	}
 	
@@ -2304,8 +2301,8 @@ public class PlayerTestCase {
 	 */
 	@Test
 	public void testIncreaseRoboticonsNoUncustomisedRoboticonsCustomiseRoboticonsOre(){
-		new Expectations(){{
-			playerInventory.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED);result=0;
+		new Expectations(market){{
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, anyInt);result=false;
 		}};
 		player.attemptToCustomiseRoboticon(RoboticonCustomisation.ENERGY);
 		new Verifications(){{
@@ -2647,4 +2644,68 @@ public class PlayerTestCase {
 		 // Therefore the result is cast to an int
 		assertEquals(5,(int)player.calculateScore());
 	}
+	
+	///////////////////////////////////////////////////////////////// event log
+	
+	/**
+	 * Tests {@link Player#attemptToBuyOre} ensures that a successful purchase is recorded in the event log
+	 */
+	@Test
+	public void testAttemptToBuyOreLogged(@Mocked final GameEventLog eventLog){
+		new Expectations(){{
+			playerInventory.tryDecreaseMoneyQuantity(anyInt); result = true;
+		}};
+		player.setEventLog(eventLog);
+		assertTrue(player.attemptToBuyOre(3));
+		new Verifications(){{
+			eventLog.transaction(GameLogEntry.BOUGHTORE, player, 3); times = 1;
+		}};
+	}
+	
+	/**
+	 * Tests {@link Player#attemptToBuyOre} ensures that a purchase that fails is not recorded in the event log
+	 */
+	@Test
+	public void testAttemptToBuyOreFailedNotLogged(@Mocked final GameEventLog eventLog){
+		new Expectations(market){{
+			market.getCostOre(3); result = 100;
+			playerInventory.tryDecreaseMoneyQuantity(100); result = false;
+		}};
+		player.setEventLog(eventLog);
+		assertFalse(player.attemptToBuyOre(3));
+		new Verifications(){{
+			eventLog.transaction((GameLogEntry)any, (Player)any, anyInt); times = 0;
+		}};
+	}
+	
+	/**
+	 * Tests {@link Player#attemptToSellEnergy} ensures that a successful sale is recorded in the event log
+	 */
+	@Test
+	public void testAttemptToSellEnergyLogged(@Mocked final GameEventLog eventLog){
+		new Expectations(){{
+			playerInventory.tryDecreaseEnergyQuantity(4); result = true;
+		}};
+		player.setEventLog(eventLog);
+		assertTrue(player.attemptToSellEnergy(4));
+		new Verifications(){{
+			eventLog.transaction(GameLogEntry.SOLDENERGY, player, 4); times = 1;
+		}};
+	}
+	
+	/**
+	 * Tests {@link Player#attemptToCustomiseRoboticon} ensures that a successful customisation is recorded in the event log
+	 */
+	@Test
+	public void testAttemptToCustomiseRoboticonLogged(@Mocked final GameEventLog eventLog){
+		new Expectations(){{
+			playerInventory.tryDecreaseRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED, 1); result = true;
+			playerInventory.tryDecreaseMoneyQuantity(anyInt); result = true;
+		}};
+		player.setEventLog(eventLog);
+		assertTrue(player.attemptToCustomiseRoboticon(RoboticonCustomisation.ORE));
+		new Verifications(){{
+			eventLog.roboticonCustomised(player, RoboticonCustomisation.ORE); times = 1;
+		}};
+	}
 }
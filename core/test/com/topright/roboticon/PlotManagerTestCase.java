@@ -9,8 +9,6 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
-import com.badlogic.gdx.ai.msg.MessageDispatcher;
-import com.badlogic.gdx.ai.msg.MessageManager;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.EventListener;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
@@ -44,7 +42,7 @@ public class PlotManagerTestCase extends GuiTest {
 	@Mocked private Player AIPlayer;
 	@Mocked private PlayerInventory humanPlayerInventory;
 	@Mocked private PlayerInventory AIPlayerInventory;
-	@Mocked private MessageDispatcher messageDispatcher;
+	@Mocked private GameEventBus eventBus;
 	@Mocked private Plot[][] plots;
 	@Mocked private Plot plot1;
 	@Mocked private Plot plot2;
@@ -59,7 +57,7 @@ public class PlotManagerTestCase extends GuiTest {
 	 */
 	@Before
 	public void setup(){
-		messageDispatcher = MessageManager.getInstance();
+		eventBus = GameEventBus.getInstance();
 		
 		EnumMap<RoboticonCustomisation,Integer> humanRoboticonQuantities = new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class);
 		humanPlayerInventory = new PlayerInventory(0,1,humanRoboticonQuantities, 2);
@@ -495,7 +493,7 @@ public class PlotManagerTestCase extends GuiTest {
 		}};
 		plotManager.placeOreRoboticon(2, 1); 
 		new Verifications(){{
-			messageDispatcher.dispatchMessage(GameEvents.PLAYERINVENTORYUPDATE.ordinal());
+			eventBus.dispatch(GameEvents.PLAYERINVENTORYUPDATE);
 		}};
 	}
 	
@@ -526,7 +524,7 @@ public class PlotManagerTestCase extends GuiTest {
 		}};
 		plotManager.placeOreRoboticon(3, 3); 
 		new Verifications(){{
-			messageDispatcher.dispatchMessage(GameEvents.PLAYERINVENTORYUPDATE.ordinal());
+			eventBus.dispatch(GameEvents.PLAYERINVENTORYUPDATE);
 		}};
 	}
 	
@@ -557,7 +555,7 @@ public class PlotManagerTestCase extends GuiTest {
 		}};
 		plotManager.placeOreRoboticon(2, 1); 
 		new Verifications(){{
-			messageDispatcher.dispatchMessage(GameEvents.PLAYERINVENTORYUPDATE.ordinal()); times=0;
+			eventBus.dispatch(GameEvents.PLAYERINVENTORYUPDATE); times=0;
 		}};
 	}
 	
@@ -588,7 +586,7 @@ public class PlotManagerTestCase extends GuiTest {
 		}};
 		plotManager.placeOreRoboticon(3, 3); 
 		new Verifications(){{
-			messageDispatcher.dispatchMessage(GameEvents.PLAYERINVENTORYUPDATE.ordinal());times=0; // Not dispatched
+			eventBus.dispatch(GameEvents.PLAYERINVENTORYUPDATE);times=0; // Not dispatched
 		}};
 	}
 	
@@ -646,7 +644,7 @@ public class PlotManagerTestCase extends GuiTest {
 		}};
 		plotManager.placeEnergyRoboticon(2, 1); 
 		new Verifications(){{
-			messageDispatcher.dispatchMessage(GameEvents.PLAYERINVENTORYUPDATE.ordinal());
+			eventBus.dispatch(GameEvents.PLAYERINVENTORYUPDATE);
 		}};
 	}
 	
@@ -677,7 +675,7 @@ public class PlotManagerTestCase extends GuiTest {
 		}};
 		plotManager.placeEnergyRoboticon(3, 3); 
 		new Verifications(){{
-			messageDispatcher.dispatchMessage(GameEvents.PLAYERINVENTORYUPDATE.ordinal());
+			eventBus.dispatch(GameEvents.PLAYERINVENTORYUPDATE);
 		}};
 	}
 	
@@ -708,7 +706,7 @@ public class PlotManagerTestCase extends GuiTest {
 		}};
 		plotManager.placeEnergyRoboticon(2, 1); 
 		new Verifications(){{
-			messageDispatcher.dispatchMessage(GameEvents.PLAYERINVENTORYUPDATE.ordinal()); times=0;
+			eventBus.dispatch(GameEvents.PLAYERINVENTORYUPDATE); times=0;
 		}};
 	}
 	
@@ -739,7 +737,7 @@ public class PlotManagerTestCase extends GuiTest {
 		}};
 		plotManager.placeEnergyRoboticon(3, 3); 
 		new Verifications(){{
-			messageDispatcher.dispatchMessage(GameEvents.PLAYERINVENTORYUPDATE.ordinal());times=0; // Not dispatched
+			eventBus.dispatch(GameEvents.PLAYERINVENTORYUPDATE);times=0; // Not dispatched
 		}};
 	}
 	
@@ -780,12 +778,12 @@ public class PlotManagerTestCase extends GuiTest {
 		plotManager = new PlotManager("backgrounds/map.png",plots,humanPlayer,AIPlayer);
 		plotManager.produceResources();
 		new Verifications(){{
-			plot1.produce();
-			plot2.produce();
-			plot3.produce();
-			plot4.produce();
-			plot5.produce();
-			plot6.produce();
+			plot1.produce((ProductionDeltas)any);
+			plot2.produce((ProductionDeltas)any);
+			plot3.produce((ProductionDeltas)any);
+			plot4.produce((ProductionDeltas)any);
+			plot5.produce((ProductionDeltas)any);
+			plot6.produce((ProductionDeltas)any);
 		}};
 	}
 	
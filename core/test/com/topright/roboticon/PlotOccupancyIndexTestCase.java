@@ -0,0 +1,188 @@
+package com.topright.roboticon;
+import static org.junit.Assert.*;
+
+import org.junit.*;
+import mockit.*;
+import mockit.integration.junit4.*;
+import org.junit.runner.RunWith;
+
+/**
+ * Test case for {@link PlotOccupancyIndex}
+ */
+
+@RunWith(JMockit.class)
+public class PlotOccupancyIndexTestCase {
+	private PlotOccupancyIndex occupancyIndex;
+	private Plot[][] plots;
+	@Mocked private Player player1;
+	@Mocked private Player player2;
+
+	/**
+	 * Runs before every test, indexes a 2x3 grid of plots (that have not been acquired)
+	 * <p>
+	 * The specialisms of the plots are (row by row): ORE, ENERGY, ORE, ENERGY, ORE, ENERGY
+	 * </p>
+	 */
+	@Before
+	public void setup(){
+		plots = new Plot[][]{
+			{new Plot(PlotSpecialism.ORE), new Plot(PlotSpecialism.ENERGY), new Plot(PlotSpecialism.ORE)},
+			{new Plot(PlotSpecialism.ENERGY), new Plot(PlotSpecialism.ORE), new Plot(PlotSpecialism.ENERGY)}
+		};
+		occupancyIndex = new PlotOccupancyIndex(plots);
+	}
+
+	/**
+	 * Tests {@link PlotOccupancyIndex#getNumberOfUnacquiredPlots} ensures that every plot is counted if none have been acquired
+	 */
+	@Test
+	public void testGetNumberOfUnacquiredPlotsNoneAcquired(){
+		assertEquals(6, occupancyIndex.getNumberOfUnacquiredPlots());
+	}
+
+	/**
+	 * Tests {@link PlotOccupancyIndex#getNumberOfUnacquiredPlots} ensures that the count goes down as plots are acquired
+	 */
+	@Test
+	public void testGetNumberOfUnacquiredPlotsAfterAcquiring(){
+		plots[0][0].setPlayer(player1);
+		plots[1][2].setPlayer(player2);
+		assertEquals(4, occupancyIndex.getNumberOfUnacquiredPlots());
+	}
+
+	/**
+	 * Tests {@link PlotOccupancyIndex#PlotOccupancyIndex} ensures that plots that were acquired (and had roboticons placed on them) before the index was created are indexed
+	 */
+	@Test
+	public void testConstructorPlotsAlreadyAcquired(){
+		plots[0][1].setPlayer(player1);
+		plots[1][0].setPlayer(player1);
+		plots[1][0].placeRoboticon(RoboticonCustomisation.ENERGY);
+		occupancyIndex = new PlotOccupancyIndex(plots);
+
+		assertEquals(4, occupancyIndex.getNumberOfUnacquiredPlots());
+		assertEquals(1, occupancyIndex.getNumberOfEmptyPlots(player1, PlotSpecialism.ENERGY));
+		assertEquals(1, occupancyIndex.findEmptyPlot(player1, PlotSpecialism.ENERGY, 0));
+	}
+
+	/**
+	 * Tests {@link PlotOccupancyIndex#getNumberOfEmptyPlots} ensures that 0 is returned for a player who owns no plots
+	 */
+	@Test
+	public void testGetNumberOfEmptyPlotsNoPlotsOwned(){
+		assertEquals(0, occupancyIndex.getNumberOfEmptyPlots(player1, PlotSpecialism.ORE));
+		assertEquals(0, occupancyIndex.getNumberOfEmptyPlots(player1, PlotSpecialism.ENERGY));
+	}
+
+	/**
+	 * Tests {@link PlotOccupancyIndex#getNumberOfEmptyPlots} ensures that the plots of each player are counted separately for each specialism
+	 */
+	@Test
+	public void testGetNumberOfEmptyPlotsPerPlayerAndSpecialism(){
+		plots[0][0].setPlayer(player1); // ORE
+		plots[0][2].setPlayer(player1); // ORE
+		plots[0][1].setPlayer(player1); // ENERGY
+		plots[1][1].setPlayer(player2); // ORE
+
+		assertEquals(2, occupancyIndex.getNumberOfEmptyPlots(player1, PlotSpecialism.ORE));
+		assertEquals(1, occupancyIndex.getNumberOfEmptyPlots(player1, PlotSpecialism.ENERGY));
+		assertEquals(1, occupancyIndex.getNumberOfEmptyPlots(player2, PlotSpecialism.ORE));
+		assertEquals(0, occupancyIndex.getNumberOfEmptyPlots(player2, PlotSpecialism.ENERGY));
+	}
+
+	/**
+	 * Tests {@link PlotOccupancyIndex#getNumberOfEmptyPlots} ensures that a plot is no longer counted once a roboticon has been placed on it
+	 */
+	@Test
+	public void testGetNumberOfEmptyPlotsRoboticonPlaced(){
+		plots[0][0].setPlayer(player1);
+		plots[0][2].setPlayer(player1);
+		plots[0][0].placeRoboticon(RoboticonCustomisation.ENERGY); // The customisation does not need to match the specialism
+		assertEquals(1, occupancyIndex.getNumberOfEmptyPlots(player1, PlotSpecialism.ORE));
+	}
+
+	/**
+	 * Tests {@link PlotOccupancyIndex#getNumberOfEmptyPlots} ensures that a plot is counted when it is acquired after a roboticon has been placed on it
+	 */
+	@Test
+	public void testGetNumberOfEmptyPlotsRoboticonPlacedBeforeAcquired(){
+		plots[0][0].placeRoboticon(RoboticonCustomisation.ORE);
+		plots[0][0].setPlayer(player1);
+		assertEquals(0, occupancyIndex.getNumberOfEmptyPlots(player1, PlotSpecialism.ORE));
+		assertEquals(5, occupancyIndex.getNumberOfUnacquiredPlots());
+	}
+
+	/**
+	 * Tests {@link PlotOccupancyIndex#findUnacquiredPlot} ensures that the first plot that has not been acquired is found (row by row)
+	 */
+	@Test
+	public void testFindUnacquiredPlot(){
+		plots[0][0].setPlayer(player1);
+		plots[0][1].setPlayer(player2);
+		plots[0][2].setPlayer(player1);
+		assertEquals(3, occupancyIndex.findUnacquiredPlot(0));
+		assertEquals(4, occupancyIndex.findUnacquiredPlot(4));
+	}
+
+	/**
+	 * Tests {@link PlotOccupancyIndex#findUnacquiredPlot} ensures that -1 is returned once every plot has been acquired
+	 */
+	@Test
+	public void testFindUnacquiredPlotAllAcquired(){
+		for(Plot[] row : plots){
+			for(Plot plot : row){
+				plot.setPlayer(player1);
+			}
+		}
+		assertEquals(0, occupancyIndex.getNumberOfUnacquiredPlots());
+		assertEquals(-1, occupancyIndex.findUnacquiredPlot(0));
+	}
+
+	/**
+	 * Tests {@link PlotOccupancyIndex#findEmptyPlot} ensures that only the empty plots with the given specialism owned by the given player are found
+	 */
+	@Test
+	public void testFindEmptyPlot(){
+		plots[0][0].setPlayer(player2); // ORE
+		plots[0][2].setPlayer(player1); // ORE
+		plots[1][1].setPlayer(player1); // ORE
+		plots[1][2].setPlayer(player1); // ENERGY
+
+		assertEquals(2, occupancyIndex.findEmptyPlot(player1, PlotSpecialism.ORE, 0));
+		assertEquals(4, occupancyIndex.findEmptyPlot(player1, PlotSpecialism.ORE, 3));
+		assertEquals(-1, occupancyIndex.findEmptyPlot(player1, PlotSpecialism.ORE, 5));
+		assertEquals(5, occupancyIndex.findEmptyPlot(player1, PlotSpecialism.ENERGY, 0));
+		assertEquals(0, occupancyIndex.findEmptyPlot(player2, PlotSpecialism.ORE, 0));
+	}
+
+	/**
+	 * Tests {@link PlotOccupancyIndex#findEmptyPlot} ensures that -1 is returned for a player who owns no plots
+	 */
+	@Test
+	public void testFindEmptyPlotNoPlotsOwned(){
+		assertEquals(-1, occupancyIndex.findEmptyPlot(player1, PlotSpecialism.ORE, 0));
+	}
+
+	/**
+	 * Tests {@link PlotOccupancyIndex#getPlotNumber}, {@link PlotOccupancyIndex#getRow} and {@link PlotOccupancyIndex#getColumn} ensure that plots are numbered row by row
+	 */
+	@Test
+	public void testPlotNumbers(){
+		assertEquals(5, occupancyIndex.getPlotNumber(1, 2));
+		assertEquals(1, occupancyIndex.getRow(4));
+		assertEquals(1, occupancyIndex.getColumn(4));
+		assertEquals(0, occupancyIndex.getRow(2));
+		assertEquals(2, occupancyIndex.getColumn(2));
+	}
+
+	/**
+	 * Tests {@link PlotOccupancyIndex#PlotOccupancyIndex} ensures that plots only update the most recently created index
+	 */
+	@Test
+	public void testNewIndexReplacesOld(){
+		PlotOccupancyIndex newIndex = new PlotOccupancyIndex(plots);
+		plots[0][0].setPlayer(player1);
+		assertEquals(5, newIndex.getNumberOfUnacquiredPlots());
+		assertEquals(6, occupancyIndex.getNumberOfUnacquiredPlots());
+	}
+}
@@ -0,0 +1,207 @@
+package com.topright.roboticon;
+
+import static org.junit.Assert.*;
+
+import java.util.EnumMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test case for {@link PlotProduction} (using real plots and players)
+ */
+public class PlotProductionTestCase {
+	private static final int NUMBER_OF_PLAYERS = 5;
+	private static final int COLUMNS = 128;
+	private static final int ROWS_PER_TILE = PlotProduction.PLOTS_PER_TILE / COLUMNS; // The number of rows in each tile of a map with COLUMNS columns
+	private Player[] players;
+
+	/**
+	 * Runs before every test, creates the players that own the plots
+	 */
+	@Before
+	public void setup(){
+		players = createPlayers();
+	}
+
+	/**
+	 * Returns new players that have no resources
+	 * @return The new players
+	 */
+	private static Player[] createPlayers(){
+		Player[] newPlayers = new Player[NUMBER_OF_PLAYERS];
+		for(int playerNumber = 0; playerNumber < newPlayers.length; playerNumber++){
+			newPlayers[playerNumber] = new Player(new PlayerInventory(0, 0, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), 0));
+		}
+		return newPlayers;
+	}
+
+	/**
+	 * Creates plots that are given to the given players in turn (a few are left unacquired) with roboticons of both customisations on most of them
+	 * @param rows The number of rows of plots
+	 * @param columns The number of columns of plots
+	 * @param owners The players who own the plots
+	 * @return The new plots
+	 */
+	private static Plot[][] createPlots(int rows, int columns, Player[] owners){
+		Plot[][] plots = CreatePlots.createPlots(rows, columns, new GameRandom(31L));
+		int plotNumber = 0;
+		for(Plot[] row : plots){
+			for(Plot plot : row){
+				if(plotNumber % 7 != 0){
+					plot.setPlayer(owners[plotNumber % owners.length]);
+					if(plotNumber % 3 == 0){
+						plot.placeRoboticon(RoboticonCustomisation.ORE);
+					}
+					else if(plotNumber % 3 == 1){
+						plot.placeRoboticon(RoboticonCustomisation.ENERGY);
+					}
+				}
+				plotNumber++;
+			}
+		}
+		return plots;
+	}
+
+	/**
+	 * Makes every plot produce in turn (the way that resources were produced before plots were produced in parallel)
+	 * @param plots The plots
+	 */
+	private static void produceEachPlot(Plot[][] plots){
+		for(Plot[] row : plots){
+			for(Plot plot : row){
+				plot.produce();
+			}
+		}
+	}
+
+	/**
+	 * Asserts that each player in the first array has the same resources as the player in the same position in the second array
+	 * @param expected The players whose plots produced one at a time
+	 * @param actual The players whose plots were produced by PlotProduction
+	 */
+	private static void assertSameResources(Player[] expected, Player[] actual){
+		for(int playerNumber = 0; playerNumber < expected.length; playerNumber++){
+			assertEquals(expected[playerNumber].getOreQuantity(), actual[playerNumber].getOreQuantity());
+			assertEquals(expected[playerNumber].getEnergyQuantity(), actual[playerNumber].getEnergyQuantity());
+		}
+	}
+
+	/**
+	 * Tests {@link PlotProduction#produceResources(Plot[][], ForkJoinPool)} ensures that a map that fits in one tile produces the same resources as producing each plot in turn
+	 */
+	@Test
+	public void testSmallMapSameAsEachPlot(){
+		Player[] expectedPlayers = createPlayers();
+		produceEachPlot(createPlots(4, 5, expectedPlayers));
+		PlotProduction.produceResources(createPlots(4, 5, players), null);
+		assertSameResources(expectedPlayers, players);
+		assertTrue(players[1].getOreQuantity() + players[1].getEnergyQuantity() > 0);
+	}
+
+	/**
+	 * Tests {@link PlotProduction#produceResources(Plot[][], ForkJoinPool)} ensures that a map made up of many (partial) tiles
+	 * produces the same resources as producing each plot in turn whatever the number of threads
+	 */
+	@Test
+	public void testLargeMapSameAsEachPlot(){
+		int rows = ROWS_PER_TILE*3 + 5; // The last tile is not full
+		Player[] expectedPlayers = createPlayers();
+		produceEachPlot(createPlots(rows, COLUMNS, expectedPlayers));
+
+		for(int threads = 1; threads <= 4; threads *= 2){
+			players = createPlayers();
+			ForkJoinPool pool = new ForkJoinPool(threads);
+			try{
+				PlotProduction.produceResources(createPlots(rows, COLUMNS, players), pool);
+			}
+			finally{
+				pool.shutdown();
+			}
+			assertSameResources(expectedPlayers, players);
+		}
+	}
+
+	/**
+	 * Tests {@link PlotProduction#produce(Plot[][], ForkJoinPool)} ensures that no player's inventory is changed until the deltas are applied
+	 */
+	@Test
+	public void testProduceDoesNotChangeInventories(){
+		Plot[][] plots = createPlots(ROWS_PER_TILE*2, COLUMNS, players);
+		ProductionDeltas deltas = PlotProduction.produce(plots, null);
+		assertEquals(0, players[1].getOreQuantity());
+		assertEquals(0, players[1].getEnergyQuantity());
+		assertEquals(NUMBER_OF_PLAYERS, deltas.getNumberOfPlayers());
+		deltas.apply();
+		assertEquals(deltas.getOre(players[1]), players[1].getOreQuantity());
+		assertEquals(deltas.getEnergy(players[1]), players[1].getEnergyQuantity());
+	}
+
+	/**
+	 * Tests {@link PlotProduction#produceResources(Plot[][], ForkJoinPool)} ensures that a large map can be produced from a thread
+	 * that already belongs to a ForkJoinPool (as happens when a SimulationRunner plays games on large maps)
+	 */
+	@Test
+	public void testProduceInsideForkJoinPool(){
+		final Plot[][] plots = createPlots(ROWS_PER_TILE*2, COLUMNS, players);
+		Player[] expectedPlayers = createPlayers();
+		produceEachPlot(createPlots(ROWS_PER_TILE*2, COLUMNS, expectedPlayers));
+
+		ForkJoinPool pool = new ForkJoinPool(1); // A single thread, would deadlock if the thread waited for itself
+		try{
+			pool.invoke(new RecursiveAction(){
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected void compute(){
+					PlotProduction.produceResources(plots, null);
+				}
+			});
+		}
+		finally{
+			pool.shutdown();
+		}
+		assertSameResources(expectedPlayers, players);
+	}
+
+	/**
+	 * Tests {@link PlotProduction#produceResources(Plot[][], ForkJoinPool)} ensures that a map with rows longer than a tile
+	 * (so every tile is a single row) produces the same resources as producing each plot in turn
+	 */
+	@Test
+	public void testRowsLongerThanTile(){
+		int columns = PlotProduction.PLOTS_PER_TILE + 3;
+		Player[] expectedPlayers = createPlayers();
+		produceEachPlot(createPlots(3, columns, expectedPlayers));
+		PlotProduction.produceResources(createPlots(3, columns, players), null);
+		assertSameResources(expectedPlayers, players);
+	}
+
+	/**
+	 * Tests {@link PlotProduction#produce(Plot[][], ForkJoinPool)} ensures that nothing is produced if there are no plots
+	 */
+	@Test
+	public void testNoPlots(){
+		assertEquals(0, PlotProduction.produce(new Plot[0][0], null).getNumberOfPlayers());
+	}
+
+	/**
+	 * Tests {@link HeadlessPlotManager#produceResources()} ensures that the pool that was set is used to produce the plots
+	 */
+	@Test
+	public void testHeadlessPlotManagerProductionPool(){
+		HeadlessPlotManager plotManager = new HeadlessPlotManager(createPlots(ROWS_PER_TILE*2, COLUMNS, players));
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try{
+			plotManager.setProductionPool(pool);
+			plotManager.produceResources();
+			assertTrue(pool.getStealCount() > 0 || pool.getPoolSize() > 0);
+		}
+		finally{
+			pool.shutdown();
+		}
+		assertTrue(players[0].getOreQuantity() + players[0].getEnergyQuantity() > 0);
+	}
+}
@@ -0,0 +1,144 @@
+package com.topright.roboticon;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import mockit.Mocked;
+import mockit.Verifications;
+
+/**
+ * Test case for {@link PlotStoreManager} (using a real store and players)
+ */
+public class PlotStoreManagerTestCase {
+	private PlotStore store;
+	private PlotStoreManager plotManager;
+	private Player player;
+
+	/**
+	 * Runs before every test, creates a PlotStoreManager that manages a 2x3 store of plots and a current player who has one roboticon of each type
+	 */
+	@Before
+	public void setup(){
+		store = PlotStore.create(2, 3, new GameRandom(4L));
+		plotManager = new PlotStoreManager(store);
+		player = createPlayer(0);
+		player.inventory.increaseRoboticonQuantity(RoboticonCustomisation.ORE, 1);
+		player.inventory.increaseRoboticonQuantity(RoboticonCustomisation.ENERGY, 1);
+		plotManager.setCurrentPlayer(player);
+	}
+
+	/**
+	 * Returns a new player that has no resources
+	 * @param money The money that the player starts with
+	 * @return The new player
+	 */
+	private static AIPlayer createPlayer(int money){
+		return new AIPlayer(new PlayerInventory(0, 0, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), money), new Market(new MarketInventory(0,16,12)));
+	}
+
+	/**
+	 * Tests {@link PlotStoreManager#acquirePlot(int, int)} ensures that a plot that has not been acquired is acquired (once) by the current player
+	 */
+	@Test
+	public void testAcquirePlot(){
+		assertTrue(plotManager.acquirePlot(1, 2));
+		assertFalse(plotManager.acquirePlot(1, 2));
+		assertSame(player, store.getPlayer(5));
+		assertEquals(5, plotManager.getNumberOfUnacquiredPlots());
+		assertEquals(0, plotManager.findUnacquiredPlot(0));
+		assertEquals(-1, plotManager.findUnacquiredPlot(5));
+		assertEquals(1, plotManager.getNumberOfEmptyPlots(player, store.getSpecialism(5)));
+	}
+
+	/**
+	 * Tests {@link PlotStoreManager#placeOreRoboticon(int, int)} ensures that a roboticon can only be placed on a plot that the current player owns
+	 * and that the plot is no longer counted as empty
+	 */
+	@Test
+	public void testPlaceRoboticon(){
+		plotManager.acquirePlot(0, 1);
+		PlotSpecialism specialism = store.getSpecialism(1);
+		assertFalse(plotManager.placeOreRoboticon(0, 0)); // Not owned
+		assertTrue(plotManager.placeOreRoboticon(1, 0));
+		assertEquals(RoboticonCustomisation.ORE, store.getRoboticon(1));
+		assertEquals(0, plotManager.getNumberOfEmptyPlots(player, specialism));
+		assertEquals(-1, plotManager.findEmptyPlot(player, specialism, 0));
+		assertFalse(plotManager.placeEnergyRoboticon(1, 0)); // Already has a roboticon
+	}
+
+	/**
+	 * Tests {@link PlotStoreManager#acquirePlot(int, int)} and {@link PlotStoreManager#placeEnergyRoboticon(int, int)} ensure that
+	 * acquisitions and placements are recorded in the event log
+	 */
+	@Test
+	public void testLogged(@Mocked final GameEventLog eventLog){
+		plotManager.setEventLog(eventLog);
+		plotManager.acquirePlot(1, 0);
+		plotManager.placeEnergyRoboticon(0, 1);
+		new Verifications(){{
+			eventLog.plotAcquired(player, 1, 0); times = 1;
+			eventLog.roboticonPlaced(player, 1, 0, RoboticonCustomisation.ENERGY); times = 1;
+		}};
+	}
+
+	/**
+	 * Tests {@link PlotStoreManager#getPlots()} ensures that the views returned read (and change) the plots in the store
+	 */
+	@Test
+	public void testGetPlots(){
+		Plot[][] plots = plotManager.getPlots();
+		assertEquals(2, plots.length);
+		assertEquals(3, plots[0].length);
+		assertSame(plots, plotManager.getPlots());
+		plots[1][1].setPlayer(player);
+		assertSame(player, store.getPlayer(4));
+		assertEquals(5, plotManager.getNumberOfUnacquiredPlots()); // Changes made through a view update the index
+		assertEquals(1, plotManager.getPlotRow(4));
+		assertEquals(1, plotManager.getPlotColumn(4));
+	}
+
+	/**
+	 * Tests {@link PlotStoreManager#produceResources()} ensures that resources are produced for the owners of the plots
+	 */
+	@Test
+	public void testProduceResources(){
+		plotManager.acquirePlot(0, 0);
+		plotManager.placeOreRoboticon(0, 0);
+		plotManager.produceResources();
+		assertEquals(ProductionRules.getDefault().getOreYield(RoboticonCustomisation.ORE, store.getSpecialism(0)), player.getOreQuantity());
+		assertEquals(0, player.getEnergyQuantity());
+	}
+
+	/**
+	 * Tests {@link PlotStoreManager} ensures that a game played on a store of plots is exactly the same as the same game played
+	 * using a {@link HeadlessPlotManager}
+	 */
+	@Test
+	public void testSameGameAsHeadlessPlotManager(){
+		AIPlayer firstPlayer = createPlayer(30);
+		AIPlayer secondPlayer = createPlayer(30);
+		new GameEngine(new HeadlessPlotManager(CreatePlots.createPlots(4, 5, new GameRandom(8L))), Arrays.<Player>asList(firstPlayer, secondPlayer), null).start();
+
+		AIPlayer otherFirstPlayer = createPlayer(30);
+		AIPlayer otherSecondPlayer = createPlayer(30);
+		PlotStoreManager otherPlotManager = new PlotStoreManager(PlotStore.create(4, 5, new GameRandom(8L)));
+		new GameEngine(otherPlotManager, Arrays.<Player>asList(otherFirstPlayer, otherSecondPlayer), null).start();
+
+		assertEquals(firstPlayer.calculateScore(), otherFirstPlayer.calculateScore());
+		assertEquals(secondPlayer.calculateScore(), otherSecondPlayer.calculateScore());
+		assertEquals(0, otherPlotManager.getNumberOfUnacquiredPlots());
+	}
+
+	/**
+	 * Tests {@link PlotStoreManager#PlotStoreManager(PlotStore)} ensures that an exception is thrown if the store is null
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testNullStore(){
+		new PlotStoreManager(null);
+	}
+}
@@ -0,0 +1,242 @@
+package com.topright.roboticon;
+
+import static org.junit.Assert.*;
+
+import java.util.EnumMap;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test case for {@link PlotStore} (using real players)
+ */
+public class PlotStoreTestCase {
+	private PlotStore store;
+	private Player firstPlayer;
+	private Player secondPlayer;
+
+	/**
+	 * Runs before every test, creates a 3x4 store and two players who have no resources
+	 */
+	@Before
+	public void setup(){
+		store = PlotStore.create(3, 4, new GameRandom(7L));
+		firstPlayer = createPlayer();
+		secondPlayer = createPlayer();
+	}
+
+	/**
+	 * Returns a new player that has no resources
+	 * @return The new player
+	 */
+	private static Player createPlayer(){
+		return new Player(new PlayerInventory(0, 0, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), 0));
+	}
+
+	/**
+	 * Tests {@link PlotStore#create(int, int, GameRandom)} ensures that the plots have the same specialisms as the plots created by
+	 * {@link CreatePlots#createPlots(int, int, GameRandom)} with the same seed
+	 */
+	@Test
+	public void testCreateSameAsCreatePlots(){
+		Plot[][] plots = CreatePlots.createPlots(3, 4, new GameRandom(7L));
+		for(int row = 0; row < 3; row++){
+			for(int column = 0; column < 4; column++){
+				assertEquals(plots[row][column].getSpecialism(), store.getSpecialism(store.getPlotNumber(row, column)));
+			}
+		}
+	}
+
+	/**
+	 * Tests {@link PlotStore#PlotStore(int, int, ProductionRules)} ensures that every plot takes {@link PlotStore#BYTES_PER_PLOT} bytes
+	 * and that no plot has been acquired or has a roboticon on it
+	 */
+	@Test
+	public void testNewStore(){
+		assertEquals(12, store.getNumberOfPlots());
+		assertEquals(12*PlotStore.BYTES_PER_PLOT, store.getSizeInBytes());
+		for(int plotNumber = 0; plotNumber < store.getNumberOfPlots(); plotNumber++){
+			assertFalse(store.hasBeenAcquired(plotNumber));
+			assertNull(store.getPlayer(plotNumber));
+			assertFalse(store.hasRoboticon(plotNumber));
+			assertNull(store.getRoboticon(plotNumber));
+		}
+	}
+
+	/**
+	 * Tests {@link PlotStore#PlotStore(int, int, ProductionRules)} ensures that an exception is thrown if there are no rows
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testNoRows(){
+		new PlotStore(0, 4, ProductionRules.STANDARD);
+	}
+
+	/**
+	 * Tests {@link PlotStore#PlotStore(int, int, ProductionRules)} ensures that an exception is thrown if the plots would not fit in a single buffer
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testTooManyPlots(){
+		new PlotStore(50000, 50000, ProductionRules.STANDARD);
+	}
+
+	/**
+	 * Tests {@link PlotStore#getPlotNumber(int, int)} ensures that an exception is thrown for a plot that is not in the store
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testGetPlotNumberOutsideStore(){
+		store.getPlotNumber(1, 4);
+	}
+
+	/**
+	 * Tests {@link PlotStore#setPlayer(int, Player)} and {@link PlotStore#placeRoboticon(int, RoboticonCustomisation)} ensure that the owner
+	 * and roboticon of a plot are stored without changing its specialism or any other plot
+	 */
+	@Test
+	public void testPacking(){
+		PlotSpecialism specialism = store.getSpecialism(5);
+		store.setPlayer(5, secondPlayer);
+		store.placeRoboticon(5, RoboticonCustomisation.ENERGY);
+		assertSame(secondPlayer, store.getPlayer(5));
+		assertEquals(RoboticonCustomisation.ENERGY, store.getRoboticon(5));
+		assertEquals(specialism, store.getSpecialism(5));
+		assertFalse(store.hasBeenAcquired(4));
+		assertFalse(store.hasRoboticon(6));
+	}
+
+	/**
+	 * Tests {@link PlotStore#setPlayer(int, Player)} ensures that an exception is thrown if the plot has already been acquired
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testSetPlayerAlreadyAcquired(){
+		store.setPlayer(0, firstPlayer);
+		store.setPlayer(0, secondPlayer);
+	}
+
+	/**
+	 * Tests {@link PlotStore#setPlayer(int, Player)} ensures that each player that owns a plot is given their own owner number and that
+	 * an exception is thrown if there are more than {@link PlotStore#MAX_OWNERS} owners
+	 */
+	@Test
+	public void testTooManyOwners(){
+		PlotStore bigStore = new PlotStore(1, PlotStore.MAX_OWNERS+1, ProductionRules.STANDARD);
+		for(int plotNumber = 0; plotNumber < PlotStore.MAX_OWNERS; plotNumber++){
+			bigStore.setPlayer(plotNumber, createPlayer());
+		}
+		assertEquals(PlotStore.MAX_OWNERS, bigStore.getNumberOfOwners());
+		try{
+			bigStore.setPlayer(PlotStore.MAX_OWNERS, createPlayer());
+			fail("An exception should have been thrown");
+		}
+		catch(IllegalStateException e){
+			assertFalse(bigStore.hasBeenAcquired(PlotStore.MAX_OWNERS));
+		}
+		bigStore.setPlayer(PlotStore.MAX_OWNERS, bigStore.getPlayer(0)); // A player that already owns a plot can acquire more
+		assertEquals(PlotStore.MAX_OWNERS, bigStore.getNumberOfOwners());
+	}
+
+	/**
+	 * Tests {@link PlotStore#getPlot(int, int)} ensures that a view reads and changes the plot in the store
+	 */
+	@Test
+	public void testPlotView(){
+		Plot plot = store.getPlot(1, 2);
+		int plotNumber = store.getPlotNumber(1, 2);
+		assertEquals(store.getSpecialism(plotNumber), plot.getSpecialism());
+		plot.setPlayer(firstPlayer);
+		plot.placeRoboticon(RoboticonCustomisation.ORE);
+		assertSame(firstPlayer, store.getPlayer(plotNumber));
+		assertEquals(RoboticonCustomisation.ORE, store.getRoboticon(plotNumber));
+		assertTrue(plot.hasBeenAcquired());
+		assertTrue(plot.hasRoboticon());
+		assertSame(firstPlayer, plot.getPlayer());
+	}
+
+	/**
+	 * Tests {@link PlotStore#getPlot(int, int)} ensures that views of the same plot are equal and views of different plots are not
+	 */
+	@Test
+	public void testPlotViewEquals(){
+		assertEquals(store.getPlot(2, 3), store.getPlot(2, 3));
+		assertEquals(store.getPlot(2, 3).hashCode(), store.getPlot(2, 3).hashCode());
+		assertNotEquals(store.getPlot(2, 3), store.getPlot(2, 2));
+		assertNotEquals(store.getPlot(0, 0), PlotStore.create(3, 4, new GameRandom(7L)).getPlot(0, 0));
+	}
+
+	/**
+	 * Tests {@link Player#attemptToPlaceRoboticon(Plot, RoboticonCustomisation)} ensures that a player can place a roboticon on a view
+	 * of a plot that they own (in the same way as on any other plot)
+	 */
+	@Test
+	public void testPlaceRoboticonOnView(){
+		firstPlayer.inventory.increaseRoboticonQuantity(RoboticonCustomisation.ENERGY, 1);
+		store.setPlayer(3, firstPlayer);
+		assertTrue(firstPlayer.attemptToPlaceRoboticon(store.getPlot(0, 3), RoboticonCustomisation.ENERGY));
+		assertEquals(RoboticonCustomisation.ENERGY, store.getRoboticon(3));
+		assertFalse(secondPlayer.attemptToPlaceRoboticon(store.getPlot(0, 3), RoboticonCustomisation.ENERGY));
+	}
+
+	/**
+	 * Tests {@link PlotStore#produceResources()} ensures that the same resources are produced as by the same plots stored as Plot objects
+	 */
+	@Test
+	public void testProduceSameAsPlots(){
+		Player[] players = {createPlayer(), createPlayer(), createPlayer()};
+		Player[] expectedPlayers = {createPlayer(), createPlayer(), createPlayer()};
+		Plot[][] plots = CreatePlots.createPlots(20, 30, new GameRandom(3L));
+		PlotStore bigStore = PlotStore.create(20, 30, new GameRandom(3L));
+		RoboticonCustomisation[] customisations = RoboticonCustomisation.values();
+		for(int plotNumber = 0; plotNumber < 600; plotNumber++){
+			if(plotNumber % 5 != 0){
+				Plot plot = plots[plotNumber / 30][plotNumber % 30];
+				plot.setPlayer(expectedPlayers[plotNumber % 3]);
+				bigStore.setPlayer(plotNumber, players[plotNumber % 3]);
+				if(plotNumber % 4 != 0){
+					plot.placeRoboticon(customisations[plotNumber % customisations.length]);
+					bigStore.placeRoboticon(plotNumber, customisations[plotNumber % customisations.length]);
+				}
+			}
+		}
+
+		PlotProduction.produceResources(plots, null);
+		bigStore.produceResources();
+		for(int playerNumber = 0; playerNumber < players.length; playerNumber++){
+			assertEquals(expectedPlayers[playerNumber].getOreQuantity(), players[playerNumber].getOreQuantity());
+			assertEquals(expectedPlayers[playerNumber].getEnergyQuantity(), players[playerNumber].getEnergyQuantity());
+		}
+		assertTrue(players[0].getOreQuantity() > 0);
+	}
+
+	/**
+	 * Tests {@link PlotStore#produce(int, ProductionDeltas)} ensures that a single plot produces according to the store's production rules
+	 */
+	@Test
+	public void testProducePlot(){
+		PlotStore oreStore = new PlotStore(1, 2, ProductionRules.STANDARD); // Every plot specialises in ore
+		oreStore.setPlayer(0, firstPlayer);
+		oreStore.placeRoboticon(0, RoboticonCustomisation.ORE);
+		oreStore.setPlayer(1, firstPlayer);
+		oreStore.placeRoboticon(1, RoboticonCustomisation.ENERGY);
+		oreStore.getPlot(0, 0).produce();
+		oreStore.getPlot(0, 1).produce();
+		assertEquals(2, firstPlayer.getOreQuantity());
+		assertEquals(1, firstPlayer.getEnergyQuantity());
+	}
+
+	/**
+	 * Tests {@link PlotStore#copyOf(Plot[][])} ensures that the specialism, owner and roboticon of every plot are copied
+	 */
+	@Test
+	public void testCopyOf(){
+		Plot[][] plots = CreatePlots.createPlots(2, 2, new GameRandom(9L));
+		plots[0][1].setPlayer(firstPlayer);
+		plots[0][1].placeRoboticon(RoboticonCustomisation.ORE);
+		plots[1][0].setPlayer(secondPlayer);
+		PlotStore copy = PlotStore.copyOf(plots);
+		for(int plotNumber = 0; plotNumber < 4; plotNumber++){
+			Plot plot = plots[plotNumber / 2][plotNumber % 2];
+			assertEquals(plot.getSpecialism(), copy.getSpecialism(plotNumber));
+			assertSame(plot.getPlayer(), copy.getPlayer(plotNumber));
+			assertEquals(plot.getRoboticon(), copy.getRoboticon(plotNumber));
+		}
+	}
+}
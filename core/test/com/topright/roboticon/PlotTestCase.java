@@ -1,6 +1,8 @@
 package com.topright.roboticon;
 import static org.junit.Assert.*;
 
+import java.io.IOException;
+import java.io.StringReader;
 import java.util.EnumMap;
 
 import org.junit.*;	
@@ -286,4 +288,71 @@ public class PlotTestCase {
 		}};
 	}
 	
+	/**
+	 * Tests {@link Plot#produce()} ensure that a plot that had a roboticon placed on it before it was acquired produces resources once it has been acquired
+	 */
+	@Test
+	public void testProduceRoboticonPlacedBeforeAcquired(){
+		plot.placeRoboticon(RoboticonCustomisation.ORE); // Ore roboticon on the ore plot created in setup
+		plot.produce();
+		plot.setPlayer(player);
+		plot.produce();
+		new Verifications(){{
+			player.increaseOreQuantity(2); times=1; // Only produces once it has been acquired
+		}};
+	}
+	
+	/**
+	 * Tests {@link Plot#produce()} ensure that the plot produces according to its new roboticon after the roboticon is replaced
+	 */
+	@Test
+	public void testProduceRoboticonReplaced(){
+		plot.setPlayer(player);
+		plot.placeRoboticon(RoboticonCustomisation.ORE);
+		plot.placeRoboticon(RoboticonCustomisation.ENERGY);
+		plot.produce();
+		new Verifications(){{
+			player.increaseEnergyQuantity(1); times=1;
+			player.increaseOreQuantity(anyInt); times=0;
+		}};
+	}
+	
+	/**
+	 * Tests {@link Plot#produce()} ensure that an uncustomised roboticon doesn't produce any resources
+	 */
+	@Test
+	public void testProduceUncustomisedRoboticonProducesNothing(){
+		plot.setPlayer(player);
+		plot.placeRoboticon(RoboticonCustomisation.UNCUSTOMISED);
+		plot.produce();
+		new Verifications(){{
+			player.increaseOreQuantity(anyInt); times=0;
+			player.increaseEnergyQuantity(anyInt); times=0;
+		}};
+	}
+	
+	/**
+	 * Tests {@link Plot#produce()} ensure that a plot produces according to the production rules that it was given
+	 */
+	@Test
+	public void testProduceWithProductionRules() throws IOException{
+		ProductionRules rules = ProductionRules.load(new StringReader("ore.ore = 3 1"));
+		plot = new Plot(PlotSpecialism.ORE, rules);
+		plot.setPlayer(player);
+		plot.placeRoboticon(RoboticonCustomisation.ORE);
+		plot.produce();
+		new Verifications(){{
+			player.increaseOreQuantity(3); times=1;
+			player.increaseEnergyQuantity(1); times=1;
+		}};
+	}
+	
+	/**
+	 * Tests {@link Plot#Plot(PlotSpecialism, ProductionRules)} ensure that an exception is thrown if the production rules are null
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testCreatePlotNullProductionRules(){
+		new Plot(PlotSpecialism.ORE, null);
+	}
+	
 }
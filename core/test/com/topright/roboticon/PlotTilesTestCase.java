@@ -0,0 +1,187 @@
+package com.topright.roboticon;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import mockit.Mocked;
+import mockit.integration.junit4.JMockit;
+
+/**
+ * Test case for {@link PlotTiles}
+ */
+@RunWith(JMockit.class)
+public class PlotTilesTestCase {
+	@Mocked private Player humanPlayer;
+	@Mocked private Player AIPlayer;
+	@Mocked private Player secondAIPlayer;
+	private Plot[][] plots;
+	
+	/**
+	 * Runs before every test, creates a 2 by 3 grid of plots
+	 */
+	@Before
+	public void setup(){
+		plots = new Plot[][]{
+			{new Plot(PlotSpecialism.ORE), new Plot(PlotSpecialism.ENERGY), new Plot(PlotSpecialism.ORE)},
+			{new Plot(PlotSpecialism.ENERGY), new Plot(PlotSpecialism.ENERGY), new Plot(PlotSpecialism.ORE)}
+		};
+	}
+	
+	/**
+	 * Tests {@link PlotTiles#PlotTiles(Plot[][], Player)} ensures that an exception is thrown if there are no plots
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testConstructorNoPlots(){
+		new PlotTiles(new Plot[0][0], humanPlayer);
+	}
+	
+	/**
+	 * Tests {@link PlotTiles#getRows()} and {@link PlotTiles#getColumns()} ensures that they match the plot array
+	 */
+	@Test
+	public void testRowsAndColumns(){
+		PlotTiles tiles = new PlotTiles(plots, humanPlayer);
+		assertEquals(2, tiles.getRows());
+		assertEquals(3, tiles.getColumns());
+	}
+	
+	/**
+	 * Tests {@link PlotTiles#getPlotNumber(int, int)} ensures that plots are numbered row by row
+	 */
+	@Test
+	public void testPlotNumbersRowByRow(){
+		PlotTiles tiles = new PlotTiles(plots, humanPlayer);
+		assertEquals(0, tiles.getPlotNumber(0, 0));
+		assertEquals(2, tiles.getPlotNumber(0, 2));
+		assertEquals(3, tiles.getPlotNumber(1, 0));
+		assertEquals(5, tiles.getPlotNumber(1, 2));
+	}
+	
+	/**
+	 * Tests {@link PlotTiles#getSpecialism(int)} ensures that the specialism of every plot is copied
+	 */
+	@Test
+	public void testSpecialismsCopied(){
+		PlotTiles tiles = new PlotTiles(plots, humanPlayer);
+		for(int row = 0; row < plots.length; row++){
+			for(int column = 0; column < plots[row].length; column++){
+				assertEquals(plots[row][column].getSpecialism(), tiles.getSpecialism(tiles.getPlotNumber(row, column)));
+			}
+		}
+	}
+	
+	/**
+	 * Tests {@link PlotTiles#getOwner(int)} ensures that plots that have not been acquired have no owner
+	 */
+	@Test
+	public void testUnacquiredPlotsHaveNoOwner(){
+		PlotTiles tiles = new PlotTiles(plots, humanPlayer);
+		for(int plotNumber = 0; plotNumber < 6; plotNumber++){
+			assertEquals(PlotTiles.NO_OWNER, tiles.getOwner(plotNumber));
+		}
+	}
+	
+	/**
+	 * Tests {@link PlotTiles#getOwner(int)} ensures that the owners of plots that have already been acquired are copied
+	 */
+	@Test
+	public void testOwnersCopied(){
+		plots[0][1].setPlayer(humanPlayer);
+		plots[1][2].setPlayer(AIPlayer);
+		PlotTiles tiles = new PlotTiles(plots, humanPlayer);
+		assertEquals(PlotTiles.HUMAN_OWNER, tiles.getOwner(1));
+		assertEquals(PlotTiles.AI_OWNER, tiles.getOwner(5));
+		assertEquals(PlotTiles.NO_OWNER, tiles.getOwner(0));
+	}
+	
+	/**
+	 * Tests {@link PlotTiles#getRoboticon(int)} ensures that roboticons that have already been placed are copied
+	 */
+	@Test
+	public void testRoboticonsCopied(){
+		plots[1][0].setPlayer(AIPlayer);
+		plots[1][0].placeRoboticon(RoboticonCustomisation.ENERGY);
+		PlotTiles tiles = new PlotTiles(plots, humanPlayer);
+		assertEquals(RoboticonCustomisation.ENERGY, tiles.getRoboticon(3));
+		assertNull(tiles.getRoboticon(0));
+	}
+	
+	/**
+	 * Tests {@link PlotTiles#setOwner(int, int)} ensures that only the given plot is changed
+	 */
+	@Test
+	public void testSetOwner(){
+		PlotTiles tiles = new PlotTiles(plots, humanPlayer);
+		tiles.setOwner(4, PlotTiles.AI_OWNER);
+		assertEquals(PlotTiles.AI_OWNER, tiles.getOwner(4));
+		assertEquals(PlotTiles.NO_OWNER, tiles.getOwner(3));
+		assertEquals(PlotTiles.NO_OWNER, tiles.getOwner(5));
+	}
+	
+	/**
+	 * Tests {@link PlotTiles#setOwner(int, int)} ensures that an exception is thrown if the owner is not valid
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testSetOwnerInvalid(){
+		new PlotTiles(plots, humanPlayer).setOwner(0, (byte)7);
+	}
+	
+	/**
+	 * Tests {@link PlotTiles#setRoboticon(int, RoboticonCustomisation)} ensures that every customisation can be stored and removed
+	 */
+	@Test
+	public void testSetRoboticonEveryCustomisation(){
+		PlotTiles tiles = new PlotTiles(plots, humanPlayer);
+		for(RoboticonCustomisation customisation : RoboticonCustomisation.values()){
+			tiles.setRoboticon(2, customisation);
+			assertEquals(customisation, tiles.getRoboticon(2));
+		}
+		tiles.setRoboticon(2, null);
+		assertNull(tiles.getRoboticon(2));
+	}
+	
+	/**
+	 * Tests {@link PlotTiles#PlotTiles(Plot[][], PlayerColours)} ensures that every AI player's plots are given that player's owner number
+	 */
+	@Test
+	public void testOwnersCopiedSeveralAIPlayers(){
+		plots[0][1].setPlayer(humanPlayer);
+		plots[1][2].setPlayer(AIPlayer);
+		plots[1][0].setPlayer(secondAIPlayer);
+		PlotTiles tiles = new PlotTiles(plots, new PlayerColours(Arrays.asList(AIPlayer, humanPlayer, secondAIPlayer), humanPlayer));
+		assertEquals(PlotTiles.HUMAN_OWNER, tiles.getOwner(1));
+		assertEquals(PlotTiles.AI_OWNER, tiles.getOwner(5));
+		assertEquals(PlotTiles.AI_OWNER + 1, tiles.getOwner(3));
+		assertEquals(PlotTiles.NO_OWNER, tiles.getOwner(0));
+	}
+	
+	/**
+	 * Tests {@link PlotTiles#setOwner(int, int)} ensures that owner numbers above 127 are stored (as unsigned bytes)
+	 */
+	@Test
+	public void testSetOwnerLargeOwnerNumber(){
+		Player[] players = new Player[PlayerColours.MAX_AI_PLAYERS];
+		for(int playerNumber = 0; playerNumber < players.length; playerNumber++){
+			players[playerNumber] = new Player(null);
+		}
+		PlotTiles tiles = new PlotTiles(plots, new PlayerColours(Arrays.asList(players), humanPlayer));
+		tiles.setOwner(2, PlayerColours.MAX_OWNER);
+		assertEquals(PlayerColours.MAX_OWNER, tiles.getOwner(2));
+		tiles.setOwner(3, 200);
+		assertEquals(200, tiles.getOwner(3));
+	}
+	
+	/**
+	 * Tests {@link PlotTiles#setOwner(int, int)} ensures that an exception is thrown if the owner number belongs to no player
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testSetOwnerUnusedOwnerNumber(){
+		PlotTiles tiles = new PlotTiles(plots, new PlayerColours(Arrays.asList(humanPlayer, AIPlayer, secondAIPlayer), humanPlayer));
+		tiles.setOwner(0, PlotTiles.AI_OWNER + 2);
+	}
+}
@@ -0,0 +1,150 @@
+package com.topright.roboticon;
+
+import static org.junit.Assert.*;
+
+import java.util.EnumMap;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test case for {@link PriceAwareStrategy}
+ */
+public class PriceAwareStrategyTestCase {
+	private Market market;
+	private AIPlayer player;
+	private Plot[][] plots;
+	private PlotGrid plotGrid;
+	
+	/**
+	 * Runs before every test, creates a player with 10 ore and 10 energy who uses a PriceAwareStrategy and a market with supply and demand pricing that has no ore or energy
+	 */
+	@Before
+	public void setup(){
+		market = new Market(new MarketInventory(0, 0, 12));
+		market.setPricingEngine(new SupplyDemandPricingEngine());
+		player = new AIPlayer(new PlayerInventory(10, 10, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), 30), market, new PriceAwareStrategy());
+		plots = new Plot[][]{{new Plot(PlotSpecialism.ORE), new Plot(PlotSpecialism.ENERGY)}};
+		plotGrid = new HeadlessPlotManager(plots);
+	}
+	
+	/**
+	 * Tests {@link PriceAwareStrategy#buyAndSellResources(AIPlayer)} ensures that resources stop being sold once the price has fallen below 90% of the best price seen
+	 */
+	@Test
+	public void testStopsSellingWhenPriceFalls(){
+		int bestOrePrice = market.getSaleValueOre(1);
+		player.buyRoboticons(plotGrid);
+		player.buyAndSellResources();
+		
+		assertTrue(player.getOreQuantity() > 0 && player.getOreQuantity() < 10);
+		assertTrue(player.getEnergyQuantity() > 0 && player.getEnergyQuantity() < 10);
+		assertTrue(market.getSaleValueOre(1)*100 < bestOrePrice*PriceAwareStrategy.DEFAULT_SELL_PERCENT);
+	}
+	
+	/**
+	 * Tests {@link PriceAwareStrategy#buyAndSellResources(AIPlayer)} ensures that everything is sold in the last market phase of the game
+	 */
+	@Test
+	public void testSellsEverythingInLastMarketPhase(){
+		plots[0][0].setPlayer(player);
+		plots[0][1].setPlayer(player);
+		player.buyRoboticons(plotGrid);
+		player.buyAndSellResources();
+		
+		assertEquals(0, player.getOreQuantity());
+		assertEquals(0, player.getEnergyQuantity());
+	}
+	
+	/**
+	 * Tests {@link PriceAwareStrategy#buyAndSellResources(AIPlayer)} ensures that everything is sold if the price does not fall
+	 */
+	@Test
+	public void testSellsEverythingAtFixedPrices(){
+		market.setPricingEngine(new FixedPricingEngine());
+		player.buyRoboticons(plotGrid);
+		player.buyAndSellResources();
+		
+		assertEquals(0, player.getOreQuantity());
+		assertEquals(0, player.getEnergyQuantity());
+	}
+	
+	/**
+	 * Tests {@link PriceAwareStrategy#PriceAwareStrategy(int)} ensures that nothing is held back when the sell percentage is 0
+	 */
+	@Test
+	public void testSellPercentZero(){
+		AIPlayer sellingPlayer = new AIPlayer(new PlayerInventory(10, 10, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), 30), market, new PriceAwareStrategy(0));
+		sellingPlayer.buyRoboticons(plotGrid);
+		sellingPlayer.buyAndSellResources();
+		
+		assertEquals(0, sellingPlayer.getOreQuantity());
+		assertEquals(0, sellingPlayer.getEnergyQuantity());
+	}
+	
+	/**
+	 * Tests {@link PriceAwareStrategy#PriceAwareStrategy(int)} ensures that an exception is thrown if the sell percentage is more than 100
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testSellPercentTooLarge(){
+		new PriceAwareStrategy(101);
+	}
+	
+	/**
+	 * Tests {@link PriceAwareStrategy#placeOrders(AIPlayer)} ensures that buy orders are placed for one more than the market pays once
+	 * the market's prices have fallen, and that the greedy strategy sells to them rather than to the market
+	 */
+	@Test
+	public void testBidsOnceThePriceFalls(){
+		player.buyRoboticons(plotGrid);
+		player.placeOrders(); // Nothing is bid while the market pays the best price seen
+		assertEquals(0, market.getOrderBook(PlotSpecialism.ORE).getRestingOrderCount());
+		Player sellingPlayer = new Player(new PlayerInventory(10, 10, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), 0), market);
+		sellingPlayer.attemptToSellOre(10);
+		sellingPlayer.attemptToSellEnergy(10);
+		player.placeOrders();
+		
+		OrderBook oreBook = market.getOrderBook(PlotSpecialism.ORE);
+		assertEquals(market.getSaleValueOre(1) + 1, oreBook.getBestBuyPrice());
+		assertEquals(market.getSaleValueEnergy(1) + 1, market.getOrderBook(PlotSpecialism.ENERGY).getBestBuyPrice());
+		
+		AIPlayer greedyPlayer = new AIPlayer(new PlayerInventory(1, 0, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), 0), market, new GreedyStrategy());
+		int marketOre = market.getOreQuantity();
+		greedyPlayer.buyAndSellResources();
+		assertEquals(marketOre, market.getOreQuantity()); // Not sold to the market
+		int orePrice = oreBook.getBestBuyPrice();
+		int oreBeforeMatching = player.getOreQuantity();
+		assertEquals(1, oreBook.matchOrders());
+		assertEquals(oreBeforeMatching + 1, player.getOreQuantity());
+		assertEquals(orePrice, greedyPlayer.getMoneyQuantity());
+	}
+	
+	/**
+	 * Tests {@link PriceAwareStrategy#placeOrders(AIPlayer)} ensures that no orders are placed while the market pays as much as it ever has
+	 */
+	@Test
+	public void testNoBidsAtFixedPrices(){
+		market.setPricingEngine(new FixedPricingEngine());
+		player.buyRoboticons(plotGrid);
+		player.buyAndSellResources();
+		player.placeOrders();
+		
+		assertEquals(0, market.getOrderBook(PlotSpecialism.ORE).getRestingOrderCount());
+		assertEquals(0, market.getOrderBook(PlotSpecialism.ENERGY).getRestingOrderCount());
+	}
+	
+	/**
+	 * Tests {@link PriceAwareStrategy#placeOrders(AIPlayer)} ensures that no orders are placed in the last market phase of the game
+	 */
+	@Test
+	public void testNoBidsInLastMarketPhase(){
+		player.buyRoboticons(plotGrid);
+		player.buyAndSellResources();
+		plots[0][0].setPlayer(player);
+		plots[0][1].setPlayer(player);
+		player.placeOrders();
+		
+		assertEquals(0, market.getOrderBook(PlotSpecialism.ORE).getRestingOrderCount());
+		assertEquals(0, market.getOrderBook(PlotSpecialism.ENERGY).getRestingOrderCount());
+	}
+}
@@ -0,0 +1,94 @@
+package com.topright.roboticon;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import mockit.FullVerifications;
+import mockit.Mocked;
+
+/**
+ * Test case for {@link ProductionDeltas}
+ */
+public class ProductionDeltasTestCase {
+	@Mocked Player firstPlayer;
+	@Mocked Player secondPlayer;
+
+	/**
+	 * Tests {@link ProductionDeltas#add(Player, int, int)} ensures that the resources produced for each player are added up separately
+	 */
+	@Test
+	public void testAdd(){
+		ProductionDeltas deltas = new ProductionDeltas();
+		deltas.add(firstPlayer, 2, 0);
+		deltas.add(secondPlayer, 0, 1);
+		deltas.add(firstPlayer, 1, 2);
+		assertEquals(3, deltas.getOre(firstPlayer));
+		assertEquals(2, deltas.getEnergy(firstPlayer));
+		assertEquals(0, deltas.getOre(secondPlayer));
+		assertEquals(1, deltas.getEnergy(secondPlayer));
+		assertEquals(2, deltas.getNumberOfPlayers());
+	}
+
+	/**
+	 * Tests {@link ProductionDeltas#getOre(Player)} and {@link ProductionDeltas#getEnergy(Player)} ensure that 0 is returned for a player that nothing was produced for
+	 */
+	@Test
+	public void testNothingProduced(){
+		ProductionDeltas deltas = new ProductionDeltas();
+		assertEquals(0, deltas.getOre(firstPlayer));
+		assertEquals(0, deltas.getEnergy(firstPlayer));
+		assertEquals(0, deltas.getNumberOfPlayers());
+	}
+
+	/**
+	 * Tests {@link ProductionDeltas#add(Player, int, int)} ensures that an exception is thrown if the player is null
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testAddNullPlayer(){
+		new ProductionDeltas().add(null, 1, 0);
+	}
+
+	/**
+	 * Tests {@link ProductionDeltas#add(Player, int, int)} ensures that an exception is thrown if a negative quantity is produced
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testAddNegative(){
+		new ProductionDeltas().add(firstPlayer, 0, -1);
+	}
+
+	/**
+	 * Tests {@link ProductionDeltas#addAll(ProductionDeltas)} ensures that the other deltas are merged in (and are not changed)
+	 */
+	@Test
+	public void testAddAll(){
+		ProductionDeltas deltas = new ProductionDeltas();
+		deltas.add(firstPlayer, 1, 1);
+		ProductionDeltas other = new ProductionDeltas();
+		other.add(firstPlayer, 2, 0);
+		other.add(secondPlayer, 4, 3);
+		deltas.addAll(other);
+		assertEquals(3, deltas.getOre(firstPlayer));
+		assertEquals(1, deltas.getEnergy(firstPlayer));
+		assertEquals(4, deltas.getOre(secondPlayer));
+		assertEquals(3, deltas.getEnergy(secondPlayer));
+		assertEquals(2, other.getOre(firstPlayer));
+	}
+
+	/**
+	 * Tests {@link ProductionDeltas#apply()} ensures that each player's inventory is increased once for each type of resource that they produced
+	 */
+	@Test
+	public void testApply(){
+		ProductionDeltas deltas = new ProductionDeltas();
+		deltas.add(firstPlayer, 2, 0);
+		deltas.add(firstPlayer, 1, 0);
+		deltas.add(secondPlayer, 1, 4);
+		deltas.apply();
+		new FullVerifications(){{
+			firstPlayer.increaseOreQuantity(3); times = 1;
+			secondPlayer.increaseOreQuantity(1); times = 1;
+			secondPlayer.increaseEnergyQuantity(4); times = 1;
+		}};
+	}
+}
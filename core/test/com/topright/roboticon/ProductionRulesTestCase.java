@@ -0,0 +1,166 @@
+package com.topright.roboticon;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.EnumMap;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Test case for {@link ProductionRules}
+ */
+public class ProductionRulesTestCase {
+
+	/**
+	 * Runs after every test, puts the standard rules back as the default rules
+	 */
+	@After
+	public void tearDown(){
+		ProductionRules.setDefault(ProductionRules.STANDARD);
+	}
+
+	/**
+	 * Asserts that two sets of rules give the same yield for every customisation on every specialism
+	 * @param expected The expected rules
+	 * @param actual The actual rules
+	 */
+	private static void assertSameRules(ProductionRules expected, ProductionRules actual){
+		for(RoboticonCustomisation customisation : RoboticonCustomisation.values()){
+			for(PlotSpecialism specialism : PlotSpecialism.values()){
+				assertEquals(expected.getOreYield(customisation, specialism), actual.getOreYield(customisation, specialism));
+				assertEquals(expected.getEnergyYield(customisation, specialism), actual.getEnergyYield(customisation, specialism));
+			}
+		}
+	}
+
+	/**
+	 * Tests {@link ProductionRules#STANDARD} ensures that a roboticon produces 2 of a resource on a plot that specialises in it, 1 on
+	 * any other plot and that uncustomised roboticons produce nothing
+	 */
+	@Test
+	public void testStandardRules(){
+		ProductionRules rules = ProductionRules.STANDARD;
+		assertEquals(2, rules.getOreYield(RoboticonCustomisation.ORE, PlotSpecialism.ORE));
+		assertEquals(0, rules.getEnergyYield(RoboticonCustomisation.ORE, PlotSpecialism.ORE));
+		assertEquals(1, rules.getOreYield(RoboticonCustomisation.ORE, PlotSpecialism.ENERGY));
+		assertEquals(1, rules.getEnergyYield(RoboticonCustomisation.ENERGY, PlotSpecialism.ORE));
+		assertEquals(2, rules.getEnergyYield(RoboticonCustomisation.ENERGY, PlotSpecialism.ENERGY));
+		assertNull(rules.getYield(RoboticonCustomisation.UNCUSTOMISED, PlotSpecialism.ORE));
+		assertNull(rules.getYield(RoboticonCustomisation.UNCUSTOMISED, PlotSpecialism.ENERGY));
+	}
+
+	/**
+	 * Tests {@link ProductionRules#load(Reader)} ensures that the yields given are loaded and everything else produces nothing
+	 */
+	@Test
+	public void testLoad() throws IOException{
+		ProductionRules rules = ProductionRules.load(new StringReader("# Comment\nore.energy = 3 1\nuncustomised.ore=0 4\n"));
+		assertEquals(3, rules.getOreYield(RoboticonCustomisation.ORE, PlotSpecialism.ENERGY));
+		assertEquals(1, rules.getEnergyYield(RoboticonCustomisation.ORE, PlotSpecialism.ENERGY));
+		assertEquals(4, rules.getEnergyYield(RoboticonCustomisation.UNCUSTOMISED, PlotSpecialism.ORE));
+		assertNull(rules.getYield(RoboticonCustomisation.ORE, PlotSpecialism.ORE));
+		assertNull(rules.getYield(RoboticonCustomisation.ENERGY, PlotSpecialism.ENERGY));
+	}
+
+	/**
+	 * Tests {@link ProductionRules#load(Reader)} ensures that a yield of nothing is treated the same as a yield that is not listed
+	 */
+	@Test
+	public void testLoadNothingProduced() throws IOException{
+		assertNull(ProductionRules.load(new StringReader("ore.ore = 0 0")).getYield(RoboticonCustomisation.ORE, PlotSpecialism.ORE));
+	}
+
+	/**
+	 * Tests {@link ProductionRules#load(Reader)} ensures that the rules shipped with the game are the standard rules
+	 */
+	@Test
+	public void testShippedRulesAreStandard() throws IOException{
+		try(Reader reader = Files.newBufferedReader(Paths.get("assets", ProductionRules.CONFIG_PATH), StandardCharsets.UTF_8)){
+			assertSameRules(ProductionRules.STANDARD, ProductionRules.load(reader));
+		}
+	}
+
+	/**
+	 * Tests {@link ProductionRules#load(Reader)} ensures that an exception is thrown if a customisation doesn't exist
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testLoadUnknownCustomisation() throws IOException{
+		ProductionRules.load(new StringReader("food.ore = 1 0"));
+	}
+
+	/**
+	 * Tests {@link ProductionRules#load(Reader)} ensures that an exception is thrown if a specialism doesn't exist
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testLoadUnknownSpecialism() throws IOException{
+		ProductionRules.load(new StringReader("ore.food = 1 0"));
+	}
+
+	/**
+	 * Tests {@link ProductionRules#load(Reader)} ensures that an exception is thrown if a key doesn't contain a specialism
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testLoadMissingSpecialism() throws IOException{
+		ProductionRules.load(new StringReader("ore = 1 0"));
+	}
+
+	/**
+	 * Tests {@link ProductionRules#load(Reader)} ensures that an exception is thrown if the quantity of energy is missing
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testLoadMissingQuantity() throws IOException{
+		ProductionRules.load(new StringReader("ore.ore = 2"));
+	}
+
+	/**
+	 * Tests {@link ProductionRules#load(Reader)} ensures that an exception is thrown if a quantity is not a number
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testLoadQuantityNotANumber() throws IOException{
+		ProductionRules.load(new StringReader("ore.ore = two 0"));
+	}
+
+	/**
+	 * Tests {@link ProductionRules#load(Reader)} ensures that an exception is thrown if a quantity is negative
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testLoadNegativeQuantity() throws IOException{
+		ProductionRules.load(new StringReader("ore.ore = 2 -1"));
+	}
+
+	/**
+	 * Tests {@link ProductionRules#setDefault(ProductionRules)} ensures that plots created afterwards use the new default rules
+	 */
+	@Test
+	public void testSetDefault() throws IOException{
+		ProductionRules rules = ProductionRules.load(new StringReader("energy.energy = 0 5"));
+		Plot oldPlot = new Plot(PlotSpecialism.ENERGY);
+		ProductionRules.setDefault(rules);
+		assertSame(rules, ProductionRules.getDefault());
+
+		ProductionDeltas deltas = new ProductionDeltas();
+		Player player = new Player(new PlayerInventory(0, 0, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), 0));
+		Plot newPlot = new Plot(PlotSpecialism.ENERGY);
+		for(Plot plot : new Plot[]{oldPlot, newPlot}){
+			plot.setPlayer(player);
+			plot.placeRoboticon(RoboticonCustomisation.ENERGY);
+			plot.produce(deltas);
+		}
+		assertEquals(7, deltas.getEnergy(player)); // 2 from the plot created with the standard rules, 5 from the new one
+	}
+
+	/**
+	 * Tests {@link ProductionRules#setDefault(ProductionRules)} ensures that an exception is thrown if the rules are null
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testSetDefaultNull(){
+		ProductionRules.setDefault(null);
+	}
+}
@@ -0,0 +1,426 @@
+package com.topright.roboticon;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.*;
+
+/**
+ * Test case for {@link RemoteGameClient} (and {@link RemotePlayer}), messages from the server are passed straight to the client and
+ * the messages that the client sends are read from the other end of a real (loopback) connection
+ */
+public class RemoteGameClientTestCase {
+	private static final long TIMEOUT_MILLIS = 5000;
+
+	private RemoteGameClient client;
+	private FramedChannel serverEnd;
+	private RecordingListener listener;
+	private final List<String> messagesSent = new ArrayList<String>(); // Every message that the client has sent, as text
+
+	/**
+	 * A listener that records what it is told and applies plot changes through a {@link HeadlessPlotManager}
+	 */
+	private static class RecordingListener implements RemoteGameListener {
+		private final List<String> calls = new ArrayList<String>();
+		private HeadlessPlotManager plotManager = null;
+		private Player localPlayer = null;
+
+		@Override
+		public PlotGrid matchStarted(Player localPlayer, List<Player> players, Plot[][] plots, Market market){
+			this.localPlayer = localPlayer;
+			plotManager = new HeadlessPlotManager(plots);
+			calls.add("matchStarted");
+			return plotManager;
+		}
+
+		@Override
+		public void inventoryUpdated(Player player){
+			calls.add("inventoryUpdated");
+		}
+
+		@Override
+		public void plotAcquisitionStage(Player player){
+			calls.add("plotAcquisitionStage");
+		}
+
+		@Override
+		public void buyingRoboticonsStage(Player player){
+			calls.add("buyingRoboticonsStage");
+		}
+
+		@Override
+		public void customisingRoboticonsStage(Player player){
+			calls.add("customisingRoboticonsStage");
+		}
+
+		@Override
+		public void roboticonPlacingStage(Player player){
+			calls.add("roboticonPlacingStage");
+		}
+
+		@Override
+		public void resourcesProduced(){
+			calls.add("resourcesProduced");
+		}
+
+		@Override
+		public void allPlayersMarketStage(){
+			calls.add("allPlayersMarketStage");
+		}
+
+		@Override
+		public void gameOver(){
+			calls.add("gameOver");
+		}
+	}
+
+	/**
+	 * Records the messages that the client sends as text
+	 */
+	private final ClientMessageHandler recordingHandler = new ClientMessageHandler(){
+		@Override
+		public void join(int version){
+			messagesSent.add("join "+version);
+		}
+
+		@Override
+		public void acquirePlot(int row, int column){
+			messagesSent.add("acquirePlot "+row+" "+column);
+		}
+
+		@Override
+		public void buyRoboticons(int quantity){
+			messagesSent.add("buyRoboticons "+quantity);
+		}
+
+		@Override
+		public void customiseRoboticon(RoboticonCustomisation customisation){
+			messagesSent.add("customiseRoboticon "+customisation);
+		}
+
+		@Override
+		public void placeRoboticon(int row, int column, RoboticonCustomisation customisation){
+			messagesSent.add("placeRoboticon "+row+" "+column+" "+customisation);
+		}
+
+		@Override
+		public void buyResource(PlotSpecialism resource, int quantity){
+			messagesSent.add("buyResource "+resource+" "+quantity);
+		}
+
+		@Override
+		public void sellResource(PlotSpecialism resource, int quantity){
+			messagesSent.add("sellResource "+resource+" "+quantity);
+		}
+
+		@Override
+		public void finished(GameEvents event){
+			messagesSent.add("finished "+event);
+		}
+	};
+
+	/**
+	 * Runs before every test, connects a client to a socket that stands in for the server and reads the join message that it sends
+	 * @throws IOException If the sockets can't be connected
+	 */
+	@Before
+	public void setup() throws IOException{
+		listener = new RecordingListener();
+		try(ServerSocketChannel serverSocket = ServerSocketChannel.open()){
+			serverSocket.bind(new InetSocketAddress("127.0.0.1", 0));
+			client = RemoteGameClient.connect((InetSocketAddress)serverSocket.getLocalAddress(), listener);
+			serverEnd = new FramedChannel(serverSocket.accept());
+		}
+		assertEquals("join "+NetworkProtocol.VERSION, nextMessageSent());
+	}
+
+	/**
+	 * Runs after every test, closes both ends of the connection
+	 * @throws IOException If a channel can't be closed
+	 */
+	@After
+	public void tearDown() throws IOException{
+		client.close();
+		serverEnd.close();
+	}
+
+	/**
+	 * Returns the next message that the client has sent (waiting for it to arrive)
+	 * @return The message as text
+	 * @throws IOException If the connection fails
+	 */
+	private String nextMessageSent() throws IOException{
+		long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+		while(messagesSent.isEmpty()){
+			client.poll();
+			serverEnd.read(new FramedChannel.FrameHandler(){
+				@Override
+				public void handleFrame(ByteBuffer frame){
+					NetworkProtocol.dispatch(frame, recordingHandler);
+				}
+			});
+			assertTrue("Timed out waiting for a message", System.currentTimeMillis() < deadline);
+		}
+		return messagesSent.remove(0);
+	}
+
+	/**
+	 * Starts a 2 player match on a 1x3 map (ORE, ENERGY, ORE) with the client's player as the given player
+	 * @param localPlayerNumber The number of the client's player
+	 */
+	private void startMatch(int localPlayerNumber){
+		client.matchStarted(localPlayerNumber, 2, new PlotSpecialism[][]{{PlotSpecialism.ORE, PlotSpecialism.ENERGY, PlotSpecialism.ORE}});
+		client.market(10, 10, 10);
+		client.inventory(localPlayerNumber, 0, 0, 100, new int[]{0, 0, 0});
+	}
+
+	/**
+	 * Tests {@link RemoteGameClient#RemoteGameClient(FramedChannel, RemoteGameListener)} ensures that an IllegalArgumentException is
+	 * thrown if the listener is null
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructorNullListener(){
+		new RemoteGameClient(serverEnd, null);
+	}
+
+	/**
+	 * Tests {@link RemoteGameClient#matchStarted} ensures that the players and plots are created and the listener is told
+	 */
+	@Test
+	public void testMatchStarted(){
+		startMatch(1);
+		assertTrue(client.hasMatchStarted());
+		assertEquals(2, client.getPlayers().size());
+		assertEquals(1, client.getLocalPlayerNumber());
+		assertSame(client.getPlayers().get(1), client.getLocalPlayer());
+		assertTrue(client.getLocalPlayer() instanceof RemotePlayer);
+		assertFalse(client.getPlayers().get(0) instanceof RemotePlayer);
+		assertEquals(PlotSpecialism.ENERGY, client.getPlots()[0][1].getSpecialism());
+		assertSame(client.getLocalPlayer(), listener.localPlayer);
+		assertEquals("matchStarted", listener.calls.get(0));
+	}
+
+	/**
+	 * Tests {@link RemoteGameClient#matchStarted} ensures that an IllegalArgumentException is thrown for an invalid player number
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testMatchStartedInvalidPlayerNumber(){
+		client.matchStarted(2, 2, new PlotSpecialism[][]{{PlotSpecialism.ORE}});
+	}
+
+	/**
+	 * Tests {@link RemoteGameClient#stage} ensures that an IllegalStateException is thrown if the match has not started
+	 */
+	@Test(expected = IllegalStateException.class)
+	public void testStageBeforeMatchStarted(){
+		client.stage(GamePhase.PLOTACQUISITION, 0, 1);
+	}
+
+	/**
+	 * Tests {@link RemoteGameClient#stage} ensures that the listener is told when it is the local player's turn
+	 */
+	@Test
+	public void testStageLocalPlayer(){
+		startMatch(0);
+		client.stage(GamePhase.BUYINGROBOTICONS, 0, 2);
+		assertEquals(GamePhase.BUYINGROBOTICONS, client.getPhase());
+		assertEquals(2, client.getRoundNumber());
+		assertSame(client.getLocalPlayer(), client.getStagePlayer());
+		assertSame(client.getLocalPlayer(), listener.plotManager.getCurrentPlayer());
+		assertTrue(listener.calls.contains("buyingRoboticonsStage"));
+	}
+
+	/**
+	 * Tests {@link RemoteGameClient#stage} ensures that the listener is not told about another player's turn
+	 */
+	@Test
+	public void testStageOtherPlayer(){
+		startMatch(0);
+		client.stage(GamePhase.PLOTACQUISITION, 1, 1);
+		assertSame(client.getPlayers().get(1), client.getStagePlayer());
+		assertFalse(listener.calls.contains("plotAcquisitionStage"));
+	}
+
+	/**
+	 * Tests {@link RemoteGameClient#stage} ensures that the listener is told about the market stage (which every player takes part in)
+	 */
+	@Test
+	public void testStageMarket(){
+		startMatch(0);
+		client.stage(GamePhase.MARKET, NetworkProtocol.ALL_PLAYERS, 1);
+		assertNull(client.getStagePlayer());
+		assertTrue(listener.calls.contains("allPlayersMarketStage"));
+	}
+
+	/**
+	 * Tests {@link RemoteGameClient#plotAcquired} ensures that a plot acquired by another player is applied to the plot grid
+	 */
+	@Test
+	public void testPlotAcquiredOtherPlayer(){
+		startMatch(0);
+		client.stage(GamePhase.PLOTACQUISITION, 0, 1);
+		client.plotAcquired(1, 0, 2);
+		assertSame(client.getPlayers().get(1), client.getPlots()[0][2].getPlayer());
+		assertSame(client.getLocalPlayer(), listener.plotManager.getCurrentPlayer()); // Given back to the player whose turn it is
+	}
+
+	/**
+	 * Tests {@link RemoteGameClient#handleEvent} ensures that a plot acquired by the local player is sent to the server (once)
+	 * @throws IOException If the connection fails
+	 */
+	@Test
+	public void testHandleEventPlotAcquired() throws IOException{
+		startMatch(0);
+		client.stage(GamePhase.PLOTACQUISITION, 0, 1);
+		listener.plotManager.acquirePlot(0, 1);
+		client.handleEvent(GameEvents.PLOTAQUIRED);
+		client.handleEvent(GameEvents.PLOTAQUIRED);
+		client.handleEvent(GameEvents.FINISHEDBUYINGROBOTICONS);
+		assertEquals("acquirePlot 0 1", nextMessageSent());
+		assertEquals("finished "+GameEvents.FINISHEDBUYINGROBOTICONS, nextMessageSent());
+	}
+
+	/**
+	 * Tests {@link RemoteGameClient#plotAcquired} ensures that a plot that the local player has already acquired is not acquired again
+	 * (and not sent back to the server)
+	 * @throws IOException If the connection fails
+	 */
+	@Test
+	public void testPlotAcquiredAlreadyAcquiredLocally() throws IOException{
+		startMatch(0);
+		client.stage(GamePhase.PLOTACQUISITION, 0, 1);
+		listener.plotManager.acquirePlot(0, 0);
+		client.handleEvent(GameEvents.PLOTAQUIRED);
+		client.plotAcquired(0, 0, 0);
+		client.handleEvent(GameEvents.FINISHEDBUYINGROBOTICONS);
+		assertEquals("acquirePlot 0 0", nextMessageSent());
+		assertEquals("finished "+GameEvents.FINISHEDBUYINGROBOTICONS, nextMessageSent());
+	}
+
+	/**
+	 * Tests {@link RemoteGameClient#roboticonPlaced(int, int, int, RoboticonCustomisation)} ensures that a roboticon placed by another
+	 * player is applied to the plot grid
+	 */
+	@Test
+	public void testRoboticonPlacedOtherPlayer(){
+		startMatch(0);
+		client.plotAcquired(1, 0, 1);
+		client.stage(GamePhase.PLACINGROBOTICONS, 0, 1);
+		client.roboticonPlaced(1, 0, 1, RoboticonCustomisation.ENERGY);
+		assertEquals(RoboticonCustomisation.ENERGY, client.getPlots()[0][1].getRoboticon());
+	}
+
+	/**
+	 * Tests {@link RemotePlayer#attemptToPlaceRoboticon} ensures that a roboticon placed by the local player is sent to the server
+	 * @throws IOException If the connection fails
+	 */
+	@Test
+	public void testLocalPlayerPlacesRoboticon() throws IOException{
+		startMatch(0);
+		client.plotAcquired(0, 0, 2);
+		client.inventory(0, 0, 0, 100, new int[]{1, 0, 0});
+		client.stage(GamePhase.PLACINGROBOTICONS, 0, 1);
+		assertTrue(listener.plotManager.placeOreRoboticon(2, 0));
+		assertEquals("placeRoboticon 0 2 "+RoboticonCustomisation.ORE, nextMessageSent());
+	}
+
+	/**
+	 * Tests {@link RemotePlayer#attemptToBuyRoboticons} ensures that a successful purchase is sent to the server
+	 * @throws IOException If the connection fails
+	 */
+	@Test
+	public void testLocalPlayerBuysRoboticons() throws IOException{
+		startMatch(0);
+		assertTrue(client.getLocalPlayer().attemptToBuyRoboticons(2));
+		assertEquals("buyRoboticons 2", nextMessageSent());
+	}
+
+	/**
+	 * Tests {@link RemotePlayer#attemptToSellOre} ensures that a failed sale is not sent to the server
+	 * @throws IOException If the connection fails
+	 */
+	@Test
+	public void testLocalPlayerFailedSaleNotSent() throws IOException{
+		startMatch(0);
+		assertFalse(client.getLocalPlayer().attemptToSellOre(5)); // Has no ore
+		client.handleEvent(GameEvents.FINISHEDWITHTHEMARKET);
+		assertEquals("finished "+GameEvents.FINISHEDWITHTHEMARKET, nextMessageSent());
+	}
+
+	/**
+	 * Tests {@link RemoteGameClient#inventory} ensures that the player's inventory is replaced and the listener is told
+	 */
+	@Test
+	public void testInventory(){
+		startMatch(0);
+		client.inventory(1, 3, 4, 50, new int[]{1, 2, 3});
+		Player player = client.getPlayers().get(1);
+		assertEquals(3, player.getOreQuantity());
+		assertEquals(4, player.getEnergyQuantity());
+		assertEquals(50, player.getMoneyQuantity());
+		assertEquals(1, player.getRoboticonQuantity(RoboticonCustomisation.ORE));
+		assertEquals(2, player.getRoboticonQuantity(RoboticonCustomisation.ENERGY));
+		assertEquals(3, player.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED));
+
+		client.inventory(1, 0, 1, 20, new int[]{0, 0, 0});
+		assertEquals(0, player.getOreQuantity());
+		assertEquals(1, player.getEnergyQuantity());
+		assertEquals(20, player.getMoneyQuantity());
+		assertEquals(0, player.getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED));
+		assertTrue(listener.calls.contains("inventoryUpdated"));
+	}
+
+	/**
+	 * Tests {@link RemoteGameClient#market} ensures that the market's stock is replaced
+	 */
+	@Test
+	public void testMarket(){
+		startMatch(0);
+		client.market(1, 2, 3);
+		assertEquals(1, client.getMarket().getOreQuantity());
+		assertEquals(2, client.getMarket().getEnergyQuantity());
+		assertEquals(3, client.getMarket().getRoboticonQuantity());
+	}
+
+	/**
+	 * Tests {@link RemoteGameClient#rejected} ensures that rejected messages are counted
+	 */
+	@Test
+	public void testRejected(){
+		client.rejected(NetworkProtocol.BUY_ROBOTICONS);
+		client.rejected(NetworkProtocol.ACQUIRE_PLOT);
+		assertEquals(2, client.getRejectedMessages());
+	}
+
+	/**
+	 * Tests {@link RemoteGameClient#gameOver} ensures that the scores are stored and the listener is told
+	 */
+	@Test
+	public void testGameOver(){
+		startMatch(0);
+		assertFalse(client.isGameOver());
+		client.gameOver(new int[]{5, 7});
+		assertTrue(client.isGameOver());
+		assertArrayEquals(new int[]{5, 7}, client.getScores());
+		assertEquals(GamePhase.GAMEOVER, client.getPhase());
+		assertTrue(listener.calls.contains("gameOver"));
+	}
+
+	/**
+	 * Tests {@link RemoteGameClient#poll} ensures that false is returned once the server has closed the connection
+	 * @throws IOException If the connection fails
+	 */
+	@Test
+	public void testPollServerClosed() throws IOException{
+		serverEnd.close();
+		long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+		while(client.poll()){
+			assertTrue("Timed out waiting for the connection to close", System.currentTimeMillis() < deadline);
+		}
+	}
+}
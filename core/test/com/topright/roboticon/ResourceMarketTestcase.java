@@ -7,8 +7,6 @@ import java.util.EnumMap;
 import org.junit.Before;
 import org.junit.Test;
 
-import com.badlogic.gdx.ai.msg.MessageDispatcher;
-import com.badlogic.gdx.ai.msg.MessageManager;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
 import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
 
@@ -27,7 +25,7 @@ public class ResourceMarketTestcase extends GuiTest {
 	@Mocked private PlayerInventory playerInventory;
 	@Mocked private Market market;
 	@Mocked private MarketInventory marketInventory;
-	@Mocked private MessageDispatcher messageDispatcher;
+	@Mocked private GameEventBus eventBus;
 	private TextButton buyOreButton;
 	private TextButton sellOreButton;
 	private TextButton buyEnergyButton;
@@ -50,7 +48,7 @@ public class ResourceMarketTestcase extends GuiTest {
 		player = new Player(playerInventory);
 		market = Market.getInstance();
 		
-		messageDispatcher = MessageManager.getInstance();
+		eventBus = GameEventBus.getInstance();
 		
 		marketInventory = new MarketInventory(0,0,0);
 		market.setInventory(marketInventory);
@@ -136,7 +134,7 @@ public class ResourceMarketTestcase extends GuiTest {
 		setSpinBoxValue(0,buyEnergySpinBox);
 		clickActor(buyEnergyButton);
 		new Verifications(){{
-			messageDispatcher.dispatchMessage(GameEvents.PLAYERINVENTORYUPDATE.ordinal());times=0;
+			eventBus.dispatch(GameEvents.PLAYERINVENTORYUPDATE);times=0;
 		}};
 	}
 	
@@ -166,7 +164,7 @@ public class ResourceMarketTestcase extends GuiTest {
 		setSpinBoxValue(1,buyEnergySpinBox);
 		clickActor(buyEnergyButton);
 		new Verifications(){{
-			messageDispatcher.dispatchMessage(GameEvents.PLAYERINVENTORYUPDATE.ordinal());times=1;
+			eventBus.dispatch(GameEvents.PLAYERINVENTORYUPDATE);times=1;
 		}};
 	}
 	
@@ -196,7 +194,7 @@ public class ResourceMarketTestcase extends GuiTest {
 		setSpinBoxValue(5,buyEnergySpinBox);
 		clickActor(buyEnergyButton);
 		new Verifications(){{
-			messageDispatcher.dispatchMessage(GameEvents.PLAYERINVENTORYUPDATE.ordinal());times=1;
+			eventBus.dispatch(GameEvents.PLAYERINVENTORYUPDATE);times=1;
 		}};
 	}
 	
@@ -213,7 +211,7 @@ public class ResourceMarketTestcase extends GuiTest {
 		setSpinBoxValue(5,buyEnergySpinBox);
 		clickActor(buyEnergyButton);
 		new Verifications(){{
-			messageDispatcher.dispatchMessage(GameEvents.PLAYERINVENTORYUPDATE.ordinal());times=0;
+			eventBus.dispatch(GameEvents.PLAYERINVENTORYUPDATE);times=0;
 		}};
 	}
 	
@@ -290,7 +288,7 @@ public class ResourceMarketTestcase extends GuiTest {
 		setSpinBoxValue(0,sellEnergySpinBox);
 		clickActor(sellEnergyButton);
 		new Verifications(){{
-			messageDispatcher.dispatchMessage(GameEvents.PLAYERINVENTORYUPDATE.ordinal());times=0;
+			eventBus.dispatch(GameEvents.PLAYERINVENTORYUPDATE);times=0;
 		}};
 	}
 	
@@ -320,7 +318,7 @@ public class ResourceMarketTestcase extends GuiTest {
 		setSpinBoxValue(1,sellEnergySpinBox);
 		clickActor(sellEnergyButton);
 		new Verifications(){{
-			messageDispatcher.dispatchMessage(GameEvents.PLAYERINVENTORYUPDATE.ordinal());times=1;
+			eventBus.dispatch(GameEvents.PLAYERINVENTORYUPDATE);times=1;
 		}};
 	}
 	
@@ -350,7 +348,7 @@ public class ResourceMarketTestcase extends GuiTest {
 		setSpinBoxValue(5,sellEnergySpinBox);
 		clickActor(sellEnergyButton);
 		new Verifications(){{
-			messageDispatcher.dispatchMessage(GameEvents.PLAYERINVENTORYUPDATE.ordinal());times=1;
+			eventBus.dispatch(GameEvents.PLAYERINVENTORYUPDATE);times=1;
 		}};
 	}
 	
@@ -367,7 +365,7 @@ public class ResourceMarketTestcase extends GuiTest {
 		setSpinBoxValue(5,sellEnergySpinBox);
 		clickActor(sellEnergyButton);
 		new Verifications(){{
-			messageDispatcher.dispatchMessage(GameEvents.PLAYERINVENTORYUPDATE.ordinal());times=0;
+			eventBus.dispatch(GameEvents.PLAYERINVENTORYUPDATE);times=0;
 		}};
 	}
 	
@@ -0,0 +1,159 @@
+package com.topright.roboticon;
+
+import static org.junit.Assert.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import mockit.Mocked;
+import mockit.integration.junit4.JMockit;
+
+/**
+ * Test case for {@link SaveFile}
+ */
+@RunWith(JMockit.class)
+public class SaveFileTestCase {
+	@Rule public TemporaryFolder folder = new TemporaryFolder();
+	@Mocked private GameEngineListener listener;
+	
+	private Path file;
+	private SaveFile saveFile;
+	private Market market;
+	private Plot[][] plots;
+	
+	/**
+	 * Runs before every test, creates a save file in a temporary folder (that does not exist yet)
+	 */
+	@Before
+	public void setup(){
+		file = folder.getRoot().toPath().resolve("roboticon.sav");
+		saveFile = new SaveFile(file);
+		market = new Market(new MarketInventory(0,16,12));
+		plots = CreatePlots.createPlots(4, 5, new GameRandom(1L));
+	}
+	
+	/**
+	 * Creates a game and starts it
+	 * @param humanPlayer true if one of the players is a human player (so the game waits for them) and false if the game is to be played to the end
+	 * @return The engine running the game
+	 */
+	private GameEngine startGame(boolean humanPlayer){
+		PlayerInventory firstInventory = new PlayerInventory(0, 0, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), 30);
+		Player firstPlayer = humanPlayer ? new Player(firstInventory, market) : new AIPlayer(firstInventory, market);
+		AIPlayer secondPlayer = new AIPlayer(new PlayerInventory(0, 0, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), 30), market);
+		GameEngine gameEngine = new GameEngine(new HeadlessPlotManager(plots), firstPlayer, secondPlayer, humanPlayer ? listener : null);
+		gameEngine.start();
+		return gameEngine;
+	}
+	
+	/**
+	 * Tests {@link SaveFile#SaveFile(Path)} ensures that an exception is thrown if the file is null
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testConstructorNullFile(){
+		new SaveFile(null);
+	}
+	
+	/**
+	 * Tests {@link SaveFile#load()} ensures that null is returned if nothing has been saved
+	 */
+	@Test
+	public void testLoadNoSave(){
+		assertNull(saveFile.load());
+	}
+	
+	/**
+	 * Tests {@link SaveFile#load()} ensures that a game that is still being played is loaded
+	 * @throws Exception If the game can't be saved
+	 */
+	@Test
+	public void testLoadUnfinishedGame() throws Exception{
+		GameSnapshot.capture(7L, plots, market, startGame(true)).write(file);
+		GameSnapshot snapshot = saveFile.load();
+		assertNotNull(snapshot);
+		assertEquals(7L, snapshot.getSeed());
+	}
+	
+	/**
+	 * Tests {@link SaveFile#load()} ensures that a game that is over is not loaded (a new game is started instead)
+	 * @throws Exception If the game can't be saved
+	 */
+	@Test
+	public void testLoadFinishedGame() throws Exception{
+		GameSnapshot.capture(7L, plots, market, startGame(false)).write(file);
+		assertNull(saveFile.load());
+	}
+	
+	/**
+	 * Tests {@link SaveFile#load()} ensures that null is returned if the save can't be read
+	 * @throws Exception If the file can't be written
+	 */
+	@Test
+	public void testLoadInvalidSave() throws Exception{
+		Files.write(file, new byte[]{1, 2, 3});
+		assertNull(saveFile.load());
+	}
+	
+	/**
+	 * Tests {@link SaveFile#load()} ensures that null is returned if a plot in the save is owned by a player who is not in the game
+	 * @throws Exception If the game can't be saved
+	 */
+	@Test
+	public void testLoadSaveWithUnknownOwner() throws Exception{
+		GameSnapshot snapshot = GameSnapshot.capture(7L, plots, market, startGame(true));
+		snapshot.write(file);
+		byte[] bytes = Files.readAllBytes(file);
+		bytes[snapshot.getSize() - 2*4*5] = 5; // The owner of the first plot (there are only 2 players)
+		Files.write(file, bytes);
+		assertNull(saveFile.load());
+	}
+	
+	/**
+	 * Tests {@link SaveFile#close()} ensures that a game that is still being played is saved
+	 */
+	@Test
+	public void testCloseSavesUnfinishedGame(){
+		saveFile.attach(7L, plots, market, startGame(true));
+		saveFile.update(SaveFile.AUTOSAVE_INTERVAL);
+		saveFile.close();
+		assertEquals(7L, saveFile.load().getSeed());
+	}
+	
+	/**
+	 * Tests {@link SaveFile#close()} ensures that the save is deleted once the game is over
+	 * @throws Exception If the game can't be saved
+	 */
+	@Test
+	public void testCloseDeletesFinishedGame() throws Exception{
+		GameSnapshot.capture(7L, plots, market, startGame(true)).write(file);
+		saveFile.attach(7L, plots, market, startGame(false));
+		saveFile.close();
+		assertFalse(Files.exists(file));
+	}
+	
+	/**
+	 * Tests {@link SaveFile#close()} ensures that nothing is saved if no game was attached
+	 */
+	@Test
+	public void testCloseWithoutGame(){
+		saveFile.close();
+		assertFalse(Files.exists(file));
+	}
+	
+	/**
+	 * Tests {@link SaveFile#attach} ensures that an exception is thrown if a game has already been attached
+	 */
+	@Test(expected=IllegalStateException.class)
+	public void testAttachTwice(){
+		GameEngine gameEngine = startGame(true);
+		saveFile.attach(7L, plots, market, gameEngine);
+		saveFile.attach(7L, plots, market, gameEngine);
+	}
+}
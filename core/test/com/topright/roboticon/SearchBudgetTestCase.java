@@ -0,0 +1,64 @@
+package com.topright.roboticon;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Test case for {@link SearchBudget}
+ */
+public class SearchBudgetTestCase {
+	
+	/**
+	 * Tests {@link SearchBudget#iterations(int)} ensures that the rollouts are shared between the workers (rounding up)
+	 */
+	@Test
+	public void testIterationsSharedBetweenWorkers(){
+		SearchBudget budget = SearchBudget.iterations(10);
+		assertTrue(budget.isIterationBudget());
+		assertEquals(10, budget.getIterationsPerWorker(1));
+		assertEquals(4, budget.getIterationsPerWorker(3));
+	}
+	
+	/**
+	 * Tests {@link SearchBudget#iterations(int)} ensures that a budget that is a number of rollouts has no deadline
+	 */
+	@Test
+	public void testIterationsNoDeadline(){
+		assertEquals(Long.MAX_VALUE, SearchBudget.iterations(10).getDeadline(5));
+	}
+	
+	/**
+	 * Tests {@link SearchBudget#time(long)} ensures that the deadline is the given number of milliseconds after the start
+	 */
+	@Test
+	public void testTimeDeadline(){
+		SearchBudget budget = SearchBudget.time(20);
+		assertFalse(budget.isIterationBudget());
+		assertEquals(1000 + 20000000L, budget.getDeadline(1000));
+	}
+	
+	/**
+	 * Tests {@link SearchBudget#time(long)} ensures that a budget that is a time does not limit the number of rollouts
+	 */
+	@Test
+	public void testTimeNoIterationLimit(){
+		assertEquals(Integer.MAX_VALUE, SearchBudget.time(20).getIterationsPerWorker(4));
+	}
+	
+	/**
+	 * Tests {@link SearchBudget#iterations(int)} ensures that an exception is thrown if the number of rollouts is 0
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testZeroIterations(){
+		SearchBudget.iterations(0);
+	}
+	
+	/**
+	 * Tests {@link SearchBudget#time(long)} ensures that an exception is thrown if the time is negative
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testNegativeTime(){
+		SearchBudget.time(-1);
+	}
+}
@@ -0,0 +1,132 @@
+package com.topright.roboticon;
+
+import static org.junit.Assert.*;
+
+import java.util.EnumMap;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test case for {@link SearchState}
+ */
+public class SearchStateTestCase {
+	private Market market;
+	private Player searcher;
+	private Player opponent;
+	private Plot[][] plots;
+	
+	/**
+	 * Runs before every test, creates a 2 by 2 grid of plots where the searcher owns an ore plot with an ore roboticon on it and the opponent owns an energy plot
+	 */
+	@Before
+	public void setup(){
+		market = new Market(new MarketInventory(5, 6, 7));
+		EnumMap<RoboticonCustomisation,Integer> roboticons = new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class);
+		roboticons.put(RoboticonCustomisation.ENERGY, 2);
+		searcher = new AIPlayer(new PlayerInventory(1, 2, roboticons, 30), market);
+		opponent = new AIPlayer(new PlayerInventory(3, 4, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), 40), market);
+		plots = new Plot[][]{{new Plot(PlotSpecialism.ORE), new Plot(PlotSpecialism.ENERGY)},
+			{new Plot(PlotSpecialism.ENERGY), new Plot(PlotSpecialism.ORE)}};
+		plots[0][0].setPlayer(searcher);
+		plots[0][0].placeRoboticon(RoboticonCustomisation.ORE);
+		plots[0][1].setPlayer(opponent);
+	}
+	
+	/**
+	 * Tests {@link SearchState#createPlots(Player, Player)} ensures that the plots have the captured specialisms, owners and roboticons
+	 */
+	@Test
+	public void testCreatePlots(){
+		Player newSearcher = new AIPlayer(new PlayerInventory(0, 0, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), 0));
+		Player newOpponent = new AIPlayer(new PlayerInventory(0, 0, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), 0));
+		Plot[][] copy = new SearchState(plots, market, searcher, opponent, true).createPlots(newSearcher, newOpponent);
+		
+		for(int row = 0; row < 2; row++){
+			for(int column = 0; column < 2; column++){
+				assertNotSame(plots[row][column], copy[row][column]);
+				assertEquals(plots[row][column].getSpecialism(), copy[row][column].getSpecialism());
+			}
+		}
+		assertSame(newSearcher, copy[0][0].getPlayer());
+		assertEquals(RoboticonCustomisation.ORE, copy[0][0].getRoboticon());
+		assertSame(newOpponent, copy[0][1].getPlayer());
+		assertFalse(copy[0][1].hasRoboticon());
+		assertFalse(copy[1][0].hasBeenAcquired());
+		assertFalse(copy[1][1].hasBeenAcquired());
+	}
+	
+	/**
+	 * Tests {@link SearchState#createPlots(Player, Player)} ensures that changing the plots that are created does not change the game or later copies
+	 */
+	@Test
+	public void testCreatedPlotsIndependent(){
+		SearchState state = new SearchState(plots, market, searcher, opponent, true);
+		Plot[][] copy = state.createPlots(searcher, opponent);
+		copy[1][0].setPlayer(searcher);
+		
+		assertFalse(plots[1][0].hasBeenAcquired());
+		assertFalse(state.createPlots(searcher, opponent)[1][0].hasBeenAcquired());
+	}
+	
+	/**
+	 * Tests {@link SearchState#SearchState} ensures that changes made to the game after the state was captured are not seen
+	 */
+	@Test
+	public void testCapturedOnce(){
+		SearchState state = new SearchState(plots, market, searcher, opponent, true);
+		plots[1][1].setPlayer(opponent);
+		searcher.increaseOreQuantity(10);
+		
+		assertFalse(state.createPlots(searcher, opponent)[1][1].hasBeenAcquired());
+		assertEquals(1, new Player(state.createInventory(SearchState.SEARCHER)).getOreQuantity());
+	}
+	
+	/**
+	 * Tests {@link SearchState#createInventory(int)} ensures that both players' inventories are copied
+	 */
+	@Test
+	public void testCreateInventory(){
+		SearchState state = new SearchState(plots, market, searcher, opponent, true);
+		Player searcherCopy = new Player(state.createInventory(SearchState.SEARCHER));
+		Player opponentCopy = new Player(state.createInventory(SearchState.OPPONENT));
+		
+		assertEquals(1, searcherCopy.getOreQuantity());
+		assertEquals(2, searcherCopy.getEnergyQuantity());
+		assertEquals(30, searcherCopy.getMoneyQuantity());
+		assertEquals(2, searcherCopy.getRoboticonQuantity(RoboticonCustomisation.ENERGY));
+		assertEquals(0, searcherCopy.getRoboticonQuantity(RoboticonCustomisation.ORE));
+		assertEquals(3, opponentCopy.getOreQuantity());
+		assertEquals(4, opponentCopy.getEnergyQuantity());
+		assertEquals(40, opponentCopy.getMoneyQuantity());
+	}
+	
+	/**
+	 * Tests {@link SearchState#createMarket()} ensures that the market has the captured stock and pricing engine
+	 */
+	@Test
+	public void testCreateMarket(){
+		PricingEngine pricingEngine = new SupplyDemandPricingEngine();
+		market.setPricingEngine(pricingEngine);
+		Market copy = new SearchState(plots, market, searcher, opponent, true).createMarket();
+		
+		assertNotSame(market, copy);
+		assertEquals(5, copy.getOreQuantity());
+		assertEquals(6, copy.getEnergyQuantity());
+		assertEquals(7, copy.getRoboticonQuantity());
+		assertSame(pricingEngine, copy.getPricingEngine());
+	}
+	
+	/**
+	 * Tests {@link SearchState#hasUnacquiredPlot(PlotSpecialism)} ensures that only unacquired plots are counted
+	 */
+	@Test
+	public void testHasUnacquiredPlot(){
+		plots[1][0].setPlayer(opponent);
+		SearchState state = new SearchState(plots, market, searcher, opponent, false);
+		
+		assertTrue(state.hasUnacquiredPlot(PlotSpecialism.ORE));
+		assertFalse(state.hasUnacquiredPlot(PlotSpecialism.ENERGY));
+		assertFalse(state.searcherPlaysFirst());
+	}
+}
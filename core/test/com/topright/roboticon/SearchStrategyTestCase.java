@@ -0,0 +1,207 @@
+package com.topright.roboticon;
+
+import static org.junit.Assert.*;
+
+import java.util.EnumMap;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test case for {@link SearchStrategy}
+ */
+public class SearchStrategyTestCase {
+	private Market market;
+	
+	/**
+	 * Runs before every test, creates a market
+	 */
+	@Before
+	public void setup(){
+		market = new Market(new MarketInventory(0, 16, 12));
+	}
+	
+	/**
+	 * Creates a new player that searches with the given budget
+	 * @param budget The budget
+	 * @param threads The number of threads to search with
+	 * @param seed The seed used by the search
+	 * @return The new player
+	 */
+	private AIPlayer createSearchPlayer(SearchBudget budget, int threads, long seed){
+		return new AIPlayer(new PlayerInventory(0, 0, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), 30), market, new SearchStrategy(budget, threads, new GameRandom(seed)));
+	}
+	
+	/**
+	 * Returns the search strategy used by a player
+	 * @param player The player
+	 * @return The player's strategy
+	 */
+	private static SearchStrategy getStrategy(AIPlayer player){
+		return (SearchStrategy)player.getStrategy();
+	}
+	
+	/**
+	 * Creates a new AIPlayer with 30 money
+	 * @return The new player
+	 */
+	private AIPlayer createAIPlayer(){
+		return new AIPlayer(new PlayerInventory(0, 0, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), 30), market);
+	}
+	
+	/**
+	 * Tests {@link SearchStrategy#applyMarketAction(Player, int)} ensures that the right amounts of ore and energy are sold for each action
+	 */
+	@Test
+	public void testApplyMarketAction(){
+		int[][] expectedRemaining = {{4,4},{4,2},{4,0},{2,4},{2,2},{2,0},{0,4},{0,2},{0,0}}; // ore then energy
+		for(int action = 0; action < MonteCarloTreeSearch.MARKET_ACTIONS; action++){
+			Player player = createAIPlayer();
+			player.increaseOreQuantity(4);
+			player.increaseEnergyQuantity(4);
+			SearchStrategy.applyMarketAction(player, action);
+			assertEquals(expectedRemaining[action][0], player.getOreQuantity());
+			assertEquals(expectedRemaining[action][1], player.getEnergyQuantity());
+		}
+	}
+	
+	/**
+	 * Tests {@link SearchStrategy#applyMarketAction(Player, int)} ensures that an exception is thrown if the action does not exist
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testApplyInvalidMarketAction(){
+		SearchStrategy.applyMarketAction(createAIPlayer(), MonteCarloTreeSearch.MARKET_ACTIONS);
+	}
+	
+	/**
+	 * Tests {@link SearchStrategy#SearchStrategy} ensures that an exception is thrown if there are no threads to search with
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testNoThreads(){
+		new SearchStrategy(SearchBudget.iterations(10), 0, new GameRandom(1L));
+	}
+	
+	/**
+	 * Tests {@link SearchStrategy#SearchStrategy} ensures that an exception is thrown if there is no budget
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testNullBudget(){
+		new SearchStrategy(null, 1, new GameRandom(1L));
+	}
+	
+	/**
+	 * Tests {@link SearchStrategy#choosePlot(AIPlayer, PlotGrid)} ensures that the first unacquired plot is acquired (like a GreedyStrategy) if the opponent is not known
+	 */
+	@Test
+	public void testChoosePlotWithoutOpponent(){
+		AIPlayer player = createSearchPlayer(SearchBudget.iterations(10), 1, 1L);
+		PlotGrid plotGrid = new HeadlessPlotManager(CreatePlots.createPlots(2, 2, new GameRandom(1L)));
+		plotGrid.setCurrentPlayer(player);
+		player.choosePlot(plotGrid);
+		
+		assertSame(player, plotGrid.getPlots()[0][0].getPlayer());
+		assertEquals(0, getStrategy(player).getRollouts());
+	}
+	
+	/**
+	 * Tests {@link SearchStrategy#choosePlot(AIPlayer, PlotGrid)} ensures that exactly one plot is acquired and the budget's rollouts are played
+	 */
+	@Test
+	public void testChoosePlotSearches(){
+		AIPlayer player = createSearchPlayer(SearchBudget.iterations(40), 1, 1L);
+		player.setOpponent(createAIPlayer(), true);
+		PlotGrid plotGrid = new HeadlessPlotManager(CreatePlots.createPlots(2, 3, new GameRandom(2L)));
+		plotGrid.setCurrentPlayer(player);
+		player.choosePlot(plotGrid);
+		
+		assertEquals(5, plotGrid.getNumberOfUnacquiredPlots());
+		assertEquals(40, getStrategy(player).getRollouts());
+		assertTrue(getStrategy(player).getSearchTime() > 0);
+		assertTrue(getStrategy(player).getRolloutsPerSecond() > 0);
+	}
+	
+	/**
+	 * Tests {@link SearchStrategy#choosePlot(AIPlayer, PlotGrid)} ensures that the budget is shared between the worker threads
+	 */
+	@Test
+	public void testChoosePlotMultipleThreads(){
+		AIPlayer player = createSearchPlayer(SearchBudget.iterations(40), 4, 1L);
+		player.setOpponent(createAIPlayer(), false);
+		PlotGrid plotGrid = new HeadlessPlotManager(CreatePlots.createPlots(2, 3, new GameRandom(2L)));
+		plotGrid.setCurrentPlayer(player);
+		try{
+			player.choosePlot(plotGrid);
+		}
+		finally{
+			getStrategy(player).shutdown();
+		}
+		
+		assertEquals(5, plotGrid.getNumberOfUnacquiredPlots());
+		assertEquals(40, getStrategy(player).getRollouts());
+	}
+	
+	/**
+	 * Tests {@link SearchStrategy#choosePlot(AIPlayer, PlotGrid)} ensures that a time budget stops the search
+	 */
+	@Test
+	public void testChoosePlotTimeBudget(){
+		AIPlayer player = createSearchPlayer(SearchBudget.time(20), 1, 1L);
+		player.setOpponent(createAIPlayer(), true);
+		PlotGrid plotGrid = new HeadlessPlotManager(CreatePlots.createPlots(2, 3, new GameRandom(2L)));
+		plotGrid.setCurrentPlayer(player);
+		player.choosePlot(plotGrid);
+		
+		assertTrue(getStrategy(player).getRollouts() > 0);
+		assertTrue(getStrategy(player).getSearchTime() < 1000000000L); // Well within a second
+	}
+	
+	/**
+	 * Tests {@link SearchStrategy#buyAndSellResources(AIPlayer)} ensures that everything is sold in the last market phase of the game
+	 */
+	@Test
+	public void testLastMarketPhaseSellsEverything(){
+		AIPlayer player = createSearchPlayer(SearchBudget.iterations(100), 1, 1L);
+		AIPlayer opponent = createAIPlayer();
+		player.setOpponent(opponent, true);
+		PlotGrid plotGrid = new HeadlessPlotManager(CreatePlots.createPlots(1, 2, new GameRandom(2L)));
+		plotGrid.setCurrentPlayer(player);
+		plotGrid.acquirePlot(0, 0);
+		plotGrid.setCurrentPlayer(opponent);
+		plotGrid.acquirePlot(0, 1);
+		player.buyRoboticons(plotGrid);
+		player.increaseOreQuantity(3);
+		player.increaseEnergyQuantity(3);
+		player.buyAndSellResources();
+		
+		assertEquals(0, player.getOreQuantity());
+		assertEquals(0, player.getEnergyQuantity());
+	}
+	
+	/**
+	 * Tests {@link GameEngine#GameEngine} ensures that the engine tells a searching player who it is playing against and that a whole game can be played
+	 */
+	@Test
+	public void testPlayGame(){
+		AIPlayer player = createSearchPlayer(SearchBudget.iterations(30), 1, 1L);
+		GameEngine gameEngine = new GameEngine(new HeadlessPlotManager(CreatePlots.createPlots(2, 3, new GameRandom(2L))), createAIPlayer(), player, null);
+		gameEngine.start();
+		
+		assertTrue(gameEngine.isGameOver());
+		assertTrue(getStrategy(player).getRollouts() > 0);
+	}
+	
+	/**
+	 * Tests {@link SearchStrategy} ensures that games played with the same seeds and a budget of rollouts end with the same scores
+	 */
+	@Test
+	public void testSameSeedSameGame(){
+		GameEngine firstGame = new GameEngine(new HeadlessPlotManager(CreatePlots.createPlots(2, 3, new GameRandom(2L))), createSearchPlayer(SearchBudget.iterations(30), 2, 5L), createAIPlayer(), null);
+		firstGame.start();
+		setup(); // A new market for the second game
+		GameEngine secondGame = new GameEngine(new HeadlessPlotManager(CreatePlots.createPlots(2, 3, new GameRandom(2L))), createSearchPlayer(SearchBudget.iterations(30), 2, 5L), createAIPlayer(), null);
+		secondGame.start();
+		
+		assertEquals(firstGame.getFirstPlayer().calculateScore(), secondGame.getFirstPlayer().calculateScore());
+		assertEquals(firstGame.getSecondPlayer().calculateScore(), secondGame.getSecondPlayer().calculateScore());
+	}
+}
@@ -0,0 +1,71 @@
+package com.topright.roboticon;
+
+import static org.junit.Assert.*;
+
+import java.util.EnumMap;
+
+import org.junit.Test;
+
+/**
+ * Test case for {@link SpecialismAwareStrategy}
+ */
+public class SpecialismAwareStrategyTestCase {
+	
+	/**
+	 * Creates a player that uses a SpecialismAwareStrategy
+	 * @param market The market that the player trades with
+	 * @return The new player
+	 */
+	private static AIPlayer createPlayer(Market market){
+		return new AIPlayer(new PlayerInventory(0, 0, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), 30), market, new SpecialismAwareStrategy());
+	}
+	
+	/**
+	 * Tests {@link SpecialismAwareStrategy#getPreferredSpecialism(Market)} ensures that energy is preferred at the fixed prices (2 energy sell for more than the cost of an energy customisation, 2 ore do not)
+	 */
+	@Test
+	public void testPreferredSpecialismFixedPrices(){
+		assertEquals(PlotSpecialism.ENERGY, SpecialismAwareStrategy.getPreferredSpecialism(new Market(new MarketInventory(16, 16, 12))));
+	}
+	
+	/**
+	 * Tests {@link SpecialismAwareStrategy#getPreferredSpecialism(Market)} ensures that ore is preferred when the market has no ore and plenty of energy
+	 */
+	@Test
+	public void testPreferredSpecialismScarceOre(){
+		Market market = new Market(new MarketInventory(0, 100, 12));
+		market.setPricingEngine(new SupplyDemandPricingEngine());
+		assertEquals(PlotSpecialism.ORE, SpecialismAwareStrategy.getPreferredSpecialism(market));
+	}
+	
+	/**
+	 * Tests {@link SpecialismAwareStrategy#choosePlot(AIPlayer, PlotGrid)} ensures that the first unacquired plot with the preferred specialism is acquired
+	 */
+	@Test
+	public void testChoosePlotPreferredSpecialism(){
+		Market market = new Market(new MarketInventory(16, 16, 12));
+		AIPlayer player = createPlayer(market);
+		Plot[][] plots = {{new Plot(PlotSpecialism.ORE), new Plot(PlotSpecialism.ORE), new Plot(PlotSpecialism.ENERGY)}};
+		PlotGrid plotGrid = new HeadlessPlotManager(plots);
+		plotGrid.setCurrentPlayer(player);
+		player.choosePlot(plotGrid);
+		
+		assertSame(player, plots[0][2].getPlayer());
+		assertFalse(plots[0][0].hasBeenAcquired());
+	}
+	
+	/**
+	 * Tests {@link SpecialismAwareStrategy#choosePlot(AIPlayer, PlotGrid)} ensures that the first unacquired plot is acquired if none have the preferred specialism
+	 */
+	@Test
+	public void testChoosePlotNonePreferred(){
+		Market market = new Market(new MarketInventory(16, 16, 12));
+		AIPlayer player = createPlayer(market);
+		Plot[][] plots = {{new Plot(PlotSpecialism.ORE), new Plot(PlotSpecialism.ORE)}};
+		PlotGrid plotGrid = new HeadlessPlotManager(plots);
+		plotGrid.setCurrentPlayer(player);
+		player.choosePlot(plotGrid);
+		
+		assertSame(player, plots[0][0].getPlayer());
+	}
+}
@@ -0,0 +1,129 @@
+package com.topright.roboticon;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Test case for {@link SupplyDemandPricingEngine}
+ */
+public class SupplyDemandPricingEngineTestCase {
+	private final SupplyDemandPricingEngine pricingEngine = new SupplyDemandPricingEngine(16, 20);
+	
+	/**
+	 * Tests {@link SupplyDemandPricingEngine#SupplyDemandPricingEngine(int, int)} ensures that an exception is thrown if the reference stock is 0
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testConstructorZeroReferenceStock(){
+		new SupplyDemandPricingEngine(0, 20);
+	}
+	
+	/**
+	 * Tests {@link SupplyDemandPricingEngine#SupplyDemandPricingEngine(int, int)} ensures that an exception is thrown if the spread is negative
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testConstructorNegativeSpread(){
+		new SupplyDemandPricingEngine(16, -1);
+	}
+	
+	/**
+	 * Tests {@link SupplyDemandPricingEngine#SupplyDemandPricingEngine(int, int)} ensures that an exception is thrown if the spread is over 100%
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testConstructorSpreadOverOneHundred(){
+		new SupplyDemandPricingEngine(16, 101);
+	}
+	
+	/**
+	 * Ensures that goods are bought and sold at their base price at the reference stock when there is no spread and no recent trades
+	 */
+	@Test
+	public void testBasePriceAtReferenceStock(){
+		SupplyDemandPricingEngine noSpread = new SupplyDemandPricingEngine(16, 0);
+		assertEquals(5, noSpread.getBuyPrice(5, 16, 0));
+		assertEquals(5, noSpread.getSellPrice(5, 16, 0));
+	}
+	
+	/**
+	 * Ensures that the market sells for more than it buys for (the spread)
+	 */
+	@Test
+	public void testSpread(){
+		assertEquals(11, pricingEngine.getBuyPrice(10, 16, 0));
+		assertEquals(9, pricingEngine.getSellPrice(10, 16, 0));
+	}
+	
+	/**
+	 * Ensures that goods cost more when the market is running short of them
+	 */
+	@Test
+	public void testScarceGoodsCostMore(){
+		assertTrue(pricingEngine.getBuyPrice(10, 2, 0) > pricingEngine.getBuyPrice(10, 16, 0));
+		assertTrue(pricingEngine.getSellPrice(10, 2, 0) > pricingEngine.getSellPrice(10, 16, 0));
+	}
+	
+	/**
+	 * Ensures that goods cost less when the market is flooded with them
+	 */
+	@Test
+	public void testPlentifulGoodsCostLess(){
+		assertTrue(pricingEngine.getBuyPrice(10, 60, 0) < pricingEngine.getBuyPrice(10, 16, 0));
+		assertTrue(pricingEngine.getSellPrice(10, 60, 0) < pricingEngine.getSellPrice(10, 16, 0));
+	}
+	
+	/**
+	 * Ensures that goods cost more when players have recently been buying them
+	 */
+	@Test
+	public void testRecentBuyingRaisesPrice(){
+		assertTrue(pricingEngine.getBuyPrice(10, 16, 8) > pricingEngine.getBuyPrice(10, 16, 0));
+	}
+	
+	/**
+	 * Ensures that goods cost less when players have recently been selling them
+	 */
+	@Test
+	public void testRecentSellingLowersPrice(){
+		assertTrue(pricingEngine.getBuyPrice(10, 16, -8) < pricingEngine.getBuyPrice(10, 16, 0));
+	}
+	
+	/**
+	 * Ensures that the price of goods is never more than {@link SupplyDemandPricingEngine#MAX_PRICE_FACTOR} times the base price (before the spread)
+	 */
+	@Test
+	public void testMaximumPrice(){
+		SupplyDemandPricingEngine noSpread = new SupplyDemandPricingEngine(16, 0);
+		assertEquals(20, noSpread.getBuyPrice(10, 0, 1000));
+	}
+	
+	/**
+	 * Ensures that the price of goods is never less than {@link SupplyDemandPricingEngine#MIN_PRICE_FACTOR} times the base price (before the spread)
+	 */
+	@Test
+	public void testMinimumPrice(){
+		SupplyDemandPricingEngine noSpread = new SupplyDemandPricingEngine(16, 0);
+		assertEquals(5, noSpread.getSellPrice(10, 100000, -1000));
+	}
+	
+	/**
+	 * Ensures that goods always cost at least 1 and the market never pays a negative amount for them
+	 */
+	@Test
+	public void testPricesNeverBelowZero(){
+		SupplyDemandPricingEngine wideSpread = new SupplyDemandPricingEngine(16, 100);
+		assertEquals(1, wideSpread.getBuyPrice(0, 100, 0));
+		assertEquals(0, wideSpread.getSellPrice(1, 100000, -1000));
+	}
+	
+	/**
+	 * Ensures that the market never pays more for goods than it sells them for
+	 */
+	@Test
+	public void testSellPriceNeverMoreThanBuyPrice(){
+		for(int stock = 0; stock < 100; stock += 7){
+			for(int volume = -50; volume <= 50; volume += 10){
+				assertTrue(pricingEngine.getSellPrice(6, stock, volume) <= pricingEngine.getBuyPrice(6, stock, volume));
+			}
+		}
+	}
+}
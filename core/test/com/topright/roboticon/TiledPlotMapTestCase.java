@@ -0,0 +1,260 @@
+package com.topright.roboticon;
+
+import static org.junit.Assert.*;
+
+import java.util.EnumMap;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.badlogic.gdx.scenes.scene2d.InputEvent;
+
+import mockit.Mocked;
+import mockit.Verifications;
+import mockit.integration.junit4.JMockit;
+
+/**
+ * Test case for {@link TiledPlotMap}
+ * <p>
+ * Can't be certain that the correct images are drawn for each plot via automated tests, the tests instead check
+ * which plots are visible, which plot is clicked and that the state that is drawn is kept up to date.
+ * </p>
+ */
+@RunWith(JMockit.class)
+public class TiledPlotMapTestCase extends GuiTest {
+	private static final int ROWS = 100;
+	private static final int COLUMNS = 100;
+	private static final float WIDTH = 640; // 10 plots wide at the default tile size
+	private static final float HEIGHT = 320; // 5 plots high at the default tile size
+	
+	private TiledPlotMap plotMap;
+	private Plot[][] plots;
+	@Mocked private Player humanPlayer;
+	@Mocked private Player AIPlayer;
+	@Mocked private GameEventBus eventBus;
+	
+	/**
+	 * Runs before every test, creates a 100 by 100 map that displays 10 by 5 plots
+	 */
+	@Before
+	public void setup(){
+		eventBus = GameEventBus.getInstance();
+		humanPlayer = new Player(new PlayerInventory(0,0,new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class),0));
+		AIPlayer = new Player(new PlayerInventory(0,0,new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class),0));
+		plots = CreatePlots.createPlots(ROWS, COLUMNS);
+		plotMap = new TiledPlotMap("backgrounds/map.png", plots, humanPlayer, AIPlayer);
+		plotMap.setSize(WIDTH, HEIGHT);
+		stage.addActor(plotMap);
+		plotMap.validate();
+	}
+	
+	/**
+	 * Sends a touch event (in coordinates relative to the map) to the map
+	 * @param type The type of touch event
+	 * @param x The x coordinate
+	 * @param y The y coordinate
+	 */
+	private void touch(InputEvent.Type type, float x, float y){
+		InputEvent event = new InputEvent();
+		event.setType(type);
+		event.setStage(stage);
+		event.setStageX(plotMap.getX() + x);
+		event.setStageY(plotMap.getY() + y);
+		event.setPointer(0);
+		plotMap.fire(event);
+	}
+	
+	/**
+	 * Clicks (without dragging) at the given coordinates (relative to the map)
+	 * @param x The x coordinate
+	 * @param y The y coordinate
+	 */
+	private void click(float x, float y){
+		touch(InputEvent.Type.touchDown, x, y);
+		touch(InputEvent.Type.touchUp, x, y);
+	}
+	
+	/**
+	 * Ensures that the top left of the map is displayed initially
+	 */
+	@Test
+	public void testTopLeftDisplayedInitially(){
+		assertEquals(0, plotMap.getPlotNumberAt(1, HEIGHT - 1));
+		assertEquals(0, plotMap.getFirstVisibleRow());
+		assertEquals(0, plotMap.getFirstVisibleColumn());
+	}
+	
+	/**
+	 * Tests {@link TiledPlotMap#getPlotNumberAt(float, float)} ensures that the plot is worked out from the position
+	 */
+	@Test
+	public void testGetPlotNumberAt(){
+		float tileSize = plotMap.getTileSize();
+		// Row 2 (from the top) column 3
+		assertEquals(2*COLUMNS + 3, plotMap.getPlotNumberAt(3*tileSize + 1, HEIGHT - 2*tileSize - 1));
+	}
+	
+	/**
+	 * Tests {@link TiledPlotMap#getPlotNumberAt(float, float)} ensures that -1 is returned for a position that is not on the map
+	 */
+	@Test
+	public void testGetPlotNumberAtOffTheMap(){
+		assertEquals(-1, plotMap.getPlotNumberAt(-1, HEIGHT - 1));
+		assertEquals(-1, plotMap.getPlotNumberAt(1, HEIGHT + 1));
+	}
+	
+	/**
+	 * Ensures that only the plots that can be seen are drawn (the rest of the map is culled)
+	 */
+	@Test
+	public void testVisibleRange(){
+		assertEquals(0, plotMap.getFirstVisibleColumn());
+		assertEquals(9, plotMap.getLastVisibleColumn());
+		assertEquals(0, plotMap.getFirstVisibleRow());
+		assertEquals(4, plotMap.getLastVisibleRow());
+	}
+	
+	/**
+	 * Tests {@link TiledPlotMap#pan(float, float)} ensures that the visible plots change when the map is moved
+	 */
+	@Test
+	public void testPanChangesVisibleRange(){
+		float tileSize = plotMap.getTileSize();
+		plotMap.pan(3*tileSize, -2*tileSize); // 3 plots right and 2 plots down
+		assertEquals(3, plotMap.getFirstVisibleColumn());
+		assertEquals(12, plotMap.getLastVisibleColumn());
+		assertEquals(2, plotMap.getFirstVisibleRow());
+		assertEquals(6, plotMap.getLastVisibleRow());
+	}
+	
+	/**
+	 * Tests {@link TiledPlotMap#pan(float, float)} ensures that the map can't be moved past its edges
+	 */
+	@Test
+	public void testPanClampedToMap(){
+		plotMap.pan(-1000, 1000);
+		assertEquals(0, plotMap.getFirstVisibleColumn());
+		assertEquals(0, plotMap.getFirstVisibleRow());
+		plotMap.pan(1000000, -1000000);
+		assertEquals(COLUMNS - 1, plotMap.getLastVisibleColumn());
+		assertEquals(ROWS - 1, plotMap.getLastVisibleRow());
+	}
+	
+	/**
+	 * Tests {@link TiledPlotMap#zoomAt(float, float, float)} ensures that the plot under the given position stays in the same place
+	 */
+	@Test
+	public void testZoomKeepsPlotUnderPointer(){
+		plotMap.pan(20*plotMap.getTileSize(), -20*plotMap.getTileSize());
+		int plotNumber = plotMap.getPlotNumberAt(300, 150);
+		plotMap.zoomAt(TiledPlotMap.ZOOM_STEP, 300, 150);
+		assertEquals(plotNumber, plotMap.getPlotNumberAt(300, 150));
+		plotMap.zoomAt(1/TiledPlotMap.ZOOM_STEP, 300, 150);
+		assertEquals(plotNumber, plotMap.getPlotNumberAt(300, 150));
+	}
+	
+	/**
+	 * Tests {@link TiledPlotMap#zoomAt(float, float, float)} ensures that the map can't be zoomed out further than the minimum tile size
+	 */
+	@Test
+	public void testZoomOutClamped(){
+		for(int i = 0; i < 100; i++){
+			plotMap.zoomAt(1/TiledPlotMap.ZOOM_STEP, 0, 0);
+		}
+		assertEquals(TiledPlotMap.MIN_TILE_SIZE, plotMap.getTileSize(), 0.0001f);
+		assertEquals(COLUMNS - 1, plotMap.getLastVisibleColumn()); // Whole map is visible
+	}
+	
+	/**
+	 * Tests {@link TiledPlotMap#zoomAt(float, float, float)} ensures that the map can't be zoomed in further than the maximum tile size
+	 */
+	@Test
+	public void testZoomInClamped(){
+		for(int i = 0; i < 100; i++){
+			plotMap.zoomAt(TiledPlotMap.ZOOM_STEP, 0, 0);
+		}
+		assertEquals(TiledPlotMap.MAX_TILE_SIZE, plotMap.getTileSize(), 0.0001f);
+	}
+	
+	/**
+	 * Ensures that clicking a plot when the click mode is acquire acquires the plot for the human player
+	 * and updates the state that is drawn
+	 */
+	@Test
+	public void testClickAcquiresPlot(){
+		plotMap.setCurrentPlayer(humanPlayer);
+		plotMap.setPlotClickMode(PlotClickMode.ACQUIRE);
+		float tileSize = plotMap.getTileSize();
+		click(4*tileSize + 5, HEIGHT - tileSize - 5); // Row 1 column 4
+		
+		assertSame(humanPlayer, plots[1][4].getPlayer());
+		assertEquals(PlotTiles.HUMAN_OWNER, plotMap.getTiles().getOwner(COLUMNS + 4));
+		new Verifications(){{
+			eventBus.dispatch(GameEvents.PLOTAQUIRED); times = 1;
+		}};
+	}
+	
+	/**
+	 * Ensures that clicking a plot does nothing when the click mode is no action
+	 */
+	@Test
+	public void testClickNoAction(){
+		plotMap.setCurrentPlayer(humanPlayer);
+		plotMap.setPlotClickMode(PlotClickMode.NOACTION);
+		click(5, HEIGHT - 5);
+		
+		assertFalse(plots[0][0].hasBeenAcquired());
+		assertEquals(PlotTiles.NO_OWNER, plotMap.getTiles().getOwner(0));
+	}
+	
+	/**
+	 * Ensures that dragging the map does not count as clicking a plot
+	 */
+	@Test
+	public void testDragDoesNotAcquirePlot(){
+		plotMap.setCurrentPlayer(humanPlayer);
+		plotMap.setPlotClickMode(PlotClickMode.ACQUIRE);
+		touch(InputEvent.Type.touchDown, 200, 100);
+		touch(InputEvent.Type.touchDragged, 100, 100);
+		touch(InputEvent.Type.touchUp, 100, 100);
+		
+		assertEquals(PlotTiles.NO_OWNER, plotMap.getTiles().getOwner(plotMap.getPlotNumberAt(100, 100)));
+		assertEquals(1, plotMap.getFirstVisibleColumn()); // Moved 100 pixels to the right
+	}
+	
+	/**
+	 * Tests {@link TiledPlotMap#acquirePlot(int, int)} ensures that a plot acquired by the AI player is drawn as an AI plot
+	 * and that no message is dispatched
+	 */
+	@Test
+	public void testAcquirePlotAIPlayer(){
+		plotMap.setCurrentPlayer(AIPlayer);
+		assertTrue(plotMap.acquirePlot(99, 99));
+		assertEquals(PlotTiles.AI_OWNER, plotMap.getTiles().getOwner(99*COLUMNS + 99));
+		new Verifications(){{
+			eventBus.dispatch(GameEvents.PLOTAQUIRED); times = 0;
+		}};
+	}
+	
+	/**
+	 * Tests {@link TiledPlotMap#acquirePlot(int, int)} ensures that a plot can't be acquired twice
+	 */
+	@Test
+	public void testAcquirePlotAlreadyAcquired(){
+		plotMap.setCurrentPlayer(AIPlayer);
+		plotMap.acquirePlot(0, 0);
+		plotMap.setCurrentPlayer(humanPlayer);
+		assertFalse(plotMap.acquirePlot(0, 0));
+		assertEquals(PlotTiles.AI_OWNER, plotMap.getTiles().getOwner(0));
+	}
+	
+	/**
+	 * Tests {@link TiledPlotMap#allPlotsAquired()} ensures that it is false when no plots have been acquired
+	 */
+	@Test
+	public void testAllPlotsAcquiredFalse(){
+		assertFalse(plotMap.allPlotsAquired());
+		assertEquals(ROWS*COLUMNS, plotMap.getNumberOfUnacquiredPlots());
+	}
+}
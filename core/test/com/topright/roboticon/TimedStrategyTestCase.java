@@ -0,0 +1,61 @@
+package com.topright.roboticon;
+
+import static org.junit.Assert.*;
+
+import java.util.EnumMap;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import mockit.Mocked;
+import mockit.Verifications;
+import mockit.integration.junit4.JMockit;
+
+/**
+ * Test case for {@link TimedStrategy}
+ */
+@RunWith(JMockit.class)
+public class TimedStrategyTestCase {
+	@Mocked private AIStrategy strategy;
+	@Mocked private PlotGrid plotGrid;
+	
+	/**
+	 * Tests {@link TimedStrategy} ensures that every decision is passed on to the timed strategy and one latency is recorded for each
+	 */
+	@Test
+	public void testDecisionsPassedOnAndTimed(){
+		DecisionLatencies latencies = new DecisionLatencies();
+		TimedStrategy timedStrategy = new TimedStrategy(strategy, latencies);
+		final AIPlayer player = new AIPlayer(new PlayerInventory(0, 0, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), 30), new Market(), timedStrategy);
+		player.choosePlot(plotGrid);
+		player.buyRoboticons(plotGrid);
+		player.customiseRoboticons(plotGrid);
+		player.placeRoboticons(plotGrid);
+		player.buyAndSellResources();
+		
+		assertEquals(5, latencies.size());
+		new Verifications(){{
+			strategy.choosePlot(player, plotGrid); times=1;
+			strategy.buyRoboticons(player, plotGrid); times=1;
+			strategy.customiseRoboticons(player, plotGrid); times=1;
+			strategy.placeRoboticons(player, plotGrid); times=1;
+			strategy.buyAndSellResources(player); times=1;
+		}};
+	}
+	
+	/**
+	 * Tests {@link TimedStrategy#getName()} ensures that the name of the timed strategy is used
+	 */
+	@Test
+	public void testName(){
+		assertEquals("greedy", new TimedStrategy(new GreedyStrategy(), new DecisionLatencies()).getName());
+	}
+	
+	/**
+	 * Tests {@link TimedStrategy#TimedStrategy} ensures that an exception is thrown if there is nowhere to record the latencies
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testNullLatencies(){
+		new TimedStrategy(strategy, null);
+	}
+}
@@ -0,0 +1,284 @@
+package com.topright.roboticon;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test case for {@link TimingWheel}
+ */
+public class TimingWheelTestCase {
+	private static final long TICK_MILLIS = 10;
+	private static final long START_TIME = 1000;
+
+	private TimingWheel wheel;
+	private List<String> tasksRun; // The names of the tasks that have been run, in the order they were run
+
+	/**
+	 * Runs before every test, creates an empty wheel
+	 */
+	@Before
+	public void setup(){
+		wheel = new TimingWheel(TICK_MILLIS, START_TIME);
+		tasksRun = new ArrayList<String>();
+	}
+
+	/**
+	 * Returns a task that records that it has been run
+	 * @param name The name of the task
+	 * @return The task
+	 */
+	private Runnable task(final String name){
+		return new Runnable(){
+			@Override
+			public void run(){
+				tasksRun.add(name);
+			}
+		};
+	}
+
+	/**
+	 * Tests {@link TimingWheel#TimingWheel(long, long)} ensures that an IllegalArgumentException is thrown if a tick has no length
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructorZeroTick(){
+		new TimingWheel(0, START_TIME);
+	}
+
+	/**
+	 * Tests {@link TimingWheel#schedule(Runnable, long)} ensures that an IllegalArgumentException is thrown for a negative delay
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testScheduleNegativeDelay(){
+		wheel.schedule(task("a"), -1);
+	}
+
+	/**
+	 * Tests {@link TimingWheel#scheduleAt(Runnable, long)} ensures that an IllegalArgumentException is thrown for a null task
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testScheduleNullTask(){
+		wheel.scheduleAt(null, START_TIME);
+	}
+
+	/**
+	 * Tests {@link TimingWheel#advanceTo(long)} ensures that a task is not run before its deadline and is run once it has passed
+	 */
+	@Test
+	public void testTaskRunAtDeadline(){
+		TimingWheel.Timeout timeout = wheel.schedule(task("a"), 25);
+		assertEquals(START_TIME + 25, timeout.getDeadline());
+		wheel.advanceTo(START_TIME + 24);
+		assertTrue(tasksRun.isEmpty());
+		assertTrue(timeout.isPending());
+		wheel.advanceTo(START_TIME + 30);
+		assertEquals(1, tasksRun.size());
+		assertTrue(timeout.isExpired());
+		assertEquals(0, wheel.size());
+	}
+
+	/**
+	 * Tests {@link TimingWheel#advanceTo(long)} ensures that a task with a delay of 0 is run the next time the wheel is advanced by a tick
+	 */
+	@Test
+	public void testZeroDelay(){
+		wheel.schedule(task("a"), 0);
+		wheel.advanceTo(START_TIME);
+		assertTrue(tasksRun.isEmpty());
+		wheel.advanceTo(START_TIME + TICK_MILLIS);
+		assertEquals(1, tasksRun.size());
+	}
+
+	/**
+	 * Tests {@link TimingWheel#scheduleAt(Runnable, long)} ensures that a task whose deadline has already passed is run the next time
+	 * the wheel is advanced
+	 */
+	@Test
+	public void testDeadlinePassed(){
+		wheel.advanceTo(START_TIME + 500);
+		wheel.scheduleAt(task("a"), START_TIME);
+		wheel.advanceTo(START_TIME + 510);
+		assertEquals(1, tasksRun.size());
+	}
+
+	/**
+	 * Tests {@link TimingWheel.Timeout#cancel()} ensures that a cancelled task is never run
+	 */
+	@Test
+	public void testCancel(){
+		TimingWheel.Timeout timeout = wheel.schedule(task("a"), 20);
+		wheel.schedule(task("b"), 20);
+		assertTrue(timeout.cancel());
+		assertTrue(timeout.isCancelled());
+		assertEquals(1, wheel.size());
+		wheel.advanceTo(START_TIME + 1000);
+		assertEquals(1, tasksRun.size());
+		assertEquals("b", tasksRun.get(0));
+	}
+
+	/**
+	 * Tests {@link TimingWheel.Timeout#cancel()} ensures that a task can't be cancelled once it has been run
+	 */
+	@Test
+	public void testCancelAfterRun(){
+		TimingWheel.Timeout timeout = wheel.schedule(task("a"), 20);
+		wheel.advanceTo(START_TIME + 20);
+		assertFalse(timeout.cancel());
+		assertTrue(timeout.isExpired());
+	}
+
+	/**
+	 * Tests {@link TimingWheel.Timeout#cancel()} ensures that a task can cancel another task that is due on the same tick
+	 */
+	@Test
+	public void testTaskCancelsTaskDueOnSameTick(){
+		final TimingWheel.Timeout[] other = new TimingWheel.Timeout[1];
+		Runnable cancellingTask = new Runnable(){
+			@Override
+			public void run(){
+				tasksRun.add("cancel");
+				other[0].cancel();
+			}
+		};
+		other[0] = wheel.schedule(task("a"), 20);
+		wheel.schedule(cancellingTask, 20); // Added to the front of the bucket, so run first
+		wheel.advanceTo(START_TIME + 20);
+		assertEquals(1, tasksRun.size());
+		assertTrue(other[0].isCancelled());
+	}
+
+	/**
+	 * Tests {@link TimingWheel#advanceTo(long)} ensures that a task can schedule another task, which is run when it is due
+	 */
+	@Test
+	public void testTaskSchedulesTask(){
+		wheel.schedule(new Runnable(){
+			@Override
+			public void run(){
+				tasksRun.add("a");
+				wheel.schedule(task("b"), 100);
+			}
+		}, 10);
+		wheel.advanceTo(START_TIME + 10);
+		assertEquals(1, tasksRun.size());
+		wheel.advanceTo(START_TIME + 100);
+		assertEquals(1, tasksRun.size());
+		wheel.advanceTo(START_TIME + 110);
+		assertEquals(2, tasksRun.size());
+	}
+
+	/**
+	 * Tests {@link TimingWheel#advanceTo(long)} ensures that tasks are run in the order that they are due, including tasks in the
+	 * higher levels of the wheel
+	 */
+	@Test
+	public void testTasksRunInOrder(){
+		long[] delays = {5000, 10, 700, 64 * TICK_MILLIS, 64 * 64 * TICK_MILLIS + 10, 90};
+		for(long delay : delays){
+			wheel.schedule(task(Long.toString(delay)), delay);
+		}
+		wheel.advanceTo(START_TIME + 64 * 64 * TICK_MILLIS + 10);
+		assertEquals(6, tasksRun.size());
+		long previousDelay = -1;
+		for(String name : tasksRun){
+			assertTrue(Long.parseLong(name) > previousDelay);
+			previousDelay = Long.parseLong(name);
+		}
+	}
+
+	/**
+	 * Tests {@link TimingWheel#advanceTo(long)} ensures that a task in a higher level is not run early when it is moved down, by
+	 * checking the time that every one of many randomly scheduled tasks is run at
+	 */
+	@Test
+	public void testRandomDeadlinesNeverEarlyOrLate(){
+		final long[] now = new long[1];
+		Random random = new Random(42);
+		final List<Long> lateness = new ArrayList<Long>();
+		for(int i = 0; i < 2000; i++){
+			final long deadline = START_TIME + random.nextInt(400000);
+			wheel.scheduleAt(new Runnable(){
+				@Override
+				public void run(){
+					assertTrue("Run early", now[0] >= deadline);
+					lateness.add(now[0] - deadline);
+				}
+			}, deadline);
+		}
+		for(now[0] = START_TIME; !wheel.isEmpty(); now[0] += 7){
+			wheel.advanceTo(now[0]);
+		}
+		assertEquals(2000, lateness.size());
+		for(long late : lateness){
+			assertTrue("Run late by "+late, late < TICK_MILLIS + 7);
+		}
+	}
+
+	/**
+	 * Tests {@link TimingWheel#advanceTo(long)} ensures that a task that is due further away than the wheel can hold is still run at
+	 * its deadline
+	 */
+	@Test
+	public void testBeyondWheelRange(){
+		long delay = TimingWheel.MAX_TICKS * TICK_MILLIS * 3 + 15;
+		TimingWheel.Timeout timeout = wheel.schedule(task("a"), delay);
+		wheel.advanceTo(START_TIME + delay - 1);
+		assertTrue(timeout.isPending());
+		wheel.advanceTo(START_TIME + delay + TICK_MILLIS);
+		assertTrue(timeout.isExpired());
+	}
+
+	/**
+	 * Tests {@link TimingWheel#advanceTo(long)} ensures that an empty wheel jumps straight to the new time
+	 */
+	@Test
+	public void testEmptyWheelJumps(){
+		wheel.advanceTo(START_TIME + 123456789L);
+		assertEquals(START_TIME + 123456780L, wheel.getTime());
+	}
+
+	/**
+	 * Tests {@link TimingWheel#advanceTo(long)} ensures that if a task throws an exception the other tasks due on the same tick are run
+	 * the next time the wheel is advanced
+	 */
+	@Test
+	public void testTaskThrows(){
+		wheel.schedule(task("a"), 20);
+		wheel.schedule(new Runnable(){
+			@Override
+			public void run(){
+				throw new IllegalStateException("Task failed");
+			}
+		}, 20);
+		try{
+			wheel.advanceTo(START_TIME + 20);
+			fail("The exception was not thrown");
+		}
+		catch(IllegalStateException e){
+			assertTrue(tasksRun.isEmpty());
+		}
+		wheel.advanceTo(START_TIME + 20);
+		assertEquals(1, tasksRun.size());
+	}
+
+	/**
+	 * Tests {@link TimingWheel#size()} ensures that the number of pending tasks is kept as tasks are scheduled, cancelled and run
+	 */
+	@Test
+	public void testSize(){
+		assertTrue(wheel.isEmpty());
+		wheel.schedule(task("a"), 10);
+		TimingWheel.Timeout timeout = wheel.schedule(task("b"), 100000);
+		wheel.schedule(task("c"), 10000);
+		assertEquals(3, wheel.size());
+		timeout.cancel();
+		assertEquals(2, wheel.size());
+		wheel.advanceTo(START_TIME + 10);
+		assertEquals(1, wheel.size());
+	}
+}
@@ -0,0 +1,121 @@
+package com.topright.roboticon;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Test case for {@link TournamentRunner}
+ */
+public class TournamentRunnerTestCase {
+	
+	/**
+	 * Tests {@link TournamentRunner.TournamentResults#getExpectedResult(double, double)} ensures that the Elo expected results are correct
+	 */
+	@Test
+	public void testExpectedResult(){
+		assertEquals(0.5, TournamentRunner.TournamentResults.getExpectedResult(1500, 1500), 1e-9);
+		assertEquals(10.0/11, TournamentRunner.TournamentResults.getExpectedResult(1900, 1500), 1e-9);
+		assertEquals(1.0/11, TournamentRunner.TournamentResults.getExpectedResult(1500, 1900), 1e-9);
+	}
+	
+	/**
+	 * Tests {@link TournamentRunner.TournamentResults#addGame} ensures that the winner gains as many rating points as the loser loses
+	 */
+	@Test
+	public void testAddGameWin(){
+		TournamentRunner.TournamentResults results = new TournamentRunner.TournamentResults(TournamentRunner.createDefaultEntrants(0));
+		results.addGame(new TournamentRunner.GameResult(2, 0, 40, 30, new DecisionLatencies(), new DecisionLatencies()));
+		
+		assertEquals(TournamentRunner.INITIAL_RATING + TournamentRunner.K_FACTOR/2, results.getRating(2), 1e-9);
+		assertEquals(TournamentRunner.INITIAL_RATING - TournamentRunner.K_FACTOR/2, results.getRating(0), 1e-9);
+		assertEquals(TournamentRunner.INITIAL_RATING, results.getRating(1), 1e-9);
+		assertEquals(1, results.getWins(2));
+		assertEquals(1, results.getLosses(0));
+	}
+	
+	/**
+	 * Tests {@link TournamentRunner.TournamentResults#addGame} ensures that a draw between equally rated entrants does not change their ratings
+	 */
+	@Test
+	public void testAddGameDraw(){
+		TournamentRunner.TournamentResults results = new TournamentRunner.TournamentResults(TournamentRunner.createDefaultEntrants(0));
+		results.addGame(new TournamentRunner.GameResult(0, 1, 30, 30, new DecisionLatencies(), new DecisionLatencies()));
+		
+		assertEquals(TournamentRunner.INITIAL_RATING, results.getRating(0), 1e-9);
+		assertEquals(1, results.getDraws(0));
+		assertEquals(1, results.getDraws(1));
+	}
+	
+	/**
+	 * Tests {@link TournamentRunner#runTournament} ensures that every pair of entrants plays the given number of games and every decision is timed
+	 */
+	@Test
+	public void testRunTournamentPlaysEveryPairing(){
+		List<TournamentRunner.Entrant> entrants = TournamentRunner.createDefaultEntrants(0);
+		TournamentRunner.TournamentResults results = TournamentRunner.runTournament(entrants, 4, 2, 11L);
+		
+		assertEquals(3, results.getNumberOfEntrants());
+		double totalRating = 0;
+		for(int entrant = 0; entrant < 3; entrant++){
+			assertEquals(8, results.getWins(entrant) + results.getDraws(entrant) + results.getLosses(entrant));
+			assertTrue(results.getLatencies(entrant).size() > 0);
+			totalRating += results.getRating(entrant);
+		}
+		assertEquals(3*TournamentRunner.INITIAL_RATING, totalRating, 1e-6); // Ratings are only ever moved between entrants
+	}
+	
+	/**
+	 * Tests {@link TournamentRunner#runTournament} ensures that the same seed gives the same results however many threads are used
+	 */
+	@Test
+	public void testRunTournamentSameSeedSameResults(){
+		TournamentRunner.TournamentResults singleThreaded = TournamentRunner.runTournament(TournamentRunner.createDefaultEntrants(0), 6, 1, 5L);
+		TournamentRunner.TournamentResults multiThreaded = TournamentRunner.runTournament(TournamentRunner.createDefaultEntrants(0), 6, 4, 5L);
+		for(int entrant = 0; entrant < 3; entrant++){
+			assertEquals(singleThreaded.getRating(entrant), multiThreaded.getRating(entrant), 0);
+			assertEquals(singleThreaded.getWins(entrant), multiThreaded.getWins(entrant));
+		}
+	}
+	
+	/**
+	 * Tests {@link TournamentRunner#runTournament} ensures that the search strategy wins more games than it loses
+	 */
+	@Test
+	public void testSearchStrategyWinsMostGames(){
+		TournamentRunner.TournamentResults results = TournamentRunner.runTournament(TournamentRunner.createDefaultEntrants(100), 6, 4, 3L);
+		assertEquals("search", results.getName(3));
+		assertTrue(results.getWins(3) > results.getLosses(3));
+		assertTrue(results.getRating(3) > TournamentRunner.INITIAL_RATING);
+	}
+	
+	/**
+	 * Tests {@link TournamentRunner.TournamentResults#writeCsv} ensures that there is a header row followed by a row for every entrant
+	 * @throws IOException Not expected
+	 */
+	@Test
+	public void testWriteCsv() throws IOException{
+		TournamentRunner.TournamentResults results = TournamentRunner.runTournament(TournamentRunner.createDefaultEntrants(0), 2, 2, 1L);
+		StringWriter writer = new StringWriter();
+		results.writeCsv(writer);
+		String[] rows = writer.toString().split("\n");
+		
+		assertEquals(4, rows.length);
+		assertEquals("strategy,rating,games,wins,draws,losses,decisions,p50_us,p90_us,p99_us,max_us", rows[0]);
+		assertTrue(rows[1].startsWith("greedy,"));
+		assertEquals(11, rows[2].split(",").length);
+		assertTrue(rows[3].startsWith("price,"));
+	}
+	
+	/**
+	 * Tests {@link TournamentRunner#runTournament} ensures that an exception is thrown if there are not enough entrants
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testRunTournamentOneEntrant(){
+		TournamentRunner.runTournament(TournamentRunner.createDefaultEntrants(0).subList(0, 1), 2, 1, 1L);
+	}
+}
@@ -0,0 +1,162 @@
+package com.topright.roboticon;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import mockit.Mocked;
+
+/**
+ * Test case for {@link TurnScheduler}
+ */
+public class TurnSchedulerTestCase {
+	@Mocked Player firstPlayer;
+	@Mocked Player secondPlayer;
+	@Mocked Player thirdPlayer;
+	private List<Player> players;
+
+	/**
+	 * Runs before every test, creates the list of players
+	 */
+	@Before
+	public void setup(){
+		players = new ArrayList<Player>(Arrays.asList(firstPlayer, secondPlayer, thirdPlayer));
+	}
+
+	/**
+	 * Tests {@link TurnScheduler#TurnScheduler(List)} ensures that an exception is thrown if the list is null
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testNullPlayers(){
+		new TurnScheduler(null);
+	}
+
+	/**
+	 * Tests {@link TurnScheduler#TurnScheduler(List)} ensures that an exception is thrown if there is only one player
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testOnePlayer(){
+		new TurnScheduler(Arrays.asList(firstPlayer));
+	}
+
+	/**
+	 * Tests {@link TurnScheduler#TurnScheduler(List)} ensures that an exception is thrown if one of the players is null
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testNullPlayer(){
+		new TurnScheduler(Arrays.asList(firstPlayer, null, thirdPlayer));
+	}
+
+	/**
+	 * Tests {@link TurnScheduler#TurnScheduler(List)} ensures that an exception is thrown if the same player is given twice
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testSamePlayerTwice(){
+		new TurnScheduler(Arrays.asList(firstPlayer, secondPlayer, firstPlayer));
+	}
+
+	/**
+	 * Tests {@link TurnScheduler#getPlayers()} ensures that changing the list given to the constructor does not change the turn order
+	 */
+	@Test
+	public void testPlayersCopied(){
+		TurnScheduler turnScheduler = new TurnScheduler(players);
+		players.remove(0);
+		assertEquals(Arrays.asList(firstPlayer, secondPlayer, thirdPlayer), turnScheduler.getPlayers());
+		assertEquals(3, turnScheduler.getNumberOfPlayers());
+	}
+
+	/**
+	 * Tests {@link TurnScheduler#getPlayers()} ensures that the turn order can't be changed
+	 */
+	@Test(expected=UnsupportedOperationException.class)
+	public void testPlayersUnmodifiable(){
+		new TurnScheduler(players).getPlayers().add(firstPlayer);
+	}
+
+	/**
+	 * Tests {@link TurnScheduler#nextPlayer()} ensures that the players take their turns in order and that false is returned once every player has had their turn
+	 */
+	@Test
+	public void testNextPlayerInOrder(){
+		TurnScheduler turnScheduler = new TurnScheduler(players);
+		assertSame(firstPlayer, turnScheduler.getCurrentPlayer());
+		assertTrue(turnScheduler.nextPlayer());
+		assertSame(secondPlayer, turnScheduler.getCurrentPlayer());
+		assertEquals(1, turnScheduler.getCurrentPlayerIndex());
+		assertTrue(turnScheduler.nextPlayer());
+		assertSame(thirdPlayer, turnScheduler.getCurrentPlayer());
+		assertFalse(turnScheduler.nextPlayer());
+		assertSame(firstPlayer, turnScheduler.getCurrentPlayer());
+	}
+
+	/**
+	 * Tests {@link TurnScheduler#startRound()} ensures that the first player's turn is next
+	 */
+	@Test
+	public void testStartRound(){
+		TurnScheduler turnScheduler = new TurnScheduler(players);
+		turnScheduler.nextPlayer();
+		turnScheduler.startRound();
+		assertSame(firstPlayer, turnScheduler.getCurrentPlayer());
+		assertEquals(0, turnScheduler.getCurrentPlayerIndex());
+	}
+
+	/**
+	 * Tests {@link TurnScheduler#setCurrentPlayer(Player)} ensures that the players after the given player still have their turns in the same round
+	 */
+	@Test
+	public void testSetCurrentPlayer(){
+		TurnScheduler turnScheduler = new TurnScheduler(players);
+		turnScheduler.setCurrentPlayer(secondPlayer);
+		assertSame(secondPlayer, turnScheduler.getCurrentPlayer());
+		assertTrue(turnScheduler.nextPlayer());
+		assertSame(thirdPlayer, turnScheduler.getCurrentPlayer());
+		assertFalse(turnScheduler.nextPlayer());
+	}
+
+	/**
+	 * Tests {@link TurnScheduler#setCurrentPlayer(Player)} ensures that an exception is thrown if the player is not one of the players
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void testSetCurrentPlayerUnknown(){
+		new TurnScheduler(Arrays.asList(firstPlayer, secondPlayer)).setCurrentPlayer(thirdPlayer);
+	}
+
+	/**
+	 * Tests {@link TurnScheduler#contains(Player)} ensures that only the players given to the constructor are contained
+	 */
+	@Test
+	public void testContains(){
+		TurnScheduler turnScheduler = new TurnScheduler(Arrays.asList(firstPlayer, secondPlayer));
+		assertTrue(turnScheduler.contains(firstPlayer));
+		assertTrue(turnScheduler.contains(secondPlayer));
+		assertFalse(turnScheduler.contains(thirdPlayer));
+		assertFalse(turnScheduler.contains(null));
+	}
+
+	/**
+	 * Tests {@link TurnScheduler#nextPlayer()} ensures that a large lobby of players all get a turn in every round
+	 */
+	@Test
+	public void testLargeLobby(){
+		List<Player> lobby = new ArrayList<Player>();
+		for(int playerNumber = 0; playerNumber < 1000; playerNumber++){
+			lobby.add(new Player(null));
+		}
+		TurnScheduler turnScheduler = new TurnScheduler(lobby);
+		for(int round = 0; round < 2; round++){
+			int turns = 1;
+			while(turnScheduler.nextPlayer()){
+				assertSame(lobby.get(turns), turnScheduler.getCurrentPlayer());
+				turns++;
+			}
+			assertEquals(1000, turns);
+		}
+	}
+}
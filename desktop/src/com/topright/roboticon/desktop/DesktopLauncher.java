@@ -2,6 +2,7 @@ package com.topright.roboticon.desktop;
 
 import com.badlogic.gdx.backends.lwjgl.LwjglApplication;
 import com.badlogic.gdx.backends.lwjgl.LwjglApplicationConfiguration;
+import com.topright.roboticon.LaunchOptions;
 import com.topright.roboticon.Main;
 
 /**
@@ -10,11 +11,17 @@ import com.topright.roboticon.Main;
  *
  */
 public class DesktopLauncher {
+	/**
+	 * Starts the game
+	 * @param arg Optionally the number of rows followed by the number of columns of plots on the map (e.g. 1000 1000)
+	 * and then the seed of the game (to play the same game again). The rest of the options are read from system properties
+	 * (see {@link LaunchOptions#fromSystemProperties()}).
+	 */
 	public static void main (String[] arg) {
 		LwjglApplicationConfiguration config = new LwjglApplicationConfiguration();
 		config.width = 1680;
 		config.height = 1050;
 		config.fullscreen = true;
-		new LwjglApplication(new Main(), config);
+		new LwjglApplication(new Main(LaunchOptions.parse(arg)), config);
 	}
 }
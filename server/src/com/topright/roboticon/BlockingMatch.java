@@ -0,0 +1,650 @@
+package com.topright.roboticon;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A match hosted by the {@link GameServer} that is played out as straight-line code on a thread of its own (see {@link MatchRunner})
+ * <p>
+ * {@link BlockingMatch#run()} reads like the rules of the game: every round each player acquires a plot, buys, customises and places
+ * roboticons, then the plots produce resources and every player may use the market. Whenever a human player must act the match's
+ * thread blocks until their client's messages finish the stage or the time given to the stage runs out (their turn is then played for
+ * them, as it is for a player whose client has left). There are no callbacks and no timer tasks: the time limit is just the deadline of
+ * the wait.
+ * </p>
+ * <p>
+ * The server's thread passes the clients' messages to the match with {@link BlockingMatch#post(int, ByteBuffer)} and
+ * {@link BlockingMatch#playerLeft(int)}, everything else is only used by the match's thread. The messages sent to the clients are the same
+ * as those sent by a {@link ServerMatch}, so the same clients can play either kind of match.
+ * </p>
+ */
+final class BlockingMatch implements Runnable {
+	private final MatchOutput output;
+	private final MatchRunner runner;
+	private final List<Player> players; // In the order that they take their turns, the human players first
+	private final Market market;
+	private final BroadcastingPlotGrid plotGrid;
+	private final long stageTimeout; // In nanoseconds
+
+	private final ReentrantLock inboxLock = new ReentrantLock(); // Not synchronized, which would pin a virtual thread while it waits
+	private final Condition messagePosted = inboxLock.newCondition();
+	private final ArrayDeque<PostedMessage> inbox = new ArrayDeque<PostedMessage>(); // Guarded by inboxLock
+
+	private final boolean[] connected; // Indexed by player number, the human players whose clients are still connected
+	private int connectedPlayers;
+	private final boolean[] finishedWithMarket; // Indexed by player number
+	private final MoveHandler moveHandler = new MoveHandler();
+	private GamePhase phase = null; // null until the match has started
+	private int currentPlayerNumber = NetworkProtocol.ALL_PLAYERS;
+	private int roundNumber = 0;
+	private boolean stageFinished = false; // true once the player (or players) have finished the current stage
+	private boolean skipCustomising = false; // true if the current player finished customising while they were still buying
+	private int[] scores = null; // null until the match is over
+
+	/**
+	 * A message from a client (or the news that it has left) waiting to be carried out
+	 */
+	private static final class PostedMessage {
+		private final int playerNumber;
+		private final ByteBuffer frame; // null if the player's client has left
+		private final long postedTime; // System.nanoTime
+
+		/**
+		 * Constructor
+		 * @param playerNumber The number of the client's player
+		 * @param frame The type and payload of the message or null if the client has left
+		 */
+		PostedMessage(int playerNumber, ByteBuffer frame){
+			this.playerNumber = playerNumber;
+			this.frame = frame;
+			postedTime = System.nanoTime();
+		}
+	}
+
+	/**
+	 * Carries out the messages sent by the clients, rejecting those that break the rules or arrive at the wrong time
+	 */
+	private final class MoveHandler implements ClientMessageHandler {
+		private int playerNumber; // The number of the player whose message is being carried out
+
+		/**
+		 * Rejects the message, the client has already joined
+		 * @param version The version of the protocol that the client speaks
+		 */
+		@Override
+		public void join(int version){
+			reject(playerNumber, NetworkProtocol.JOIN);
+		}
+
+		/**
+		 * Acquires a plot if it is the player's turn to acquire one, which finishes the stage
+		 * @param row The row of the plot
+		 * @param column The column of the plot
+		 */
+		@Override
+		public void acquirePlot(int row, int column){
+			Plot[][] plots = plotGrid.getPlots();
+			if(!isTurn(playerNumber, GamePhase.PLOTACQUISITION) || row < 0 || row >= plots.length || column < 0 || column >= plots[row].length
+					|| !plotGrid.acquirePlot(row, column)){
+				reject(playerNumber, NetworkProtocol.ACQUIRE_PLOT);
+				return;
+			}
+			stageFinished = true;
+		}
+
+		/**
+		 * Buys roboticons if it is the player's turn to buy them (and the market has enough)
+		 * @param quantity The number of roboticons
+		 */
+		@Override
+		public void buyRoboticons(int quantity){
+			if(quantity < 0 || quantity > market.getRoboticonQuantity() || !isTurn(playerNumber, GamePhase.BUYINGROBOTICONS)
+					|| !players.get(playerNumber).attemptToBuyRoboticons(quantity)){
+				reject(playerNumber, NetworkProtocol.BUY_ROBOTICONS);
+				return;
+			}
+			broadcastInventory(playerNumber);
+		}
+
+		/**
+		 * Customises a roboticon if it is the player's turn to customise roboticons
+		 * @param customisation The customisation
+		 */
+		@Override
+		public void customiseRoboticon(RoboticonCustomisation customisation){
+			if(!isTurn(playerNumber, GamePhase.CUSTOMISINGROBOTICONS) || !players.get(playerNumber).attemptToCustomiseRoboticon(customisation)){
+				reject(playerNumber, NetworkProtocol.CUSTOMISE_ROBOTICON);
+				return;
+			}
+			broadcastInventory(playerNumber);
+		}
+
+		/**
+		 * Places a roboticon if it is the player's turn to place roboticons
+		 * @param row The row of the plot
+		 * @param column The column of the plot
+		 * @param customisation The customisation of the roboticon
+		 */
+		@Override
+		public void placeRoboticon(int row, int column, RoboticonCustomisation customisation){
+			Plot[][] plots = plotGrid.getPlots();
+			boolean placed = false;
+			if(isTurn(playerNumber, GamePhase.PLACINGROBOTICONS) && row >= 0 && row < plots.length && column >= 0 && column < plots[row].length){
+				if(customisation == RoboticonCustomisation.ORE){
+					placed = plotGrid.placeOreRoboticon(column, row);
+				}
+				else if(customisation == RoboticonCustomisation.ENERGY){
+					placed = plotGrid.placeEnergyRoboticon(column, row);
+				}
+			}
+			if(!placed){
+				reject(playerNumber, NetworkProtocol.PLACE_ROBOTICON);
+				return;
+			}
+			broadcastInventory(playerNumber);
+		}
+
+		/**
+		 * Buys a resource from the market during the market stage (if the player has not finished with the market and it has enough)
+		 * @param resource The resource
+		 * @param quantity The quantity of the resource
+		 */
+		@Override
+		public void buyResource(PlotSpecialism resource, int quantity){
+			Player player = players.get(playerNumber);
+			int available = (resource == PlotSpecialism.ORE) ? market.getOreQuantity() : market.getEnergyQuantity();
+			if(quantity < 0 || quantity > available || !canTrade(playerNumber)
+					|| !(resource == PlotSpecialism.ORE ? player.attemptToBuyOre(quantity) : player.attemptToBuyEnergy(quantity))){
+				reject(playerNumber, NetworkProtocol.BUY_RESOURCE);
+				return;
+			}
+			broadcastInventory(playerNumber);
+		}
+
+		/**
+		 * Sells a resource to the market during the market stage (if the player has not finished with the market)
+		 * @param resource The resource
+		 * @param quantity The quantity of the resource
+		 */
+		@Override
+		public void sellResource(PlotSpecialism resource, int quantity){
+			Player player = players.get(playerNumber);
+			if(quantity < 0 || !canTrade(playerNumber)
+					|| !(resource == PlotSpecialism.ORE ? player.attemptToSellOre(quantity) : player.attemptToSellEnergy(quantity))){
+				reject(playerNumber, NetworkProtocol.SELL_RESOURCE);
+				return;
+			}
+			broadcastInventory(playerNumber);
+		}
+
+		/**
+		 * Finishes the current stage if the event ends it and it is the player's turn, events that don't apply to the current stage are
+		 * ignored (as they are by the {@link GameEngine})
+		 * @param event The event that ends the stage
+		 */
+		@Override
+		public void finished(GameEvents event){
+			if(event == GameEvents.PLAYERINVENTORYUPDATE){
+				reject(playerNumber, NetworkProtocol.FINISHED); // Not an event that ends a stage
+			}
+			else if(event == GameEvents.FINISHEDWITHTHEMARKET){
+				if(canTrade(playerNumber)){
+					finishedWithMarket[playerNumber] = true;
+					stageFinished = everyoneFinishedWithMarket();
+				}
+			}
+			else if(playerNumber == currentPlayerNumber && phase != GamePhase.PLOTACQUISITION){
+				if(event == getEventThatEnds(phase)){
+					stageFinished = true;
+				}
+				else if(event == GameEvents.FINISHEDCUSTOMISINGROBOTICONS && phase == GamePhase.BUYINGROBOTICONS){
+					skipCustomising = true; // The timer set during the buying stage ran out before the player started customising
+					stageFinished = true;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Constructor, the human players take the first turns followed by the AI players
+	 * @param output Where the messages to the clients are sent (human player numbers start from 0)
+	 * @param runner Told about the scheduler latency of the match
+	 * @param numberOfHumanPlayers The number of human players
+	 * @param numberOfAIPlayers The number of AI players
+	 * @param plots The plots that the match is played on
+	 * @param stageTimeoutMillis The time that a human player has to finish each stage of the game (in milliseconds)
+	 */
+	BlockingMatch(MatchOutput output, MatchRunner runner, int numberOfHumanPlayers, int numberOfAIPlayers, Plot[][] plots, long stageTimeoutMillis){
+		if(output == null || runner == null){
+			throw new IllegalArgumentException("output and runner must not be null");
+		}
+		if(numberOfHumanPlayers < 1){
+			throw new IllegalArgumentException("A match needs at least one human player");
+		}
+		if(numberOfAIPlayers < 0){
+			throw new IllegalArgumentException("numberOfAIPlayers must be >= 0 numberOfAIPlayers = "+numberOfAIPlayers);
+		}
+		if(stageTimeoutMillis <= 0){
+			throw new IllegalArgumentException("stageTimeoutMillis must be > 0 stageTimeoutMillis = "+stageTimeoutMillis);
+		}
+		this.output = output;
+		this.runner = runner;
+		stageTimeout = TimeUnit.MILLISECONDS.toNanos(stageTimeoutMillis);
+		market = new Market(new MarketInventory(0, ServerMatch.MARKET_STARTING_ENERGY, ServerMatch.MARKET_STARTING_ROBOTICONS));
+		players = new ArrayList<Player>();
+		for(int playerNumber = 0; playerNumber < numberOfHumanPlayers + numberOfAIPlayers; playerNumber++){
+			PlayerInventory inventory = new PlayerInventory(0, 0, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), ServerMatch.STARTING_MONEY);
+			players.add(playerNumber < numberOfHumanPlayers ? new Player(inventory, market) : new AIPlayer(inventory, market));
+		}
+		if(players.size() < 2){
+			throw new IllegalArgumentException("A match needs at least 2 players");
+		}
+		if(players.size() == 2){ // As the GameEngine does, AI players are only told who their opponent is in two player games
+			for(int playerNumber = 0; playerNumber < 2; playerNumber++){
+				if(players.get(playerNumber) instanceof AIPlayer){
+					((AIPlayer)players.get(playerNumber)).setOpponent(players.get(1 - playerNumber), playerNumber == 0);
+				}
+			}
+		}
+		connected = new boolean[players.size()];
+		Arrays.fill(connected, 0, numberOfHumanPlayers, true);
+		connectedPlayers = numberOfHumanPlayers;
+		finishedWithMarket = new boolean[players.size()];
+		plotGrid = new BroadcastingPlotGrid(plots, players, output);
+	}
+
+	/**
+	 * Called by the server's thread with every message that a player's client sends, the message is carried out by the match's thread
+	 * @param playerNumber The number of the player
+	 * @param frame The type and payload of a valid client message (copied, so the buffer can be reused once this method returns)
+	 */
+	void post(int playerNumber, ByteBuffer frame){
+		ByteBuffer copy = ByteBuffer.allocate(frame.remaining());
+		copy.put(frame.duplicate());
+		copy.flip();
+		post(new PostedMessage(playerNumber, copy));
+	}
+
+	/**
+	 * Called by the server's thread when a player's client has left the match, the player is played for from now on
+	 * @param playerNumber The number of the player
+	 */
+	void playerLeft(int playerNumber){
+		post(new PostedMessage(playerNumber, null));
+	}
+
+	/**
+	 * Adds a message to the inbox and wakes the match's thread if it is waiting
+	 * @param message The message
+	 */
+	private void post(PostedMessage message){
+		if(message.playerNumber < 0 || message.playerNumber >= players.size()){
+			throw new IllegalArgumentException("Invalid player number "+message.playerNumber);
+		}
+		inboxLock.lock();
+		try{
+			inbox.add(message);
+			messagePosted.signal();
+		}
+		finally{
+			inboxLock.unlock();
+		}
+	}
+
+	/**
+	 * Plays the match from start to finish (or until every human player's client has left)
+	 */
+	@Override
+	public void run(){
+		try{
+			play();
+		}
+		catch(InterruptedException e){
+			Thread.currentThread().interrupt(); // The match is abandoned
+		}
+	}
+
+	/**
+	 * Plays the match round by round
+	 * @throws InterruptedException If interrupted while waiting for a player
+	 */
+	private void play() throws InterruptedException{
+		startMatch();
+		while(connectedPlayers > 0){ // Abandoned matches are not played on
+			roundNumber++;
+			for(int playerNumber = 0; playerNumber < players.size(); playerNumber++){
+				acquirePlot(playerNumber);
+				buyRoboticons(playerNumber);
+				customiseRoboticons(playerNumber);
+				placeRoboticons(playerNumber);
+			}
+			produceResources();
+			useMarket();
+			if(plotGrid.allPlotsAquired()){
+				gameOver();
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Tells every client that the match has started
+	 */
+	private void startMatch(){
+		Plot[][] plots = plotGrid.getPlots();
+		for(int playerNumber = 0; playerNumber < players.size(); playerNumber++){
+			if(connected[playerNumber]){
+				output.send(playerNumber, NetworkProtocol.matchStarted(playerNumber, players.size(), plots));
+			}
+		}
+		broadcastInventories();
+	}
+
+	/**
+	 * Has a player acquire a plot (there may be none left if there are an odd number of plots)
+	 * @param playerNumber The number of the player
+	 * @throws InterruptedException If interrupted while waiting for the player
+	 */
+	private void acquirePlot(int playerNumber) throws InterruptedException{
+		Player player = players.get(playerNumber);
+		plotGrid.setCurrentPlayer(player);
+		if(plotGrid.allPlotsAquired()){
+			return;
+		}
+		if(player instanceof AIPlayer){
+			((AIPlayer)player).choosePlot(plotGrid);
+		}
+		else if(!playStage(GamePhase.PLOTACQUISITION, playerNumber)){ // Played for: the first plot that is free
+			int plotNumber = plotGrid.findUnacquiredPlot(0);
+			plotGrid.acquirePlot(plotGrid.getPlotRow(plotNumber), plotGrid.getPlotColumn(plotNumber));
+		}
+	}
+
+	/**
+	 * Lets a player buy roboticons
+	 * @param playerNumber The number of the player
+	 * @throws InterruptedException If interrupted while waiting for the player
+	 */
+	private void buyRoboticons(int playerNumber) throws InterruptedException{
+		Player player = players.get(playerNumber);
+		skipCustomising = false;
+		if(player instanceof AIPlayer){
+			((AIPlayer)player).buyRoboticons(plotGrid);
+		}
+		else{
+			playStage(GamePhase.BUYINGROBOTICONS, playerNumber);
+		}
+	}
+
+	/**
+	 * Lets a player customise roboticons (unless they skipped it while buying)
+	 * @param playerNumber The number of the player
+	 * @throws InterruptedException If interrupted while waiting for the player
+	 */
+	private void customiseRoboticons(int playerNumber) throws InterruptedException{
+		Player player = players.get(playerNumber);
+		if(player instanceof AIPlayer){
+			((AIPlayer)player).customiseRoboticons(plotGrid);
+		}
+		else if(!skipCustomising){
+			playStage(GamePhase.CUSTOMISINGROBOTICONS, playerNumber);
+		}
+	}
+
+	/**
+	 * Lets a player place roboticons, the clients are then told what the player owns (AI players make all of their moves at once)
+	 * @param playerNumber The number of the player
+	 * @throws InterruptedException If interrupted while waiting for the player
+	 */
+	private void placeRoboticons(int playerNumber) throws InterruptedException{
+		Player player = players.get(playerNumber);
+		if(player instanceof AIPlayer){
+			((AIPlayer)player).placeRoboticons(plotGrid);
+			broadcastInventory(playerNumber);
+		}
+		else{
+			playStage(GamePhase.PLACINGROBOTICONS, playerNumber);
+		}
+	}
+
+	/**
+	 * Makes every plot produce resources and tells the clients what every player now owns
+	 */
+	private void produceResources(){
+		phase = GamePhase.PRODUCTION;
+		currentPlayerNumber = NetworkProtocol.ALL_PLAYERS;
+		plotGrid.produceResources();
+		broadcastInventories();
+		output.broadcast(NetworkProtocol.stage(GamePhase.PRODUCTION, NetworkProtocol.ALL_PLAYERS, roundNumber));
+	}
+
+	/**
+	 * Lets the AI players trade, then waits until every human player has finished with the market (or the time runs out) and matches
+	 * the orders that were placed
+	 * @throws InterruptedException If interrupted while waiting for the players
+	 */
+	private void useMarket() throws InterruptedException{
+		for(Player player : players){
+			if(player instanceof AIPlayer){
+				((AIPlayer)player).placeOrders();
+			}
+		}
+		for(Player player : players){
+			if(player instanceof AIPlayer){
+				((AIPlayer)player).buyAndSellResources();
+			}
+		}
+		Arrays.fill(finishedWithMarket, false);
+		broadcastInventories();
+		playStage(GamePhase.MARKET, NetworkProtocol.ALL_PLAYERS);
+		market.closeOrderBooks();
+	}
+
+	/**
+	 * Tells every client the final inventories and scores
+	 */
+	private void gameOver(){
+		phase = GamePhase.GAMEOVER;
+		currentPlayerNumber = NetworkProtocol.ALL_PLAYERS;
+		broadcastInventories();
+		int[] finalScores = new int[players.size()];
+		for(int playerNumber = 0; playerNumber < finalScores.length; playerNumber++){
+			finalScores[playerNumber] = players.get(playerNumber).calculateScore();
+		}
+		scores = finalScores;
+		output.broadcast(NetworkProtocol.gameOver(finalScores));
+	}
+
+	/**
+	 * Tells every client which stage the match is in and carries out the clients' messages until the stage is finished, the time given
+	 * to it runs out or the player (or every player in the market stage) has left
+	 * @param stagePhase The phase of the stage
+	 * @param playerNumber The number of the player who must act ({@link NetworkProtocol#ALL_PLAYERS} if every player may act)
+	 * @return true if the stage was finished by the player (or players)
+	 * @throws InterruptedException If interrupted while waiting
+	 */
+	private boolean playStage(GamePhase stagePhase, int playerNumber) throws InterruptedException{
+		phase = stagePhase;
+		currentPlayerNumber = playerNumber;
+		stageFinished = false;
+		if(!isWaitingFor(playerNumber)){
+			return false;
+		}
+		output.broadcast(NetworkProtocol.stage(stagePhase, playerNumber, roundNumber));
+		long deadline = System.nanoTime() + stageTimeout;
+		while(!stageFinished && isWaitingFor(playerNumber)){
+			PostedMessage message = takeMessage(deadline);
+			if(message == null){
+				return false; // The time ran out
+			}
+			carryOut(message);
+		}
+		return stageFinished;
+	}
+
+	/**
+	 * Returns true if the match may wait for the given player
+	 * @param playerNumber The number of the player ({@link NetworkProtocol#ALL_PLAYERS} for every player)
+	 * @return true if the player's client (or any client) is still connected
+	 */
+	private boolean isWaitingFor(int playerNumber){
+		return (playerNumber == NetworkProtocol.ALL_PLAYERS) ? connectedPlayers > 0 : connected[playerNumber];
+	}
+
+	/**
+	 * Waits for the next message from a client
+	 * @param deadline When to stop waiting (System.nanoTime)
+	 * @return The message or null if the deadline passed first
+	 * @throws InterruptedException If interrupted while waiting
+	 */
+	private PostedMessage takeMessage(long deadline) throws InterruptedException{
+		inboxLock.lock();
+		try{
+			while(inbox.isEmpty()){
+				long remaining = deadline - System.nanoTime();
+				if(remaining <= 0){
+					runner.recordSchedulerLatency(-remaining); // How long after the deadline the thread got to run
+					return null;
+				}
+				messagePosted.awaitNanos(remaining);
+			}
+			PostedMessage message = inbox.poll();
+			runner.recordSchedulerLatency(System.nanoTime() - message.postedTime);
+			return message;
+		}
+		finally{
+			inboxLock.unlock();
+		}
+	}
+
+	/**
+	 * Carries out a message from a client
+	 * @param message The message
+	 */
+	private void carryOut(PostedMessage message){
+		if(message.frame == null){
+			if(connected[message.playerNumber]){
+				connected[message.playerNumber] = false;
+				connectedPlayers--;
+				if(phase == GamePhase.MARKET){
+					stageFinished = everyoneFinishedWithMarket(); // The players who are left may all have finished
+				}
+			}
+		}
+		else if(connected[message.playerNumber]){
+			moveHandler.playerNumber = message.playerNumber;
+			NetworkProtocol.dispatch(message.frame, moveHandler);
+		}
+	}
+
+	/**
+	 * Returns true if the given player must act in the given phase
+	 * @param playerNumber The number of the player
+	 * @param stagePhase The phase
+	 * @return true if the match is in the phase and it is the player's turn
+	 */
+	private boolean isTurn(int playerNumber, GamePhase stagePhase){
+		return phase == stagePhase && currentPlayerNumber == playerNumber;
+	}
+
+	/**
+	 * Returns true if a player may trade with the market
+	 * @param playerNumber The number of the player
+	 * @return true if the match is in the market stage and the player has not finished with the market
+	 */
+	private boolean canTrade(int playerNumber){
+		return phase == GamePhase.MARKET && !finishedWithMarket[playerNumber];
+	}
+
+	/**
+	 * Returns true if every human player whose client is still connected has finished with the market
+	 * @return true if the market stage may end
+	 */
+	private boolean everyoneFinishedWithMarket(){
+		for(int playerNumber = 0; playerNumber < players.size(); playerNumber++){
+			if(connected[playerNumber] && !finishedWithMarket[playerNumber]){
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the event that a human player's GUI sends when they have finished a stage
+	 * @param stagePhase The phase of the stage
+	 * @return The event that ends the stage (null if a player can't finish it)
+	 */
+	private static GameEvents getEventThatEnds(GamePhase stagePhase){
+		switch(stagePhase){
+		case BUYINGROBOTICONS:
+			return GameEvents.FINISHEDBUYINGROBOTICONS;
+		case CUSTOMISINGROBOTICONS:
+			return GameEvents.FINISHEDCUSTOMISINGROBOTICONS;
+		case PLACINGROBOTICONS:
+			return GameEvents.FINISHEDPLACINGROBOTICONS;
+		default:
+			return null;
+		}
+	}
+
+	/**
+	 * Tells a player's client that one of its messages was not carried out, followed by the player's real inventory
+	 * @param playerNumber The number of the player
+	 * @param messageType The type of the message
+	 */
+	private void reject(int playerNumber, byte messageType){
+		output.send(playerNumber, NetworkProtocol.rejected(messageType));
+		output.send(playerNumber, NetworkProtocol.inventory(playerNumber, players.get(playerNumber)));
+		output.send(playerNumber, NetworkProtocol.market(market));
+	}
+
+	/**
+	 * Sends the inventory of a player and the market's stock to every client
+	 * @param playerNumber The number of the player
+	 */
+	private void broadcastInventory(int playerNumber){
+		output.broadcast(NetworkProtocol.inventory(playerNumber, players.get(playerNumber)));
+		output.broadcast(NetworkProtocol.market(market));
+	}
+
+	/**
+	 * Sends the inventory of every player and the market's stock to every client
+	 */
+	private void broadcastInventories(){
+		for(int playerNumber = 0; playerNumber < players.size(); playerNumber++){
+			output.broadcast(NetworkProtocol.inventory(playerNumber, players.get(playerNumber)));
+		}
+		output.broadcast(NetworkProtocol.market(market));
+	}
+
+	/**
+	 * Returns the players in the order that they take their turns
+	 * @return The players
+	 */
+	List<Player> getPlayers(){
+		return players;
+	}
+
+	/**
+	 * Returns the plots that the match is played on
+	 * @return The plots
+	 */
+	Plot[][] getPlots(){
+		return plotGrid.getPlots();
+	}
+
+	/**
+	 * Returns the final score of every player (in player number order), only safe to call once the match's thread has finished
+	 * @return The final scores or null if the match did not reach the end of the game
+	 */
+	int[] getScores(){
+		return scores;
+	}
+}
@@ -0,0 +1,181 @@
+package com.topright.roboticon;
+
+import java.util.List;
+
+/**
+ * Broadcasts every plot acquisition and roboticon placement made in a match hosted by the {@link GameServer} to every client, the rules
+ * themselves are implemented by a {@link HeadlessPlotManager}
+ */
+final class BroadcastingPlotGrid implements PlotGrid {
+	private final HeadlessPlotManager plots;
+	private final List<Player> players; // In the order that they take their turns, so a player's number is their position in this list
+	private final MatchOutput output;
+	private Player currentPlayer = null;
+
+	/**
+	 * Constructor
+	 * @param plots The plots that the match is played on
+	 * @param players The players in the order that they take their turns
+	 * @param output Told about every plot acquisition and roboticon placement
+	 */
+	BroadcastingPlotGrid(Plot[][] plots, List<Player> players, MatchOutput output){
+		if(players == null || output == null){
+			throw new IllegalArgumentException("players and output must not be null");
+		}
+		this.plots = new HeadlessPlotManager(plots);
+		this.players = players;
+		this.output = output;
+	}
+
+	/**
+	 * Returns the plots that the match is played on
+	 * @return The plots
+	 */
+	@Override
+	public Plot[][] getPlots(){
+		return plots.getPlots();
+	}
+
+	/**
+	 * Sets the player whose plots are acquired and whose roboticons are placed
+	 * @param player The player
+	 */
+	@Override
+	public void setCurrentPlayer(Player player){
+		currentPlayer = player;
+		plots.setCurrentPlayer(player);
+	}
+
+	/**
+	 * Acquires a plot for the current player and tells every client if it was acquired
+	 * @param row The row of the plot
+	 * @param column The column of the plot
+	 * @return true if the plot was acquired
+	 */
+	@Override
+	public boolean acquirePlot(int row, int column){
+		if(plots.acquirePlot(row, column)){
+			output.broadcast(NetworkProtocol.plotAcquired(players.indexOf(currentPlayer), row, column));
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Places an energy roboticon for the current player and tells every client if it was placed
+	 * @param plotColumn The column of the plot
+	 * @param plotRow The row of the plot
+	 * @return true if the roboticon was placed
+	 */
+	@Override
+	public boolean placeEnergyRoboticon(int plotColumn, int plotRow){
+		if(plots.placeEnergyRoboticon(plotColumn, plotRow)){
+			output.broadcast(NetworkProtocol.roboticonPlaced(players.indexOf(currentPlayer), plotRow, plotColumn, RoboticonCustomisation.ENERGY));
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Places an ore roboticon for the current player and tells every client if it was placed
+	 * @param plotColumn The column of the plot
+	 * @param plotRow The row of the plot
+	 * @return true if the roboticon was placed
+	 */
+	@Override
+	public boolean placeOreRoboticon(int plotColumn, int plotRow){
+		if(plots.placeOreRoboticon(plotColumn, plotRow)){
+			output.broadcast(NetworkProtocol.roboticonPlaced(players.indexOf(currentPlayer), plotRow, plotColumn, RoboticonCustomisation.ORE));
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Makes every plot produce resources for its player (the inventories are sent by {@link ServerMatch#resourcesProduced()})
+	 */
+	@Override
+	public void produceResources(){
+		plots.produceResources();
+	}
+
+	/**
+	 * Returns true if every plot has been acquired
+	 * @return true if every plot has been acquired
+	 */
+	@Override
+	public boolean allPlotsAquired(){
+		return plots.allPlotsAquired();
+	}
+
+	/**
+	 * Returns the number of plots that have not been acquired
+	 * @return The number of unacquired plots
+	 */
+	@Override
+	public int getNumberOfUnacquiredPlots(){
+		return plots.getNumberOfUnacquiredPlots();
+	}
+
+	/**
+	 * Returns the number of a player's plots of a specialism that have no roboticon on them
+	 * @param owner The player
+	 * @param specialism The specialism
+	 * @return The number of empty plots
+	 */
+	@Override
+	public int getNumberOfEmptyPlots(Player owner, PlotSpecialism specialism){
+		return plots.getNumberOfEmptyPlots(owner, specialism);
+	}
+
+	/**
+	 * Returns the number of the first unacquired plot at or after a plot number
+	 * @param fromPlotNumber The plot number to search from
+	 * @return The plot number or -1 if there is none
+	 */
+	@Override
+	public int findUnacquiredPlot(int fromPlotNumber){
+		return plots.findUnacquiredPlot(fromPlotNumber);
+	}
+
+	/**
+	 * Returns the number of the first of a player's empty plots of a specialism at or after a plot number
+	 * @param owner The player
+	 * @param specialism The specialism
+	 * @param fromPlotNumber The plot number to search from
+	 * @return The plot number or -1 if there is none
+	 */
+	@Override
+	public int findEmptyPlot(Player owner, PlotSpecialism specialism, int fromPlotNumber){
+		return plots.findEmptyPlot(owner, specialism, fromPlotNumber);
+	}
+
+	/**
+	 * Returns the row of a plot
+	 * @param plotNumber The plot number
+	 * @return The row
+	 */
+	@Override
+	public int getPlotRow(int plotNumber){
+		return plots.getPlotRow(plotNumber);
+	}
+
+	/**
+	 * Returns the column of a plot
+	 * @param plotNumber The plot number
+	 * @return The column
+	 */
+	@Override
+	public int getPlotColumn(int plotNumber){
+		return plots.getPlotColumn(plotNumber);
+	}
+
+	/**
+	 * Sets the log that plot acquisitions and roboticon placements are recorded in
+	 * @param eventLog The log
+	 */
+	@Override
+	public void setEventLog(GameEventLog eventLog){
+		plots.setEventLog(eventLog);
+	}
+}
@@ -0,0 +1,792 @@
+package com.topright.roboticon;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A headless game server that hosts any number of matches (see {@link ServerMatch}) for clients that speak the {@link NetworkProtocol}
+ * <p>
+ * Every connection is served by a single thread using a Selector (an event loop), nothing that it does blocks: messages are read as
+ * soon as they arrive and carried out straight away (the rules of the game are quick to run), and every message sent is queued and
+ * written whenever the client's connection will take it. Clients that join are put in a match as soon as enough of them are waiting.
+ * A client that sends an invalid message, or that falls too far behind with reading what it is sent, is disconnected (their player is
+ * played for by the match).
+ * </p>
+ * <p>
+ * The stages of the matches can be given a time limit (see {@link GameServer#setStageTimeout(long)}). Every match's time limits are
+ * scheduled on one {@link TimingWheel}, which the server's thread advances after every select (selecting for no longer than a tick while
+ * there is anything on the wheel), so there are no timer threads or tasks however many matches are being played.
+ * </p>
+ * <p>
+ * Alternatively each match can be played out on a thread of its own (see {@link GameServer#setMatchRunner(MatchRunner, long)} and
+ * {@link BlockingMatch}), which gives every stage of the game a time limit. The server's thread still does all of the reading and writing:
+ * it checks each message and passes it on to the client's match, and the messages that a match sends are handed back to the server's
+ * thread as tasks, which are run (and their messages written) after every select.
+ * </p>
+ */
+public class GameServer implements Runnable, Closeable {
+	static final long MAX_PENDING_BYTES = 8L * 1024 * 1024; // Clients that have more than this waiting to be written to them are disconnected
+	static final long STAGE_TIMER_TICK_MILLIS = 10;
+
+	private final Selector selector;
+	private final ServerSocketChannel serverChannel;
+	private final int humanPlayersPerMatch;
+	private final int AIPlayersPerMatch;
+	private int plotRows = LaunchOptions.DEFAULT_PLOT_ROWS;
+	private int plotColumns = LaunchOptions.DEFAULT_PLOT_COLUMNS;
+	private final GameRandom random;
+	private MatchRunner matchRunner = null; // null if matches are played on the server's thread
+	private long stageTimeoutMillis = 0; // 0 if the stages have no time limit
+	private final TimingWheel stageTimer = new TimingWheel(STAGE_TIMER_TICK_MILLIS, currentTimeMillis()); // Only used by the server's thread
+
+	private final List<Client> waitingClients = new ArrayList<Client>(); // Clients that have joined but are not in a match yet
+	private final Set<ServerMatch> matches = new HashSet<ServerMatch>(); // The matches that are being played
+	private final Set<ThreadedMatch> threadedMatches = new HashSet<ThreadedMatch>(); // The matches being played on threads of their own
+	private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<Runnable>(); // Handed to the server's thread by matches
+	private final AtomicBoolean wakeupPending = new AtomicBoolean(); // true if the selector has been woken up to run the tasks
+	private final List<Client> unflushedClients = new ArrayList<Client>(); // Clients that tasks have sent messages to
+	private final AtomicBoolean started = new AtomicBoolean(); // A server can only be run once
+	private volatile boolean running = true;
+	private volatile int connections = 0;
+	private volatile int matchesStarted = 0;
+	private volatile int matchesFinished = 0;
+	private volatile long messagesReceived = 0;
+
+	/**
+	 * A connection to a client
+	 */
+	private final class Client implements FramedChannel.FrameHandler, ClientMessageHandler {
+		private final FramedChannel channel;
+		private final SelectionKey key;
+		private boolean joined = false;
+		private ServerMatch match = null; // null until the client has been put in a match
+		private ThreadedMatch threadedMatch = null; // Used instead of match if matches are played on threads of their own
+		private int playerNumber = -1;
+		private boolean leaving = false; // true once the client's match is over, it is disconnected once it has been sent everything
+		private boolean unflushed = false; // true if the client is in unflushedClients
+
+		/**
+		 * Constructor, registers the connection with the server's selector
+		 * @param socketChannel The connection
+		 * @throws IOException If the connection can't be registered
+		 */
+		Client(SocketChannel socketChannel) throws IOException{
+			channel = new FramedChannel(socketChannel);
+			key = socketChannel.register(selector, SelectionKey.OP_READ, this);
+		}
+
+		/**
+		 * Carries out every message that the client has sent
+		 * @param frame The type and payload of a frame
+		 */
+		@Override
+		public void handleFrame(ByteBuffer frame){
+			messagesReceived++;
+			if(threadedMatch != null && frame.hasRemaining() && frame.get(frame.position()) != NetworkProtocol.JOIN){
+				NetworkProtocol.checkClientMessage(frame);
+				threadedMatch.match.post(playerNumber, frame);
+			}
+			else{
+				NetworkProtocol.dispatch(frame, this);
+			}
+		}
+
+		/**
+		 * Puts the client in the queue for the next match
+		 * @param version The version of the protocol that the client speaks
+		 */
+		@Override
+		public void join(int version){
+			if(version != NetworkProtocol.VERSION){
+				throw new IllegalArgumentException("Client speaks version "+version+" of the protocol, the server speaks version "+NetworkProtocol.VERSION);
+			}
+			if(joined){
+				throw new IllegalArgumentException("The client has already joined");
+			}
+			joined = true;
+			waitingClients.add(this);
+			if(waitingClients.size() == humanPlayersPerMatch){
+				startMatch();
+			}
+		}
+
+		/**
+		 * Returns the match that the client is playing in, throwing an exception if it isn't in one
+		 * @return The match
+		 */
+		private ServerMatch getMatch(){
+			if(match == null){
+				throw new IllegalArgumentException("The client is not in a match");
+			}
+			return match;
+		}
+
+		/**
+		 * Acquires a plot for the client's player
+		 * @param row The row of the plot
+		 * @param column The column of the plot
+		 */
+		@Override
+		public void acquirePlot(int row, int column){
+			getMatch().acquirePlot(playerNumber, row, column);
+		}
+
+		/**
+		 * Buys roboticons for the client's player
+		 * @param quantity The number of roboticons
+		 */
+		@Override
+		public void buyRoboticons(int quantity){
+			getMatch().buyRoboticons(playerNumber, quantity);
+		}
+
+		/**
+		 * Customises a roboticon for the client's player
+		 * @param customisation The customisation
+		 */
+		@Override
+		public void customiseRoboticon(RoboticonCustomisation customisation){
+			getMatch().customiseRoboticon(playerNumber, customisation);
+		}
+
+		/**
+		 * Places a roboticon for the client's player
+		 * @param row The row of the plot
+		 * @param column The column of the plot
+		 * @param customisation The customisation of the roboticon
+		 */
+		@Override
+		public void placeRoboticon(int row, int column, RoboticonCustomisation customisation){
+			getMatch().placeRoboticon(playerNumber, row, column, customisation);
+		}
+
+		/**
+		 * Buys a resource from the market for the client's player
+		 * @param resource The resource
+		 * @param quantity The quantity of the resource
+		 */
+		@Override
+		public void buyResource(PlotSpecialism resource, int quantity){
+			getMatch().buyResource(playerNumber, resource, quantity);
+		}
+
+		/**
+		 * Sells a resource to the market for the client's player
+		 * @param resource The resource
+		 * @param quantity The quantity of the resource
+		 */
+		@Override
+		public void sellResource(PlotSpecialism resource, int quantity){
+			getMatch().sellResource(playerNumber, resource, quantity);
+		}
+
+		/**
+		 * Tells the match that the client's player has finished a stage
+		 * @param event The event that ends the stage
+		 */
+		@Override
+		public void finished(GameEvents event){
+			getMatch().finished(playerNumber, event);
+		}
+	}
+
+	/**
+	 * A match played on a thread of its own, the messages that it sends are passed to the server's thread to be written
+	 */
+	private final class ThreadedMatch implements MatchOutput {
+		private final Client[] clients; // Indexed by player number, only used by the server's thread
+		private BlockingMatch match;
+
+		/**
+		 * Constructor
+		 * @param clients The clients of the human players
+		 */
+		ThreadedMatch(Client[] clients){
+			this.clients = clients;
+		}
+
+		/**
+		 * Called on the match's thread, sends a frame to a player's client (if it is still connected)
+		 * @param playerNumber The number of the player
+		 * @param frame The frame
+		 */
+		@Override
+		public void send(final int playerNumber, final ByteBuffer frame){
+			if(playerNumber >= clients.length){
+				return; // An AI player
+			}
+			execute(new Runnable(){
+				@Override
+				public void run(){
+					sendTo(clients[playerNumber], frame);
+				}
+			});
+		}
+
+		/**
+		 * Called on the match's thread, sends a frame to every client that is still connected
+		 * @param frame The frame
+		 */
+		@Override
+		public void broadcast(final ByteBuffer frame){
+			execute(new Runnable(){
+				@Override
+				public void run(){
+					for(Client client : clients){
+						sendTo(client, frame);
+					}
+				}
+			});
+		}
+	}
+
+	/**
+	 * Constructor, starts listening for connections (call {@link GameServer#run()} to serve them)
+	 * @param address The address to listen on (port 0 for any free port, see {@link GameServer#getPort()})
+	 * @param humanPlayersPerMatch The number of clients in each match
+	 * @param AIPlayersPerMatch The number of AI players in each match
+	 * @param seed The seed used to create the maps of the matches
+	 * @throws IOException If the server can't listen on the address
+	 */
+	public GameServer(InetSocketAddress address, int humanPlayersPerMatch, int AIPlayersPerMatch, long seed) throws IOException{
+		if(humanPlayersPerMatch < 1){
+			throw new IllegalArgumentException("humanPlayersPerMatch must be >= 1 humanPlayersPerMatch = "+humanPlayersPerMatch);
+		}
+		if(AIPlayersPerMatch < 0){
+			throw new IllegalArgumentException("AIPlayersPerMatch must be >= 0 AIPlayersPerMatch = "+AIPlayersPerMatch);
+		}
+		if(humanPlayersPerMatch + AIPlayersPerMatch < 2 || humanPlayersPerMatch + AIPlayersPerMatch > Byte.MAX_VALUE){
+			throw new IllegalArgumentException("A match must have between 2 and "+Byte.MAX_VALUE+" players");
+		}
+		this.humanPlayersPerMatch = humanPlayersPerMatch;
+		this.AIPlayersPerMatch = AIPlayersPerMatch;
+		random = new GameRandom(seed);
+		selector = Selector.open();
+		serverChannel = ServerSocketChannel.open();
+		try{
+			serverChannel.bind(address, 1024); // A long backlog, the load generator connects thousands of clients at once
+			serverChannel.configureBlocking(false);
+			serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+		}
+		catch(IOException e){
+			serverChannel.close();
+			selector.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Sets the size of the map of every match started from now on
+	 * @param plotRows The number of rows of plots
+	 * @param plotColumns The number of columns of plots
+	 */
+	public void setMapSize(int plotRows, int plotColumns){
+		if(plotRows <= 0 || plotColumns <= 0 || plotRows > Short.MAX_VALUE || plotColumns > Short.MAX_VALUE
+				|| plotRows * (long)plotColumns > NetworkProtocol.MAX_FRAME_LENGTH - 7){
+			throw new IllegalArgumentException("Invalid map size rows = "+plotRows+" columns = "+plotColumns);
+		}
+		this.plotRows = plotRows;
+		this.plotColumns = plotColumns;
+	}
+
+	/**
+	 * Gives the stages of every match started from now on a time limit, when it runs out the stage is played for the players who have
+	 * not finished it
+	 * @param stageTimeoutMillis The time that a human player has to finish each stage of the game (in milliseconds)
+	 */
+	public void setStageTimeout(long stageTimeoutMillis){
+		if(stageTimeoutMillis <= 0){
+			throw new IllegalArgumentException("stageTimeoutMillis must be > 0 stageTimeoutMillis = "+stageTimeoutMillis);
+		}
+		this.stageTimeoutMillis = stageTimeoutMillis;
+	}
+
+	/**
+	 * Plays every match started from now on as straight-line code on a thread of its own, instead of on the server's thread
+	 * @param matchRunner Runs the matches (and keeps count of them)
+	 * @param stageTimeoutMillis The time that a human player has to finish each stage of the game (in milliseconds)
+	 */
+	public void setMatchRunner(MatchRunner matchRunner, long stageTimeoutMillis){
+		if(matchRunner == null){
+			throw new IllegalArgumentException("matchRunner must not be null");
+		}
+		if(stageTimeoutMillis <= 0){
+			throw new IllegalArgumentException("stageTimeoutMillis must be > 0 stageTimeoutMillis = "+stageTimeoutMillis);
+		}
+		this.matchRunner = matchRunner;
+		this.stageTimeoutMillis = stageTimeoutMillis;
+	}
+
+	/**
+	 * Returns the port that the server is listening on
+	 * @return The port
+	 */
+	public int getPort(){
+		return serverChannel.socket().getLocalPort();
+	}
+
+	/**
+	 * Serves every connection until {@link GameServer#stop()} is called, then closes every connection
+	 */
+	@Override
+	public void run(){
+		if(!started.compareAndSet(false, true)){
+			throw new IllegalStateException("The server has already been run!");
+		}
+		try{
+			while(running){
+				if(stageTimer.isEmpty()){
+					selector.select();
+				}
+				else{
+					selector.select(STAGE_TIMER_TICK_MILLIS);
+				}
+				runTasks();
+				stageTimer.advanceTo(currentTimeMillis());
+				Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+				while(keys.hasNext()){
+					SelectionKey key = keys.next();
+					keys.remove();
+					if(!key.isValid()){
+						continue;
+					}
+					if(key.isAcceptable()){
+						acceptConnections();
+					}
+					else{
+						serve((Client)key.attachment(), key);
+					}
+				}
+			}
+			runTasks(); // Those handed over just before the server was stopped (e.g. the end of a threaded match)
+		}
+		catch(IOException e){
+			throw new IllegalStateException("The server's selector failed", e);
+		}
+		finally{
+			closeEverything();
+		}
+	}
+
+	/**
+	 * Returns the time used by the stage timer, which is never changed by adjustments to the system clock
+	 * @return The time (in milliseconds)
+	 */
+	private static long currentTimeMillis(){
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+	}
+
+	/**
+	 * Runs a task on the server's thread (called from any thread), waking the selector if it is not already going to wake
+	 * @param task The task
+	 */
+	private void execute(Runnable task){
+		tasks.add(task);
+		if(wakeupPending.compareAndSet(false, true)){
+			selector.wakeup();
+		}
+	}
+
+	/**
+	 * Runs every task that has been handed to the server's thread, then writes what they sent
+	 */
+	private void runTasks(){
+		wakeupPending.set(false); // Tasks added from now on wake the selector again
+		Runnable task;
+		while((task = tasks.poll()) != null){
+			task.run();
+		}
+		for(Client client : unflushedClients){
+			client.unflushed = false;
+			try{
+				flush(client);
+				if(client.leaving && client.channel.getPendingBytes() == 0){
+					disconnect(client);
+				}
+			}
+			catch(IOException e){
+				disconnect(client);
+			}
+		}
+		unflushedClients.clear();
+	}
+
+	/**
+	 * Queues a frame for a client (if it is still connected), it is written once the tasks have all been run
+	 * @param client The client or null
+	 * @param frame The frame
+	 */
+	private void sendTo(Client client, ByteBuffer frame){
+		if(client == null || !client.channel.getChannel().isOpen()){
+			return;
+		}
+		client.channel.send(frame);
+		if(!client.unflushed){
+			client.unflushed = true;
+			unflushedClients.add(client);
+		}
+	}
+
+	/**
+	 * Stops the server (from any thread), {@link GameServer#run()} returns soon afterwards
+	 */
+	public void stop(){
+		running = false;
+		selector.wakeup();
+	}
+
+	/**
+	 * Stops the server, if it was never run the server is closed straight away (otherwise {@link GameServer#run()} closes it)
+	 */
+	@Override
+	public void close(){
+		stop();
+		if(started.compareAndSet(false, true)){
+			closeEverything();
+		}
+	}
+
+	/**
+	 * Accepts every connection that is waiting
+	 * @throws IOException If the server can't accept connections
+	 */
+	private void acceptConnections() throws IOException{
+		SocketChannel socketChannel;
+		while((socketChannel = serverChannel.accept()) != null){
+			try{
+				socketChannel.socket().setTcpNoDelay(true); // The messages are small and players are waiting for the answers
+				new Client(socketChannel);
+				connections++;
+			}
+			catch(IOException e){
+				socketChannel.close();
+			}
+		}
+	}
+
+	/**
+	 * Reads from and writes to a client's connection (whichever it is ready for), disconnecting the client if anything goes wrong
+	 * @param client The client
+	 * @param key The client's selection key
+	 */
+	private void serve(Client client, SelectionKey key){
+		try{
+			if(key.isReadable() && client.channel.read(client) < 0){
+				disconnect(client);
+				return;
+			}
+			if(client.match != null){
+				flushMatch(client.match); // Anything that the client's messages caused to be sent to the other clients in the match
+			}
+			else{
+				flush(client);
+			}
+			if(client.leaving && client.channel.getPendingBytes() == 0){
+				disconnect(client);
+			}
+		}
+		catch(IOException | IllegalArgumentException e){
+			disconnect(client);
+		}
+	}
+
+	/**
+	 * Writes whatever can be written to a client, asking the selector to say when more can be written if not everything could be
+	 * @param client The client
+	 * @throws IOException If the client's connection fails
+	 */
+	private void flush(Client client) throws IOException{
+		if(!client.key.isValid()){
+			return;
+		}
+		if(client.channel.flush()){
+			client.key.interestOps(SelectionKey.OP_READ);
+		}
+		else if(client.channel.getPendingBytes() > MAX_PENDING_BYTES){
+			throw new IOException("The client has fallen too far behind");
+		}
+		else{
+			client.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+		}
+	}
+
+	/**
+	 * Writes whatever can be written to every client in a match, disconnecting clients whose connections fail
+	 * @param match The match
+	 */
+	private void flushMatch(ServerMatch match){
+		FramedChannel[] channels = match.getChannels();
+		for(int playerNumber = 0; playerNumber < channels.length; playerNumber++){
+			if(channels[playerNumber] != null && channels[playerNumber].getChannel().isOpen()){
+				Client client = (Client)channels[playerNumber].getChannel().keyFor(selector).attachment();
+				try{
+					flush(client);
+				}
+				catch(IOException e){
+					disconnect(client);
+				}
+			}
+		}
+		if(match.isFinished()){
+			endMatch(match);
+		}
+	}
+
+	/**
+	 * Starts a match for the clients that are waiting
+	 */
+	private void startMatch(){
+		if(matchRunner != null){
+			startThreadedMatch();
+			return;
+		}
+		FramedChannel[] channels = new FramedChannel[waitingClients.size()];
+		for(int playerNumber = 0; playerNumber < channels.length; playerNumber++){
+			channels[playerNumber] = waitingClients.get(playerNumber).channel;
+		}
+		final ServerMatch match = new ServerMatch(channels, AIPlayersPerMatch, plotRows, plotColumns, random.split());
+		if(stageTimeoutMillis > 0){
+			match.setStageTimer(stageTimer, stageTimeoutMillis, new Runnable(){
+				@Override
+				public void run(){
+					flushMatch(match); // Write what the match sent when it moved on (ending the match if it is over)
+				}
+			});
+		}
+		for(int playerNumber = 0; playerNumber < channels.length; playerNumber++){
+			Client client = waitingClients.get(playerNumber);
+			client.match = match;
+			client.playerNumber = playerNumber;
+		}
+		waitingClients.clear();
+		matches.add(match);
+		matchesStarted++;
+		match.start();
+	}
+
+	/**
+	 * Starts a match for the clients that are waiting on a thread of its own
+	 */
+	private void startThreadedMatch(){
+		Client[] clients = waitingClients.toArray(new Client[waitingClients.size()]);
+		final ThreadedMatch threadedMatch = new ThreadedMatch(clients);
+		threadedMatch.match = new BlockingMatch(threadedMatch, matchRunner, clients.length, AIPlayersPerMatch,
+				CreatePlots.createPlots(plotRows, plotColumns, random.split()), stageTimeoutMillis);
+		for(int playerNumber = 0; playerNumber < clients.length; playerNumber++){
+			clients[playerNumber].threadedMatch = threadedMatch;
+			clients[playerNumber].playerNumber = playerNumber;
+		}
+		waitingClients.clear();
+		threadedMatches.add(threadedMatch);
+		matchesStarted++;
+		matchRunner.start(new Runnable(){
+			@Override
+			public void run(){
+				try{
+					threadedMatch.match.run();
+				}
+				finally{
+					execute(new Runnable(){ // After every task that sends the match's messages
+						@Override
+						public void run(){
+							endThreadedMatch(threadedMatch);
+						}
+					});
+				}
+			}
+		});
+	}
+
+	/**
+	 * Closes the connections of the clients in a match that was played on a thread of its own and is over (once everything that they
+	 * were sent has been written)
+	 * @param threadedMatch The match
+	 */
+	private void endThreadedMatch(ThreadedMatch threadedMatch){
+		if(!threadedMatches.remove(threadedMatch)){
+			return;
+		}
+		matchesFinished++;
+		for(Client client : threadedMatch.clients){
+			if(client.channel.getChannel().isOpen()){
+				client.threadedMatch = null;
+				client.leaving = true;
+				if(client.channel.getPendingBytes() == 0){
+					disconnect(client);
+				}
+				// Otherwise the client is disconnected once it has been sent the end of the match (see runTasks and serve)
+			}
+		}
+	}
+
+	/**
+	 * Closes the connections of the clients in a match that is over (once everything that they were sent has been written)
+	 * @param match The match
+	 */
+	private void endMatch(ServerMatch match){
+		if(!matches.remove(match)){
+			return; // Already ended
+		}
+		matchesFinished++;
+		for(FramedChannel channel : match.getChannels()){
+			if(channel != null && channel.getChannel().isOpen()){
+				Client client = (Client)channel.getChannel().keyFor(selector).attachment();
+				client.match = null;
+				client.leaving = true;
+				if(channel.getPendingBytes() == 0){
+					disconnect(client);
+				}
+				// Otherwise the client is disconnected once it has been sent the end of the match (see serve)
+			}
+		}
+	}
+
+	/**
+	 * Closes a client's connection, if it was playing in a match its player is played for from now on
+	 * @param client The client
+	 */
+	private void disconnect(Client client){
+		if(!client.channel.getChannel().isOpen()){
+			return;
+		}
+		connections--;
+		waitingClients.remove(client);
+		client.key.cancel();
+		try{
+			client.channel.close();
+		}
+		catch(IOException e){
+			// The connection is being thrown away anyway
+		}
+		ServerMatch match = client.match;
+		if(match != null){
+			client.match = null;
+			match.playerLeft(client.playerNumber);
+			flushMatch(match);
+		}
+		ThreadedMatch threadedMatch = client.threadedMatch;
+		if(threadedMatch != null){
+			client.threadedMatch = null;
+			threadedMatch.match.playerLeft(client.playerNumber);
+		}
+	}
+
+	/**
+	 * Closes every connection and the server itself
+	 */
+	private void closeEverything(){
+		for(ThreadedMatch threadedMatch : threadedMatches){ // So that their threads stop waiting for the players
+			for(int playerNumber = 0; playerNumber < threadedMatch.clients.length; playerNumber++){
+				threadedMatch.match.playerLeft(playerNumber);
+			}
+		}
+		for(SelectionKey key : selector.keys()){
+			try{
+				key.channel().close();
+			}
+			catch(IOException e){
+				// Nothing more can be done with the channel
+			}
+		}
+		try{
+			selector.close();
+		}
+		catch(IOException e){
+			// Nothing more can be done with the selector
+		}
+		connections = 0;
+	}
+
+	/**
+	 * Returns the number of stage time limits that are waiting to run out (only safe to call from the server's thread or once the server
+	 * has stopped)
+	 * @return The number of time limits
+	 */
+	public int getNumberOfStageTimeouts(){
+		return stageTimer.size();
+	}
+
+	/**
+	 * Returns the number of clients that are connected
+	 * @return The number of connections
+	 */
+	public int getNumberOfConnections(){
+		return connections;
+	}
+
+	/**
+	 * Returns the number of matches that are being played (only safe to call from the server's thread or once the server has stopped)
+	 * @return The number of matches being played
+	 */
+	public int getNumberOfMatches(){
+		return matches.size() + threadedMatches.size();
+	}
+
+	/**
+	 * Returns the number of matches that have been started
+	 * @return The number of matches started
+	 */
+	public int getMatchesStarted(){
+		return matchesStarted;
+	}
+
+	/**
+	 * Returns the number of matches that are over (or were abandoned by every client)
+	 * @return The number of matches finished
+	 */
+	public int getMatchesFinished(){
+		return matchesFinished;
+	}
+
+	/**
+	 * Returns the number of messages that clients have sent
+	 * @return The number of messages received
+	 */
+	public long getMessagesReceived(){
+		return messagesReceived;
+	}
+
+	/**
+	 * Runs a server until the process is killed
+	 * @param args Optionally the port to listen on followed by the number of human players per match, the number of AI players per match,
+	 * the number of rows of plots, the number of columns of plots, the number of seconds that a player has to finish each stage and
+	 * "threaded" to play every match on a thread of its own
+	 * @throws IOException If the server can't listen on the port
+	 */
+	public static void main(String[] args) throws IOException{
+		int port = (args.length > 0) ? Integer.parseInt(args[0]) : NetworkProtocol.DEFAULT_PORT;
+		int humanPlayers = (args.length > 1) ? Integer.parseInt(args[1]) : 2;
+		int AIPlayers = (args.length > 2) ? Integer.parseInt(args[2]) : 0;
+		GameServer server = new GameServer(new InetSocketAddress(port), humanPlayers, AIPlayers, new GameRandom().getSeed());
+		if(args.length > 4){
+			server.setMapSize(Integer.parseInt(args[3]), Integer.parseInt(args[4]));
+		}
+		if(args.length > 5){
+			long stageTimeoutMillis = Long.parseLong(args[5]) * 1000;
+			if(args.length > 6 && args[6].equals("threaded")){
+				MatchRunner runner = new MatchRunner();
+				server.setMatchRunner(runner, stageTimeoutMillis);
+				System.out.println("Playing each match on its own "+(runner.isUsingVirtualThreads() ? "virtual" : "platform")+" thread");
+			}
+			else{
+				server.setStageTimeout(stageTimeoutMillis);
+			}
+		}
+		System.out.println("Listening on port "+server.getPort()+" ("+humanPlayers+" human and "+AIPlayers+" AI players per match)");
+		server.run();
+	}
+}
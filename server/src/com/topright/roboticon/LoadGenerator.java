@@ -0,0 +1,464 @@
+package com.topright.roboticon;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens thousands of simulated clients against a single {@link GameServer} and plays every one of their matches to the end, reporting
+ * how long the server takes to answer
+ * <p>
+ * Every simulated client speaks the {@link NetworkProtocol} over its own connection, but all of them are served by a single thread
+ * (using a Selector, like the server) so that thousands of them can be run on one machine. Each client acquires the first free plot that
+ * it knows about, buys and customises a roboticon whenever it can afford one, places its roboticons and sells all of its ore and energy
+ * to the market. The time from a client asking for a plot to it hearing that the plot was acquired is recorded as the server's latency.
+ * </p>
+ */
+public class LoadGenerator {
+	static final int MAX_PENDING_CONNECTIONS = 256; // Connections that are opened but not yet accepted, so the server's backlog never overflows
+
+	private final InetSocketAddress serverAddress;
+	private final int numberOfClients;
+
+	/**
+	 * A simulated client
+	 */
+	private static final class SimulatedClient implements ServerMessageHandler, FramedChannel.FrameHandler {
+		private final Results results;
+		private FramedChannel channel = null; // null until the client is connected
+		private int playerNumber = -1;
+		private boolean[][] acquired = null;
+		private boolean[][] mine = null; // Plots that this client's player owns that do not have a roboticon on them
+		private int[] roboticons = new int[RoboticonCustomisation.values().length];
+		private int ore = 0;
+		private int energy = 0;
+		private int money = 0;
+		private int uncustomisedRoboticonCost = Integer.MAX_VALUE; // Worked out from the first purchase
+		private long acquisitionSentTime = 0; // When the client asked for a plot (0 if it is not waiting for one)
+		private boolean finished = false; // true once the match is over or the connection has failed
+
+		/**
+		 * Constructor
+		 * @param results The results that the client records its latencies in
+		 */
+		SimulatedClient(Results results){
+			this.results = results;
+		}
+
+		/**
+		 * Sends a frame to the server
+		 * @param frame The frame
+		 */
+		private void send(ByteBuffer frame){
+			channel.send(frame);
+			results.messagesSent++;
+		}
+
+		@Override
+		public void handleFrame(ByteBuffer frame){
+			results.messagesReceived++;
+			NetworkProtocol.dispatch(frame, this);
+		}
+
+		@Override
+		public void matchStarted(int playerNumber, int numberOfPlayers, PlotSpecialism[][] specialisms){
+			this.playerNumber = playerNumber;
+			acquired = new boolean[specialisms.length][specialisms[0].length];
+			mine = new boolean[specialisms.length][specialisms[0].length];
+		}
+
+		@Override
+		public void stage(GamePhase phase, int stagePlayerNumber, int roundNumber){
+			if(stagePlayerNumber != playerNumber && stagePlayerNumber != NetworkProtocol.ALL_PLAYERS){
+				return; // Another player's turn
+			}
+			switch(phase){
+			case PLOTACQUISITION:
+				acquireFirstFreePlot();
+				break;
+			case BUYINGROBOTICONS:
+				if(money >= uncustomisedRoboticonCost || uncustomisedRoboticonCost == Integer.MAX_VALUE){
+					send(NetworkProtocol.buyRoboticons(1)); // May be rejected if the market has run out
+				}
+				send(NetworkProtocol.finished(GameEvents.FINISHEDBUYINGROBOTICONS));
+				break;
+			case CUSTOMISINGROBOTICONS:
+				if(roboticons[RoboticonCustomisation.UNCUSTOMISED.ordinal()] > 0){
+					send(NetworkProtocol.customiseRoboticon(roundNumber % 2 == 0 ? RoboticonCustomisation.ORE : RoboticonCustomisation.ENERGY));
+				}
+				send(NetworkProtocol.finished(GameEvents.FINISHEDCUSTOMISINGROBOTICONS));
+				break;
+			case PLACINGROBOTICONS:
+				placeRoboticons();
+				send(NetworkProtocol.finished(GameEvents.FINISHEDPLACINGROBOTICONS));
+				break;
+			case PRODUCTION:
+				break;
+			case MARKET:
+				if(ore > 0){
+					send(NetworkProtocol.sellResource(PlotSpecialism.ORE, ore));
+				}
+				if(energy > 0){
+					send(NetworkProtocol.sellResource(PlotSpecialism.ENERGY, energy));
+				}
+				send(NetworkProtocol.finished(GameEvents.FINISHEDWITHTHEMARKET));
+				break;
+			default:
+				throw new IllegalArgumentException("Unexpected stage "+phase);
+			}
+		}
+
+		/**
+		 * Asks for the first plot that the client doesn't know to have been acquired
+		 */
+		private void acquireFirstFreePlot(){
+			for(int row = 0; row < acquired.length; row++){
+				for(int column = 0; column < acquired[row].length; column++){
+					if(!acquired[row][column]){
+						acquisitionSentTime = System.nanoTime();
+						send(NetworkProtocol.acquirePlot(row, column));
+						return;
+					}
+				}
+			}
+		}
+
+		/**
+		 * Places every customised roboticon that the client's player has on the plots that it owns (while there is room)
+		 */
+		private void placeRoboticons(){
+			int oreRoboticons = roboticons[RoboticonCustomisation.ORE.ordinal()];
+			int energyRoboticons = roboticons[RoboticonCustomisation.ENERGY.ordinal()];
+			for(int row = 0; row < mine.length; row++){
+				for(int column = 0; column < mine[row].length && oreRoboticons + energyRoboticons > 0; column++){
+					if(mine[row][column]){
+						mine[row][column] = false;
+						if(oreRoboticons > 0){
+							oreRoboticons--;
+							send(NetworkProtocol.placeRoboticon(row, column, RoboticonCustomisation.ORE));
+						}
+						else{
+							energyRoboticons--;
+							send(NetworkProtocol.placeRoboticon(row, column, RoboticonCustomisation.ENERGY));
+						}
+					}
+				}
+			}
+		}
+
+		@Override
+		public void plotAcquired(int acquiringPlayerNumber, int row, int column){
+			acquired[row][column] = true;
+			if(acquiringPlayerNumber == playerNumber){
+				mine[row][column] = true;
+				recordAcquisition();
+			}
+		}
+
+		/**
+		 * Records how long the server took to answer the client's request for a plot
+		 */
+		private void recordAcquisition(){
+			if(acquisitionSentTime != 0){
+				results.recordLatency(System.nanoTime() - acquisitionSentTime);
+				acquisitionSentTime = 0;
+			}
+		}
+
+		@Override
+		public void roboticonPlaced(int placingPlayerNumber, int row, int column, RoboticonCustomisation customisation){
+			if(placingPlayerNumber == playerNumber){
+				mine[row][column] = false;
+			}
+		}
+
+		@Override
+		public void inventory(int inventoryPlayerNumber, int newOre, int newEnergy, int newMoney, int[] newRoboticons){
+			if(inventoryPlayerNumber != playerNumber){
+				return;
+			}
+			if(newRoboticons[RoboticonCustomisation.UNCUSTOMISED.ordinal()] > roboticons[RoboticonCustomisation.UNCUSTOMISED.ordinal()] && newMoney < money){
+				uncustomisedRoboticonCost = money - newMoney; // Only ever buys one at a time
+			}
+			ore = newOre;
+			energy = newEnergy;
+			money = newMoney;
+			roboticons = newRoboticons;
+		}
+
+		@Override
+		public void market(int marketOre, int marketEnergy, int marketRoboticons){
+		}
+
+		@Override
+		public void rejected(int messageType){
+			results.rejectedMessages++;
+			if(messageType == NetworkProtocol.ACQUIRE_PLOT){
+				acquisitionSentTime = 0;
+			}
+		}
+
+		@Override
+		public void gameOver(int[] scores){
+			results.matchesCompleted++;
+			finished = true;
+		}
+	}
+
+	/**
+	 * What happened during a run of the load generator
+	 */
+	public static final class Results {
+		private int clientsConnected = 0;
+		private int matchesCompleted = 0; // Counted once for every client whose match finished
+		private int connectionsFailed = 0;
+		private long messagesSent = 0;
+		private long messagesReceived = 0;
+		private int rejectedMessages = 0;
+		private long[] latencies = new long[1024];
+		private int numberOfLatencies = 0;
+		private long elapsedNanos = 0;
+
+		/**
+		 * Records how long the server took to answer a request
+		 * @param latency The time taken (in nanoseconds)
+		 */
+		private void recordLatency(long latency){
+			if(numberOfLatencies == latencies.length){
+				latencies = Arrays.copyOf(latencies, latencies.length * 2);
+			}
+			latencies[numberOfLatencies++] = latency;
+		}
+
+		/**
+		 * Returns the number of clients that connected to the server
+		 * @return The number of clients connected
+		 */
+		public int getClientsConnected(){
+			return clientsConnected;
+		}
+
+		/**
+		 * Returns the number of clients whose match was played to the end
+		 * @return The number of clients that completed a match
+		 */
+		public int getMatchesCompleted(){
+			return matchesCompleted;
+		}
+
+		/**
+		 * Returns the number of clients whose connection failed (or was closed by the server before their match was over)
+		 * @return The number of connections that failed
+		 */
+		public int getConnectionsFailed(){
+			return connectionsFailed;
+		}
+
+		/**
+		 * Returns the number of messages sent by every client
+		 * @return The number of messages sent
+		 */
+		public long getMessagesSent(){
+			return messagesSent;
+		}
+
+		/**
+		 * Returns the number of messages received by every client
+		 * @return The number of messages received
+		 */
+		public long getMessagesReceived(){
+			return messagesReceived;
+		}
+
+		/**
+		 * Returns the number of messages that the server did not carry out
+		 * @return The number of rejected messages
+		 */
+		public int getRejectedMessages(){
+			return rejectedMessages;
+		}
+
+		/**
+		 * Returns the number of latencies that were recorded (one for every plot acquired by a client)
+		 * @return The number of latencies recorded
+		 */
+		public int getNumberOfLatencies(){
+			return numberOfLatencies;
+		}
+
+		/**
+		 * Returns the given percentile of the recorded latencies
+		 * @param percentile The percentile (between 0 and 100)
+		 * @return The latency (in nanoseconds) or 0 if no latencies were recorded
+		 */
+		public long getLatencyPercentile(double percentile){
+			if(percentile < 0 || percentile > 100){
+				throw new IllegalArgumentException("percentile must be between 0 and 100 percentile = "+percentile);
+			}
+			if(numberOfLatencies == 0){
+				return 0;
+			}
+			long[] sorted = Arrays.copyOf(latencies, numberOfLatencies);
+			Arrays.sort(sorted);
+			return sorted[(int)Math.min(sorted.length - 1, Math.floor(percentile / 100 * sorted.length))];
+		}
+
+		/**
+		 * Returns how long the run took
+		 * @return The time taken (in nanoseconds)
+		 */
+		public long getElapsedNanos(){
+			return elapsedNanos;
+		}
+	}
+
+	/**
+	 * Constructor
+	 * @param serverAddress The address of the server
+	 * @param numberOfClients The number of simulated clients to open
+	 */
+	public LoadGenerator(InetSocketAddress serverAddress, int numberOfClients){
+		if(serverAddress == null){
+			throw new IllegalArgumentException("serverAddress must not be null");
+		}
+		if(numberOfClients < 1){
+			throw new IllegalArgumentException("numberOfClients must be >= 1 numberOfClients = "+numberOfClients);
+		}
+		this.serverAddress = serverAddress;
+		this.numberOfClients = numberOfClients;
+	}
+
+	/**
+	 * Connects every client and plays until every client's match is over (or the time runs out), then closes every connection
+	 * @param timeout The longest that the run may take
+	 * @param unit The unit of the timeout
+	 * @return What happened during the run
+	 * @throws IOException If the selector fails
+	 */
+	public Results run(long timeout, TimeUnit unit) throws IOException{
+		Results results = new Results();
+		long startTime = System.nanoTime();
+		long deadline = startTime + unit.toNanos(timeout);
+		int clientsOpened = 0;
+		int pendingConnections = 0;
+		int clientsFinished = 0;
+		try(Selector selector = Selector.open()){
+			while(clientsFinished < numberOfClients && System.nanoTime() < deadline){
+				while(clientsOpened < numberOfClients && pendingConnections < MAX_PENDING_CONNECTIONS){
+					SocketChannel socketChannel = SocketChannel.open();
+					socketChannel.configureBlocking(false);
+					socketChannel.connect(serverAddress);
+					socketChannel.register(selector, SelectionKey.OP_CONNECT, new SimulatedClient(results));
+					clientsOpened++;
+					pendingConnections++;
+				}
+				selector.select(100);
+				Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+				while(keys.hasNext()){
+					SelectionKey key = keys.next();
+					keys.remove();
+					SimulatedClient client = (SimulatedClient)key.attachment();
+					try{
+						if(key.isConnectable()){
+							pendingConnections--;
+							connect(client, key);
+							results.clientsConnected++;
+						}
+						else if(key.isReadable() && client.channel.read(client) < 0 && !client.finished){
+							throw new IOException("The server closed the connection before the match was over");
+						}
+						if(client.finished){
+							clientsFinished++;
+							key.cancel();
+							key.channel().close();
+						}
+						else{
+							key.interestOps(client.channel.flush() ? SelectionKey.OP_READ : SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+						}
+					}
+					catch(IOException | IllegalArgumentException e){
+						results.connectionsFailed++;
+						clientsFinished++;
+						key.cancel();
+						key.channel().close();
+					}
+				}
+			}
+			for(SelectionKey key : selector.keys()){
+				key.channel().close(); // Clients that did not finish in time
+			}
+		}
+		results.elapsedNanos = System.nanoTime() - startTime;
+		return results;
+	}
+
+	/**
+	 * Finishes connecting a client and asks the server for a match
+	 * @param client The client
+	 * @param key The client's selection key
+	 * @throws IOException If the connection could not be made
+	 */
+	private static void connect(SimulatedClient client, SelectionKey key) throws IOException{
+		SocketChannel socketChannel = (SocketChannel)key.channel();
+		socketChannel.finishConnect();
+		socketChannel.socket().setTcpNoDelay(true);
+		client.channel = new FramedChannel(socketChannel);
+		client.send(NetworkProtocol.join());
+	}
+
+	/**
+	 * Runs the load generator and prints the results, if no host is given a server is started in this process (with 2 human players
+	 * per match)
+	 * @param args Optionally the number of clients followed by the host and port of the server (or "threaded" to start a server in this
+	 * process that plays each match on a thread of its own, see {@link MatchRunner})
+	 * @throws IOException If the server can't be started or the selector fails
+	 * @throws InterruptedException If interrupted while waiting for the local server to stop
+	 */
+	public static void main(String[] args) throws IOException, InterruptedException{
+		int numberOfClients = (args.length > 0) ? Integer.parseInt(args[0]) : 2000;
+		GameServer localServer = null;
+		Thread serverThread = null;
+		MatchRunner matchRunner = null;
+		InetSocketAddress address;
+		if(args.length > 1 && !args[1].equals("threaded")){
+			address = new InetSocketAddress(args[1], (args.length > 2) ? Integer.parseInt(args[2]) : NetworkProtocol.DEFAULT_PORT);
+		}
+		else{
+			localServer = new GameServer(new InetSocketAddress("127.0.0.1", 0), 2, 0, new GameRandom().getSeed());
+			if(args.length > 1){
+				matchRunner = new MatchRunner();
+				localServer.setMatchRunner(matchRunner, TimeUnit.MINUTES.toMillis(1));
+			}
+			address = new InetSocketAddress("127.0.0.1", localServer.getPort());
+			serverThread = new Thread(localServer, "GameServer");
+			serverThread.start();
+		}
+
+		Results results = new LoadGenerator(address, numberOfClients).run(10, TimeUnit.MINUTES);
+		double seconds = results.getElapsedNanos()/1e9;
+		System.out.println("Clients connected: "+results.getClientsConnected()+" of "+numberOfClients+" in "+String.format("%.3f", seconds)+"s");
+		System.out.println("Clients that completed a match: "+results.getMatchesCompleted()+" Connections failed: "+results.getConnectionsFailed());
+		System.out.println("Messages sent: "+results.getMessagesSent()+" received: "+results.getMessagesReceived()+" ("
+				+String.format("%.0f", (results.getMessagesSent() + results.getMessagesReceived())/seconds)+" per second) rejected: "+results.getRejectedMessages());
+		System.out.println("Plot acquisition latency (microseconds): median "+String.format("%.1f", results.getLatencyPercentile(50)/1000.0)
+				+" 99th percentile "+String.format("%.1f", results.getLatencyPercentile(99)/1000.0)+" max "+String.format("%.1f", results.getLatencyPercentile(100)/1000.0));
+
+		if(localServer != null){
+			localServer.stop();
+			serverThread.join();
+			System.out.println("Server: matches started "+localServer.getMatchesStarted()+" finished "+localServer.getMatchesFinished()
+					+" messages received "+localServer.getMessagesReceived());
+		}
+		if(matchRunner != null){
+			System.out.println("Match threads ("+(matchRunner.isUsingVirtualThreads() ? "virtual" : "platform")+"): active "
+					+matchRunner.getActiveMatches()+" failed "+matchRunner.getMatchesFailed()+" scheduler latency (microseconds): mean "
+					+String.format("%.1f", matchRunner.getMeanSchedulerLatency()/1000.0)+" max "+String.format("%.1f", matchRunner.getMaxSchedulerLatency()/1000.0));
+		}
+	}
+}
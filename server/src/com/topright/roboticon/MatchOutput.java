@@ -0,0 +1,25 @@
+package com.topright.roboticon;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Where a match hosted by the {@link GameServer} sends the messages of the {@link NetworkProtocol} that tell the clients about it
+ * <p>
+ * Frames are never changed once they have been sent, so the same frame can be sent to many clients.
+ * </p>
+ */
+interface MatchOutput {
+
+	/**
+	 * Sends a frame to the client of a player (does nothing for AI players and players whose client has left)
+	 * @param playerNumber The number of the player
+	 * @param frame The frame
+	 */
+	public void send(int playerNumber, ByteBuffer frame);
+
+	/**
+	 * Sends a frame to the client of every player
+	 * @param frame The frame
+	 */
+	public void broadcast(ByteBuffer frame);
+}
@@ -0,0 +1,256 @@
+package com.topright.roboticon;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs every match on its own thread, so that a match can be written as straight-line code that blocks while it waits for its players
+ * (see {@link BlockingMatch})
+ * <p>
+ * Virtual threads are used when the JVM has them (Java 21 onwards): a virtual thread that is blocked waiting for a player or for a
+ * stage's time to run out does not hold on to a platform thread, so thousands of matches can wait at once. The game is built for
+ * Java 8, so virtual threads are looked up when the runner is created; on older JVMs daemon platform threads with small stacks are used
+ * instead. The threads only ever block on java.util.concurrent locks (never in synchronized blocks), so virtual threads are never pinned
+ * to their platform threads.
+ * </p>
+ * <p>
+ * The runner publishes the number of active matches and the scheduler latency: the time from a match being able to run (it was
+ * started, a message arrived for it or the time given to a stage ran out) to its thread actually running. Every method may be called
+ * from any thread.
+ * </p>
+ */
+public final class MatchRunner {
+	static final long PLATFORM_THREAD_STACK_SIZE = 256 * 1024; // Matches only need shallow stacks
+
+	private final ThreadFactory threadFactory;
+	private final boolean usingVirtualThreads;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition idle = lock.newCondition();
+	private int activeMatches = 0; // Guarded by lock
+	private final AtomicLong matchesStarted = new AtomicLong();
+	private final AtomicLong matchesFinished = new AtomicLong();
+	private final AtomicLong matchesFailed = new AtomicLong();
+
+	private final AtomicLong schedulerLatencyCount = new AtomicLong();
+	private final AtomicLong schedulerLatencyTotal = new AtomicLong(); // In nanoseconds
+	private final AtomicLong maxSchedulerLatency = new AtomicLong(); // In nanoseconds
+
+	/**
+	 * Creates the threads that run matches on JVMs that don't have virtual threads
+	 */
+	private static final class PlatformThreadFactory implements ThreadFactory {
+		private final AtomicInteger threadsCreated = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable match){
+			Thread thread = new Thread(null, match, "match-"+threadsCreated.getAndIncrement(), PLATFORM_THREAD_STACK_SIZE);
+			thread.setDaemon(true); // A match that is still waiting for its players must not keep the server running
+			return thread;
+		}
+	}
+
+	/**
+	 * Constructor, uses virtual threads if the JVM has them
+	 */
+	public MatchRunner(){
+		ThreadFactory virtualThreadFactory = createVirtualThreadFactory();
+		usingVirtualThreads = virtualThreadFactory != null;
+		threadFactory = usingVirtualThreads ? virtualThreadFactory : new PlatformThreadFactory();
+	}
+
+	/**
+	 * Constructor
+	 * @param threadFactory Creates the thread that runs each match
+	 */
+	MatchRunner(ThreadFactory threadFactory){
+		if(threadFactory == null){
+			throw new IllegalArgumentException("threadFactory must not be null");
+		}
+		this.threadFactory = threadFactory;
+		usingVirtualThreads = false;
+	}
+
+	/**
+	 * Returns a factory for virtual threads named match-0, match-1... or null if the JVM doesn't have virtual threads
+	 * @return The factory or null
+	 */
+	private static ThreadFactory createVirtualThreadFactory(){
+		try{
+			Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+			Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+			Method name = builderClass.getMethod("name", String.class, long.class);
+			builder = name.invoke(builder, "match-", 0L);
+			return (ThreadFactory)builderClass.getMethod("factory").invoke(builder);
+		}
+		catch(ReflectiveOperationException | RuntimeException e){
+			return null; // Before Java 21 (or a preview feature that hasn't been enabled)
+		}
+	}
+
+	/**
+	 * Returns true if the matches are run on virtual threads
+	 * @return true if virtual threads are used
+	 */
+	public boolean isUsingVirtualThreads(){
+		return usingVirtualThreads;
+	}
+
+	/**
+	 * Starts running a match on its own thread
+	 * @param match The match
+	 */
+	public void start(final Runnable match){
+		if(match == null){
+			throw new IllegalArgumentException("match must not be null");
+		}
+		final long startTime = System.nanoTime();
+		Thread thread = threadFactory.newThread(new Runnable(){
+			@Override
+			public void run(){
+				recordSchedulerLatency(System.nanoTime() - startTime);
+				try{
+					match.run();
+				}
+				catch(RuntimeException | Error e){
+					matchesFailed.incrementAndGet();
+					throw e; // Reported by the thread's uncaught exception handler
+				}
+				finally{
+					matchFinished();
+				}
+			}
+		});
+		lock.lock();
+		try{
+			activeMatches++;
+		}
+		finally{
+			lock.unlock();
+		}
+		matchesStarted.incrementAndGet();
+		thread.start();
+	}
+
+	/**
+	 * Called on a match's thread when the match is over
+	 */
+	private void matchFinished(){
+		matchesFinished.incrementAndGet();
+		lock.lock();
+		try{
+			activeMatches--;
+			if(activeMatches == 0){
+				idle.signalAll();
+			}
+		}
+		finally{
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Records how long a match that was able to run waited for its thread to run
+	 * @param latency The time waited (in nanoseconds)
+	 */
+	void recordSchedulerLatency(long latency){
+		schedulerLatencyCount.incrementAndGet();
+		schedulerLatencyTotal.addAndGet(latency);
+		long max = maxSchedulerLatency.get();
+		while(latency > max && !maxSchedulerLatency.compareAndSet(max, latency)){
+			max = maxSchedulerLatency.get();
+		}
+	}
+
+	/**
+	 * Waits until no matches are running
+	 * @param timeout The longest time to wait
+	 * @param unit The unit of the timeout
+	 * @return true if no matches are running, false if the time ran out first
+	 * @throws InterruptedException If interrupted while waiting
+	 */
+	public boolean awaitIdle(long timeout, TimeUnit unit) throws InterruptedException{
+		long remaining = unit.toNanos(timeout);
+		lock.lock();
+		try{
+			while(activeMatches > 0){
+				if(remaining <= 0){
+					return false;
+				}
+				remaining = idle.awaitNanos(remaining);
+			}
+			return true;
+		}
+		finally{
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the number of matches that are running
+	 * @return The number of active matches
+	 */
+	public int getActiveMatches(){
+		lock.lock();
+		try{
+			return activeMatches;
+		}
+		finally{
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the number of matches that have been started
+	 * @return The number of matches started
+	 */
+	public long getMatchesStarted(){
+		return matchesStarted.get();
+	}
+
+	/**
+	 * Returns the number of matches that have finished (including those that failed)
+	 * @return The number of matches finished
+	 */
+	public long getMatchesFinished(){
+		return matchesFinished.get();
+	}
+
+	/**
+	 * Returns the number of matches that ended with an exception
+	 * @return The number of matches that failed
+	 */
+	public long getMatchesFailed(){
+		return matchesFailed.get();
+	}
+
+	/**
+	 * Returns the number of scheduler latencies that have been recorded
+	 * @return The number of latencies recorded
+	 */
+	public long getSchedulerLatencyCount(){
+		return schedulerLatencyCount.get();
+	}
+
+	/**
+	 * Returns the mean scheduler latency
+	 * @return The mean latency (in nanoseconds) or 0 if none have been recorded
+	 */
+	public long getMeanSchedulerLatency(){
+		long count = schedulerLatencyCount.get();
+		return (count == 0) ? 0 : schedulerLatencyTotal.get() / count;
+	}
+
+	/**
+	 * Returns the longest scheduler latency
+	 * @return The longest latency (in nanoseconds)
+	 */
+	public long getMaxSchedulerLatency(){
+		return maxSchedulerLatency.get();
+	}
+}
@@ -0,0 +1,556 @@
+package com.topright.roboticon;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+
+/**
+ * A single match hosted by the {@link GameServer}: runs the rules of the game with a {@link GameEngine} and keeps the clients of the human
+ * players up to date
+ * <p>
+ * The human players are ordinary {@link Player} objects (so the engine waits for them in the same way as for the human player of a local
+ * game), their clients' messages are carried out by this class on their behalf. Every change to the plots is sent to every client as it
+ * happens (the plots are wrapped in a {@link BroadcastingPlotGrid}), inventories and the market's stock are sent whenever they may
+ * have changed, and the stage that the match is in is sent whenever a human player must act.
+ * </p>
+ * <p>
+ * A player whose client has left is played for: they acquire the first plot that is free and finish every other stage straight away,
+ * so the other players are never left waiting. A ServerMatch is only used by the server's thread.
+ * </p>
+ * <p>
+ * The stages can be given a time limit (see {@link ServerMatch#setStageTimer(TimingWheel, long, Runnable)}), when it runs out the stage
+ * is played for the players who have not finished it. The server shares one {@link TimingWheel} between every match, so each stage only
+ * costs an O(1) schedule and cancel.
+ * </p>
+ */
+final class ServerMatch implements GameEngineListener, MatchOutput {
+	static final int STARTING_MONEY = 30;
+	static final int MARKET_STARTING_ENERGY = 16;
+	static final int MARKET_STARTING_ROBOTICONS = 12;
+
+	private final FramedChannel[] channels; // Indexed by player number, null for AI players and players whose client has left
+	private final List<Player> players;
+	private final Market market;
+	private final BroadcastingPlotGrid plotGrid;
+	private final GameEngine gameEngine;
+	private final boolean[] finishedWithMarket; // Indexed by player number, the human players who have finished the current market stage
+	private int connectedPlayers;
+	private TimingWheel stageTimer = null; // null if the stages have no time limit
+	private long stageTimeoutMillis = 0;
+	private Runnable afterStageTimeout = null;
+	private TimingWheel.Timeout stageTimeout = null; // Runs out at the end of the time given to the current stage
+
+	/**
+	 * Constructor, the human players take the first turns (in the order that their clients joined) followed by the AI players
+	 * @param channels The channels to the clients of the human players
+	 * @param numberOfAIPlayers The number of AI players in the match
+	 * @param rows The number of rows of plots on the map
+	 * @param columns The number of columns of plots on the map
+	 * @param random Used to choose the specialisms of the plots
+	 */
+	ServerMatch(FramedChannel[] channels, int numberOfAIPlayers, int rows, int columns, GameRandom random){
+		if(channels.length == 0){
+			throw new IllegalArgumentException("A match needs at least one human player");
+		}
+		if(numberOfAIPlayers < 0){
+			throw new IllegalArgumentException("numberOfAIPlayers must be >= 0 numberOfAIPlayers = "+numberOfAIPlayers);
+		}
+		this.channels = Arrays.copyOf(channels, channels.length + numberOfAIPlayers);
+		connectedPlayers = channels.length;
+		market = new Market(new MarketInventory(0, MARKET_STARTING_ENERGY, MARKET_STARTING_ROBOTICONS));
+		players = new ArrayList<Player>();
+		for(int playerNumber = 0; playerNumber < this.channels.length; playerNumber++){
+			PlayerInventory inventory = new PlayerInventory(0, 0, new EnumMap<RoboticonCustomisation,Integer>(RoboticonCustomisation.class), STARTING_MONEY);
+			players.add(playerNumber < channels.length ? new Player(inventory, market) : new AIPlayer(inventory, market));
+		}
+		finishedWithMarket = new boolean[players.size()];
+		plotGrid = new BroadcastingPlotGrid(CreatePlots.createPlots(rows, columns, random), players, this);
+		gameEngine = new GameEngine(plotGrid, players, this);
+	}
+
+	/**
+	 * Gives every stage in which a human player must act a time limit (call before {@link ServerMatch#start()})
+	 * @param stageTimer The wheel that the time limits are scheduled on
+	 * @param stageTimeoutMillis The time that a player has to finish each stage (in milliseconds)
+	 * @param afterStageTimeout Run after the match has been moved on because the time ran out (e.g. to write what it sent)
+	 */
+	void setStageTimer(TimingWheel stageTimer, long stageTimeoutMillis, Runnable afterStageTimeout){
+		if(stageTimer == null || afterStageTimeout == null){
+			throw new IllegalArgumentException("stageTimer and afterStageTimeout must not be null");
+		}
+		if(stageTimeoutMillis <= 0){
+			throw new IllegalArgumentException("stageTimeoutMillis must be > 0 stageTimeoutMillis = "+stageTimeoutMillis);
+		}
+		this.stageTimer = stageTimer;
+		this.stageTimeoutMillis = stageTimeoutMillis;
+		this.afterStageTimeout = afterStageTimeout;
+	}
+
+	/**
+	 * Tells every client that the match has started and starts the game
+	 */
+	void start(){
+		Plot[][] plots = plotGrid.getPlots();
+		for(int playerNumber = 0; playerNumber < channels.length; playerNumber++){
+			if(channels[playerNumber] != null){
+				channels[playerNumber].send(NetworkProtocol.matchStarted(playerNumber, players.size(), plots));
+			}
+		}
+		broadcastInventories();
+		gameEngine.start();
+		playForAbsentPlayers();
+	}
+
+	/**
+	 * Returns the channels to the clients of the players (null for AI players and players whose client has left)
+	 * @return The channels, indexed by player number
+	 */
+	FramedChannel[] getChannels(){
+		return channels;
+	}
+
+	/**
+	 * Returns the players in the order that they take their turns
+	 * @return The players
+	 */
+	List<Player> getPlayers(){
+		return players;
+	}
+
+	/**
+	 * Returns the plots that the match is played on
+	 * @return The plots
+	 */
+	Plot[][] getPlots(){
+		return plotGrid.getPlots();
+	}
+
+	/**
+	 * Returns the engine that runs the rules of the match
+	 * @return The engine
+	 */
+	GameEngine getGameEngine(){
+		return gameEngine;
+	}
+
+	/**
+	 * Returns true once the match is over or every human player's client has left (there is no one left to tell about the match)
+	 * @return true if the match no longer needs to be hosted
+	 */
+	boolean isFinished(){
+		return gameEngine.isGameOver() || connectedPlayers == 0;
+	}
+
+	/**
+	 * Called when a player's client has left the match, the player is played for from now on
+	 * @param playerNumber The number of the player
+	 */
+	void playerLeft(int playerNumber){
+		if(channels[playerNumber] != null){
+			channels[playerNumber] = null;
+			connectedPlayers--;
+			playForAbsentPlayers();
+			if(isFinished()){
+				cancelStageTimeout();
+			}
+		}
+	}
+
+	/**
+	 * Sends a frame to a player's client (unless they are an AI player or their client has left)
+	 * @param playerNumber The number of the player
+	 * @param frame The frame
+	 */
+	@Override
+	public void send(int playerNumber, ByteBuffer frame){
+		if(channels[playerNumber] != null){
+			channels[playerNumber].send(frame);
+		}
+	}
+
+	/**
+	 * Sends a frame to every client
+	 * @param frame The frame
+	 */
+	@Override
+	public void broadcast(ByteBuffer frame){
+		for(FramedChannel channel : channels){
+			if(channel != null){
+				channel.send(frame);
+			}
+		}
+	}
+
+	/**
+	 * Sends the inventory of every player and the market's stock to every client
+	 */
+	private void broadcastInventories(){
+		for(int playerNumber = 0; playerNumber < players.size(); playerNumber++){
+			broadcast(NetworkProtocol.inventory(playerNumber, players.get(playerNumber)));
+		}
+		broadcast(NetworkProtocol.market(market));
+	}
+
+	/**
+	 * Sends the inventory of a player and the market's stock to every client (after the player has made a transaction)
+	 * @param playerNumber The number of the player
+	 */
+	private void broadcastInventory(int playerNumber){
+		broadcast(NetworkProtocol.inventory(playerNumber, players.get(playerNumber)));
+		broadcast(NetworkProtocol.market(market));
+	}
+
+	/**
+	 * Tells a player's client that one of its messages was not carried out, followed by the player's real inventory
+	 * @param playerNumber The number of the player
+	 * @param messageType The type of the message
+	 */
+	private void reject(int playerNumber, byte messageType){
+		send(playerNumber, NetworkProtocol.rejected(messageType));
+		send(playerNumber, NetworkProtocol.inventory(playerNumber, players.get(playerNumber)));
+		send(playerNumber, NetworkProtocol.market(market));
+	}
+
+	/**
+	 * Returns true if the given player must act in the given phase
+	 * @param playerNumber The number of the player
+	 * @param phase The phase
+	 * @return true if the game is in the phase and it is the player's turn
+	 */
+	private boolean isTurn(int playerNumber, GamePhase phase){
+		return gameEngine.getPhase() == phase && gameEngine.getCurrentPlayer() == players.get(playerNumber);
+	}
+
+	/**
+	 * Acquires a plot for a player if it is their turn to acquire one
+	 * @param playerNumber The number of the player
+	 * @param row The row of the plot
+	 * @param column The column of the plot
+	 */
+	void acquirePlot(int playerNumber, int row, int column){
+		Plot[][] plots = plotGrid.getPlots();
+		if(!isTurn(playerNumber, GamePhase.PLOTACQUISITION) || row < 0 || row >= plots.length || column < 0 || column >= plots[row].length
+				|| !plotGrid.acquirePlot(row, column)){
+			reject(playerNumber, NetworkProtocol.ACQUIRE_PLOT);
+			return;
+		}
+		gameEngine.handleEvent(GameEvents.PLOTAQUIRED);
+		playForAbsentPlayers();
+	}
+
+	/**
+	 * Buys roboticons for a player if it is their turn to buy them (and the market has enough)
+	 * @param playerNumber The number of the player
+	 * @param quantity The number of roboticons
+	 */
+	void buyRoboticons(int playerNumber, int quantity){
+		if(quantity < 0 || quantity > market.getRoboticonQuantity() || !isTurn(playerNumber, GamePhase.BUYINGROBOTICONS)
+				|| !players.get(playerNumber).attemptToBuyRoboticons(quantity)){
+			reject(playerNumber, NetworkProtocol.BUY_ROBOTICONS);
+			return;
+		}
+		broadcastInventory(playerNumber);
+	}
+
+	/**
+	 * Customises a roboticon for a player if it is their turn to customise roboticons
+	 * @param playerNumber The number of the player
+	 * @param customisation The customisation
+	 */
+	void customiseRoboticon(int playerNumber, RoboticonCustomisation customisation){
+		if(!isTurn(playerNumber, GamePhase.CUSTOMISINGROBOTICONS) || !players.get(playerNumber).attemptToCustomiseRoboticon(customisation)){
+			reject(playerNumber, NetworkProtocol.CUSTOMISE_ROBOTICON);
+			return;
+		}
+		broadcastInventory(playerNumber);
+	}
+
+	/**
+	 * Places a roboticon for a player if it is their turn to place roboticons
+	 * @param playerNumber The number of the player
+	 * @param row The row of the plot
+	 * @param column The column of the plot
+	 * @param customisation The customisation of the roboticon
+	 */
+	void placeRoboticon(int playerNumber, int row, int column, RoboticonCustomisation customisation){
+		Plot[][] plots = plotGrid.getPlots();
+		boolean placed = false;
+		if(isTurn(playerNumber, GamePhase.PLACINGROBOTICONS) && row >= 0 && row < plots.length && column >= 0 && column < plots[row].length){
+			if(customisation == RoboticonCustomisation.ORE){
+				placed = plotGrid.placeOreRoboticon(column, row);
+			}
+			else if(customisation == RoboticonCustomisation.ENERGY){
+				placed = plotGrid.placeEnergyRoboticon(column, row);
+			}
+		}
+		if(!placed){
+			reject(playerNumber, NetworkProtocol.PLACE_ROBOTICON);
+			return;
+		}
+		broadcastInventory(playerNumber);
+	}
+
+	/**
+	 * Buys a resource from the market for a player during the market stage (if they have not finished with the market and the market has enough)
+	 * @param playerNumber The number of the player
+	 * @param resource The resource
+	 * @param quantity The quantity of the resource
+	 */
+	void buyResource(int playerNumber, PlotSpecialism resource, int quantity){
+		Player player = players.get(playerNumber);
+		int available = (resource == PlotSpecialism.ORE) ? market.getOreQuantity() : market.getEnergyQuantity();
+		if(quantity < 0 || quantity > available || !canTrade(playerNumber)
+				|| !(resource == PlotSpecialism.ORE ? player.attemptToBuyOre(quantity) : player.attemptToBuyEnergy(quantity))){
+			reject(playerNumber, NetworkProtocol.BUY_RESOURCE);
+			return;
+		}
+		broadcastInventory(playerNumber);
+	}
+
+	/**
+	 * Sells a resource to the market for a player during the market stage (if they have not finished with the market)
+	 * @param playerNumber The number of the player
+	 * @param resource The resource
+	 * @param quantity The quantity of the resource
+	 */
+	void sellResource(int playerNumber, PlotSpecialism resource, int quantity){
+		Player player = players.get(playerNumber);
+		if(quantity < 0 || !canTrade(playerNumber)
+				|| !(resource == PlotSpecialism.ORE ? player.attemptToSellOre(quantity) : player.attemptToSellEnergy(quantity))){
+			reject(playerNumber, NetworkProtocol.SELL_RESOURCE);
+			return;
+		}
+		broadcastInventory(playerNumber);
+	}
+
+	/**
+	 * Returns true if a player may trade with the market
+	 * @param playerNumber The number of the player
+	 * @return true if the match is in the market stage and the player has not finished with the market
+	 */
+	private boolean canTrade(int playerNumber){
+		return gameEngine.getPhase() == GamePhase.MARKET && !finishedWithMarket[playerNumber];
+	}
+
+	/**
+	 * Called when a player has finished a stage of the game
+	 * <p>
+	 * The market stage only ends once every human player has finished with the market. Events that do not apply to the current stage
+	 * (e.g. a timer that ran out after the player moved on) are ignored, as they are by the {@link GameEngine}.
+	 * </p>
+	 * @param playerNumber The number of the player
+	 * @param event The event that ends the stage
+	 */
+	void finished(int playerNumber, GameEvents event){
+		if(event == GameEvents.PLAYERINVENTORYUPDATE){
+			reject(playerNumber, NetworkProtocol.FINISHED); // Not an event that ends a stage
+			return;
+		}
+		if(event == GameEvents.FINISHEDWITHTHEMARKET){
+			if(canTrade(playerNumber)){
+				finishedWithMarket[playerNumber] = true;
+				playForAbsentPlayers();
+			}
+		}
+		else if(gameEngine.getCurrentPlayer() == players.get(playerNumber) && event != GameEvents.PLOTAQUIRED){
+			gameEngine.handleEvent(event);
+			playForAbsentPlayers();
+		}
+	}
+
+	/**
+	 * Moves the game on for as long as it is waiting for players whose clients have left (or, in the market stage, until every human
+	 * player whose client is still connected has finished with the market)
+	 */
+	private void playForAbsentPlayers(){
+		while(connectedPlayers > 0 && !gameEngine.isGameOver()){ // Abandoned matches are not played on
+			GamePhase phase = gameEngine.getPhase();
+			if(phase == GamePhase.MARKET){
+				if(!everyoneFinishedWithMarket()){
+					return;
+				}
+				gameEngine.handleEvent(GameEvents.FINISHEDWITHTHEMARKET);
+			}
+			else if(channels[players.indexOf(gameEngine.getCurrentPlayer())] != null){
+				return; // Waiting for a player who is still connected
+			}
+			else{
+				playCurrentStage();
+			}
+		}
+	}
+
+	/**
+	 * Finishes the current stage for the current player: they acquire the first plot that is free or finish the stage without doing
+	 * anything (in the market stage every player finishes with the market)
+	 */
+	private void playCurrentStage(){
+		GamePhase phase = gameEngine.getPhase();
+		if(phase == GamePhase.MARKET){
+			gameEngine.handleEvent(GameEvents.FINISHEDWITHTHEMARKET);
+		}
+		else if(phase == GamePhase.PLOTACQUISITION){
+			int plotNumber = plotGrid.findUnacquiredPlot(0);
+			plotGrid.acquirePlot(plotGrid.getPlotRow(plotNumber), plotGrid.getPlotColumn(plotNumber));
+			gameEngine.handleEvent(GameEvents.PLOTAQUIRED);
+		}
+		else{
+			gameEngine.handleEvent(getEventThatEnds(phase));
+		}
+	}
+
+	/**
+	 * Called when the time given to the current stage has run out, the stage is played for the players who have not finished it
+	 */
+	void stageTimedOut(){
+		stageTimeout = null;
+		if(isFinished()){
+			return;
+		}
+		playCurrentStage();
+		playForAbsentPlayers();
+	}
+
+	/**
+	 * Starts the time limit of a stage that has just started (if the stages have one), cancelling that of the stage before
+	 */
+	private void startStageTimeout(){
+		if(stageTimer == null){
+			return;
+		}
+		cancelStageTimeout();
+		stageTimeout = stageTimer.schedule(new Runnable(){
+			@Override
+			public void run(){
+				stageTimedOut();
+				afterStageTimeout.run();
+			}
+		}, stageTimeoutMillis);
+	}
+
+	/**
+	 * Cancels the time limit of the current stage (if it has one)
+	 */
+	private void cancelStageTimeout(){
+		if(stageTimeout != null){
+			stageTimeout.cancel();
+			stageTimeout = null;
+		}
+	}
+
+	/**
+	 * Returns the time limit of the current stage
+	 * @return The timeout or null if the current stage has no time limit
+	 */
+	TimingWheel.Timeout getStageTimeout(){
+		return stageTimeout;
+	}
+
+	/**
+	 * Returns the event that a human player's GUI sends when they have finished a stage
+	 * @param phase The phase of the stage
+	 * @return The event that ends the stage
+	 */
+	private static GameEvents getEventThatEnds(GamePhase phase){
+		switch(phase){
+		case BUYINGROBOTICONS:
+			return GameEvents.FINISHEDBUYINGROBOTICONS;
+		case CUSTOMISINGROBOTICONS:
+			return GameEvents.FINISHEDCUSTOMISINGROBOTICONS;
+		case PLACINGROBOTICONS:
+			return GameEvents.FINISHEDPLACINGROBOTICONS;
+		default:
+			throw new IllegalArgumentException("A player can't finish phase "+phase);
+		}
+	}
+
+	/**
+	 * Returns true if every human player whose client is still connected has finished with the market
+	 * @return true if the market stage may end
+	 */
+	private boolean everyoneFinishedWithMarket(){
+		for(int playerNumber = 0; playerNumber < channels.length; playerNumber++){
+			if(channels[playerNumber] != null && !finishedWithMarket[playerNumber]){
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Tells every client that a player must now choose a plot to acquire (and starts the time limit of the stage)
+	 * @param player The player
+	 */
+	@Override
+	public void plotAcquisitionStage(Player player){
+		broadcast(NetworkProtocol.stage(GamePhase.PLOTACQUISITION, players.indexOf(player), gameEngine.getRoundNumber()));
+		startStageTimeout();
+	}
+
+	/**
+	 * Tells every client that a player may now buy roboticons (and starts the time limit of the stage)
+	 * @param player The player
+	 */
+	@Override
+	public void buyingRoboticonsStage(Player player){
+		broadcast(NetworkProtocol.stage(GamePhase.BUYINGROBOTICONS, players.indexOf(player), gameEngine.getRoundNumber()));
+		startStageTimeout();
+	}
+
+	/**
+	 * Tells every client that a player may now customise roboticons (and starts the time limit of the stage)
+	 * @param player The player
+	 */
+	@Override
+	public void customisingRoboticonsStage(Player player){
+		broadcast(NetworkProtocol.stage(GamePhase.CUSTOMISINGROBOTICONS, players.indexOf(player), gameEngine.getRoundNumber()));
+		startStageTimeout();
+	}
+
+	/**
+	 * Tells every client that a player may now place roboticons (and starts the time limit of the stage)
+	 * @param player The player
+	 */
+	@Override
+	public void roboticonPlacingStage(Player player){
+		broadcast(NetworkProtocol.stage(GamePhase.PLACINGROBOTICONS, players.indexOf(player), gameEngine.getRoundNumber()));
+		startStageTimeout();
+	}
+
+	/**
+	 * Sends every client the inventories that the plots have just produced resources for
+	 */
+	@Override
+	public void resourcesProduced(){
+		broadcastInventories();
+		broadcast(NetworkProtocol.stage(GamePhase.PRODUCTION, NetworkProtocol.ALL_PLAYERS, gameEngine.getRoundNumber()));
+	}
+
+	/**
+	 * Sends every client the inventories after the AI players have traded and tells them that every player may now use the market (and
+	 * starts the time limit of the stage)
+	 */
+	@Override
+	public void allPlayersMarketStage(){
+		Arrays.fill(finishedWithMarket, false);
+		broadcastInventories();
+		broadcast(NetworkProtocol.stage(GamePhase.MARKET, NetworkProtocol.ALL_PLAYERS, gameEngine.getRoundNumber()));
+		startStageTimeout();
+	}
+
+	/**
+	 * Sends every client the final inventories and scores
+	 */
+	@Override
+	public void gameOver(){
+		cancelStageTimeout();
+		broadcastInventories();
+		int[] scores = new int[players.size()];
+		for(int playerNumber = 0; playerNumber < scores.length; playerNumber++){
+			scores[playerNumber] = players.get(playerNumber).calculateScore();
+		}
+		broadcast(NetworkProtocol.gameOver(scores));
+	}
+}
@@ -0,0 +1,422 @@
+package com.topright.roboticon;
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.*;
+
+/**
+ * Test case for {@link BlockingMatch}, the match is played on its own thread and what it sends to each client is recorded as text
+ */
+public class BlockingMatchTestCase {
+	private static final long TIMEOUT_MILLIS = 5000;
+	private static final long SEED = 7;
+
+	private RecordingOutput output;
+	private MatchRunner runner;
+	private BlockingMatch match;
+
+	/**
+	 * Records the messages sent to each client as text, may be used from any thread
+	 */
+	private static class RecordingOutput implements MatchOutput {
+		private final List<BlockingQueue<String>> messages = new ArrayList<BlockingQueue<String>>(); // Indexed by player number
+
+		/**
+		 * Constructor
+		 * @param numberOfHumanPlayers The number of clients
+		 */
+		RecordingOutput(int numberOfHumanPlayers){
+			for(int playerNumber = 0; playerNumber < numberOfHumanPlayers; playerNumber++){
+				messages.add(new LinkedBlockingQueue<String>());
+			}
+		}
+
+		@Override
+		public void send(int playerNumber, ByteBuffer frame){
+			if(playerNumber < messages.size()){
+				messages.get(playerNumber).add(decode(frame));
+			}
+		}
+
+		@Override
+		public void broadcast(ByteBuffer frame){
+			String message = decode(frame);
+			for(BlockingQueue<String> clientMessages : messages){
+				clientMessages.add(message);
+			}
+		}
+
+		/**
+		 * Returns a message as text
+		 * @param frame The frame (as returned by one of the encoding methods of {@link NetworkProtocol})
+		 * @return The message as text
+		 */
+		private static String decode(ByteBuffer frame){
+			final StringBuilder text = new StringBuilder();
+			NetworkProtocol.dispatch(NetworkProtocol.readFrame(frame.duplicate()), new ServerMessageHandler(){
+				@Override
+				public void matchStarted(int playerNumber, int numberOfPlayers, PlotSpecialism[][] specialisms){
+					text.append("matchStarted "+playerNumber+" "+numberOfPlayers+" "+specialisms.length+"x"+specialisms[0].length);
+				}
+
+				@Override
+				public void stage(GamePhase phase, int playerNumber, int roundNumber){
+					text.append("stage "+phase+" "+playerNumber+" "+roundNumber);
+				}
+
+				@Override
+				public void plotAcquired(int playerNumber, int row, int column){
+					text.append("plotAcquired "+playerNumber+" "+row+" "+column);
+				}
+
+				@Override
+				public void roboticonPlaced(int playerNumber, int row, int column, RoboticonCustomisation customisation){
+					text.append("roboticonPlaced "+playerNumber+" "+row+" "+column+" "+customisation);
+				}
+
+				@Override
+				public void inventory(int playerNumber, int ore, int energy, int money, int[] roboticons){
+					text.append("inventory "+playerNumber+" "+ore+" "+energy+" "+money);
+				}
+
+				@Override
+				public void market(int ore, int energy, int roboticons){
+					text.append("market "+ore+" "+energy+" "+roboticons);
+				}
+
+				@Override
+				public void rejected(int messageType){
+					text.append("rejected "+messageType);
+				}
+
+				@Override
+				public void gameOver(int[] scores){
+					text.append("gameOver");
+				}
+			});
+			return text.toString();
+		}
+	}
+
+	/**
+	 * Runs before every test, creates (but does not start) a match between two clients on a 2x2 map with a long time limit
+	 */
+	@Before
+	public void setup(){
+		runner = new MatchRunner();
+		match = createMatch(2, 0, TIMEOUT_MILLIS * 10);
+	}
+
+	/**
+	 * Runs after every test, makes sure that the match's thread stops waiting for the players
+	 * @throws InterruptedException If interrupted while waiting
+	 */
+	@After
+	public void tearDown() throws InterruptedException{
+		for(int playerNumber = 0; playerNumber < 2; playerNumber++){
+			match.playerLeft(playerNumber);
+		}
+		assertTrue(runner.awaitIdle(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+	}
+
+	/**
+	 * Creates a match on a 2x2 map (replacing the output)
+	 * @param numberOfHumanPlayers The number of human players
+	 * @param numberOfAIPlayers The number of AI players
+	 * @param stageTimeoutMillis The time that a human player has to finish each stage
+	 * @return The match
+	 */
+	private BlockingMatch createMatch(int numberOfHumanPlayers, int numberOfAIPlayers, long stageTimeoutMillis){
+		output = new RecordingOutput(numberOfHumanPlayers);
+		return new BlockingMatch(output, runner, numberOfHumanPlayers, numberOfAIPlayers, CreatePlots.createPlots(2, 2, new GameRandom(SEED)),
+				stageTimeoutMillis);
+	}
+
+	/**
+	 * Waits for a client to be sent a message, removing it and every message before it from the client's messages
+	 * @param playerNumber The number of the client's player
+	 * @param expected The message (as text)
+	 * @throws InterruptedException If interrupted while waiting
+	 */
+	private void assertReceived(int playerNumber, String expected) throws InterruptedException{
+		List<String> skipped = new ArrayList<String>();
+		long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+		String message;
+		while(!expected.equals(message = output.messages.get(playerNumber).poll(deadline - System.currentTimeMillis(), TimeUnit.MILLISECONDS))){
+			assertNotNull("Timed out waiting for \""+expected+"\" received "+skipped, message);
+			skipped.add(message);
+		}
+	}
+
+	/**
+	 * Posts a message from a client to the match
+	 * @param playerNumber The number of the client's player
+	 * @param message The message (as returned by one of the encoding methods of {@link NetworkProtocol})
+	 */
+	private void post(int playerNumber, ByteBuffer message){
+		match.post(playerNumber, NetworkProtocol.readFrame(message));
+	}
+
+	/**
+	 * Tests {@link BlockingMatch#BlockingMatch} ensures that an IllegalArgumentException is thrown if there are no human players
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructorNoHumanPlayers(){
+		createMatch(0, 2, TIMEOUT_MILLIS);
+	}
+
+	/**
+	 * Tests {@link BlockingMatch#BlockingMatch} ensures that an IllegalArgumentException is thrown if there is only one player
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructorOnePlayer(){
+		createMatch(1, 0, TIMEOUT_MILLIS);
+	}
+
+	/**
+	 * Tests {@link BlockingMatch#BlockingMatch} ensures that an IllegalArgumentException is thrown if the stages have no time
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructorNoTime(){
+		createMatch(2, 0, 0);
+	}
+
+	/**
+	 * Tests {@link BlockingMatch#BlockingMatch} ensures that an IllegalArgumentException is thrown if there is no output
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructorNullOutput(){
+		new BlockingMatch(null, runner, 2, 0, CreatePlots.createPlots(2, 2, new GameRandom(SEED)), TIMEOUT_MILLIS);
+	}
+
+	/**
+	 * Tests {@link BlockingMatch#BlockingMatch} ensures that the AI players take their turns after the human players
+	 */
+	@Test
+	public void testConstructorAIPlayersLast(){
+		BlockingMatch matchWithAIPlayer = createMatch(2, 1, TIMEOUT_MILLIS);
+		assertEquals(3, matchWithAIPlayer.getPlayers().size());
+		assertFalse(matchWithAIPlayer.getPlayers().get(1) instanceof AIPlayer);
+		assertTrue(matchWithAIPlayer.getPlayers().get(2) instanceof AIPlayer);
+	}
+
+	/**
+	 * Tests {@link BlockingMatch#post} ensures that an IllegalArgumentException is thrown for a player that is not in the match
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testPostInvalidPlayer(){
+		post(2, NetworkProtocol.buyRoboticons(1));
+	}
+
+	/**
+	 * Tests {@link BlockingMatch#run} ensures that every client is told its player number, the players' inventories and that the first
+	 * player must acquire a plot
+	 * @throws InterruptedException If interrupted while waiting
+	 */
+	@Test
+	public void testStart() throws InterruptedException{
+		runner.start(match);
+		for(int playerNumber = 0; playerNumber < 2; playerNumber++){
+			assertReceived(playerNumber, "matchStarted "+playerNumber+" 2 2x2");
+			assertReceived(playerNumber, "inventory 1 0 0 "+ServerMatch.STARTING_MONEY);
+			assertReceived(playerNumber, "stage "+GamePhase.PLOTACQUISITION+" 0 1");
+		}
+	}
+
+	/**
+	 * Tests {@link BlockingMatch#run} ensures that a plot acquired by the player whose turn it is is sent to every client and the match
+	 * moves on to the player buying roboticons
+	 * @throws InterruptedException If interrupted while waiting
+	 */
+	@Test
+	public void testAcquirePlot() throws InterruptedException{
+		runner.start(match);
+		post(0, NetworkProtocol.acquirePlot(1, 0));
+		for(int playerNumber = 0; playerNumber < 2; playerNumber++){
+			assertReceived(playerNumber, "plotAcquired 0 1 0");
+			assertReceived(playerNumber, "stage "+GamePhase.BUYINGROBOTICONS+" 0 1");
+		}
+	}
+
+	/**
+	 * Tests {@link BlockingMatch#run} ensures that a plot acquired by a player whose turn it isn't is rejected
+	 * @throws InterruptedException If interrupted while waiting
+	 */
+	@Test
+	public void testAcquirePlotNotTurn() throws InterruptedException{
+		runner.start(match);
+		post(1, NetworkProtocol.acquirePlot(1, 0));
+		assertReceived(1, "rejected "+NetworkProtocol.ACQUIRE_PLOT);
+		assertReceived(1, "inventory 1 0 0 "+ServerMatch.STARTING_MONEY);
+	}
+
+	/**
+	 * Tests {@link BlockingMatch#run} ensures that a plot that is not on the map is rejected
+	 * @throws InterruptedException If interrupted while waiting
+	 */
+	@Test
+	public void testAcquirePlotOffMap() throws InterruptedException{
+		runner.start(match);
+		post(0, NetworkProtocol.acquirePlot(2, 0));
+		assertReceived(0, "rejected "+NetworkProtocol.ACQUIRE_PLOT);
+		post(0, NetworkProtocol.acquirePlot(0, 0)); // The player can still acquire a plot
+		assertReceived(1, "plotAcquired 0 0 0");
+	}
+
+	/**
+	 * Tests {@link BlockingMatch#run} ensures that roboticons bought by the player whose turn it is are sent to every client
+	 * @throws InterruptedException If interrupted while waiting
+	 */
+	@Test
+	public void testBuyRoboticons() throws InterruptedException{
+		runner.start(match);
+		post(0, NetworkProtocol.acquirePlot(0, 0));
+		post(0, NetworkProtocol.buyRoboticons(1));
+		assertReceived(1, "market 0 "+ServerMatch.MARKET_STARTING_ENERGY+" "+(ServerMatch.MARKET_STARTING_ROBOTICONS - 1));
+	}
+
+	/**
+	 * Tests {@link BlockingMatch#run} ensures that trying to buy more roboticons than the market has is rejected
+	 * @throws InterruptedException If interrupted while waiting
+	 */
+	@Test
+	public void testBuyRoboticonsMoreThanMarketHas() throws InterruptedException{
+		runner.start(match);
+		post(0, NetworkProtocol.acquirePlot(0, 0));
+		post(0, NetworkProtocol.buyRoboticons(ServerMatch.MARKET_STARTING_ROBOTICONS + 1));
+		assertReceived(0, "rejected "+NetworkProtocol.BUY_ROBOTICONS);
+	}
+
+	/**
+	 * Tests {@link BlockingMatch#run} ensures that a player who finishes customising while they are still buying roboticons goes straight
+	 * to placing roboticons
+	 * @throws InterruptedException If interrupted while waiting
+	 */
+	@Test
+	public void testFinishedCustomisingWhileBuying() throws InterruptedException{
+		runner.start(match);
+		post(0, NetworkProtocol.acquirePlot(0, 0));
+		post(0, NetworkProtocol.finished(GameEvents.FINISHEDCUSTOMISINGROBOTICONS));
+		assertReceived(0, "stage "+GamePhase.BUYINGROBOTICONS+" 0 1");
+		assertEquals("stage "+GamePhase.PLACINGROBOTICONS+" 0 1", output.messages.get(0).poll(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+	}
+
+	/**
+	 * Tests {@link BlockingMatch#run} ensures that an inventory update is not an event that ends a stage
+	 * @throws InterruptedException If interrupted while waiting
+	 */
+	@Test
+	public void testFinishedInventoryUpdate() throws InterruptedException{
+		runner.start(match);
+		post(0, NetworkProtocol.finished(GameEvents.PLAYERINVENTORYUPDATE));
+		assertReceived(0, "rejected "+NetworkProtocol.FINISHED);
+	}
+
+	/**
+	 * Tests {@link BlockingMatch#run} ensures that the market stage only ends once every player has finished with the market
+	 * @throws InterruptedException If interrupted while waiting
+	 */
+	@Test
+	public void testMarketEndsWhenEveryoneFinished() throws InterruptedException{
+		runner.start(match);
+		for(int playerNumber = 0; playerNumber < 2; playerNumber++){
+			post(playerNumber, NetworkProtocol.acquirePlot(0, playerNumber));
+			post(playerNumber, NetworkProtocol.finished(GameEvents.FINISHEDBUYINGROBOTICONS));
+			post(playerNumber, NetworkProtocol.finished(GameEvents.FINISHEDCUSTOMISINGROBOTICONS));
+			post(playerNumber, NetworkProtocol.finished(GameEvents.FINISHEDPLACINGROBOTICONS));
+		}
+		assertReceived(1, "stage "+GamePhase.PRODUCTION+" "+NetworkProtocol.ALL_PLAYERS+" 1");
+		assertReceived(1, "stage "+GamePhase.MARKET+" "+NetworkProtocol.ALL_PLAYERS+" 1");
+		post(0, NetworkProtocol.finished(GameEvents.FINISHEDWITHTHEMARKET));
+		post(0, NetworkProtocol.sellResource(PlotSpecialism.ORE, 0)); // Still in the market stage, but player 0 has finished with it
+		assertReceived(0, "rejected "+NetworkProtocol.SELL_RESOURCE);
+		post(1, NetworkProtocol.finished(GameEvents.FINISHEDWITHTHEMARKET));
+		assertReceived(1, "stage "+GamePhase.PLOTACQUISITION+" 0 2");
+	}
+
+	/**
+	 * Tests {@link BlockingMatch#run} ensures that a player who does nothing before the time runs out is played for: they acquire the
+	 * first free plot
+	 * @throws InterruptedException If interrupted while waiting
+	 */
+	@Test
+	public void testStageTimeout() throws InterruptedException{
+		match = createMatch(2, 0, 20);
+		runner.start(match);
+		assertReceived(1, "plotAcquired 0 0 0");
+		assertReceived(1, "stage "+GamePhase.BUYINGROBOTICONS+" 0 1");
+		assertTrue(runner.getSchedulerLatencyCount() > 0);
+	}
+
+	/**
+	 * Tests {@link BlockingMatch#playerLeft} ensures that a player whose client has left is played for straight away and the match
+	 * carries on
+	 * @throws InterruptedException If interrupted while waiting
+	 */
+	@Test
+	public void testPlayerLeft() throws InterruptedException{
+		runner.start(match);
+		match.playerLeft(1);
+		post(0, NetworkProtocol.acquirePlot(0, 0));
+		post(0, NetworkProtocol.finished(GameEvents.FINISHEDBUYINGROBOTICONS));
+		post(0, NetworkProtocol.finished(GameEvents.FINISHEDCUSTOMISINGROBOTICONS));
+		post(0, NetworkProtocol.finished(GameEvents.FINISHEDPLACINGROBOTICONS));
+		assertReceived(0, "plotAcquired 1 0 1"); // Acquired the first free plot
+		assertReceived(0, "stage "+GamePhase.MARKET+" "+NetworkProtocol.ALL_PLAYERS+" 1");
+	}
+
+	/**
+	 * Tests {@link BlockingMatch#playerLeft} ensures that the match's thread finishes once every client has left, without waiting for
+	 * the time given to the stage to run out
+	 * @throws InterruptedException If interrupted while waiting
+	 */
+	@Test
+	public void testEveryPlayerLeft() throws InterruptedException{
+		runner.start(match);
+		match.playerLeft(0);
+		match.playerLeft(1);
+		assertTrue(runner.awaitIdle(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+		assertNull(match.getScores());
+	}
+
+	/**
+	 * Tests {@link BlockingMatch#run} ensures that an interrupted match stops straight away
+	 * @throws InterruptedException If interrupted while waiting
+	 */
+	@Test
+	public void testInterrupted() throws InterruptedException{
+		Thread thread = new Thread(match);
+		thread.start();
+		assertReceived(0, "stage "+GamePhase.PLOTACQUISITION+" 0 1");
+		thread.interrupt();
+		thread.join(TIMEOUT_MILLIS);
+		assertFalse(thread.isAlive());
+		assertNull(match.getScores());
+	}
+
+	/**
+	 * Tests {@link BlockingMatch#run} ensures that a match in which the time always runs out is played to the end, once every plot has
+	 * been acquired
+	 * @throws InterruptedException If interrupted while waiting
+	 */
+	@Test
+	public void testGameOver() throws InterruptedException{
+		match = createMatch(1, 1, 10);
+		runner.start(match);
+		assertReceived(0, "gameOver");
+		assertTrue(runner.awaitIdle(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+		assertEquals(2, match.getScores().length);
+		for(Plot[] row : match.getPlots()){
+			for(Plot plot : row){
+				assertTrue(plot.hasBeenAcquired());
+			}
+		}
+		assertEquals(0, runner.getMatchesFailed());
+	}
+}
@@ -0,0 +1,379 @@
+package com.topright.roboticon;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.*;
+
+/**
+ * Test case for {@link GameServer}, plays real matches over the loopback interface using the {@link LoadGenerator}
+ */
+public class GameServerTestCase {
+	private static final long SEED = 42;
+	private static final long TIMEOUT_SECONDS = 120;
+
+	private GameServer server = null;
+	private Thread serverThread = null;
+
+	/**
+	 * Creates a server and starts serving in another thread
+	 * @param humanPlayersPerMatch The number of clients in each match
+	 * @param AIPlayersPerMatch The number of AI players in each match
+	 * @throws IOException If the server can't listen on a port
+	 */
+	private void startServer(int humanPlayersPerMatch, int AIPlayersPerMatch) throws IOException{
+		startServer(humanPlayersPerMatch, AIPlayersPerMatch, null);
+	}
+
+	/**
+	 * Creates a server and starts serving in another thread
+	 * @param humanPlayersPerMatch The number of clients in each match
+	 * @param AIPlayersPerMatch The number of AI players in each match
+	 * @param matchRunner Runs each match on a thread of its own (null to play the matches on the server's thread)
+	 * @throws IOException If the server can't listen on a port
+	 */
+	private void startServer(int humanPlayersPerMatch, int AIPlayersPerMatch, MatchRunner matchRunner) throws IOException{
+		server = new GameServer(new InetSocketAddress("127.0.0.1", 0), humanPlayersPerMatch, AIPlayersPerMatch, SEED);
+		server.setMapSize(3, 3);
+		if(matchRunner != null){
+			server.setMatchRunner(matchRunner, TIMEOUT_SECONDS * 1000);
+		}
+		serverThread = new Thread(server, "GameServer");
+		serverThread.start();
+	}
+
+	/**
+	 * Stops the server and waits for its thread to finish (so everything it counted can be read)
+	 * @throws InterruptedException If interrupted while waiting
+	 */
+	private void stopServer() throws InterruptedException{
+		server.stop();
+		serverThread.join(TIMEOUT_SECONDS * 1000);
+		assertFalse(serverThread.isAlive());
+	}
+
+	/**
+	 * Runs after every test, stops the server if it is still running
+	 * @throws InterruptedException If interrupted while waiting
+	 */
+	@After
+	public void tearDown() throws InterruptedException{
+		if(serverThread != null && serverThread.isAlive()){
+			stopServer();
+		}
+	}
+
+	/**
+	 * Returns the address of the server
+	 * @return The address
+	 */
+	private InetSocketAddress getServerAddress(){
+		return new InetSocketAddress("127.0.0.1", server.getPort());
+	}
+
+	/**
+	 * Opens a blocking connection to the server
+	 * @return The connection
+	 * @throws IOException If the connection can't be made
+	 */
+	private SocketChannel connect() throws IOException{
+		return SocketChannel.open(getServerAddress());
+	}
+
+	/**
+	 * Writes the whole of a frame to a blocking connection
+	 * @param channel The connection
+	 * @param frame The frame
+	 * @throws IOException If the connection fails
+	 */
+	private static void writeFully(SocketChannel channel, ByteBuffer frame) throws IOException{
+		while(frame.hasRemaining()){
+			channel.write(frame);
+		}
+	}
+
+	/**
+	 * Reads from a blocking connection until the server closes it
+	 * @param channel The connection
+	 * @throws IOException If the connection fails
+	 */
+	private static void readUntilClosed(SocketChannel channel) throws IOException{
+		ByteBuffer buffer = ByteBuffer.allocate(4096);
+		while(channel.read(buffer) >= 0){
+			buffer.clear();
+		}
+	}
+
+	/**
+	 * Tests {@link GameServer#GameServer(InetSocketAddress, int, int, long)} ensures that an IllegalArgumentException is thrown if a
+	 * match would have fewer than 2 players
+	 * @throws IOException Never
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructorTooFewPlayers() throws IOException{
+		new GameServer(new InetSocketAddress("127.0.0.1", 0), 1, 0, SEED);
+	}
+
+	/**
+	 * Tests {@link GameServer#GameServer(InetSocketAddress, int, int, long)} ensures that an IllegalArgumentException is thrown if a
+	 * match would have no human players
+	 * @throws IOException Never
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructorNoHumanPlayers() throws IOException{
+		new GameServer(new InetSocketAddress("127.0.0.1", 0), 0, 2, SEED);
+	}
+
+	/**
+	 * Tests {@link GameServer#GameServer(InetSocketAddress, int, int, long)} ensures that an IllegalArgumentException is thrown if a
+	 * match would have too many players to number in a message
+	 * @throws IOException Never
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructorTooManyPlayers() throws IOException{
+		new GameServer(new InetSocketAddress("127.0.0.1", 0), 100, 28, SEED);
+	}
+
+	/**
+	 * Tests {@link GameServer#setMapSize} ensures that an IllegalArgumentException is thrown for an empty map
+	 * @throws IOException If the server can't listen on a port
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testSetMapSizeEmpty() throws IOException{
+		try(GameServer unusedServer = new GameServer(new InetSocketAddress("127.0.0.1", 0), 2, 0, SEED)){
+			unusedServer.setMapSize(0, 5);
+		}
+	}
+
+	/**
+	 * Tests {@link GameServer#run} ensures that an IllegalStateException is thrown if the server is run a second time
+	 * @throws IOException If the server can't listen on a port
+	 * @throws InterruptedException If interrupted while waiting for the server to stop
+	 */
+	@Test(expected = IllegalStateException.class)
+	public void testRunTwice() throws IOException, InterruptedException{
+		startServer(2, 0);
+		stopServer();
+		server.run();
+	}
+
+	/**
+	 * Tests {@link GameServer#run} ensures that many matches between clients are all played to the end
+	 * @throws IOException If a connection fails
+	 * @throws InterruptedException If interrupted while waiting for the server to stop
+	 */
+	@Test
+	public void testManyMatches() throws IOException, InterruptedException{
+		startServer(2, 0);
+		LoadGenerator.Results results = new LoadGenerator(getServerAddress(), 200).run(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+		assertEquals(200, results.getClientsConnected());
+		assertEquals(0, results.getConnectionsFailed());
+		assertEquals(200, results.getMatchesCompleted());
+		assertTrue(results.getNumberOfLatencies() > 0);
+		stopServer();
+		assertEquals(100, server.getMatchesStarted());
+		assertEquals(100, server.getMatchesFinished());
+		assertEquals(0, server.getNumberOfMatches());
+	}
+
+	/**
+	 * Tests {@link GameServer#run} ensures that matches between a client and an AI player are played to the end
+	 * @throws IOException If a connection fails
+	 * @throws InterruptedException If interrupted while waiting for the server to stop
+	 */
+	@Test
+	public void testMatchesAgainstAIPlayers() throws IOException, InterruptedException{
+		startServer(1, 1);
+		LoadGenerator.Results results = new LoadGenerator(getServerAddress(), 10).run(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+		assertEquals(10, results.getMatchesCompleted());
+		stopServer();
+		assertEquals(10, server.getMatchesFinished());
+	}
+
+	/**
+	 * Tests {@link GameServer#setStageTimeout} ensures that an IllegalArgumentException is thrown if the stages would have no time
+	 * @throws IOException If the server can't listen on a port
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testSetStageTimeoutNoTime() throws IOException{
+		try(GameServer unusedServer = new GameServer(new InetSocketAddress("127.0.0.1", 0), 2, 0, SEED)){
+			unusedServer.setStageTimeout(0);
+		}
+	}
+
+	/**
+	 * Tests {@link GameServer#run} ensures that a match with a client that never moves is played to the end when the stages have a time
+	 * limit, and that nothing is left on the server's stage timer
+	 * @throws IOException If a connection fails
+	 * @throws InterruptedException If interrupted while waiting for the server to stop
+	 */
+	@Test(timeout = TIMEOUT_SECONDS * 1000)
+	public void testStageTimeoutsFinishMatch() throws IOException, InterruptedException{
+		server = new GameServer(new InetSocketAddress("127.0.0.1", 0), 1, 1, SEED);
+		server.setMapSize(2, 2);
+		server.setStageTimeout(20);
+		serverThread = new Thread(server, "GameServer");
+		serverThread.start();
+		try(SocketChannel idleClient = connect()){
+			writeFully(idleClient, NetworkProtocol.join());
+			readUntilClosed(idleClient); // The server disconnects the client once the game is over
+		}
+		stopServer();
+		assertEquals(1, server.getMatchesFinished());
+		assertEquals(0, server.getNumberOfStageTimeouts());
+	}
+
+	/**
+	 * Tests {@link GameServer#setMatchRunner} ensures that an IllegalArgumentException is thrown if the stages would have no time
+	 * @throws IOException If the server can't listen on a port
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testSetMatchRunnerNoTime() throws IOException{
+		try(GameServer unusedServer = new GameServer(new InetSocketAddress("127.0.0.1", 0), 2, 0, SEED)){
+			unusedServer.setMatchRunner(new MatchRunner(), 0);
+		}
+	}
+
+	/**
+	 * Tests {@link GameServer#run} ensures that many matches played on threads of their own are all played to the end
+	 * @throws IOException If a connection fails
+	 * @throws InterruptedException If interrupted while waiting for the server to stop
+	 */
+	@Test
+	public void testManyThreadedMatches() throws IOException, InterruptedException{
+		MatchRunner matchRunner = new MatchRunner();
+		startServer(2, 0, matchRunner);
+		LoadGenerator.Results results = new LoadGenerator(getServerAddress(), 200).run(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+		assertEquals(200, results.getClientsConnected());
+		assertEquals(200, results.getMatchesCompleted());
+		assertTrue(matchRunner.awaitIdle(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+		stopServer();
+		assertEquals(100, matchRunner.getMatchesFinished());
+		assertEquals(0, matchRunner.getMatchesFailed());
+		assertTrue(matchRunner.getSchedulerLatencyCount() > 0);
+		assertEquals(100, server.getMatchesFinished());
+		assertEquals(0, server.getNumberOfMatches());
+	}
+
+	/**
+	 * Tests {@link GameServer#run} ensures that a match played on a thread of its own is still played to the end for the other client
+	 * when a client leaves part way through
+	 * @throws IOException If a connection fails
+	 * @throws InterruptedException If interrupted while waiting for the server to stop
+	 */
+	@Test(timeout = TIMEOUT_SECONDS * 1000)
+	public void testClientLeavesDuringThreadedMatch() throws IOException, InterruptedException{
+		MatchRunner matchRunner = new MatchRunner();
+		startServer(1, 1, matchRunner);
+		try(SocketChannel leavingClient = connect()){
+			writeFully(leavingClient, NetworkProtocol.join());
+			assertTrue(leavingClient.read(ByteBuffer.allocate(1)) > 0); // The match has started
+		}
+		assertTrue(matchRunner.awaitIdle(TIMEOUT_SECONDS, TimeUnit.SECONDS)); // The AI player plays on alone
+		assertEquals(1, matchRunner.getMatchesFinished());
+		stopServer();
+		assertEquals(1, server.getMatchesFinished());
+	}
+
+	/**
+	 * Tests {@link GameServer#run} ensures that a client in a match played on a thread of its own that sends an invalid message is
+	 * disconnected
+	 * @throws IOException If a connection fails
+	 */
+	@Test(timeout = TIMEOUT_SECONDS * 1000)
+	public void testInvalidMessageInThreadedMatchDisconnects() throws IOException{
+		startServer(1, 1, new MatchRunner());
+		try(SocketChannel client = connect()){
+			writeFully(client, NetworkProtocol.join());
+			writeFully(client, ByteBuffer.wrap(new byte[]{0, 0, 0, 1, NetworkProtocol.STAGE}));
+			readUntilClosed(client);
+		}
+	}
+
+	/**
+	 * Tests {@link GameServer#run} ensures that a match is still played to the end for the other client when a client leaves part
+	 * way through
+	 * @throws IOException If a connection fails
+	 * @throws InterruptedException If interrupted while waiting for the server to stop
+	 */
+	@Test(timeout = TIMEOUT_SECONDS * 1000)
+	public void testClientLeavesDuringMatch() throws IOException, InterruptedException{
+		startServer(2, 0);
+		SocketChannel leavingClient = connect();
+		try{
+			writeFully(leavingClient, NetworkProtocol.join());
+
+			final LoadGenerator.Results[] results = new LoadGenerator.Results[1];
+			Thread remainingClient = new Thread(new Runnable(){
+				@Override
+				public void run(){
+					try{
+						results[0] = new LoadGenerator(getServerAddress(), 1).run(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+					}
+					catch(IOException e){
+						throw new IllegalStateException(e);
+					}
+				}
+			});
+			remainingClient.start();
+
+			assertTrue(leavingClient.read(ByteBuffer.allocate(1)) > 0); // The match has started
+			leavingClient.close();
+			remainingClient.join(TIMEOUT_SECONDS * 1000);
+			assertNotNull(results[0]);
+			assertEquals(1, results[0].getMatchesCompleted());
+		}
+		finally{
+			leavingClient.close(); // Does nothing if it was closed above
+		}
+		stopServer();
+		assertEquals(1, server.getMatchesFinished());
+	}
+
+	/**
+	 * Tests {@link GameServer#run} ensures that a client that sends a frame with an invalid length is disconnected
+	 * @throws IOException If a connection fails
+	 */
+	@Test(timeout = TIMEOUT_SECONDS * 1000)
+	public void testInvalidFrameDisconnects() throws IOException{
+		startServer(2, 0);
+		try(SocketChannel client = connect()){
+			ByteBuffer invalid = ByteBuffer.allocate(NetworkProtocol.LENGTH_SIZE);
+			invalid.putInt(0, -1);
+			writeFully(client, invalid);
+			readUntilClosed(client);
+		}
+	}
+
+	/**
+	 * Tests {@link GameServer#run} ensures that a client that speaks a different version of the protocol is disconnected
+	 * @throws IOException If a connection fails
+	 */
+	@Test(timeout = TIMEOUT_SECONDS * 1000)
+	public void testWrongVersionDisconnects() throws IOException{
+		startServer(2, 0);
+		try(SocketChannel client = connect()){
+			ByteBuffer join = NetworkProtocol.join();
+			join.putShort(NetworkProtocol.LENGTH_SIZE + 1, (short)(NetworkProtocol.VERSION + 1));
+			writeFully(client, join);
+			readUntilClosed(client);
+		}
+	}
+
+	/**
+	 * Tests {@link GameServer#run} ensures that a client that sends a move before it is in a match is disconnected
+	 * @throws IOException If a connection fails
+	 */
+	@Test(timeout = TIMEOUT_SECONDS * 1000)
+	public void testMoveBeforeMatchDisconnects() throws IOException{
+		startServer(2, 0);
+		try(SocketChannel client = connect()){
+			writeFully(client, NetworkProtocol.buyRoboticons(1));
+			readUntilClosed(client);
+		}
+	}
+}
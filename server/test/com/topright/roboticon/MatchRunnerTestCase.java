@@ -0,0 +1,176 @@
+package com.topright.roboticon;
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.*;
+
+/**
+ * Test case for {@link MatchRunner}
+ */
+public class MatchRunnerTestCase {
+	private static final long TIMEOUT_SECONDS = 5;
+
+	/**
+	 * Creates platform threads whose uncaught exceptions are ignored (so failing matches don't clutter the output of the tests)
+	 */
+	private static class QuietThreadFactory implements ThreadFactory {
+		@Override
+		public Thread newThread(Runnable match){
+			Thread thread = new Thread(match);
+			thread.setUncaughtExceptionHandler(new Thread.UncaughtExceptionHandler(){
+				@Override
+				public void uncaughtException(Thread thread, Throwable e){
+				}
+			});
+			return thread;
+		}
+	}
+
+	/**
+	 * Returns a match that waits until a latch is counted down
+	 * @param latch The latch
+	 * @return The match
+	 */
+	private static Runnable waitFor(final CountDownLatch latch){
+		return new Runnable(){
+			@Override
+			public void run(){
+				try{
+					latch.await();
+				}
+				catch(InterruptedException e){
+					Thread.currentThread().interrupt();
+				}
+			}
+		};
+	}
+
+	/**
+	 * Tests {@link MatchRunner#MatchRunner(ThreadFactory)} ensures that an IllegalArgumentException is thrown for a null factory
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructorNullThreadFactory(){
+		new MatchRunner(null);
+	}
+
+	/**
+	 * Tests {@link MatchRunner#start} ensures that an IllegalArgumentException is thrown for a null match
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testStartNull(){
+		new MatchRunner().start(null);
+	}
+
+	/**
+	 * Tests {@link MatchRunner#start} ensures that the matches are counted while they are running and once they have finished
+	 * @throws InterruptedException If interrupted while waiting
+	 */
+	@Test
+	public void testActiveMatches() throws InterruptedException{
+		MatchRunner runner = new MatchRunner();
+		CountDownLatch latch = new CountDownLatch(1);
+		for(int i = 0; i < 3; i++){
+			runner.start(waitFor(latch));
+		}
+		assertEquals(3, runner.getActiveMatches());
+		assertEquals(3, runner.getMatchesStarted());
+		assertEquals(0, runner.getMatchesFinished());
+		latch.countDown();
+		assertTrue(runner.awaitIdle(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+		assertEquals(0, runner.getActiveMatches());
+		assertEquals(3, runner.getMatchesFinished());
+		assertEquals(0, runner.getMatchesFailed());
+	}
+
+	/**
+	 * Tests {@link MatchRunner#awaitIdle} ensures that false is returned if a match is still running when the time runs out
+	 * @throws InterruptedException If interrupted while waiting
+	 */
+	@Test
+	public void testAwaitIdleTimesOut() throws InterruptedException{
+		MatchRunner runner = new MatchRunner();
+		CountDownLatch latch = new CountDownLatch(1);
+		runner.start(waitFor(latch));
+		assertFalse(runner.awaitIdle(10, TimeUnit.MILLISECONDS));
+		latch.countDown();
+		assertTrue(runner.awaitIdle(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+	}
+
+	/**
+	 * Tests {@link MatchRunner#awaitIdle} ensures that true is returned straight away if no matches have been started
+	 * @throws InterruptedException If interrupted while waiting
+	 */
+	@Test
+	public void testAwaitIdleNoMatches() throws InterruptedException{
+		assertTrue(new MatchRunner().awaitIdle(0, TimeUnit.MILLISECONDS));
+	}
+
+	/**
+	 * Tests {@link MatchRunner#start} ensures that a match that throws an exception is counted as failed and finished
+	 * @throws InterruptedException If interrupted while waiting
+	 */
+	@Test
+	public void testFailedMatch() throws InterruptedException{
+		MatchRunner runner = new MatchRunner(new QuietThreadFactory());
+		runner.start(new Runnable(){
+			@Override
+			public void run(){
+				throw new IllegalStateException("The match failed");
+			}
+		});
+		assertTrue(runner.awaitIdle(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+		assertEquals(1, runner.getMatchesFailed());
+		assertEquals(1, runner.getMatchesFinished());
+	}
+
+	/**
+	 * Tests {@link MatchRunner#start} ensures that the time taken for a match's thread to start running is recorded
+	 * @throws InterruptedException If interrupted while waiting
+	 */
+	@Test
+	public void testStartRecordsSchedulerLatency() throws InterruptedException{
+		MatchRunner runner = new MatchRunner();
+		runner.start(waitFor(new CountDownLatch(0)));
+		assertTrue(runner.awaitIdle(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+		assertEquals(1, runner.getSchedulerLatencyCount());
+		assertTrue(runner.getMaxSchedulerLatency() >= runner.getMeanSchedulerLatency());
+		assertTrue(runner.getMeanSchedulerLatency() >= 0);
+	}
+
+	/**
+	 * Tests {@link MatchRunner#recordSchedulerLatency} ensures that the mean and longest latencies are kept
+	 */
+	@Test
+	public void testRecordSchedulerLatency(){
+		MatchRunner runner = new MatchRunner(new QuietThreadFactory());
+		assertEquals(0, runner.getMeanSchedulerLatency());
+		runner.recordSchedulerLatency(10);
+		runner.recordSchedulerLatency(30);
+		assertEquals(2, runner.getSchedulerLatencyCount());
+		assertEquals(20, runner.getMeanSchedulerLatency());
+		assertEquals(30, runner.getMaxSchedulerLatency());
+	}
+
+	/**
+	 * Tests {@link MatchRunner#MatchRunner()} ensures that matches are run on daemon threads named after them (platform threads are
+	 * only used if the JVM doesn't have virtual threads, which are always daemon threads)
+	 * @throws InterruptedException If interrupted while waiting
+	 */
+	@Test
+	public void testThreads() throws InterruptedException{
+		MatchRunner runner = new MatchRunner();
+		final Thread[] thread = new Thread[1];
+		runner.start(new Runnable(){
+			@Override
+			public void run(){
+				thread[0] = Thread.currentThread();
+			}
+		});
+		assertTrue(runner.awaitIdle(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+		assertTrue(thread[0].getName().startsWith("match-"));
+		assertTrue(thread[0].isDaemon());
+	}
+}
@@ -0,0 +1,513 @@
+package com.topright.roboticon;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.*;
+
+/**
+ * Test case for {@link ServerMatch}, the clients are the other ends of real (loopback) connections and what they are sent is recorded
+ * as text
+ */
+public class ServerMatchTestCase {
+	private static final long TIMEOUT_MILLIS = 5000;
+
+	private FramedChannel[] serverEnds;
+	private FramedChannel[] clientEnds;
+	private List<List<String>> messagesReceived; // Indexed by player number
+	private ServerMatch match;
+
+	/**
+	 * Records the messages that a client is sent as text
+	 */
+	private static class RecordingHandler implements ServerMessageHandler, FramedChannel.FrameHandler {
+		private final List<String> messages;
+
+		/**
+		 * Constructor
+		 * @param messages The list that the messages are added to
+		 */
+		RecordingHandler(List<String> messages){
+			this.messages = messages;
+		}
+
+		@Override
+		public void handleFrame(ByteBuffer frame){
+			NetworkProtocol.dispatch(frame, this);
+		}
+
+		@Override
+		public void matchStarted(int playerNumber, int numberOfPlayers, PlotSpecialism[][] specialisms){
+			messages.add("matchStarted "+playerNumber+" "+numberOfPlayers+" "+specialisms.length+"x"+specialisms[0].length);
+		}
+
+		@Override
+		public void stage(GamePhase phase, int playerNumber, int roundNumber){
+			messages.add("stage "+phase+" "+playerNumber+" "+roundNumber);
+		}
+
+		@Override
+		public void plotAcquired(int playerNumber, int row, int column){
+			messages.add("plotAcquired "+playerNumber+" "+row+" "+column);
+		}
+
+		@Override
+		public void roboticonPlaced(int playerNumber, int row, int column, RoboticonCustomisation customisation){
+			messages.add("roboticonPlaced "+playerNumber+" "+row+" "+column+" "+customisation);
+		}
+
+		@Override
+		public void inventory(int playerNumber, int ore, int energy, int money, int[] roboticons){
+			messages.add("inventory "+playerNumber+" "+ore+" "+energy+" "+money);
+		}
+
+		@Override
+		public void market(int ore, int energy, int roboticons){
+			messages.add("market "+ore+" "+energy+" "+roboticons);
+		}
+
+		@Override
+		public void rejected(int messageType){
+			messages.add("rejected "+messageType);
+		}
+
+		@Override
+		public void gameOver(int[] scores){
+			messages.add("gameOver");
+		}
+	}
+
+	/**
+	 * Runs before every test, connects two clients and creates (but does not start) a match between them on a 2x2 map
+	 * @throws IOException If the sockets can't be connected
+	 */
+	@Before
+	public void setup() throws IOException{
+		serverEnds = new FramedChannel[2];
+		clientEnds = new FramedChannel[2];
+		messagesReceived = new ArrayList<List<String>>();
+		try(ServerSocketChannel serverSocket = ServerSocketChannel.open()){
+			serverSocket.bind(new InetSocketAddress("127.0.0.1", 0));
+			for(int playerNumber = 0; playerNumber < 2; playerNumber++){
+				clientEnds[playerNumber] = new FramedChannel(SocketChannel.open(serverSocket.getLocalAddress()));
+				serverEnds[playerNumber] = new FramedChannel(serverSocket.accept());
+				messagesReceived.add(new ArrayList<String>());
+			}
+		}
+		match = new ServerMatch(serverEnds, 0, 2, 2, new GameRandom(7));
+	}
+
+	/**
+	 * Runs after every test, closes every connection
+	 * @throws IOException If a connection can't be closed
+	 */
+	@After
+	public void tearDown() throws IOException{
+		for(int playerNumber = 0; playerNumber < 2; playerNumber++){
+			serverEnds[playerNumber].close();
+			clientEnds[playerNumber].close();
+		}
+	}
+
+	/**
+	 * Waits for a client to be sent a message, removing it and every message before it from the client's list of messages
+	 * @param playerNumber The number of the client's player
+	 * @param expected The message (as text)
+	 * @throws IOException If a connection fails
+	 */
+	private void assertReceived(int playerNumber, String expected) throws IOException{
+		List<String> messages = messagesReceived.get(playerNumber);
+		RecordingHandler handler = new RecordingHandler(messages);
+		long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+		while(!messages.contains(expected)){
+			serverEnds[playerNumber].flush();
+			clientEnds[playerNumber].read(handler);
+			assertTrue("Timed out waiting for \""+expected+"\" received "+messages, System.currentTimeMillis() < deadline);
+		}
+		messages.subList(0, messages.indexOf(expected) + 1).clear();
+	}
+
+	/**
+	 * Tests {@link ServerMatch#ServerMatch(FramedChannel[], int, int, int, GameRandom)} ensures that an IllegalArgumentException is
+	 * thrown if there are no human players
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructorNoHumanPlayers(){
+		new ServerMatch(new FramedChannel[0], 2, 2, 2, new GameRandom(7));
+	}
+
+	/**
+	 * Tests {@link ServerMatch#ServerMatch(FramedChannel[], int, int, int, GameRandom)} ensures that an IllegalArgumentException is
+	 * thrown if the number of AI players is negative
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructorNegativeAIPlayers(){
+		new ServerMatch(serverEnds, -1, 2, 2, new GameRandom(7));
+	}
+
+	/**
+	 * Tests {@link ServerMatch#ServerMatch(FramedChannel[], int, int, int, GameRandom)} ensures that the AI players take their turns after
+	 * the human players
+	 */
+	@Test
+	public void testConstructorAIPlayersLast(){
+		ServerMatch matchWithAIPlayer = new ServerMatch(serverEnds, 1, 2, 2, new GameRandom(7));
+		assertEquals(3, matchWithAIPlayer.getPlayers().size());
+		assertFalse(matchWithAIPlayer.getPlayers().get(1) instanceof AIPlayer);
+		assertTrue(matchWithAIPlayer.getPlayers().get(2) instanceof AIPlayer);
+		assertNull(matchWithAIPlayer.getChannels()[2]);
+	}
+
+	/**
+	 * Tests {@link ServerMatch#start} ensures that every client is told its player number, the players' inventories and that the first
+	 * player must acquire a plot
+	 * @throws IOException If a connection fails
+	 */
+	@Test
+	public void testStart() throws IOException{
+		match.start();
+		for(int playerNumber = 0; playerNumber < 2; playerNumber++){
+			assertReceived(playerNumber, "matchStarted "+playerNumber+" 2 2x2");
+			assertReceived(playerNumber, "inventory 1 0 0 "+ServerMatch.STARTING_MONEY);
+			assertReceived(playerNumber, "stage "+GamePhase.PLOTACQUISITION+" 0 1");
+		}
+	}
+
+	/**
+	 * Tests {@link ServerMatch#acquirePlot} ensures that a plot acquired by the player whose turn it is is sent to every client and the
+	 * game moves on
+	 * @throws IOException If a connection fails
+	 */
+	@Test
+	public void testAcquirePlot() throws IOException{
+		match.start();
+		match.acquirePlot(0, 1, 0);
+		for(int playerNumber = 0; playerNumber < 2; playerNumber++){
+			assertReceived(playerNumber, "plotAcquired 0 1 0");
+		}
+		assertSame(match.getPlayers().get(0), match.getPlots()[1][0].getPlayer());
+		assertEquals(GamePhase.BUYINGROBOTICONS, match.getGameEngine().getPhase());
+	}
+
+	/**
+	 * Tests {@link ServerMatch#acquirePlot} ensures that a player can't acquire a plot when it is not their turn
+	 * @throws IOException If a connection fails
+	 */
+	@Test
+	public void testAcquirePlotNotTurn() throws IOException{
+		match.start();
+		match.acquirePlot(1, 0, 0);
+		assertReceived(1, "rejected "+NetworkProtocol.ACQUIRE_PLOT);
+		assertFalse(match.getPlots()[0][0].hasBeenAcquired());
+	}
+
+	/**
+	 * Tests {@link ServerMatch#acquirePlot} ensures that a plot that is not on the map is rejected
+	 * @throws IOException If a connection fails
+	 */
+	@Test
+	public void testAcquirePlotOffMap() throws IOException{
+		match.start();
+		match.acquirePlot(0, 2, 0);
+		assertReceived(0, "rejected "+NetworkProtocol.ACQUIRE_PLOT);
+		assertEquals(GamePhase.PLOTACQUISITION, match.getGameEngine().getPhase());
+	}
+
+	/**
+	 * Tests {@link ServerMatch#buyRoboticons} ensures that a purchase by the player whose turn it is is carried out and the new inventory is
+	 * sent to every client
+	 * @throws IOException If a connection fails
+	 */
+	@Test
+	public void testBuyRoboticons() throws IOException{
+		match.start();
+		match.acquirePlot(0, 0, 0);
+		match.buyRoboticons(0, 1);
+		assertEquals(1, match.getPlayers().get(0).getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED));
+		assertReceived(1, "market 0 "+ServerMatch.MARKET_STARTING_ENERGY+" "+(ServerMatch.MARKET_STARTING_ROBOTICONS - 1));
+	}
+
+	/**
+	 * Tests {@link ServerMatch#buyRoboticons} ensures that trying to buy more roboticons than the market has is rejected (rather than
+	 * throwing an exception)
+	 * @throws IOException If a connection fails
+	 */
+	@Test
+	public void testBuyRoboticonsMoreThanMarketHas() throws IOException{
+		match.start();
+		match.acquirePlot(0, 0, 0);
+		match.buyRoboticons(0, ServerMatch.MARKET_STARTING_ROBOTICONS + 1);
+		assertReceived(0, "rejected "+NetworkProtocol.BUY_ROBOTICONS);
+		assertEquals(0, match.getPlayers().get(0).getRoboticonQuantity(RoboticonCustomisation.UNCUSTOMISED));
+	}
+
+	/**
+	 * Tests {@link ServerMatch#buyResource} ensures that trying to buy more ore than the market has is rejected (rather than throwing an
+	 * exception)
+	 * @throws IOException If a connection fails
+	 */
+	@Test
+	public void testBuyResourceMoreThanMarketHas() throws IOException{
+		match.start();
+		match.buyResource(0, PlotSpecialism.ORE, 1); // The market starts with no ore
+		assertReceived(0, "rejected "+NetworkProtocol.BUY_RESOURCE);
+	}
+
+	/**
+	 * Tests {@link ServerMatch#finished} ensures that only the player whose turn it is can end a stage
+	 */
+	@Test
+	public void testFinishedNotTurn(){
+		match.start();
+		match.acquirePlot(0, 0, 0);
+		match.finished(1, GameEvents.FINISHEDBUYINGROBOTICONS);
+		assertEquals(GamePhase.BUYINGROBOTICONS, match.getGameEngine().getPhase());
+		match.finished(0, GameEvents.FINISHEDBUYINGROBOTICONS);
+		assertEquals(GamePhase.CUSTOMISINGROBOTICONS, match.getGameEngine().getPhase());
+	}
+
+	/**
+	 * Tests {@link ServerMatch#finished} ensures that an event that does not end a stage is rejected
+	 * @throws IOException If a connection fails
+	 */
+	@Test
+	public void testFinishedInventoryUpdate() throws IOException{
+		match.start();
+		match.finished(0, GameEvents.PLAYERINVENTORYUPDATE);
+		assertReceived(0, "rejected "+NetworkProtocol.FINISHED);
+	}
+
+	/**
+	 * Plays both players' turns up to the market stage (each acquires a plot and skips everything else)
+	 */
+	private void playToMarket(){
+		for(int playerNumber = 0; playerNumber < 2; playerNumber++){
+			match.acquirePlot(playerNumber, playerNumber, 0);
+			match.finished(playerNumber, GameEvents.FINISHEDBUYINGROBOTICONS);
+			match.finished(playerNumber, GameEvents.FINISHEDCUSTOMISINGROBOTICONS);
+			match.finished(playerNumber, GameEvents.FINISHEDPLACINGROBOTICONS);
+		}
+	}
+
+	/**
+	 * Tests {@link ServerMatch#finished} ensures that the market stage only ends once every player has finished with the market
+	 * @throws IOException If a connection fails
+	 */
+	@Test
+	public void testMarketEndsWhenEveryoneFinished() throws IOException{
+		match.start();
+		playToMarket();
+		assertEquals(GamePhase.MARKET, match.getGameEngine().getPhase());
+		assertReceived(1, "stage "+GamePhase.MARKET+" "+NetworkProtocol.ALL_PLAYERS+" 1");
+		match.finished(0, GameEvents.FINISHEDWITHTHEMARKET);
+		assertEquals(GamePhase.MARKET, match.getGameEngine().getPhase());
+		match.finished(1, GameEvents.FINISHEDWITHTHEMARKET);
+		assertEquals(2, match.getGameEngine().getRoundNumber());
+		assertEquals(GamePhase.PLOTACQUISITION, match.getGameEngine().getPhase());
+	}
+
+	/**
+	 * Tests {@link ServerMatch#playerLeft} ensures that a player whose client has left is played for and the match carries on
+	 * @throws IOException If a connection fails
+	 */
+	@Test
+	public void testPlayerLeft() throws IOException{
+		match.start();
+		match.playerLeft(1);
+		assertNull(match.getChannels()[1]);
+		assertFalse(match.isFinished());
+		match.acquirePlot(0, 0, 0);
+		match.finished(0, GameEvents.FINISHEDBUYINGROBOTICONS);
+		match.finished(0, GameEvents.FINISHEDCUSTOMISINGROBOTICONS);
+		match.finished(0, GameEvents.FINISHEDPLACINGROBOTICONS);
+		assertSame(match.getPlayers().get(1), match.getPlots()[0][1].getPlayer()); // Acquired the first free plot
+		assertEquals(GamePhase.MARKET, match.getGameEngine().getPhase());
+		assertReceived(0, "plotAcquired 1 0 1");
+	}
+
+	/**
+	 * Tests {@link ServerMatch#playerLeft} ensures that a match is finished once every client has left
+	 */
+	@Test
+	public void testEveryPlayerLeft(){
+		match.start();
+		match.playerLeft(0);
+		match.playerLeft(1);
+		assertTrue(match.isFinished());
+	}
+
+	/**
+	 * Acquires the first plot that has not been acquired for a player
+	 * @param playerNumber The number of the player
+	 */
+	private void acquireFirstFreePlot(int playerNumber){
+		Plot[][] plots = match.getPlots();
+		for(int row = 0; row < plots.length; row++){
+			for(int column = 0; column < plots[row].length; column++){
+				if(!plots[row][column].hasBeenAcquired()){
+					match.acquirePlot(playerNumber, row, column);
+					return;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Tests {@link ServerMatch#gameOver} ensures that every client is told when the game is over
+	 * @throws IOException If a connection fails
+	 */
+	@Test
+	public void testGameOver() throws IOException{
+		match.start();
+		while(!match.isFinished()){
+			GamePhase phase = match.getGameEngine().getPhase();
+			int playerNumber = match.getPlayers().indexOf(match.getGameEngine().getCurrentPlayer());
+			if(phase == GamePhase.MARKET){
+				match.finished(0, GameEvents.FINISHEDWITHTHEMARKET);
+				match.finished(1, GameEvents.FINISHEDWITHTHEMARKET);
+			}
+			else if(phase == GamePhase.PLOTACQUISITION){
+				acquireFirstFreePlot(playerNumber);
+			}
+			else{
+				match.finished(playerNumber, phase == GamePhase.BUYINGROBOTICONS ? GameEvents.FINISHEDBUYINGROBOTICONS
+						: phase == GamePhase.CUSTOMISINGROBOTICONS ? GameEvents.FINISHEDCUSTOMISINGROBOTICONS : GameEvents.FINISHEDPLACINGROBOTICONS);
+			}
+		}
+		assertTrue(match.getGameEngine().isGameOver());
+		for(int playerNumber = 0; playerNumber < 2; playerNumber++){
+			assertReceived(playerNumber, "gameOver");
+		}
+	}
+
+	/**
+	 * Gives the match's stages a time limit of 100ms on a wheel that is only advanced by the tests
+	 * @param timeoutsRun Counts the number of times that the time has run out
+	 * @return The wheel
+	 */
+	private TimingWheel setStageTimer(final int[] timeoutsRun){
+		TimingWheel wheel = new TimingWheel(10, 0);
+		match.setStageTimer(wheel, 100, new Runnable(){
+			@Override
+			public void run(){
+				timeoutsRun[0]++;
+			}
+		});
+		return wheel;
+	}
+
+	/**
+	 * Tests {@link ServerMatch#setStageTimer} ensures that an IllegalArgumentException is thrown if the stages would have no time
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testSetStageTimerNoTime(){
+		match.setStageTimer(new TimingWheel(10, 0), 0, new Runnable(){
+			@Override
+			public void run(){
+			}
+		});
+	}
+
+	/**
+	 * Tests {@link ServerMatch#start} ensures that the stages have no time limit unless one has been set
+	 */
+	@Test
+	public void testNoStageTimerByDefault(){
+		match.start();
+		assertNull(match.getStageTimeout());
+	}
+
+	/**
+	 * Tests {@link ServerMatch#stageTimedOut} ensures that when the time runs out the current player acquires the first plot that is
+	 * free and the match moves on
+	 * @throws IOException If a connection fails
+	 */
+	@Test
+	public void testStageTimeoutAcquiresPlot() throws IOException{
+		int[] timeoutsRun = new int[1];
+		TimingWheel wheel = setStageTimer(timeoutsRun);
+		match.start();
+		wheel.advanceTo(90);
+		assertEquals(GamePhase.PLOTACQUISITION, match.getGameEngine().getPhase());
+		wheel.advanceTo(100);
+		assertEquals(1, timeoutsRun[0]);
+		assertSame(match.getPlayers().get(0), match.getPlots()[0][0].getPlayer());
+		assertEquals(GamePhase.BUYINGROBOTICONS, match.getGameEngine().getPhase());
+		assertReceived(1, "plotAcquired 0 0 0");
+		assertTrue(match.getStageTimeout().isPending()); // The next stage has its own time limit
+	}
+
+	/**
+	 * Tests {@link ServerMatch#acquirePlot} ensures that the time limit of a stage is cancelled when the player finishes it, and the next
+	 * stage is given the whole time limit
+	 */
+	@Test
+	public void testStageTimeoutCancelledWhenStageFinished(){
+		int[] timeoutsRun = new int[1];
+		TimingWheel wheel = setStageTimer(timeoutsRun);
+		match.start();
+		TimingWheel.Timeout plotAcquisitionTimeout = match.getStageTimeout();
+		wheel.advanceTo(50);
+		match.acquirePlot(0, 1, 1);
+		assertTrue(plotAcquisitionTimeout.isCancelled());
+		assertEquals(1, wheel.size());
+		wheel.advanceTo(140);
+		assertEquals(0, timeoutsRun[0]);
+		assertEquals(GamePhase.BUYINGROBOTICONS, match.getGameEngine().getPhase());
+	}
+
+	/**
+	 * Tests {@link ServerMatch#stageTimedOut} ensures that when the time runs out in the market stage every player finishes with the
+	 * market
+	 */
+	@Test
+	public void testStageTimeoutMarket(){
+		int[] timeoutsRun = new int[1];
+		TimingWheel wheel = setStageTimer(timeoutsRun);
+		match.start();
+		playToMarket();
+		match.finished(0, GameEvents.FINISHEDWITHTHEMARKET);
+		wheel.advanceTo(100);
+		assertEquals(2, match.getGameEngine().getRoundNumber());
+		assertEquals(GamePhase.PLOTACQUISITION, match.getGameEngine().getPhase());
+	}
+
+	/**
+	 * Tests {@link ServerMatch#playerLeft} ensures that the time limit is cancelled once every client has left
+	 */
+	@Test
+	public void testStageTimeoutCancelledWhenEveryPlayerLeft(){
+		TimingWheel wheel = setStageTimer(new int[1]);
+		match.start();
+		match.playerLeft(0);
+		match.playerLeft(1);
+		assertTrue(wheel.isEmpty());
+	}
+
+	/**
+	 * Tests {@link ServerMatch#stageTimedOut} ensures that a match in which the time always runs out is played to the end, and that
+	 * nothing is left on the wheel
+	 * @throws IOException If a connection fails
+	 */
+	@Test
+	public void testGameOverByStageTimeouts() throws IOException{
+		int[] timeoutsRun = new int[1];
+		TimingWheel wheel = setStageTimer(timeoutsRun);
+		match.start();
+		for(long time = 0; !match.isFinished(); time += 10){
+			wheel.advanceTo(time);
+		}
+		assertTrue(match.getGameEngine().isGameOver());
+		assertTrue(wheel.isEmpty());
+		assertTrue(timeoutsRun[0] > 0);
+		for(int playerNumber = 0; playerNumber < 2; playerNumber++){
+			assertReceived(playerNumber, "gameOver");
+		}
+	}
+}